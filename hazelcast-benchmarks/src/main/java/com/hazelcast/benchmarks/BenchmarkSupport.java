@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.config.NetworkConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.impl.HazelcastInstanceProxy;
+import com.hazelcast.internal.util.UuidUtil;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.properties.ClusterProperty;
+
+/**
+ * Starts and stops the members used by the benchmarks.
+ */
+public final class BenchmarkSupport {
+
+    private static final String LOOPBACK_ADDRESS = "127.0.0.1";
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Creates a member config which joins only the members of the same
+     * benchmark and binds to the loopback interface.
+     */
+    public static Config memberConfig() {
+        Config config = new Config();
+        config.setClusterName("benchmark-" + UuidUtil.newUnsecureUUID());
+        config.setProperty(ClusterProperty.PHONE_HOME_ENABLED.getName(), "false");
+        config.setProperty(ClusterProperty.LOGGING_TYPE.getName(), "none");
+
+        NetworkConfig networkConfig = config.getNetworkConfig();
+        networkConfig.getInterfaces().setEnabled(true).addInterface(LOOPBACK_ADDRESS);
+        JoinConfig join = networkConfig.getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getAutoDetectionConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember(LOOPBACK_ADDRESS);
+        return config;
+    }
+
+    /**
+     * Starts the given number of members with the given config and waits
+     * until they form a single cluster.
+     */
+    public static HazelcastInstance[] startMembers(Config config, int memberCount) {
+        HazelcastInstance[] members = new HazelcastInstance[memberCount];
+        for (int i = 0; i < memberCount; i++) {
+            members[i] = Hazelcast.newHazelcastInstance(config);
+        }
+        int clusterSize = members[0].getCluster().getMembers().size();
+        if (clusterSize != memberCount) {
+            shutdown(members);
+            throw new IllegalStateException("Expected a cluster of " + memberCount + " members, but got " + clusterSize);
+        }
+        return members;
+    }
+
+    public static void shutdown(HazelcastInstance... members) {
+        if (members == null) {
+            return;
+        }
+        for (HazelcastInstance member : members) {
+            if (member != null) {
+                member.getLifecycleService().terminate();
+            }
+        }
+    }
+
+    public static NodeEngineImpl getNodeEngine(HazelcastInstance member) {
+        return ((HazelcastInstanceProxy) member).getOriginal().node.getNodeEngine();
+    }
+}
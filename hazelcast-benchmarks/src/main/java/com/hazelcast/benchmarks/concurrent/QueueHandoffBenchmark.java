@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.concurrent;
+
+import com.hazelcast.internal.util.concurrent.BusySpinIdleStrategy;
+import com.hazelcast.internal.util.concurrent.MPSCQueue;
+import com.hazelcast.internal.util.concurrent.ManyToOneConcurrentArrayQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the hand-off of items from several producers to a single consumer
+ * through the {@link MPSCQueue} used by the operation and response threads
+ * and the {@link ManyToOneConcurrentArrayQueue} used by the conveyors.
+ * <p>
+ * The producers stop offering while the queue holds {@link #capacity} items,
+ * so the unbounded {@link MPSCQueue} does not grow while the consumer falls
+ * behind. Failed offers and empty polls are counted as calls too.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueHandoffBenchmark {
+
+    private static final Integer ITEM = 1;
+    private static final int PRODUCERS = 3;
+
+    @Param({"1024"})
+    private int capacity;
+
+    private MPSCQueue<Integer> mpscQueue;
+    private Queue<Integer> arrayQueue;
+
+    @Setup
+    public void setup() {
+        mpscQueue = new MPSCQueue<>(new BusySpinIdleStrategy());
+        arrayQueue = new ManyToOneConcurrentArrayQueue<>(capacity);
+    }
+
+    @Benchmark
+    @Group("mpscQueue")
+    @GroupThreads(PRODUCERS)
+    public boolean mpscQueueOffer() {
+        return mpscQueue.size() < capacity && mpscQueue.offer(ITEM);
+    }
+
+    @Benchmark
+    @Group("mpscQueue")
+    @GroupThreads(1)
+    public Integer mpscQueuePoll() {
+        return mpscQueue.poll();
+    }
+
+    @Benchmark
+    @Group("arrayQueue")
+    @GroupThreads(PRODUCERS)
+    public boolean arrayQueueOffer() {
+        return arrayQueue.offer(ITEM);
+    }
+
+    @Benchmark
+    @Group("arrayQueue")
+    @GroupThreads(1)
+    public Integer arrayQueuePoll() {
+        return arrayQueue.poll();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.jet;
+
+import com.hazelcast.benchmarks.BenchmarkSupport;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.jet.JetService;
+import com.hazelcast.jet.aggregate.AggregateOperations;
+import com.hazelcast.jet.pipeline.BatchStage;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.Sinks;
+import com.hazelcast.jet.pipeline.test.TestSources;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to run a batch job on a single member, which is
+ * dominated by the processor tasklets moving the items through the
+ * stages once the item count is large enough.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PipelineBenchmark {
+
+    private static final int KEY_COUNT = 1024;
+
+    @Param({"1000000"})
+    private int itemCount;
+
+    private HazelcastInstance member;
+    private JetService jet;
+    private List<Long> items;
+
+    @Setup
+    public void setup() {
+        Config config = BenchmarkSupport.memberConfig();
+        config.getJetConfig().setEnabled(true);
+        member = BenchmarkSupport.startMembers(config, 1)[0];
+        jet = member.getJet();
+        items = new ArrayList<>(itemCount);
+        for (long i = 0; i < itemCount; i++) {
+            items.add(i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkSupport.shutdown(member);
+    }
+
+    @Benchmark
+    public void mapFilter() {
+        Pipeline pipeline = Pipeline.create();
+        source(pipeline)
+                .map(i -> i * 2)
+                .filter(i -> i % 3 != 0)
+                .writeTo(Sinks.noop());
+        jet.newJob(pipeline).join();
+    }
+
+    @Benchmark
+    public void groupAndAggregate() {
+        Pipeline pipeline = Pipeline.create();
+        source(pipeline)
+                .groupingKey(i -> i % KEY_COUNT)
+                .aggregate(AggregateOperations.summingLong(i -> i))
+                .writeTo(Sinks.noop());
+        jet.newJob(pipeline).join();
+    }
+
+    @Benchmark
+    public void sort() {
+        Pipeline pipeline = Pipeline.create();
+        source(pipeline)
+                .map(i -> -i)
+                .sort()
+                .writeTo(Sinks.noop());
+        jet.newJob(pipeline).join();
+    }
+
+    private BatchStage<Long> source(Pipeline pipeline) {
+        return pipeline.readFrom(TestSources.items(items)).rebalance();
+    }
+}
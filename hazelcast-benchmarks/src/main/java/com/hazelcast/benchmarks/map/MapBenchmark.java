@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.map;
+
+import com.hazelcast.benchmarks.BenchmarkSupport;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link IMap#get(Object)} and {@link IMap#set(Object, Object)}
+ * through the proxy of a member, including the operation invocation and,
+ * with more than one member, the remote calls over the loopback interface.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapBenchmark {
+
+    @Param({"1", "2"})
+    private int memberCount;
+
+    @Param({"10000"})
+    private int keyCount;
+
+    @Param({"100"})
+    private int valueSize;
+
+    private HazelcastInstance[] members;
+    private IMap<Integer, byte[]> map;
+    private byte[] value;
+
+    @Setup
+    public void setup() {
+        members = BenchmarkSupport.startMembers(BenchmarkSupport.memberConfig(), memberCount);
+        map = members[0].getMap("map");
+        value = new byte[valueSize];
+        for (int i = 0; i < keyCount; i++) {
+            map.set(i, value);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkSupport.shutdown(members);
+    }
+
+    @Benchmark
+    public byte[] get() {
+        return map.get(ThreadLocalRandom.current().nextInt(keyCount));
+    }
+
+    @Benchmark
+    public void set() {
+        map.set(ThreadLocalRandom.current().nextInt(keyCount), value);
+    }
+}
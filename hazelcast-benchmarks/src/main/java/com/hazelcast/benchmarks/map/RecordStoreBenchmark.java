@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.map;
+
+import com.hazelcast.benchmarks.BenchmarkSupport;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.map.impl.record.Record.UNSET;
+
+/**
+ * Measures the {@link RecordStore} of a single partition directly, without
+ * the operation and invocation layers on top of it.
+ * <p>
+ * The benchmark thread accesses the record store outside of its partition
+ * thread, which is safe only as long as nothing else touches the map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordStoreBenchmark {
+
+    private static final String MAP_NAME = "map";
+
+    @Param({"100000"})
+    private int keyCount;
+
+    @Param({"100"})
+    private int valueSize;
+
+    private HazelcastInstance member;
+    private RecordStore recordStore;
+    private Data[] keys;
+    private Data value;
+
+    @Setup
+    public void setup() {
+        member = BenchmarkSupport.startMembers(BenchmarkSupport.memberConfig(), 1)[0];
+        NodeEngineImpl nodeEngine = BenchmarkSupport.getNodeEngine(member);
+        MapServiceContext mapServiceContext = nodeEngine.<MapService>getService(MapService.SERVICE_NAME)
+                .getMapServiceContext();
+        recordStore = mapServiceContext.getRecordStore(0, MAP_NAME);
+
+        SerializationService serializationService = nodeEngine.getSerializationService();
+        keys = new Data[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = serializationService.toData(i);
+        }
+        value = serializationService.toData(new byte[valueSize]);
+        for (Data key : keys) {
+            recordStore.set(key, value, UNSET, UNSET);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkSupport.shutdown(member);
+    }
+
+    @Benchmark
+    public Object get() {
+        return recordStore.get(randomKey(), false, null, true);
+    }
+
+    @Benchmark
+    public Object set() {
+        return recordStore.set(randomKey(), value, UNSET, UNSET);
+    }
+
+    @Benchmark
+    public Object put() {
+        return recordStore.put(randomKey(), value, UNSET, UNSET);
+    }
+
+    private Data randomKey() {
+        return keys[ThreadLocalRandom.current().nextInt(keyCount)];
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.networking;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ClientMessageReader;
+import com.hazelcast.client.impl.protocol.ClientMessageWriter;
+import com.hazelcast.client.impl.protocol.codec.MapPutCodec;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the client protocol on the example of a {@code Map.Put} request:
+ * the encoding and decoding by the codec and the writing and reading of the
+ * frames done by the client message encoder and decoder of the networking
+ * pipelines.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientMessageBenchmark {
+
+    private static final String MAP_NAME = "map";
+    private static final int KEY_SIZE = 16;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    @Param({"100", "10000"})
+    private int valueSize;
+
+    private final ClientMessageWriter writer = new ClientMessageWriter();
+    private final ClientMessageReader reader = new ClientMessageReader(-1);
+    private Data key;
+    private Data value;
+    private ClientMessage request;
+    private ByteBuffer writeBuffer;
+    private ByteBuffer encoded;
+
+    @Setup
+    public void setup() {
+        SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        key = serializationService.toData(new byte[KEY_SIZE]);
+        value = serializationService.toData(new byte[valueSize]);
+        request = MapPutCodec.encodeRequest(MAP_NAME, key, value, 1, -1);
+        writeBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        encoded = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        if (!writer.writeTo(encoded, request)) {
+            throw new IllegalStateException("The message does not fit into the buffer");
+        }
+        encoded.flip();
+    }
+
+    @Benchmark
+    public ClientMessage encodeRequest() {
+        return MapPutCodec.encodeRequest(MAP_NAME, key, value, 1, -1);
+    }
+
+    @Benchmark
+    public MapPutCodec.RequestParameters decodeRequest() {
+        return MapPutCodec.decodeRequest(request);
+    }
+
+    @Benchmark
+    public boolean write() {
+        writeBuffer.clear();
+        return writer.writeTo(writeBuffer, request);
+    }
+
+    @Benchmark
+    public ClientMessage read() {
+        encoded.rewind();
+        reader.reset();
+        reader.readFrom(encoded, true);
+        return reader.getClientMessage();
+    }
+}
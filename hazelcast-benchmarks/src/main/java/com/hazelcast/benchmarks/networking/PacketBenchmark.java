@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.networking;
+
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.nio.PacketIOHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encoding and decoding of member to member {@link Packet}s done
+ * by the {@code PacketEncoder} and {@code PacketDecoder} of the networking
+ * pipelines, which delegate to the {@link PacketIOHelper}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketBenchmark {
+
+    @Param({"100", "10000"})
+    private int payloadSize;
+
+    private final PacketIOHelper encoder = new PacketIOHelper();
+    private final PacketIOHelper decoder = new PacketIOHelper();
+    private Packet packet;
+    private ByteBuffer writeBuffer;
+    private ByteBuffer encoded;
+
+    @Setup
+    public void setup() {
+        packet = new Packet(new byte[payloadSize], 1);
+        writeBuffer = ByteBuffer.allocateDirect(packet.getFrameLength());
+        encoded = ByteBuffer.allocateDirect(packet.getFrameLength());
+        if (!encoder.writeTo(packet, encoded)) {
+            throw new IllegalStateException("The packet does not fit into the buffer");
+        }
+        encoded.flip();
+    }
+
+    @Benchmark
+    public boolean encode() {
+        writeBuffer.clear();
+        return encoder.writeTo(packet, writeBuffer);
+    }
+
+    @Benchmark
+    public Packet decode() {
+        encoded.rewind();
+        return decoder.readFrom(encoded);
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * JMH benchmarks of Hazelcast hot paths.
+ * <p>
+ * Build the module with {@code mvn package -pl hazelcast-benchmarks -am -DskipTests}
+ * and run the benchmarks matching a regular expression with
+ * {@code java -jar hazelcast-benchmarks/target/benchmarks.jar <regexp>}.
+ * <p>
+ * Benchmarks which need members start them embedded in the benchmark JVM.
+ * Multi-member setups form a cluster over the loopback interface, so the
+ * remote calls go through the real networking stack.
+ */
+package com.hazelcast.benchmarks;
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.query;
+
+import com.hazelcast.benchmarks.BenchmarkSupport;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.Comparison;
+import com.hazelcast.query.impl.IndexRegistry;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryableEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures lookups of the global {@link IndexType#HASH} and
+ * {@link IndexType#SORTED} indexes of a map, both directly on the index and
+ * through a predicate query on the map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexBenchmark {
+
+    private static final String MAP_NAME = "map";
+    private static final String HASH_INDEX = "hashIndex";
+    private static final String SORTED_INDEX = "sortedIndex";
+
+    @Param({"100000"})
+    private int entryCount;
+
+    @Param({"100"})
+    private int distinctValues;
+
+    @Param({"10"})
+    private int rangeWidth;
+
+    private HazelcastInstance member;
+    private IMap<Integer, Integer> map;
+    private InternalIndex hashIndex;
+    private InternalIndex sortedIndex;
+
+    @Setup
+    public void setup() {
+        Config config = BenchmarkSupport.memberConfig();
+        config.getMapConfig(MAP_NAME)
+                .addIndexConfig(new IndexConfig(IndexType.HASH, "this").setName(HASH_INDEX))
+                .addIndexConfig(new IndexConfig(IndexType.SORTED, "this").setName(SORTED_INDEX));
+        member = BenchmarkSupport.startMembers(config, 1)[0];
+
+        map = member.getMap(MAP_NAME);
+        Map<Integer, Integer> entries = new HashMap<>();
+        for (int i = 0; i < entryCount; i++) {
+            entries.put(i, i % distinctValues);
+        }
+        map.putAll(entries);
+
+        MapService mapService = BenchmarkSupport.getNodeEngine(member).getService(MapService.SERVICE_NAME);
+        IndexRegistry indexRegistry = mapService.getMapServiceContext().getMapContainer(MAP_NAME).getGlobalIndexRegistry();
+        hashIndex = indexRegistry.getIndex(HASH_INDEX);
+        sortedIndex = indexRegistry.getIndex(SORTED_INDEX);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkSupport.shutdown(member);
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> hashIndexEqual() {
+        return hashIndex.getRecords(randomValue());
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> sortedIndexEqual() {
+        return sortedIndex.getRecords(randomValue());
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> sortedIndexRange() {
+        int from = randomValue();
+        return sortedIndex.getRecords(from, true, from + rangeWidth, false);
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> sortedIndexGreater() {
+        return sortedIndex.getRecords(Comparison.GREATER, distinctValues - rangeWidth);
+    }
+
+    @Benchmark
+    public Collection<Integer> queryEqual() {
+        return map.values(Predicates.equal("this", randomValue()));
+    }
+
+    @Benchmark
+    public Collection<Integer> queryRange() {
+        int from = randomValue();
+        return map.values(Predicates.between("this", from, from + rangeWidth));
+    }
+
+    private int randomValue() {
+        return ThreadLocalRandom.current().nextInt(distinctValues);
+    }
+}
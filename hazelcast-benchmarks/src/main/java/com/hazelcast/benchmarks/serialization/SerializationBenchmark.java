@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.serialization;
+
+import com.hazelcast.benchmarks.BenchmarkSupport;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code toData()} and {@code toObject()} of the member's
+ * serialization service for the Compact, IdentifiedDataSerializable and
+ * Portable formats of the same object.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    static final int FACTORY_ID = 1;
+    static final int CLASS_ID = 1;
+
+    private static final String NAME = "John Doe";
+    private static final int AGE = 42;
+    private static final double SALARY = 1234.5;
+    private static final long ID = 7_000_000_042L;
+
+    private HazelcastInstance member;
+    private SerializationService serializationService;
+
+    private CompactPerson compactPerson;
+    private IdsPerson idsPerson;
+    private PortablePerson portablePerson;
+    private Data compactData;
+    private Data idsData;
+    private Data portableData;
+
+    @Setup
+    public void setup() {
+        Config config = BenchmarkSupport.memberConfig();
+        SerializationConfig serializationConfig = config.getSerializationConfig();
+        serializationConfig.getCompactSerializationConfig().addSerializer(new CompactPersonSerializer());
+        serializationConfig.addDataSerializableFactory(FACTORY_ID, classId -> new IdsPerson());
+        serializationConfig.addPortableFactory(FACTORY_ID, classId -> new PortablePerson());
+        member = BenchmarkSupport.startMembers(config, 1)[0];
+        serializationService = BenchmarkSupport.getNodeEngine(member).getSerializationService();
+
+        compactPerson = new CompactPerson(NAME, AGE, SALARY, ID);
+        idsPerson = new IdsPerson(NAME, AGE, SALARY, ID);
+        portablePerson = new PortablePerson(NAME, AGE, SALARY, ID);
+        compactData = serializationService.toData(compactPerson);
+        idsData = serializationService.toData(idsPerson);
+        portableData = serializationService.toData(portablePerson);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkSupport.shutdown(member);
+    }
+
+    @Benchmark
+    public Data toDataCompact() {
+        return serializationService.toData(compactPerson);
+    }
+
+    @Benchmark
+    public Data toDataIdentifiedDataSerializable() {
+        return serializationService.toData(idsPerson);
+    }
+
+    @Benchmark
+    public Data toDataPortable() {
+        return serializationService.toData(portablePerson);
+    }
+
+    @Benchmark
+    public Object toObjectCompact() {
+        return serializationService.toObject(compactData);
+    }
+
+    @Benchmark
+    public Object toObjectIdentifiedDataSerializable() {
+        return serializationService.toObject(idsData);
+    }
+
+    @Benchmark
+    public Object toObjectPortable() {
+        return serializationService.toObject(portableData);
+    }
+
+    public static class CompactPerson {
+
+        final String name;
+        final int age;
+        final double salary;
+        final long id;
+
+        CompactPerson(String name, int age, double salary, long id) {
+            this.name = name;
+            this.age = age;
+            this.salary = salary;
+            this.id = id;
+        }
+    }
+
+    static class CompactPersonSerializer implements CompactSerializer<CompactPerson> {
+
+        @Nonnull
+        @Override
+        public CompactPerson read(@Nonnull CompactReader reader) {
+            return new CompactPerson(reader.readString("name"), reader.readInt32("age"),
+                    reader.readFloat64("salary"), reader.readInt64("id"));
+        }
+
+        @Override
+        public void write(@Nonnull CompactWriter writer, @Nonnull CompactPerson person) {
+            writer.writeString("name", person.name);
+            writer.writeInt32("age", person.age);
+            writer.writeFloat64("salary", person.salary);
+            writer.writeInt64("id", person.id);
+        }
+
+        @Nonnull
+        @Override
+        public String getTypeName() {
+            return "person";
+        }
+
+        @Nonnull
+        @Override
+        public Class<CompactPerson> getCompactClass() {
+            return CompactPerson.class;
+        }
+    }
+
+    public static class IdsPerson implements IdentifiedDataSerializable {
+
+        private String name;
+        private int age;
+        private double salary;
+        private long id;
+
+        public IdsPerson() {
+        }
+
+        IdsPerson(String name, int age, double salary, long id) {
+            this.name = name;
+            this.age = age;
+            this.salary = salary;
+            this.id = id;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeString(name);
+            out.writeInt(age);
+            out.writeDouble(salary);
+            out.writeLong(id);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            name = in.readString();
+            age = in.readInt();
+            salary = in.readDouble();
+            id = in.readLong();
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+    }
+
+    public static class PortablePerson implements Portable {
+
+        private String name;
+        private int age;
+        private double salary;
+        private long id;
+
+        public PortablePerson() {
+        }
+
+        PortablePerson(String name, int age, double salary, long id) {
+            this.name = name;
+            this.age = age;
+            this.salary = salary;
+            this.id = id;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+            writer.writeString("name", name);
+            writer.writeInt("age", age);
+            writer.writeDouble("salary", salary);
+            writer.writeLong("id", id);
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+            name = reader.readString("name");
+            age = reader.readInt("age");
+            salary = reader.readDouble("salary");
+            id = reader.readLong("id");
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.compiler.CompiledExpression;
 import com.hazelcast.sql.impl.row.JetSqlRow;
 import com.hazelcast.sql.impl.row.Row;
 import org.apache.calcite.rel.RelFieldCollation.Direction;
@@ -224,6 +225,27 @@ public final class ExpressionUtil {
         return projection(projections, context, row);
     }
 
+    /**
+     * Projection with filter predicate for a single row using compiled
+     * expressions. Returns {@code null} if the row is rejected by the predicate.
+     */
+    @Nullable
+    public static JetSqlRow projection(
+            @Nonnull CompiledExpression<Boolean> predicate,
+            @Nonnull List<CompiledExpression<?>> projections,
+            @Nonnull Row row,
+            @Nonnull ExpressionEvalContext context
+    ) {
+        if (!Boolean.TRUE.equals(predicate.eval(row, context))) {
+            return null;
+        }
+        Object[] result = new Object[projections.size()];
+        for (int i = 0; i < projections.size(); i++) {
+            result[i] = projections.get(i).eval(row, context);
+        }
+        return new JetSqlRow(context.getSerializationService(), result);
+    }
+
     private static JetSqlRow projection(
             @Nonnull List<Expression<?>> projections,
             @Nonnull ExpressionEvalContext context,
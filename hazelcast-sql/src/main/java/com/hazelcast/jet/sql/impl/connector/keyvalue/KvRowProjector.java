@@ -26,6 +26,8 @@ import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.sql.impl.expression.ConstantExpression;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.compiler.CompiledExpression;
+import com.hazelcast.sql.impl.expression.compiler.ExpressionCompiler;
 import com.hazelcast.sql.impl.extract.QueryExtractor;
 import com.hazelcast.sql.impl.extract.QueryPath;
 import com.hazelcast.sql.impl.extract.QueryTarget;
@@ -55,9 +57,10 @@ public class KvRowProjector implements Row {
 
     private final Expression<Boolean> predicate;
     private final List<Expression<?>> projections;
+    private final CompiledExpression<Boolean> compiledPredicate;
+    private final List<CompiledExpression<?>> compiledProjections;
     private final ExpressionEvalContext evalContext;
 
-    @SuppressWarnings("unchecked")
     KvRowProjector(
             QueryPath[] paths,
             QueryDataType[] types,
@@ -66,18 +69,41 @@ public class KvRowProjector implements Row {
             Expression<Boolean> predicate,
             List<Expression<?>> projections,
             ExpressionEvalContext evalContext
+    ) {
+        this(paths, types, keyTarget, valueTarget, nonNullPredicate(predicate), projections,
+                ExpressionCompiler.compile(nonNullPredicate(predicate)), ExpressionCompiler.compile(projections), evalContext);
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private KvRowProjector(
+            QueryPath[] paths,
+            QueryDataType[] types,
+            QueryTarget keyTarget,
+            QueryTarget valueTarget,
+            Expression<Boolean> predicate,
+            List<Expression<?>> projections,
+            CompiledExpression<Boolean> compiledPredicate,
+            List<CompiledExpression<?>> compiledProjections,
+            ExpressionEvalContext evalContext
     ) {
         checkTrue(paths.length == types.length, "paths.length != types.length");
         this.keyTarget = keyTarget;
         this.valueTarget = valueTarget;
         this.extractors = createExtractors(paths, types, keyTarget, valueTarget);
 
-        this.predicate = predicate != null ? predicate
-                : (Expression<Boolean>) ConstantExpression.create(true, QueryDataType.BOOLEAN);
+        this.predicate = predicate;
         this.projections = projections;
+        this.compiledPredicate = compiledPredicate;
+        this.compiledProjections = compiledProjections;
         this.evalContext = evalContext;
     }
 
+    @SuppressWarnings("unchecked")
+    private static Expression<Boolean> nonNullPredicate(Expression<Boolean> predicate) {
+        return predicate != null ? predicate
+                : (Expression<Boolean>) ConstantExpression.create(true, QueryDataType.BOOLEAN);
+    }
+
     private static QueryExtractor[] createExtractors(
             QueryPath[] paths,
             QueryDataType[] types,
@@ -108,7 +134,7 @@ public class KvRowProjector implements Row {
         keyTarget.setTarget(key, keyData);
         valueTarget.setTarget(value, valueData);
 
-        return ExpressionUtil.projection(predicate, projections, this, evalContext);
+        return ExpressionUtil.projection(compiledPredicate, compiledProjections, this, evalContext);
     }
 
     @Override
@@ -159,6 +185,11 @@ public class KvRowProjector implements Row {
         private Expression<Boolean> predicate;
         private List<Expression<?>> projections;
 
+        // Compiled once per supplier: the supplier of an IMapSelectPlan is
+        // kept in the plan cache and used by all executions of the plan.
+        private transient CompiledExpression<Boolean> compiledPredicate;
+        private transient List<CompiledExpression<?>> compiledProjections;
+
         @SuppressWarnings("unused")
         public Supplier() {
         }
@@ -177,6 +208,12 @@ public class KvRowProjector implements Row {
             this.valueDescriptor = valueDescriptor;
             this.predicate = predicate;
             this.projections = projections;
+            compile();
+        }
+
+        private void compile() {
+            compiledPredicate = ExpressionCompiler.compile(nonNullPredicate(predicate));
+            compiledProjections = ExpressionCompiler.compile(projections);
         }
 
         public int columnCount() {
@@ -193,8 +230,10 @@ public class KvRowProjector implements Row {
                     types,
                     keyDescriptor.create(evalContext.getSerializationService(), extractors, true),
                     valueDescriptor.create(evalContext.getSerializationService(), extractors, false),
-                    predicate,
+                    nonNullPredicate(predicate),
                     projections,
+                    compiledPredicate,
+                    compiledProjections,
                     evalContext
             );
         }
@@ -229,6 +268,7 @@ public class KvRowProjector implements Row {
             valueDescriptor = in.readObject();
             predicate = in.readObject();
             projections = in.readObject();
+            compile();
         }
 
         @Override
@@ -60,10 +60,11 @@ public class MetadataResolver implements IMapResolver {
             return null;
         }
 
-        // HD maps must be accessed from correct thread, regular and Tiered Store
-        // maps can be accessed from any thread.
+        // HD and off-heap BINARY maps must be accessed from correct thread,
+        // regular and Tiered Store maps can be accessed from any thread.
         boolean hd = container.getMapConfig().getInMemoryFormat() == InMemoryFormat.NATIVE
-                && !container.getMapConfig().getTieredStoreConfig().isEnabled();
+                && !container.getMapConfig().getTieredStoreConfig().isEnabled()
+                || container.isOffHeapStorageEnabled();
 
         Metadata metadata = hd
                 ? resolveFromContentsHd(iMapName, context)
@@ -37,6 +37,8 @@ import com.hazelcast.jet.core.TimestampKind;
 import com.hazelcast.jet.core.Vertex;
 import com.hazelcast.jet.core.function.KeyedWindowResultFunction;
 import com.hazelcast.jet.core.processor.Processors;
+import com.hazelcast.jet.impl.processor.GroupP;
+import com.hazelcast.jet.impl.processor.SortP;
 import com.hazelcast.jet.pipeline.ServiceFactories;
 import com.hazelcast.jet.sql.impl.ExpressionUtil;
 import com.hazelcast.jet.sql.impl.HazelcastPhysicalScan;
@@ -50,6 +52,7 @@ import com.hazelcast.jet.sql.impl.connector.map.IMapSqlConnector;
 import com.hazelcast.jet.sql.impl.opt.ExpressionValues;
 import com.hazelcast.jet.sql.impl.opt.WatermarkKeysAssigner;
 import com.hazelcast.jet.sql.impl.opt.WatermarkThrottlingFrameSizeCalculator;
+import com.hazelcast.jet.sql.impl.processors.CalcP;
 import com.hazelcast.jet.sql.impl.processors.LateItemsDropP;
 import com.hazelcast.jet.sql.impl.processors.SqlHashJoinP;
 import com.hazelcast.jet.sql.impl.processors.StreamToStreamJoinP.StreamToStreamJoinProcessorSupplier;
@@ -62,6 +65,7 @@ import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.expression.MockExpressionEvalContext;
 import com.hazelcast.sql.impl.optimizer.PlanObjectKey;
+import com.hazelcast.sql.impl.row.EmptyRow;
 import com.hazelcast.sql.impl.row.JetSqlRow;
 import com.hazelcast.sql.impl.schema.Table;
 import com.hazelcast.sql.impl.type.QueryDataType;
@@ -85,8 +89,6 @@ import static com.hazelcast.jet.core.Edge.from;
 import static com.hazelcast.jet.core.Vertex.LOCAL_PARALLELISM_USE_DEFAULT;
 import static com.hazelcast.jet.core.processor.Processors.flatMapUsingServiceP;
 import static com.hazelcast.jet.core.processor.Processors.mapP;
-import static com.hazelcast.jet.core.processor.Processors.mapUsingServiceP;
-import static com.hazelcast.jet.core.processor.Processors.sortP;
 import static com.hazelcast.jet.core.processor.SourceProcessors.convenientSourceP;
 import static com.hazelcast.jet.sql.impl.connector.HazelcastRexNode.wrap;
 import static com.hazelcast.jet.sql.impl.connector.SqlConnectorUtil.getJetSqlConnector;
@@ -282,22 +284,12 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
         List<Expression<?>> projection = dagBuildContext.convertProjection(wrap(rel.projection()));
 
         Vertex vertex;
-        boolean projectionsCooperative = projection.stream().allMatch(Expression::isCooperative);
         if (program.getCondition() != null) {
             Expression<Boolean> filterExpr = dagBuildContext.convertFilter(wrap(rel.filter()));
             assert filterExpr != null;
-            vertex = dag.newUniqueVertex("Calc", mapUsingServiceP(
-                    ServiceFactories.nonSharedService(ctx ->
-                                    ExpressionUtil.calcFn(projection, filterExpr, ExpressionEvalContext.from(ctx)))
-                            .setCooperative(projectionsCooperative && filterExpr.isCooperative()),
-                    (Function<JetSqlRow, JetSqlRow> calcFn, JetSqlRow row) -> calcFn.apply(row)));
+            vertex = dag.newUniqueVertex("Calc", () -> new CalcP(projection, filterExpr));
         } else {
-            vertex = dag.newUniqueVertex("Project", mapUsingServiceP(
-                    ServiceFactories.nonSharedService(ctx ->
-                                    ExpressionUtil.projectionFn(projection, ExpressionEvalContext.from(ctx)))
-                            .setCooperative(projectionsCooperative),
-                    (Function<JetSqlRow, JetSqlRow> projectionFn, JetSqlRow row) -> projectionFn.apply(row)
-            ));
+            vertex = dag.newUniqueVertex("Project", () -> new CalcP(projection, null));
         }
         connectInputPreserveCollation(rel, vertex);
         return vertex;
@@ -305,12 +297,19 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
 
     @Override
     public Vertex onSort(SortPhysicalRel rel) {
+        return onSort(rel, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates the vertices for the sort, which emit at most {@code limit} rows.
+     */
+    private Vertex onSort(SortPhysicalRel rel, long limit) {
         ComparatorEx<?> comparator = ExpressionUtil.comparisonFn(rel.getCollations());
 
         // Use 2-Phase sort for maximum parallelism
         // First, construct processors for local sorting
         Vertex sortVertex = dag.newUniqueVertex("Sort",
-                ProcessorMetaSupplier.of(sortP(comparator)));
+                ProcessorMetaSupplier.of(SortP.sortP(comparator, limit)));
         connectInput(rel.getInput(), sortVertex, null);
 
         // Then, combine the locally sorted inputs while preserving the ordering
@@ -380,7 +379,7 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
 
         Vertex vertex = dag.newUniqueVertex(
                 "AggregateByKey",
-                Processors.aggregateByKeyP(singletonList(groupKeyFn), aggregateOperation, (key, value) -> value)
+                GroupP.aggregateByKeySpillingP(singletonList(groupKeyFn), aggregateOperation, (key, value) -> value)
         );
         connectInput(rel.getInput(), vertex, edge -> edge.distributed().partitioned(groupKeyFn));
         return vertex;
@@ -393,7 +392,7 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
 
         Vertex vertex = dag.newUniqueVertex(
                 "AccumulateByKey",
-                Processors.accumulateByKeyP(singletonList(groupKeyFn), aggregateOperation)
+                GroupP.accumulateByKeySpillingP(singletonList(groupKeyFn), aggregateOperation)
         );
         connectInput(rel.getInput(), vertex, edge -> edge.partitioned(groupKeyFn));
         return vertex;
@@ -405,7 +404,7 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
 
         Vertex vertex = dag.newUniqueVertex(
                 "CombineByKey",
-                Processors.combineByKeyP(aggregateOperation, (key, value) -> value)
+                GroupP.combineByKeySpillingP(aggregateOperation, (key, value) -> value)
         );
         connectInput(rel.getInput(), vertex, edge -> edge.distributed().partitioned(entryKey()));
         return vertex;
@@ -650,11 +649,37 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
         // We use distribute-to-one edge to send all the items to the initiator member.
         // Such edge has to be partitioned, but the sink is LP=1 anyway, so we can use
         // allToOne with any key, it goes to a single processor on a single member anyway.
-        connectInput(input, vertex, edge -> edge.distributeTo(localMemberAddress)
-                .allToOne());
+        long sortLimit = sortLimit(fetch, offset);
+        if (input instanceof SortPhysicalRel sort && sortLimit != Long.MAX_VALUE) {
+            // the sort needs to emit only the rows the sink does not skip or drop
+            dag.edge(between(onSort(sort, sortLimit), vertex)
+                    .distributeTo(localMemberAddress)
+                    .allToOne());
+        } else {
+            connectInput(input, vertex, edge -> edge.distributeTo(localMemberAddress)
+                    .allToOne());
+        }
         return vertex;
     }
 
+    /**
+     * Returns the number of rows needed to apply the given FETCH and OFFSET,
+     * or {@code Long.MAX_VALUE} if they are not constant.
+     */
+    private static long sortLimit(Expression<?> fetch, Expression<?> offset) {
+        if (!(fetch instanceof ConstantExpression) || !(offset instanceof ConstantExpression)) {
+            return Long.MAX_VALUE;
+        }
+        Number fetchValue = (Number) fetch.eval(EmptyRow.INSTANCE, MOCK_EEC);
+        Number offsetValue = (Number) offset.eval(EmptyRow.INSTANCE, MOCK_EEC);
+        // invalid values are reported by the sink
+        if (fetchValue == null || offsetValue == null || fetchValue.longValue() < 0 || offsetValue.longValue() < 0) {
+            return Long.MAX_VALUE;
+        }
+        long limit = fetchValue.longValue() + offsetValue.longValue();
+        return limit < 0 ? Long.MAX_VALUE : limit;
+    }
+
     public void optimizeFinishedDag() {
         decreaseParallelism(dag, nodeEngine.getConfig().getJetConfig().getCooperativeThreadCount());
     }
@@ -24,7 +24,10 @@ import com.hazelcast.jet.sql.impl.opt.FieldCollation;
 import com.hazelcast.jet.sql.impl.opt.cost.CostUtils;
 import com.hazelcast.jet.sql.impl.schema.HazelcastTable;
 import com.hazelcast.jet.sql.impl.validate.types.HazelcastTypeUtils;
+import com.hazelcast.query.impl.IndexStatistics;
 import com.hazelcast.sql.impl.QueryParameterMetadata;
+import com.hazelcast.sql.impl.exec.scan.index.IndexCompositeFilter;
+import com.hazelcast.sql.impl.exec.scan.index.IndexEqualsFilter;
 import com.hazelcast.sql.impl.exec.scan.index.IndexFilter;
 import com.hazelcast.sql.impl.plan.node.PlanNodeSchema;
 import com.hazelcast.sql.impl.row.JetSqlRow;
@@ -157,7 +160,7 @@ public class IndexScanMapPhysicalRel extends TableScan implements HazelcastPhysi
         double rowCount = table.getRowCount();
 
         if (indexExp != null) {
-            rowCount = CostUtils.adjustFilteredRowCount(rowCount, RelMdUtil.guessSelectivity(indexExp));
+            rowCount = CostUtils.adjustFilteredRowCount(rowCount, indexSelectivity());
         }
 
         if (remainderExp != null) {
@@ -167,13 +170,50 @@ public class IndexScanMapPhysicalRel extends TableScan implements HazelcastPhysi
         return rowCount;
     }
 
+    /**
+     * Estimates the selectivity of the index lookup using the statistics of
+     * the local index for equality lookups, falls back to the guess based on
+     * the index expression otherwise.
+     */
+    private Double indexSelectivity() {
+        IndexStatistics statistics = index.getStatistics();
+        if (statistics != null && statistics.getEntryCount() > 0) {
+            long lookupCount = equalityLookupCount(indexFilter);
+            if (lookupCount > 0) {
+                long entryCount = statistics.getEntryCount();
+                return Math.min(1.0, (double) (lookupCount * statistics.estimateEqual()) / entryCount);
+            }
+        }
+        return RelMdUtil.guessSelectivity(indexExp);
+    }
+
+    /**
+     * @return the number of values looked up by the given filter if it
+     * consists of equality lookups only, {@code 0} otherwise.
+     */
+    private static long equalityLookupCount(IndexFilter filter) {
+        if (filter instanceof IndexEqualsFilter) {
+            return 1;
+        } else if (filter instanceof IndexCompositeFilter compositeFilter) {
+            long count = 0;
+            for (IndexFilter innerFilter : compositeFilter.getFilters()) {
+                if (!(innerFilter instanceof IndexEqualsFilter)) {
+                    return 0;
+                }
+                ++count;
+            }
+            return count;
+        }
+        return 0;
+    }
+
     @Override
     public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
         // Get the number of rows being scanned. This is either the whole index (scan), or only part of the index (lookup)
         double scanRowCount = table.getRowCount();
 
         if (indexExp != null) {
-            scanRowCount = CostUtils.adjustFilteredRowCount(scanRowCount, RelMdUtil.guessSelectivity(indexExp));
+            scanRowCount = CostUtils.adjustFilteredRowCount(scanRowCount, indexSelectivity());
         }
 
         // Get the number of rows that we expect after the remainder filter is applied.
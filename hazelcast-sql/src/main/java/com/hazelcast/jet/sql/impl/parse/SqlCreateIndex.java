@@ -205,9 +205,12 @@ public class SqlCreateIndex extends SqlCreate {
             case "bitmap":
                 type = IndexType.BITMAP;
                 break;
+            case "full_text":
+                type = IndexType.FULL_TEXT;
+                break;
             default:
                 throw QueryException.error(
-                        "Can't create index: wrong index type. Only HASH, SORTED and BITMAP types are supported."
+                        "Can't create index: wrong index type. Only HASH, SORTED, BITMAP and FULL_TEXT types are supported."
                 );
         }
         return type;
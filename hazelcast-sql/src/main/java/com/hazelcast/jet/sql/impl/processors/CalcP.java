@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.sql.impl.processors;
+
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.Traversers;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.Inbox;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.batch.BatchFilter;
+import com.hazelcast.sql.impl.expression.batch.BatchProjection;
+import com.hazelcast.sql.impl.expression.batch.ColumnBatch;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Processor evaluating the filter and the projection of a {@code Calc}
+ * relation. The input rows are evaluated in batches of up to {@link
+ * #BATCH_SIZE} rows, see {@link BatchFilter} and {@link BatchProjection}.
+ * <p>
+ * The rows of a batch are removed from the inbox only after all their
+ * results are emitted, so that no row is in flight when the inbox is empty.
+ * SQL engine-specific private API.
+ */
+public class CalcP extends AbstractProcessor {
+
+    static final int BATCH_SIZE = 1024;
+
+    private final List<Expression<?>> projection;
+    private final Expression<Boolean> filter;
+
+    private ExpressionEvalContext evalContext;
+    private ColumnBatch batch;
+    private BatchFilter batchFilter;
+    private BatchProjection batchProjection;
+    private Traverser<JetSqlRow> outputTraverser;
+
+    public CalcP(@Nonnull List<Expression<?>> projection, @Nullable Expression<Boolean> filter) {
+        this.projection = projection;
+        this.filter = filter;
+    }
+
+    @Override
+    protected void init(@Nonnull Context context) throws Exception {
+        evalContext = ExpressionEvalContext.from(context);
+        batch = new ColumnBatch(BATCH_SIZE);
+        batchFilter = filter != null ? BatchFilter.compile(filter, BATCH_SIZE) : null;
+        batchProjection = BatchProjection.compile(projection, BATCH_SIZE);
+        super.init(context);
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return projection.stream().allMatch(Expression::isCooperative)
+                && (filter == null || filter.isCooperative());
+    }
+
+    @Override
+    public void process(int ordinal, @Nonnull Inbox inbox) {
+        while (!inbox.isEmpty()) {
+            if (outputTraverser == null) {
+                for (Object item : inbox) {
+                    if (batch.isFull()) {
+                        break;
+                    }
+                    batch.add((JetSqlRow) item);
+                }
+                if (batchFilter != null) {
+                    batchFilter.filter(batch, evalContext);
+                }
+                outputTraverser = Traversers.traverseArray(batchProjection.project(batch, evalContext));
+            }
+            if (!emitFromTraverser(outputTraverser)) {
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                inbox.remove();
+            }
+            batch.clear();
+            outputTraverser = null;
+        }
+    }
+}
@@ -18,13 +18,19 @@ package com.hazelcast.jet.sql.impl.processors;
 
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.Multimap;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.Counter;
+import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.Traversers;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.core.ProcessorSupplier;
 import com.hazelcast.jet.core.Watermark;
+import com.hazelcast.jet.impl.execution.init.Contexts.InternalProcSupplierCtx;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.processor.SpillPartitions;
+import com.hazelcast.jet.impl.processor.SpillSettings;
 import com.hazelcast.jet.sql.impl.ExpressionUtil;
 import com.hazelcast.jet.sql.impl.JetJoinInfo;
 import com.hazelcast.jet.sql.impl.ObjectArrayKey;
@@ -36,25 +42,64 @@ import com.hazelcast.sql.impl.row.JetSqlRow;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
+import static com.hazelcast.internal.util.ExceptionUtil.sneakyThrow;
+import static com.hazelcast.jet.impl.processor.SpillPartitions.MAX_LEVEL;
+import static com.hazelcast.jet.impl.processor.SpillPartitions.PARTITION_COUNT;
+import static com.hazelcast.jet.impl.util.Util.getNodeEngine;
+
+/**
+ * Joins the rows of the left input (ordinal 0) with the rows of the right
+ * input (ordinal 1), which are collected to a hash table first.
+ * <p>
+ * If spilling is enabled and the hash table reaches {@link
+ * SpillSettings#thresholdRecords()} rows, the right rows of the keys not yet
+ * in the table are written to the local disk, hash-partitioned by the key,
+ * and so are the left rows with such keys (a hybrid grace hash join). The
+ * spilled partitions are joined one by one in the {@code complete} phase. A
+ * partition with more right rows than the threshold is joined the same way:
+ * the rows of the keys over the threshold are split to the partitions of the
+ * next level, up to {@link SpillPartitions#MAX_LEVEL}.
+ */
 public class SqlHashJoinP extends AbstractProcessor {
 
+    @Probe(name = "spilledPartitions")
+    private final Counter spilledPartitions = SwCounter.newSwCounter();
+    @Probe(name = "spilledBytes", unit = BYTES)
+    private final Counter spilledBytes = SwCounter.newSwCounter();
+
     private final JetJoinInfo joinInfo;
     private final int rightInputColumnCount;
+    private final SpillSettings spillSettings;
 
     private ExpressionEvalContext evalContext;
     private Multimap<ObjectArrayKey, JetSqlRow> hashMap;
     private FlatMapper<JetSqlRow, JetSqlRow> flatMapper;
     private long maxItemsInHashTable;
+    private long memoryLimit;
+    // the first level of spilled rows, null if spilling is disabled
+    private SpilledLevel spilled;
+    // the levels with partitions still to be joined, the deepest on top
+    private final Deque<SpilledLevel> spilledLevels = new ArrayDeque<>();
+    private Traverser<JetSqlRow> spilledTraverser;
 
     public SqlHashJoinP(JetJoinInfo joinInfo, int rightInputColumnCount) {
+        this(joinInfo, rightInputColumnCount, SpillSettings.DISABLED);
+    }
+
+    public SqlHashJoinP(JetJoinInfo joinInfo, int rightInputColumnCount, SpillSettings spillSettings) {
         this.joinInfo = joinInfo;
         this.rightInputColumnCount = rightInputColumnCount;
+        this.spillSettings = spillSettings;
     }
 
     @Override
@@ -63,6 +108,16 @@ public class SqlHashJoinP extends AbstractProcessor {
         this.hashMap = LinkedListMultimap.create();
         this.flatMapper = flatMapper(this::join);
         this.maxItemsInHashTable = context.maxProcessorAccumulatedRecords();
+        if (spillSettings.isEnabled()) {
+            this.memoryLimit = Math.min(maxItemsInHashTable, spillSettings.thresholdRecords());
+            this.spilled = new SpilledLevel(
+                    new SpillPartitions(spillSettings,
+                            ((InternalProcSupplierCtx) context).serializationService(), spilledBytes, spilledPartitions),
+                    new SpillPartitions(spillSettings,
+                            ((InternalProcSupplierCtx) context).serializationService(), spilledBytes, spilledPartitions));
+        } else {
+            this.memoryLimit = maxItemsInHashTable;
+        }
     }
 
     private Traverser<JetSqlRow> join(JetSqlRow leftRow) {
@@ -84,17 +139,26 @@ public class SqlHashJoinP extends AbstractProcessor {
     }
 
     @Override
-    protected boolean tryProcess0(@Nonnull Object item) {
-        return flatMapper.tryProcess((JetSqlRow) item);
+    protected boolean tryProcess0(@Nonnull Object item) throws IOException {
+        JetSqlRow leftRow = (JetSqlRow) item;
+        if (spilled != null && spilled.trySpillLeft(leftRow)) {
+            return true;
+        }
+        return flatMapper.tryProcess(leftRow);
     }
 
     @Override
-    protected boolean tryProcess1(@Nonnull Object item) {
+    protected boolean tryProcess1(@Nonnull Object item) throws IOException {
+        JetSqlRow rightRow = (JetSqlRow) item;
+        ObjectArrayKey joinKeys = ObjectArrayKey.project(rightRow, joinInfo.rightEquiJoinIndices());
+        if (spilled != null && hashMap.size() >= memoryLimit
+                && !joinKeys.containsNull() && !hashMap.containsKey(joinKeys)) {
+            spilled.writeRight(joinKeys, rightRow);
+            return true;
+        }
         if (hashMap.size() == maxItemsInHashTable) {
             throw new AccumulationLimitExceededException();
         }
-        JetSqlRow rightRow = (JetSqlRow) item;
-        ObjectArrayKey joinKeys = ObjectArrayKey.project(rightRow, joinInfo.rightEquiJoinIndices());
         // if there's a null in the key, then `null = null` is UNKNOWN in SQL, ignore such keys
         if (joinKeys.containsNull()) {
             return true;
@@ -108,9 +172,147 @@ public class SqlHashJoinP extends AbstractProcessor {
         return true;
     }
 
+    @Override
+    public boolean complete() {
+        if (spilled == null) {
+            return true;
+        }
+        if (spilledTraverser == null) {
+            spilledLevels.push(spilled);
+            spilledTraverser = new SpilledTraverser();
+        }
+        return emitFromTraverser(spilledTraverser);
+    }
+
+    /**
+     * Loads the right rows of the given partition to the hash table and
+     * returns a traverser joining the left rows of the partition with them.
+     * Once the hash table reaches the memory limit, the rows of new keys are
+     * split to the partitions of the next level instead, unless the level is
+     * the last one. The split partitions are pushed to {@link #spilledLevels}
+     * when the returned traverser is exhausted.
+     */
+    private Traverser<JetSqlRow> joinSpilledPartition(SpilledLevel level, int partition) throws IOException {
+        if (!level.right.contains(partition)) {
+            return Traversers.empty();
+        }
+        hashMap.clear();
+        boolean canSplit = level.right.level() < MAX_LEVEL;
+        SpilledLevel overflow = null;
+        for (Iterator<JetSqlRow> it = level.right.read(partition); it.hasNext(); ) {
+            JetSqlRow rightRow = it.next();
+            ObjectArrayKey joinKeys = ObjectArrayKey.project(rightRow, joinInfo.rightEquiJoinIndices());
+            if (canSplit && hashMap.size() >= memoryLimit && !hashMap.containsKey(joinKeys)) {
+                if (overflow == null) {
+                    overflow = new SpilledLevel(level.right.nextLevel(), level.left.nextLevel());
+                }
+                overflow.writeRight(joinKeys, rightRow);
+                continue;
+            }
+            if (hashMap.size() == maxItemsInHashTable) {
+                throw new AccumulationLimitExceededException();
+            }
+            hashMap.put(joinKeys, rightRow);
+        }
+        level.right.delete(partition);
+        Traverser<JetSqlRow> leftRows = Traversers.traverseIterator(level.left.<JetSqlRow>read(partition));
+        if (overflow == null) {
+            return leftRows.flatMap(this::join);
+        }
+        SpilledLevel nextLevel = overflow;
+        return leftRows
+                .flatMap(leftRow -> {
+                    try {
+                        return nextLevel.trySpillLeft(leftRow) ? Traversers.<JetSqlRow>empty() : join(leftRow);
+                    } catch (IOException e) {
+                        throw sneakyThrow(e);
+                    }
+                })
+                .onFirstNull(() -> spilledLevels.push(nextLevel));
+    }
+
     @Override
     public boolean isCooperative() {
-        return joinInfo.isCooperative();
+        return joinInfo.isCooperative() && !spillSettings.isEnabled();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (spilled != null && !spilledLevels.contains(spilled)) {
+            spilledLevels.push(spilled);
+        }
+        spilled = null;
+        IOException error = null;
+        for (SpilledLevel level; (level = spilledLevels.poll()) != null; ) {
+            for (SpillPartitions partitions : List.of(level.right, level.left)) {
+                try {
+                    partitions.close();
+                } catch (IOException e) {
+                    error = e;
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * The right and left rows of the spilled keys at one level.
+     */
+    private final class SpilledLevel {
+        final SpillPartitions right;
+        final SpillPartitions left;
+        int nextPartition;
+
+        SpilledLevel(SpillPartitions right, SpillPartitions left) {
+            this.right = right;
+            this.left = left;
+        }
+
+        void writeRight(ObjectArrayKey joinKeys, JetSqlRow rightRow) throws IOException {
+            right.write(right.partitionOf(joinKeys), rightRow);
+        }
+
+        /**
+         * Writes the left row to its partition if the right rows of its key
+         * were spilled to this level.
+         */
+        boolean trySpillLeft(JetSqlRow leftRow) throws IOException {
+            ObjectArrayKey joinKeys = ObjectArrayKey.project(leftRow, joinInfo.leftEquiJoinIndices());
+            int partition = left.partitionOf(joinKeys);
+            // the right rows of a key are either all in memory, or all in a spilled partition
+            if (!joinKeys.containsNull() && right.contains(partition) && !hashMap.containsKey(joinKeys)) {
+                left.write(partition, leftRow);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private final class SpilledTraverser implements Traverser<JetSqlRow> {
+        private Traverser<JetSqlRow> current = Traversers.empty();
+
+        @Override
+        public JetSqlRow next() {
+            try {
+                for (JetSqlRow row; ; ) {
+                    if ((row = current.next()) != null) {
+                        return row;
+                    }
+                    SpilledLevel level;
+                    while ((level = spilledLevels.peek()) != null && level.nextPartition == PARTITION_COUNT) {
+                        spilledLevels.pop();
+                    }
+                    if (level == null) {
+                        return null;
+                    }
+                    current = joinSpilledPartition(level, level.nextPartition++);
+                }
+            } catch (IOException e) {
+                throw sneakyThrow(e);
+            }
+        }
     }
 
     public static HashJoinProcessorSupplier supplier(JetJoinInfo joinInfo, int rightInputColumnCount) {
@@ -121,6 +323,8 @@ public class SqlHashJoinP extends AbstractProcessor {
         private JetJoinInfo joinInfo;
         private int rightInputColumnCount;
 
+        private transient SpillSettings spillSettings;
+
         @SuppressWarnings("unused") // for deserialization
         private HashJoinProcessorSupplier() {
         }
@@ -130,12 +334,17 @@ public class SqlHashJoinP extends AbstractProcessor {
             this.rightInputColumnCount = rightInputColumnCount;
         }
 
+        @Override
+        public void init(@Nonnull Context context) {
+            spillSettings = SpillSettings.fromProperties(getNodeEngine(context.hazelcastInstance()).getProperties());
+        }
+
         @Nonnull
         @Override
         public Collection<? extends Processor> get(int count) {
             List<SqlHashJoinP> processors = new ArrayList<>(count);
             for (int i = 0; i < count; i++) {
-                processors.add(new SqlHashJoinP(joinInfo, rightInputColumnCount));
+                processors.add(new SqlHashJoinP(joinInfo, rightInputColumnCount, spillSettings));
             }
             return processors;
         }
@@ -155,6 +364,6 @@ public class SqlHashJoinP extends AbstractProcessor {
 
     @Override
     public boolean closeIsCooperative() {
-        return true;
+        return !spillSettings.isEnabled();
     }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.expression.batch;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlErrorCode;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.math.MinusFunction;
+import com.hazelcast.sql.impl.expression.math.MultiplyFunction;
+import com.hazelcast.sql.impl.expression.math.PlusFunction;
+
+import javax.annotation.Nullable;
+
+/**
+ * Arithmetic operators with a batch kernel or a compiled form, with the
+ * same semantics as the {@code evalNumeric} methods of their expressions.
+ */
+public enum Arithmetic {
+
+    PLUS('+') {
+        @Override
+        public long apply(long left, long right) {
+            try {
+                return Math.addExact(left, right);
+            } catch (ArithmeticException e) {
+                throw overflow();
+            }
+        }
+
+        @Override
+        public double apply(double left, double right) {
+            return left + right;
+        }
+    },
+
+    MINUS('-') {
+        @Override
+        public long apply(long left, long right) {
+            try {
+                return Math.subtractExact(left, right);
+            } catch (ArithmeticException e) {
+                throw overflow();
+            }
+        }
+
+        @Override
+        public double apply(double left, double right) {
+            return left - right;
+        }
+    },
+
+    MULTIPLY('*') {
+        @Override
+        public long apply(long left, long right) {
+            try {
+                return Math.multiplyExact(left, right);
+            } catch (ArithmeticException e) {
+                throw overflow();
+            }
+        }
+
+        @Override
+        public double apply(double left, double right) {
+            return left * right;
+        }
+    };
+
+    private final char operator;
+
+    Arithmetic(char operator) {
+        this.operator = operator;
+    }
+
+    public abstract long apply(long left, long right);
+
+    public abstract double apply(double left, double right);
+
+    QueryException overflow() {
+        return QueryException.error(SqlErrorCode.DATA_EXCEPTION,
+                "BIGINT overflow in '" + operator + "' operator (consider adding explicit CAST to DECIMAL)");
+    }
+
+    @Nullable
+    public static Arithmetic of(Expression<?> expression) {
+        if (expression instanceof PlusFunction) {
+            return PLUS;
+        }
+        if (expression instanceof MinusFunction) {
+            return MINUS;
+        }
+        if (expression instanceof MultiplyFunction) {
+            return MULTIPLY;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.expression.batch;
+
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.compiler.CompiledExpression;
+import com.hazelcast.sql.impl.expression.compiler.ExpressionCompiler;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Evaluates a predicate for all the selected rows of a {@link ColumnBatch}
+ * and deselects the rows for which it isn't {@code TRUE}.
+ * <p>
+ * Conjunctions are evaluated operand by operand, each one only for the rows
+ * the previous ones selected. Comparisons of numeric columns and constants
+ * and null checks of columns have specialized kernels, other predicates
+ * are evaluated row by row, {@linkplain ExpressionCompiler compiled}.
+ */
+public abstract class BatchFilter {
+
+    BatchFilter() {
+    }
+
+    public abstract void filter(@Nonnull ColumnBatch batch, @Nonnull ExpressionEvalContext context);
+
+    /**
+     * Returns a filter evaluating the given predicate.
+     *
+     * @param capacity the capacity of the batches to filter
+     */
+    @Nonnull
+    public static BatchFilter compile(@Nonnull Expression<Boolean> predicate, int capacity) {
+        if (predicate instanceof AndPredicate) {
+            Expression<?>[] operands = ((AndPredicate) predicate).operands();
+            BatchFilter[] filters = new BatchFilter[operands.length];
+            for (int i = 0; i < operands.length; i++) {
+                @SuppressWarnings("unchecked")
+                Expression<Boolean> operand = (Expression<Boolean>) operands[i];
+                filters[i] = compile(operand, capacity);
+            }
+            return new And(filters);
+        }
+        if (predicate instanceof ComparisonPredicate) {
+            BatchFilter filter = compileComparison((ComparisonPredicate) predicate, capacity);
+            if (filter != null) {
+                return filter;
+            }
+        }
+        if (predicate instanceof IsNullPredicate && isColumn(((IsNullPredicate) predicate).getOperand())) {
+            return new NullCheck(((ColumnExpression<?>) ((IsNullPredicate) predicate).getOperand()).getIndex(), true);
+        }
+        if (predicate instanceof IsNotNullPredicate && isColumn(((IsNotNullPredicate) predicate).getOperand())) {
+            return new NullCheck(((ColumnExpression<?>) ((IsNotNullPredicate) predicate).getOperand()).getIndex(), false);
+        }
+        return new RowByRow(predicate);
+    }
+
+    @Nullable
+    private static BatchFilter compileComparison(ComparisonPredicate comparison, int capacity) {
+        QueryDataTypeFamily family = comparison.getOperand1().getType().getTypeFamily();
+        if (family.isNumericInteger()) {
+            LongKernel left = LongKernel.compile(comparison.getOperand1(), capacity);
+            LongKernel right = LongKernel.compile(comparison.getOperand2(), capacity);
+            if (left != null && right != null) {
+                return new LongComparison(comparison.getMode(), left, right);
+            }
+        } else if (family == QueryDataTypeFamily.REAL || family == QueryDataTypeFamily.DOUBLE) {
+            DoubleKernel left = DoubleKernel.compile(comparison.getOperand1(), capacity);
+            DoubleKernel right = DoubleKernel.compile(comparison.getOperand2(), capacity);
+            if (left != null && right != null) {
+                return new DoubleComparison(comparison.getMode(), left, right);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isColumn(Expression<?> expression) {
+        return expression instanceof ColumnExpression
+                && expression.getType().getTypeFamily() != QueryDataTypeFamily.OBJECT;
+    }
+
+    private static final class And extends BatchFilter {
+        private final BatchFilter[] filters;
+
+        And(BatchFilter[] filters) {
+            this.filters = filters;
+        }
+
+        @Override
+        public void filter(@Nonnull ColumnBatch batch, @Nonnull ExpressionEvalContext context) {
+            for (int i = 0; i < filters.length && batch.selectedCount() > 0; i++) {
+                filters[i].filter(batch, context);
+            }
+        }
+    }
+
+    private static final class LongComparison extends BatchFilter {
+        /**
+         * Whether the comparison passes, indexed by {@code
+         * Integer.signum(Long.compare(left, right)) + 1}.
+         */
+        private final boolean[] accepted;
+        private final LongKernel left;
+        private final LongKernel right;
+
+        LongComparison(ComparisonMode mode, LongKernel left, LongKernel right) {
+            this.accepted = mode.acceptedOrders();
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public void filter(@Nonnull ColumnBatch batch, @Nonnull ExpressionEvalContext context) {
+            left.eval(batch, context);
+            right.eval(batch, context);
+            long[] leftValues = left.values();
+            long[] rightValues = right.values();
+            boolean[] leftNulls = left.nulls();
+            boolean[] rightNulls = right.nulls();
+            int[] selection = batch.selection();
+            int selected = 0;
+            for (int i = 0, n = batch.selectedCount(); i < n; i++) {
+                if (!leftNulls[i] && !rightNulls[i]
+                        && accepted[Integer.signum(Long.compare(leftValues[i], rightValues[i])) + 1]) {
+                    selection[selected++] = selection[i];
+                }
+            }
+            batch.setSelectedCount(selected);
+        }
+    }
+
+    private static final class DoubleComparison extends BatchFilter {
+        /**
+         * Whether the comparison passes, indexed by {@code
+         * Integer.signum(Double.compare(left, right)) + 1}.
+         */
+        private final boolean[] accepted;
+        private final DoubleKernel left;
+        private final DoubleKernel right;
+
+        DoubleComparison(ComparisonMode mode, DoubleKernel left, DoubleKernel right) {
+            this.accepted = mode.acceptedOrders();
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public void filter(@Nonnull ColumnBatch batch, @Nonnull ExpressionEvalContext context) {
+            left.eval(batch, context);
+            right.eval(batch, context);
+            double[] leftValues = left.values();
+            double[] rightValues = right.values();
+            boolean[] leftNulls = left.nulls();
+            boolean[] rightNulls = right.nulls();
+            int[] selection = batch.selection();
+            int selected = 0;
+            for (int i = 0, n = batch.selectedCount(); i < n; i++) {
+                // Double.compare() orders the same as the compareTo() of the boxed values
+                if (!leftNulls[i] && !rightNulls[i]
+                        && accepted[Integer.signum(Double.compare(leftValues[i], rightValues[i])) + 1]) {
+                    selection[selected++] = selection[i];
+                }
+            }
+            batch.setSelectedCount(selected);
+        }
+    }
+
+    private static final class NullCheck extends BatchFilter {
+        private final int index;
+        private final boolean acceptNull;
+
+        NullCheck(int index, boolean acceptNull) {
+            this.index = index;
+            this.acceptNull = acceptNull;
+        }
+
+        @Override
+        public void filter(@Nonnull ColumnBatch batch, @Nonnull ExpressionEvalContext context) {
+            int[] selection = batch.selection();
+            int selected = 0;
+            for (int i = 0, n = batch.selectedCount(); i < n; i++) {
+                // a null is never serialized, no need to deserialize the value
+                if ((batch.selectedRow(i).getMaybeSerialized(index) == null) == acceptNull) {
+                    selection[selected++] = selection[i];
+                }
+            }
+            batch.setSelectedCount(selected);
+        }
+    }
+
+    private static final class RowByRow extends BatchFilter {
+        private final CompiledExpression<Boolean> predicate;
+
+        RowByRow(Expression<Boolean> predicate) {
+            this.predicate = ExpressionCompiler.compile(predicate);
+        }
+
+        @Override
+        public void filter(@Nonnull ColumnBatch batch, @Nonnull ExpressionEvalContext context) {
+            int[] selection = batch.selection();
+            int selected = 0;
+            for (int i = 0, n = batch.selectedCount(); i < n; i++) {
+                if (Boolean.TRUE.equals(predicate.eval(batch.cursor(i), context))) {
+                    selection[selected++] = selection[i];
+                }
+            }
+            batch.setSelectedCount(selected);
+        }
+    }
+}
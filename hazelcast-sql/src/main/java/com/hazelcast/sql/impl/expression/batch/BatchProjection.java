@@ -0,0 +1,172 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.expression.batch;
+
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.compiler.CompiledExpression;
+import com.hazelcast.sql.impl.expression.compiler.ExpressionCompiler;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * Evaluates a projection for the selected rows of a {@link ColumnBatch},
+ * one column at a time. Column references are copied, {@code BIGINT} and
+ * {@code DOUBLE} arithmetic over numeric columns and constants is evaluated
+ * by primitive kernels, other expressions are evaluated row by row,
+ * {@linkplain ExpressionCompiler compiled}.
+ */
+public final class BatchProjection {
+
+    private final Column[] columns;
+
+    private BatchProjection(Column[] columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Returns a projection evaluating the given expressions.
+     *
+     * @param capacity the capacity of the batches to project
+     */
+    @Nonnull
+    public static BatchProjection compile(@Nonnull List<Expression<?>> projection, int capacity) {
+        Column[] columns = new Column[projection.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = compileColumn(projection.get(i), capacity);
+        }
+        return new BatchProjection(columns);
+    }
+
+    private static Column compileColumn(Expression<?> expression, int capacity) {
+        QueryDataTypeFamily family = expression.getType().getTypeFamily();
+        if (expression instanceof ColumnExpression && family != QueryDataTypeFamily.OBJECT) {
+            return new CopyColumn(((ColumnExpression<?>) expression).getIndex());
+        }
+        if (!(expression instanceof ColumnExpression) && !(expression instanceof ConstantExpression)) {
+            if (family == QueryDataTypeFamily.BIGINT) {
+                LongKernel kernel = LongKernel.compile(expression, capacity);
+                if (kernel != null) {
+                    return new LongColumn(kernel);
+                }
+            } else if (family == QueryDataTypeFamily.DOUBLE) {
+                DoubleKernel kernel = DoubleKernel.compile(expression, capacity);
+                if (kernel != null) {
+                    return new DoubleColumn(kernel);
+                }
+            }
+        }
+        return new RowByRowColumn(expression);
+    }
+
+    /**
+     * Returns the projected selected rows of the batch.
+     */
+    @Nonnull
+    public JetSqlRow[] project(@Nonnull ColumnBatch batch, @Nonnull ExpressionEvalContext context) {
+        int count = batch.selectedCount();
+        Object[][] values = new Object[count][columns.length];
+        for (int column = 0; column < columns.length; column++) {
+            columns[column].eval(batch, context, values, column);
+        }
+        JetSqlRow[] result = new JetSqlRow[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = new JetSqlRow(context.getSerializationService(), values[i]);
+        }
+        return result;
+    }
+
+    private interface Column {
+        /**
+         * Stores the value of the column for the selected row at position
+         * {@code i} of the batch to {@code values[i][column]}.
+         */
+        void eval(ColumnBatch batch, ExpressionEvalContext context, Object[][] values, int column);
+    }
+
+    private static final class CopyColumn implements Column {
+        private final int index;
+
+        CopyColumn(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void eval(ColumnBatch batch, ExpressionEvalContext context, Object[][] values, int column) {
+            for (int i = 0, n = batch.selectedCount(); i < n; i++) {
+                values[i][column] = batch.selectedRow(i).get(index);
+            }
+        }
+    }
+
+    private static final class LongColumn implements Column {
+        private final LongKernel kernel;
+
+        LongColumn(LongKernel kernel) {
+            this.kernel = kernel;
+        }
+
+        @Override
+        public void eval(ColumnBatch batch, ExpressionEvalContext context, Object[][] values, int column) {
+            kernel.eval(batch, context);
+            long[] results = kernel.values();
+            boolean[] nulls = kernel.nulls();
+            for (int i = 0, n = batch.selectedCount(); i < n; i++) {
+                values[i][column] = nulls[i] ? null : results[i];
+            }
+        }
+    }
+
+    private static final class DoubleColumn implements Column {
+        private final DoubleKernel kernel;
+
+        DoubleColumn(DoubleKernel kernel) {
+            this.kernel = kernel;
+        }
+
+        @Override
+        public void eval(ColumnBatch batch, ExpressionEvalContext context, Object[][] values, int column) {
+            kernel.eval(batch, context);
+            double[] results = kernel.values();
+            boolean[] nulls = kernel.nulls();
+            for (int i = 0, n = batch.selectedCount(); i < n; i++) {
+                values[i][column] = nulls[i] ? null : results[i];
+            }
+        }
+    }
+
+    private static final class RowByRowColumn implements Column {
+        private final CompiledExpression<?> expression;
+
+        RowByRowColumn(Expression<?> expression) {
+            this.expression = ExpressionCompiler.compile(expression);
+        }
+
+        @Override
+        public void eval(ColumnBatch batch, ExpressionEvalContext context, Object[][] values, int column) {
+            for (int i = 0, n = batch.selectedCount(); i < n; i++) {
+                values[i][column] = expression.eval(batch.cursor(i), context);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.expression.batch;
+
+import com.hazelcast.sql.impl.row.JetSqlRow;
+import com.hazelcast.sql.impl.row.Row;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A batch of rows evaluated together by the batch filters and projections.
+ * <p>
+ * The rows which passed the filters so far are tracked by a selection
+ * vector. The kernels evaluate the expressions for the selected rows only,
+ * column by column, and store the result of the row at {@code
+ * selection[position]} at index {@code position} of their result vectors.
+ */
+public final class ColumnBatch {
+
+    private final JetSqlRow[] rows;
+    private final int[] selection;
+    private final CursorRow cursor = new CursorRow();
+    private int size;
+    private int selectedCount;
+
+    public ColumnBatch(int capacity) {
+        this.rows = new JetSqlRow[capacity];
+        this.selection = new int[capacity];
+    }
+
+    public int capacity() {
+        return rows.length;
+    }
+
+    public boolean isFull() {
+        return size == rows.length;
+    }
+
+    /**
+     * Adds the row to the batch and selects it.
+     */
+    public void add(@Nonnull JetSqlRow row) {
+        assert size < rows.length : "The batch is full";
+        selection[selectedCount++] = size;
+        rows[size++] = row;
+    }
+
+    /**
+     * Returns the number of rows added to the batch.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of selected rows.
+     */
+    public int selectedCount() {
+        return selectedCount;
+    }
+
+    /**
+     * Returns the selected row at the given position of the selection.
+     */
+    @Nonnull
+    public JetSqlRow selectedRow(int position) {
+        return rows[selection[position]];
+    }
+
+    /**
+     * Removes all the rows from the batch.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            rows[i] = null;
+        }
+        size = 0;
+        selectedCount = 0;
+    }
+
+    /**
+     * Returns a view of the selected row at the given position. The returned
+     * instance is reused by the subsequent calls.
+     */
+    Row cursor(int position) {
+        cursor.row = selectedRow(position);
+        return cursor;
+    }
+
+    int[] selection() {
+        return selection;
+    }
+
+    void setSelectedCount(int selectedCount) {
+        assert selectedCount <= this.selectedCount;
+        this.selectedCount = selectedCount;
+    }
+
+    private static final class CursorRow implements Row {
+        private JetSqlRow row;
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> T get(int index) {
+            return (T) row.get(index);
+        }
+
+        @Override
+        public int getColumnCount() {
+            return row.getFieldCount();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.expression.batch;
+
+import com.hazelcast.sql.impl.expression.BiExpression;
+import com.hazelcast.sql.impl.expression.CastExpression;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * Evaluates an approximate numeric expression for the selected rows of a {@link
+ * ColumnBatch} to a primitive vector, without boxing the intermediate
+ * results.
+ */
+abstract class DoubleKernel {
+
+    private final double[] values;
+    private final boolean[] nulls;
+
+    DoubleKernel(int capacity) {
+        this.values = new double[capacity];
+        this.nulls = new boolean[capacity];
+    }
+
+    /**
+     * The values by the position in the selection, valid if not {@link #nulls()}.
+     */
+    final double[] values() {
+        return values;
+    }
+
+    final boolean[] nulls() {
+        return nulls;
+    }
+
+    abstract void eval(ColumnBatch batch, ExpressionEvalContext context);
+
+    /**
+     * Returns a kernel for the given expression, or {@code null} if the
+     * expression is not a {@code DOUBLE} arithmetic over numeric columns and
+     * constants. {@code DECIMAL} values are not supported.
+     */
+    @Nullable
+    static DoubleKernel compile(Expression<?> expression, int capacity) {
+        QueryDataTypeFamily family = expression.getType().getTypeFamily();
+        if (!family.isNumeric() || family == QueryDataTypeFamily.DECIMAL) {
+            return null;
+        }
+        if (expression instanceof ColumnExpression) {
+            return new Column(((ColumnExpression<?>) expression).getIndex(), capacity);
+        }
+        if (expression instanceof ConstantExpression) {
+            Object value = ((ConstantExpression<?>) expression).getValue();
+            return value == null ? null : new Constant(((Number) value).doubleValue(), capacity);
+        }
+        if (expression instanceof CastExpression && family == QueryDataTypeFamily.DOUBLE) {
+            // the conversion to DOUBLE is a widening primitive conversion
+            return compile(((CastExpression<?>) expression).getOperand(), capacity);
+        }
+        return family == QueryDataTypeFamily.DOUBLE ? compileArithmetic(expression, capacity) : null;
+    }
+
+    @Nullable
+    private static DoubleKernel compileArithmetic(Expression<?> expression, int capacity) {
+        Arithmetic arithmetic = Arithmetic.of(expression);
+        if (arithmetic == null) {
+            return null;
+        }
+        BiExpression<?> bi = (BiExpression<?>) expression;
+        DoubleKernel left = compile(bi.getOperand1(), capacity);
+        DoubleKernel right = compile(bi.getOperand2(), capacity);
+        return left == null || right == null ? null : new Binary(arithmetic, left, right, capacity);
+    }
+
+    private static final class Column extends DoubleKernel {
+        private final int index;
+
+        Column(int index, int capacity) {
+            super(capacity);
+            this.index = index;
+        }
+
+        @Override
+        void eval(ColumnBatch batch, ExpressionEvalContext context) {
+            double[] values = values();
+            boolean[] nulls = nulls();
+            for (int i = 0, n = batch.selectedCount(); i < n; i++) {
+                Object value = batch.selectedRow(i).get(index);
+                nulls[i] = value == null;
+                values[i] = value == null ? 0d : ((Number) value).doubleValue();
+            }
+        }
+    }
+
+    private static final class Constant extends DoubleKernel {
+        Constant(double value, int capacity) {
+            super(capacity);
+            Arrays.fill(values(), value);
+        }
+
+        @Override
+        void eval(ColumnBatch batch, ExpressionEvalContext context) {
+            // the vector is filled in advance
+        }
+    }
+
+    private static final class Binary extends DoubleKernel {
+        private final Arithmetic arithmetic;
+        private final DoubleKernel left;
+        private final DoubleKernel right;
+
+        Binary(Arithmetic arithmetic, DoubleKernel left, DoubleKernel right, int capacity) {
+            super(capacity);
+            this.arithmetic = arithmetic;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        void eval(ColumnBatch batch, ExpressionEvalContext context) {
+            left.eval(batch, context);
+            right.eval(batch, context);
+            double[] leftValues = left.values();
+            double[] rightValues = right.values();
+            boolean[] leftNulls = left.nulls();
+            boolean[] rightNulls = right.nulls();
+            double[] values = values();
+            boolean[] nulls = nulls();
+            for (int i = 0, n = batch.selectedCount(); i < n; i++) {
+                nulls[i] = leftNulls[i] || rightNulls[i];
+                if (!nulls[i]) {
+                    values[i] = arithmetic.apply(leftValues[i], rightValues[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.sql.impl.expression.batch;
+
+import com.hazelcast.sql.impl.expression.BiExpression;
+import com.hazelcast.sql.impl.expression.CastExpression;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * Evaluates an integer expression for the selected rows of a {@link
+ * ColumnBatch} to a primitive vector, without boxing the intermediate
+ * results.
+ */
+abstract class LongKernel {
+
+    private final long[] values;
+    private final boolean[] nulls;
+
+    LongKernel(int capacity) {
+        this.values = new long[capacity];
+        this.nulls = new boolean[capacity];
+    }
+
+    /**
+     * The values by the position in the selection, valid if not {@link #nulls()}.
+     */
+    final long[] values() {
+        return values;
+    }
+
+    final boolean[] nulls() {
+        return nulls;
+    }
+
+    abstract void eval(ColumnBatch batch, ExpressionEvalContext context);
+
+    /**
+     * Returns a kernel for the given expression, or {@code null} if the
+     * expression is not a {@code BIGINT} arithmetic over integer columns and
+     * constants.
+     */
+    @Nullable
+    static LongKernel compile(Expression<?> expression, int capacity) {
+        QueryDataTypeFamily family = expression.getType().getTypeFamily();
+        if (!family.isNumericInteger()) {
+            return null;
+        }
+        if (expression instanceof ColumnExpression) {
+            return new Column(((ColumnExpression<?>) expression).getIndex(), capacity);
+        }
+        if (expression instanceof ConstantExpression) {
+            Object value = ((ConstantExpression<?>) expression).getValue();
+            return value == null ? null : new Constant(((Number) value).longValue(), capacity);
+        }
+        if (expression instanceof CastExpression && family == QueryDataTypeFamily.BIGINT) {
+            // widening to BIGINT doesn't change the value
+            return compile(((CastExpression<?>) expression).getOperand(), capacity);
+        }
+        Arithmetic arithmetic = Arithmetic.of(expression);
+        if (arithmetic != null && family == QueryDataTypeFamily.BIGINT) {
+            BiExpression<?> bi = (BiExpression<?>) expression;
+            LongKernel left = compile(bi.getOperand1(), capacity);
+            LongKernel right = compile(bi.getOperand2(), capacity);
+            return left == null || right == null ? null : new Binary(arithmetic, left, right, capacity);
+        }
+        return null;
+    }
+
+    private static final class Column extends LongKernel {
+        private final int index;
+
+        Column(int index, int capacity) {
+            super(capacity);
+            this.index = index;
+        }
+
+        @Override
+        void eval(ColumnBatch batch, ExpressionEvalContext context) {
+            long[] values = values();
+            boolean[] nulls = nulls();
+            for (int i = 0, n = batch.selectedCount(); i < n; i++) {
+                Object value = batch.selectedRow(i).get(index);
+                nulls[i] = value == null;
+                values[i] = value == null ? 0 : ((Number) value).longValue();
+            }
+        }
+    }
+
+    private static final class Constant extends LongKernel {
+        Constant(long value, int capacity) {
+            super(capacity);
+            Arrays.fill(values(), value);
+        }
+
+        @Override
+        void eval(ColumnBatch batch, ExpressionEvalContext context) {
+            // the vector is filled in advance
+        }
+    }
+
+    private static final class Binary extends LongKernel {
+        private final Arithmetic arithmetic;
+        private final LongKernel left;
+        private final LongKernel right;
+
+        Binary(Arithmetic arithmetic, LongKernel left, LongKernel right, int capacity) {
+            super(capacity);
+            this.arithmetic = arithmetic;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        void eval(ColumnBatch batch, ExpressionEvalContext context) {
+            left.eval(batch, context);
+            right.eval(batch, context);
+            long[] leftValues = left.values();
+            long[] rightValues = right.values();
+            boolean[] leftNulls = left.nulls();
+            boolean[] rightNulls = right.nulls();
+            long[] values = values();
+            boolean[] nulls = nulls();
+            for (int i = 0, n = batch.selectedCount(); i < n; i++) {
+                nulls[i] = leftNulls[i] || rightNulls[i];
+                if (!nulls[i]) {
+                    values[i] = arithmetic.apply(leftValues[i], rightValues[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.compiler;
+
+import com.hazelcast.query.impl.Comparables;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import javax.annotation.Nullable;
+
+/**
+ * Compiled forms of {@link ComparisonPredicate}, specialized for the type
+ * family of the operands.
+ */
+final class CompiledComparisons {
+
+    private CompiledComparisons() {
+    }
+
+    @Nullable
+    static CompiledExpression<?> compile(ComparisonPredicate comparison) {
+        QueryDataTypeFamily family = comparison.getOperand1().getType().getTypeFamily();
+        if (family == QueryDataTypeFamily.OBJECT) {
+            // the interpreter checks the classes of the values first
+            return null;
+        }
+        boolean[] accepted = comparison.getMode().acceptedOrders();
+        CompiledExpression<?> left = ExpressionCompiler.compileOperand(comparison.getOperand1());
+        Expression<?> right = comparison.getOperand2();
+
+        if (family.isNumericInteger()) {
+            if (right instanceof ConstantExpression && ((ConstantExpression<?>) right).getValue() != null) {
+                long constant = ((Number) ((ConstantExpression<?>) right).getValue()).longValue();
+                return new LongConstantComparison(left, constant, accepted);
+            }
+            return new LongComparison(left, ExpressionCompiler.compileOperand(right), accepted);
+        }
+        if (family == QueryDataTypeFamily.DOUBLE || family == QueryDataTypeFamily.REAL) {
+            return new DoubleComparison(left, ExpressionCompiler.compileOperand(right), accepted);
+        }
+        return new GenericComparison(left, ExpressionCompiler.compileOperand(right), accepted);
+    }
+
+    private static final class LongConstantComparison implements CompiledExpression<Boolean> {
+        private final CompiledExpression<?> left;
+        private final long right;
+        private final boolean[] accepted;
+
+        LongConstantComparison(CompiledExpression<?> left, long right, boolean[] accepted) {
+            this.left = left;
+            this.right = right;
+            this.accepted = accepted;
+        }
+
+        @Override
+        @SuppressFBWarnings(value = "NP_BOOLEAN_RETURN_NULL", justification = "Any SQL expression may return null")
+        public Boolean eval(Row row, ExpressionEvalContext context) {
+            Object left = this.left.eval(row, context);
+            if (left == null) {
+                return null;
+            }
+            return accepted[Integer.signum(Long.compare(((Number) left).longValue(), right)) + 1];
+        }
+    }
+
+    private static final class LongComparison implements CompiledExpression<Boolean> {
+        private final CompiledExpression<?> left;
+        private final CompiledExpression<?> right;
+        private final boolean[] accepted;
+
+        LongComparison(CompiledExpression<?> left, CompiledExpression<?> right, boolean[] accepted) {
+            this.left = left;
+            this.right = right;
+            this.accepted = accepted;
+        }
+
+        @Override
+        @SuppressFBWarnings(value = "NP_BOOLEAN_RETURN_NULL", justification = "Any SQL expression may return null")
+        public Boolean eval(Row row, ExpressionEvalContext context) {
+            Object left = this.left.eval(row, context);
+            if (left == null) {
+                return null;
+            }
+            Object right = this.right.eval(row, context);
+            if (right == null) {
+                return null;
+            }
+            return accepted[Integer.signum(Long.compare(((Number) left).longValue(), ((Number) right).longValue())) + 1];
+        }
+    }
+
+    private static final class DoubleComparison implements CompiledExpression<Boolean> {
+        private final CompiledExpression<?> left;
+        private final CompiledExpression<?> right;
+        private final boolean[] accepted;
+
+        DoubleComparison(CompiledExpression<?> left, CompiledExpression<?> right, boolean[] accepted) {
+            this.left = left;
+            this.right = right;
+            this.accepted = accepted;
+        }
+
+        @Override
+        @SuppressFBWarnings(value = "NP_BOOLEAN_RETURN_NULL", justification = "Any SQL expression may return null")
+        public Boolean eval(Row row, ExpressionEvalContext context) {
+            Object left = this.left.eval(row, context);
+            if (left == null) {
+                return null;
+            }
+            Object right = this.right.eval(row, context);
+            if (right == null) {
+                return null;
+            }
+            // Double.compare() orders NaN and signed zeros the same as Double/Float.compareTo()
+            return accepted[Integer.signum(Double.compare(((Number) left).doubleValue(), ((Number) right).doubleValue())) + 1];
+        }
+    }
+
+    private static final class GenericComparison implements CompiledExpression<Boolean> {
+        private final CompiledExpression<?> left;
+        private final CompiledExpression<?> right;
+        private final boolean[] accepted;
+
+        GenericComparison(CompiledExpression<?> left, CompiledExpression<?> right, boolean[] accepted) {
+            this.left = left;
+            this.right = right;
+            this.accepted = accepted;
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        @SuppressFBWarnings(value = "NP_BOOLEAN_RETURN_NULL", justification = "Any SQL expression may return null")
+        public Boolean eval(Row row, ExpressionEvalContext context) {
+            Object left = this.left.eval(row, context);
+            if (left == null) {
+                return null;
+            }
+            Object right = this.right.eval(row, context);
+            if (right == null) {
+                return null;
+            }
+            return accepted[Integer.signum(Comparables.compare((Comparable) left, (Comparable) right)) + 1];
+        }
+    }
+}
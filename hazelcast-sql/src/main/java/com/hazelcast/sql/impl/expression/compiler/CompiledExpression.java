@@ -0,0 +1,37 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.compiler;
+
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.Row;
+
+/**
+ * An {@link Expression} compiled by {@link ExpressionCompiler}. Compiled
+ * expressions are stateless and can be shared by threads.
+ *
+ * @param <T> the return type
+ */
+@FunctionalInterface
+public interface CompiledExpression<T> {
+
+    /**
+     * Evaluates the expression, with the same result as {@link
+     * Expression#evalTop} of the expression it was compiled from.
+     */
+    T eval(Row row, ExpressionEvalContext context);
+}
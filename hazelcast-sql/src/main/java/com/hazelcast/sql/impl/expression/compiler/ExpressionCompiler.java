@@ -0,0 +1,349 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.compiler;
+
+import com.hazelcast.sql.impl.expression.BiExpression;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.ParameterExpression;
+import com.hazelcast.sql.impl.expression.batch.Arithmetic;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.NotPredicate;
+import com.hazelcast.sql.impl.expression.predicate.OrPredicate;
+import com.hazelcast.sql.impl.expression.predicate.TernaryLogic;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles expression trees to trees of {@link CompiledExpression}s.
+ * <p>
+ * The interpreted expressions resolve the operand types, the comparison
+ * mode and the null handling on every evaluation. The compiled nodes are
+ * specialized for those at compile time: a comparison of two {@code
+ * BIGINT} values compiles to a {@code Long.compare()} of the unboxed
+ * values, a comparison with a constant unboxes the constant once, AND and
+ * OR are unrolled over the compiled operands etc. The nodes are small
+ * final classes, which keeps the call sites monomorphic for the JIT.
+ * <p>
+ * The expressions without a compiled form are evaluated by the
+ * interpreter, the result of {@link CompiledExpression#eval} is always the
+ * same as of {@link Expression#evalTop}.
+ */
+public final class ExpressionCompiler {
+
+    private ExpressionCompiler() {
+    }
+
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public static <T> CompiledExpression<T> compile(@Nonnull Expression<T> expression) {
+        CompiledExpression<?> compiled = tryCompile(expression);
+        return compiled != null ? (CompiledExpression<T>) compiled : new InterpretedTop<>(expression);
+    }
+
+    @Nonnull
+    public static List<CompiledExpression<?>> compile(@Nonnull List<Expression<?>> expressions) {
+        List<CompiledExpression<?>> compiled = new ArrayList<>(expressions.size());
+        for (Expression<?> expression : expressions) {
+            compiled.add(compile(expression));
+        }
+        return compiled;
+    }
+
+    /**
+     * Compiles a nested expression, falling back to {@link Expression#eval}.
+     */
+    static CompiledExpression<?> compileOperand(Expression<?> expression) {
+        CompiledExpression<?> compiled = tryCompile(expression);
+        return compiled != null ? compiled : new Interpreted(expression);
+    }
+
+    @Nullable
+    private static CompiledExpression<?> tryCompile(Expression<?> expression) {
+        CompiledExpression<?> compiled = tryCompileLeaf(expression);
+        if (compiled == null) {
+            compiled = tryCompilePredicate(expression);
+        }
+        return compiled != null ? compiled : compileArithmetic(expression);
+    }
+
+    @Nullable
+    private static CompiledExpression<?> tryCompileLeaf(Expression<?> expression) {
+        if (expression instanceof ColumnExpression) {
+            // OBJECT columns can hold lazily deserialized values, which evalTop() and eval() handle differently
+            return expression.getType().getTypeFamily() == QueryDataTypeFamily.OBJECT
+                    ? null
+                    : new Column(((ColumnExpression<?>) expression).getIndex());
+        }
+        if (expression instanceof ConstantExpression) {
+            return new Constant(((ConstantExpression<?>) expression).getValue());
+        }
+        if (expression instanceof ParameterExpression) {
+            return new Parameter(((ParameterExpression<?>) expression).getIndex());
+        }
+        return null;
+    }
+
+    @Nullable
+    private static CompiledExpression<?> tryCompilePredicate(Expression<?> expression) {
+        if (expression instanceof ComparisonPredicate) {
+            return CompiledComparisons.compile((ComparisonPredicate) expression);
+        }
+        if (expression instanceof AndPredicate) {
+            return new And(compileOperands(((AndPredicate) expression).operands()));
+        }
+        if (expression instanceof OrPredicate) {
+            return new Or(compileOperands(((OrPredicate) expression).operands()));
+        }
+        if (expression instanceof NotPredicate) {
+            return new Not(compileOperand(((NotPredicate) expression).getOperand()));
+        }
+        if (expression instanceof IsNullPredicate) {
+            return new IsNull(compileOperand(((IsNullPredicate) expression).getOperand()), true);
+        }
+        if (expression instanceof IsNotNullPredicate) {
+            return new IsNull(compileOperand(((IsNotNullPredicate) expression).getOperand()), false);
+        }
+        return null;
+    }
+
+    private static CompiledExpression<?>[] compileOperands(Expression<?>[] operands) {
+        CompiledExpression<?>[] compiled = new CompiledExpression<?>[operands.length];
+        for (int i = 0; i < operands.length; i++) {
+            compiled[i] = compileOperand(operands[i]);
+        }
+        return compiled;
+    }
+
+    @Nullable
+    private static CompiledExpression<?> compileArithmetic(Expression<?> expression) {
+        Arithmetic arithmetic = Arithmetic.of(expression);
+        if (arithmetic == null) {
+            return null;
+        }
+        QueryDataTypeFamily family = expression.getType().getTypeFamily();
+        BiExpression<?> bi = (BiExpression<?>) expression;
+        if (family == QueryDataTypeFamily.BIGINT) {
+            return new LongArithmetic(arithmetic, compileOperand(bi.getOperand1()), compileOperand(bi.getOperand2()));
+        }
+        if (family == QueryDataTypeFamily.DOUBLE) {
+            return new DoubleArithmetic(arithmetic, compileOperand(bi.getOperand1()), compileOperand(bi.getOperand2()));
+        }
+        return null;
+    }
+
+    private static final class InterpretedTop<T> implements CompiledExpression<T> {
+        private final Expression<T> expression;
+
+        InterpretedTop(Expression<T> expression) {
+            this.expression = expression;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T eval(Row row, ExpressionEvalContext context) {
+            return (T) expression.evalTop(row, context);
+        }
+    }
+
+    private static final class Interpreted implements CompiledExpression<Object> {
+        private final Expression<?> expression;
+
+        Interpreted(Expression<?> expression) {
+            this.expression = expression;
+        }
+
+        @Override
+        public Object eval(Row row, ExpressionEvalContext context) {
+            return expression.eval(row, context);
+        }
+    }
+
+    private static final class Column implements CompiledExpression<Object> {
+        private final int index;
+
+        Column(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Object eval(Row row, ExpressionEvalContext context) {
+            return row.get(index, false);
+        }
+    }
+
+    private static final class Constant implements CompiledExpression<Object> {
+        private final Object value;
+
+        Constant(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object eval(Row row, ExpressionEvalContext context) {
+            return value;
+        }
+    }
+
+    private static final class Parameter implements CompiledExpression<Object> {
+        private final int index;
+
+        Parameter(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Object eval(Row row, ExpressionEvalContext context) {
+            return context.getArgument(index);
+        }
+    }
+
+    private static final class And implements CompiledExpression<Boolean> {
+        private final CompiledExpression<?>[] operands;
+
+        And(CompiledExpression<?>[] operands) {
+            this.operands = operands;
+        }
+
+        @Override
+        @SuppressFBWarnings(value = "NP_BOOLEAN_RETURN_NULL", justification = "Any SQL expression may return null")
+        public Boolean eval(Row row, ExpressionEvalContext context) {
+            boolean seenUnknown = false;
+            for (CompiledExpression<?> operand : operands) {
+                Boolean result = (Boolean) operand.eval(row, context);
+                if (result == null) {
+                    seenUnknown = true;
+                } else if (!result) {
+                    return Boolean.FALSE;
+                }
+            }
+            return seenUnknown ? null : Boolean.TRUE;
+        }
+    }
+
+    private static final class Or implements CompiledExpression<Boolean> {
+        private final CompiledExpression<?>[] operands;
+
+        Or(CompiledExpression<?>[] operands) {
+            this.operands = operands;
+        }
+
+        @Override
+        @SuppressFBWarnings(value = "NP_BOOLEAN_RETURN_NULL", justification = "Any SQL expression may return null")
+        public Boolean eval(Row row, ExpressionEvalContext context) {
+            boolean seenUnknown = false;
+            for (CompiledExpression<?> operand : operands) {
+                Boolean result = (Boolean) operand.eval(row, context);
+                if (result == null) {
+                    seenUnknown = true;
+                } else if (result) {
+                    return Boolean.TRUE;
+                }
+            }
+            return seenUnknown ? null : Boolean.FALSE;
+        }
+    }
+
+    private static final class Not implements CompiledExpression<Boolean> {
+        private final CompiledExpression<?> operand;
+
+        Not(CompiledExpression<?> operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public Boolean eval(Row row, ExpressionEvalContext context) {
+            return TernaryLogic.not((Boolean) operand.eval(row, context));
+        }
+    }
+
+    private static final class IsNull implements CompiledExpression<Boolean> {
+        private final CompiledExpression<?> operand;
+        private final boolean isNull;
+
+        IsNull(CompiledExpression<?> operand, boolean isNull) {
+            this.operand = operand;
+            this.isNull = isNull;
+        }
+
+        @Override
+        public Boolean eval(Row row, ExpressionEvalContext context) {
+            return (operand.eval(row, context) == null) == isNull;
+        }
+    }
+
+    private static final class LongArithmetic implements CompiledExpression<Long> {
+        private final Arithmetic arithmetic;
+        private final CompiledExpression<?> left;
+        private final CompiledExpression<?> right;
+
+        LongArithmetic(Arithmetic arithmetic, CompiledExpression<?> left, CompiledExpression<?> right) {
+            this.arithmetic = arithmetic;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public Long eval(Row row, ExpressionEvalContext context) {
+            Object left = this.left.eval(row, context);
+            if (left == null) {
+                return null;
+            }
+            Object right = this.right.eval(row, context);
+            if (right == null) {
+                return null;
+            }
+            return arithmetic.apply(((Number) left).longValue(), ((Number) right).longValue());
+        }
+    }
+
+    private static final class DoubleArithmetic implements CompiledExpression<Double> {
+        private final Arithmetic arithmetic;
+        private final CompiledExpression<?> left;
+        private final CompiledExpression<?> right;
+
+        DoubleArithmetic(Arithmetic arithmetic, CompiledExpression<?> left, CompiledExpression<?> right) {
+            this.arithmetic = arithmetic;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public Double eval(Row row, ExpressionEvalContext context) {
+            Object left = this.left.eval(row, context);
+            if (left == null) {
+                return null;
+            }
+            Object right = this.right.eval(row, context);
+            if (right == null) {
+                return null;
+            }
+            return arithmetic.apply(((Number) left).doubleValue(), ((Number) right).doubleValue());
+        }
+    }
+}
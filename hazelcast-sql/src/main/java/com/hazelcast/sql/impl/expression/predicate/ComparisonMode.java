@@ -39,6 +39,29 @@ public enum ComparisonMode {
         return id;
     }
 
+    /**
+     * Returns the results of the comparison for the operand orders -1, 0 and
+     * 1, as returned by {@link Integer#signum}, at indexes 0, 1 and 2.
+     */
+    public boolean[] acceptedOrders() {
+        switch (this) {
+            case EQUALS:
+                return new boolean[]{false, true, false};
+            case NOT_EQUALS:
+                return new boolean[]{true, false, true};
+            case GREATER_THAN:
+                return new boolean[]{false, false, true};
+            case GREATER_THAN_OR_EQUAL:
+                return new boolean[]{false, true, true};
+            case LESS_THAN:
+                return new boolean[]{true, false, false};
+            case LESS_THAN_OR_EQUAL:
+                return new boolean[]{true, true, false};
+            default:
+                throw new IllegalStateException("unexpected comparison mode: " + this);
+        }
+    }
+
     public static ComparisonMode getById(int id) {
         for (ComparisonMode value : VALUES) {
             if (id == value.id) {
@@ -17,6 +17,7 @@
 package com.hazelcast.sql.impl.schema.map;
 
 import com.hazelcast.config.IndexType;
+import com.hazelcast.query.impl.IndexStatistics;
 import com.hazelcast.sql.impl.type.QueryDataType;
 
 import java.util.List;
@@ -36,18 +37,33 @@ public class MapTableIndex {
     /** Expected types of field converters. */
     private final List<QueryDataType> fieldConverterTypes;
 
+    /** Statistics of the local index used for costing, not a part of the index definition. */
+    private final IndexStatistics statistics;
+
     public MapTableIndex(
         String name,
         IndexType type,
         int componentsCount,
         List<Integer> fieldOrdinals,
         List<QueryDataType> fieldConverterTypes
+    ) {
+        this(name, type, componentsCount, fieldOrdinals, fieldConverterTypes, null);
+    }
+
+    public MapTableIndex(
+        String name,
+        IndexType type,
+        int componentsCount,
+        List<Integer> fieldOrdinals,
+        List<QueryDataType> fieldConverterTypes,
+        IndexStatistics statistics
     ) {
         this.name = name;
         this.type = type;
         this.componentsCount = componentsCount;
         this.fieldOrdinals = fieldOrdinals;
         this.fieldConverterTypes = fieldConverterTypes;
+        this.statistics = statistics;
     }
 
     public String getName() {
@@ -70,6 +86,14 @@ public class MapTableIndex {
         return fieldConverterTypes;
     }
 
+    /**
+     * @return the statistics of the local index or {@code null} if they are
+     * not available.
+     */
+    public IndexStatistics getStatistics() {
+        return statistics;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
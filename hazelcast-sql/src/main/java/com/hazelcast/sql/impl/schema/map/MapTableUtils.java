@@ -129,7 +129,8 @@ public final class MapTableUtils {
                     indexConfig.getType(),
                     components.length,
                     indexFieldOrdinals,
-                    indexFieldConverterTypes
+                    indexFieldConverterTypes,
+                    index.getStatistics()
             );
 
             res.add(index0);
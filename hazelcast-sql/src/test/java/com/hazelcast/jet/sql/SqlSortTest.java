@@ -214,6 +214,25 @@ public class SqlSortTest extends SqlTestSupport {
         );
     }
 
+    @Test
+    public void test_sortWithParameterizedLimitAndOffset() {
+        String tableName = createTable(
+                new String[]{"B", "2"},
+                new String[]{"B", "1"},
+                new String[]{"A", "3"},
+                new String[]{"A", "1"},
+                new String[]{"C", "1"}
+        );
+        assertRowsAnyOrder(
+                String.format("SELECT name, distance FROM %s ORDER BY distance DESC, name DESC LIMIT ? OFFSET ?", tableName),
+                asList(2, 1),
+                asList(
+                        new Row("B", 2),
+                        new Row("C", 1)
+                )
+        );
+    }
+
     @Test
     public void whenOffsetEqualsZero_thenNoOffset() {
         String tableName = createTable(
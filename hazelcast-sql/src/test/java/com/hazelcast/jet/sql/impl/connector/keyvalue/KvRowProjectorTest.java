@@ -128,7 +128,8 @@ public class KvRowProjectorTest {
 
         KvRowProjector.Supplier serialized = serializationService.toObject(serializationService.toData(original));
 
-        assertThat(serialized).isEqualToComparingFieldByField(original);
+        // the compiled expressions aren't serialized, but recompiled
+        assertThat(serialized).isEqualToIgnoringGivenFields(original, "compiledPredicate", "compiledProjections");
     }
 
     private static final class IdentityTarget implements QueryTarget {
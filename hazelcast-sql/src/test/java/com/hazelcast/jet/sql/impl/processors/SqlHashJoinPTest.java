@@ -19,6 +19,8 @@ package com.hazelcast.jet.sql.impl.processors;
 import com.hazelcast.jet.config.JobConfig;
 import com.hazelcast.jet.core.ProcessorSupplier;
 import com.hazelcast.jet.core.test.TestSupport;
+import com.hazelcast.jet.impl.processor.SpillSettings;
+import com.hazelcast.jet.impl.util.AccumulationLimitWrappedP;
 import com.hazelcast.jet.sql.SqlTestSupport;
 import com.hazelcast.jet.sql.impl.JetJoinInfo;
 import com.hazelcast.sql.impl.expression.ColumnExpression;
@@ -29,8 +31,13 @@ import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
 import com.hazelcast.sql.impl.row.JetSqlRow;
 import org.apache.calcite.rel.core.JoinRelType;
 import org.junit.BeforeClass;
+import org.junit.ClassRule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 import static com.hazelcast.jet.TestContextSupport.adaptSupplier;
@@ -42,6 +49,7 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.apache.calcite.rel.core.JoinRelType.INNER;
 import static org.apache.calcite.rel.core.JoinRelType.LEFT;
+import static org.junit.Assert.assertArrayEquals;
 
 public class SqlHashJoinPTest extends SqlTestSupport {
     private static final int LOW_PRIORITY = 10;
@@ -64,6 +72,9 @@ public class SqlHashJoinPTest extends SqlTestSupport {
                     ComparisonMode.GREATER_THAN
             );
 
+    @ClassRule
+    public static TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @BeforeClass
     public static void beforeClass() {
         initialize(2, null);
@@ -139,6 +150,63 @@ public class SqlHashJoinPTest extends SqlTestSupport {
         );
     }
 
+    @Test
+    public void test_leftEquiJoin_spilled() throws IOException {
+        File spillDirectory = temporaryFolder.newFolder();
+        JetJoinInfo joinInfo = new JetJoinInfo(LEFT, new int[]{0}, new int[]{0}, TRUE_PREDICATE, null);
+        List<JetSqlRow> leftInput = new ArrayList<>();
+        List<JetSqlRow> rightInput = new ArrayList<>();
+        List<JetSqlRow> output = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            leftInput.add(jetRow(i, "left-" + i));
+            if (i % 2 == 0) {
+                rightInput.add(jetRow(i, "right-" + i));
+                output.add(jetRow(i, "left-" + i, i, "right-" + i));
+            } else {
+                output.add(jetRow(i, "left-" + i, null, null));
+            }
+        }
+
+        TestSupport
+                .verifyProcessor(() -> new SqlHashJoinP(joinInfo, 2,
+                        new SpillSettings(spillDirectory.getAbsolutePath(), 5)))
+                .jobConfig(new JobConfig().setArgument(SQL_ARGUMENTS_KEY_NAME, emptyList()))
+                .inputs(asList(leftInput, rightInput), new int[]{LOW_PRIORITY, HIGH_PRIORITY})
+                .hazelcastInstance(instance())
+                .outputChecker(TestSupport.SAME_ITEMS_ANY_ORDER)
+                .disableSnapshots()
+                .expectOutput(output);
+
+        assertArrayEquals(new String[0], spillDirectory.list());
+    }
+
+    @Test
+    public void test_innerEquiJoin_spilledPartitionsRepartitioned() throws IOException {
+        File spillDirectory = temporaryFolder.newFolder();
+        JetJoinInfo joinInfo = new JetJoinInfo(INNER, new int[]{0}, new int[]{0}, TRUE_PREDICATE, null);
+        List<JetSqlRow> leftInput = new ArrayList<>();
+        List<JetSqlRow> rightInput = new ArrayList<>();
+        List<JetSqlRow> output = new ArrayList<>();
+        // about 60 keys fall to each spilled partition, more than fit to the hash table
+        for (int i = 0; i < 2000; i++) {
+            leftInput.add(jetRow(i, "left-" + i));
+            rightInput.add(jetRow(i, "right-" + i));
+            output.add(jetRow(i, "left-" + i, i, "right-" + i));
+        }
+
+        TestSupport
+                .verifyProcessor(() -> new AccumulationLimitWrappedP(new SqlHashJoinP(joinInfo, 2,
+                        new SpillSettings(spillDirectory.getAbsolutePath(), 5)), 20))
+                .jobConfig(new JobConfig().setArgument(SQL_ARGUMENTS_KEY_NAME, emptyList()))
+                .inputs(asList(leftInput, rightInput), new int[]{LOW_PRIORITY, HIGH_PRIORITY})
+                .hazelcastInstance(instance())
+                .outputChecker(TestSupport.SAME_ITEMS_ANY_ORDER)
+                .disableSnapshots()
+                .expectOutput(output);
+
+        assertArrayEquals(new String[0], spillDirectory.list());
+    }
+
     private void runTest(
             JoinRelType joinType,
             Expression<Boolean> nonEquiCondition,
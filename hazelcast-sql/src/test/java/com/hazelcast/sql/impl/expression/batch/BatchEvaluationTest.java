@@ -0,0 +1,204 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.batch;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.expression.CastExpression;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.math.MinusFunction;
+import com.hazelcast.sql.impl.expression.math.MultiplyFunction;
+import com.hazelcast.sql.impl.expression.math.PlusFunction;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.expression.string.UpperFunction;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.jet.sql.SqlTestSupport.createExpressionEvalContext;
+import static com.hazelcast.jet.sql.SqlTestSupport.jetRow;
+import static com.hazelcast.sql.impl.type.QueryDataType.BIGINT;
+import static com.hazelcast.sql.impl.type.QueryDataType.DOUBLE;
+import static com.hazelcast.sql.impl.type.QueryDataType.INT;
+import static com.hazelcast.sql.impl.type.QueryDataType.VARCHAR;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class BatchEvaluationTest {
+
+    private static final int CAPACITY = 16;
+
+    private final ExpressionEvalContext context = createExpressionEvalContext();
+
+    @Test
+    public void test_filter_longComparison() {
+        for (ComparisonMode mode : ComparisonMode.values()) {
+            checkFilter(ComparisonPredicate.create(intColumnAsBigint(), ConstantExpression.create(2L, BIGINT), mode));
+            checkFilter(ComparisonPredicate.create(ConstantExpression.create(2L, BIGINT), column(1, BIGINT), mode));
+        }
+    }
+
+    @Test
+    public void test_filter_doubleComparison() {
+        for (ComparisonMode mode : ComparisonMode.values()) {
+            checkFilter(ComparisonPredicate.create(column(2, DOUBLE), ConstantExpression.create(1.5d, DOUBLE), mode));
+        }
+    }
+
+    @Test
+    public void test_filter_nullChecks() {
+        checkFilter(IsNullPredicate.create(column(1, BIGINT)));
+        checkFilter(IsNotNullPredicate.create(column(3, VARCHAR)));
+    }
+
+    @Test
+    public void test_filter_and() {
+        checkFilter(AndPredicate.create(
+                ComparisonPredicate.create(intColumnAsBigint(), ConstantExpression.create(0L, BIGINT), ComparisonMode.GREATER_THAN),
+                IsNotNullPredicate.create(column(1, BIGINT)),
+                ComparisonPredicate.create(column(2, DOUBLE), ConstantExpression.create(3d, DOUBLE), ComparisonMode.LESS_THAN)
+        ));
+    }
+
+    @Test
+    public void test_filter_rowByRowFallback() {
+        checkFilter(ComparisonPredicate.create(
+                UpperFunction.create(column(3, VARCHAR)), ConstantExpression.create("B", VARCHAR), ComparisonMode.EQUALS));
+    }
+
+    @Test
+    public void test_projection() {
+        checkProjection(asList(
+                column(3, VARCHAR),
+                PlusFunction.create(intColumnAsBigint(), column(1, BIGINT), BIGINT),
+                MinusFunction.create(column(1, BIGINT), ConstantExpression.create(1L, BIGINT), BIGINT),
+                MultiplyFunction.create(column(2, DOUBLE), column(2, DOUBLE), DOUBLE),
+                UpperFunction.create(column(3, VARCHAR))
+        ));
+    }
+
+    @Test
+    public void test_projection_afterFilter() {
+        ComparisonPredicate predicate =
+                ComparisonPredicate.create(intColumnAsBigint(), ConstantExpression.create(2L, BIGINT), ComparisonMode.NOT_EQUALS);
+        List<Expression<?>> projection = asList(
+                MultiplyFunction.create(intColumnAsBigint(), ConstantExpression.create(10L, BIGINT), BIGINT),
+                column(3, VARCHAR));
+
+        ColumnBatch batch = batch();
+        BatchFilter.compile(predicate, CAPACITY).filter(batch, context);
+        JetSqlRow[] actual = BatchProjection.compile(projection, CAPACITY).project(batch, context);
+
+        List<JetSqlRow> expected = new ArrayList<>();
+        for (JetSqlRow row : rows()) {
+            if (Boolean.TRUE.equals(predicate.evalTop(row.getRow(), context))) {
+                expected.add(project(projection, row));
+            }
+        }
+        assertThat(actual).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void test_projection_overflow() {
+        ColumnBatch batch = new ColumnBatch(CAPACITY);
+        batch.add(jetRow(1, Long.MAX_VALUE, 0d, "a"));
+        BatchProjection projection = BatchProjection.compile(
+                asList(PlusFunction.create(intColumnAsBigint(), column(1, BIGINT), BIGINT)), CAPACITY);
+
+        assertThatThrownBy(() -> projection.project(batch, context))
+                .isInstanceOf(QueryException.class)
+                .hasMessageContaining("BIGINT overflow in '+' operator");
+    }
+
+    private void checkFilter(Expression<Boolean> predicate) {
+        ColumnBatch batch = batch();
+        BatchFilter.compile(predicate, CAPACITY).filter(batch, context);
+
+        List<JetSqlRow> expected = new ArrayList<>();
+        for (JetSqlRow row : rows()) {
+            if (Boolean.TRUE.equals(predicate.evalTop(row.getRow(), context))) {
+                expected.add(row);
+            }
+        }
+        List<JetSqlRow> actual = new ArrayList<>();
+        for (int i = 0; i < batch.selectedCount(); i++) {
+            actual.add(batch.selectedRow(i));
+        }
+        assertThat(actual).as(predicate.toString()).containsExactlyElementsOf(expected);
+    }
+
+    private void checkProjection(List<Expression<?>> projection) {
+        JetSqlRow[] actual = BatchProjection.compile(projection, CAPACITY).project(batch(), context);
+
+        List<JetSqlRow> expected = new ArrayList<>();
+        for (JetSqlRow row : rows()) {
+            expected.add(project(projection, row));
+        }
+        assertThat(actual).containsExactlyElementsOf(expected);
+    }
+
+    private JetSqlRow project(List<Expression<?>> projection, JetSqlRow row) {
+        Object[] values = new Object[projection.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = projection.get(i).evalTop(row.getRow(), context);
+        }
+        return new JetSqlRow(row.getSerializationService(), values);
+    }
+
+    private static ColumnBatch batch() {
+        ColumnBatch batch = new ColumnBatch(CAPACITY);
+        for (JetSqlRow row : rows()) {
+            batch.add(row);
+        }
+        return batch;
+    }
+
+    private static List<JetSqlRow> rows() {
+        return asList(
+                jetRow(1, 1L, 1d, "a"),
+                jetRow(2, null, 2.5d, "b"),
+                jetRow(3, 2L, null, null),
+                jetRow(-1, -5L, 1.5d, "B"),
+                jetRow(2, 2L, Double.NaN, "c")
+        );
+    }
+
+    private static Expression<?> intColumnAsBigint() {
+        return CastExpression.create(column(0, INT), BIGINT);
+    }
+
+    private static ColumnExpression<?> column(int index, QueryDataType type) {
+        return ColumnExpression.create(index, type);
+    }
+}
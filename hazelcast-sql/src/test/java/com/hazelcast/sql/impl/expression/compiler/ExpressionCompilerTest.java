@@ -0,0 +1,143 @@
+/*
+ * Copyright 2025 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.compiler;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.expression.CastExpression;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.ParameterExpression;
+import com.hazelcast.sql.impl.expression.math.MinusFunction;
+import com.hazelcast.sql.impl.expression.math.MultiplyFunction;
+import com.hazelcast.sql.impl.expression.math.PlusFunction;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.NotPredicate;
+import com.hazelcast.sql.impl.expression.predicate.OrPredicate;
+import com.hazelcast.sql.impl.expression.string.UpperFunction;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static com.hazelcast.jet.sql.SqlTestSupport.createExpressionEvalContext;
+import static com.hazelcast.sql.impl.type.QueryDataType.BIGINT;
+import static com.hazelcast.sql.impl.type.QueryDataType.DOUBLE;
+import static com.hazelcast.sql.impl.type.QueryDataType.INT;
+import static com.hazelcast.sql.impl.type.QueryDataType.OBJECT;
+import static com.hazelcast.sql.impl.type.QueryDataType.REAL;
+import static com.hazelcast.sql.impl.type.QueryDataType.VARCHAR;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ExpressionCompilerTest {
+
+    private static final List<Row> ROWS = asList(
+            new HeapRow(new Object[]{1, 1L, 1d, "a", 1f}),
+            new HeapRow(new Object[]{2, null, 2.5d, "b", null}),
+            new HeapRow(new Object[]{3, 2L, null, null, 0f}),
+            new HeapRow(new Object[]{-1, -5L, Double.NaN, "B", -0f}),
+            new HeapRow(new Object[]{null, 2L, -0d, "c", Float.NaN})
+    );
+
+    private final ExpressionEvalContext context = createExpressionEvalContext(2L, "b");
+
+    @Test
+    public void test_comparisons() {
+        for (ComparisonMode mode : ComparisonMode.values()) {
+            check(ComparisonPredicate.create(intAsBigint(), column(1, BIGINT), mode));
+            check(ComparisonPredicate.create(column(1, BIGINT), ConstantExpression.create(1L, BIGINT), mode));
+            check(ComparisonPredicate.create(column(1, BIGINT), ConstantExpression.create(null, BIGINT), mode));
+            check(ComparisonPredicate.create(column(1, BIGINT), ParameterExpression.create(0, BIGINT), mode));
+            check(ComparisonPredicate.create(column(2, DOUBLE), ConstantExpression.create(0d, DOUBLE), mode));
+            check(ComparisonPredicate.create(column(4, REAL), ConstantExpression.create(0f, REAL), mode));
+            check(ComparisonPredicate.create(column(3, VARCHAR), ParameterExpression.create(1, VARCHAR), mode));
+        }
+    }
+
+    @Test
+    public void test_logic() {
+        Expression<?> positive = ComparisonPredicate.create(
+                column(1, BIGINT), ConstantExpression.create(0L, BIGINT), ComparisonMode.GREATER_THAN);
+        Expression<?> isA = ComparisonPredicate.create(
+                column(3, VARCHAR), ConstantExpression.create("a", VARCHAR), ComparisonMode.EQUALS);
+
+        check(AndPredicate.create(positive, isA));
+        check(OrPredicate.create(positive, isA));
+        check(NotPredicate.create(OrPredicate.create(positive, isA)));
+        check(IsNullPredicate.create(column(2, DOUBLE)));
+        check(IsNotNullPredicate.create(column(3, VARCHAR)));
+    }
+
+    @Test
+    public void test_arithmetic() {
+        check(PlusFunction.create(intAsBigint(), column(1, BIGINT), BIGINT));
+        check(MinusFunction.create(column(1, BIGINT), ParameterExpression.create(0, BIGINT), BIGINT));
+        check(MultiplyFunction.create(column(2, DOUBLE), column(2, DOUBLE), DOUBLE));
+        check(PlusFunction.create(column(0, INT), column(0, INT), INT));
+    }
+
+    @Test
+    public void test_interpretedFallback() {
+        check(UpperFunction.create(column(3, VARCHAR)));
+        check(ComparisonPredicate.create(
+                UpperFunction.create(column(3, VARCHAR)), ConstantExpression.create("B", VARCHAR), ComparisonMode.EQUALS));
+        check(column(3, OBJECT));
+    }
+
+    @Test
+    public void test_overflow() {
+        Row row = new HeapRow(new Object[]{Long.MAX_VALUE});
+        Expression<?> plus = PlusFunction.create(column(0, BIGINT), ConstantExpression.create(1L, BIGINT), BIGINT);
+
+        assertThatThrownBy(() -> ExpressionCompiler.compile(plus).eval(row, context))
+                .isInstanceOf(QueryException.class)
+                .hasMessage("BIGINT overflow in '+' operator (consider adding explicit CAST to DECIMAL)");
+    }
+
+    private void check(Expression<?> expression) {
+        CompiledExpression<?> compiled = ExpressionCompiler.compile(expression);
+        for (Row row : ROWS) {
+            assertThat(compiled.eval(row, context))
+                    .as(expression + " for " + row)
+                    .isEqualTo(expression.evalTop(row, context));
+        }
+    }
+
+    private static Expression<?> intAsBigint() {
+        return CastExpression.create(column(0, INT), BIGINT);
+    }
+
+    private static ColumnExpression<?> column(int index, QueryDataType type) {
+        return ColumnExpression.create(index, type);
+    }
+}
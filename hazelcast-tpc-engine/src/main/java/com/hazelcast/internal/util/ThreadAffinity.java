@@ -16,6 +16,10 @@
 
 package com.hazelcast.internal.util;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.LinkedList;
@@ -23,6 +27,7 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hazelcast.internal.util.ThreadAffinityHelper.isAffinityAvailable;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * Contains the thread affinity logic for certain threads.
@@ -31,12 +36,25 @@ import static com.hazelcast.internal.util.ThreadAffinityHelper.isAffinityAvailab
  * over the list of the CPU bitmaps. The reason for a round-robin is that the same ThreadAffinity can
  * be used when threads get stopped and new threads created.
  *
+ * The affinity is a comma separated list of items:
+ * <ol>
+ *     <li>a CPU or a range of CPUs like '1' or '2-5': one thread per CPU, pinned to that CPU.</li>
+ *     <li>a group of CPUs like '[2-5,8]' or '[2-5,8]:2': the given number of threads, by default
+ *     one per CPU of the group, each allowed to run on any CPU of the group.</li>
+ *     <li>a NUMA node like 'n1' or 'n1:4': the given number of threads, by default one per CPU of
+ *     the node, each allowed to run on any CPU of the node. This keeps the threads and the memory they
+ *     allocate on the same socket without having to know the CPU numbering of the machine. The CPUs
+ *     of a node are read from the sysfs of Linux.</li>
+ * </ol>
+ *
  * This class is thread safe.
  */
 @SuppressWarnings("java:S112")
 public class ThreadAffinity {
     public static final ThreadAffinity DISABLED = new ThreadAffinity(null);
 
+    static final Path NUMA_NODES_DIR = Paths.get("/sys/devices/system/node");
+
     final List<BitSet> allowedCpusList;
     final AtomicInteger threadIndex = new AtomicInteger();
 
@@ -73,6 +91,10 @@ public class ThreadAffinity {
     }
 
     static List<BitSet> parse(String affinity) {
+        return parse(affinity, NUMA_NODES_DIR);
+    }
+
+    static List<BitSet> parse(String affinity, Path numaNodesDir) {
         List<BitSet> cpus = new ArrayList<>();
         if (affinity == null) {
             return cpus;
@@ -83,7 +105,7 @@ public class ThreadAffinity {
             return cpus;
         }
 
-        List<CpuGroup> groups = new AffinityParser(affinity).parse();
+        List<CpuGroup> groups = new AffinityParser(affinity, numaNodesDir).parse();
         for (CpuGroup group : groups) {
             BitSet allowedCpus = new BitSet();
 
@@ -117,6 +139,7 @@ public class ThreadAffinity {
 
     static class AffinityParser {
         private final String string;
+        private final Path numaNodesDir;
         private final List<CpuGroup> groups = new ArrayList<>();
         private int index;
         private int digit;
@@ -124,8 +147,9 @@ public class ThreadAffinity {
         private int fromRange;
         private int toRange;
 
-        AffinityParser(String string) {
+        AffinityParser(String string, Path numaNodesDir) {
             this.string = string;
+            this.numaNodesDir = numaNodesDir;
         }
 
         List<CpuGroup> parse() {
@@ -170,8 +194,10 @@ public class ThreadAffinity {
                     groups.add(group);
                 }
                 return true;
+            } else if (group()) {
+                return true;
             } else {
-                return group();
+                return numaNode();
             }
         }
 
@@ -223,6 +249,39 @@ public class ThreadAffinity {
                 return false;
             }
 
+            if (!threadCount(group)) {
+                return false;
+            }
+
+            groups.add(group);
+            return true;
+        }
+
+        boolean numaNode() {
+            if (!character('n')) {
+                return false;
+            }
+
+            if (!integer()) {
+                return false;
+            }
+
+            int node = integer;
+            CpuGroup group = new CpuGroup();
+            numaNodeCpus(node).stream().forEach(group.cpus::add);
+            if (group.cpus.isEmpty()) {
+                error("NUMA node " + node + " has no CPUs.");
+            }
+
+            if (!threadCount(group)) {
+                return false;
+            }
+
+            groups.add(group);
+            return true;
+        }
+
+        private boolean threadCount(CpuGroup group) {
             if (character(':')) {
                 if (!integer()) {
                     return false;
@@ -237,11 +296,37 @@ public class ThreadAffinity {
             } else {
                 group.threadCount = group.cpus.size();
             }
-
-            groups.add(group);
             return true;
         }
 
+        // the cpulist of a node looks like '0-7,16-23'
+        private BitSet numaNodeCpus(int node) {
+            Path cpuList = numaNodesDir.resolve("node" + node).resolve("cpulist");
+            String content;
+            try {
+                content = new String(Files.readAllBytes(cpuList), UTF_8).trim();
+            } catch (IOException e) {
+                throw new InvalidAffinitySyntaxException("NUMA node " + node + " is not available, "
+                        + cpuList + " can't be read at index:" + index);
+            }
+
+            BitSet cpus = new BitSet();
+            if (content.isEmpty()) {
+                return cpus;
+            }
+            for (String range : content.split(",")) {
+                int separator = range.indexOf('-');
+                try {
+                    int from = Integer.parseInt(separator < 0 ? range : range.substring(0, separator));
+                    int to = separator < 0 ? from : Integer.parseInt(range.substring(separator + 1));
+                    cpus.set(from, to + 1);
+                } catch (NumberFormatException e) {
+                    throw new InvalidAffinitySyntaxException("Unrecognized CPU list '" + content + "' in " + cpuList);
+                }
+            }
+            return cpus;
+        }
+
         private void addCpuRangeToGroup(CpuGroup group) {
             for (int k = fromRange; k <= toRange; k++) {
                 group.cpus.add(k);
@@ -16,10 +16,16 @@
 
 package com.hazelcast.internal.util;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.BitSet;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -29,6 +35,9 @@ import static org.junit.Assert.assertTrue;
 
 public class ThreadAffinityTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void whenNull() {
         ThreadAffinity threadAffinity = new ThreadAffinity(null);
@@ -154,6 +163,54 @@ public class ThreadAffinityTest {
         assertEquals(threadAffinity.allowedCpusList.get(7), newBitset(20, 21, 32));
     }
 
+    @Test
+    public void whenNumaNode() throws IOException {
+        Path numaNodesDir = newNumaNodesDir();
+
+        List<BitSet> allowedCpusList = ThreadAffinity.parse("n1", numaNodesDir);
+
+        assertEquals(3, allowedCpusList.size());
+        for (BitSet allowedCpus : allowedCpusList) {
+            assertEquals(newBitset(4, 5, 8), allowedCpus);
+        }
+    }
+
+    @Test
+    public void whenNumaNodeAndThreadCount() throws IOException {
+        Path numaNodesDir = newNumaNodesDir();
+
+        List<BitSet> allowedCpusList = ThreadAffinity.parse("n0:2,n1:1", numaNodesDir);
+
+        assertEquals(3, allowedCpusList.size());
+        assertEquals(newBitset(0, 1, 2, 3), allowedCpusList.get(0));
+        assertEquals(newBitset(0, 1, 2, 3), allowedCpusList.get(1));
+        assertEquals(newBitset(4, 5, 8), allowedCpusList.get(2));
+    }
+
+    @Test(expected = ThreadAffinity.InvalidAffinitySyntaxException.class)
+    public void whenNumaNodeAndThreadTooLarge() throws IOException {
+        ThreadAffinity.parse("n1:4", newNumaNodesDir());
+    }
+
+    @Test(expected = ThreadAffinity.InvalidAffinitySyntaxException.class)
+    public void whenNumaNodeDoesNotExist() throws IOException {
+        ThreadAffinity.parse("n2", newNumaNodesDir());
+    }
+
+    @Test(expected = ThreadAffinity.InvalidAffinitySyntaxException.class)
+    public void whenNumaNodeAndCpuDuplicate() throws IOException {
+        ThreadAffinity.parse("n0,3", newNumaNodesDir());
+    }
+
+    private Path newNumaNodesDir() throws IOException {
+        Path numaNodesDir = temporaryFolder.newFolder("node").toPath();
+        Files.createDirectory(numaNodesDir.resolve("node0"));
+        Files.write(numaNodesDir.resolve("node0").resolve("cpulist"), "0-3\n".getBytes());
+        Files.createDirectory(numaNodesDir.resolve("node1"));
+        Files.write(numaNodesDir.resolve("node1").resolve("cpulist"), "4-5,8\n".getBytes());
+        return numaNodesDir;
+    }
+
     @Nonnull
     public BitSet newBitset(int... cpus) {
         BitSet bitSet = new BitSet();
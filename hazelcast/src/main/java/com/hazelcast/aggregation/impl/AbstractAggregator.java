@@ -57,8 +57,20 @@ public abstract class AbstractAggregator<I, E, R> implements Aggregator<I, R> {
         this.attributePath = attributePath;
     }
 
+    /**
+     * Returns the path of the attribute this aggregator accumulates, or
+     * {@code null} if it accumulates the entry values.
+     */
+    public String getAttributePath() {
+        return attributePath;
+    }
+
     @Override
     public final void accumulate(I entry) {
+        if (attributePath == null && !usesValues()) {
+            accumulateExtracted(entry, null);
+            return;
+        }
 
         E extractedValue = extract(entry);
         if (extractedValue instanceof MultiResult) {
@@ -97,6 +109,15 @@ public abstract class AbstractAggregator<I, E, R> implements Aggregator<I, R> {
         throw new IllegalArgumentException("Can't extract " + attributePath + " from the given input");
     }
 
+    /**
+     * Returns {@code false} if the aggregator ignores the accumulated values,
+     * so the entry values don't have to be deserialized when the aggregator
+     * has no attribute path.
+     */
+    protected boolean usesValues() {
+        return true;
+    }
+
     /**
      * Accumulates a single extracted value.
      * This method may be called multiple times per accumulated entry if the attributePath contains [any] operator.
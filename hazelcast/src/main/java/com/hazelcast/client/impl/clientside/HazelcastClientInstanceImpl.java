@@ -40,6 +40,7 @@ import com.hazelcast.client.impl.management.ClientConnectionProcessListener;
 import com.hazelcast.client.impl.protocol.ClientExceptionFactory;
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.codec.ClientGetDistributedObjectsCodec;
+import com.hazelcast.client.impl.proxy.ClientMapGetCoalescer;
 import com.hazelcast.client.impl.proxy.PartitionServiceProxy;
 import com.hazelcast.client.impl.spi.ClientClusterService;
 import com.hazelcast.client.impl.spi.ClientContext;
@@ -167,6 +168,7 @@ import static com.hazelcast.client.properties.ClientProperty.HEARTBEAT_TIMEOUT;
 import static com.hazelcast.client.properties.ClientProperty.IO_WRITE_THROUGH_ENABLED;
 import static com.hazelcast.client.properties.ClientProperty.MAX_CONCURRENT_INVOCATIONS;
 import static com.hazelcast.client.properties.ClientProperty.RESPONSE_THREAD_DYNAMIC;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CLIENT_PREFIX_MAP_GET_COALESCING;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CLIENT_PREFIX_MEMORY;
 import static com.hazelcast.internal.metrics.impl.MetricsConfigHelper.clientMetricsLevel;
 import static com.hazelcast.internal.util.EmptyStatement.ignore;
@@ -207,6 +209,7 @@ public class HazelcastClientInstanceImpl implements HazelcastClientInstance, Ser
     private final ClientICacheManager hazelcastCacheManager;
     private final ClientQueryCacheContext queryCacheContext;
     private final ClientLockReferenceIdGenerator lockReferenceIdGenerator;
+    private final ClientMapGetCoalescer mapGetCoalescer;
     private final ClientExceptionFactory clientExceptionFactory;
     private final ClientUserCodeDeploymentService userCodeDeploymentService;
     private final ClusterDiscoveryService clusterDiscoveryService;
@@ -275,6 +278,7 @@ public class HazelcastClientInstanceImpl implements HazelcastClientInstance, Ser
         hazelcastCacheManager = new ClientICacheManager(this);
         queryCacheContext = new ClientQueryCacheContext(this);
         lockReferenceIdGenerator = new ClientLockReferenceIdGenerator();
+        mapGetCoalescer = new ClientMapGetCoalescer(this, properties);
         clientExceptionFactory = initClientExceptionFactory();
         clientStatisticsService = new ClientStatisticsService(this);
         userCodeDeploymentService = new ClientUserCodeDeploymentService(config.getUserCodeDeploymentConfig(), classLoader);
@@ -345,6 +349,9 @@ public class HazelcastClientInstanceImpl implements HazelcastClientInstance, Ser
         metricsRegistry.registerStaticMetrics(clientExtension.getMemoryStats(), CLIENT_PREFIX_MEMORY);
         metricsRegistry.provideMetrics(clientExtension);
         metricsRegistry.provideMetrics(executionService);
+        if (mapGetCoalescer.isEnabled()) {
+            metricsRegistry.registerStaticMetrics(mapGetCoalescer, CLIENT_PREFIX_MAP_GET_COALESCING);
+        }
     }
 
     private LoadBalancer initLoadBalancer(ClientConfig config) {
@@ -865,6 +872,10 @@ public class HazelcastClientInstanceImpl implements HazelcastClientInstance, Ser
         return lockReferenceIdGenerator;
     }
 
+    public ClientMapGetCoalescer getMapGetCoalescer() {
+        return mapGetCoalescer;
+    }
+
     private ClientExceptionFactory initClientExceptionFactory() {
         boolean jCacheAvailable = JCacheDetector.isJCacheAvailable(getClientConfig().getClassLoader());
         return new ClientExceptionFactory(jCacheAvailable, config.getClassLoader());
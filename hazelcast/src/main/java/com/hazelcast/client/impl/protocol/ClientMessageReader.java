@@ -33,6 +33,8 @@ public final class ClientMessageReader {
     private ClientMessage clientMessage;
     private int sumUntrustedMessageLength;
     private final int maxMessageLength;
+    // wraps the content of the frame being read while it is handed out by frameBuffer(int)
+    private ByteBuffer frameBuffer;
 
     public ClientMessageReader(int maxMessageLength) {
         this.maxMessageLength = maxMessageLength > 0 ? maxMessageLength : Integer.MAX_VALUE;
@@ -59,6 +61,50 @@ public final class ClientMessageReader {
     public void reset() {
         readOffset = -1;
         clientMessage = null;
+        sumUntrustedMessageLength = 0;
+        frameBuffer = null;
+    }
+
+    /**
+     * Returns a buffer over the next {@code length} unread content bytes of
+     * the frame that is being read, so that the remainder of a large frame
+     * can be read from the socket directly into the frame instead of being
+     * copied from the source buffer. The bytes put into the returned buffer
+     * are taken into account by the next {@link #readFrom(ByteBuffer, boolean)}
+     * call.
+     * <p>
+     * The buffer is limited to {@code length} bytes rather than the whole
+     * remainder of the frame: a socket read into a heap buffer goes through
+     * a temporary direct buffer as large as the space remaining in the heap
+     * buffer, which the JDK may keep cached per thread.
+     *
+     * @param length the number of unread content bytes to expose
+     * @return the buffer or {@code null} if no frame content is being read
+     * or fewer than {@code length} bytes of it are missing
+     */
+    public ByteBuffer frameBuffer(int length) {
+        if (readOffset == -1 || clientMessage == null) {
+            return null;
+        }
+        byte[] content = clientMessage.getEndFrame().content;
+        if (content.length - readOffset < length) {
+            return null;
+        }
+        if (frameBuffer == null || frameBuffer.array() != content) {
+            frameBuffer = ByteBuffer.wrap(content);
+        }
+        frameBuffer.limit(readOffset + length);
+        frameBuffer.position(readOffset);
+        return frameBuffer;
+    }
+
+    /**
+     * Returns {@code true} if bytes were put into the buffer returned by
+     * {@link #frameBuffer(int)} that haven't been consumed yet.
+     */
+    public boolean hasFrameBufferBytes() {
+        return frameBuffer != null && readOffset != -1 && frameBuffer.position() > readOffset
+                && frameBuffer.array() == clientMessage.getEndFrame().content;
     }
 
     private boolean readFrame(ByteBuffer src, boolean trusted) {
@@ -108,6 +154,12 @@ public final class ClientMessageReader {
         }
 
         ClientMessage.Frame frame = clientMessage.getEndFrame();
+        if (hasFrameBufferBytes()) {
+            readOffset = frameBuffer.position();
+            if (readOffset == frame.content.length) {
+                return true;
+            }
+        }
         return accumulate(src, frame.content, frame.content.length - readOffset);
     }
 
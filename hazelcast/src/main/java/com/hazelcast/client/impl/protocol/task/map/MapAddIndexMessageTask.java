@@ -34,6 +34,8 @@ import com.hazelcast.spi.impl.operationservice.OperationFactory;
 import java.security.Permission;
 import java.util.Map;
 
+import static com.hazelcast.query.impl.IndexUtils.checkIndexTypeSupported;
+
 public class MapAddIndexMessageTask
         extends AbstractAllPartitionsMessageTask<MapAddIndexCodec.RequestParameters> {
 
@@ -92,6 +94,11 @@ public class MapAddIndexMessageTask
                 && parameters.indexConfig.getType() == IndexType.BITMAP) {
             throw new IllegalArgumentException("BITMAP indexes are not supported by NATIVE storage");
         }
+        if (nodeEngine.getConfig().getMapConfig(parameters.name).getInMemoryFormat() == InMemoryFormat.NATIVE
+                && parameters.indexConfig.getType() == IndexType.FULL_TEXT) {
+            throw new IllegalArgumentException("FULL_TEXT indexes are not supported by NATIVE storage");
+        }
+        checkIndexTypeSupported(parameters.indexConfig.getType(), nodeEngine.getClusterService().getClusterVersion());
         if (nodeEngine.getClusterService().getClusterState() == ClusterState.PASSIVE) {
             throw new IllegalStateException("Cannot add index when cluster is in " + ClusterState.PASSIVE + " state!");
         }
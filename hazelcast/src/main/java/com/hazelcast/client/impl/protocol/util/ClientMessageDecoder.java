@@ -21,6 +21,7 @@ import com.hazelcast.client.impl.ClientEndpointManager;
 import com.hazelcast.client.impl.ClientEngine;
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.ClientMessageReader;
+import com.hazelcast.internal.networking.DirectReadTarget;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.networking.nio.InboundHandlerWithCounters;
 import com.hazelcast.internal.nio.Bits;
@@ -45,14 +46,14 @@ import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
  * <p>
  * Fragmented messages are merged into single messages before processed.
  */
-public class ClientMessageDecoder extends InboundHandlerWithCounters<ByteBuffer, Consumer<ClientMessage>> {
+public class ClientMessageDecoder extends InboundHandlerWithCounters<ByteBuffer, Consumer<ClientMessage>>
+        implements DirectReadTarget {
 
     final Long2ObjectHashMap<ClientMessage> builderBySessionIdMap = new Long2ObjectHashMap<>();
     private final Connection connection;
-    private ClientMessageReader activeReader;
+    private final ClientMessageReader activeReader;
 
     private boolean clientIsTrusted;
-    private final int maxMessageLength;
     private final ClientEndpointManager clientEndpointManager;
 
     public ClientMessageDecoder(Connection connection, Consumer<ClientMessage> dst, HazelcastProperties properties) {
@@ -61,7 +62,7 @@ public class ClientMessageDecoder extends InboundHandlerWithCounters<ByteBuffer,
             properties = new HazelcastProperties((Properties) null);
         }
         clientEndpointManager = dst instanceof ClientEngine clientEngine ? clientEngine.getEndpointManager() : null;
-        maxMessageLength = properties.getInteger(ClusterProperty.CLIENT_PROTOCOL_UNVERIFIED_MESSAGE_BYTES);
+        int maxMessageLength = properties.getInteger(ClusterProperty.CLIENT_PROTOCOL_UNVERIFIED_MESSAGE_BYTES);
         activeReader = new ClientMessageReader(maxMessageLength);
         this.connection = connection;
     }
@@ -71,11 +72,25 @@ public class ClientMessageDecoder extends InboundHandlerWithCounters<ByteBuffer,
         initSrcBuffer();
     }
 
+    /**
+     * Lets the socket be read directly into the frame that is being read if
+     * the rest of the frame doesn't fit in the source buffer and the source
+     * buffer holds no unprocessed bytes. A single read into the frame is at
+     * most as large as the source buffer.
+     */
+    @Override
+    public ByteBuffer directReadBuffer() {
+        if (src.position() != 0) {
+            return null;
+        }
+        return activeReader.frameBuffer(src.capacity());
+    }
+
     @Override
     public HandlerStatus onRead() {
         src.flip();
         try {
-            while (src.hasRemaining()) {
+            while (src.hasRemaining() || activeReader.hasFrameBufferBytes()) {
                 boolean trusted = isEndpointTrusted();
                 boolean complete = activeReader.readFrom(src, trusted);
                 if (!complete) {
@@ -104,7 +119,7 @@ public class ClientMessageDecoder extends InboundHandlerWithCounters<ByteBuffer,
                     }
                 }
 
-                activeReader = new ClientMessageReader(maxMessageLength);
+                activeReader.reset();
             }
 
             return CLEAN;
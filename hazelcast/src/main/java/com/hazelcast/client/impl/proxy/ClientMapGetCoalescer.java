@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.proxy;
+
+import com.hazelcast.client.impl.clientside.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapGetAllCodec;
+import com.hazelcast.client.impl.spi.impl.ClientInvocation;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.counters.Counter;
+import com.hazelcast.spi.impl.executionservice.TaskScheduler;
+import com.hazelcast.spi.properties.HazelcastProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.hazelcast.client.properties.ClientProperty.MAP_GET_COALESCING_MAX_BATCH_SIZE;
+import static com.hazelcast.client.properties.ClientProperty.MAP_GET_COALESCING_WINDOW_MICROS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CLIENT_METRIC_MAP_GET_COALESCING_ADDED_LATENCY;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CLIENT_METRIC_MAP_GET_COALESCING_AVERAGE_BATCH_SIZE;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CLIENT_METRIC_MAP_GET_COALESCING_BATCHES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CLIENT_METRIC_MAP_GET_COALESCING_GETS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CLIENT_METRIC_MAP_GET_COALESCING_KEYS;
+import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Coalesces concurrent {@code IMap.get} calls of a client into
+ * {@link MapGetAllCodec getAll} requests.
+ * <p>
+ * The first get for a partition of a map opens a batch and schedules it to
+ * be sent after {@link com.hazelcast.client.properties.ClientProperty#MAP_GET_COALESCING_WINDOW_MICROS
+ * the coalescing window}. The gets for the same map and partition arriving
+ * before that join the batch, a key requested by several of them is looked
+ * up once. A batch reaching
+ * {@link com.hazelcast.client.properties.ClientProperty#MAP_GET_COALESCING_MAX_BATCH_SIZE
+ * the maximum size} is sent right away. The member executes the request as
+ * a single partition operation and its response is demultiplexed to the
+ * futures of the individual gets; the keys missing from the response have
+ * no mapping.
+ * <p>
+ * The number of gets, batches, distinct keys and the total latency the
+ * coalescing added to the gets are exposed as client metrics.
+ */
+public final class ClientMapGetCoalescer {
+
+    @Probe(name = CLIENT_METRIC_MAP_GET_COALESCING_GETS, level = INFO)
+    private final Counter gets = newMwCounter();
+    @Probe(name = CLIENT_METRIC_MAP_GET_COALESCING_BATCHES, level = INFO)
+    private final Counter batches = newMwCounter();
+    @Probe(name = CLIENT_METRIC_MAP_GET_COALESCING_KEYS, level = INFO)
+    private final Counter keys = newMwCounter();
+    @Probe(name = CLIENT_METRIC_MAP_GET_COALESCING_ADDED_LATENCY, unit = NS, level = INFO)
+    private final Counter addedLatencyNanos = newMwCounter();
+
+    private final ConcurrentMap<BatchKey, Batch> openBatches = new ConcurrentHashMap<>();
+    private final HazelcastClientInstanceImpl client;
+    private final TaskScheduler scheduler;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    public ClientMapGetCoalescer(HazelcastClientInstanceImpl client, HazelcastProperties properties) {
+        this.client = client;
+        this.scheduler = client.getTaskScheduler();
+        this.windowNanos = properties.getNanos(MAP_GET_COALESCING_WINDOW_MICROS);
+        this.maxBatchSize = Math.max(1, properties.getInteger(MAP_GET_COALESCING_MAX_BATCH_SIZE));
+    }
+
+    public boolean isEnabled() {
+        return windowNanos > 0;
+    }
+
+    /**
+     * Returns the average number of gets sent in a single request.
+     */
+    @Probe(name = CLIENT_METRIC_MAP_GET_COALESCING_AVERAGE_BATCH_SIZE, level = INFO)
+    public double averageBatchSize() {
+        long batchCount = batches.get();
+        return batchCount == 0 ? 0 : (double) gets.get() / batchCount;
+    }
+
+    /**
+     * Adds a get of the given key to the open batch of its map and partition.
+     *
+     * @return the future completed with the value of the key, or with
+     * {@code null} if the map has no mapping for it
+     */
+    public CompletableFuture<Data> get(String mapName, int partitionId, Data key) {
+        CompletableFuture<Data> future = new CompletableFuture<>();
+        BatchKey batchKey = new BatchKey(mapName, partitionId);
+        for (; ; ) {
+            Batch batch = openBatches.get(batchKey);
+            if (batch == null) {
+                Batch newBatch = new Batch(batchKey);
+                batch = openBatches.putIfAbsent(batchKey, newBatch);
+                if (batch == null) {
+                    newBatch.add(key, future);
+                    if (maxBatchSize == 1) {
+                        flush(newBatch);
+                    } else {
+                        schedule(newBatch);
+                    }
+                    return future;
+                }
+            }
+
+            int size = batch.add(key, future);
+            if (size < 0) {
+                // the batch got sent concurrently, join or open the next one
+                continue;
+            }
+            if (size >= maxBatchSize) {
+                flush(batch);
+            }
+            return future;
+        }
+    }
+
+    private void schedule(Batch batch) {
+        try {
+            scheduler.schedule(() -> flush(batch), windowNanos, NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // the client is shutting down, the invocation fails the gets
+            flush(batch);
+        }
+    }
+
+    private void flush(Batch batch) {
+        openBatches.remove(batch.key, batch);
+        Map<Data, List<CompletableFuture<Data>>> waiters = batch.seal();
+        if (waiters == null) {
+            return;
+        }
+
+        gets.inc(batch.size);
+        batches.inc();
+        keys.inc(waiters.size());
+        addedLatencyNanos.inc(batch.size * System.nanoTime() - batch.sumOfEnqueueNanos);
+
+        try {
+            ClientMessage request = MapGetAllCodec.encodeRequest(batch.key.mapName, new ArrayList<>(waiters.keySet()));
+            new ClientInvocation(client, request, batch.key.mapName, batch.key.partitionId).invoke()
+                    .whenComplete((response, throwable) -> {
+                        if (throwable != null) {
+                            completeExceptionally(waiters, throwable);
+                        } else {
+                            complete(waiters, response);
+                        }
+                    });
+        } catch (Throwable t) {
+            completeExceptionally(waiters, t);
+        }
+    }
+
+    private static void complete(Map<Data, List<CompletableFuture<Data>>> waiters, ClientMessage response) {
+        try {
+            for (Entry<Data, Data> entry : MapGetAllCodec.decodeResponse(response)) {
+                List<CompletableFuture<Data>> futures = waiters.remove(entry.getKey());
+                if (futures != null) {
+                    for (CompletableFuture<Data> future : futures) {
+                        future.complete(entry.getValue());
+                    }
+                }
+            }
+        } catch (Throwable t) {
+            completeExceptionally(waiters, t);
+            return;
+        }
+        for (List<CompletableFuture<Data>> futures : waiters.values()) {
+            for (CompletableFuture<Data> future : futures) {
+                future.complete(null);
+            }
+        }
+    }
+
+    private static void completeExceptionally(Map<Data, List<CompletableFuture<Data>>> waiters, Throwable t) {
+        for (List<CompletableFuture<Data>> futures : waiters.values()) {
+            for (CompletableFuture<Data> future : futures) {
+                future.completeExceptionally(t);
+            }
+        }
+    }
+
+    private record BatchKey(String mapName, int partitionId) {
+    }
+
+    /**
+     * The gets of a map partition waiting to be sent. Once sealed, no more
+     * gets can join.
+     */
+    private static final class Batch {
+
+        private final BatchKey key;
+        private final Map<Data, List<CompletableFuture<Data>>> waiters = new HashMap<>();
+        private int size;
+        private long sumOfEnqueueNanos;
+        private boolean sealed;
+
+        Batch(BatchKey key) {
+            this.key = key;
+        }
+
+        /**
+         * @return the number of gets in the batch including this one, or
+         * {@code -1} if the batch has already been sealed
+         */
+        synchronized int add(Data key, CompletableFuture<Data> future) {
+            if (sealed) {
+                return -1;
+            }
+            waiters.computeIfAbsent(key, k -> new ArrayList<>(1)).add(future);
+            sumOfEnqueueNanos += System.nanoTime();
+            return ++size;
+        }
+
+        /**
+         * @return the waiting gets by key, or {@code null} if the batch has
+         * already been sealed
+         */
+        synchronized Map<Data, List<CompletableFuture<Data>>> seal() {
+            if (sealed) {
+                return null;
+            }
+            sealed = true;
+            return waiters;
+        }
+    }
+}
@@ -215,6 +215,7 @@ public class ClientMapProxy<K, V> extends ClientProxy
 
     private ClientLockReferenceIdGenerator lockReferenceIdGenerator;
     private ClientQueryCacheContext queryCacheContext;
+    private ClientMapGetCoalescer getCoalescer;
     private boolean useDefaultReplaceAllOperation;
 
     public ClientMapProxy(String serviceName, String name, ClientContext context) {
@@ -227,6 +228,8 @@ public class ClientMapProxy<K, V> extends ClientProxy
 
         lockReferenceIdGenerator = getClient().getLockReferenceIdGenerator();
         queryCacheContext = getContext().getQueryCacheContext();
+        ClientMapGetCoalescer coalescer = getClient().getMapGetCoalescer();
+        getCoalescer = coalescer.isEnabled() ? coalescer : null;
     }
 
     @Override
@@ -262,6 +265,14 @@ public class ClientMapProxy<K, V> extends ClientProxy
 
     protected Object getInternal(Object key) {
         Data keyData = toData(key);
+        if (getCoalescer != null) {
+            int partitionId = getContext().getPartitionService().getPartitionId(keyData);
+            try {
+                return getCoalescer.get(name, partitionId, keyData).get();
+            } catch (Exception e) {
+                throw rethrow(e);
+            }
+        }
         ClientMessage request = MapGetCodec.encodeRequest(name, keyData, getThreadId());
         ClientMessage response = invoke(request, keyData);
         return MapGetCodec.decodeResponse(response);
@@ -23,6 +23,7 @@ import com.hazelcast.core.IndeterminateOperationStateException;
 import com.hazelcast.spi.properties.HazelcastProperty;
 import com.hazelcast.client.util.ClientConnectivityLogger;
 
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -355,6 +356,47 @@ public final class ClientProperty {
     public static final HazelcastProperty CLIENT_CONNECTIVITY_LOGGING_DELAY_SECONDS
             = new HazelcastProperty("hazelcast.client.connectivity.logging.delay.seconds", 10);
 
+    /**
+     * The window in microseconds during which concurrent {@code IMap.get}
+     * calls for keys of the same partition are coalesced into a single
+     * {@code getAll} request. The first call opens the window, the calls
+     * arriving before it closes join the same request.
+     * <p>
+     * Coalescing trades a bounded amount of added latency for fewer
+     * requests and responses when many threads read from the same map,
+     * e.g. on API servers fanning out to the cluster. It is disabled by
+     * default; any value greater than zero enables it.
+     */
+    public static final HazelcastProperty MAP_GET_COALESCING_WINDOW_MICROS
+            = new HazelcastProperty("hazelcast.client.map.get.coalescing.window.micros", 0, MICROSECONDS);
+
+    /**
+     * The maximum number of {@code IMap.get} calls coalesced into a single
+     * request. A request is sent as soon as it reaches this size, without
+     * waiting for the end of
+     * {@link #MAP_GET_COALESCING_WINDOW_MICROS the coalescing window}.
+     */
+    public static final HazelcastProperty MAP_GET_COALESCING_MAX_BATCH_SIZE
+            = new HazelcastProperty("hazelcast.client.map.get.coalescing.max.batch.size", 64);
+
+    /**
+     * The number of bytes of native memory each Near Cache with
+     * {@link com.hazelcast.config.InMemoryFormat#BINARY} in-memory format
+     * can use to keep its values off the heap.
+     * <p>
+     * When set, the values of the Near Cache entries are stored in native
+     * memory, leaving only the keys and small record handles on the heap.
+     * Once the budget is used up, entries are evicted with the configured
+     * eviction policy, as they are when the configured maximum size is
+     * reached. With the {@code NONE} eviction policy new entries are no
+     * longer cached. The native memory in use is reported by
+     * {@link com.hazelcast.nearcache.NearCacheStats#getOwnedEntryNativeMemoryCost()}.
+     * <p>
+     * The default is {@code 0}, which keeps the values on the heap.
+     */
+    public static final HazelcastProperty NEAR_CACHE_OFF_HEAP_BUDGET_BYTES
+            = new HazelcastProperty("hazelcast.client.nearcache.off.heap.budget.bytes", 0L);
+
     private ClientProperty() {
     }
 }
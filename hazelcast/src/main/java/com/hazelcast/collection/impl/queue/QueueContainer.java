@@ -22,7 +22,9 @@ import com.hazelcast.config.QueueStoreConfig;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.internal.monitor.impl.LocalQueueStatsImpl;
 import com.hazelcast.internal.namespace.NamespaceUtil;
+import com.hazelcast.internal.cluster.Versions;
 import com.hazelcast.internal.nio.ClassLoaderUtil;
+import com.hazelcast.internal.nio.IOUtil;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.util.Clock;
@@ -32,6 +34,7 @@ import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.impl.Versioned;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.transaction.TransactionException;
 
@@ -43,9 +46,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Queue;
@@ -73,7 +74,7 @@ import static com.hazelcast.internal.util.StringUtil.isNullOrEmpty;
  * </ul>
  */
 @SuppressWarnings("checkstyle:methodcount")
-public class QueueContainer implements IdentifiedDataSerializable {
+public class QueueContainer implements IdentifiedDataSerializable, Versioned {
 
     /**
      * Contains item ID to queue item mappings for current transactions
@@ -303,15 +304,12 @@ public class QueueContainer implements IdentifiedDataSerializable {
         if (isPriorityQueue) {
             getItemQueue().add(txQueueItem);
         } else {
-            ListIterator<QueueItem> iterator = ((List<QueueItem>) getItemQueue()).listIterator();
-            while (iterator.hasNext()) {
-                QueueItem queueItem = iterator.next();
-                if (txQueueItem.itemId < queueItem.itemId) {
-                    iterator.previous();
-                    break;
-                }
+            QueueItemArrayDeque itemQueue = (QueueItemArrayDeque) getItemQueue();
+            int index = 0;
+            while (index < itemQueue.size() && txQueueItem.itemId >= itemQueue.get(index).itemId) {
+                index++;
             }
-            iterator.add(txQueueItem);
+            itemQueue.add(index, txQueueItem);
         }
     }
 
@@ -626,10 +624,16 @@ public class QueueContainer implements IdentifiedDataSerializable {
             }
         }
         long current = Clock.currentTimeMillis();
-        for (int i = 0; i < maxSizeParam; i++) {
-            QueueItem item = getItemQueue().poll();
+        Queue<QueueItem> itemQueue = getItemQueue();
+        if (itemQueue instanceof QueueItemArrayDeque deque) {
             // for stats
-            age(item, current);
+            deque.drainTo(item -> age(item, current), maxSizeParam);
+        } else {
+            for (int i = 0; i < maxSizeParam; i++) {
+                QueueItem item = itemQueue.poll();
+                // for stats
+                age(item, current);
+            }
         }
         if (maxSizeParam != 0) {
             scheduleEvictionIfEmpty();
@@ -919,7 +923,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
      */
     public Queue<QueueItem> getItemQueue() {
         if (itemQueue == null) {
-            itemQueue = isPriorityQueue ? createPriorityQueue() : createLinkedList();
+            itemQueue = isPriorityQueue ? createPriorityQueue() : createArrayDeque();
             if (!txMap.isEmpty()) {
                 long maxItemId = Long.MIN_VALUE;
                 for (TxQueueItem item : txMap.values()) {
@@ -931,17 +935,17 @@ public class QueueContainer implements IdentifiedDataSerializable {
         return itemQueue;
     }
 
-    private Queue<QueueItem> createLinkedList() {
-        Queue<QueueItem> queue = new LinkedList<>();
+    private Queue<QueueItem> createArrayDeque() {
         ConcurrentMap<Long, QueueItem> backupMap = this.backupMap;
         if (MapUtil.isNullOrEmpty(backupMap)) {
-            return queue;
+            return new QueueItemArrayDeque();
         }
 
         List<QueueItem> values = new ArrayList<>(backupMap.values());
         Collections.sort(values);
+        QueueItemArrayDeque queue = new QueueItemArrayDeque(values.size());
         queue.addAll(values);
-        QueueItem lastItem = ((LinkedList<QueueItem>) queue).peekLast();
+        QueueItem lastItem = queue.peekLast();
         if (lastItem != null) {
             setId(lastItem.itemId + ID_PROMOTION_OFFSET);
         }
@@ -1060,7 +1064,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
         SerializationService serializationService = nodeEngine.getSerializationService();
 
         // in case we need to create a priority queue
-        // we recreate the queue using the items that are currently a LinkedList
+        // we recreate the queue using the items that are currently in a QueueItemArrayDeque
         // otherwise, no change is needed
         if (itemQueue != null && isPriorityQueue) {
             Queue<QueueItem> copy = createPriorityQueue();
@@ -1163,7 +1167,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
                     if (isPriorityQueue) {
                         getItemQueue().offer(item);
                     } else {
-                        ((LinkedList) getItemQueue()).offerFirst(item);
+                        ((QueueItemArrayDeque) getItemQueue()).offerFirst(item);
                     }
                     cancelEvictionIfExists();
                 }
@@ -1174,9 +1178,18 @@ public class QueueContainer implements IdentifiedDataSerializable {
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeString(name);
-        out.writeInt(getItemQueue().size());
-        for (QueueItem item : getItemQueue()) {
-            out.writeObject(item);
+        Queue<QueueItem> itemQueue = getItemQueue();
+        out.writeInt(itemQueue.size());
+        if (out.getVersion().isGreaterOrEqual(Versions.V5_7)) {
+            // items are written as one block without per-item type headers
+            for (QueueItem item : itemQueue) {
+                out.writeLong(item.getItemId());
+                IOUtil.writeData(out, item.serializedObject);
+            }
+        } else {
+            for (QueueItem item : itemQueue) {
+                out.writeObject(item);
+            }
         }
         out.writeInt(txMap.size());
         for (TxQueueItem item : txMap.values()) {
@@ -1190,15 +1203,22 @@ public class QueueContainer implements IdentifiedDataSerializable {
         pollWaitNotifyKey = new QueueWaitNotifyKey(name, "poll");
         offerWaitNotifyKey = new QueueWaitNotifyKey(name, "offer");
         int size = in.readInt();
-        // on cluster migration queue data are stored temporary to a default priority queue.
+        // on cluster migration queue data are stored temporary to a non-priority queue.
         // those data are copied at a later point
-        itemQueue = new LinkedList<>();
+        QueueItemArrayDeque itemQueue = new QueueItemArrayDeque(size);
+        boolean itemBlock = in.getVersion().isGreaterOrEqual(Versions.V5_7);
         for (int j = 0; j < size; j++) {
-            QueueItem item = in.readObject();
-            item.setContainer(this);
-            getItemQueue().offer(item);
+            QueueItem item;
+            if (itemBlock) {
+                item = new QueueItem(this, in.readLong(), IOUtil.readData(in));
+            } else {
+                item = in.readObject();
+                item.setContainer(this);
+            }
+            itemQueue.offer(item);
             setId(item.getItemId());
         }
+        this.itemQueue = itemQueue;
         int txSize = in.readInt();
         for (int j = 0; j < txSize; j++) {
             TxQueueItem item = new TxQueueItem(this, -1, null);
@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.collection.impl.queue;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * Growable array ring holding the items of a non-priority queue.
+ * <p>
+ * Compared to a {@link java.util.LinkedList} it needs no node object per
+ * item and keeps the items in a single array, which is a lot cheaper for
+ * queues with many items. Besides the {@link java.util.Queue} methods it
+ * provides the positional operations {@link QueueContainer} needs (insert
+ * of rolled back transactional items, removal during iteration) and
+ * bulk {@link #addAll(Collection)} and {@link #drainTo(Consumer, int)}
+ * which move whole ranges at once.
+ * <p>
+ * The capacity is always a power of two and the array never shrinks,
+ * except on {@link #clear()}.
+ */
+@NotThreadSafe
+final class QueueItemArrayDeque extends AbstractQueue<QueueItem> {
+
+    static final int MIN_CAPACITY = 16;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private QueueItem[] items;
+    private int head;
+    private int size;
+    private int modCount;
+
+    QueueItemArrayDeque() {
+        this(MIN_CAPACITY);
+    }
+
+    QueueItemArrayDeque(int initialCapacity) {
+        this.items = new QueueItem[capacityFor(initialCapacity)];
+    }
+
+    @Override
+    public boolean offer(QueueItem item) {
+        checkNotNull(item, "item can't be null");
+        ensureCapacity(size + 1);
+        items[slot(size)] = item;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Inserts the item at the head of this queue.
+     */
+    void offerFirst(QueueItem item) {
+        checkNotNull(item, "item can't be null");
+        ensureCapacity(size + 1);
+        head = (head - 1) & (items.length - 1);
+        items[head] = item;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public QueueItem poll() {
+        if (size == 0) {
+            return null;
+        }
+        QueueItem item = items[head];
+        items[head] = null;
+        head = (head + 1) & (items.length - 1);
+        size--;
+        modCount++;
+        return item;
+    }
+
+    @Override
+    public QueueItem peek() {
+        return size == 0 ? null : items[head];
+    }
+
+    /**
+     * @return the tail of this queue, or {@code null} if it is empty
+     */
+    QueueItem peekLast() {
+        return size == 0 ? null : items[slot(size - 1)];
+    }
+
+    /**
+     * @return the item at the given position, counted from the head
+     */
+    QueueItem get(int index) {
+        checkIndex(index, size);
+        return items[slot(index)];
+    }
+
+    /**
+     * Inserts the item at the given position, counted from the head.
+     * Shifts the shorter side of the ring to make room for it.
+     */
+    void add(int index, QueueItem item) {
+        checkIndex(index, size + 1);
+        checkNotNull(item, "item can't be null");
+        ensureCapacity(size + 1);
+        int mask = items.length - 1;
+        if (index < size >> 1) {
+            head = (head - 1) & mask;
+            for (int i = 0; i < index; i++) {
+                items[slot(i)] = items[slot(i + 1)];
+            }
+        } else {
+            for (int i = size; i > index; i--) {
+                items[slot(i)] = items[slot(i - 1)];
+            }
+        }
+        items[slot(index)] = item;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Removes the item at the given position, counted from the head.
+     * Shifts the shorter side of the ring to close the gap.
+     */
+    QueueItem remove(int index) {
+        checkIndex(index, size);
+        QueueItem item = items[slot(index)];
+        if (index < size >> 1) {
+            for (int i = index; i > 0; i--) {
+                items[slot(i)] = items[slot(i - 1)];
+            }
+            items[head] = null;
+            head = (head + 1) & (items.length - 1);
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                items[slot(i)] = items[slot(i + 1)];
+            }
+            items[slot(size - 1)] = null;
+        }
+        size--;
+        modCount++;
+        return item;
+    }
+
+    /**
+     * Appends all items of the given collection, growing the ring at most
+     * once and copying the items in at most two array ranges.
+     */
+    @Override
+    public boolean addAll(Collection<? extends QueueItem> c) {
+        Object[] added = c.toArray();
+        int count = added.length;
+        if (count == 0) {
+            return false;
+        }
+        for (Object item : added) {
+            checkNotNull(item, "item can't be null");
+        }
+        ensureCapacity(size + count);
+        int tail = slot(size);
+        int firstRun = Math.min(count, items.length - tail);
+        System.arraycopy(added, 0, items, tail, firstRun);
+        System.arraycopy(added, firstRun, items, 0, count - firstRun);
+        size += count;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Removes up to {@code maxItems} items from the head of this queue,
+     * passing them to the {@code consumer} in queue order.
+     *
+     * @return the number of removed items
+     */
+    int drainTo(Consumer<? super QueueItem> consumer, int maxItems) {
+        int count = Math.min(size, maxItems);
+        if (count <= 0) {
+            return 0;
+        }
+        for (int i = 0; i < count; i++) {
+            consumer.accept(items[slot(i)]);
+        }
+        clearRange(head, count);
+        head = (head + count) & (items.length - 1);
+        size -= count;
+        modCount++;
+        return count;
+    }
+
+    @Override
+    public void clear() {
+        if (items.length > MIN_CAPACITY) {
+            items = new QueueItem[MIN_CAPACITY];
+        } else {
+            clearRange(head, size);
+        }
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        int firstRun = Math.min(size, items.length - head);
+        System.arraycopy(items, head, array, 0, firstRun);
+        System.arraycopy(items, 0, array, firstRun, size - firstRun);
+        return array;
+    }
+
+    @Override
+    public Iterator<QueueItem> iterator() {
+        return new Itr();
+    }
+
+    int capacity() {
+        return items.length;
+    }
+
+    private int slot(int index) {
+        return (head + index) & (items.length - 1);
+    }
+
+    private void clearRange(int from, int count) {
+        int firstRun = Math.min(count, items.length - from);
+        Arrays.fill(items, from, from + firstRun, null);
+        Arrays.fill(items, 0, count - firstRun, null);
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity <= items.length) {
+            return;
+        }
+        QueueItem[] newItems = new QueueItem[capacityFor(minCapacity)];
+        int firstRun = Math.min(size, items.length - head);
+        System.arraycopy(items, head, newItems, 0, firstRun);
+        System.arraycopy(items, 0, newItems, firstRun, size - firstRun);
+        items = newItems;
+        head = 0;
+    }
+
+    private static int capacityFor(int minCapacity) {
+        if (minCapacity > MAX_CAPACITY || minCapacity < 0) {
+            throw new IllegalStateException("Queue capacity exceeded: " + minCapacity);
+        }
+        return Math.max(MIN_CAPACITY, nextPowerOfTwo(minCapacity));
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + bound);
+        }
+    }
+
+    private final class Itr implements Iterator<QueueItem> {
+
+        private int cursor;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public QueueItem next() {
+            checkForComodification();
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = cursor++;
+            return items[slot(lastReturned)];
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            QueueItemArrayDeque.this.remove(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
@@ -27,7 +27,13 @@ public enum IndexType {
     HASH(1),
 
     /** Bitmap index. Can be used with equality predicates. */
-    BITMAP(2);
+    BITMAP(2),
+
+    /**
+     * Full-text index. Can be used with {@code LIKE}, {@code ILIKE} and
+     * {@code REGEX} predicates on string attributes.
+     */
+    FULL_TEXT(3);
 
     private final int id;
 
@@ -98,6 +98,7 @@ import com.hazelcast.internal.server.ServerConnection;
 import com.hazelcast.internal.server.ServerContext;
 import com.hazelcast.internal.server.tcp.ChannelInitializerFunction;
 import com.hazelcast.internal.server.tcp.PacketDecoder;
+import com.hazelcast.internal.server.tcp.PacketCompression;
 import com.hazelcast.internal.server.tcp.PacketEncoder;
 import com.hazelcast.internal.tpc.TpcServerBootstrap;
 import com.hazelcast.internal.tpc.TpcServerBootstrapImpl;
@@ -144,6 +145,7 @@ import static com.hazelcast.config.InstanceTrackingConfig.InstanceTrackingProper
 import static com.hazelcast.config.InstanceTrackingConfig.InstanceTrackingProperties.START_TIMESTAMP;
 import static com.hazelcast.config.InstanceTrackingConfig.InstanceTrackingProperties.VERSION;
 import static com.hazelcast.cp.CPSubsystemStubImpl.CP_SUBSYSTEM_IS_NOT_AVAILABLE_IN_OS_MEMBERS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX_COMPRESSION;
 import static com.hazelcast.internal.util.CollectionUtil.setOf;
 import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
 import static com.hazelcast.internal.util.InstanceTrackingUtil.writeInstanceTrackingFile;
@@ -173,6 +175,7 @@ public class DefaultNodeExtension implements NodeExtension {
     protected IntegrityChecker integrityChecker;
 
     private final MemoryStats memoryStats = new DefaultMemoryStats();
+    private final PacketCompression packetCompression;
     private final Set<Version> supportedVersions;
 
     public DefaultNodeExtension(Node node) {
@@ -193,6 +196,7 @@ public class DefaultNodeExtension implements NodeExtension {
         }
 
         integrityChecker = new IntegrityChecker(node.getConfig().getIntegrityCheckerConfig(), this.systemLogger);
+        packetCompression = new PacketCompression(node.getProperties());
         supportedVersions = setOf(BuildInfoProvider.getBuildInfo().getCodebaseVersion().asVersion());
     }
 
@@ -262,6 +266,10 @@ public class DefaultNodeExtension implements NodeExtension {
     public void beforeStart() {
         integrityChecker.checkIntegrity();
 
+        if (packetCompression.isEnabled()) {
+            node.nodeEngine.getMetricsRegistry().registerStaticMetrics(packetCompression, TCP_PREFIX_COMPRESSION);
+        }
+
         if (jetServiceBackend != null) {
             systemLogger.info("Jet is enabled");
             // Configure the internal distributed objects.
@@ -468,14 +476,14 @@ public class DefaultNodeExtension implements NodeExtension {
     public InboundHandler[] createInboundHandlers(EndpointQualifier qualifier,
                                                   ServerConnection connection, ServerContext serverContext) {
         NodeEngineImpl nodeEngine = node.nodeEngine;
-        PacketDecoder decoder = new PacketDecoder(connection, nodeEngine.getPacketDispatcher());
+        PacketDecoder decoder = new PacketDecoder(connection, nodeEngine.getPacketDispatcher(), packetCompression);
         return new InboundHandler[]{decoder};
     }
 
     @Override
     public OutboundHandler[] createOutboundHandlers(EndpointQualifier qualifier,
                                                     ServerConnection connection, ServerContext serverContext) {
-        return new OutboundHandler[]{new PacketEncoder()};
+        return new OutboundHandler[]{new PacketEncoder(connection, packetCompression)};
     }
 
     @Override
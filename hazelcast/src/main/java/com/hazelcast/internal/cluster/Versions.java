@@ -73,6 +73,11 @@ public final class Versions {
      */
     public static final Version V5_6 = Version.of(5, 6);
 
+    /**
+     * Cluster version 5.7
+     */
+    public static final Version V5_7 = Version.of(5, 7);
+
     @Nonnull
     public static final Version CURRENT_CLUSTER_VERSION = Version.of(GeneratedBuildProperties.VERSION);
 
@@ -60,6 +60,8 @@ public class MemberHandshake
 
     public static final String OPTION_PLANE_COUNT = "planeCount";
     public static final String OPTION_PLANE_INDEX = "planeIndex";
+    public static final String OPTION_COMPRESSION = "compression";
+    public static final String COMPRESSION_LZ4 = "lz4";
 
     private byte schemaVersion;
     private Map<ProtocolType, Collection<Address>> localAddresses;
@@ -101,6 +103,13 @@ public class MemberHandshake
         return getIntOption(OPTION_PLANE_INDEX, 0);
     }
 
+    /**
+     * Returns {@code true} if the sender accepts LZ4 compressed packets.
+     */
+    public boolean isCompressionSupported() {
+        return COMPRESSION_LZ4.equals(options.get(OPTION_COMPRESSION));
+    }
+
     byte getSchemaVersion() {
         return schemaVersion;
     }
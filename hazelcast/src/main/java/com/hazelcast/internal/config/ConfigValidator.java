@@ -753,7 +753,8 @@ public final class ConfigValidator {
 
     /**
      * Throws {@link InvalidConfigurationException} if the given {@link InMemoryFormat}
-     * is {@link InMemoryFormat#NATIVE} and index configurations include {@link IndexType#BITMAP}.
+     * is {@link InMemoryFormat#NATIVE} and index configurations include {@link IndexType#BITMAP}
+     * or {@link IndexType#FULL_TEXT}.
      *
      * @param inMemoryFormat supplied inMemoryFormat
      * @param indexConfigs   {@link List} of {@link IndexConfig}
@@ -764,6 +765,9 @@ public final class ConfigValidator {
                 if (indexConfig.getType() == IndexType.BITMAP) {
                     throw new InvalidConfigurationException("BITMAP indexes are not supported by NATIVE storage");
                 }
+                if (indexConfig.getType() == IndexType.FULL_TEXT) {
+                    throw new InvalidConfigurationException("FULL_TEXT indexes are not supported by NATIVE storage");
+                }
             }
         }
     }
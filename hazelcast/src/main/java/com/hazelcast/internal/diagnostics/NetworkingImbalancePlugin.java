@@ -19,6 +19,7 @@ package com.hazelcast.internal.diagnostics;
 import com.hazelcast.internal.networking.Networking;
 import com.hazelcast.internal.networking.nio.NioNetworking;
 import com.hazelcast.internal.networking.nio.NioThread;
+import com.hazelcast.internal.networking.nio.iobalancer.IOBalancer;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.internal.server.Server;
 import com.hazelcast.internal.server.tcp.TcpServer;
@@ -114,6 +115,14 @@ public class NetworkingImbalancePlugin extends DiagnosticsPlugin {
         render(writer, networking.getOutputThreads());
         writer.endSection();
 
+        IOBalancer ioBalancer = networking.getIOBalancer();
+        if (ioBalancer != null) {
+            writer.startSection("IOBalancer");
+            writer.writeKeyValueEntry("input-decision", String.valueOf(ioBalancer.getLastInputDecision()));
+            writer.writeKeyValueEntry("output-decision", String.valueOf(ioBalancer.getLastOutputDecision()));
+            writer.endSection();
+        }
+
         writer.endSection();
     }
 
@@ -27,6 +27,7 @@ import com.hazelcast.config.DurableExecutorConfig;
 import com.hazelcast.config.EventJournalConfig;
 import com.hazelcast.config.ExecutorConfig;
 import com.hazelcast.config.FlakeIdGeneratorConfig;
+import com.hazelcast.config.IndexConfig;
 import com.hazelcast.config.InvalidConfigurationException;
 import com.hazelcast.config.ListConfig;
 import com.hazelcast.config.MapConfig;
@@ -89,6 +90,7 @@ import static com.hazelcast.internal.cluster.Versions.V5_6;
 import static com.hazelcast.internal.config.ConfigUtils.lookupByPattern;
 import static com.hazelcast.internal.util.FutureUtil.waitForever;
 import static com.hazelcast.internal.util.InvocationUtil.invokeOnStableClusterSerial;
+import static com.hazelcast.query.impl.IndexUtils.checkIndexTypeSupported;
 import static java.lang.Boolean.getBoolean;
 import static java.lang.String.format;
 import static java.util.Collections.singleton;
@@ -285,6 +287,11 @@ public class ClusterWideConfigurationService implements
                     currentClusterVersion
             ));
         }
+        if (config instanceof MapConfig mapConfig) {
+            for (IndexConfig indexConfig : mapConfig.getIndexConfigs()) {
+                checkIndexTypeSupported(indexConfig.getType(), currentClusterVersion);
+            }
+        }
     }
 
     private IdentifiedDataSerializable cloneConfig(IdentifiedDataSerializable config) {
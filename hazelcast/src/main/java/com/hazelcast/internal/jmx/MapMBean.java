@@ -211,6 +211,18 @@ public class MapMBean extends HazelcastMBean<IMap> {
         return localMapStatsDelegate.getLocalStats().getHeapCost();
     }
 
+    @ManagedAnnotation("localNativeMemoryCost")
+    @ManagedDescription("the native memory cost of entries kept in the off-heap storage")
+    public long localNativeMemoryCost() {
+        return localMapStatsDelegate.getLocalStats().getNativeMemoryCost();
+    }
+
+    @ManagedAnnotation("localExpirySystemCost")
+    @ManagedDescription("the heap cost of the expiry metadata of entries with TTL or max-idle")
+    public long localExpirySystemCost() {
+        return localMapStatsDelegate.getLocalStats().getExpirySystemCost();
+    }
+
     @ManagedAnnotation("name")
     @ManagedDescription("name of the map")
     public String getName() {
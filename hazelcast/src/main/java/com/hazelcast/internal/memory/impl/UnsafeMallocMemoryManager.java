@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.util.counters.Counter;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.internal.util.Preconditions.checkState;
+
+/**
+ * {@link MemoryManager} which allocates blocks straight from the operating
+ * system via {@code Unsafe.allocateMemory()} and keeps track of the
+ * number of bytes it currently holds.
+ * <p>
+ * Allocation and deallocation can happen from any thread, the used memory
+ * counter is updated atomically.
+ */
+public final class UnsafeMallocMemoryManager implements MemoryManager {
+
+    private final Allocator malloc = new Allocator();
+    private final Counter usedMemory = newMwCounter();
+
+    public UnsafeMallocMemoryManager() {
+        checkState(MEM_AVAILABLE, "Unsafe based memory access is not available on this JVM");
+    }
+
+    /**
+     * @return {@code true} if native memory can be allocated and accessed on this JVM
+     */
+    public static boolean isAvailable() {
+        return MEM_AVAILABLE;
+    }
+
+    @Override
+    public MemoryAllocator getAllocator() {
+        return malloc;
+    }
+
+    @Override
+    public MemoryAccessor getAccessor() {
+        return MEM;
+    }
+
+    /**
+     * @return the number of bytes currently allocated through this manager
+     */
+    public long getUsedMemory() {
+        return usedMemory.get();
+    }
+
+    @Override
+    public void dispose() {
+        malloc.dispose();
+    }
+
+    private final class Allocator implements MemoryAllocator {
+
+        @Override
+        public long allocate(long size) {
+            long address;
+            try {
+                address = UNSAFE.allocateMemory(size);
+            } catch (OutOfMemoryError e) {
+                throw newNativeOutOfMemoryError(size, e);
+            }
+            UNSAFE.setMemory(address, size, (byte) 0);
+            usedMemory.inc(size);
+            return address;
+        }
+
+        @Override
+        public long reallocate(long address, long currentSize, long newSize) {
+            long newAddress;
+            try {
+                newAddress = UNSAFE.reallocateMemory(address, newSize);
+            } catch (OutOfMemoryError e) {
+                throw newNativeOutOfMemoryError(newSize, e);
+            }
+            if (newSize > currentSize) {
+                UNSAFE.setMemory(newAddress + currentSize, newSize - currentSize, (byte) 0);
+            }
+            usedMemory.inc(newSize - currentSize);
+            return newAddress;
+        }
+
+        @Override
+        public void free(long address, long size) {
+            UNSAFE.freeMemory(address);
+            usedMemory.inc(-size);
+        }
+
+        @Override
+        public void dispose() {
+            // blocks are owned and freed by the data structures which allocated them
+        }
+
+        private NativeOutOfMemoryError newNativeOutOfMemoryError(long size, OutOfMemoryError cause) {
+            return new NativeOutOfMemoryError("Cannot allocate " + size + " bytes of native memory, "
+                    + getUsedMemory() + " bytes are already in use by this memory manager", cause);
+        }
+    }
+}
@@ -61,6 +61,7 @@ public final class MetricDescriptorConstants {
     public static final String CLIENT_PREFIX_MEMORY = "memory";
     public static final String CLIENT_PREFIX_MEMORY_MANAGER = "memorymanager";
     public static final String CLIENT_PREFIX_EXECUTION_SERVICE = "executionService";
+    public static final String CLIENT_PREFIX_MAP_GET_COALESCING = "mapGetCoalescing";
     public static final String CLIENT_METRIC_ENDPOINT_MANAGER_COUNT = "count";
     public static final String CLIENT_METRIC_ENDPOINT_MANAGER_TOTAL_REGISTRATIONS = "totalRegistrations";
     public static final String CLIENT_METRIC_CONNECTION_CONNECTIONID = "connectionId";
@@ -71,6 +72,11 @@ public final class MetricDescriptorConstants {
     public static final String CLIENT_METRIC_INVOCATIONS_MAX_CURRENT_INVOCATIONS = "maxCurrentInvocations";
     public static final String CLIENT_METRIC_LISTENER_SERVICE_EVENT_QUEUE_SIZE = "eventQueueSize";
     public static final String CLIENT_METRIC_LISTENER_SERVICE_EVENTS_PROCESSED = "eventsProcessed";
+    public static final String CLIENT_METRIC_MAP_GET_COALESCING_GETS = "gets";
+    public static final String CLIENT_METRIC_MAP_GET_COALESCING_BATCHES = "batches";
+    public static final String CLIENT_METRIC_MAP_GET_COALESCING_KEYS = "keys";
+    public static final String CLIENT_METRIC_MAP_GET_COALESCING_ADDED_LATENCY = "addedLatency";
+    public static final String CLIENT_METRIC_MAP_GET_COALESCING_AVERAGE_BATCH_SIZE = "averageBatchSize";
     // ===[/CLIENT]=====================================================
 
     // ===[CLUSTER]=====================================================
@@ -223,6 +229,8 @@ public final class MetricDescriptorConstants {
     public static final String MAP_METRIC_BACKUP_ENTRY_MEMORY_COST = "backupEntryMemoryCost";
     public static final String MAP_METRIC_HEAP_COST = "heapCost";
     public static final String MAP_METRIC_MERKLE_TREES_COST = "merkleTreesCost";
+    public static final String MAP_METRIC_NATIVE_MEMORY_COST = "nativeMemoryCost";
+    public static final String MAP_METRIC_EXPIRY_SYSTEM_COST = "expirySystemCost";
     public static final String MAP_METRIC_LOCKED_ENTRY_COUNT = "lockedEntryCount";
     public static final String MAP_METRIC_DIRTY_ENTRY_COUNT = "dirtyEntryCount";
     public static final String MAP_METRIC_BACKUP_COUNT = "backupCount";
@@ -312,6 +320,7 @@ public final class MetricDescriptorConstants {
     public static final String NEARCACHE_METRIC_CREATION_TIME = "creationTime";
     public static final String NEARCACHE_METRIC_OWNED_ENTRY_COUNT = "ownedEntryCount";
     public static final String NEARCACHE_METRIC_OWNED_ENTRY_MEMORY_COST = "ownedEntryMemoryCost";
+    public static final String NEARCACHE_METRIC_OWNED_ENTRY_NATIVE_MEMORY_COST = "ownedEntryNativeMemoryCost";
     public static final String NEARCACHE_METRIC_HITS = "hits";
     public static final String NEARCACHE_METRIC_MISSES = "misses";
     public static final String NEARCACHE_METRIC_EVICTIONS = "evictions";
@@ -323,6 +332,9 @@ public final class MetricDescriptorConstants {
     public static final String NEARCACHE_METRIC_LAST_PERSISTENCE_DURATION = "lastPersistenceDuration";
     public static final String NEARCACHE_METRIC_LAST_PERSISTENCE_WRITTEN_BYTES = "lastPersistenceWrittenBytes";
     public static final String NEARCACHE_METRIC_LAST_PERSISTENCE_KEY_COUNT = "lastPersistenceKeyCount";
+    public static final String NEARCACHE_METRIC_LAST_PRELOAD_TIME = "lastPreloadTime";
+    public static final String NEARCACHE_METRIC_LAST_PRELOAD_DURATION = "lastPreloadDuration";
+    public static final String NEARCACHE_METRIC_LAST_PRELOAD_KEY_COUNT = "lastPreloadKeyCount";
     // ===[/NEAR CACHE]=================================================
 
     // ===[NETWORKING]==================================================
@@ -344,7 +356,11 @@ public final class MetricDescriptorConstants {
             "priorityWriteQueuePendingBytes";
     public static final String NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_IDLE_TIME_MILLIS = "idleTimeMillis";
     public static final String NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_SCHEDULED = "scheduled";
+    public static final String NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITES = "writes";
+    public static final String NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_FRAMES_PER_WRITE = "framesPerWrite";
+    public static final String NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_BYTES_PER_WRITE = "bytesPerWrite";
     public static final String NETWORKING_METRIC_NIO_PIPELINE_PROCESS_COUNT = "processCount";
+    public static final String NETWORKING_METRIC_NIO_PIPELINE_PROCESS_TIME_NANOS = "processTimeNanos";
     public static final String NETWORKING_METRIC_NIO_PIPELINE_OWNER_ID = "ownerId";
     public static final String NETWORKING_METRIC_NIO_PIPELINE_STARTED_MIGRATIONS = "startedMigrations";
     public static final String NETWORKING_METRIC_NIO_PIPELINE_COMPLETED_MIGRATIONS = "completedMigrations";
@@ -396,6 +412,9 @@ public final class MetricDescriptorConstants {
     public static final String OPERATION_METRIC_THREAD_COMPLETED_OPERATION_BATCH_COUNT = "completedOperationBatchCount";
     public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_NORMAL_PENDING_COUNT = "normalPendingCount";
     public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_PRIORITY_PENDING_COUNT = "priorityPendingCount";
+    public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_OVERFLOW_COUNT = "overflowCount";
+    public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_PARK_COUNT = "parkCount";
+    public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_IDLE_TIME = "idleTime";
     public static final String OPERATION_METRIC_PARKER_PARK_QUEUE_COUNT = "parkQueueCount";
     public static final String OPERATION_METRIC_PARKER_TOTAL_PARKED_OPERATION_COUNT = "totalParkedOperationCount";
     public static final String OPERATION_METRIC_INBOUND_RESPONSE_HANDLER_RESPONSE_QUEUE_SIZE = "responseQueueSize";
@@ -545,6 +564,7 @@ public final class MetricDescriptorConstants {
     public static final String TCP_PREFIX = "tcp";
     public static final String TCP_PREFIX_ACCEPTOR = "tcp.acceptor";
     public static final String TCP_PREFIX_BALANCER = "tcp.balancer";
+    public static final String TCP_PREFIX_COMPRESSION = "tcp.compression";
     public static final String TCP_PREFIX_CONNECTION = "tcp.connection";
     public static final String TCP_PREFIX_CONNECTION_IN = "tcp.connection.in";
     public static final String TCP_PREFIX_CONNECTION_OUT = "tcp.connection.out";
@@ -570,6 +590,13 @@ public final class MetricDescriptorConstants {
     public static final String TCP_METRIC_ENDPOINT_MANAGER_ACCEPTED_SOCKET_COUNT = "acceptedSocketCount";
     public static final String TCP_METRIC_CLIENT_COUNT = "clientCount";
     public static final String TCP_METRIC_TEXT_COUNT = "textCount";
+    public static final String TCP_METRIC_COMPRESSION_COMPRESSED_FRAMES = "compressedFrames";
+    public static final String TCP_METRIC_COMPRESSION_UNCOMPRESSED_BYTES = "uncompressedBytes";
+    public static final String TCP_METRIC_COMPRESSION_COMPRESSED_BYTES = "compressedBytes";
+    public static final String TCP_METRIC_COMPRESSION_BYTES_SAVED = "bytesSaved";
+    public static final String TCP_METRIC_COMPRESSION_COMPRESS_TIME = "compressTime";
+    public static final String TCP_METRIC_COMPRESSION_DECOMPRESSED_FRAMES = "decompressedFrames";
+    public static final String TCP_METRIC_COMPRESSION_DECOMPRESS_TIME = "decompressTime";
     // ===[/TCP]========================================================
 
     // ===[TOPIC]=======================================================
@@ -38,6 +38,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRI
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_ENTRYSET_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_EVICTION_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_EXPIRATION_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_EXPIRY_SYSTEM_COST;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_GET_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_HEAP_COST;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_HITS;
@@ -47,6 +48,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRI
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LAST_UPDATE_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LOCKED_ENTRY_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_MERKLE_TREES_COST;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_NATIVE_MEMORY_COST;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_NO_MATCHING_INDEX_QUERY_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_NUMBER_OF_EVENTS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_NUMBER_OF_OTHER_OPERATIONS;
@@ -176,6 +178,16 @@ public class LocalMapStatsImpl implements LocalMapStats {
      */
     @Probe(name = MAP_METRIC_MERKLE_TREES_COST)
     private volatile long merkleTreesCost;
+    /**
+     * Holds total native memory cost of owned & backup entries kept in the off-heap storage.
+     */
+    @Probe(name = MAP_METRIC_NATIVE_MEMORY_COST, unit = BYTES)
+    private volatile long nativeMemoryCost;
+    /**
+     * Holds the heap cost of the expiry metadata of owned & backup entries.
+     */
+    @Probe(name = MAP_METRIC_EXPIRY_SYSTEM_COST, unit = BYTES)
+    private volatile long expirySystemCost;
     @Probe(name = MAP_METRIC_LOCKED_ENTRY_COUNT)
     private volatile long lockedEntryCount;
     @Probe(name = MAP_METRIC_DIRTY_ENTRY_COUNT)
@@ -435,6 +447,24 @@ public class LocalMapStatsImpl implements LocalMapStats {
         this.merkleTreesCost = merkleTreeCost;
     }
 
+    @Override
+    public long getNativeMemoryCost() {
+        return nativeMemoryCost;
+    }
+
+    public void setNativeMemoryCost(long nativeMemoryCost) {
+        this.nativeMemoryCost = nativeMemoryCost;
+    }
+
+    @Override
+    public long getExpirySystemCost() {
+        return expirySystemCost;
+    }
+
+    public void setExpirySystemCost(long expirySystemCost) {
+        this.expirySystemCost = expirySystemCost;
+    }
+
     @Override
     public NearCacheStats getNearCacheStats() {
         return nearCacheStats;
@@ -623,6 +653,8 @@ public class LocalMapStatsImpl implements LocalMapStats {
                 + ", dirtyEntryCount=" + dirtyEntryCount
                 + ", heapCost=" + heapCost
                 + ", merkleTreesCost=" + merkleTreesCost
+                + ", nativeMemoryCost=" + nativeMemoryCost
+                + ", expirySystemCost=" + expirySystemCost
                 + ", nearCacheStats=" + (nearCacheStats != null ? nearCacheStats : "")
                 + ", queryCount=" + queryCount
                 + ", indexedQueryCount=" + indexedQueryCount
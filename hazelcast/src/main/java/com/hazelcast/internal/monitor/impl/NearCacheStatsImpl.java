@@ -32,9 +32,13 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_LAST_PERSISTENCE_KEY_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_LAST_PERSISTENCE_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_LAST_PERSISTENCE_WRITTEN_BYTES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_LAST_PRELOAD_DURATION;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_LAST_PRELOAD_KEY_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_LAST_PRELOAD_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_MISSES;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_OWNED_ENTRY_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_OWNED_ENTRY_MEMORY_COST;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_OWNED_ENTRY_NATIVE_MEMORY_COST;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_PERSISTENCE_COUNT;
 import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
 import static com.hazelcast.internal.metrics.ProbeUnit.MS;
@@ -50,6 +54,8 @@ public class NearCacheStatsImpl implements NearCacheStats {
             newUpdater(NearCacheStatsImpl.class, "ownedEntryCount");
     private static final AtomicLongFieldUpdater<NearCacheStatsImpl> OWNED_ENTRY_MEMORY_COST =
             newUpdater(NearCacheStatsImpl.class, "ownedEntryMemoryCost");
+    private static final AtomicLongFieldUpdater<NearCacheStatsImpl> OWNED_ENTRY_NATIVE_MEMORY_COST =
+            newUpdater(NearCacheStatsImpl.class, "ownedEntryNativeMemoryCost");
     private static final AtomicLongFieldUpdater<NearCacheStatsImpl> EVICTIONS =
             newUpdater(NearCacheStatsImpl.class, "evictions");
     private static final AtomicLongFieldUpdater<NearCacheStatsImpl> EXPIRATIONS =
@@ -67,6 +73,8 @@ public class NearCacheStatsImpl implements NearCacheStats {
     private volatile long ownedEntryCount;
     @Probe(name = NEARCACHE_METRIC_OWNED_ENTRY_MEMORY_COST, unit = BYTES)
     private volatile long ownedEntryMemoryCost;
+    @Probe(name = NEARCACHE_METRIC_OWNED_ENTRY_NATIVE_MEMORY_COST, unit = BYTES)
+    private volatile long ownedEntryNativeMemoryCost;
     @Probe(name = NEARCACHE_METRIC_HITS)
     private final LongAccumulator hits = new LongAccumulator(Long::sum, 0);
     @Probe(name = NEARCACHE_METRIC_MISSES)
@@ -93,6 +101,15 @@ public class NearCacheStatsImpl implements NearCacheStats {
     private volatile long lastPersistenceKeyCount;
     private volatile String lastPersistenceFailure = "";
 
+    @Probe(name = NEARCACHE_METRIC_LAST_PRELOAD_TIME, unit = MS)
+    private volatile long lastPreloadTime;
+    @Probe(name = NEARCACHE_METRIC_LAST_PRELOAD_DURATION, unit = MS)
+    private volatile long lastPreloadDuration;
+    @Probe(name = NEARCACHE_METRIC_LAST_PRELOAD_KEY_COUNT)
+    private volatile long lastPreloadKeyCount;
+    private volatile long hitsBeforePreloadEnd;
+    private volatile long missesBeforePreloadEnd;
+
     public NearCacheStatsImpl() {
         this.creationTime = getNowInMillis();
     }
@@ -101,6 +118,7 @@ public class NearCacheStatsImpl implements NearCacheStats {
         creationTime = stats.getCreationTime();
         ownedEntryCount = stats.getOwnedEntryCount();
         ownedEntryMemoryCost = stats.getOwnedEntryMemoryCost();
+        ownedEntryNativeMemoryCost = stats.getOwnedEntryNativeMemoryCost();
         setHits(stats.getHits());
         setMisses(stats.getMisses());
         evictions = stats.getEvictions();
@@ -114,6 +132,18 @@ public class NearCacheStatsImpl implements NearCacheStats {
         lastPersistenceWrittenBytes = stats.getLastPersistenceWrittenBytes();
         lastPersistenceKeyCount = stats.getLastPersistenceKeyCount();
         lastPersistenceFailure = stats.getLastPersistenceFailure();
+
+        copyPreloadStats(stats);
+    }
+
+    private void copyPreloadStats(NearCacheStats stats) {
+        lastPreloadTime = stats.getLastPreloadTime();
+        lastPreloadDuration = stats.getLastPreloadDuration();
+        lastPreloadKeyCount = stats.getLastPreloadKeyCount();
+        if (stats instanceof NearCacheStatsImpl impl) {
+            hitsBeforePreloadEnd = impl.hitsBeforePreloadEnd;
+            missesBeforePreloadEnd = impl.missesBeforePreloadEnd;
+        }
     }
 
     @Override
@@ -155,6 +185,19 @@ public class NearCacheStatsImpl implements NearCacheStats {
         OWNED_ENTRY_MEMORY_COST.addAndGet(this, -ownedEntryMemoryCost);
     }
 
+    @Override
+    public long getOwnedEntryNativeMemoryCost() {
+        return ownedEntryNativeMemoryCost;
+    }
+
+    public void incrementOwnedEntryNativeMemoryCost(long ownedEntryNativeMemoryCost) {
+        OWNED_ENTRY_NATIVE_MEMORY_COST.addAndGet(this, ownedEntryNativeMemoryCost);
+    }
+
+    public void decrementOwnedEntryNativeMemoryCost(long ownedEntryNativeMemoryCost) {
+        OWNED_ENTRY_NATIVE_MEMORY_COST.addAndGet(this, -ownedEntryNativeMemoryCost);
+    }
+
     @Override
     public long getHits() {
         return hits.longValue();
@@ -265,6 +308,42 @@ public class NearCacheStatsImpl implements NearCacheStats {
         lastPersistenceFailure = t.getClass().getSimpleName() + ": " + t.getMessage();
     }
 
+    public void addPreload(long duration, int keyCount) {
+        lastPreloadTime = getNowInMillis();
+        lastPreloadDuration = duration;
+        lastPreloadKeyCount = keyCount;
+        hitsBeforePreloadEnd = hits.longValue();
+        missesBeforePreloadEnd = misses.longValue();
+    }
+
+    @Override
+    public long getLastPreloadTime() {
+        return lastPreloadTime;
+    }
+
+    @Override
+    public long getLastPreloadDuration() {
+        return lastPreloadDuration;
+    }
+
+    @Override
+    public long getLastPreloadKeyCount() {
+        return lastPreloadKeyCount;
+    }
+
+    @Override
+    public double getRatioSincePreload() {
+        if (lastPreloadTime == 0) {
+            return Double.NaN;
+        }
+        long hitsSincePreload = hits.longValue() - hitsBeforePreloadEnd;
+        long missesSincePreload = misses.longValue() - missesBeforePreloadEnd;
+        if (missesSincePreload == 0) {
+            return hitsSincePreload == 0 ? Double.NaN : Double.POSITIVE_INFINITY;
+        }
+        return (double) hitsSincePreload / missesSincePreload * PERCENTAGE;
+    }
+
     private static long getNowInMillis() {
         return System.currentTimeMillis();
     }
@@ -299,6 +378,7 @@ public class NearCacheStatsImpl implements NearCacheStats {
         return "NearCacheStatsImpl{"
                 + "ownedEntryCount=" + ownedEntryCount
                 + ", ownedEntryMemoryCost=" + ownedEntryMemoryCost
+                + ", ownedEntryNativeMemoryCost=" + ownedEntryNativeMemoryCost
                 + ", creationTime=" + creationTime
                 + ", hits=" + hits
                 + ", misses=" + misses
@@ -313,6 +393,9 @@ public class NearCacheStatsImpl implements NearCacheStats {
                 + ", lastPersistenceWrittenBytes=" + lastPersistenceWrittenBytes
                 + ", lastPersistenceKeyCount=" + lastPersistenceKeyCount
                 + ", lastPersistenceFailure='" + lastPersistenceFailure + "'"
+                + ", lastPreloadTime=" + lastPreloadTime
+                + ", lastPreloadDuration=" + lastPreloadDuration
+                + ", lastPreloadKeyCount=" + lastPreloadKeyCount
                 + '}';
     }
 }
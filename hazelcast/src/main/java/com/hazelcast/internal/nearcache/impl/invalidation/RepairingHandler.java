@@ -78,6 +78,12 @@ public final class RepairingHandler {
      * Handles a single invalidation
      */
     public void handle(Data key, UUID sourceUuid, UUID partitionUuid, long sequence) {
+        // the sequence is advanced before the invalidation, so a value restored by the
+        // Near Cache preloader meanwhile either fails its sequence check or is invalidated
+        int partitionId = getPartitionIdOrDefault(key);
+        checkOrRepairUuid(partitionId, partitionUuid);
+        checkOrRepairSequence(partitionId, sequence, false);
+
         // apply invalidation if it's not originated by local member/client (because local
         // Near Caches are invalidated immediately there is no need to invalidate them twice)
         if (!localUuid.equals(sourceUuid)) {
@@ -88,10 +94,6 @@ public final class RepairingHandler {
                 nearCache.invalidate(serializeKeys ? key : serializationService.toObject(key));
             }
         }
-
-        int partitionId = getPartitionIdOrDefault(key);
-        checkOrRepairUuid(partitionId, partitionUuid);
-        checkOrRepairSequence(partitionId, sequence, false);
     }
 
     private int getPartitionIdOrDefault(Data key) {
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.maxsize;
+
+import com.hazelcast.internal.eviction.EvictionChecker;
+import com.hazelcast.nearcache.NearCacheStats;
+
+/**
+ * Near Cache max-size policy implementation for Near Caches keeping their
+ * values in native memory.
+ * <p>
+ * Requires eviction when the native memory taken by the values reaches the
+ * budget, or when the given entry count checker requires it.
+ *
+ * @see EvictionChecker
+ */
+public class NativeMemoryBudgetNearCacheEvictionChecker
+        implements EvictionChecker {
+
+    private final EvictionChecker entryCountChecker;
+    private final NearCacheStats nearCacheStats;
+    private final long budgetInBytes;
+
+    public NativeMemoryBudgetNearCacheEvictionChecker(EvictionChecker entryCountChecker,
+                                                      NearCacheStats nearCacheStats,
+                                                      long budgetInBytes) {
+        this.entryCountChecker = entryCountChecker;
+        this.nearCacheStats = nearCacheStats;
+        this.budgetInBytes = budgetInBytes;
+    }
+
+    @Override
+    public boolean isEvictionRequired() {
+        return nearCacheStats.getOwnedEntryNativeMemoryCost() >= budgetInBytes
+                || entryCountChecker.isEvictionRequired();
+    }
+}
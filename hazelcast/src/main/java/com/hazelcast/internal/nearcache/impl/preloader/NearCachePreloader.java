@@ -22,7 +22,6 @@ import com.hazelcast.internal.monitor.impl.NearCacheStatsImpl;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.serialization.impl.HeapData;
-import com.hazelcast.internal.util.BufferingInputStream;
 import com.hazelcast.internal.util.Timer;
 import com.hazelcast.internal.util.collection.InflatableSet;
 import com.hazelcast.internal.util.collection.InflatableSet.Builder;
@@ -31,28 +30,44 @@ import com.hazelcast.logging.Logger;
 import com.hazelcast.memory.MemoryUnit;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Iterator;
-
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
 import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
-import static com.hazelcast.internal.nio.Bits.readIntB;
-import static com.hazelcast.internal.nio.Bits.writeIntB;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
 import static com.hazelcast.internal.nio.IOUtil.closeResource;
 import static com.hazelcast.internal.nio.IOUtil.deleteQuietly;
-import static com.hazelcast.internal.nio.IOUtil.readFullyOrNothing;
 import static com.hazelcast.internal.nio.IOUtil.rename;
 import static com.hazelcast.internal.nio.IOUtil.toFileName;
 import static com.hazelcast.internal.util.StringUtil.isNullOrEmpty;
 import static java.lang.String.format;
 import static java.nio.ByteBuffer.allocate;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
 
 /**
  * Loads and stores the keys from a Near Cache into a file.
+ * <p>
+ * The keys are written through a buffer which is flushed only when it is
+ * full and read back through a memory-mapped view of the file. Each key is
+ * stored with its value and the invalidation metadata of its partition, see
+ * {@link NearCachePreloaderEntry}. On load, the values which are still valid
+ * are put to the Near Cache directly. The other keys are grouped by partition
+ * and loaded with {@code getAll()} calls of about {@value #LOAD_BATCH_SIZE}
+ * keys, which the client splits into parallel requests per partition.
  *
  * @param <K> type of the {@link com.hazelcast.internal.nearcache.NearCacheRecord} keys
  */
@@ -62,7 +77,16 @@ public class NearCachePreloader<K> {
      * File format for the file header.
      */
     private enum FileFormat {
-        INTERLEAVED_LENGTH_FIELD
+        /**
+         * The keys, each prefixed with its length.
+         */
+        INTERLEAVED_LENGTH_FIELD,
+        /**
+         * The keys, each prefixed with its length and followed by the
+         * partition ID, partition UUID, invalidation sequence and the value
+         * prefixed with its length, or {@code -1} if there is none.
+         */
+        INTERLEAVED_LENGTH_FIELD_WITH_VALUES
     }
 
     /**
@@ -70,6 +94,22 @@ public class NearCachePreloader<K> {
      */
     private static final int MAGIC_BYTES = 0xEA3CAC4E;
 
+    /**
+     * Size of the file header, the magic bytes followed by the file format.
+     */
+    private static final int HEADER_SIZE = 2 * INT_SIZE_IN_BYTES;
+
+    /**
+     * Size of the fields between the key and the value length: the partition
+     * ID, the partition UUID and the invalidation sequence.
+     */
+    private static final int METADATA_SIZE = INT_SIZE_IN_BYTES + 3 * LONG_SIZE_IN_BYTES;
+
+    /**
+     * Length of an absent value.
+     */
+    private static final int NO_VALUE = -1;
+
     /**
      * Base-2 logarithm of buffer size.
      */
@@ -79,13 +119,17 @@ public class NearCachePreloader<K> {
      */
     private static final int BUFFER_SIZE = 1 << LOG_OF_BUFFER_SIZE;
 
+    /**
+     * Maximum size of a memory-mapped region of the file, larger files are mapped region by region.
+     */
+    private static final long MAX_MAPPED_REGION_SIZE = 1L << 30;
+
     /**
      * Batch size for the pre-loader.
      */
-    private static final int LOAD_BATCH_SIZE = 100;
+    private static final int LOAD_BATCH_SIZE = 10000;
 
     private final ILogger logger = Logger.getLogger(NearCachePreloader.class);
-    private final byte[] tmpBytes = new byte[INT_SIZE_IN_BYTES];
 
     private final String nearCacheName;
     private final NearCacheStatsImpl nearCacheStats;
@@ -118,9 +162,12 @@ public class NearCachePreloader<K> {
     /**
      * Loads the values via a stored key file into the supplied {@link DataStructureAdapter}.
      *
-     * @param adapter the {@link DataStructureAdapter} to load the values from
+     * @param adapter   the {@link DataStructureAdapter} to load the values from
+     * @param restoreFn puts a stored value to the Near Cache if it is still
+     *                  valid and returns {@code true}, otherwise the key is
+     *                  loaded from the adapter
      */
-    public void loadKeys(DataStructureAdapter<Object, ?> adapter) {
+    public void loadKeys(DataStructureAdapter<Object, ?> adapter, Predicate<NearCachePreloaderEntry<Data>> restoreFn) {
         if (!storeFile.exists()) {
             logger.info(format("Skipped loading keys of Near Cache %s since storage file doesn't exist (%s)", nearCacheName,
                     storeFile.getAbsolutePath()));
@@ -129,41 +176,53 @@ public class NearCachePreloader<K> {
 
         long startedNanos = Timer.nanos();
 
-        try (BufferingInputStream bis = new BufferingInputStream(new FileInputStream(storeFile), BUFFER_SIZE)) {
-            if (!checkHeader(bis)) {
+        try (FileChannel channel = FileChannel.open(storeFile.toPath(), READ)) {
+            FileFormat fileFormat = checkHeader(channel);
+            if (fileFormat == null) {
                 return;
             }
 
-            int loadedKeys = loadKeySet(bis, adapter);
+            KeyLoader loader = new KeyLoader(adapter, restoreFn);
+            loadKeySet(channel, fileFormat, loader);
+            loader.fetchStaleKeys();
 
+            int loadedKeys = loader.restoredKeys + loader.fetchedKeys;
             long elapsedMillis = Timer.millisElapsed(startedNanos);
-            logger.info(format("Loaded %d keys of Near Cache %s in %d ms", loadedKeys, nearCacheName, elapsedMillis));
+            nearCacheStats.addPreload(elapsedMillis, loadedKeys);
+            logger.info(format("Loaded %d keys of Near Cache %s in %d ms (%d values restored, %d fetched)", loadedKeys,
+                    nearCacheName, elapsedMillis, loader.restoredKeys, loader.fetchedKeys));
         } catch (Exception e) {
             logger.warning(format("Could not pre-load Near Cache %s (%s)", nearCacheName, storeFile.getAbsolutePath()), e);
         }
     }
 
-    private boolean checkHeader(BufferingInputStream bis) throws IOException {
-        int magicBytes = readInt(bis);
+    private FileFormat checkHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = allocate(HEADER_SIZE);
+        int read;
+        do {
+            read = channel.read(header, header.position());
+        } while (read > 0 && header.hasRemaining());
+        header.flip();
+        int magicBytes = header.remaining() < INT_SIZE_IN_BYTES ? 0 : header.getInt();
         if (magicBytes != MAGIC_BYTES) {
             logger.warning(format("Found invalid header for Near Cache %s (%s)", nearCacheName, storeFile.getAbsolutePath()));
-            return false;
+            return null;
         }
-        int fileFormat = readInt(bis);
+        int fileFormat = header.remaining() < INT_SIZE_IN_BYTES ? -1 : header.getInt();
         if (fileFormat < 0 || fileFormat > FileFormat.values().length - 1) {
             logger.warning(format("Found invalid file format for Near Cache %s (%s)", nearCacheName,
                     storeFile.getAbsolutePath()));
-            return false;
+            return null;
         }
-        return true;
+        return FileFormat.values()[fileFormat];
     }
 
     /**
-     * Stores the Near Cache keys from the supplied iterator.
+     * Stores the Near Cache keys and values from the supplied iterator.
      *
-     * @param iterator {@link Iterator} over the key set of a {@link com.hazelcast.internal.nearcache.NearCacheRecordStore}
+     * @param iterator {@link Iterator} over the entries of a {@link com.hazelcast.internal.nearcache.NearCacheRecordStore}
      */
-    public void storeKeys(Iterator<K> iterator) {
+    public void storeKeys(Iterator<NearCachePreloaderEntry<K>> iterator) {
         long startedNanos = Timer.nanos();
         FileOutputStream fos = null;
         try {
@@ -172,11 +231,12 @@ public class NearCachePreloader<K> {
             lastKeyCount = 0;
 
             fos = new FileOutputStream(tmpStoreFile, false);
+            FileChannel outChannel = fos.getChannel();
 
             // write header and keys
-            writeInt(fos, MAGIC_BYTES);
-            writeInt(fos, FileFormat.INTERLEAVED_LENGTH_FIELD.ordinal());
-            writeKeySet(fos, fos.getChannel(), iterator);
+            buf.putInt(MAGIC_BYTES);
+            buf.putInt(FileFormat.INTERLEAVED_LENGTH_FIELD_WITH_VALUES.ordinal());
+            writeKeySet(outChannel, iterator);
 
             // cleanup if no keys have been written
             if (lastKeyCount == 0) {
@@ -185,7 +245,7 @@ public class NearCachePreloader<K> {
                 return;
             }
 
-            fos.flush();
+            flushLocalBuffer(outChannel);
             closeResource(fos);
             rename(tmpStoreFile, storeFile);
 
@@ -208,72 +268,144 @@ public class NearCachePreloader<K> {
                 MemoryUnit.BYTES.toKiloBytes(lastWrittenBytes)));
     }
 
-    private int loadKeySet(BufferingInputStream bis, DataStructureAdapter<Object, ?> adapter) throws IOException {
-        int loadedKeys = 0;
-
-        Builder<Object> builder = InflatableSet.newBuilder(LOAD_BATCH_SIZE);
-        while (readFullyOrNothing(bis, tmpBytes)) {
-            int dataSize = readIntB(tmpBytes, 0);
-            byte[] payload = new byte[dataSize];
-            if (!readFullyOrNothing(bis, payload)) {
-                break;
+    private void loadKeySet(FileChannel channel, FileFormat fileFormat, KeyLoader loader) throws IOException {
+        boolean withValues = fileFormat == FileFormat.INTERLEAVED_LENGTH_FIELD_WITH_VALUES;
+        long fileSize = channel.size();
+        long position = HEADER_SIZE;
+        while (position < fileSize) {
+            long regionSize = Math.min(fileSize - position, MAX_MAPPED_REGION_SIZE);
+            MappedByteBuffer region = channel.map(READ_ONLY, position, regionSize);
+            int consumed;
+            try {
+                // an entry which is cut off by the end of the region is read again from the next region
+                boolean read;
+                do {
+                    read = withValues ? readEntry(region, loader) : readKey(region, loader);
+                } while (read);
+                consumed = region.position();
+            } finally {
+                unmap(region);
             }
-            Data key = new HeapData(payload);
-            builder.add(serializationService.toObject(key));
-            if (builder.size() == LOAD_BATCH_SIZE) {
-                adapter.getAll(builder.build());
-                builder = InflatableSet.newBuilder(LOAD_BATCH_SIZE);
+            if (consumed == 0 || position + regionSize == fileSize) {
+                // the rest of the file is a truncated entry
+                break;
             }
-            loadedKeys++;
+            position += consumed;
         }
-        if (builder.size() > 0) {
-            adapter.getAll(builder.build());
+    }
+
+    /**
+     * Reads a key of the {@link FileFormat#INTERLEAVED_LENGTH_FIELD} format.
+     *
+     * @return {@code false} if the key is cut off by the end of the region
+     */
+    private boolean readKey(MappedByteBuffer region, KeyLoader loader) {
+        int keyStart = region.position();
+        Data key = readData(region);
+        if (key == null) {
+            region.position(keyStart);
+            return false;
         }
-        return loadedKeys;
+        loader.fetch(serializationService.toObject(key));
+        return true;
     }
 
-    private void writeKeySet(FileOutputStream fos, FileChannel outChannel, Iterator<K> iterator) throws IOException {
-        while (iterator.hasNext()) {
-            K key = iterator.next();
-            Data dataKey = serializationService.toData(key);
-            if (dataKey != null) {
-                int dataSize = dataKey.totalSize();
-                writeInt(fos, dataSize);
-
-                int position = 0;
-                int remaining = dataSize;
-                while (remaining > 0) {
-                    int transferredCount = Math.min(BUFFER_SIZE - buf.position(), remaining);
-                    ensureBufHasRoom(fos, transferredCount);
-                    buf.put(dataKey.toByteArray(), position, transferredCount);
-                    position += transferredCount;
-                    remaining -= transferredCount;
-                }
+    /**
+     * Reads an entry of the {@link FileFormat#INTERLEAVED_LENGTH_FIELD_WITH_VALUES} format.
+     *
+     * @return {@code false} if the entry is cut off by the end of the region
+     */
+    private boolean readEntry(MappedByteBuffer region, KeyLoader loader) {
+        int entryStart = region.position();
+        Data key = readData(region);
+        if (key == null || region.remaining() < METADATA_SIZE + INT_SIZE_IN_BYTES) {
+            region.position(entryStart);
+            return false;
+        }
+        int partitionId = region.getInt();
+        UUID partitionUuid = new UUID(region.getLong(), region.getLong());
+        long sequence = region.getLong();
+        int valueStart = region.position();
+        if (region.getInt() == NO_VALUE) {
+            loader.fetch(partitionId, key);
+            return true;
+        }
+        region.position(valueStart);
+        Data value = readData(region);
+        if (value == null) {
+            region.position(entryStart);
+            return false;
+        }
+        loader.restoreOrFetch(new NearCachePreloaderEntry<>(key, value, partitionId, partitionUuid, sequence));
+        return true;
+    }
 
-                lastWrittenBytes += INT_SIZE_IN_BYTES + dataSize;
-                lastKeyCount++;
-            }
-            flushLocalBuffer(outChannel);
+    /**
+     * Reads a length-prefixed {@link Data}, or returns {@code null} if it is
+     * cut off by the end of the region.
+     */
+    private static Data readData(MappedByteBuffer region) {
+        if (region.remaining() < INT_SIZE_IN_BYTES) {
+            return null;
         }
+        int dataSize = region.getInt();
+        if (dataSize > region.remaining()) {
+            return null;
+        }
+        byte[] payload = new byte[dataSize];
+        region.get(payload);
+        return new HeapData(payload);
     }
 
-    private int readInt(BufferingInputStream bis) throws IOException {
-        readFullyOrNothing(bis, tmpBytes);
-        return readIntB(tmpBytes, 0);
+    private void writeKeySet(FileChannel outChannel, Iterator<NearCachePreloaderEntry<K>> iterator) throws IOException {
+        while (iterator.hasNext()) {
+            NearCachePreloaderEntry<K> entry = iterator.next();
+            Data dataKey = serializationService.toData(entry.key());
+            if (dataKey == null) {
+                continue;
+            }
+            writeData(outChannel, dataKey);
+
+            Data dataValue = entry.hasValue() ? serializationService.toData(entry.value()) : null;
+            UUID partitionUuid = dataValue != null ? entry.partitionUuid() : null;
+            ensureBufHasRoom(outChannel, METADATA_SIZE + INT_SIZE_IN_BYTES);
+            buf.putInt(entry.partitionId());
+            buf.putLong(partitionUuid != null ? partitionUuid.getMostSignificantBits() : 0);
+            buf.putLong(partitionUuid != null ? partitionUuid.getLeastSignificantBits() : 0);
+            buf.putLong(entry.sequence());
+            lastWrittenBytes += METADATA_SIZE;
+            if (partitionUuid != null) {
+                writeData(outChannel, dataValue);
+            } else {
+                buf.putInt(NO_VALUE);
+                lastWrittenBytes += INT_SIZE_IN_BYTES;
+            }
+
+            lastKeyCount++;
+        }
     }
 
-    private void writeInt(FileOutputStream fos, int dataSize) throws IOException {
-        ensureBufHasRoom(fos, INT_SIZE_IN_BYTES);
-        writeIntB(tmpBytes, 0, dataSize);
-        buf.put(tmpBytes);
+    private void writeData(FileChannel outChannel, Data data) throws IOException {
+        int dataSize = data.totalSize();
+        ensureBufHasRoom(outChannel, INT_SIZE_IN_BYTES);
+        buf.putInt(dataSize);
+
+        byte[] bytes = data.toByteArray();
+        if (dataSize > BUFFER_SIZE) {
+            flushLocalBuffer(outChannel);
+            writeFully(outChannel, ByteBuffer.wrap(bytes, 0, dataSize));
+        } else {
+            ensureBufHasRoom(outChannel, dataSize);
+            buf.put(bytes, 0, dataSize);
+        }
+
+        lastWrittenBytes += INT_SIZE_IN_BYTES + dataSize;
     }
 
-    private void ensureBufHasRoom(FileOutputStream fos, int expectedSize) throws IOException {
-        if (buf.position() < BUFFER_SIZE - expectedSize) {
-            return;
+    private void ensureBufHasRoom(FileChannel outChannel, int expectedSize) throws IOException {
+        if (buf.remaining() < expectedSize) {
+            flushLocalBuffer(outChannel);
         }
-        fos.write(buf.array());
-        buf.position(0);
     }
 
     private void flushLocalBuffer(FileChannel outChannel) throws IOException {
@@ -281,12 +413,26 @@ public class NearCachePreloader<K> {
             return;
         }
         buf.flip();
-        while (buf.hasRemaining()) {
-            outChannel.write(buf);
-        }
+        writeFully(outChannel, buf);
         buf.clear();
     }
 
+    private static void writeFully(FileChannel outChannel, ByteBuffer src) throws IOException {
+        while (src.hasRemaining()) {
+            outChannel.write(src);
+        }
+    }
+
+    /**
+     * Releases the mapping eagerly instead of waiting for the GC, so the
+     * store file can be replaced by the next {@link #storeKeys(Iterator)}.
+     */
+    private static void unmap(MappedByteBuffer region) {
+        if (UNSAFE_AVAILABLE) {
+            UNSAFE.invokeCleaner(region);
+        }
+    }
+
     private static String getFilename(String directory, String nearCacheName) {
         String filename = toFileName("nearCache-" + nearCacheName + ".store");
         if (isNullOrEmpty(directory)) {
@@ -294,4 +440,69 @@ public class NearCachePreloader<K> {
         }
         return Paths.get(directory, filename).toString();
     }
+
+    /**
+     * Restores the stored values which are still valid and fetches the other
+     * keys. The keys of a file without partition IDs are fetched as they are
+     * read, the others are collected and fetched partition by partition.
+     */
+    private final class KeyLoader {
+
+        private final DataStructureAdapter<Object, ?> adapter;
+        private final Predicate<NearCachePreloaderEntry<Data>> restoreFn;
+        private final Map<Integer, List<Object>> staleKeysByPartition = new TreeMap<>();
+        private Builder<Object> batch = InflatableSet.newBuilder(LOAD_BATCH_SIZE);
+        private int restoredKeys;
+        private int fetchedKeys;
+
+        KeyLoader(DataStructureAdapter<Object, ?> adapter, Predicate<NearCachePreloaderEntry<Data>> restoreFn) {
+            this.adapter = adapter;
+            this.restoreFn = restoreFn;
+        }
+
+        void restoreOrFetch(NearCachePreloaderEntry<Data> entry) {
+            if (restoreFn.test(entry)) {
+                restoredKeys++;
+            } else {
+                fetch(entry.partitionId(), entry.key());
+            }
+        }
+
+        void fetch(int partitionId, Data key) {
+            staleKeysByPartition.computeIfAbsent(partitionId, p -> new ArrayList<>())
+                    .add(serializationService.toObject(key));
+        }
+
+        void fetch(Object key) {
+            batch.add(key);
+            if (batch.size() == LOAD_BATCH_SIZE) {
+                fetchBatch();
+            }
+        }
+
+        /**
+         * Fetches the collected keys in batches of whole partitions, then the
+         * rest of the current batch.
+         */
+        void fetchStaleKeys() {
+            for (Iterator<List<Object>> it = staleKeysByPartition.values().iterator(); it.hasNext(); ) {
+                for (Object key : it.next()) {
+                    batch.add(key);
+                }
+                it.remove();
+                if (batch.size() >= LOAD_BATCH_SIZE) {
+                    fetchBatch();
+                }
+            }
+            if (batch.size() > 0) {
+                fetchBatch();
+            }
+        }
+
+        private void fetchBatch() {
+            adapter.getAll(batch.build());
+            fetchedKeys += batch.size();
+            batch = InflatableSet.newBuilder(LOAD_BATCH_SIZE);
+        }
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.nearcache.impl.preloader;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.UUID;
+
+/**
+ * A Near Cache key stored by the {@link NearCachePreloader}, with its value
+ * and the invalidation metadata of its partition at a time the value was
+ * known to be valid. If the partition has the same UUID and sequence on load,
+ * the key was not invalidated since and its value can be put to the Near
+ * Cache without fetching it.
+ *
+ * @param key           the key, deserialized or as {@link com.hazelcast.internal.serialization.Data}
+ * @param value         the value, {@code null} if it can't be validated on load
+ * @param partitionId   the partition of the key
+ * @param partitionUuid the UUID of the partition, {@code null} if there is no value
+ * @param sequence      the invalidation sequence of the partition
+ * @param <K>           the type of the key
+ */
+public record NearCachePreloaderEntry<K>(
+        @Nonnull K key,
+        @Nullable Object value,
+        int partitionId,
+        @Nullable UUID partitionUuid,
+        long sequence
+) {
+
+    /**
+     * Returns an entry without a value, the key is fetched on load.
+     */
+    public static <K> NearCachePreloaderEntry<K> keyOnly(@Nonnull K key) {
+        return new NearCachePreloaderEntry<>(key, null, -1, null, 0);
+    }
+
+    public boolean hasValue() {
+        return value != null;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+
+/**
+ * Implementation of {@link com.hazelcast.internal.nearcache.NearCacheRecord}
+ * that keeps the serialized value in a block of native memory.
+ * <p>
+ * The value of a record is set once, when the reservation of the record
+ * gets published; an update of the key replaces the whole record. Readers
+ * pin the record while they copy the value out of the block, and the block
+ * is freed by whoever releases the last pin of a {@link #dispose() disposed}
+ * record, so a record removed concurrently with a read is never freed
+ * under the reader. A reader which finds the record already disposed gets
+ * no value, which the store treats as a miss.
+ * <p>
+ * The UUID of the invalidation source is kept as two longs, so records don't
+ * retain {@link UUID} instances and checking them doesn't allocate.
+ */
+public class NearCacheOffHeapRecord extends AbstractNearCacheRecord<Data> {
+
+    // primitive long typed fields: "address", "uuidMostSigBits", "uuidLeastSigBits"
+    public static final int NUMBER_OF_OFF_HEAP_LONG_FIELD_TYPES = 3;
+    // primitive int typed fields: "valueSize", "pins"
+    public static final int NUMBER_OF_OFF_HEAP_INTEGER_FIELD_TYPES = 2;
+
+    private static final AtomicIntegerFieldUpdater<NearCacheOffHeapRecord> PINS =
+            AtomicIntegerFieldUpdater.newUpdater(NearCacheOffHeapRecord.class, "pins");
+    private static final int DISPOSED = Integer.MIN_VALUE;
+
+    private final MemoryAllocator allocator;
+
+    private volatile long address = NULL_ADDRESS;
+    private volatile int valueSize;
+    private volatile long uuidMostSigBits;
+    private volatile long uuidLeastSigBits;
+    // number of readers holding the block, with the DISPOSED bit set once disposed
+    private volatile int pins;
+
+    public NearCacheOffHeapRecord(MemoryAllocator allocator, long creationTime, long expirationTime) {
+        super(null, creationTime, expirationTime);
+        this.allocator = allocator;
+    }
+
+    /**
+     * Copies the value out of native memory.
+     *
+     * @return the value or {@code null} if the record has no value or has
+     * been disposed
+     */
+    @Override
+    public Data getValue() {
+        if (!pin()) {
+            return null;
+        }
+        try {
+            long address = this.address;
+            if (address == NULL_ADDRESS) {
+                return null;
+            }
+            byte[] bytes = new byte[valueSize];
+            MEM.copyToByteArray(address, bytes, 0, bytes.length);
+            return new HeapData(bytes);
+        } finally {
+            unpin();
+        }
+    }
+
+    /**
+     * Copies the value into a newly allocated block of native memory.
+     * Can be called only once per record.
+     */
+    @Override
+    public void setValue(Data value) {
+        if (value == null || !pin()) {
+            return;
+        }
+        try {
+            assert address == NULL_ADDRESS : "The value of an off-heap Near Cache record can be set only once";
+            int size = value.totalSize();
+            long address = allocator.allocate(size);
+            MEM.copyFromByteArray(value.toByteArray(), 0, address, size);
+            this.valueSize = size;
+            this.address = address;
+        } finally {
+            unpin();
+        }
+    }
+
+    /**
+     * @return the number of bytes of native memory taken by the value of
+     * this record
+     */
+    public long getNativeMemoryCost() {
+        return valueSize;
+    }
+
+    /**
+     * Disposes this record after it has been removed from its store. The
+     * native memory is freed right away, or by the last reader still
+     * holding it.
+     */
+    public void dispose() {
+        for (; ; ) {
+            int current = pins;
+            if ((current & DISPOSED) != 0) {
+                return;
+            }
+            if (PINS.compareAndSet(this, current, current | DISPOSED)) {
+                if (current == 0) {
+                    free();
+                }
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void setUuid(UUID uuid) {
+        if (uuid == null) {
+            uuidMostSigBits = 0;
+            uuidLeastSigBits = 0;
+        } else {
+            uuidMostSigBits = uuid.getMostSignificantBits();
+            uuidLeastSigBits = uuid.getLeastSignificantBits();
+        }
+    }
+
+    @Override
+    public UUID getUuid() {
+        long mostSigBits = uuidMostSigBits;
+        long leastSigBits = uuidLeastSigBits;
+        return mostSigBits == 0 && leastSigBits == 0 ? null : new UUID(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public boolean hasSameUuid(UUID thatUuid) {
+        long mostSigBits = uuidMostSigBits;
+        long leastSigBits = uuidLeastSigBits;
+        return (mostSigBits != 0 || leastSigBits != 0)
+                && thatUuid != null
+                && thatUuid.getMostSignificantBits() == mostSigBits
+                && thatUuid.getLeastSignificantBits() == leastSigBits;
+    }
+
+    private boolean pin() {
+        for (; ; ) {
+            int current = pins;
+            if ((current & DISPOSED) != 0) {
+                return false;
+            }
+            if (PINS.compareAndSet(this, current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void unpin() {
+        if (PINS.decrementAndGet(this) == DISPOSED) {
+            free();
+        }
+    }
+
+    private void free() {
+        long address = this.address;
+        if (address != NULL_ADDRESS) {
+            this.address = NULL_ADDRESS;
+            allocator.free(address, valueSize);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "NearCacheOffHeapRecord{"
+                + "address=" + address
+                + ", valueSize=" + valueSize
+                + ", uuid=" + getUuid()
+                + ", record=" + super.toString()
+                + '}';
+    }
+}
@@ -239,11 +239,10 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
             }
 
             value = (V) record.getValue();
-            long recordState = record.getReservationId();
 
-            if (recordState != READ_PERMITTED
-                    && !record.isCachedAsNull()
-                    && value == null) {
+            // a published record has either a value or is cached as null,
+            // so a record without both is reserved or has been removed
+            if (value == null && !record.isCachedAsNull()) {
                 nearCacheStats.incrementMisses();
                 return null;
             }
@@ -265,7 +264,7 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
             onRecordAccess(record);
             nearCacheStats.incrementHits();
 
-            return recordToValue(record);
+            return toResultValue(value);
         } catch (Throwable error) {
             onGetError(key, value, record, error);
             throw rethrow(error);
@@ -273,8 +272,11 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
     }
 
     protected V recordToValue(R record) {
-        return record.getValue() == null
-                ? (V) CACHED_AS_NULL : toValue(record.getValue());
+        return toResultValue(record.getValue());
+    }
+
+    private V toResultValue(Object value) {
+        return value == null ? (V) CACHED_AS_NULL : toValue(value);
     }
 
     // only implemented for testing purposes
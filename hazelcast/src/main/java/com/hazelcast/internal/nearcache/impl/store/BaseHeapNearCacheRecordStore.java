@@ -23,16 +23,24 @@ import com.hazelcast.config.NearCachePreloaderConfig;
 import com.hazelcast.internal.adapter.DataStructureAdapter;
 import com.hazelcast.internal.eviction.EvictionChecker;
 import com.hazelcast.internal.nearcache.NearCacheRecord;
+import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataContainer;
+import com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector;
 import com.hazelcast.internal.nearcache.impl.maxsize.EntryCountNearCacheEvictionChecker;
 import com.hazelcast.internal.nearcache.impl.preloader.NearCachePreloader;
+import com.hazelcast.internal.nearcache.impl.preloader.NearCachePreloaderEntry;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
 
 import javax.annotation.Nullable;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import static com.hazelcast.internal.nearcache.NearCache.UpdateSemantic.READ_UPDATE;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.NOT_RESERVED;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.READ_PERMITTED;
+import static com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector.ALWAYS_FRESH;
 import static java.lang.String.format;
 
 /**
@@ -120,17 +128,85 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
     @Override
     public void loadKeys(DataStructureAdapter<Object, ?> adapter) {
         if (nearCachePreloader != null) {
-            nearCachePreloader.loadKeys(adapter);
+            nearCachePreloader.loadKeys(adapter, this::restorePreloaded);
         }
     }
 
     @Override
     public void storeKeys() {
         if (nearCachePreloader != null) {
-            nearCachePreloader.storeKeys(records.keySet().iterator());
+            nearCachePreloader.storeKeys(records.entrySet().stream().map(this::toPreloaderEntry).iterator());
         }
     }
 
+    /**
+     * Returns the preloader entry of a record. The value is stored with the
+     * invalidation metadata its partition had before the record was checked
+     * to be valid: an invalidation of the key after that point advances the
+     * partition sequence past the stored one, so the value is not restored.
+     */
+    private NearCachePreloaderEntry<K> toPreloaderEntry(Map.Entry<K, R> entry) {
+        K key = entry.getKey();
+        R record = entry.getValue();
+        StaleReadDetector detector = staleReadDetector;
+        if (detector == ALWAYS_FRESH) {
+            return NearCachePreloaderEntry.keyOnly(key);
+        }
+        int partitionId = record.getPartitionId();
+        MetaDataContainer metaData = detector.getMetaDataContainer(partitionId);
+        UUID partitionUuid = metaData.getUuid();
+        long sequence = metaData.getSequence();
+        // a record being updated has a reservation ID, an invalidated one is removed
+        if (record.getReservationId() != READ_PERMITTED || records.get(key) != record) {
+            return NearCachePreloaderEntry.keyOnly(key);
+        }
+        Object value = record.getValue();
+        if (value == null || partitionUuid == null || detector.isStaleRead(key, record)) {
+            return NearCachePreloaderEntry.keyOnly(key);
+        }
+        return new NearCachePreloaderEntry<>(key, value, partitionId, partitionUuid, sequence);
+    }
+
+    /**
+     * Puts a value restored by the preloader to the Near Cache if its
+     * partition has the same UUID and no invalidation sequence newer than
+     * when the value was stored.
+     *
+     * @return {@code true} if the value was put
+     */
+    @SuppressWarnings("unchecked")
+    private boolean restorePreloaded(NearCachePreloaderEntry<Data> entry) {
+        StaleReadDetector detector = staleReadDetector;
+        Data keyData = entry.key();
+        if (detector == ALWAYS_FRESH || !entry.hasValue()
+                || detector.getPartitionId(keyData) != entry.partitionId()) {
+            return false;
+        }
+        MetaDataContainer metaData = detector.getMetaDataContainer(entry.partitionId());
+        if (!isNotInvalidatedSince(metaData, entry)) {
+            return false;
+        }
+        K key = (K) (nearCacheConfig.isSerializeKeys() ? keyData : serializationService.toObject(keyData));
+        doEviction(false);
+        long reservationId = tryReserveForUpdate(key, keyData, READ_UPDATE);
+        if (reservationId == NOT_RESERVED) {
+            return false;
+        }
+        tryPublishReserved(key, (V) entry.value(), reservationId, false);
+        // an invalidation which arrived before the reservation found nothing to
+        // remove, but it has already advanced the sequence, see RepairingHandler
+        if (!isNotInvalidatedSince(metaData, entry)) {
+            invalidate(key);
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isNotInvalidatedSince(MetaDataContainer metaData, NearCachePreloaderEntry<Data> entry) {
+        return entry.partitionUuid() != null && entry.partitionUuid().equals(metaData.getUuid())
+                && metaData.getSequence() <= entry.sequence();
+    }
+
     @Override
     public void destroy() {
         super.destroy();
@@ -207,8 +283,15 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
                 nearCacheStats.decrementOwnedEntryMemoryCost(getTotalStorageMemoryCost(key, record));
                 nearCacheStats.incrementInvalidations();
             }
+            onInvalidate(key, record);
             return null;
         };
     }
 
+    /**
+     * Called for a record which is being removed by an invalidation.
+     */
+    protected void onInvalidate(K key, R record) {
+    }
+
 }
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.eviction.EvictionChecker;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
+import com.hazelcast.internal.nearcache.impl.maxsize.NativeMemoryBudgetNearCacheEvictionChecker;
+import com.hazelcast.internal.nearcache.impl.record.NearCacheOffHeapRecord;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+
+import static com.hazelcast.internal.nearcache.NearCacheRecord.READ_PERMITTED;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.TIME_NOT_SET;
+import static com.hazelcast.internal.nearcache.impl.record.AbstractNearCacheRecord.NUMBER_OF_BOOLEAN_FIELD_TYPES;
+import static com.hazelcast.internal.nearcache.impl.record.AbstractNearCacheRecord.NUMBER_OF_INTEGER_FIELD_TYPES;
+import static com.hazelcast.internal.nearcache.impl.record.AbstractNearCacheRecord.NUMBER_OF_LONG_FIELD_TYPES;
+import static com.hazelcast.internal.nearcache.impl.record.NearCacheOffHeapRecord.NUMBER_OF_OFF_HEAP_INTEGER_FIELD_TYPES;
+import static com.hazelcast.internal.nearcache.impl.record.NearCacheOffHeapRecord.NUMBER_OF_OFF_HEAP_LONG_FIELD_TYPES;
+import static com.hazelcast.internal.util.Clock.currentTimeMillis;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+
+/**
+ * {@link com.hazelcast.internal.nearcache.NearCacheRecordStore} implementation for Near Caches
+ * with {@link com.hazelcast.config.InMemoryFormat#BINARY} in-memory-format which keeps the
+ * values in native memory.
+ * <p>
+ * The keys and the record handles stay in the on-heap sampleable record map, so
+ * the sampling based eviction and the per-key atomicity of the heap stores are
+ * kept. The values are copied into native memory blocks owned by the records,
+ * and the store evicts entries when the blocks reach the configured budget.
+ * The records are immutable once published, so an update of a key replaces the
+ * record, and a record leaving the map is {@link NearCacheOffHeapRecord#dispose() disposed}.
+ * <p>
+ * The native memory in use is reported by
+ * {@link com.hazelcast.nearcache.NearCacheStats#getOwnedEntryNativeMemoryCost()},
+ * {@link com.hazelcast.nearcache.NearCacheStats#getOwnedEntryMemoryCost()} covers
+ * the heap part only.
+ *
+ * @param <K> the type of the key stored in Near Cache
+ * @param <V> the type of the value stored in Near Cache
+ */
+public class NearCacheOffHeapRecordStore<K, V> extends BaseHeapNearCacheRecordStore<K, V, NearCacheOffHeapRecord> {
+
+    /**
+     * The maximum number of entries evicted by a single eviction request. The
+     * values differ in size, so one eviction may not free enough memory for
+     * the next one, but a put shouldn't pay for emptying the Near Cache.
+     */
+    private static final int MAX_EVICTIONS_PER_CALL = 16;
+
+    private final long budgetInBytes;
+    private final UnsafeMallocMemoryManager memoryManager = new UnsafeMallocMemoryManager();
+    private final MemoryAllocator allocator = new StatsUpdatingAllocator();
+
+    public NearCacheOffHeapRecordStore(String name,
+                                       NearCacheConfig nearCacheConfig,
+                                       SerializationService serializationService,
+                                       ClassLoader classLoader,
+                                       long budgetInBytes) {
+        super(name, nearCacheConfig, serializationService, classLoader);
+        this.budgetInBytes = budgetInBytes;
+    }
+
+    @Override
+    protected EvictionChecker createNearCacheEvictionChecker(EvictionConfig evictionConfig,
+                                                             NearCacheConfig nearCacheConfig) {
+        EvictionChecker entryCountChecker = super.createNearCacheEvictionChecker(evictionConfig, nearCacheConfig);
+        return new NativeMemoryBudgetNearCacheEvictionChecker(entryCountChecker, nearCacheStats, budgetInBytes);
+    }
+
+    @Override
+    protected long getKeyStorageMemoryCost(K key) {
+        if (key instanceof Data data) {
+            return
+                    // reference to this key data inside map ("store" field)
+                    REFERENCE_COST_IN_BYTES
+                            // heap cost of this key data
+                            + data.getHeapCost();
+        } else {
+            // memory cost for non-data typed instance is not supported
+            return 0L;
+        }
+    }
+
+    @Override
+    protected long getRecordStorageMemoryCost(NearCacheOffHeapRecord record) {
+        if (record == null) {
+            return 0L;
+        }
+        // the value is in native memory, this is the heap cost of the record handle
+        // reference to this record inside map ("store" field)
+        return REFERENCE_COST_IN_BYTES
+                // reference to "allocator" field
+                + REFERENCE_COST_IN_BYTES
+                // partition Id
+                + (Integer.SIZE / Byte.SIZE)
+                + NUMBER_OF_LONG_FIELD_TYPES * (Long.SIZE / Byte.SIZE)
+                + NUMBER_OF_INTEGER_FIELD_TYPES * (Integer.SIZE / Byte.SIZE)
+                + NUMBER_OF_BOOLEAN_FIELD_TYPES
+                + NUMBER_OF_OFF_HEAP_LONG_FIELD_TYPES * (Long.SIZE / Byte.SIZE)
+                + NUMBER_OF_OFF_HEAP_INTEGER_FIELD_TYPES * (Integer.SIZE / Byte.SIZE);
+    }
+
+    @Override
+    protected NearCacheOffHeapRecord createRecord(V value) {
+        long creationTime = currentTimeMillis();
+        long expirationTime = timeToLiveMillis > 0 ? creationTime + timeToLiveMillis : TIME_NOT_SET;
+        NearCacheOffHeapRecord record = new NearCacheOffHeapRecord(allocator, creationTime, expirationTime);
+        record.setValue(toData(value));
+        return record;
+    }
+
+    @Override
+    protected void updateRecordValue(NearCacheOffHeapRecord record, V value) {
+        record.setValue(toData(value));
+    }
+
+    @Override
+    protected NearCacheOffHeapRecord reserveForWriteUpdate(K key, Data keyData, NearCacheOffHeapRecord existingRecord,
+                                                           long reservationId) {
+        if (existingRecord != null && existingRecord.getReservationId() == READ_PERMITTED) {
+            // the value of a published record can't be changed, so the
+            // record is replaced by a new reservation
+            nearCacheStats.decrementOwnedEntryCount();
+            nearCacheStats.decrementOwnedEntryMemoryCost(getTotalStorageMemoryCost(key, existingRecord));
+            existingRecord.dispose();
+            return newReservationRecord(key, keyData, reservationId);
+        }
+
+        NearCacheOffHeapRecord record = super.reserveForWriteUpdate(key, keyData, existingRecord, reservationId);
+        if (record != existingRecord && existingRecord != null) {
+            existingRecord.dispose();
+        }
+        return record;
+    }
+
+    @Override
+    protected NearCacheOffHeapRecord putRecord(K key, NearCacheOffHeapRecord record) {
+        NearCacheOffHeapRecord oldRecord = super.putRecord(key, record);
+        if (oldRecord != null) {
+            oldRecord.dispose();
+        }
+        return oldRecord;
+    }
+
+    @Override
+    protected void onInvalidate(K key, NearCacheOffHeapRecord record) {
+        record.dispose();
+    }
+
+    @Override
+    public void onEvict(K key, NearCacheOffHeapRecord record, boolean wasExpired) {
+        super.onEvict(key, record, wasExpired);
+        record.dispose();
+    }
+
+    @Override
+    public boolean doEviction(boolean withoutMaxSizeCheck) {
+        checkAvailable();
+
+        if (evictionDisabled) {
+            return false;
+        }
+
+        if (withoutMaxSizeCheck) {
+            evictionStrategy.evict(records, evictionPolicyEvaluator, null, this);
+            return true;
+        }
+        for (int i = 0; i < MAX_EVICTIONS_PER_CALL; i++) {
+            if (!evictionStrategy.evict(records, evictionPolicyEvaluator, evictionChecker, this)) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        checkAvailable();
+
+        // the records are removed one by one, so each removed record
+        // is disposed and none is left in the map disposed
+        int size = 0;
+        for (K key : records.keySet()) {
+            NearCacheOffHeapRecord record = records.remove(key);
+            if (record != null) {
+                record.dispose();
+                size++;
+            }
+        }
+        nearCacheStats.setOwnedEntryCount(0);
+        nearCacheStats.setOwnedEntryMemoryCost(0L);
+        nearCacheStats.incrementInvalidations(size);
+        nearCacheStats.incrementInvalidationRequests();
+    }
+
+    @Override
+    public void destroy() {
+        super.destroy();
+        memoryManager.dispose();
+    }
+
+    /**
+     * Allocates the value blocks and keeps the native memory cost of the
+     * Near Cache up to date.
+     */
+    private final class StatsUpdatingAllocator implements MemoryAllocator {
+
+        private final MemoryAllocator malloc = memoryManager.getAllocator();
+
+        @Override
+        public long allocate(long size) {
+            long address = malloc.allocate(size);
+            nearCacheStats.incrementOwnedEntryNativeMemoryCost(size);
+            return address;
+        }
+
+        @Override
+        public long reallocate(long address, long currentSize, long newSize) {
+            throw new UnsupportedOperationException("Near Cache value blocks are never reallocated");
+        }
+
+        @Override
+        public void free(long address, long size) {
+            malloc.free(address, size);
+            nearCacheStats.decrementOwnedEntryNativeMemoryCost(size);
+        }
+
+        @Override
+        public void dispose() {
+            // blocks are freed by the records owning them
+        }
+    }
+}
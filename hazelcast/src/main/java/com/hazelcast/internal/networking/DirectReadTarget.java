@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link InboundHandler} that can have the socket read directly into a
+ * buffer of its own instead of its src buffer.
+ * <p>
+ * A decoder that knows where the next bytes belong, e.g. the remainder of a
+ * large frame, can avoid copying them from the src buffer this way. The
+ * {@link InboundPipeline} only consults the first handler of the pipeline,
+ * since the other handlers don't receive the bytes as read from the socket.
+ * After the read, the handler's {@link InboundHandler#onRead()} is called
+ * as usual; it is responsible for consuming the bytes put into the buffer.
+ */
+public interface DirectReadTarget {
+
+    /**
+     * Returns the buffer the next socket read should go into.
+     * <p>
+     * Called on the IO thread before every read.
+     *
+     * @return the buffer, or {@code null} to read into the src buffer
+     */
+    ByteBuffer directReadBuffer();
+}
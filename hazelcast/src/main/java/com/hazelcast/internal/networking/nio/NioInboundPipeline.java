@@ -19,6 +19,7 @@ package com.hazelcast.internal.networking.nio;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.networking.ChannelErrorHandler;
 import com.hazelcast.internal.networking.ChannelHandler;
+import com.hazelcast.internal.networking.DirectReadTarget;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.networking.InboundHandler;
 import com.hazelcast.internal.networking.InboundPipeline;
@@ -56,6 +57,8 @@ public final class NioInboundPipeline extends NioPipeline implements InboundPipe
 
     private InboundHandler[] handlers = new InboundHandler[0];
     private ByteBuffer receiveBuffer;
+    // the first handler if it can have the socket read into a buffer of its own
+    private DirectReadTarget directReadTarget;
 
     @Probe(name = NETWORKING_METRIC_NIO_INBOUND_PIPELINE_BYTES_READ, unit = BYTES, level = DEBUG)
     private final SwCounter bytesRead = newSwCounter();
@@ -95,6 +98,8 @@ public final class NioInboundPipeline extends NioPipeline implements InboundPipe
                 return bytesRead.get();
             case LOAD_BALANCING_FRAME:
                 return normalFramesRead.get() + priorityFramesRead.get();
+            case LOAD_BALANCING_TIME:
+                return processTimeNanos.get();
             default:
                 throw new RuntimeException();
         }
@@ -111,7 +116,14 @@ public final class NioInboundPipeline extends NioPipeline implements InboundPipe
 
     @Override
     void process() throws Exception {
-        int readBytes = socketChannel.read(receiveBuffer);
+        ByteBuffer buffer = receiveBuffer;
+        if (directReadTarget != null) {
+            ByteBuffer directBuffer = directReadTarget.directReadBuffer();
+            if (directBuffer != null) {
+                buffer = directBuffer;
+            }
+        }
+        int readBytes = socketChannel.read(buffer);
 
         if (readBytes == -1) {
             throw new EOFException("Remote socket closed!");
@@ -246,6 +258,7 @@ public final class NioInboundPipeline extends NioPipeline implements InboundPipe
     private void updatePipeline(InboundHandler[] handlers) {
         this.handlers = handlers;
         receiveBuffer = handlers.length == 0 ? null : (ByteBuffer) handlers[0].src();
+        directReadTarget = handlers.length > 0 && handlers[0] instanceof DirectReadTarget target ? target : null;
 
         InboundHandler prev = null;
         for (InboundHandler handler : handlers) {
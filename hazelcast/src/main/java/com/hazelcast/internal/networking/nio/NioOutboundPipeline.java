@@ -25,6 +25,7 @@ import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.networking.OutboundPipeline;
 import com.hazelcast.internal.networking.nio.iobalancer.IOBalancer;
 import com.hazelcast.internal.util.ConcurrencyDetection;
+import com.hazelcast.internal.util.concurrent.ManyToOneConcurrentLinkedQueue;
 import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.logging.ILogger;
@@ -35,11 +36,12 @@ import java.nio.channels.CancelledKeyException;
 import java.nio.channels.SelectionKey;
 import java.util.Arrays;
 import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_BYTES_PER_WRITE;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_BYTES_WRITTEN;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_FRAMES_PER_WRITE;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_IDLE_TIME_MILLIS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_NORMAL_FRAMES_WRITTEN;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_PRIORITY_FRAMES_WRITTEN;
@@ -47,6 +49,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKIN
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_PRIORITY_WRITE_QUEUE_SIZE;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_SCHEDULED;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITE_QUEUE_PENDING_BYTES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITES;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITE_QUEUE_SIZE;
 import static com.hazelcast.internal.metrics.ProbeLevel.DEBUG;
 import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
@@ -69,6 +72,15 @@ public final class NioOutboundPipeline
         extends NioPipeline
         implements Supplier<OutboundFrame>, OutboundPipeline {
 
+    /**
+     * The maximum number of socket writes in a single processing of the
+     * pipeline. While the socket takes whole send buffers, the frames that
+     * didn't fit are encoded and written right away instead of after the
+     * next select; the limit keeps a busy pipeline from starving the other
+     * pipelines of its thread.
+     */
+    static final int MAX_WRITES_PER_PROCESS = 4;
+
     public enum State {
         /*
          * The pipeline isn't scheduled (nothing to do).
@@ -111,10 +123,10 @@ public final class NioOutboundPipeline
 
     @SuppressWarnings("checkstyle:visibilitymodifier")
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITE_QUEUE_SIZE, level = INFO)
-    public final Queue<OutboundFrame> writeQueue = new ConcurrentLinkedQueue<>();
+    public final Queue<OutboundFrame> writeQueue = new ManyToOneConcurrentLinkedQueue<>();
     @SuppressWarnings("checkstyle:visibilitymodifier")
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_PRIORITY_WRITE_QUEUE_SIZE, level = DEBUG)
-    public final Queue<OutboundFrame> priorityWriteQueue = new ConcurrentLinkedQueue<>();
+    public final Queue<OutboundFrame> priorityWriteQueue = new ManyToOneConcurrentLinkedQueue<>();
 
     private OutboundHandler[] handlers = new OutboundHandler[0];
     private ByteBuffer sendBuffer;
@@ -126,6 +138,8 @@ public final class NioOutboundPipeline
     private final SwCounter normalFramesWritten = newSwCounter();
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_PRIORITY_FRAMES_WRITTEN, level = DEBUG)
     private final SwCounter priorityFramesWritten = newSwCounter();
+    @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITES, level = DEBUG)
+    private final SwCounter writes = newSwCounter();
 
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITE_QUEUE_PENDING_BYTES, level = INFO, unit = BYTES)
     private final MwCounter writeQueuePendingBytes = newMwCounter();
@@ -165,6 +179,8 @@ public final class NioOutboundPipeline
                 return bytesWritten.get();
             case LOAD_BALANCING_FRAME:
                 return normalFramesWritten.get() + priorityFramesWritten.get();
+            case LOAD_BALANCING_TIME:
+                return processTimeNanos.get();
             default:
                 throw new RuntimeException();
         }
@@ -188,6 +204,18 @@ public final class NioOutboundPipeline
         return scheduled.get().ordinal();
     }
 
+    @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_FRAMES_PER_WRITE, level = DEBUG)
+    private double framesPerWrite() {
+        long writeCount = writes.get();
+        return writeCount == 0 ? 0 : (double) (normalFramesWritten.get() + priorityFramesWritten.get()) / writeCount;
+    }
+
+    @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_BYTES_PER_WRITE, unit = BYTES, level = DEBUG)
+    private double bytesPerWrite() {
+        long writeCount = writes.get();
+        return writeCount == 0 ? 0 : (double) bytesWritten.get() / writeCount;
+    }
+
     public void write(OutboundFrame frame) {
         if (frame.isUrgent()) {
             if (priorityWriteQueue.offer(frame)) {
@@ -300,25 +328,17 @@ public final class NioOutboundPipeline
     public void process() throws Exception {
         processCount.inc();
 
-        OutboundHandler[] localHandlers = handlers;
-        HandlerStatus pipelineStatus = CLEAN;
-        for (int handlerIndex = 0; handlerIndex < localHandlers.length; handlerIndex++) {
-            OutboundHandler handler = localHandlers[handlerIndex];
-
-            HandlerStatus handlerStatus = handler.onWrite();
-
-            if (localHandlers != handlers) {
-                // change in the pipeline detected, therefor the loop is restarted.
-                localHandlers = handlers;
-                pipelineStatus = CLEAN;
-                handlerIndex = -1;
-            } else if (handlerStatus != CLEAN) {
-                pipelineStatus = handlerStatus;
-            }
+        HandlerStatus pipelineStatus = processHandlers();
+        int written = flushToSocket();
+        for (int writeCount = 1; writeCount < MAX_WRITES_PER_PROCESS
+                && pipelineStatus == DIRTY && written > 0 && !sendBuffer.hasRemaining()
+                && !migrationRequested(); writeCount++) {
+            // the socket took the whole send buffer, so the frames which didn't
+            // fit into it can be written without waiting for an OP_WRITE
+            pipelineStatus = processHandlers();
+            written = flushToSocket();
         }
 
-        flushToSocket();
-
         if (migrationRequested()) {
             startMigration();
             // we leave this method and the NioOutboundPipeline remains scheduled.
@@ -345,6 +365,26 @@ public final class NioOutboundPipeline
         }
     }
 
+    private HandlerStatus processHandlers() throws Exception {
+        OutboundHandler[] localHandlers = handlers;
+        HandlerStatus pipelineStatus = CLEAN;
+        for (int handlerIndex = 0; handlerIndex < localHandlers.length; handlerIndex++) {
+            OutboundHandler handler = localHandlers[handlerIndex];
+
+            HandlerStatus handlerStatus = handler.onWrite();
+
+            if (localHandlers != handlers) {
+                // change in the pipeline detected, therefor the loop is restarted.
+                localHandlers = handlers;
+                pipelineStatus = CLEAN;
+                handlerIndex = -1;
+            } else if (handlerStatus != CLEAN) {
+                pipelineStatus = handlerStatus;
+            }
+        }
+        return pipelineStatus;
+    }
+
     private void postProcessBlocked() {
         // pipeline is blocked; no point in receiving OP_WRITE events.
         unregisterOp(OP_WRITE);
@@ -430,11 +470,12 @@ public final class NioOutboundPipeline
         }
     }
 
-    private void flushToSocket() throws IOException {
+    private int flushToSocket() throws IOException {
         lastWriteTime = currentTimeMillis();
         int written = socketChannel.write(sendBuffer);
+        writes.inc();
         bytesWritten.inc(written);
-        //System.out.println(channel + " bytes written:" + written);
+        return written;
     }
 
     void drainWriteQueues() {
@@ -35,8 +35,10 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKIN
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_PIPELINE_OPS_READY;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_PIPELINE_OWNER_ID;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_PIPELINE_PROCESS_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_PIPELINE_PROCESS_TIME_NANOS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_PIPELINE_STARTED_MIGRATIONS;
 import static com.hazelcast.internal.metrics.ProbeLevel.DEBUG;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
 import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 import static java.lang.Thread.currentThread;
 
@@ -45,6 +47,8 @@ public abstract class NioPipeline implements MigratablePipeline, Runnable {
     protected static final int LOAD_BALANCING_HANDLE = 0;
     protected static final int LOAD_BALANCING_BYTE = 1;
     protected static final int LOAD_BALANCING_FRAME = 2;
+    // the time the owning NioThread spends processing the pipeline
+    protected static final int LOAD_BALANCING_TIME = 3;
 
     // for the time being we configure using an int until we have decided which load strategy to use.
     protected final int loadType = Integer.getInteger("hazelcast.io.load", LOAD_BALANCING_BYTE);
@@ -52,6 +56,9 @@ public abstract class NioPipeline implements MigratablePipeline, Runnable {
     // the number of time the NioPipeline.process() method has been called.
     @Probe(name = NETWORKING_METRIC_NIO_PIPELINE_PROCESS_COUNT, level = DEBUG)
     protected final SwCounter processCount = newSwCounter();
+    // the time the owner spent in the NioPipeline.process() method; only measured with the time load type.
+    @Probe(name = NETWORKING_METRIC_NIO_PIPELINE_PROCESS_TIME_NANOS, unit = NS, level = DEBUG)
+    protected final SwCounter processTimeNanos = newSwCounter();
     protected final ILogger logger;
     protected final NioChannel channel;
     protected final SocketChannel socketChannel;
@@ -165,6 +172,24 @@ public abstract class NioPipeline implements MigratablePipeline, Runnable {
      */
     abstract void process() throws Exception;
 
+    /**
+     * Processes the pipeline on its owner. With the time load type, the
+     * processing time is added to the load of the pipeline.
+     */
+    final void processOnOwner() throws Exception {
+        if (loadType != LOAD_BALANCING_TIME) {
+            process();
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            process();
+        } finally {
+            processTimeNanos.inc(System.nanoTime() - startNanos);
+        }
+    }
+
     /**
      * Adds a task to be executed on the {@link NioThread owner}.
      * <p>
@@ -227,7 +252,7 @@ public abstract class NioPipeline implements MigratablePipeline, Runnable {
     public final void run() {
         if (owner == currentThread()) {
             try {
-                process();
+                processOnOwner();
             } catch (Throwable t) {
                 onError(t);
             }
@@ -380,7 +380,7 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
             // we don't need to check for sk.isReadable/sk.isWritable since the pipeline has only registered
             // for events it can handle.
             eventCount.inc();
-            pipeline.process();
+            pipeline.processOnOwner();
         } catch (Throwable t) {
              pipeline.onError(t);
         }
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio.iobalancer;
+
+import com.hazelcast.internal.networking.nio.MigratablePipeline;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link MigrationStrategy} meant for a load made of few very hot pipelines,
+ * best used with the load measured as processing time ({@code -Dhazelcast.io.load=3})
+ * or bytes.
+ * <p>
+ * It differs from {@link LoadMigrationStrategy} in the following:
+ * <ul>
+ * <li>An imbalance has to persist for {@link #IMBALANCE_PERSISTENCE_ROUNDS}
+ * consecutive rounds before a migration is attempted, so short bursts don't
+ * move pipelines around.</li>
+ * <li>It moves the pipeline whose load is the closest to half of the load
+ * difference between the busiest and the least busy thread, which balances
+ * the two threads best, and never a pipeline that would make the
+ * destination busier than the source was.</li>
+ * <li>A hot pipeline, taking more than {@link #HOT_PIPELINE_SHARE} of the load
+ * of its thread, is never moved, the others are moved away from it. This
+ * way a hot pipeline ends up on a thread of its own instead of moving the
+ * hotspot from thread to thread.</li>
+ * <li>A migrated pipeline is not moved again for
+ * {@link #MIGRATION_COOLDOWN_ROUNDS} rounds, which prevents ping-pong
+ * migrations while the load of the threads settles.</li>
+ * </ul>
+ * An instance keeps state between rounds, so it can be used for a single
+ * {@link LoadTracker} only.
+ */
+class AdaptiveMigrationStrategy implements MigrationStrategy {
+
+    static final int IMBALANCE_PERSISTENCE_ROUNDS = 2;
+    static final int MIGRATION_COOLDOWN_ROUNDS = 3;
+    static final double HOT_PIPELINE_SHARE = 0.5;
+
+    private static final double MIN_MAX_RATIO_MIGRATION_THRESHOLD = 0.8;
+
+    private final Map<MigratablePipeline, Long> migrationRounds = new HashMap<>();
+    private long round;
+    private int imbalancedRounds;
+
+    @Override
+    public boolean imbalanceDetected(LoadImbalance imbalance) {
+        round++;
+        migrationRounds.values().removeIf(migrationRound -> round - migrationRound > MIGRATION_COOLDOWN_ROUNDS);
+
+        long min = imbalance.minimumLoad;
+        long max = imbalance.maximumLoad;
+        if (imbalance.srcOwner == null || imbalance.dstOwner == null
+                || min == Long.MAX_VALUE || max == Long.MIN_VALUE
+                || min >= (long) (MIN_MAX_RATIO_MIGRATION_THRESHOLD * max)) {
+            imbalancedRounds = 0;
+            return false;
+        }
+        return ++imbalancedRounds >= IMBALANCE_PERSISTENCE_ROUNDS;
+    }
+
+    @Override
+    public MigratablePipeline findPipelineToMigrate(LoadImbalance imbalance) {
+        Set<? extends MigratablePipeline> candidates = imbalance.getPipelinesOwnedBy(imbalance.srcOwner);
+        long gap = imbalance.maximumLoad - imbalance.minimumLoad;
+        long hotLoad = (long) (HOT_PIPELINE_SHARE * imbalance.maximumLoad);
+
+        MigratablePipeline candidate = null;
+        long candidateDistance = Long.MAX_VALUE;
+        for (MigratablePipeline pipeline : candidates) {
+            long load = imbalance.getLoad(pipeline);
+            if (load <= 0 || load >= gap || load > hotLoad || migrationRounds.containsKey(pipeline)) {
+                continue;
+            }
+            // the distance from half of the gap, the load balancing both threads
+            long distance = Math.abs(2 * load - gap);
+            if (distance < candidateDistance) {
+                candidateDistance = distance;
+                candidate = pipeline;
+            }
+        }
+
+        if (candidate != null) {
+            migrationRounds.put(candidate, round);
+            imbalancedRounds = 0;
+        }
+        return candidate;
+    }
+}
@@ -66,10 +66,12 @@ import static com.hazelcast.spi.properties.ClusterProperty.IO_THREAD_COUNT;
  */
 public class IOBalancer {
     private static final String PROP_MONKEY_BALANCER = "hazelcast.io.balancer.monkey";
+    private static final String PROP_ADAPTIVE_BALANCER = "hazelcast.io.balancer.adaptive";
     private final ILogger logger;
 
     private final int balancerIntervalSeconds;
-    private final MigrationStrategy strategy;
+    private final MigrationStrategy inStrategy;
+    private final MigrationStrategy outStrategy;
 
     private final LoadTracker inLoadTracker;
     private final LoadTracker outLoadTracker;
@@ -77,6 +79,9 @@ public class IOBalancer {
     private final BlockingQueue<Runnable> workQueue = new LinkedBlockingQueue<>();
     private volatile boolean enabled;
     private IOBalancerThread ioBalancerThread;
+    // written by the IOBalancerThread only, read by the diagnostics
+    private volatile String lastInputDecision;
+    private volatile String lastOutputDecision;
 
     // only IOBalancerThread will write to this field.
     @Probe(name = NETWORKING_METRIC_NIO_IO_BALANCER_IMBALANCE_DETECTED_COUNT, level = DEBUG)
@@ -93,7 +98,8 @@ public class IOBalancer {
         this.logger = loggingService.getLogger(IOBalancer.class);
         this.balancerIntervalSeconds = balancerIntervalSeconds;
 
-        this.strategy = createMigrationStrategy();
+        this.inStrategy = createMigrationStrategy();
+        this.outStrategy = createMigrationStrategy();
         this.hzName = hzName;
 
         this.inLoadTracker = new LoadTracker(inputThreads, logger);
@@ -146,16 +152,32 @@ public class IOBalancer {
         }
     }
 
+    /**
+     * Returns the description of the last decision taken about the input
+     * threads, or {@code null} if the balancer didn't run yet.
+     */
+    public String getLastInputDecision() {
+        return lastInputDecision;
+    }
+
+    /**
+     * Returns the description of the last decision taken about the output
+     * threads, or {@code null} if the balancer didn't run yet.
+     */
+    public String getLastOutputDecision() {
+        return lastOutputDecision;
+    }
+
     void rebalance() {
-        scheduleMigrationIfNeeded(inLoadTracker);
-        scheduleMigrationIfNeeded(outLoadTracker);
+        lastInputDecision = scheduleMigrationIfNeeded(inLoadTracker, inStrategy);
+        lastOutputDecision = scheduleMigrationIfNeeded(outLoadTracker, outStrategy);
     }
 
-    private void scheduleMigrationIfNeeded(LoadTracker loadTracker) {
+    private String scheduleMigrationIfNeeded(LoadTracker loadTracker, MigrationStrategy strategy) {
         LoadImbalance loadImbalance = loadTracker.updateImbalance();
         if (strategy.imbalanceDetected(loadImbalance)) {
             imbalanceDetectedCount.inc();
-            tryMigrate(loadImbalance);
+            return tryMigrate(loadImbalance, strategy);
         } else {
             if (logger.isFinestEnabled()) {
                 long min = loadImbalance.minimumLoad;
@@ -166,7 +188,16 @@ public class IOBalancer {
                     logger.finest("No imbalance has been detected. Max. load: %s Min load: %s.", max, min);
                 }
             }
+            return "no imbalance, " + describeLoad(loadImbalance);
+        }
+    }
+
+    private static String describeLoad(LoadImbalance loadImbalance) {
+        if (loadImbalance.srcOwner == null || loadImbalance.dstOwner == null) {
+            return "at most 1 pipeline per thread";
         }
+        return "max. load " + loadImbalance.maximumLoad + " on " + loadImbalance.srcOwner.getName()
+                + ", min. load " + loadImbalance.minimumLoad + " on " + loadImbalance.dstOwner.getName();
     }
 
     private MigrationStrategy createMigrationStrategy() {
@@ -174,6 +205,9 @@ public class IOBalancer {
             logger.warning("Using Monkey IO Balancer Strategy. This is for stress tests only. Do not user in production! "
                     + "Disable by not setting the property '" + PROP_MONKEY_BALANCER + "' to true.");
             return new MonkeyMigrationStrategy();
+        } else if (Boolean.getBoolean(PROP_ADAPTIVE_BALANCER)) {
+            logger.finest("Using adaptive IO Balancer Strategy.");
+            return new AdaptiveMigrationStrategy();
         } else {
             logger.finest("Using normal IO Balancer Strategy.");
             return new LoadMigrationStrategy();
@@ -200,11 +234,13 @@ public class IOBalancer {
         return true;
     }
 
-    private void tryMigrate(LoadImbalance loadImbalance) {
+    private String tryMigrate(LoadImbalance loadImbalance, MigrationStrategy strategy) {
         MigratablePipeline pipeline = strategy.findPipelineToMigrate(loadImbalance);
         if (pipeline == null) {
             logger.finest("I/O imbalance is detected, but no suitable migration candidate is found.");
-            return;
+            // e.g. the busiest thread is busy with a single hot pipeline, more
+            // threads are needed to spread such load
+            return "imbalance, no migration candidate, " + describeLoad(loadImbalance);
         }
 
         NioThread dstOwner = loadImbalance.dstOwner;
@@ -214,6 +250,8 @@ public class IOBalancer {
                     + " from " + srcOwner + " to " + dstOwner);
         }
         pipeline.requestMigration(dstOwner);
+        return "imbalance, migrating " + pipeline + " with load " + loadImbalance.getLoad(pipeline)
+                + ", " + describeLoad(loadImbalance);
     }
 
     public void signalMigrationComplete() {
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nio;
+
+import java.util.Arrays;
+
+/**
+ * A pure Java compressor and decompressor for the LZ4 block format.
+ * <p>
+ * The compressor is the single-pass, hash table based variant (a 4-byte
+ * hash over a 64 KB window with accelerated skipping over incompressible
+ * input). It trades compression ratio for speed, so it can run on the IO
+ * threads. The output can be decompressed by any LZ4 block decompressor.
+ * <p>
+ * A codec instance owns the hash table of the compressor and is not thread
+ * safe. Decompression is stateless.
+ */
+public final class LZ4BlockCodec {
+
+    private static final int MIN_MATCH = 4;
+    private static final int LAST_LITERALS = 5;
+    private static final int MF_LIMIT = 12;
+    private static final int MIN_LENGTH = MF_LIMIT + 1;
+    private static final int MAX_DISTANCE = 65535;
+    private static final int ML_BITS = 4;
+    private static final int ML_MASK = (1 << ML_BITS) - 1;
+    private static final int RUN_MASK = (1 << ML_BITS) - 1;
+    private static final int HASH_LOG = 12;
+    private static final int HASH_MULTIPLIER = -1640531535;
+    private static final int SKIP_TRIGGER = 6;
+    private static final int BYTE_MASK = 0xFF;
+    private static final int LENGTH_CONTINUATION = 255;
+
+    private final int[] hashTable = new int[1 << HASH_LOG];
+
+    /**
+     * Returns the maximum number of bytes {@link #compress} may write for
+     * an input of the given length.
+     */
+    public static int maxCompressedLength(int length) {
+        return length + length / LENGTH_CONTINUATION + 16;
+    }
+
+    /**
+     * Compresses {@code srcLen} bytes of {@code src} into {@code dst}.
+     * The destination must have room for at least
+     * {@link #maxCompressedLength(int)} bytes.
+     *
+     * @return the number of bytes written to {@code dst}
+     */
+    @SuppressWarnings({"checkstyle:cyclomaticcomplexity", "checkstyle:npathcomplexity"})
+    public int compress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff) {
+        int srcEnd = srcOff + srcLen;
+        int dOff = dstOff;
+        int anchor = srcOff;
+
+        if (srcLen >= MIN_LENGTH) {
+            Arrays.fill(hashTable, -1);
+            int matchLimit = srcEnd - LAST_LITERALS;
+            int mfLimit = srcEnd - MF_LIMIT;
+            int sOff = srcOff;
+            int misses = 0;
+            while (sOff < mfLimit) {
+                int sequence = readInt(src, sOff);
+                int hash = hash(sequence);
+                int ref = hashTable[hash];
+                hashTable[hash] = sOff;
+                if (ref < 0 || sOff - ref > MAX_DISTANCE || readInt(src, ref) != sequence) {
+                    sOff += 1 + (misses++ >>> SKIP_TRIGGER);
+                    continue;
+                }
+                misses = 0;
+
+                while (sOff > anchor && ref > srcOff && src[sOff - 1] == src[ref - 1]) {
+                    sOff--;
+                    ref--;
+                }
+                int matchLen = MIN_MATCH;
+                while (sOff + matchLen < matchLimit && src[sOff + matchLen] == src[ref + matchLen]) {
+                    matchLen++;
+                }
+
+                dOff = writeSequence(src, anchor, sOff - anchor, sOff - ref, matchLen, dst, dOff);
+                sOff += matchLen;
+                anchor = sOff;
+            }
+        }
+
+        int literals = srcEnd - anchor;
+        int tokenOff = dOff++;
+        if (literals >= RUN_MASK) {
+            dst[tokenOff] = (byte) (RUN_MASK << ML_BITS);
+            dOff = writeLength(literals - RUN_MASK, dst, dOff);
+        } else {
+            dst[tokenOff] = (byte) (literals << ML_BITS);
+        }
+        System.arraycopy(src, anchor, dst, dOff, literals);
+        return dOff + literals - dstOff;
+    }
+
+    /**
+     * Decompresses {@code srcLen} bytes of {@code src} into exactly
+     * {@code dstLen} bytes of {@code dst}.
+     *
+     * @throws IllegalArgumentException if the input is not a valid LZ4 block
+     *                                  or does not decompress to {@code dstLen} bytes
+     */
+    @SuppressWarnings({"checkstyle:cyclomaticcomplexity", "checkstyle:npathcomplexity"})
+    public static void decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) {
+        int sOff = srcOff;
+        int srcEnd = srcOff + srcLen;
+        int dOff = dstOff;
+        int dstEnd = dstOff + dstLen;
+
+        for (; ; ) {
+            if (sOff >= srcEnd) {
+                throw malformed(sOff - srcOff);
+            }
+            int token = src[sOff++] & BYTE_MASK;
+
+            int literals = token >>> ML_BITS;
+            if (literals == RUN_MASK) {
+                int b;
+                do {
+                    if (sOff >= srcEnd) {
+                        throw malformed(sOff - srcOff);
+                    }
+                    b = src[sOff++] & BYTE_MASK;
+                    literals += b;
+                } while (b == LENGTH_CONTINUATION);
+            }
+            if (literals > srcEnd - sOff || literals > dstEnd - dOff) {
+                throw malformed(sOff - srcOff);
+            }
+            System.arraycopy(src, sOff, dst, dOff, literals);
+            sOff += literals;
+            dOff += literals;
+
+            if (sOff == srcEnd) {
+                // the last sequence has no match
+                break;
+            }
+
+            if (srcEnd - sOff < 2) {
+                throw malformed(sOff - srcOff);
+            }
+            int offset = (src[sOff] & BYTE_MASK) | (src[sOff + 1] & BYTE_MASK) << Byte.SIZE;
+            sOff += 2;
+            if (offset == 0 || offset > dOff - dstOff) {
+                throw malformed(sOff - srcOff);
+            }
+
+            int matchLen = token & ML_MASK;
+            if (matchLen == ML_MASK) {
+                int b;
+                do {
+                    if (sOff >= srcEnd) {
+                        throw malformed(sOff - srcOff);
+                    }
+                    b = src[sOff++] & BYTE_MASK;
+                    matchLen += b;
+                } while (b == LENGTH_CONTINUATION);
+            }
+            matchLen += MIN_MATCH;
+            if (matchLen > dstEnd - dOff) {
+                throw malformed(sOff - srcOff);
+            }
+
+            int ref = dOff - offset;
+            if (offset >= matchLen) {
+                System.arraycopy(dst, ref, dst, dOff, matchLen);
+            } else {
+                // overlapping match, the copy repeats the last offset bytes
+                for (int i = 0; i < matchLen; i++) {
+                    dst[dOff + i] = dst[ref + i];
+                }
+            }
+            dOff += matchLen;
+        }
+
+        if (dOff != dstEnd) {
+            throw new IllegalArgumentException("LZ4 block decompressed to " + (dOff - dstOff)
+                    + " bytes, expected " + dstLen);
+        }
+    }
+
+    private static int writeSequence(byte[] src, int literalOff, int literals, int offset, int matchLen,
+                                     byte[] dst, int dOff) {
+        int tokenOff = dOff++;
+        int token;
+        if (literals >= RUN_MASK) {
+            token = RUN_MASK << ML_BITS;
+            dOff = writeLength(literals - RUN_MASK, dst, dOff);
+        } else {
+            token = literals << ML_BITS;
+        }
+        System.arraycopy(src, literalOff, dst, dOff, literals);
+        dOff += literals;
+
+        dst[dOff++] = (byte) offset;
+        dst[dOff++] = (byte) (offset >>> Byte.SIZE);
+
+        int matchLenCode = matchLen - MIN_MATCH;
+        if (matchLenCode >= ML_MASK) {
+            token |= ML_MASK;
+            dOff = writeLength(matchLenCode - ML_MASK, dst, dOff);
+        } else {
+            token |= matchLenCode;
+        }
+        dst[tokenOff] = (byte) token;
+        return dOff;
+    }
+
+    private static int writeLength(int length, byte[] dst, int dOff) {
+        while (length >= LENGTH_CONTINUATION) {
+            dst[dOff++] = (byte) LENGTH_CONTINUATION;
+            length -= LENGTH_CONTINUATION;
+        }
+        dst[dOff++] = (byte) length;
+        return dOff;
+    }
+
+    @SuppressWarnings("checkstyle:magicnumber")
+    private static int readInt(byte[] bytes, int offset) {
+        return (bytes[offset] & BYTE_MASK)
+                | (bytes[offset + 1] & BYTE_MASK) << 8
+                | (bytes[offset + 2] & BYTE_MASK) << 16
+                | (bytes[offset + 3] & BYTE_MASK) << 24;
+    }
+
+    private static int hash(int sequence) {
+        return (sequence * HASH_MULTIPLIER) >>> (Integer.SIZE - HASH_LOG);
+    }
+
+    private static IllegalArgumentException malformed(int position) {
+        return new IllegalArgumentException("Malformed LZ4 block at input offset " + position);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.server.tcp;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.nio.LZ4BlockCodec;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.util.counters.Counter;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.spi.properties.HazelcastProperty;
+
+import java.nio.ByteBuffer;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_BYTES_SAVED;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_COMPRESSED_BYTES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_COMPRESSED_FRAMES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_COMPRESS_TIME;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_DECOMPRESSED_FRAMES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_DECOMPRESS_TIME;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_UNCOMPRESSED_BYTES;
+import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
+import static com.hazelcast.internal.nio.Packet.FLAG_4_0;
+import static com.hazelcast.internal.nio.Packet.FLAG_COMPRESSED;
+import static com.hazelcast.internal.nio.PacketIOHelper.HEADER_SIZE;
+import static com.hazelcast.internal.serialization.impl.HeapData.HEAP_DATA_OVERHEAD;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
+/**
+ * Settings and statistics of the optional compression of member-to-member
+ * connections.
+ * <p>
+ * Compression is negotiated per connection: a member advertises it in its
+ * {@link com.hazelcast.internal.cluster.impl.MemberHandshake} when
+ * {@link #ENABLED} is set, and compresses the packets written to a
+ * connection only after the remote member advertised it too. Until then,
+ * and towards older members, the packets are written as before.
+ * <p>
+ * When compression is active, the {@link PacketEncoder} encodes the pending
+ * packets into a batch of up to {@link #BATCH_SIZE} bytes. A batch of at
+ * least {@link #THRESHOLD} bytes is written as a single LZ4 compressed
+ * packet flagged with {@link Packet#FLAG_COMPRESSED}; smaller batches, and
+ * batches that don't compress, are written as plain packets. The
+ * {@link PacketDecoder} always understands both.
+ */
+public final class PacketCompression {
+
+    /**
+     * Enables the negotiation of compression for member connections.
+     */
+    public static final HazelcastProperty ENABLED
+            = new HazelcastProperty("hazelcast.network.compression.enabled", false);
+
+    /**
+     * The minimum size of a batch of encoded packets that gets compressed.
+     */
+    public static final HazelcastProperty THRESHOLD
+            = new HazelcastProperty("hazelcast.network.compression.threshold.bytes", 1024);
+
+    /**
+     * The size the encoder batches packets up to before compressing. A
+     * single larger packet is compressed on its own. Matches the LZ4 window.
+     */
+    static final int BATCH_SIZE = 1 << 16;
+
+    private static final int MIN_THRESHOLD = 64;
+
+    @Probe(name = TCP_METRIC_COMPRESSION_COMPRESSED_FRAMES, level = INFO)
+    private final Counter compressedFrames = newMwCounter();
+    @Probe(name = TCP_METRIC_COMPRESSION_UNCOMPRESSED_BYTES, unit = BYTES, level = INFO)
+    private final Counter uncompressedBytes = newMwCounter();
+    @Probe(name = TCP_METRIC_COMPRESSION_COMPRESSED_BYTES, unit = BYTES, level = INFO)
+    private final Counter compressedBytes = newMwCounter();
+    @Probe(name = TCP_METRIC_COMPRESSION_COMPRESS_TIME, unit = NS, level = INFO)
+    private final Counter compressTimeNanos = newMwCounter();
+    @Probe(name = TCP_METRIC_COMPRESSION_DECOMPRESSED_FRAMES, level = INFO)
+    private final Counter decompressedFrames = newMwCounter();
+    @Probe(name = TCP_METRIC_COMPRESSION_DECOMPRESS_TIME, unit = NS, level = INFO)
+    private final Counter decompressTimeNanos = newMwCounter();
+
+    private final boolean enabled;
+    private final int threshold;
+
+    public PacketCompression(HazelcastProperties properties) {
+        this.enabled = properties.getBoolean(ENABLED);
+        this.threshold = Math.max(MIN_THRESHOLD, properties.getInteger(THRESHOLD));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    int threshold() {
+        return threshold;
+    }
+
+    /**
+     * Returns the number of bytes this member didn't have to send thanks to
+     * compression.
+     */
+    @Probe(name = TCP_METRIC_COMPRESSION_BYTES_SAVED, unit = BYTES, level = INFO)
+    public long bytesSaved() {
+        return uncompressedBytes.get() - compressedBytes.get();
+    }
+
+    /**
+     * Allocates a buffer large enough for a compressed frame of a batch of
+     * the given size.
+     */
+    static ByteBuffer allocateFrame(int batchSize) {
+        return ByteBuffer.allocate(HEADER_SIZE + LZ4BlockCodec.maxCompressedLength(batchSize));
+    }
+
+    /**
+     * Compresses the encoded packets in {@code batch[0, length)} into
+     * {@code frame} as a single compressed packet. The frame must have been
+     * created by {@link #allocateFrame(int)} for at least {@code length}.
+     *
+     * @return {@code true} if the frame got written, {@code false} if the
+     * batch doesn't compress and should be written as is
+     */
+    boolean compress(LZ4BlockCodec codec, byte[] batch, int length, ByteBuffer frame) {
+        long startNanos = System.nanoTime();
+        byte[] frameBytes = frame.array();
+        int compressedLength = codec.compress(batch, 0, length, frameBytes, HEADER_SIZE);
+        compressTimeNanos.inc(System.nanoTime() - startNanos);
+        if (compressedLength >= length - HEADER_SIZE || compressedLength < HEAP_DATA_OVERHEAD) {
+            return false;
+        }
+
+        frame.clear();
+        frame.put(Packet.VERSION);
+        frame.putChar((char) (FLAG_COMPRESSED | FLAG_4_0));
+        frame.putInt(length);
+        frame.putInt(compressedLength);
+        frame.position(HEADER_SIZE + compressedLength);
+
+        compressedFrames.inc();
+        uncompressedBytes.inc(length);
+        compressedBytes.inc(HEADER_SIZE + compressedLength);
+        return true;
+    }
+
+    /**
+     * Decompresses the payload of a packet flagged with
+     * {@link Packet#FLAG_COMPRESSED} into the encoded packets it contains.
+     */
+    ByteBuffer decompress(Packet packet) {
+        int length = packet.getPartitionId();
+        if (length < 0) {
+            throw new IllegalArgumentException("Invalid uncompressed length of compressed packet: " + length);
+        }
+        long startNanos = System.nanoTime();
+        byte[] compressed = packet.toByteArray();
+        byte[] batch = new byte[length];
+        LZ4BlockCodec.decompress(compressed, 0, compressed.length, batch, 0, length);
+        decompressTimeNanos.inc(System.nanoTime() - startNanos);
+        decompressedFrames.inc();
+        return ByteBuffer.wrap(batch);
+    }
+}
@@ -28,6 +28,7 @@ import java.util.function.Consumer;
 
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
+import static com.hazelcast.internal.nio.Packet.FLAG_COMPRESSED;
 import static com.hazelcast.internal.nio.Packet.FLAG_URGENT;
 
 /**
@@ -43,10 +44,17 @@ public class PacketDecoder extends InboundHandlerWithCounters<ByteBuffer, Consum
 
     protected final ServerConnection connection;
     private final PacketIOHelper packetReader = new PacketIOHelper();
+    private final PacketIOHelper batchReader = new PacketIOHelper();
+    private final PacketCompression compression;
 
     public PacketDecoder(ServerConnection connection, Consumer<Packet> dst) {
+        this(connection, dst, null);
+    }
+
+    public PacketDecoder(ServerConnection connection, Consumer<Packet> dst, PacketCompression compression) {
         this.connection = connection;
         this.dst = dst;
+        this.compression = compression;
     }
 
     @Override
@@ -73,6 +81,11 @@ public class PacketDecoder extends InboundHandlerWithCounters<ByteBuffer, Consum
     }
 
     protected void onPacketComplete(Packet packet) {
+        if (packet.isFlagRaised(FLAG_COMPRESSED)) {
+            onCompressedPacket(packet);
+            return;
+        }
+
         if (packet.isFlagRaised(FLAG_URGENT)) {
             priorityPacketsRead.inc();
         } else {
@@ -83,4 +96,19 @@ public class PacketDecoder extends InboundHandlerWithCounters<ByteBuffer, Consum
 
         dst.accept(packet);
     }
+
+    private void onCompressedPacket(Packet packet) {
+        if (compression == null) {
+            throw new IllegalStateException("Received a compressed packet, but compression is not supported on "
+                    + connection);
+        }
+        ByteBuffer batch = compression.decompress(packet);
+        while (batch.hasRemaining()) {
+            Packet next = batchReader.readFrom(batch);
+            if (next == null || next.isFlagRaised(FLAG_COMPRESSED)) {
+                throw new IllegalArgumentException("Malformed compressed packet batch received from " + connection);
+            }
+            onPacketComplete(next);
+        }
+    }
 }
@@ -18,8 +18,10 @@ package com.hazelcast.internal.server.tcp;
 
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.nio.LZ4BlockCodec;
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.nio.PacketIOHelper;
+import com.hazelcast.internal.server.ServerConnection;
 
 import java.nio.ByteBuffer;
 import java.util.function.Supplier;
@@ -27,6 +29,8 @@ import java.util.function.Supplier;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
+import static com.hazelcast.internal.nio.PacketIOHelper.HEADER_SIZE;
+import static com.hazelcast.internal.server.tcp.PacketCompression.BATCH_SIZE;
 
 /**
  * A {@link OutboundHandler} that for member to member communication.
@@ -36,15 +40,38 @@ import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
  * It makes use of a flyweight to allow the sharing of a packet-instance over
  * multiple connections. The flyweight contains the actual 'position' state of
  * what has been written.
+ * <p>
+ * Once compression is negotiated on the connection, the packets are batched
+ * and compressed, see {@link PacketCompression}.
  *
  * @see PacketDecoder
  */
 public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer> {
 
+    private static final int FRAME_SIZE = HEADER_SIZE + LZ4BlockCodec.maxCompressedLength(BATCH_SIZE);
+
     private final PacketIOHelper packetWriter = new PacketIOHelper();
+    private final TcpServerConnection connection;
+    private final PacketCompression compression;
 
     private Packet packet;
 
+    // compression state, created once compression got negotiated
+    private LZ4BlockCodec codec;
+    private ByteBuffer batch;
+    private ByteBuffer frame;
+    // the buffer (batch or frame) that is being written to dst; null if none
+    private ByteBuffer pending;
+
+    public PacketEncoder() {
+        this(null, null);
+    }
+
+    public PacketEncoder(ServerConnection connection, PacketCompression compression) {
+        this.connection = connection instanceof TcpServerConnection tcpConnection ? tcpConnection : null;
+        this.compression = compression;
+    }
+
     @Override
     public void handlerAdded() {
         initDstBuffer();
@@ -56,6 +83,10 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
         try {
             for (; ; ) {
                 if (packet == null) {
+                    if (isCompressing()) {
+                        return writeBatches();
+                    }
+
                     packet = src.get();
 
                     if (packet == null) {
@@ -76,4 +107,85 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
             dst.flip();
         }
     }
+
+    private boolean isCompressing() {
+        return compression != null && connection != null && connection.isCompressionNegotiated();
+    }
+
+    private HandlerStatus writeBatches() {
+        if (codec == null) {
+            codec = new LZ4BlockCodec();
+            batch = ByteBuffer.allocate(BATCH_SIZE);
+            frame = PacketCompression.allocateFrame(BATCH_SIZE);
+        }
+
+        for (; ; ) {
+            if (pending != null) {
+                if (!drainPending()) {
+                    return DIRTY;
+                }
+            }
+
+            if (!fillBatch()) {
+                return CLEAN;
+            }
+
+            int length = batch.position();
+            if (length >= compression.threshold()) {
+                if (frame.capacity() < HEADER_SIZE + LZ4BlockCodec.maxCompressedLength(length)) {
+                    frame = PacketCompression.allocateFrame(length);
+                }
+                if (compression.compress(codec, batch.array(), length, frame)) {
+                    batch.clear();
+                    frame.flip();
+                    pending = frame;
+                    continue;
+                }
+            }
+            batch.flip();
+            pending = batch;
+        }
+    }
+
+    // Encodes the queued packets into the batch until it is full. A packet
+    // larger than the batch grows it, so a batch always ends at a packet
+    // boundary. Returns false if there was nothing to encode.
+    private boolean fillBatch() {
+        while (batch.position() < BATCH_SIZE) {
+            Packet next = src.get();
+            if (next == null) {
+                break;
+            }
+
+            int packetSize = HEADER_SIZE + next.totalSize();
+            if (batch.remaining() < packetSize) {
+                ByteBuffer grown = ByteBuffer.allocate(batch.position() + packetSize);
+                batch.flip();
+                grown.put(batch);
+                batch = grown;
+            }
+            packetWriter.writeTo(next, batch);
+        }
+        return batch.position() > 0;
+    }
+
+    private boolean drainPending() {
+        int count = Math.min(pending.remaining(), dst.remaining());
+        dst.put(pending.array(), pending.position(), count);
+        pending.position(pending.position() + count);
+        if (pending.hasRemaining()) {
+            return false;
+        }
+
+        pending.clear();
+        pending = null;
+        // don't hold on to the memory of an oversized packet
+        if (batch.capacity() > BATCH_SIZE) {
+            batch = ByteBuffer.allocate(BATCH_SIZE);
+        }
+        if (frame.capacity() > FRAME_SIZE) {
+            frame = PacketCompression.allocateFrame(BATCH_SIZE);
+        }
+        return true;
+    }
 }
@@ -97,6 +97,7 @@ public class TcpServerConnection implements ServerConnection {
 
     private volatile String closeReason;
     private volatile int planeIndex = -1;
+    private volatile boolean compressionNegotiated;
 
     public TcpServerConnection(TcpServerConnectionManager connectionManager,
                                ConnectionLifecycleListener<TcpServerConnection> lifecycleListener,
@@ -140,6 +141,18 @@ public class TcpServerConnection implements ServerConnection {
         this.planeIndex = planeIndex;
     }
 
+    /**
+     * Returns {@code true} if both sides of this connection support packet
+     * compression, see {@link PacketCompression}.
+     */
+    public boolean isCompressionNegotiated() {
+        return compressionNegotiated;
+    }
+
+    public void setCompressionNegotiated() {
+        this.compressionNegotiated = true;
+    }
+
     @Override
     public String getConnectionType() {
         return connectionType;
@@ -46,6 +46,7 @@ public final class TcpServerControl {
     private final ServerContext serverContext;
     private final ILogger logger;
     private final boolean unifiedEndpointManager;
+    private final boolean compressionEnabled;
     private final Set<ProtocolType> supportedProtocolTypes;
     private final int expectedPlaneCount;
 
@@ -59,6 +60,7 @@ public final class TcpServerControl {
         this.supportedProtocolTypes = supportedProtocolTypes;
         this.unifiedEndpointManager = connectionManager.getEndpointQualifier() == null;
         this.expectedPlaneCount = serverContext.properties().getInteger(CHANNEL_COUNT);
+        this.compressionEnabled = serverContext.properties().getBoolean(PacketCompression.ENABLED);
     }
 
     public void process(Packet packet) {
@@ -89,6 +91,10 @@ public final class TcpServerControl {
         // before we register the connection on the plane, we make sure the plane index is set on the connection
         // so that we can safely remove the connection from the plane.
         connection.setPlaneIndex(handshake.getPlaneIndex());
+        if (compressionEnabled && handshake.isCompressionSupported()) {
+            // the remote member decodes compressed packets from now on
+            connection.setCompressionNegotiated();
+        }
         process(connection, handshake);
     }
 
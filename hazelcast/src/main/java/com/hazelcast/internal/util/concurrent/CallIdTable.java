@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.concurrent;
+
+import com.hazelcast.spi.impl.sequence.CallIdSequence;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * Concurrent table of the pending calls indexed by their call ID.
+ * <p>
+ * The call IDs handed out by a {@link CallIdSequence} are increasing and
+ * at most {@link CallIdSequence#getMaxConcurrentInvocations()} of them are
+ * in use at the same time (apart from the forced ones), so a call ID modulo
+ * the number of slots addresses a slot that is almost always free. Unlike a
+ * {@code ConcurrentHashMap<Long, V>}, putting and removing a call neither
+ * boxes the call ID nor allocates a node.
+ * <p>
+ * When the slot of a call is still taken by an older call, e.g. a
+ * long-running blocking operation, the call is stored in an overflow
+ * {@link ConcurrentHashMap}. Lookups only consult the overflow map when it
+ * isn't empty.
+ * <p>
+ * Consecutive call IDs are mapped to slots in different cache lines, so the
+ * threads registering calls at the same time don't false-share.
+ * <p>
+ * A call ID can be put once, before it is removed it can't be put again.
+ * Iteration is weakly consistent. The call ID 0 isn't allowed since it
+ * marks a free slot.
+ *
+ * @param <V> the type of the calls
+ */
+public final class CallIdTable<V> implements Iterable<V> {
+
+    static final int MIN_SLOT_COUNT = 64;
+    static final int MAX_SLOT_COUNT = 1 << 16;
+    // used when the number of concurrent calls is not limited
+    static final int DEFAULT_SLOT_COUNT = 1 << 13;
+
+    // consecutive call IDs are 2^STRIPE_SHIFT slots apart
+    private static final int STRIPE_SHIFT = 4;
+    private static final long FREE = 0;
+
+    // a slot is owned by the call ID in the keys array, the value is set after the key is claimed
+    private final AtomicLongArray keys;
+    private final AtomicReferenceArray<V> values;
+    private final ConcurrentMap<Long, V> overflow = new ConcurrentHashMap<>();
+    private final LongAdder size = new LongAdder();
+    private final int mask;
+    private final int stripeShift;
+
+    /**
+     * @param maxConcurrentCalls the maximum number of concurrent calls, see
+     *                           {@link CallIdSequence#getMaxConcurrentInvocations()}
+     */
+    public CallIdTable(int maxConcurrentCalls) {
+        checkPositive("maxConcurrentCalls", maxConcurrentCalls);
+
+        int slotCount = maxConcurrentCalls == Integer.MAX_VALUE
+                ? DEFAULT_SLOT_COUNT
+                : nextPowerOfTwo(Math.max(MIN_SLOT_COUNT, Math.min(MAX_SLOT_COUNT, maxConcurrentCalls)));
+        this.keys = new AtomicLongArray(slotCount);
+        this.values = new AtomicReferenceArray<>(slotCount);
+        this.mask = slotCount - 1;
+        this.stripeShift = Integer.numberOfTrailingZeros(slotCount) - STRIPE_SHIFT;
+    }
+
+    int slotCount() {
+        return mask + 1;
+    }
+
+    // rotates the slot bits of the call ID, so consecutive call IDs end up in different cache lines
+    int slot(long callId) {
+        int index = (int) callId & mask;
+        return ((index << STRIPE_SHIFT) & mask) | (index >>> stripeShift);
+    }
+
+    /**
+     * Puts the call with the given call ID.
+     *
+     * @param callId the call ID
+     * @param value  the call
+     * @throws IllegalArgumentException if the call ID is 0
+     */
+    public void put(long callId, V value) {
+        if (callId == FREE) {
+            throw new IllegalArgumentException("Call ID can't be 0");
+        }
+
+        int slot = slot(callId);
+        if (keys.compareAndSet(slot, FREE, callId)) {
+            values.set(slot, value);
+        } else {
+            overflow.put(callId, value);
+        }
+        size.increment();
+    }
+
+    /**
+     * Gets the call with the given call ID.
+     *
+     * @param callId the call ID
+     * @return the call, or {@code null} if there is no call with the given call ID
+     */
+    public V get(long callId) {
+        int slot = slot(callId);
+        if (keys.get(slot) == callId) {
+            V value = values.get(slot);
+            // the slot could have been released and taken by another call in the meantime
+            if (value != null && keys.get(slot) == callId) {
+                return value;
+            }
+        }
+        return overflow.isEmpty() ? null : overflow.get(callId);
+    }
+
+    /**
+     * Removes the call with the given call ID.
+     *
+     * @param callId the call ID
+     * @return {@code true} if the call was removed, {@code false} if there was
+     * no call with the given call ID
+     */
+    public boolean remove(long callId) {
+        int slot = slot(callId);
+        // marks the slot as being released, so concurrent removals of the same call
+        // can't release the slot after it has been taken by another call
+        if (callId != FREE && keys.compareAndSet(slot, callId, -callId)) {
+            values.set(slot, null);
+            keys.set(slot, FREE);
+            size.decrement();
+            return true;
+        }
+
+        if (!overflow.isEmpty() && overflow.remove(callId) != null) {
+            size.decrement();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of calls, it's exact only when there are no
+     * concurrent updates.
+     */
+    public int size() {
+        return (int) Math.max(0, size.sum());
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        return new Itr();
+    }
+
+    private final class Itr implements Iterator<V> {
+        private final Iterator<V> overflowIterator = overflow.values().iterator();
+        private int slot = -1;
+        private V next;
+
+        Itr() {
+            advance();
+        }
+
+        private void advance() {
+            while (++slot <= mask) {
+                V value = values.get(slot);
+                if (value != null) {
+                    next = value;
+                    return;
+                }
+            }
+            next = overflowIterator.hasNext() ? overflowIterator.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public V next() {
+            V value = next;
+            if (value == null) {
+                throw new NoSuchElementException();
+            }
+            advance();
+            return value;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Unbounded many producers to single consumer concurrent queue backed by a
+ * linked list.
+ * <p>
+ * An offer swaps the tail with a single atomic exchange, which unlike the
+ * compare-and-set loop of {@link java.util.concurrent.ConcurrentLinkedQueue}
+ * never fails under contention, and the consumer polls without any atomic
+ * read-modify-write operation. An element whose producer has swapped the
+ * tail but not yet linked the node is not visible to {@link #poll()} yet,
+ * but the queue is not {@link #isEmpty() empty} either.
+ * <p>
+ * {@link #poll()} and {@link #peek()} must be called by a single consumer at
+ * a time. {@link #size()}, {@link #isEmpty()} and iteration can be called
+ * from any thread; the iterator is weakly consistent. {@link #clear()} can
+ * be called from any thread too, but elements polled concurrently by the
+ * consumer can survive it.
+ *
+ * @param <E> type of the elements stored in the queue.
+ */
+public class ManyToOneConcurrentLinkedQueue<E> extends AbstractQueue<E> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ManyToOneConcurrentLinkedQueue, Node> TAIL =
+            AtomicReferenceFieldUpdater.newUpdater(ManyToOneConcurrentLinkedQueue.class, Node.class, "tail");
+
+    // the last consumed node, its next node holds the head element
+    private volatile Node<E> head;
+    private volatile Node<E> tail;
+
+    public ManyToOneConcurrentLinkedQueue() {
+        Node<E> stub = new Node<>(null);
+        head = stub;
+        tail = stub;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException("Attempt to offer a null element");
+        }
+        Node<E> node = new Node<>(e);
+        Node<E> prev = TAIL.getAndSet(this, node);
+        prev.next = node;
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        Node<E> next = head.next;
+        if (next == null) {
+            return null;
+        }
+        E item = next.value;
+        next.value = null;
+        head = next;
+        return item;
+    }
+
+    @Override
+    public E peek() {
+        Node<E> next = head.next;
+        return next == null ? null : next.value;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return head == tail;
+    }
+
+    /**
+     * Counts the elements by traversing the queue, the same as
+     * {@link java.util.concurrent.ConcurrentLinkedQueue#size()} does.
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (Node<E> node = head.next; node != null && size < Integer.MAX_VALUE; node = node.next) {
+            if (node.value != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Node<E> last = tail;
+        last.value = null;
+        head = last;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr<>(head.next);
+    }
+
+    private static final class Node<E> {
+        volatile E value;
+        volatile Node<E> next;
+
+        Node(E value) {
+            this.value = value;
+        }
+    }
+
+    private static final class Itr<E> implements Iterator<E> {
+        private Node<E> node;
+        private E nextValue;
+
+        Itr(Node<E> first) {
+            advance(first);
+        }
+
+        private void advance(Node<E> from) {
+            Node<E> current = from;
+            while (current != null) {
+                E value = current.value;
+                if (value != null) {
+                    node = current;
+                    nextValue = value;
+                    return;
+                }
+                current = current.next;
+            }
+            node = null;
+            nextValue = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextValue != null;
+        }
+
+        @Override
+        public E next() {
+            E value = nextValue;
+            if (value == null) {
+                throw new NoSuchElementException();
+            }
+            advance(node.next);
+            return value;
+        }
+    }
+}
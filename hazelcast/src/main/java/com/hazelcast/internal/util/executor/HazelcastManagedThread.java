@@ -95,15 +95,7 @@ public class HazelcastManagedThread extends Thread {
     @Override
     public final void run() {
         if (allowedCpus != null) {
-            ThreadAffinityHelper.setAffinity(allowedCpus);
-            BitSet actualCpus = ThreadAffinityHelper.getAffinity();
-            ILogger logger = Logger.getLogger(HazelcastManagedThread.class);
-            if (!actualCpus.equals(allowedCpus)) {
-                logger.warning(getName() + " affinity was not applied successfully. "
-                        + "Expected CPUs:" + allowedCpus + ". Actual CPUs:" + actualCpus);
-            } else {
-                logger.info(getName() + " has affinity for CPUs:" + allowedCpus);
-            }
+            applyAffinity(allowedCpus);
         }
 
         try {
@@ -115,5 +107,23 @@ public class HazelcastManagedThread extends Thread {
             afterRun();
         }
     }
-}
 
+    /**
+     * Restricts the current thread to the given CPUs, for threads that can't
+     * extend this class but are configured with a {@link ThreadAffinity}.
+     *
+     * @param allowedCpus the CPUs the current thread is allowed to run on.
+     */
+    public static void applyAffinity(BitSet allowedCpus) {
+        Thread thread = Thread.currentThread();
+        ThreadAffinityHelper.setAffinity(allowedCpus);
+        BitSet actualCpus = ThreadAffinityHelper.getAffinity();
+        ILogger logger = Logger.getLogger(HazelcastManagedThread.class);
+        if (!actualCpus.equals(allowedCpus)) {
+            logger.warning(thread.getName() + " affinity was not applied successfully. "
+                    + "Expected CPUs:" + allowedCpus + ". Actual CPUs:" + actualCpus);
+        } else {
+            logger.info(thread.getName() + " has affinity for CPUs:" + allowedCpus);
+        }
+    }
+}
@@ -20,11 +20,13 @@ import com.hazelcast.internal.metrics.MetricDescriptor;
 import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.util.RuntimeAvailableProcessors;
+import com.hazelcast.internal.util.ThreadAffinity;
 import com.hazelcast.internal.util.concurrent.BackoffIdleStrategy;
 import com.hazelcast.internal.util.concurrent.IdleStrategy;
 import com.hazelcast.internal.util.counters.Counter;
 import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.internal.util.counters.SwCounter;
+import com.hazelcast.internal.util.executor.HazelcastManagedThread;
 import com.hazelcast.jet.JetException;
 import com.hazelcast.jet.core.metrics.MetricTags;
 import com.hazelcast.jet.impl.execution.init.Contexts;
@@ -42,6 +44,7 @@ import com.hazelcast.sql.impl.ResultLimitReachedException;
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CancellationException;
@@ -63,6 +66,7 @@ import static com.hazelcast.internal.util.executor.ExecutorType.CACHED;
 import static com.hazelcast.jet.impl.util.ExceptionUtil.peel;
 import static com.hazelcast.internal.util.ExceptionUtil.sneakyThrow;
 import static com.hazelcast.internal.util.ExceptionUtil.withTryCatch;
+import static com.hazelcast.internal.util.ThreadAffinity.newSystemThreadAffinity;
 import static com.hazelcast.jet.impl.util.Util.doWithClassLoader;
 import static com.hazelcast.jet.impl.util.Util.uncheckRun;
 import static com.hazelcast.spi.properties.ClusterProperty.JET_IDLE_COOPERATIVE_MAX_MICROSECONDS;
@@ -79,6 +83,7 @@ import static java.util.stream.Collectors.toList;
 public class TaskletExecutionService {
 
     public static final String TASKLET_INIT_CLOSE_EXECUTOR_NAME = "jet:tasklet_initClose";
+    public static final String COOPERATIVE_THREAD_AFFINITY = "hazelcast.jet.cooperative.thread.affinity";
 
     private final ExecutorService blockingTaskletExecutor = newCachedThreadPool(new BlockingTaskThreadFactory());
     private final ExecutionService hzExecutionService;
@@ -110,9 +115,13 @@ public class TaskletExecutionService {
             properties, JET_IDLE_NONCOOPERATIVE_MIN_MICROSECONDS, JET_IDLE_NONCOOPERATIVE_MAX_MICROSECONDS
         );
 
+        // the cooperative threads are round-robin assigned to the CPUs of the affinity, the
+        // cooperative thread count is not derived from it since it's a part of the Jet config
+        ThreadAffinity threadAffinity = newSystemThreadAffinity(COOPERATIVE_THREAD_AFFINITY);
         Arrays.setAll(cooperativeWorkers, i -> new CooperativeWorker());
         Arrays.setAll(cooperativeThreadPool, i -> new CooperativeWorkerThread(cooperativeWorkers[i],
-                String.format("hz.%s.jet.cooperative.thread-%d", hzInstanceName, i)));
+                String.format("hz.%s.jet.cooperative.thread-%d", hzInstanceName, i),
+                threadAffinity.nextAllowedCpus()));
         Arrays.stream(cooperativeThreadPool).forEach(Thread::start);
 
         // register metrics
@@ -509,8 +518,19 @@ public class TaskletExecutionService {
     }
 
     private static final class CooperativeWorkerThread extends Thread implements CooperativeThread {
-        CooperativeWorkerThread(Runnable target, String name) {
+        private final BitSet allowedCpus;
+
+        CooperativeWorkerThread(Runnable target, String name, BitSet allowedCpus) {
             super(target, name);
+            this.allowedCpus = allowedCpus;
+        }
+
+        @Override
+        public void run() {
+            if (allowedCpus != null) {
+                HazelcastManagedThread.applyAffinity(allowedCpus);
+            }
+            super.run();
         }
     }
 }
@@ -32,10 +32,10 @@ import static com.hazelcast.function.Functions.entryKey;
 import static com.hazelcast.jet.core.Edge.between;
 import static com.hazelcast.jet.core.Partitioner.HASH_CODE;
 import static com.hazelcast.jet.core.Vertex.LOCAL_PARALLELISM_USE_DEFAULT;
-import static com.hazelcast.jet.core.processor.Processors.accumulateByKeyP;
-import static com.hazelcast.jet.core.processor.Processors.aggregateByKeyP;
-import static com.hazelcast.jet.core.processor.Processors.combineByKeyP;
 import static com.hazelcast.jet.impl.pipeline.transform.AggregateTransform.FIRST_STAGE_VERTEX_NAME_SUFFIX;
+import static com.hazelcast.jet.impl.processor.GroupP.accumulateByKeySpillingP;
+import static com.hazelcast.jet.impl.processor.GroupP.aggregateByKeySpillingP;
+import static com.hazelcast.jet.impl.processor.GroupP.combineByKeySpillingP;
 
 public class GroupTransform<K, A, R, OUT> extends AbstractTransform {
 
@@ -92,7 +92,7 @@ public class GroupTransform<K, A, R, OUT> extends AbstractTransform {
     //                         -----------------
     private void addToDagSingleStage(Planner p) {
         PlannerVertex pv = p.addVertex(this, name(), determinedLocalParallelism(),
-                aggregateByKeyP(groupKeyFns, aggrOp, mapToOutputFn));
+                aggregateByKeySpillingP(groupKeyFns, aggrOp, mapToOutputFn));
         p.addEdges(this, pv.v, (e, ord) -> e.distributed().partitioned(groupKeyFns.get(ord)));
     }
 
@@ -115,10 +115,11 @@ public class GroupTransform<K, A, R, OUT> extends AbstractTransform {
     //                         ---------------
     private void addToDagTwoStage(Planner p) {
         List<FunctionEx<?, ? extends K>> groupKeyFns = this.groupKeyFns;
-        Vertex v1 = p.dag.newVertex(name() + FIRST_STAGE_VERTEX_NAME_SUFFIX, accumulateByKeyP(groupKeyFns, aggrOp))
+        Vertex v1 = p.dag.newVertex(name() + FIRST_STAGE_VERTEX_NAME_SUFFIX,
+                        accumulateByKeySpillingP(groupKeyFns, aggrOp))
                 .localParallelism(determinedLocalParallelism());
         PlannerVertex pv2 = p.addVertex(this, name(), determinedLocalParallelism(),
-                combineByKeyP(aggrOp, mapToOutputFn));
+                combineByKeySpillingP(aggrOp, mapToOutputFn));
         p.addEdges(this, v1, (e, ord) -> e.partitioned(groupKeyFns.get(ord), HASH_CODE));
         p.dag.edge(between(v1, pv2.v).distributed().partitioned(entryKey()));
     }
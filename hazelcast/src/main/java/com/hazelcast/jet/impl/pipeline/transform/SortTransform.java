@@ -34,7 +34,7 @@ import static com.hazelcast.function.FunctionEx.identity;
 import static com.hazelcast.jet.core.Edge.between;
 import static com.hazelcast.jet.core.Vertex.LOCAL_PARALLELISM_USE_DEFAULT;
 import static com.hazelcast.jet.core.processor.Processors.mapP;
-import static com.hazelcast.jet.core.processor.Processors.sortP;
+import static com.hazelcast.jet.impl.processor.SortP.sortP;
 
 
 public class SortTransform<T> extends AbstractTransform {
@@ -59,7 +59,7 @@ public class SortTransform<T> extends AbstractTransform {
     public void addToDag(Planner p, Context context) {
         String vertexName = name();
         determineLocalParallelism(LOCAL_PARALLELISM_USE_DEFAULT, context, p.isPreserveOrder());
-        Vertex v1 = p.dag.newVertex(vertexName, sortP(comparator))
+        Vertex v1 = p.dag.newVertex(vertexName, sortP(comparator, Long.MAX_VALUE))
                          .localParallelism(determinedLocalParallelism());
         if (p.isPreserveOrder()) {
             p.addEdges(this, v1, Edge::isolated);
@@ -16,15 +16,28 @@
 
 package com.hazelcast.jet.impl.processor;
 
+import com.hazelcast.function.BiFunctionEx;
 import com.hazelcast.function.FunctionEx;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.counters.Counter;
+import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.Util;
 import com.hazelcast.jet.aggregate.AggregateOperation;
 import com.hazelcast.jet.aggregate.AggregateOperation1;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.impl.execution.init.Contexts.InternalProcSupplierCtx;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -33,7 +46,12 @@ import java.util.Map.Entry;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
+import static com.hazelcast.internal.util.ExceptionUtil.sneakyThrow;
 import static com.hazelcast.internal.util.Preconditions.checkTrue;
+import static com.hazelcast.jet.impl.processor.SpillPartitions.MAX_LEVEL;
+import static com.hazelcast.jet.impl.processor.SpillPartitions.PARTITION_COUNT;
+import static com.hazelcast.jet.impl.processor.SpillingProcessorSupplier.spillingSupplier;
 import static java.util.Collections.singletonList;
 
 /**
@@ -41,28 +59,60 @@ import static java.util.Collections.singletonList;
  * aggregate operation on each group. The items may originate from one or
  * more inbound edges. The supplied aggregate operation must have as many
  * accumulation functions as there are inbound edges.
+ * <p>
+ * If spilling is enabled and the number of groups reaches {@link
+ * SpillSettings#thresholdRecords()}, the groups already in memory keep
+ * accumulating, but the items of new groups are written to the local disk,
+ * hash-partitioned by the key. In the {@code complete} phase the groups in
+ * memory are emitted first, then the partitions on the disk are aggregated
+ * and emitted one by one. A partition with more groups than the threshold is
+ * aggregated the same way: the items of the groups over the threshold are
+ * split to the partitions of the next level, up to {@link
+ * SpillPartitions#MAX_LEVEL}.
  */
 public class GroupP<K, A, R, OUT> extends AbstractProcessor {
 
     protected final Map<K, A> keyToAcc = new HashMap<>();
 
+    @Probe(name = "spilledPartitions")
+    private final Counter spilledPartitions = SwCounter.newSwCounter();
+    @Probe(name = "spilledBytes", unit = BYTES)
+    private final Counter spilledBytes = SwCounter.newSwCounter();
+
     private final List<FunctionEx<?, ? extends K>> groupKeyFns;
     private final AggregateOperation<A, R> aggrOp;
     private final BiFunction<? super K, ? super R, OUT> mapToOutputFn;
+    private final SpillSettings spillSettings;
 
+    private InternalSerializationService serializationService;
     private long maxEntries;
+    private long memoryLimit;
+    // the first level of spilled items, null until the memory limit is reached
+    private SpilledLevel spilled;
+    // the levels with partitions still to be aggregated, the deepest on top
+    private final Deque<SpilledLevel> spilledLevels = new ArrayDeque<>();
     private Traverser<OUT> resultTraverser;
 
     public GroupP(
             @Nonnull List<FunctionEx<?, ? extends K>> groupKeyFns,
             @Nonnull AggregateOperation<A, R> aggrOp,
             @Nonnull BiFunction<? super K, ? super R, OUT> mapToOutputFn
+    ) {
+        this(groupKeyFns, aggrOp, mapToOutputFn, SpillSettings.DISABLED);
+    }
+
+    public GroupP(
+            @Nonnull List<FunctionEx<?, ? extends K>> groupKeyFns,
+            @Nonnull AggregateOperation<A, R> aggrOp,
+            @Nonnull BiFunction<? super K, ? super R, OUT> mapToOutputFn,
+            @Nonnull SpillSettings spillSettings
     ) {
         checkTrue(groupKeyFns.size() == aggrOp.arity(), groupKeyFns.size() + " key functions " +
                 "provided for " + aggrOp.arity() + "-arity aggregate operation");
         this.groupKeyFns = groupKeyFns;
         this.aggrOp = aggrOp;
         this.mapToOutputFn = mapToOutputFn;
+        this.spillSettings = spillSettings;
     }
 
     public <T> GroupP(
@@ -76,27 +126,128 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
         maxEntries = context.maxProcessorAccumulatedRecords();
+        if (spillSettings.isEnabled()) {
+            serializationService = ((InternalProcSupplierCtx) context).serializationService();
+            memoryLimit = Math.min(maxEntries, spillSettings.thresholdRecords());
+        } else {
+            memoryLimit = maxEntries;
+        }
     }
 
     @Override
-    @SuppressWarnings("unchecked")
-    protected boolean tryProcess(int ordinal, @Nonnull Object item) {
-        Function<Object, ? extends K> keyFn = (Function<Object, ? extends K>) groupKeyFns.get(ordinal);
-        K key = keyFn.apply(item);
-        A acc = keyToAcc.computeIfAbsent(key, k -> {
-            if (keyToAcc.size() == maxEntries) {
-                throw new AccumulationLimitExceededException();
-            }
+    public boolean isCooperative() {
+        return !spillSettings.isEnabled();
+    }
 
-            return aggrOp.createFn().get();
-        });
+    @Override
+    protected boolean tryProcess(int ordinal, @Nonnull Object item) throws IOException {
+        K key = keyFn(ordinal).apply(item);
+        A acc = keyToAcc.get(key);
+        if (acc == null) {
+            if (keyToAcc.size() >= memoryLimit) {
+                if (!spillSettings.isEnabled()) {
+                    throw new AccumulationLimitExceededException();
+                }
+                spill(ordinal, key, item);
+                return true;
+            }
+            acc = aggrOp.createFn().get();
+            keyToAcc.put(key, acc);
+        }
         aggrOp.accumulateFn(ordinal).accept(acc, item);
         return true;
     }
 
+    @SuppressWarnings("unchecked")
+    private Function<Object, ? extends K> keyFn(int ordinal) {
+        return (Function<Object, ? extends K>) groupKeyFns.get(ordinal);
+    }
+
+    private void spill(int ordinal, K key, Object item) throws IOException {
+        if (spilled == null) {
+            spilled = new SpilledLevel();
+        }
+        if (spilled.partitions[ordinal] == null) {
+            spilled.partitions[ordinal] =
+                    new SpillPartitions(spillSettings, serializationService, spilledBytes, spilledPartitions);
+        }
+        spilled.write(ordinal, key, item);
+    }
+
+    /**
+     * Aggregates the spilled items of the next partition into {@link
+     * #keyToAcc}, which is empty at this point.
+     *
+     * @return {@code false} if there are no partitions left
+     */
+    private boolean loadNextPartition() throws IOException {
+        SpilledLevel level;
+        while ((level = spilledLevels.peek()) != null && level.nextPartition == PARTITION_COUNT) {
+            spilledLevels.pop();
+        }
+        if (level == null) {
+            return false;
+        }
+        SpilledLevel overflow = loadPartition(level, level.nextPartition++);
+        if (overflow != null) {
+            // aggregate the split partition before the rest of this level
+            spilledLevels.push(overflow);
+        }
+        return true;
+    }
+
+    /**
+     * Aggregates the items of the given partition into {@link #keyToAcc}.
+     * Once the number of groups reaches the memory limit, the items of new
+     * groups are split to the partitions of the next level instead, unless
+     * the level is the last one.
+     *
+     * @return the next level with the split items, or {@code null} if the
+     *         partition fit in memory
+     */
+    @Nullable
+    private SpilledLevel loadPartition(SpilledLevel level, int partition) throws IOException {
+        SpilledLevel overflow = null;
+        for (int ordinal = 0; ordinal < level.partitions.length; ordinal++) {
+            SpillPartitions partitions = level.partitions[ordinal];
+            if (partitions == null) {
+                continue;
+            }
+            Function<Object, ? extends K> keyFn = keyFn(ordinal);
+            for (Iterator<Object> it = partitions.read(partition); it.hasNext(); ) {
+                Object item = it.next();
+                K key = keyFn.apply(item);
+                A acc = keyToAcc.get(key);
+                if (acc == null) {
+                    if (keyToAcc.size() >= memoryLimit && partitions.level() < MAX_LEVEL) {
+                        if (overflow == null) {
+                            overflow = new SpilledLevel();
+                        }
+                        if (overflow.partitions[ordinal] == null) {
+                            overflow.partitions[ordinal] = partitions.nextLevel();
+                        }
+                        overflow.write(ordinal, key, item);
+                        continue;
+                    }
+                    if (keyToAcc.size() >= maxEntries) {
+                        throw new AccumulationLimitExceededException();
+                    }
+                    acc = aggrOp.createFn().get();
+                    keyToAcc.put(key, acc);
+                }
+                aggrOp.accumulateFn(ordinal).accept(acc, item);
+            }
+            partitions.delete(partition);
+        }
+        return overflow;
+    }
+
     @Override
     public boolean complete() {
         if (resultTraverser == null) {
+            if (spilled != null) {
+                spilledLevels.push(spilled);
+            }
             resultTraverser = new ResultTraverser()
                     // reuse null filtering done by map()
                     .map(e -> mapToOutputFn.apply(e.getKey(), aggrOp.finishFn().apply(e.getValue())));
@@ -106,16 +257,108 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
 
     @Override
     public boolean closeIsCooperative() {
-        return true;
+        return !spillSettings.isEnabled();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (spilled != null && !spilledLevels.contains(spilled)) {
+            spilledLevels.push(spilled);
+        }
+        spilled = null;
+        IOException error = null;
+        for (SpilledLevel level; (level = spilledLevels.poll()) != null; ) {
+            for (SpillPartitions partitions : level.partitions) {
+                try {
+                    if (partitions != null) {
+                        partitions.close();
+                    }
+                } catch (IOException e) {
+                    error = e;
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Returns a supplier of processors grouping by key in a single stage, see
+     * {@link com.hazelcast.jet.core.processor.Processors#aggregateByKeyP}.
+     * The processors spill to the local disk if spilling is enabled on the
+     * member.
+     */
+    @Nonnull
+    public static <K, A, R, OUT> ProcessorSupplier aggregateByKeySpillingP(
+            @Nonnull List<FunctionEx<?, ? extends K>> keyFns,
+            @Nonnull AggregateOperation<A, R> aggrOp,
+            @Nonnull BiFunctionEx<? super K, ? super R, OUT> mapToOutputFn
+    ) {
+        return spillingSupplier(spillSettings -> new GroupP<>(keyFns, aggrOp, mapToOutputFn, spillSettings));
+    }
+
+    /**
+     * Returns a supplier of processors for the first stage of a two-stage
+     * grouping, see {@link
+     * com.hazelcast.jet.core.processor.Processors#accumulateByKeyP}. The
+     * processors spill to the local disk if spilling is enabled on the member.
+     */
+    @Nonnull
+    public static <K, A> ProcessorSupplier accumulateByKeySpillingP(
+            @Nonnull List<FunctionEx<?, ? extends K>> getKeyFns,
+            @Nonnull AggregateOperation<A, ?> aggrOp
+    ) {
+        return spillingSupplier(spillSettings ->
+                new GroupP<>(getKeyFns, aggrOp.withIdentityFinish(), Util::entry, spillSettings));
+    }
+
+    /**
+     * Returns a supplier of processors for the second stage of a two-stage
+     * grouping, see {@link
+     * com.hazelcast.jet.core.processor.Processors#combineByKeyP}. The
+     * processors spill to the local disk if spilling is enabled on the member.
+     */
+    @Nonnull
+    public static <K, A, R, OUT> ProcessorSupplier combineByKeySpillingP(
+            @Nonnull AggregateOperation<A, R> aggrOp,
+            @Nonnull BiFunctionEx<? super K, ? super R, OUT> mapToOutputFn
+    ) {
+        FunctionEx<Entry<K, A>, K> keyFn = Entry::getKey;
+        return spillingSupplier(spillSettings -> new GroupP<>(
+                Collections.<FunctionEx<?, ? extends K>>singletonList(keyFn),
+                aggrOp.withCombiningAccumulateFn(Entry<K, A>::getValue),
+                mapToOutputFn,
+                spillSettings));
+    }
+
+    /**
+     * The spilled items of one level, by ordinal.
+     */
+    private final class SpilledLevel {
+        // created on the first item of the ordinal
+        final SpillPartitions[] partitions = new SpillPartitions[groupKeyFns.size()];
+        int nextPartition;
+
+        void write(int ordinal, K key, Object item) throws IOException {
+            partitions[ordinal].write(partitions[ordinal].partitionOf(key), item);
+        }
     }
 
     private class ResultTraverser implements Traverser<Entry<K, A>> {
-        private final Iterator<Entry<K, A>> iter = keyToAcc.entrySet().iterator();
+        private Iterator<Entry<K, A>> iter = keyToAcc.entrySet().iterator();
 
         @Override
         public Entry<K, A> next() {
-            if (!iter.hasNext()) {
-                return null;
+            while (!iter.hasNext()) {
+                try {
+                    if (!loadNextPartition()) {
+                        return null;
+                    }
+                } catch (IOException e) {
+                    throw sneakyThrow(e);
+                }
+                iter = keyToAcc.entrySet().iterator();
             }
             try {
                 return iter.next();
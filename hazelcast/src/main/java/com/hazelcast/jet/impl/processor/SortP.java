@@ -16,51 +16,302 @@
 
 package com.hazelcast.jet.impl.processor;
 
+import com.hazelcast.function.ComparatorEx;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.counters.Counter;
+import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.Traversers;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.impl.execution.init.Contexts.InternalProcSupplierCtx;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
 import java.util.PriorityQueue;
 
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
+import static com.hazelcast.internal.util.Preconditions.checkTrue;
+import static com.hazelcast.jet.impl.processor.SpillingProcessorSupplier.spillingSupplier;
+
+/**
+ * Sorts its input and emits it in the {@code complete} phase.
+ * <p>
+ * If a limit is given, only the first {@code limit} items are emitted and
+ * only that many are kept, in a bounded heap.
+ * <p>
+ * If spilling is enabled, the items are sorted in runs of at most {@link
+ * SpillSettings#thresholdRecords()} items, which are written to the local
+ * disk, and the runs are merged when emitting. At most {@link
+ * #MAX_MERGE_FAN_IN} runs are read at once: if there are more, they are
+ * first merged into longer runs, in as many passes as needed. Otherwise, all
+ * the items are kept in memory, up to {@code maxProcessorAccumulatedRecords}.
+ */
 public class SortP<T> extends AbstractProcessor {
 
-    private final PriorityQueue<T> priorityQueue;
-    private final Traverser<T> resultTraverser;
+    /**
+     * The maximum number of sorted runs merged at once, each of them holds an
+     * open file and a read buffer.
+     */
+    static final int MAX_MERGE_FAN_IN = 64;
+
+    @Probe(name = "spilledRuns")
+    private final Counter spilledRuns = SwCounter.newSwCounter();
+    @Probe(name = "spilledBytes", unit = BYTES)
+    private final Counter spilledBytes = SwCounter.newSwCounter();
+
+    private final Comparator<? super T> comparator;
+    private final long limit;
+    private final SpillSettings spillSettings;
+    private final int maxMergeFanIn;
 
+    private final List<T> buffer = new ArrayList<>();
+    private final List<SpillFile> runs = new ArrayList<>();
+    private PriorityQueue<T> topN;
+    private Traverser<T> resultTraverser;
+
+    private InternalSerializationService serializationService;
     private long maxItems;
+    private long bufferLimit;
+
+    public SortP(@Nullable Comparator<? super T> comparator) {
+        this(comparator, Long.MAX_VALUE, SpillSettings.DISABLED);
+    }
 
-    public SortP(@Nullable Comparator<T> comparator) {
-        this.priorityQueue = new PriorityQueue<>(comparator);
-        this.resultTraverser = priorityQueue::poll;
+    public SortP(@Nullable Comparator<? super T> comparator, long limit, @Nonnull SpillSettings spillSettings) {
+        this(comparator, limit, spillSettings, MAX_MERGE_FAN_IN);
+    }
+
+    @SuppressWarnings("unchecked")
+    SortP(@Nullable Comparator<? super T> comparator, long limit, @Nonnull SpillSettings spillSettings,
+          int maxMergeFanIn) {
+        checkTrue(maxMergeFanIn >= 2, "maxMergeFanIn must be at least 2");
+        this.comparator = comparator != null ? comparator : (Comparator<T>) Comparator.naturalOrder();
+        this.limit = limit;
+        this.spillSettings = spillSettings;
+        this.maxMergeFanIn = maxMergeFanIn;
     }
 
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
         maxItems = context.maxProcessorAccumulatedRecords();
+        if (spillSettings.isEnabled()) {
+            serializationService = ((InternalProcSupplierCtx) context).serializationService();
+            bufferLimit = Math.min(maxItems, spillSettings.thresholdRecords());
+        } else {
+            bufferLimit = maxItems;
+        }
+        // a bounded heap is used only if it fits to the memory the spilling would use
+        if (limit < Long.MAX_VALUE && limit <= bufferLimit) {
+            topN = new PriorityQueue<>(comparator.reversed());
+        }
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return !spillSettings.isEnabled();
     }
 
     @Override
     @SuppressWarnings("unchecked")
-    protected boolean tryProcess0(@Nonnull Object item) {
-        if (priorityQueue.size() == maxItems) {
-            throw new AccumulationLimitExceededException();
+    protected boolean tryProcess0(@Nonnull Object item) throws IOException {
+        if (topN != null) {
+            offerToTopN((T) item);
+            return true;
         }
-
-        priorityQueue.add((T) item);
+        if (buffer.size() == bufferLimit) {
+            if (!spillSettings.isEnabled()) {
+                throw new AccumulationLimitExceededException();
+            }
+            spillBuffer();
+        }
+        buffer.add((T) item);
         return true;
     }
 
+    private void offerToTopN(T item) {
+        if (topN.size() < limit) {
+            topN.add(item);
+        } else if (limit > 0 && comparator.compare(item, topN.peek()) < 0) {
+            topN.poll();
+            topN.add(item);
+        }
+    }
+
+    private void spillBuffer() throws IOException {
+        buffer.sort(comparator);
+        SpillFile run = SpillFile.create(spillSettings.directoryPath(), serializationService);
+        runs.add(run);
+        for (T item : buffer) {
+            run.write(item);
+        }
+        run.finishWriting();
+        buffer.clear();
+        spilledRuns.inc();
+        spilledBytes.inc(run.sizeInBytes());
+    }
+
     @Override
     public boolean complete() {
+        if (resultTraverser == null) {
+            resultTraverser = createResultTraverser();
+        }
         return emitFromTraverser(resultTraverser);
     }
 
+    private Traverser<T> createResultTraverser() {
+        if (topN != null) {
+            buffer.addAll(topN);
+            topN = null;
+        }
+        buffer.sort(comparator);
+        if (runs.isEmpty()) {
+            return limited(Traversers.traverseIterator(buffer.iterator()));
+        }
+        PriorityQueue<MergeCursor<T>> cursors;
+        try {
+            mergeRuns();
+            cursors = openCursors(runs);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to merge the sorted runs", e);
+        }
+        addCursor(cursors, buffer.iterator());
+
+        return limited(() -> pollMerged(cursors));
+    }
+
+    /**
+     * Merges the oldest runs into longer ones until the remaining runs and
+     * the buffer can be merged at once. Each merge reads as many runs as
+     * needed to get under the fan-in, but no more than the fan-in.
+     */
+    private void mergeRuns() throws IOException {
+        // the buffer takes one slot of the final merge
+        while (runs.size() >= maxMergeFanIn) {
+            int count = Math.min(maxMergeFanIn, runs.size() - maxMergeFanIn + 2);
+            List<SpillFile> sources = new ArrayList<>(runs.subList(0, count));
+            SpillFile merged = SpillFile.create(spillSettings.directoryPath(), serializationService);
+            runs.add(merged);
+            PriorityQueue<MergeCursor<T>> cursors = openCursors(sources);
+            // items after the first limit items of the merged runs can't be emitted
+            T item;
+            for (long written = 0; written < limit && (item = pollMerged(cursors)) != null; written++) {
+                merged.write(item);
+            }
+            merged.finishWriting();
+            runs.subList(0, count).clear();
+            for (SpillFile source : sources) {
+                source.close();
+            }
+            spilledRuns.inc();
+            spilledBytes.inc(merged.sizeInBytes());
+        }
+    }
+
+    private PriorityQueue<MergeCursor<T>> openCursors(List<SpillFile> sources) throws IOException {
+        PriorityQueue<MergeCursor<T>> cursors = new PriorityQueue<>(sources.size() + 1,
+                (left, right) -> comparator.compare(left.head, right.head));
+        for (SpillFile source : sources) {
+            addCursor(cursors, source.reader());
+        }
+        return cursors;
+    }
+
+    private static <T> T pollMerged(PriorityQueue<MergeCursor<T>> cursors) {
+        MergeCursor<T> cursor = cursors.poll();
+        if (cursor == null) {
+            return null;
+        }
+        T item = cursor.head;
+        if (cursor.advance()) {
+            cursors.add(cursor);
+        }
+        return item;
+    }
+
+    private Traverser<T> limited(Traverser<T> traverser) {
+        if (limit == Long.MAX_VALUE) {
+            return traverser;
+        }
+        long[] remaining = {limit};
+        return () -> {
+            if (remaining[0] == 0) {
+                return null;
+            }
+            T item = traverser.next();
+            if (item != null) {
+                remaining[0]--;
+            }
+            return item;
+        };
+    }
+
+    private static <T> void addCursor(PriorityQueue<MergeCursor<T>> cursors, Iterator<T> source) {
+        MergeCursor<T> cursor = new MergeCursor<>(source);
+        if (cursor.advance()) {
+            cursors.add(cursor);
+        }
+    }
+
     @Override
     public boolean closeIsCooperative() {
-        return true;
+        return !spillSettings.isEnabled();
+    }
+
+    @Override
+    public void close() throws Exception {
+        IOException error = null;
+        for (SpillFile run : runs) {
+            try {
+                run.close();
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+        runs.clear();
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Returns a supplier of sort processors which spill to the local disk if
+     * spilling is enabled on the member.
+     *
+     * @param comparator the comparator, {@code null} for the natural order
+     * @param limit      the number of items to emit, {@code Long.MAX_VALUE}
+     *                   to emit all
+     */
+    @Nonnull
+    public static <T> ProcessorSupplier sortP(@Nullable ComparatorEx<? super T> comparator, long limit) {
+        return spillingSupplier(spillSettings -> new SortP<>(comparator, limit, spillSettings));
+    }
+
+    /**
+     * The head item of a sorted run being merged.
+     */
+    private static final class MergeCursor<T> {
+        private final Iterator<T> source;
+        private T head;
+
+        MergeCursor(Iterator<T> source) {
+            this.source = source;
+        }
+
+        boolean advance() {
+            if (!source.hasNext()) {
+                return false;
+            }
+            head = source.next();
+            return true;
+        }
     }
 }
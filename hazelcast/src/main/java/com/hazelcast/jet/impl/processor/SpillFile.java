@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static com.hazelcast.internal.util.ExceptionUtil.sneakyThrow;
+
+/**
+ * A temporary file to which a processor spills its records. The records are
+ * appended in their serialized form, each prefixed with its length, and read
+ * back sequentially once the writing is finished. The file is deleted when
+ * closed.
+ */
+final class SpillFile implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path path;
+    private final InternalSerializationService serializationService;
+    private DataOutputStream out;
+    private DataInputStream in;
+    private long count;
+    private long sizeInBytes;
+
+    private SpillFile(Path path, InternalSerializationService serializationService) throws IOException {
+        this.path = path;
+        this.serializationService = serializationService;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
+    }
+
+    static SpillFile create(Path directory, InternalSerializationService serializationService) throws IOException {
+        Files.createDirectories(directory);
+        return new SpillFile(Files.createTempFile(directory, "jet-spill-", ".bin"), serializationService);
+    }
+
+    /**
+     * Appends the item to the file.
+     *
+     * @return the number of bytes written
+     */
+    int write(Object item) throws IOException {
+        byte[] bytes = serializationService.toData(item).toByteArray();
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        count++;
+        int written = Integer.BYTES + bytes.length;
+        sizeInBytes += written;
+        return written;
+    }
+
+    /**
+     * Finishes the writing. The records can be read afterwards.
+     */
+    void finishWriting() throws IOException {
+        out.close();
+        out = null;
+    }
+
+    /**
+     * Returns an iterator over the records of the file, in the order they
+     * were written. Can be called only once, after {@link #finishWriting()}.
+     * The iterator throws the {@link IOException}s it encounters unchecked.
+     */
+    <T> Iterator<T> reader() throws IOException {
+        assert out == null && in == null : "The file is still being written or already read";
+        in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE));
+        return new Iterator<>() {
+            private long remaining = count;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public T next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                remaining--;
+                try {
+                    byte[] bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                    return serializationService.toObject(new HeapData(bytes));
+                } catch (IOException e) {
+                    throw sneakyThrow(e);
+                }
+            }
+        };
+    }
+
+    long count() {
+        return count;
+    }
+
+    long sizeInBytes() {
+        return sizeInBytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (out != null) {
+                out.close();
+            }
+            if (in != null) {
+                in.close();
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
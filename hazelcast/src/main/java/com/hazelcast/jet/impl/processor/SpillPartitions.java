@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.counters.Counter;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Objects;
+
+import static com.hazelcast.internal.util.HashUtil.MurmurHash3_fmix;
+
+/**
+ * A fixed number of hash partitions of the records a processor spills to
+ * the local disk when its in-memory state grows over {@link
+ * SpillSettings#thresholdRecords()}, as in the grace hash join. Each
+ * partition is a separate {@link SpillFile} created on the first write, so
+ * that the records of one partition can be processed in memory later.
+ * <p>
+ * The partition of a key is derived from its {@code hashCode()}, not from
+ * the Jet partitioning, because all the keys a processor receives over a
+ * partitioned edge typically fall to a handful of Jet partitions.
+ * <p>
+ * A partition too large to be processed in memory is split again into the
+ * partitions of the next {@linkplain #level() level}, which hash the keys
+ * with a different seed, up to {@link #MAX_LEVEL}.
+ */
+public final class SpillPartitions implements Closeable {
+
+    /**
+     * The number of partitions, a power of two.
+     */
+    public static final int PARTITION_COUNT = 32;
+
+    /**
+     * The deepest level of partitions. The partitions of this level are not
+     * split any further, they are processed in memory up to the accumulation
+     * limit of the processor.
+     */
+    public static final int MAX_LEVEL = 3;
+
+    private static final int LEVEL_SEED = 0x9E3779B9;
+
+    private final SpillSettings spillSettings;
+    private final InternalSerializationService serializationService;
+    private final Counter spilledBytes;
+    private final Counter spilledPartitions;
+    private final int level;
+    private final SpillFile[] files = new SpillFile[PARTITION_COUNT];
+
+    /**
+     * Creates the partitions of the first level.
+     *
+     * @param spilledBytes      counter incremented by the size of each written record
+     * @param spilledPartitions counter incremented by each created partition file
+     */
+    public SpillPartitions(
+            @Nonnull SpillSettings spillSettings,
+            @Nonnull InternalSerializationService serializationService,
+            @Nonnull Counter spilledBytes,
+            @Nonnull Counter spilledPartitions
+    ) {
+        this(spillSettings, serializationService, spilledBytes, spilledPartitions, 0);
+    }
+
+    private SpillPartitions(
+            SpillSettings spillSettings,
+            InternalSerializationService serializationService,
+            Counter spilledBytes,
+            Counter spilledPartitions,
+            int level
+    ) {
+        assert spillSettings.isEnabled() : "Spilling is disabled";
+        assert level >= 0 && level <= MAX_LEVEL : "Invalid level: " + level;
+        this.spillSettings = spillSettings;
+        this.serializationService = serializationService;
+        this.spilledBytes = spilledBytes;
+        this.spilledPartitions = spilledPartitions;
+        this.level = level;
+    }
+
+    /**
+     * Creates empty partitions of the next level, to which the records of
+     * one partition of this level are split. Must not be called at {@link
+     * #MAX_LEVEL}.
+     */
+    @Nonnull
+    public SpillPartitions nextLevel() {
+        return new SpillPartitions(spillSettings, serializationService, spilledBytes, spilledPartitions, level + 1);
+    }
+
+    /**
+     * Returns the level of the partitions, 0 for the partitions of the
+     * records spilled first.
+     */
+    public int level() {
+        return level;
+    }
+
+    /**
+     * Returns the partition of the given key at this level.
+     */
+    public int partitionOf(@Nullable Object key) {
+        return partitionOf(key, level);
+    }
+
+    /**
+     * Returns the partition of the given key at the given level. The keys of
+     * one partition are spread over all the partitions of the next level.
+     */
+    public static int partitionOf(@Nullable Object key, int level) {
+        return MurmurHash3_fmix(Objects.hashCode(key) ^ (level * LEVEL_SEED)) & (PARTITION_COUNT - 1);
+    }
+
+    /**
+     * Appends the item to the given partition.
+     */
+    public void write(int partition, @Nonnull Object item) throws IOException {
+        SpillFile file = files[partition];
+        if (file == null) {
+            file = SpillFile.create(spillSettings.directoryPath(), serializationService);
+            files[partition] = file;
+            spilledPartitions.inc();
+        }
+        spilledBytes.inc(file.write(item));
+    }
+
+    /**
+     * Returns whether any item was written to the given partition.
+     */
+    public boolean contains(int partition) {
+        return files[partition] != null;
+    }
+
+    /**
+     * Finishes the writing of the given partition and returns an iterator
+     * over its items. Can be called only once for each partition.
+     */
+    @Nonnull
+    public <T> Iterator<T> read(int partition) throws IOException {
+        SpillFile file = files[partition];
+        if (file == null) {
+            return Collections.emptyIterator();
+        }
+        file.finishWriting();
+        return file.reader();
+    }
+
+    /**
+     * Deletes the file of the given partition.
+     */
+    public void delete(int partition) throws IOException {
+        SpillFile file = files[partition];
+        if (file != null) {
+            files[partition] = null;
+            file.close();
+        }
+    }
+
+    /**
+     * Deletes the files of all partitions.
+     */
+    @Override
+    public void close() throws IOException {
+        IOException error = null;
+        for (int i = 0; i < PARTITION_COUNT; i++) {
+            try {
+                delete(i);
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+}
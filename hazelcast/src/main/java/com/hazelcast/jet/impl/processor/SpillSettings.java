@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Serial;
+import java.io.Serializable;
+import java.nio.file.Path;
+
+/**
+ * Settings of the processors which can spill their records to the local
+ * disk, see {@link ClusterProperty#JET_SPILL_DIRECTORY}.
+ *
+ * @param directory        the directory for the spill files, {@code null} if
+ *                         spilling is disabled
+ * @param thresholdRecords the number of records kept in memory before they
+ *                         are spilled
+ */
+public record SpillSettings(@Nullable String directory, int thresholdRecords) implements Serializable {
+
+    /**
+     * Settings with spilling disabled.
+     */
+    public static final SpillSettings DISABLED = new SpillSettings(null, Integer.MAX_VALUE);
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    @Nonnull
+    public Path directoryPath() {
+        assert directory != null : "Spilling is disabled";
+        return Path.of(directory);
+    }
+
+    @Nonnull
+    public static SpillSettings fromProperties(@Nonnull HazelcastProperties properties) {
+        String directory = properties.getString(ClusterProperty.JET_SPILL_DIRECTORY);
+        if (directory == null || directory.isBlank()) {
+            return DISABLED;
+        }
+        return new SpillSettings(directory, Math.max(1, properties.getInteger(ClusterProperty.JET_SPILL_THRESHOLD_RECORDS)));
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.function.FunctionEx;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.ProcessorSupplier;
+
+import javax.annotation.Nonnull;
+import java.io.Serial;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+import static com.hazelcast.jet.impl.util.Util.getNodeEngine;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Supplier of processors which can spill their records to the local disk.
+ * It reads the {@link SpillSettings} of the member in {@link #init} and
+ * passes them to the processors it creates.
+ */
+public final class SpillingProcessorSupplier implements ProcessorSupplier {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final FunctionEx<? super SpillSettings, ? extends Processor> createProcessorFn;
+
+    private transient SpillSettings spillSettings;
+
+    private SpillingProcessorSupplier(@Nonnull FunctionEx<? super SpillSettings, ? extends Processor> createProcessorFn) {
+        this.createProcessorFn = createProcessorFn;
+    }
+
+    @Override
+    public void init(@Nonnull Context context) {
+        spillSettings = SpillSettings.fromProperties(getNodeEngine(context.hazelcastInstance()).getProperties());
+    }
+
+    @Nonnull @Override
+    public Collection<? extends Processor> get(int count) {
+        return Stream.generate(() -> createProcessorFn.apply(spillSettings))
+                .limit(count)
+                .collect(toList());
+    }
+
+    @Nonnull
+    public static ProcessorSupplier spillingSupplier(
+            @Nonnull FunctionEx<? super SpillSettings, ? extends Processor> createProcessorFn
+    ) {
+        return new SpillingProcessorSupplier(createProcessorFn);
+    }
+}
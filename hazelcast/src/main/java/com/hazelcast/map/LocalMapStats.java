@@ -271,6 +271,31 @@ public interface LocalMapStats extends LocalInstanceStats {
      */
     long getMerkleTreesCost();
 
+    /**
+     * Returns the native memory cost of the entries owned by and backed
+     * up on this member when the off-heap map storage is enabled, see
+     * {@link com.hazelcast.spi.properties.ClusterProperty#MAP_OFF_HEAP_STORAGE_ENABLED}.
+     * This memory is not included in the {@link #getHeapCost() heap cost}.
+     *
+     * @return native memory cost in bytes, {@code 0} for on-heap storage
+     * @since 5.7
+     */
+    default long getNativeMemoryCost() {
+        return 0L;
+    }
+
+    /**
+     * Returns the heap cost of the expiry metadata kept for the owned and
+     * backup entries which have a time-to-live or max-idle set.
+     * This cost is not included in the {@link #getHeapCost() heap cost}.
+     *
+     * @return heap cost of the expiry metadata in bytes
+     * @since 5.7
+     */
+    default long getExpirySystemCost() {
+        return 0L;
+    }
+
     /**
      * Returns statistics related to the Near Cache.
      *
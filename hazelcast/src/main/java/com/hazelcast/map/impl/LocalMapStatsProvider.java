@@ -240,9 +240,12 @@ public class LocalMapStatsProvider {
         onDemandStats.incrementExpirationCount(stats.getExpirationCount());
         onDemandStats.incrementDirtyEntryCount(recordStore.getMapDataStore().notFinishedOperationsCount());
         onDemandStats.incrementOwnedEntryMemoryCost(recordStore.getOwnedEntryCost());
+        long nativeMemoryCost = recordStore.getNativeMemoryCost();
+        onDemandStats.incrementNativeMemoryCost(nativeMemoryCost);
         if (NATIVE != recordStore.getMapContainer().getMapConfig().getInMemoryFormat()) {
-            onDemandStats.incrementHeapCost(recordStore.getOwnedEntryCost());
+            onDemandStats.incrementHeapCost(recordStore.getOwnedEntryCost() - nativeMemoryCost);
         }
+        onDemandStats.incrementExpirySystemCost(recordStore.getExpirySystem().getHeapCost());
         onDemandStats.incrementOwnedEntryCount(recordStore.size());
         onDemandStats.setLastAccessTime(stats.getLastAccessTime());
         onDemandStats.setLastUpdateTime(stats.getLastUpdateTime());
@@ -256,6 +259,8 @@ public class LocalMapStatsProvider {
     private void addStatsOfBackupReplica(RecordStore recordStore, LocalMapOnDemandCalculatedStats onDemandStats) {
         long backupEntryCount = 0;
         long backupEntryMemoryCost = 0;
+        long backupNativeMemoryCost = 0;
+        long backupExpirySystemCost = 0;
 
         int totalBackupCount = recordStore.getMapContainer().getTotalBackupCount();
         for (int replicaNumber = 1; replicaNumber <= totalBackupCount; replicaNumber++) {
@@ -267,12 +272,16 @@ public class LocalMapStatsProvider {
             }
             if (isReplicaOnThisNode(replicaAddress)) {
                 backupEntryMemoryCost += recordStore.getOwnedEntryCost();
+                backupNativeMemoryCost += recordStore.getNativeMemoryCost();
+                backupExpirySystemCost += recordStore.getExpirySystem().getHeapCost();
                 backupEntryCount += recordStore.size();
             }
         }
 
+        onDemandStats.incrementNativeMemoryCost(backupNativeMemoryCost);
+        onDemandStats.incrementExpirySystemCost(backupExpirySystemCost);
         if (NATIVE != recordStore.getMapContainer().getMapConfig().getInMemoryFormat()) {
-            onDemandStats.incrementHeapCost(backupEntryMemoryCost);
+            onDemandStats.incrementHeapCost(backupEntryMemoryCost - backupNativeMemoryCost);
         }
         onDemandStats.incrementBackupEntryMemoryCost(backupEntryMemoryCost);
         onDemandStats.incrementBackupEntryCount(backupEntryCount);
@@ -484,6 +493,10 @@ public class LocalMapStatsProvider {
         // Holds total heap cost of map & Near Cache & backups & merkle trees.
         private long heapCost;
         private long merkleTreesCost;
+        // Holds total native memory cost of owned & backup entries kept off-heap.
+        private long nativeMemoryCost;
+        // Holds heap cost of the expiry metadata of owned & backup entries.
+        private long expirySystemCost;
         private long lockedEntryCount;
         private long dirtyEntryCount;
         private long lastAccessTime;
@@ -537,6 +550,14 @@ public class LocalMapStatsProvider {
             this.merkleTreesCost += merkleTreeCost;
         }
 
+        public void incrementNativeMemoryCost(long nativeMemoryCost) {
+            this.nativeMemoryCost += nativeMemoryCost;
+        }
+
+        public void incrementExpirySystemCost(long expirySystemCost) {
+            this.expirySystemCost += expirySystemCost;
+        }
+
         public LocalMapStatsImpl updateAndGet(LocalMapStatsImpl stats) {
             stats.setBackupCount(backupCount);
             stats.setHits(hits);
@@ -548,6 +569,8 @@ public class LocalMapStatsProvider {
             stats.setBackupEntryMemoryCost(backupEntryMemoryCost);
             stats.setHeapCost(heapCost);
             stats.setMerkleTreesCost(merkleTreesCost);
+            stats.setNativeMemoryCost(nativeMemoryCost);
+            stats.setExpirySystemCost(expirySystemCost);
             stats.setLockedEntryCount(lockedEntryCount);
             stats.setDirtyEntryCount(dirtyEntryCount);
             stats.setLastAccessTime(lastAccessTime);
@@ -54,6 +54,15 @@ public interface MapContainer {
 
     boolean shouldUseGlobalIndex();
 
+    /**
+     * @return {@code true} if the record stores of this map keep their
+     * entries in native memory, see {@link
+     * com.hazelcast.spi.properties.ClusterProperty#MAP_OFF_HEAP_STORAGE_ENABLED}.
+     * Like {@code NATIVE} record stores, they may be accessed only by the
+     * partition threads.
+     */
+    boolean isOffHeapStorageEnabled();
+
     /**
      * Used to get index registry of one
      * of global or partitioned indexes.
@@ -23,6 +23,7 @@ import com.hazelcast.config.IndexConfig;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.instance.impl.Node;
 import com.hazelcast.internal.namespace.NamespaceUtil;
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
 import com.hazelcast.internal.nio.ClassLoaderUtil;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.serialization.Data;
@@ -50,6 +51,7 @@ import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.spi.eviction.EvictionPolicyComparator;
 import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.properties.ClusterProperty;
 import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.spi.properties.HazelcastProperty;
 
@@ -65,6 +67,7 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
+import static com.hazelcast.config.InMemoryFormat.BINARY;
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.config.InMemoryFormat.OBJECT;
 import static com.hazelcast.internal.eviction.EvictionPolicyEvaluatorProvider.getEvictionPolicyComparator;
@@ -264,6 +267,17 @@ public class MapContainerImpl implements MapContainer {
                 || mapServiceContext.isForciblyEnabledGlobalIndex();
     }
 
+    @Override
+    public boolean isOffHeapStorageEnabled() {
+        // read-backup-data maps are excluded, backup
+        // reads are served outside the partition threads
+        return mapConfig.getInMemoryFormat() == BINARY
+                && !mapConfig.isReadBackupData()
+                && UnsafeMallocMemoryManager.isAvailable()
+                && mapServiceContext.getNodeEngine().getProperties()
+                .getBoolean(ClusterProperty.MAP_OFF_HEAP_STORAGE_ENABLED);
+    }
+
     protected static MemoryInfoAccessor getMemoryInfoAccessor() {
         MemoryInfoAccessor pluggedMemoryInfoAccessor = getPluggedMemoryInfoAccessor();
         return pluggedMemoryInfoAccessor != null ? pluggedMemoryInfoAccessor : new RuntimeMemoryInfoAccessor();
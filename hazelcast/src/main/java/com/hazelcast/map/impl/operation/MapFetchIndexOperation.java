@@ -109,6 +109,8 @@ public class MapFetchIndexOperation extends MapOperation implements ReadonlyOper
                 break;
             case BITMAP:
                 throw new UnsupportedOperationException("BITMAP index scan is not implemented");
+            case FULL_TEXT:
+                throw new UnsupportedOperationException("FULL_TEXT index scan is not implemented");
             default:
                 throw new UnsupportedOperationException(
                         "Unknown index type: \"" + index.getConfig().getType().name() + "\"");
@@ -64,6 +64,7 @@ import java.util.function.Consumer;
 import java.util.logging.Level;
 
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
+import static com.hazelcast.config.InMemoryFormat.OBJECT;
 import static com.hazelcast.internal.util.CollectionUtil.isEmpty;
 import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
 import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
@@ -370,7 +371,8 @@ public abstract class MapOperation extends AbstractNamedOperation
     public void disposeDeferredBlocks() {
         if (!disposeDeferredBlocks
                 || recordStore == null
-                || recordStore.getInMemoryFormat() != NATIVE) {
+                || recordStore.getInMemoryFormat() == OBJECT) {
+            // only NATIVE and off-heap BINARY storages defer disposals
             return;
         }
 
@@ -135,6 +135,7 @@ import static com.hazelcast.map.impl.MapOperationStatsUpdater.incrementOperation
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static com.hazelcast.map.impl.query.Target.createPartitionTarget;
 import static com.hazelcast.query.Predicates.alwaysFalse;
+import static com.hazelcast.query.impl.IndexUtils.checkIndexTypeSupported;
 import static com.hazelcast.spi.impl.InternalCompletableFuture.newCompletedFuture;
 import static com.hazelcast.spi.properties.ClusterProperty.FAIL_ON_INDETERMINATE_OPERATION_STATE;
 import static java.lang.Math.ceil;
@@ -1367,6 +1368,12 @@ abstract class MapProxySupport<K, V>
         checkNotNull(indexConfig, "Index config cannot be null.");
         checkFalse(isNativeMemoryAndBitmapIndexingEnabled(indexConfig.getType()),
                 "BITMAP indexes are not supported by NATIVE storage");
+        checkFalse(mapConfig.getInMemoryFormat() == InMemoryFormat.NATIVE && indexConfig.getType() == IndexType.FULL_TEXT,
+                "FULL_TEXT indexes are not supported by NATIVE storage");
+        if (!localOnly) {
+            // the index is added on all the members
+            checkIndexTypeSupported(indexConfig.getType(), getNodeEngine().getClusterService().getClusterVersion());
+        }
 
         try {
             AddIndexOperationFactory addIndexOperationFactory = new AddIndexOperationFactory(name, indexConfig);
@@ -86,41 +86,50 @@ public class QueryOperation extends AbstractNamedOperation implements ReadonlyOp
     private CallStatus callInternal() {
         QueryRunner queryRunner = getMapServiceContext().getMapQueryRunner(getName());
 
+        MapContainer mapContainer = getMapServiceContext().getMapContainer(getName());
         switch (getMapInMemoryFormat()) {
             case BINARY:
             case OBJECT:
+                if (mapContainer.isOffHeapStorageEnabled()) {
+                    // Off-heap storage frees its memory on the partition
+                    // threads, so it can't be scanned by other threads.
+                    return runIndexOrOffloadedQuery(queryRunner, true);
+                }
                 result = queryRunner.runIndexOrPartitionScanQueryOnOwnedPartitions(query);
                 return RESPONSE;
             case NATIVE:
-                boolean useGlobalIndex = getMapServiceContext().getMapContainer(getName()).shouldUseGlobalIndex();
-
-                if (useGlobalIndex) {
-                    // Try to use HD global index
-                    // Don't do map scan because it is not thread-safe
-                    Result indexResult = queryRunner.runIndexOrPartitionScanQueryOnOwnedPartitions(query, false);
-                    if (indexResult != null) {
-                        result = indexResult;
-                        return RESPONSE;
-                    }
-                }
-
-                // Offload query run on the partition threads.
-                BitSet queryPartitions = localPartitions();
-                if (query.getPartitionIdSet() != null) {
-                    queryPartitions.and(query.getPartitionIdSet().bitSetCopy());
-                }
-                if (queryPartitions.cardinality() == 0) {
-                    // important to deal with situation of not having any partitions
-                    result = queryRunner.populateEmptyResult(query, Collections.emptyList());
-                    return RESPONSE;
-                } else {
-                    return new OffloadedImpl(queryRunner, queryPartitions);
-                }
+                return runIndexOrOffloadedQuery(queryRunner, mapContainer.shouldUseGlobalIndex());
             default:
                 throw new IllegalArgumentException("Unsupported in memory format");
         }
     }
 
+    @Nonnull
+    private CallStatus runIndexOrOffloadedQuery(QueryRunner queryRunner, boolean useGlobalIndex) {
+        if (useGlobalIndex) {
+            // Try to use global index
+            // Don't do map scan because it is not thread-safe
+            Result indexResult = queryRunner.runIndexOrPartitionScanQueryOnOwnedPartitions(query, false);
+            if (indexResult != null) {
+                result = indexResult;
+                return RESPONSE;
+            }
+        }
+
+        // Offload query run on the partition threads.
+        BitSet queryPartitions = localPartitions();
+        if (query.getPartitionIdSet() != null) {
+            queryPartitions.and(query.getPartitionIdSet().bitSetCopy());
+        }
+        if (queryPartitions.cardinality() == 0) {
+            // important to deal with situation of not having any partitions
+            result = queryRunner.populateEmptyResult(query, Collections.emptyList());
+            return RESPONSE;
+        } else {
+            return new OffloadedImpl(queryRunner, queryPartitions);
+        }
+    }
+
     private int partitionCount() {
         return getNodeEngine().getPartitionService().getPartitionCount();
     }
@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.query;
 
+import com.hazelcast.aggregation.impl.AbstractAggregator;
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.internal.iteration.IterationPointer;
 import com.hazelcast.internal.serialization.InternalSerializationService;
@@ -29,6 +30,8 @@ import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.projection.impl.MultiAttributeProjection;
+import com.hazelcast.projection.impl.SingleAttributeProjection;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.IndexRegistry;
 import com.hazelcast.query.impl.QueryableEntriesSegment;
@@ -141,7 +144,7 @@ public class QueryRunner {
         Predicate predicate = queryOptimizer.optimize(query.getPredicate(), indexRegistry);
 
         // then we try to run using an index, but if that doesn't work, we'll try a full table scan
-        Iterable<QueryableEntry> entries = runUsingGlobalIndexSafely(predicate, mapContainer,
+        Iterable<QueryableEntry> entries = runUsingGlobalIndexSafely(query, predicate, mapContainer,
                 migrationStamp, ownedPartitions.size());
 
         if (entries != null && !ownedPartitions.equals(actualPartitions)) {
@@ -203,7 +206,7 @@ public class QueryRunner {
         Predicate predicate = queryOptimizer.optimize(query.getPredicate(), indexRegistry);
 
         // then we try to run using an index
-        Iterable<QueryableEntry> entries = runUsingGlobalIndexSafely(predicate, mapContainer,
+        Iterable<QueryableEntry> entries = runUsingGlobalIndexSafely(query, predicate, mapContainer,
                 migrationStamp, ownedPartitions.size());
 
         Result result;
@@ -230,7 +233,7 @@ public class QueryRunner {
         Iterable<QueryableEntry> entries = null;
         IndexRegistry indexRegistry = mapContainer.getOrCreateIndexRegistry(partitionId);
         if (indexRegistry != null && !indexRegistry.isGlobal()) {
-            entries = indexRegistry.query(predicate, partitions.size());
+            entries = queryIndexes(indexRegistry, query, predicate, partitions.size());
         }
 
         Result result;
@@ -261,7 +264,8 @@ public class QueryRunner {
                 initialPartitions);
     }
 
-    protected Iterable<QueryableEntry> runUsingGlobalIndexSafely(Predicate predicate, MapContainer mapContainer,
+    protected Iterable<QueryableEntry> runUsingGlobalIndexSafely(Query query, Predicate predicate,
+                                                                 MapContainer mapContainer,
                                                                  int migrationStamp, int ownedPartitionCount) {
 
         // If a migration is in progress or migration ownership changes,
@@ -280,7 +284,7 @@ public class QueryRunner {
             // leverage index on this node in a global way.
             return null;
         }
-        Iterable<QueryableEntry> entries = indexRegistry.query(predicate, ownedPartitionCount);
+        Iterable<QueryableEntry> entries = queryIndexes(indexRegistry, query, predicate, ownedPartitionCount);
         if (entries == null) {
             return null;
         }
@@ -297,6 +301,42 @@ public class QueryRunner {
         return null;
     }
 
+    /**
+     * Queries the indexes preferring an index which stores all the attributes
+     * the aggregation or the projection of the query reads, so the values of
+     * the matching entries don't have to be deserialized.
+     */
+    private static Iterable<QueryableEntry> queryIndexes(IndexRegistry indexRegistry, Query query, Predicate predicate,
+                                                         int ownedPartitionCount) {
+        String[] attributes = readAttributes(query);
+        if (attributes != null) {
+            Iterable<QueryableEntry> entries = indexRegistry.queryCovering(predicate, attributes, ownedPartitionCount);
+            if (entries != null) {
+                return entries;
+            }
+        }
+        return indexRegistry.query(predicate, ownedPartitionCount);
+    }
+
+    /**
+     * @return the attributes read from the entries by the aggregation or the
+     * projection of the given query or {@code null} if they are not known.
+     */
+    private static String[] readAttributes(Query query) {
+        if (query.isAggregationQuery()) {
+            if (query.getAggregator() instanceof AbstractAggregator aggregator && aggregator.getAttributePath() != null) {
+                return new String[]{aggregator.getAttributePath()};
+            }
+        } else if (query.isProjectionQuery()) {
+            if (query.getProjection() instanceof SingleAttributeProjection projection) {
+                return new String[]{projection.getAttributePath()};
+            } else if (query.getProjection() instanceof MultiAttributeProjection projection) {
+                return projection.getAttributePaths();
+            }
+        }
+        return null;
+    }
+
     protected Result runUsingPartitionScanSafely(Query query, Predicate predicate,
                                                  PartitionIdSet partitions, int migrationStamp) {
 
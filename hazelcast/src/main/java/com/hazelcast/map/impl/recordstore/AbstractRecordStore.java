@@ -42,6 +42,8 @@ import com.hazelcast.map.impl.record.ObjectRecordFactory;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.impl.record.RecordReaderWriter;
+import com.hazelcast.map.impl.recordstore.offheap.OffHeapRecordFactory;
+import com.hazelcast.map.impl.recordstore.offheap.OffHeapStorage;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.wan.impl.CallerProvenance;
 
@@ -89,7 +91,9 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         MapConfig mapConfig = mapContainer.getMapConfig();
         switch (mapConfig.getInMemoryFormat()) {
             case BINARY:
-                return new DataRecordFactory(mapContainer, serializationService);
+                return mapContainer.isOffHeapStorageEnabled()
+                        ? new OffHeapRecordFactory(serializationService)
+                        : new DataRecordFactory(mapContainer, serializationService);
             case OBJECT:
                 return new ObjectRecordFactory(mapContainer, serializationService);
             default:
@@ -175,6 +179,9 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     }
 
     public Storage createStorage(RecordFactory recordFactory, InMemoryFormat memoryFormat) {
+        if (recordFactory instanceof OffHeapRecordFactory offHeapRecordFactory) {
+            return new OffHeapStorage(offHeapRecordFactory, getExpirySystem(), serializationService);
+        }
         return new StorageImpl(memoryFormat, getExpirySystem(), serializationService);
     }
 
@@ -193,6 +200,11 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         return storage.getEntryCostEstimator().getEstimate();
     }
 
+    @Override
+    public long getNativeMemoryCost() {
+        return storage.getNativeMemoryCost();
+    }
+
     protected static long getNow() {
         return Clock.currentTimeMillis();
     }
@@ -420,6 +420,12 @@ public interface RecordStore<R extends Record> {
 
     long getOwnedEntryCost();
 
+    /**
+     * @return number of native memory bytes held by the storage of
+     * this record store, {@code 0} if entries are kept on-heap
+     */
+    long getNativeMemoryCost();
+
     boolean isEmpty();
 
     /**
@@ -121,6 +121,14 @@ public interface Storage<K, R> {
         // NOP intentionally.
     }
 
+    /**
+     * @return number of native memory bytes held by this storage,
+     * {@code 0} if entries are kept on-heap
+     */
+    default long getNativeMemoryCost() {
+        return 0L;
+    }
+
     /**
      * Used for sampling based eviction, returns sampled entries.
      *
@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore.expiry;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.eviction.ClearExpiredRecordsTask;
+import com.hazelcast.internal.eviction.ExpiredKey;
+import com.hazelcast.internal.nearcache.impl.invalidation.InvalidationQueue;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.ExceptionUtil;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.spi.properties.HazelcastProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
+import static com.hazelcast.map.impl.ExpirationTimeSetter.nextExpirationTime;
+import static com.hazelcast.map.impl.ExpirationTimeSetter.pickMaxIdleMillis;
+import static com.hazelcast.map.impl.ExpirationTimeSetter.pickTTLMillis;
+import static com.hazelcast.map.impl.record.Record.UNSET;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * This class has all logic to remove expired entries. Expiry reason
+ * can be ttl or idleness. An instance of this class is created for
+ * each {@link RecordStore} and it is always accessed by same single thread.
+ * <p>
+ * Subclasses decide how the expiry metadata of the expirable keys
+ * is stored and how the expired keys are found.
+ */
+public abstract class AbstractExpirySystem implements ExpirySystem {
+    protected static final int MAX_SAMPLE_AT_A_TIME = 16;
+
+    private static final long DEFAULT_EXPIRED_KEY_SCAN_TIMEOUT_NANOS
+            = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final String PROP_EXPIRED_KEY_SCAN_TIMEOUT_NANOS
+            = "hazelcast.internal.map.expired.key.scan.timeout.nanos";
+    private static final HazelcastProperty EXPIRED_KEY_SCAN_TIMEOUT_NANOS
+            = new HazelcastProperty(PROP_EXPIRED_KEY_SCAN_TIMEOUT_NANOS,
+            DEFAULT_EXPIRED_KEY_SCAN_TIMEOUT_NANOS, NANOSECONDS);
+    private static final int ONE_HUNDRED_PERCENT = 100;
+    private static final int MIN_TOTAL_NUMBER_OF_KEYS_TO_SCAN = 100;
+    private static final ThreadLocal<List> BATCH_OF_EXPIRED
+            = ThreadLocal.withInitial(() -> new ArrayList<>(MAX_SAMPLE_AT_A_TIME << 1));
+
+    protected final RecordStore recordStore;
+    protected final MapContainer mapContainer;
+    protected final MapServiceContext mapServiceContext;
+
+    private final long expiryDelayMillis;
+    private final long expiredKeyScanTimeoutNanos;
+    private final boolean canPrimaryDriveExpiration;
+    private final ILogger logger;
+    private final ClearExpiredRecordsTask clearExpiredRecordsTask;
+    private final InvalidationQueue<ExpiredKey> expiredKeys = new InvalidationQueue<>();
+
+    protected AbstractExpirySystem(RecordStore recordStore,
+                                   MapContainer mapContainer,
+                                   MapServiceContext mapServiceContext) {
+        this.recordStore = recordStore;
+        this.clearExpiredRecordsTask = mapServiceContext.getExpirationManager().getTask();
+        NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
+        this.logger = nodeEngine.getLogger(getClass());
+        HazelcastProperties hazelcastProperties = nodeEngine.getProperties();
+        this.expiryDelayMillis = hazelcastProperties.getMillis(ClusterProperty.MAP_EXPIRY_DELAY_SECONDS);
+        this.mapContainer = mapContainer;
+        this.mapServiceContext = mapServiceContext;
+        this.canPrimaryDriveExpiration = mapServiceContext.getClearExpiredRecordsTask().canPrimaryDriveExpiration();
+        this.expiredKeyScanTimeoutNanos = nodeEngine.getProperties().getNanos(EXPIRED_KEY_SCAN_TIMEOUT_NANOS);
+    }
+
+    /**
+     * Add expiryMetadata of key to this expiry system.
+     */
+    @Override
+    public final void add(Data key, ExpiryMetadata expiryMetadata, long now) {
+        if (expiryMetadata == ExpiryMetadata.NULL) {
+            removeKeyFromExpirySystem(key);
+            return;
+        }
+
+        add(key, expiryMetadata.getTtl(), expiryMetadata.getMaxIdle(),
+                expiryMetadata.getExpirationTime(),
+                expiryMetadata.getLastUpdateTime(), now);
+
+    }
+
+    /**
+     * Add expirable key to this expiry system.
+     */
+    @Override
+    public final void add(Data key, long ttl, long maxIdle,
+                          long expiryTime, long lastUpdateTime, long now) {
+        // If expiry-time <= 0, no expiry-time exists, this is update
+        // or first put of the key, hence we need to calculate it.
+        // If expiry-time > 0, this means we have a previously
+        // calculated expiry-time, we see this case in data replications.
+        if (expiryTime <= 0) {
+            MapConfig mapConfig = mapContainer.getMapConfig();
+            ttl = pickTTLMillis(mapConfig, ttl);
+            maxIdle = pickMaxIdleMillis(mapConfig, maxIdle);
+            expiryTime = nextExpirationTime(ttl, maxIdle, now, lastUpdateTime);
+        }
+
+        storeExpiryMetadata(key, ttl, maxIdle, expiryTime, lastUpdateTime);
+    }
+
+    @Override
+    public final void add(Data key, long lastUpdateTime, long now) {
+        add(key, UNSET, UNSET, UNSET, lastUpdateTime, now);
+    }
+
+    private void storeExpiryMetadata(Data key, long ttlMillis, long maxIdleMillis,
+                                     long expirationTime, long lastUpdateTime) {
+        // If expirationTime is long max, this
+        // means key is no longer expirable.
+        if (expirationTime == Long.MAX_VALUE) {
+            removeKeyFromExpirySystem(key);
+            return;
+        }
+
+        createOrUpdateExpiryMetadata(key, ttlMillis, maxIdleMillis,
+                expirationTime, lastUpdateTime);
+
+        mapServiceContext.getExpirationManager().scheduleExpirationTask();
+    }
+
+    /**
+     * Stores the expiry metadata of the key, replacing
+     * the existing one if the key is already expirable.
+     */
+    protected abstract void createOrUpdateExpiryMetadata(Data key, long ttlMillis, long maxIdleMillis,
+                                                         long expirationTime, long lastUpdateTime);
+
+    @Override
+    public final long calculateExpirationTime(long ttl, long maxIdle,
+                                              long now, long lastUpdateTime) {
+        MapConfig mapConfig = mapContainer.getMapConfig();
+        long ttlMillis = pickTTLMillis(mapConfig, ttl);
+        long maxIdleMillis = pickMaxIdleMillis(mapConfig, maxIdle);
+        return nextExpirationTime(ttlMillis, maxIdleMillis, now, lastUpdateTime);
+    }
+
+    @Override
+    public final void removeKeyFromExpirySystem(Data key) {
+        if (isEmpty()) {
+            return;
+        }
+        removeExpiryMetadata(key);
+    }
+
+    /**
+     * Removes the expiry metadata of the key, it is a no-op if the key is not expirable.
+     */
+    protected abstract void removeExpiryMetadata(Data key);
+
+    protected final ExpiryReason hasExpired(ExpiryMetadata expiryMetadata, long now, boolean backup) {
+        if (expiryMetadata == null || expiryMetadata == ExpiryMetadata.NULL) {
+            return ExpiryReason.NOT_EXPIRED;
+        }
+
+        return hasExpired(expiryMetadata.getExpirationTime(),
+                expiryMetadata.getMaxIdle() <= expiryMetadata.getTtl(), now, backup);
+    }
+
+    /**
+     * @param expirationTime    the expiration time of the key
+     * @param expiresByMaxIdle  {@code true} if the max-idle of the key is
+     *                          not longer than its ttl
+     */
+    protected final ExpiryReason hasExpired(long expirationTime, boolean expiresByMaxIdle,
+                                            long now, boolean backup) {
+        long nextExpirationTime = backup
+                ? expirationTime + expiryDelayMillis
+                : expirationTime;
+
+        if (nextExpirationTime > now) {
+            return ExpiryReason.NOT_EXPIRED;
+        }
+
+        ExpiryReason expiryReason = expiresByMaxIdle
+                ? ExpiryReason.MAX_IDLE_SECONDS : ExpiryReason.TTL;
+
+        if (backup && canPrimaryDriveExpiration
+                && expiryReason == ExpiryReason.MAX_IDLE_SECONDS) {
+            return ExpiryReason.NOT_EXPIRED;
+        }
+        return expiryReason;
+    }
+
+    @Override
+    public final InvalidationQueue<ExpiredKey> getExpiredKeys() {
+        return expiredKeys;
+    }
+
+    @SuppressWarnings("checkstyle:magicnumber")
+    @Override
+    public final void evictExpiredEntries(final int percentage, final long now, final boolean backup) {
+        // 1. Find how many keys we can scan at max.
+        final int maxScannableCount = findMaxScannableCount(percentage);
+        if (maxScannableCount == 0) {
+            // no expirable entry exists.
+            return;
+        }
+
+        // 2. Do scanning and evict expired keys.
+        int scannedCount = 0;
+        int expiredCount = 0;
+        int sampledCount;
+        long scanLoopStartNanos = System.nanoTime();
+        List batchOfExpired = BATCH_OF_EXPIRED.get();
+        try {
+            do {
+                sampledCount = findExpiredKeys(batchOfExpired, now, backup);
+                scannedCount += sampledCount;
+                expiredCount += evictExpiredKeys(batchOfExpired, backup);
+            } while (scannedCount < maxScannableCount && hasMoreKeysToScan(sampledCount)
+                    && (System.nanoTime() - scanLoopStartNanos) < expiredKeyScanTimeoutNanos);
+        } catch (Exception e) {
+            try {
+                onEvictionFailure(batchOfExpired, now);
+            } finally {
+                batchOfExpired.clear();
+            }
+            throw ExceptionUtil.rethrow(e);
+        }
+
+        // 3. Send expired keys to backups(only valid for max-idle-expiry)
+        tryToSendBackupExpiryOp();
+
+        if (logger.isFinestEnabled()) {
+            logProgress(maxScannableCount, scannedCount,
+                    expiredCount, scanLoopStartNanos, backup);
+        }
+    }
+
+    private void logProgress(int maxScannableCount, int scannedCount,
+                             int expiredCount, long scanLoopStartNanos, boolean backup) {
+        logger.finest(String.format("mapName=%s, partitionId=%d, backup=%s, partitionSize=%d, "
+                        + "maxScannableCount=%d, scannedCount=%d, expiredCount=%d, "
+                        + "remainedCount=%d, scanTookNanos=%d"
+                , recordStore.getName(), recordStore.getPartitionId(), backup, recordStore.size()
+                , maxScannableCount, scannedCount, expiredCount, getExpirableKeyCount(),
+                (System.nanoTime() - scanLoopStartNanos)));
+    }
+
+    private int findMaxScannableCount(int percentage) {
+        if (isEmpty()) {
+            return 0;
+        }
+
+        int numberOfExpirableKeys = getExpirableKeyCount();
+        if (numberOfExpirableKeys <= MIN_TOTAL_NUMBER_OF_KEYS_TO_SCAN) {
+            return numberOfExpirableKeys;
+        }
+
+        int percentageOfExpirableKeys = (int) (1D * numberOfExpirableKeys * percentage / ONE_HUNDRED_PERCENT);
+        return Math.max(MIN_TOTAL_NUMBER_OF_KEYS_TO_SCAN, percentageOfExpirableKeys);
+    }
+
+    protected abstract int getExpirableKeyCount();
+
+    /**
+     * Checks up to {@value #MAX_SAMPLE_AT_A_TIME} keys and adds the
+     * expired ones followed by their {@link ExpiryReason} to the batch.
+     *
+     * @return number of checked keys
+     */
+    protected abstract int findExpiredKeys(List batchOfExpired, long now, boolean backup);
+
+    /**
+     * @param sampledCount number of keys checked by the
+     *                     last call of {@link #findExpiredKeys}
+     */
+    protected abstract boolean hasMoreKeysToScan(int sampledCount);
+
+    /**
+     * Called when the eviction of the expired keys fails. The keys of the
+     * batch which were evicted are replaced by {@code null}.
+     */
+    protected void onEvictionFailure(List batchOfExpired, long now) {
+        // no-op by default, the keys are found again by the next scan
+    }
+
+    private int evictExpiredKeys(List batchOfExpired, boolean backup) {
+        int evictedCount = 0;
+
+        for (int i = 0; i < batchOfExpired.size(); i += 2) {
+            Data key = (Data) batchOfExpired.get(i);
+            ExpiryReason expiryReason = (ExpiryReason) batchOfExpired.get(i + 1);
+            recordStore.evictExpiredEntryAndPublishExpiryEvent(key, expiryReason, backup);
+            removeExpiryMetadata(key);
+            batchOfExpired.set(i, null);
+            evictedCount++;
+        }
+        batchOfExpired.clear();
+        return evictedCount;
+    }
+
+    @Override
+    public final void accumulateOrSendExpiredKey(Data dataKey, long valueHashCode) {
+        if (mapContainer.getTotalBackupCount() == 0) {
+            return;
+        }
+
+        if (dataKey != null) {
+            expiredKeys.offer(new ExpiredKey(toHeapData(dataKey), valueHashCode));
+        }
+
+        clearExpiredRecordsTask.tryToSendBackupExpiryOp(recordStore, true);
+    }
+
+    public final void tryToSendBackupExpiryOp() {
+        if (mapContainer.getTotalBackupCount() == 0) {
+            return;
+        }
+
+        clearExpiredRecordsTask.tryToSendBackupExpiryOp(recordStore, true);
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore.expiry;
+
+import com.hazelcast.internal.nio.Disposable;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.Clock;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.spi.properties.ClusterProperty;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+import static com.hazelcast.internal.util.TimeStripUtil.recomputeWithBaseTime;
+import static com.hazelcast.internal.util.TimeStripUtil.stripBaseTime;
+import static com.hazelcast.map.impl.ExpirationTimeSetter.nextExpirationTime;
+import static com.hazelcast.map.impl.ExpirationTimeSetter.toMillis;
+import static com.hazelcast.map.impl.ExpirationTimeSetter.toSeconds;
+import static com.hazelcast.map.impl.recordstore.expiry.ExpiryIndex.NOT_FOUND;
+import static com.hazelcast.map.impl.recordstore.expiry.ExpiryIndex.NO_SLOT;
+import static com.hazelcast.map.impl.recordstore.expiry.ExpiryIndex.expirationTimeOf;
+import static com.hazelcast.map.impl.recordstore.expiry.ExpiryIndex.expiresByMaxIdle;
+
+/**
+ * Expiry system which stores the expiry metadata in an {@link ExpiryIndex}.
+ * An expirable key costs a slot in the primitive columns of the index
+ * instead of a map entry and an {@link ExpiryMetadataImpl}, and the expired
+ * keys are found by polling the timing wheel of the index, in time
+ * proportional to the number of due keys instead of scanning all the
+ * expirable keys.
+ * <p>
+ * {@link #getExpiryMetadata} returns a copy of the stored metadata.
+ */
+public class ColumnarExpirySystem extends AbstractExpirySystem {
+
+    private final int expiryDelayTicks;
+    // This is volatile since it is created lazily and dropped on
+    // clear, and it is accessed by query threads besides partition ones.
+    private volatile ExpiryIndex index;
+
+    public ColumnarExpirySystem(RecordStore recordStore,
+                                MapContainer mapContainer,
+                                MapServiceContext mapServiceContext) {
+        super(recordStore, mapContainer, mapServiceContext);
+        this.expiryDelayTicks = mapServiceContext.getNodeEngine().getProperties()
+                .getSeconds(ClusterProperty.MAP_EXPIRY_DELAY_SECONDS);
+    }
+
+    @Override
+    public final boolean isEmpty() {
+        ExpiryIndex index = this.index;
+        return index == null || index.isEmpty();
+    }
+
+    @Override
+    public final void clear() {
+        index = null;
+    }
+
+    @Override
+    protected final void createOrUpdateExpiryMetadata(Data key, long ttlMillis, long maxIdleMillis,
+                                                      long expirationTime, long lastUpdateTime) {
+        ExpiryIndex index = this.index;
+        if (index == null) {
+            index = new ExpiryIndex(stripBaseTime(Clock.currentTimeMillis()));
+            this.index = index;
+        }
+
+        int slot = index.slotOf(key);
+        if (slot == NO_SLOT) {
+            Data nativeKey = recordStore.getStorage().toBackingDataKeyFormat(key);
+            index.add(nativeKey, toSeconds(ttlMillis), toSeconds(maxIdleMillis),
+                    stripBaseTime(expirationTime), stripBaseTime(lastUpdateTime));
+        } else {
+            index.update(slot, toSeconds(ttlMillis), toSeconds(maxIdleMillis),
+                    stripBaseTime(expirationTime), stripBaseTime(lastUpdateTime));
+        }
+    }
+
+    @Override
+    protected final void removeExpiryMetadata(Data key) {
+        ExpiryIndex index = this.index;
+        if (index != null) {
+            index.remove(key);
+        }
+    }
+
+    @Override
+    public final void extendExpiryTime(Data dataKey, long now) {
+        ExpiryIndex index = this.index;
+        if (index == null || index.isEmpty()) {
+            return;
+        }
+
+        int slot = index.slotOf(dataKey);
+        if (slot == NO_SLOT) {
+            return;
+        }
+
+        long maxIdle = toMillis(index.maxIdleAt(slot));
+        if (maxIdle == Long.MAX_VALUE) {
+            return;
+        }
+
+        long ttl = toMillis(index.ttlAt(slot));
+        if (ttl <= maxIdle) {
+            return;
+        }
+
+        // the timing wheel is not touched here: the new expiration time
+        // is always later, the key is rescheduled once its old deadline
+        // is reached and it turns out to be not expired yet
+        long lastUpdateTime = recomputeWithBaseTime(index.lastUpdateTimeAt(slot));
+        index.setExpirationTime(slot, stripBaseTime(nextExpirationTime(ttl, maxIdle, now, lastUpdateTime)));
+    }
+
+    @Override
+    public final ExpiryReason hasExpired(Data key, long now, boolean backup) {
+        ExpiryIndex index = this.index;
+        if (index == null || index.isEmpty()) {
+            return ExpiryReason.NOT_EXPIRED;
+        }
+        long expiration = index.getExpiration(key);
+        if (expiration == NOT_FOUND) {
+            return ExpiryReason.NOT_EXPIRED;
+        }
+        return hasExpired(recomputeWithBaseTime(expirationTimeOf(expiration)),
+                expiresByMaxIdle(expiration), now, backup);
+    }
+
+    @Override
+    @Nonnull
+    public final ExpiryMetadata getExpiryMetadata(Data key) {
+        ExpiryIndex index = this.index;
+        return index == null ? ExpiryMetadata.NULL : index.get(key);
+    }
+
+    @Override
+    protected final int getExpirableKeyCount() {
+        ExpiryIndex index = this.index;
+        return index == null ? 0 : index.size();
+    }
+
+    /**
+     * Polls up to {@value #MAX_SAMPLE_AT_A_TIME} due keys from the timing
+     * wheel. Expired ones are collected to be evicted, the others (not
+     * expired yet due to an extended max-idle, locked or waiting for the
+     * primary) are rescheduled.
+     *
+     * @return number of polled keys
+     */
+    @Override
+    protected final int findExpiredKeys(List batchOfExpired, long now, boolean backup) {
+        ExpiryIndex index = this.index;
+        if (index == null) {
+            return 0;
+        }
+        int nowTick = stripBaseTime(now);
+
+        int polledCount = 0;
+        while (polledCount < MAX_SAMPLE_AT_A_TIME) {
+            int slot = index.poll(nowTick);
+            if (slot == NO_SLOT) {
+                break;
+            }
+            Data key = index.keyAt(slot);
+            ExpiryReason expiryReason = hasExpired(recomputeWithBaseTime(index.expirationTimeAt(slot)),
+                    index.maxIdleAt(slot) <= index.ttlAt(slot), now, backup);
+            if (expiryReason != ExpiryReason.NOT_EXPIRED && !recordStore.isLocked(key)) {
+                // add key and expiryReason to list to evict them later
+                batchOfExpired.add(key);
+                batchOfExpired.add(expiryReason);
+            } else {
+                index.schedule(slot, nextCheckTick(index.expirationTimeAt(slot), nowTick, backup));
+            }
+
+            polledCount++;
+        }
+        return polledCount;
+    }
+
+    private int nextCheckTick(int expirationTime, int nowTick, boolean backup) {
+        long deadline = expirationTime + (backup ? (long) expiryDelayTicks : 0L);
+        if (deadline > nowTick) {
+            return (int) Math.min(deadline, Integer.MAX_VALUE);
+        }
+        // expiration time has passed but the key can't be evicted
+        // now, check it again no earlier than the expiry delay
+        return nowTick + Math.max(1, expiryDelayTicks);
+    }
+
+    @Override
+    protected final boolean hasMoreKeysToScan(int sampledCount) {
+        return sampledCount == MAX_SAMPLE_AT_A_TIME;
+    }
+
+    /**
+     * Puts the keys polled from the timing wheel but
+     * not evicted due to the failure back into the wheel.
+     */
+    @Override
+    protected final void onEvictionFailure(List batchOfExpired, long now) {
+        ExpiryIndex index = this.index;
+        if (index == null) {
+            return;
+        }
+        int nextTick = stripBaseTime(now) + 1;
+        for (int i = 0; i < batchOfExpired.size(); i += 2) {
+            Data key = (Data) batchOfExpired.get(i);
+            if (key == null) {
+                continue;
+            }
+            int slot = index.slotOf(key);
+            if (slot != NO_SLOT && !index.isScheduled(slot)) {
+                index.schedule(slot, nextTick);
+            }
+        }
+    }
+
+    @Nonnull
+    @Override
+    public final Disposable createDisposable() {
+        return this::clear;
+    }
+
+    @Override
+    public final long getHeapCost() {
+        ExpiryIndex index = this.index;
+        return index == null ? 0L : index.getHeapCost();
+    }
+}
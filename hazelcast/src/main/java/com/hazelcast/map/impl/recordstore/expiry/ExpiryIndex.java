@@ -0,0 +1,453 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore.expiry;
+
+import com.hazelcast.internal.serialization.Data;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+import static com.hazelcast.internal.util.HashUtil.fastIntMix;
+import static com.hazelcast.internal.util.JVMUtil.OBJECT_HEADER_SIZE;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+
+/**
+ * Expiry metadata of the expirable keys of a record store, stored in
+ * primitive columns indexed by a slot id instead of in an object per key.
+ * <p>
+ * The slot of a key holds the key, its hash and its raw ttl, max-idle,
+ * last update and expiration times, see {@link ExpiryMetadata#getRawTtl()}
+ * and the other raw getters. Keys are found by an open addressing table of
+ * slot ids with linear probing. Slots are kept dense: removing a key moves
+ * the key of the last slot into its slot, so the columns shrink with the
+ * number of keys. The slots are also scheduled by their expiration time in
+ * an {@link ExpiryTimingWheel} which is sized with the columns.
+ * <p>
+ * The index is modified only by the partition thread owning the record
+ * store, which also reads it without locking. The columns and the table
+ * are modified under the write lock since query threads read them too:
+ * they read optimistically and fall back to the read lock if the index
+ * was modified meanwhile. The timing wheel is used by the partition
+ * thread only.
+ */
+final class ExpiryIndex {
+
+    static final int NO_SLOT = ExpiryTimingWheel.NONE;
+    /**
+     * Returned by {@link #getExpiration} for a key which is not in the index.
+     */
+    static final long NOT_FOUND = Long.MIN_VALUE;
+
+    static final int MIN_CAPACITY = 8;
+    static final int MIN_BUCKET_COUNT = 16;
+
+    private static final int EMPTY_BUCKET = 0;
+    private static final long ARRAY_HEADER_COST_IN_BYTES = OBJECT_HEADER_SIZE + Integer.BYTES;
+    // hashes, ttls, maxIdles, lastUpdateTimes and expirationTimes
+    private static final int INT_COLUMN_COUNT = 5;
+    private static final long SLOT_COST_IN_BYTES = REFERENCE_COST_IN_BYTES + (long) INT_COLUMN_COUNT * Integer.BYTES;
+
+    private final StampedLock lock = new StampedLock();
+    private final ExpiryTimingWheel timingWheel;
+
+    private Data[] keys;
+    private int[] hashes;
+    private int[] ttls;
+    private int[] maxIdles;
+    private int[] lastUpdateTimes;
+    private int[] expirationTimes;
+    // slot + 1 of the key hashed to a bucket, EMPTY_BUCKET if there is none
+    private int[] buckets;
+    private volatile int size;
+    private volatile long columnsCost;
+
+    ExpiryIndex(int currentTick) {
+        this.timingWheel = new ExpiryTimingWheel(currentTick, MIN_CAPACITY);
+        this.keys = new Data[MIN_CAPACITY];
+        this.hashes = new int[MIN_CAPACITY];
+        this.ttls = new int[MIN_CAPACITY];
+        this.maxIdles = new int[MIN_CAPACITY];
+        this.lastUpdateTimes = new int[MIN_CAPACITY];
+        this.expirationTimes = new int[MIN_CAPACITY];
+        this.buckets = new int[MIN_BUCKET_COUNT];
+        updateColumnsCost();
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Can be called by any thread.
+     *
+     * @return a copy of the expiry metadata of the key or
+     * {@link ExpiryMetadata#NULL} if the key is not in the index
+     */
+    ExpiryMetadata get(Data key) {
+        int hash = key.hashCode();
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            ExpiryMetadata expiryMetadata = read(key, hash);
+            if (lock.validate(stamp)) {
+                return expiryMetadata;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return read(key, hash);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Can be called by any thread.
+     *
+     * @return the raw expiration time of the key and whether its max-idle
+     * is not longer than its ttl, decoded by {@link #expirationTimeOf} and
+     * {@link #expiresByMaxIdle}, or {@link #NOT_FOUND} if the key is not in
+     * the index
+     */
+    long getExpiration(Data key) {
+        int hash = key.hashCode();
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            long expiration = readExpiration(key, hash);
+            if (lock.validate(stamp)) {
+                return expiration;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return readExpiration(key, hash);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    static int expirationTimeOf(long expiration) {
+        return (int) (expiration >> 1);
+    }
+
+    static boolean expiresByMaxIdle(long expiration) {
+        return (expiration & 1) != 0;
+    }
+
+    /**
+     * @return the slot of the key or {@link #NO_SLOT} if the key is not in the index
+     */
+    int slotOf(Data key) {
+        int bucket = findBucket(key, key.hashCode());
+        return bucket == NO_SLOT ? NO_SLOT : buckets[bucket] - 1;
+    }
+
+    Data keyAt(int slot) {
+        return keys[slot];
+    }
+
+    int ttlAt(int slot) {
+        return ttls[slot];
+    }
+
+    int maxIdleAt(int slot) {
+        return maxIdles[slot];
+    }
+
+    int lastUpdateTimeAt(int slot) {
+        return lastUpdateTimes[slot];
+    }
+
+    int expirationTimeAt(int slot) {
+        return expirationTimes[slot];
+    }
+
+    /**
+     * Adds a key which is not in the index and schedules it at its expiration time.
+     *
+     * @return the slot of the key
+     */
+    int add(Data key, int ttl, int maxIdle, int expirationTime, int lastUpdateTime) {
+        int hash = key.hashCode();
+        int slot;
+        long stamp = lock.writeLock();
+        try {
+            slot = size;
+            if (slot == keys.length) {
+                resizeColumns(slot + (slot >> 1));
+            }
+            if (slot + 1 > maxLoad(buckets.length)) {
+                rehash(buckets.length << 1);
+            }
+            keys[slot] = key;
+            hashes[slot] = hash;
+            set(slot, ttl, maxIdle, expirationTime, lastUpdateTime);
+            insert(hash, slot);
+            size = slot + 1;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        timingWheel.schedule(slot, expirationTime);
+        return slot;
+    }
+
+    /**
+     * Updates the times of a slot and reschedules it at its new expiration time.
+     */
+    void update(int slot, int ttl, int maxIdle, int expirationTime, int lastUpdateTime) {
+        long stamp = lock.writeLock();
+        try {
+            set(slot, ttl, maxIdle, expirationTime, lastUpdateTime);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        timingWheel.schedule(slot, expirationTime);
+    }
+
+    /**
+     * Sets the expiration time of a slot without rescheduling it.
+     */
+    void setExpirationTime(int slot, int expirationTime) {
+        long stamp = lock.writeLock();
+        try {
+            expirationTimes[slot] = expirationTime;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the key, moving the key of the last slot into its slot.
+     *
+     * @return {@code true} if the key was in the index
+     */
+    boolean remove(Data key) {
+        int bucket = findBucket(key, key.hashCode());
+        if (bucket == NO_SLOT) {
+            return false;
+        }
+        int slot = buckets[bucket] - 1;
+        timingWheel.unschedule(slot);
+        long stamp = lock.writeLock();
+        try {
+            delete(bucket);
+            int last = size - 1;
+            if (slot != last) {
+                moveLast(last, slot);
+            }
+            keys[last] = null;
+            size = last;
+            if (last < buckets.length >> 3 && buckets.length > MIN_BUCKET_COUNT) {
+                rehash(buckets.length >> 1);
+            }
+            if (last < keys.length >> 2 && keys.length > MIN_CAPACITY) {
+                resizeColumns(Math.max(MIN_CAPACITY, keys.length >> 1));
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return true;
+    }
+
+    /**
+     * @return a due slot or {@link #NO_SLOT}
+     * @see ExpiryTimingWheel#poll(int)
+     */
+    int poll(int nowTick) {
+        return timingWheel.poll(nowTick);
+    }
+
+    /**
+     * @see ExpiryTimingWheel#schedule(int, int)
+     */
+    void schedule(int slot, int deadline) {
+        timingWheel.schedule(slot, deadline);
+    }
+
+    boolean isScheduled(int slot) {
+        return timingWheel.isScheduled(slot);
+    }
+
+    /**
+     * Can be called by any thread, the cost of the
+     * timing wheel may be stale in that case.
+     *
+     * @return estimated heap cost of the index in bytes
+     */
+    long getHeapCost() {
+        return columnsCost + timingWheel.getHeapCost();
+    }
+
+    private void set(int slot, int ttl, int maxIdle, int expirationTime, int lastUpdateTime) {
+        ttls[slot] = ttl;
+        maxIdles[slot] = maxIdle;
+        expirationTimes[slot] = expirationTime;
+        lastUpdateTimes[slot] = lastUpdateTime;
+    }
+
+    private void moveLast(int last, int slot) {
+        int hash = hashes[last];
+        int[] buckets = this.buckets;
+        int mask = buckets.length - 1;
+        int bucket = bucketOf(hash, mask);
+        while (buckets[bucket] != last + 1) {
+            bucket = (bucket + 1) & mask;
+        }
+        buckets[bucket] = slot + 1;
+        keys[slot] = keys[last];
+        hashes[slot] = hash;
+        set(slot, ttls[last], maxIdles[last], expirationTimes[last], lastUpdateTimes[last]);
+        timingWheel.move(last, slot);
+    }
+
+    private ExpiryMetadata read(Data key, int hash) {
+        int slot = find(key, hash);
+        int[] ttls = this.ttls;
+        int[] maxIdles = this.maxIdles;
+        int[] expirationTimes = this.expirationTimes;
+        int[] lastUpdateTimes = this.lastUpdateTimes;
+        // the slot may be out of the columns in an optimistic read
+        if (slot == NO_SLOT || slot >= ttls.length || slot >= maxIdles.length
+                || slot >= expirationTimes.length || slot >= lastUpdateTimes.length) {
+            return ExpiryMetadata.NULL;
+        }
+        return new ExpiryMetadataImpl()
+                .setRawTtl(ttls[slot])
+                .setRawMaxIdle(maxIdles[slot])
+                .setRawExpirationTime(expirationTimes[slot])
+                .setRawLastUpdateTime(lastUpdateTimes[slot]);
+    }
+
+    private long readExpiration(Data key, int hash) {
+        int slot = find(key, hash);
+        int[] ttls = this.ttls;
+        int[] maxIdles = this.maxIdles;
+        int[] expirationTimes = this.expirationTimes;
+        // the slot may be out of the columns in an optimistic read
+        if (slot == NO_SLOT || slot >= ttls.length || slot >= maxIdles.length
+                || slot >= expirationTimes.length) {
+            return NOT_FOUND;
+        }
+        return ((long) expirationTimes[slot] << 1) | (maxIdles[slot] <= ttls[slot] ? 1 : 0);
+    }
+
+    private int find(Data key, int hash) {
+        int bucket = findBucket(key, hash);
+        if (bucket == NO_SLOT) {
+            return NO_SLOT;
+        }
+        int[] buckets = this.buckets;
+        return bucket < buckets.length ? buckets[bucket] - 1 : NO_SLOT;
+    }
+
+    /**
+     * Also used by optimistic reads, so it checks the bounds of the arrays
+     * and probes each bucket at most once, even if the index is modified
+     * meanwhile.
+     *
+     * @return the bucket of the key or {@link #NO_SLOT} if the key is not in the index
+     */
+    private int findBucket(Data key, int hash) {
+        int[] buckets = this.buckets;
+        Data[] keys = this.keys;
+        int[] hashes = this.hashes;
+        int mask = buckets.length - 1;
+        int bucket = bucketOf(hash, mask);
+        for (int probes = 0; probes < buckets.length; probes++) {
+            int slot = buckets[bucket] - 1;
+            if (slot < 0) {
+                return NO_SLOT;
+            }
+            if (slot < hashes.length && slot < keys.length
+                    && hashes[slot] == hash && key.equals(keys[slot])) {
+                return bucket;
+            }
+            bucket = (bucket + 1) & mask;
+        }
+        return NO_SLOT;
+    }
+
+    private void insert(int hash, int slot) {
+        int mask = buckets.length - 1;
+        int bucket = bucketOf(hash, mask);
+        while (buckets[bucket] != EMPTY_BUCKET) {
+            bucket = (bucket + 1) & mask;
+        }
+        buckets[bucket] = slot + 1;
+    }
+
+    /**
+     * Empties the bucket, shifting back the keys after it which
+     * can't be found anymore otherwise, so there are no tombstones.
+     */
+    private void delete(int bucket) {
+        int mask = buckets.length - 1;
+        int hole = bucket;
+        int i = bucket;
+        while (true) {
+            i = (i + 1) & mask;
+            int entry = buckets[i];
+            if (entry == EMPTY_BUCKET) {
+                break;
+            }
+            int home = bucketOf(hashes[entry - 1], mask);
+            // the key can move back if the hole is between its home and i
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                buckets[hole] = entry;
+                hole = i;
+            }
+        }
+        buckets[hole] = EMPTY_BUCKET;
+    }
+
+    private void rehash(int bucketCount) {
+        buckets = new int[bucketCount];
+        for (int slot = 0; slot < size; slot++) {
+            insert(hashes[slot], slot);
+        }
+        updateColumnsCost();
+    }
+
+    private void resizeColumns(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+        hashes = Arrays.copyOf(hashes, capacity);
+        ttls = Arrays.copyOf(ttls, capacity);
+        maxIdles = Arrays.copyOf(maxIdles, capacity);
+        lastUpdateTimes = Arrays.copyOf(lastUpdateTimes, capacity);
+        expirationTimes = Arrays.copyOf(expirationTimes, capacity);
+        timingWheel.resize(capacity);
+        updateColumnsCost();
+    }
+
+    private void updateColumnsCost() {
+        // the int columns, the keys and the buckets
+        columnsCost = (INT_COLUMN_COUNT + 2) * ARRAY_HEADER_COST_IN_BYTES
+                + keys.length * SLOT_COST_IN_BYTES
+                + (long) buckets.length * Integer.BYTES;
+    }
+
+    private static int maxLoad(int bucketCount) {
+        return bucketCount - (bucketCount >> 2);
+    }
+
+    private static int bucketOf(int hash, int mask) {
+        return fastIntMix(hash) & mask;
+    }
+}
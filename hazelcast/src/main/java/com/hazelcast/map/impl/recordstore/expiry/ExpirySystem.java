@@ -105,6 +105,11 @@ public interface ExpirySystem {
         public Disposable createDisposable() {
             return EMPTY_DISPOSABLE;
         }
+
+        @Override
+        public long getHeapCost() {
+            return 0L;
+        }
     };
 
     boolean isEmpty();
@@ -154,4 +159,10 @@ public interface ExpirySystem {
      */
     @Nonnull
     Disposable createDisposable();
+
+    /**
+     * @return estimated heap cost in bytes of the
+     * expiry metadata and index held by this expiry system
+     */
+    long getHeapCost();
 }
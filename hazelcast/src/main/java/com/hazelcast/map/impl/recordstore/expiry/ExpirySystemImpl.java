@@ -16,67 +16,39 @@
 
 package com.hazelcast.map.impl.recordstore.expiry;
 
-import com.hazelcast.config.MapConfig;
-import com.hazelcast.internal.eviction.ClearExpiredRecordsTask;
-import com.hazelcast.internal.eviction.ExpiredKey;
-import com.hazelcast.internal.nearcache.impl.invalidation.InvalidationQueue;
 import com.hazelcast.internal.nio.Disposable;
 import com.hazelcast.internal.serialization.Data;
-import com.hazelcast.internal.util.ExceptionUtil;
 import com.hazelcast.internal.util.MapUtil;
-import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.recordstore.RecordStore;
-import com.hazelcast.spi.impl.NodeEngine;
-import com.hazelcast.spi.properties.ClusterProperty;
-import com.hazelcast.spi.properties.HazelcastProperties;
-import com.hazelcast.spi.properties.HazelcastProperty;
 
 import javax.annotation.Nonnull;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
 
-import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
+import static com.hazelcast.internal.util.JVMUtil.OBJECT_HEADER_SIZE;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.nextExpirationTime;
-import static com.hazelcast.map.impl.ExpirationTimeSetter.pickMaxIdleMillis;
-import static com.hazelcast.map.impl.ExpirationTimeSetter.pickTTLMillis;
-import static com.hazelcast.map.impl.record.Record.UNSET;
-import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
- * This class has all logic to remove expired entries. Expiry reason
- * can be ttl or idleness. An instance of this class is created for
- * each {@link RecordStore} and it is always accessed by same single thread.
+ * Expiry system which maps the expirable keys to their {@link
+ * ExpiryMetadata} and finds the expired keys by scanning the map
+ * incrementally. Subclasses can create their own map and metadata.
+ *
+ * @see ColumnarExpirySystem
  */
-public class ExpirySystemImpl implements ExpirySystem {
-    private static final long DEFAULT_EXPIRED_KEY_SCAN_TIMEOUT_NANOS
-            = TimeUnit.MILLISECONDS.toNanos(1);
-    private static final String PROP_EXPIRED_KEY_SCAN_TIMEOUT_NANOS
-            = "hazelcast.internal.map.expired.key.scan.timeout.nanos";
-    private static final HazelcastProperty EXPIRED_KEY_SCAN_TIMEOUT_NANOS
-            = new HazelcastProperty(PROP_EXPIRED_KEY_SCAN_TIMEOUT_NANOS,
-            DEFAULT_EXPIRED_KEY_SCAN_TIMEOUT_NANOS, NANOSECONDS);
-    private static final int ONE_HUNDRED_PERCENT = 100;
-    private static final int MIN_TOTAL_NUMBER_OF_KEYS_TO_SCAN = 100;
-    private static final int MAX_SAMPLE_AT_A_TIME = 16;
-    private static final ThreadLocal<List> BATCH_OF_EXPIRED
-            = ThreadLocal.withInitial(() -> new ArrayList<>(MAX_SAMPLE_AT_A_TIME << 1));
-
-    private final long expiryDelayMillis;
-    private final long expiredKeyScanTimeoutNanos;
-    private final boolean canPrimaryDriveExpiration;
-    private final ILogger logger;
-    private final RecordStore recordStore;
-    private final MapContainer mapContainer;
-    private final MapServiceContext mapServiceContext;
-    private final ClearExpiredRecordsTask clearExpiredRecordsTask;
-    private final InvalidationQueue<ExpiredKey> expiredKeys = new InvalidationQueue<>();
+public class ExpirySystemImpl extends AbstractExpirySystem {
+    /**
+     * Estimated cost of an expirable key: its entry in {@code
+     * expireTimeByKey} and its {@link ExpiryMetadataImpl}.
+     */
+    private static final long EXPIRABLE_KEY_COST_IN_BYTES
+            = OBJECT_HEADER_SIZE + Integer.BYTES + 3L * REFERENCE_COST_IN_BYTES
+            + OBJECT_HEADER_SIZE + 4L * Integer.BYTES;
 
     private Iterator<Map.Entry<Data, ExpiryMetadata>> cachedExpirationIterator;
     // This is volatile since it can be initialized at runtime lazily and
@@ -86,16 +58,7 @@ public class ExpirySystemImpl implements ExpirySystem {
     public ExpirySystemImpl(RecordStore recordStore,
                             MapContainer mapContainer,
                             MapServiceContext mapServiceContext) {
-        this.recordStore = recordStore;
-        this.clearExpiredRecordsTask = mapServiceContext.getExpirationManager().getTask();
-        NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
-        this.logger = nodeEngine.getLogger(getClass());
-        HazelcastProperties hazelcastProperties = nodeEngine.getProperties();
-        this.expiryDelayMillis = hazelcastProperties.getMillis(ClusterProperty.MAP_EXPIRY_DELAY_SECONDS);
-        this.mapContainer = mapContainer;
-        this.mapServiceContext = mapServiceContext;
-        this.canPrimaryDriveExpiration = mapServiceContext.getClearExpiredRecordsTask().canPrimaryDriveExpiration();
-        this.expiredKeyScanTimeoutNanos = nodeEngine.getProperties().getNanos(EXPIRED_KEY_SCAN_TIMEOUT_NANOS);
+        super(recordStore, mapContainer, mapServiceContext);
     }
 
     @Override
@@ -109,7 +72,7 @@ public class ExpirySystemImpl implements ExpirySystem {
         // to this class that's why we used CHM here. Also its
         // iterator doesn't throw ConcurrentModificationException
         // and this makes incremental scanning of expirable
-        // entries easy(see method `scanAndEvictExpiredKeys`).
+        // entries easy(see method `findExpiredKeys`).
         return new ConcurrentHashMap<>();
     }
 
@@ -139,64 +102,9 @@ public class ExpirySystemImpl implements ExpirySystem {
         return new ExpiryMetadataImpl(ttlMillis, maxIdleMillis, expirationTime, lastUpdateTime);
     }
 
-    /**
-     * Add expiryMetadata of key to this expiry system.
-     */
     @Override
-    public final void add(Data key, ExpiryMetadata expiryMetadata, long now) {
-        if (expiryMetadata == ExpiryMetadata.NULL) {
-            removeKeyFromExpirySystem(key);
-            return;
-        }
-
-        add(key, expiryMetadata.getTtl(), expiryMetadata.getMaxIdle(),
-                expiryMetadata.getExpirationTime(),
-                expiryMetadata.getLastUpdateTime(), now);
-
-    }
-
-    /**
-     * Add expirable key to this expiry system.
-     */
-    @Override
-    public final void add(Data key, long ttl, long maxIdle,
-                          long expiryTime, long lastUpdateTime, long now) {
-        // If expiry-time <= 0, no expiry-time exists, this is update
-        // or first put of the key, hence we need to calculate it.
-        // If expiry-time > 0, this means we have a previously
-        // calculated expiry-time, we see this case in data replications.
-        if (expiryTime <= 0) {
-            MapConfig mapConfig = mapContainer.getMapConfig();
-            ttl = pickTTLMillis(mapConfig, ttl);
-            maxIdle = pickMaxIdleMillis(mapConfig, maxIdle);
-            expiryTime = nextExpirationTime(ttl, maxIdle, now, lastUpdateTime);
-        }
-
-        storeExpiryMetadata(key, ttl, maxIdle, expiryTime, lastUpdateTime);
-    }
-
-    @Override
-    public final void add(Data key, long lastUpdateTime, long now) {
-        add(key, UNSET, UNSET, UNSET, lastUpdateTime, now);
-    }
-
-    private void storeExpiryMetadata(Data key, long ttlMillis, long maxIdleMillis,
-                                     long expirationTime, long lastUpdateTime) {
-        // If expirationTime is long max, this
-        // means key is no longer expirable.
-        if (expirationTime == Long.MAX_VALUE) {
-            removeKeyFromExpirySystem(key);
-            return;
-        }
-
-        createOrUpdateExpiryMetadata(key, ttlMillis, maxIdleMillis,
-                expirationTime, lastUpdateTime);
-
-        mapServiceContext.getExpirationManager().scheduleExpirationTask();
-    }
-
-    private void createOrUpdateExpiryMetadata(Data key, long ttlMillis, long maxIdleMillis,
-                                              long expirationTime, long lastUpdateTime) {
+    protected final void createOrUpdateExpiryMetadata(Data key, long ttlMillis, long maxIdleMillis,
+                                                      long expirationTime, long lastUpdateTime) {
         Map<Data, ExpiryMetadata> expireTimeByKey = getOrCreateExpireTimeByKeyMap(true);
         ExpiryMetadata expiryMetadata = expireTimeByKey.get(key);
 
@@ -217,19 +125,7 @@ public class ExpirySystemImpl implements ExpirySystem {
     }
 
     @Override
-    public final long calculateExpirationTime(long ttl, long maxIdle,
-                                              long now, long lastUpdateTime) {
-        MapConfig mapConfig = mapContainer.getMapConfig();
-        long ttlMillis = pickTTLMillis(mapConfig, ttl);
-        long maxIdleMillis = pickMaxIdleMillis(mapConfig, maxIdle);
-        return nextExpirationTime(ttlMillis, maxIdleMillis, now, lastUpdateTime);
-    }
-
-    @Override
-    public final void removeKeyFromExpirySystem(Data key) {
-        if (isEmpty()) {
-            return;
-        }
+    protected final void removeExpiryMetadata(Data key) {
         callRemove(key, expireTimeByKey);
     }
 
@@ -267,34 +163,6 @@ public class ExpirySystemImpl implements ExpirySystem {
         return hasExpired(expiryMetadata, now, backup);
     }
 
-    private ExpiryReason hasExpired(ExpiryMetadata expiryMetadata, long now, boolean backup) {
-        if (expiryMetadata == null || expiryMetadata == ExpiryMetadata.NULL) {
-            return ExpiryReason.NOT_EXPIRED;
-        }
-
-        long nextExpirationTime = backup
-                ? expiryMetadata.getExpirationTime() + expiryDelayMillis
-                : expiryMetadata.getExpirationTime();
-
-        if (nextExpirationTime > now) {
-            return ExpiryReason.NOT_EXPIRED;
-        }
-
-        ExpiryReason expiryReason = expiryMetadata.getMaxIdle() <= expiryMetadata.getTtl()
-                ? ExpiryReason.MAX_IDLE_SECONDS : ExpiryReason.TTL;
-
-        if (backup && canPrimaryDriveExpiration
-                && expiryReason == ExpiryReason.MAX_IDLE_SECONDS) {
-            return ExpiryReason.NOT_EXPIRED;
-        }
-        return expiryReason;
-    }
-
-    @Override
-    public final InvalidationQueue<ExpiredKey> getExpiredKeys() {
-        return expiredKeys;
-    }
-
     @Override
     @Nonnull
     public final ExpiryMetadata getExpiryMetadata(Data key) {
@@ -302,63 +170,14 @@ public class ExpirySystemImpl implements ExpirySystem {
         return expiryMetadata != null ? expiryMetadata : ExpiryMetadata.NULL;
     }
 
-    @SuppressWarnings("checkstyle:magicnumber")
     @Override
-    public final void evictExpiredEntries(final int percentage, final long now, final boolean backup) {
-        // 1. Find how many keys we can scan at max.
-        final int maxScannableCount = findMaxScannableCount(percentage);
-        if (maxScannableCount == 0) {
-            // no expirable entry exists.
-            return;
-        }
-
-        // 2. Do scanning and evict expired keys.
-        int scannedCount = 0;
-        int expiredCount = 0;
-        long scanLoopStartNanos = System.nanoTime();
-        try {
-            do {
-                scannedCount += findExpiredKeys(now, backup);
-                expiredCount += evictExpiredKeys(backup);
-            } while (scannedCount < maxScannableCount && getOrInitCachedIterator().hasNext()
-                    && (System.nanoTime() - scanLoopStartNanos) < expiredKeyScanTimeoutNanos);
-        } catch (Exception e) {
-            BATCH_OF_EXPIRED.get().clear();
-            throw ExceptionUtil.rethrow(e);
-        }
-
-        // 3. Send expired keys to backups(only valid for max-idle-expiry)
-        tryToSendBackupExpiryOp();
-
-        if (logger.isFinestEnabled()) {
-            logProgress(maxScannableCount, scannedCount,
-                    expiredCount, scanLoopStartNanos, backup);
-        }
-    }
-
-
-    private void logProgress(int maxScannableCount, int scannedCount,
-                             int expiredCount, long scanLoopStartNanos, boolean backup) {
-        logger.finest(String.format("mapName=%s, partitionId=%d, backup=%s, partitionSize=%d, "
-                        + "maxScannableCount=%d, scannedCount=%d, expiredCount=%d, "
-                        + "remainedCount=%d, scanTookNanos=%d"
-                , recordStore.getName(), recordStore.getPartitionId(), backup, recordStore.size()
-                , maxScannableCount, scannedCount, expiredCount, expireTimeByKey.size(),
-                (System.nanoTime() - scanLoopStartNanos)));
+    protected final int getExpirableKeyCount() {
+        return getOrCreateExpireTimeByKeyMap(false).size();
     }
 
-    private int findMaxScannableCount(int percentage) {
-        if (isEmpty()) {
-            return 0;
-        }
-
-        int numberOfExpirableKeys = expireTimeByKey.size();
-        if (numberOfExpirableKeys <= MIN_TOTAL_NUMBER_OF_KEYS_TO_SCAN) {
-            return numberOfExpirableKeys;
-        }
-
-        int percentageOfExpirableKeys = (int) (1D * numberOfExpirableKeys * percentage / ONE_HUNDRED_PERCENT);
-        return Math.max(MIN_TOTAL_NUMBER_OF_KEYS_TO_SCAN, percentageOfExpirableKeys);
+    @Override
+    protected final boolean hasMoreKeysToScan(int sampledCount) {
+        return getOrInitCachedIterator().hasNext();
     }
 
     /**
@@ -371,9 +190,8 @@ public class ExpirySystemImpl implements ExpirySystem {
         return cachedExpirationIterator;
     }
 
-    private int findExpiredKeys(long now, boolean backup) {
-        List batchOfExpired = BATCH_OF_EXPIRED.get();
-
+    @Override
+    protected final int findExpiredKeys(List batchOfExpired, long now, boolean backup) {
         int scannedCount = 0;
         Iterator<Map.Entry<Data, ExpiryMetadata>> cachedIterator = getOrInitCachedIterator();
         while (scannedCount < MAX_SAMPLE_AT_A_TIME && cachedIterator.hasNext()) {
@@ -393,24 +211,6 @@ public class ExpirySystemImpl implements ExpirySystem {
         return scannedCount;
     }
 
-    private int evictExpiredKeys(boolean backup) {
-        int evictedCount = 0;
-
-        List batchOfExpired = BATCH_OF_EXPIRED.get();
-        try {
-            for (int i = 0; i < batchOfExpired.size(); i += 2) {
-                Data key = (Data) batchOfExpired.get(i);
-                ExpiryReason expiryReason = (ExpiryReason) batchOfExpired.get(i + 1);
-                recordStore.evictExpiredEntryAndPublishExpiryEvent(key, expiryReason, backup);
-                callRemove(key, expireTimeByKey);
-                evictedCount++;
-            }
-        } finally {
-            batchOfExpired.clear();
-        }
-        return evictedCount;
-    }
-
     // this method is overridden
     protected ExpiryMetadata getExpiryMetadataForExpiryCheck(Data key,
                                                              Map<Data, ExpiryMetadata> expireTimeByKey) {
@@ -434,24 +234,9 @@ public class ExpirySystemImpl implements ExpirySystem {
         return () -> getOrCreateExpireTimeByKeyMap(false).clear();
     }
 
+    // this method is overridden
     @Override
-    public final void accumulateOrSendExpiredKey(Data dataKey, long valueHashCode) {
-        if (mapContainer.getTotalBackupCount() == 0) {
-            return;
-        }
-
-        if (dataKey != null) {
-            expiredKeys.offer(new ExpiredKey(toHeapData(dataKey), valueHashCode));
-        }
-
-        clearExpiredRecordsTask.tryToSendBackupExpiryOp(recordStore, true);
-    }
-
-    public final void tryToSendBackupExpiryOp() {
-        if (mapContainer.getTotalBackupCount() == 0) {
-            return;
-        }
-
-        clearExpiredRecordsTask.tryToSendBackupExpiryOp(recordStore, true);
+    public long getHeapCost() {
+        return getOrCreateExpireTimeByKeyMap(false).size() * EXPIRABLE_KEY_COST_IN_BYTES;
     }
 }
@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore.expiry;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.util.JVMUtil.OBJECT_HEADER_SIZE;
+
+/**
+ * Hierarchical timing wheel which orders the slots of an {@link ExpiryIndex}
+ * by the second they are due, so that finding the expired keys of a record
+ * store costs time proportional to the number of due keys instead of the
+ * number of expirable keys.
+ * <p>
+ * Time is measured in ticks of one second, in the same stripped form as
+ * the raw expiration times, see {@link com.hazelcast.internal.util.TimeStripUtil}.
+ * The wheel has {@value #LEVEL_COUNT} levels of {@value #SLOTS_PER_LEVEL}
+ * buckets, a bucket of level {@code n} spans {@code 64^n} ticks. A deadline
+ * is kept at the lowest level which still distinguishes it from the
+ * current tick and moves to the lower levels as the current tick
+ * approaches it.
+ * <p>
+ * Each bucket is a doubly-linked list of index slots. The links and the
+ * deadlines are stored in {@code int} arrays indexed by the slot, sized
+ * with {@link #resize}, so scheduling and unscheduling allocate nothing
+ * and take constant time. The previous link of the first slot of a list
+ * encodes its bucket. The bucket heads of a level are allocated on first
+ * use and released when the wheel becomes empty.
+ * <p>
+ * Not thread-safe, it is accessed only by the partition thread owning
+ * the record store.
+ */
+final class ExpiryTimingWheel {
+
+    static final int NONE = -1;
+
+    static final int SLOT_BITS = 6;
+    static final int SLOTS_PER_LEVEL = 1 << SLOT_BITS;
+    /**
+     * 6 levels of 6 bits cover all non-negative {@code int} ticks.
+     */
+    static final int LEVEL_COUNT = 6;
+
+    private static final int SLOT_MASK = SLOTS_PER_LEVEL - 1;
+    private static final long INT_ARRAY_HEADER_COST_IN_BYTES = OBJECT_HEADER_SIZE + Integer.BYTES;
+    private static final long HEADS_COST_IN_BYTES
+            = INT_ARRAY_HEADER_COST_IN_BYTES + (long) SLOTS_PER_LEVEL * Integer.BYTES;
+
+    private final int[][] heads = new int[LEVEL_COUNT][];
+    // bit n of a level is set if its bucket n is not empty
+    private final long[] occupied = new long[LEVEL_COUNT];
+    private int[] next;
+    // the previous slot, or -2 - bucket for the first slot of a bucket
+    private int[] prev;
+    private int[] deadlines;
+    private int currentTick;
+    private int size;
+
+    ExpiryTimingWheel(int currentTick, int capacity) {
+        this.currentTick = Math.max(0, currentTick);
+        this.next = new int[0];
+        this.prev = new int[0];
+        this.deadlines = new int[0];
+        resize(capacity);
+    }
+
+    /**
+     * Sets the number of slots the wheel can schedule. Shrinking the
+     * wheel drops the slots at and above the capacity, they must not be
+     * scheduled.
+     */
+    void resize(int capacity) {
+        int oldCapacity = prev.length;
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+        deadlines = Arrays.copyOf(deadlines, capacity);
+        if (capacity > oldCapacity) {
+            Arrays.fill(prev, oldCapacity, capacity, NONE);
+        }
+    }
+
+    /**
+     * Schedules the slot to be returned by {@link #poll(int)} once the
+     * given tick is reached. Reschedules it if it is already scheduled.
+     * Deadlines in the past are due at the current tick.
+     */
+    void schedule(int slot, int deadline) {
+        unschedule(slot);
+        deadlines[slot] = Math.max(deadline, currentTick);
+        link(slot);
+        size++;
+    }
+
+    /**
+     * Removes the slot from the wheel, it is a no-op if the slot is not scheduled.
+     */
+    void unschedule(int slot) {
+        if (!isScheduled(slot)) {
+            return;
+        }
+        unlink(slot);
+        if (--size == 0) {
+            release();
+        }
+    }
+
+    boolean isScheduled(int slot) {
+        return prev[slot] != NONE;
+    }
+
+    int deadline(int slot) {
+        return deadlines[slot];
+    }
+
+    /**
+     * Moves the scheduling of a slot to another slot which is not scheduled.
+     */
+    void move(int from, int to) {
+        int prevSlot = prev[from];
+        if (prevSlot == NONE) {
+            return;
+        }
+        int nextSlot = next[from];
+        prev[to] = prevSlot;
+        next[to] = nextSlot;
+        deadlines[to] = deadlines[from];
+        if (prevSlot < 0) {
+            int bucket = -2 - prevSlot;
+            heads[bucket >>> SLOT_BITS][bucket & SLOT_MASK] = to;
+        } else {
+            next[prevSlot] = to;
+        }
+        if (nextSlot != NONE) {
+            prev[nextSlot] = to;
+        }
+        prev[from] = NONE;
+    }
+
+    /**
+     * Removes and returns a slot whose deadline is not after {@code nowTick},
+     * advancing the current tick up to {@code nowTick} while looking for one.
+     *
+     * @return a due slot or {@link #NONE} if there is none
+     */
+    int poll(int nowTick) {
+        while (size > 0 && currentTick <= nowTick) {
+            int bucket = currentTick & SLOT_MASK;
+            int[] lowest = heads[0];
+            if (lowest != null && lowest[bucket] != NONE) {
+                int slot = lowest[bucket];
+                unschedule(slot);
+                return slot;
+            }
+            if (currentTick == nowTick) {
+                return NONE;
+            }
+            // skip to the next non-empty bucket of the lowest level or,
+            // if there is none, to its last bucket before the next cascade
+            long laterBuckets = occupied[0] & (-2L << bucket);
+            if (laterBuckets != 0) {
+                currentTick = Math.min(nowTick, (currentTick & ~SLOT_MASK) | Long.numberOfTrailingZeros(laterBuckets));
+            } else {
+                currentTick = Math.min(nowTick, currentTick | SLOT_MASK);
+                if (currentTick < nowTick) {
+                    advance();
+                }
+            }
+        }
+        if (size == 0 && currentTick < nowTick) {
+            currentTick = nowTick;
+        }
+        return NONE;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int currentTick() {
+        return currentTick;
+    }
+
+    /**
+     * @return estimated heap cost of the wheel in bytes
+     */
+    long getHeapCost() {
+        // next, prev and deadlines
+        long cost = 3 * (INT_ARRAY_HEADER_COST_IN_BYTES + (long) prev.length * Integer.BYTES);
+        for (int[] levelHeads : heads) {
+            if (levelHeads != null) {
+                cost += HEADS_COST_IN_BYTES;
+            }
+        }
+        return cost;
+    }
+
+    private void advance() {
+        currentTick++;
+        int level = 0;
+        while (level + 1 < LEVEL_COUNT
+                && (currentTick & ((1 << ((level + 1) * SLOT_BITS)) - 1)) == 0) {
+            level++;
+        }
+        // cascade the higher levels first, their slots may land
+        // in the buckets of the lower levels which are cascaded next
+        for (; level > 0; level--) {
+            cascade(level, (currentTick >>> (level * SLOT_BITS)) & SLOT_MASK);
+        }
+    }
+
+    private void cascade(int level, int bucket) {
+        int[] levelHeads = heads[level];
+        if (levelHeads == null || levelHeads[bucket] == NONE) {
+            return;
+        }
+        int slot = levelHeads[bucket];
+        levelHeads[bucket] = NONE;
+        occupied[level] &= ~(1L << bucket);
+        while (slot != NONE) {
+            int nextSlot = next[slot];
+            link(slot);
+            slot = nextSlot;
+        }
+    }
+
+    private void link(int slot) {
+        int deadline = deadlines[slot];
+        int level = levelOf(deadline);
+        int bucket = (deadline >>> (level * SLOT_BITS)) & SLOT_MASK;
+        int[] levelHeads = heads[level];
+        if (levelHeads == null) {
+            levelHeads = new int[SLOTS_PER_LEVEL];
+            Arrays.fill(levelHeads, NONE);
+            heads[level] = levelHeads;
+        }
+        int head = levelHeads[bucket];
+        int headLink = -2 - ((level << SLOT_BITS) | bucket);
+        prev[slot] = headLink;
+        next[slot] = head;
+        if (head != NONE) {
+            prev[head] = slot;
+        }
+        levelHeads[bucket] = slot;
+        occupied[level] |= 1L << bucket;
+    }
+
+    private void unlink(int slot) {
+        int prevSlot = prev[slot];
+        int nextSlot = next[slot];
+        if (prevSlot < 0) {
+            int bucket = -2 - prevSlot;
+            int level = bucket >>> SLOT_BITS;
+            heads[level][bucket & SLOT_MASK] = nextSlot;
+            if (nextSlot == NONE) {
+                occupied[level] &= ~(1L << (bucket & SLOT_MASK));
+            }
+        } else {
+            next[prevSlot] = nextSlot;
+        }
+        if (nextSlot != NONE) {
+            prev[nextSlot] = prevSlot;
+        }
+        prev[slot] = NONE;
+    }
+
+    /**
+     * @return the lowest level at which the deadline and the
+     * current tick differ only in the bucket index of that level
+     */
+    private int levelOf(int deadline) {
+        int diff = deadline ^ currentTick;
+        if (diff <= SLOT_MASK) {
+            return 0;
+        }
+        int highestDifferentBit = Integer.SIZE - 1 - Integer.numberOfLeadingZeros(diff);
+        return highestDifferentBit / SLOT_BITS;
+    }
+
+    private void release() {
+        Arrays.fill(heads, null);
+        Arrays.fill(occupied, 0L);
+    }
+}
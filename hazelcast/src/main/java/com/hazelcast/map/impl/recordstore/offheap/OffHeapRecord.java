@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore.offheap;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordReaderWriter;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.util.TimeStripUtil.recomputeWithBaseTime;
+import static com.hazelcast.internal.util.TimeStripUtil.stripBaseTime;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.DATA_RECORD_WITH_STATS_READER_WRITER;
+
+/**
+ * Flyweight {@link Record} view over a record block allocated in native
+ * memory by {@link OffHeapRecordFactory}. Instances are cheap, short-lived
+ * handles: all state lives in the native block and any number of handles
+ * may point at the same block.
+ * <p>
+ * Layout of the record block:
+ * <pre>
+ * +--------------------------+ 0
+ * | next record in bucket    | long
+ * | key blob address         | long
+ * | key hash                 | long
+ * | value blob address       | long
+ * | key size                 | int
+ * | value size               | int
+ * | version                  | int
+ * | hits                     | int
+ * | last access time         | int
+ * | last update time         | int
+ * | creation time            | int
+ * | last stored time         | int
+ * +--------------------------+ 64
+ * </pre>
+ * Times are stored in the same stripped form as on-heap records use,
+ * see {@link com.hazelcast.internal.util.TimeStripUtil}.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public final class OffHeapRecord implements Record<Data> {
+
+    static final int NEXT_OFFSET = 0;
+    static final int KEY_ADDRESS_OFFSET = 8;
+    static final int KEY_HASH_OFFSET = 16;
+    static final int VALUE_ADDRESS_OFFSET = 24;
+    static final int KEY_SIZE_OFFSET = 32;
+    static final int VALUE_SIZE_OFFSET = 36;
+    static final int VERSION_OFFSET = 40;
+    static final int HITS_OFFSET = 44;
+    static final int LAST_ACCESS_TIME_OFFSET = 48;
+    static final int LAST_UPDATE_TIME_OFFSET = 52;
+    static final int CREATION_TIME_OFFSET = 56;
+    static final int LAST_STORED_TIME_OFFSET = 60;
+    static final int SIZE = 64;
+
+    private final OffHeapRecordFactory factory;
+    private final long address;
+
+    OffHeapRecord(OffHeapRecordFactory factory, long address) {
+        assert address != NULL_ADDRESS;
+        this.factory = factory;
+        this.address = address;
+    }
+
+    long address() {
+        return address;
+    }
+
+    @Override
+    public Data getValue() {
+        return factory.readBlob(MEM.getLong(address + VALUE_ADDRESS_OFFSET),
+                MEM.getInt(address + VALUE_SIZE_OFFSET));
+    }
+
+    @Override
+    public void setValue(Data value) {
+        factory.writeValue(address, value);
+    }
+
+    /**
+     * @return native memory footprint of this record in bytes,
+     * including its key and value blobs
+     */
+    @Override
+    public long getCost() {
+        return SIZE + MEM.getInt(address + KEY_SIZE_OFFSET) + MEM.getInt(address + VALUE_SIZE_OFFSET);
+    }
+
+    @Override
+    public int getVersion() {
+        return MEM.getInt(address + VERSION_OFFSET);
+    }
+
+    @Override
+    public void setVersion(int version) {
+        MEM.putInt(address + VERSION_OFFSET, version);
+    }
+
+    @Override
+    public RecordReaderWriter getMatchingRecordReaderWriter() {
+        return DATA_RECORD_WITH_STATS_READER_WRITER;
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return recomputeWithBaseTime(getRawLastAccessTime());
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        setRawLastAccessTime(stripBaseTime(lastAccessTime));
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return recomputeWithBaseTime(getRawLastUpdateTime());
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        setRawLastUpdateTime(stripBaseTime(lastUpdateTime));
+    }
+
+    @Override
+    public long getCreationTime() {
+        return recomputeWithBaseTime(getRawCreationTime());
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        setRawCreationTime(stripBaseTime(creationTime));
+    }
+
+    @Override
+    public int getHits() {
+        return MEM.getInt(address + HITS_OFFSET);
+    }
+
+    @Override
+    public void setHits(int hits) {
+        MEM.putInt(address + HITS_OFFSET, hits);
+    }
+
+    @Override
+    public long getLastStoredTime() {
+        int lastStoredTime = getRawLastStoredTime();
+        if (lastStoredTime == UNSET) {
+            return 0L;
+        }
+        return recomputeWithBaseTime(lastStoredTime);
+    }
+
+    @Override
+    public void setLastStoredTime(long lastStoredTime) {
+        setRawLastStoredTime(stripBaseTime(lastStoredTime));
+    }
+
+    @Override
+    public int getRawCreationTime() {
+        return MEM.getInt(address + CREATION_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawCreationTime(int creationTime) {
+        MEM.putInt(address + CREATION_TIME_OFFSET, creationTime);
+    }
+
+    @Override
+    public int getRawLastAccessTime() {
+        return MEM.getInt(address + LAST_ACCESS_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastAccessTime(int lastAccessTime) {
+        MEM.putInt(address + LAST_ACCESS_TIME_OFFSET, lastAccessTime);
+    }
+
+    @Override
+    public int getRawLastUpdateTime() {
+        return MEM.getInt(address + LAST_UPDATE_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastUpdateTime(int lastUpdateTime) {
+        MEM.putInt(address + LAST_UPDATE_TIME_OFFSET, lastUpdateTime);
+    }
+
+    @Override
+    public int getRawLastStoredTime() {
+        return MEM.getInt(address + LAST_STORED_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastStoredTime(int lastStoredTime) {
+        MEM.putInt(address + LAST_STORED_TIME_OFFSET, lastStoredTime);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OffHeapRecord)) {
+            return false;
+        }
+        return address == ((OffHeapRecord) o).address;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(address);
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapRecord{"
+                + "address=" + address
+                + ", version=" + getVersion()
+                + ", hits=" + getHits()
+                + ", lastAccessTime=" + getRawLastAccessTime()
+                + ", lastUpdateTime=" + getRawLastUpdateTime()
+                + ", creationTime=" + getRawCreationTime()
+                + '}';
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore.offheap;
+
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordFactory;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.CREATION_TIME_OFFSET;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.KEY_ADDRESS_OFFSET;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.KEY_SIZE_OFFSET;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.LAST_ACCESS_TIME_OFFSET;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.LAST_STORED_TIME_OFFSET;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.LAST_UPDATE_TIME_OFFSET;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.SIZE;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.VALUE_ADDRESS_OFFSET;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.VALUE_SIZE_OFFSET;
+
+/**
+ * Allocates {@link OffHeapRecord}s and their key/value blobs in native
+ * memory and owns the {@link UnsafeMallocMemoryManager} of a single
+ * {@link OffHeapStorage}.
+ * <p>
+ * Blocks which become unreachable during an operation (removed records,
+ * replaced values) are not freed immediately, since record handles of the
+ * running operation may still point at them. They are queued and released
+ * by {@link #disposeDeferredBlocks()} once the operation is done. Records
+ * created by {@link #newRecord} but never linked into the storage (e.g.
+ * because a MapStore call failed in between) are released there as well.
+ * <p>
+ * Not thread-safe, it is accessed only by the partition thread owning the
+ * record store.
+ */
+public class OffHeapRecordFactory implements RecordFactory<Data> {
+
+    private final UnsafeMallocMemoryManager memoryManager;
+    private final MemoryAllocator malloc;
+    private final SerializationService ss;
+    private final BlockList pendingRecords = new BlockList();
+    private final BlockList deferredBlocks = new BlockList();
+
+    public OffHeapRecordFactory(SerializationService ss) {
+        this.ss = ss;
+        this.memoryManager = new UnsafeMallocMemoryManager();
+        this.malloc = memoryManager.getAllocator();
+    }
+
+    @Override
+    public Record<Data> newRecord(Data key, Object value) {
+        Data valueData = ss.toData(value);
+
+        long address = malloc.allocate(SIZE);
+        MEM.putInt(address + LAST_ACCESS_TIME_OFFSET, Record.UNSET);
+        MEM.putInt(address + LAST_UPDATE_TIME_OFFSET, Record.UNSET);
+        MEM.putInt(address + CREATION_TIME_OFFSET, Record.UNSET);
+        MEM.putInt(address + LAST_STORED_TIME_OFFSET, Record.UNSET);
+        pendingRecords.add(address, SIZE);
+
+        if (valueData != null) {
+            MEM.putLong(address + VALUE_ADDRESS_OFFSET, allocateBlob(valueData));
+            MEM.putInt(address + VALUE_SIZE_OFFSET, valueData.totalSize());
+        }
+        return new OffHeapRecord(this, address);
+    }
+
+    OffHeapRecord wrap(long address) {
+        return new OffHeapRecord(this, address);
+    }
+
+    /**
+     * Copies the given data into a newly allocated native blob.
+     *
+     * @return address of the blob, or {@link MemoryAllocator#NULL_ADDRESS} for an empty data
+     */
+    long allocateBlob(Data data) {
+        int size = data.totalSize();
+        if (size == 0) {
+            return NULL_ADDRESS;
+        }
+        long blobAddress = malloc.allocate(size);
+        MEM.copyFromByteArray(data.toByteArray(), 0, blobAddress, size);
+        return blobAddress;
+    }
+
+    /**
+     * @return an on-heap copy of the blob, or {@code null} when there is no blob
+     */
+    Data readBlob(long blobAddress, int size) {
+        if (blobAddress == NULL_ADDRESS) {
+            return null;
+        }
+        byte[] bytes = new byte[size];
+        MEM.copyToByteArray(blobAddress, bytes, 0, size);
+        return new HeapData(bytes);
+    }
+
+    /**
+     * Replaces the value blob of the given record. Overwrites the
+     * existing blob in place when the new value has the same size.
+     */
+    void writeValue(long recordAddress, Data value) {
+        long oldBlobAddress = MEM.getLong(recordAddress + VALUE_ADDRESS_OFFSET);
+        int oldSize = MEM.getInt(recordAddress + VALUE_SIZE_OFFSET);
+        int newSize = value == null ? 0 : value.totalSize();
+
+        if (oldBlobAddress != NULL_ADDRESS && oldSize == newSize) {
+            MEM.copyFromByteArray(value.toByteArray(), 0, oldBlobAddress, newSize);
+            return;
+        }
+
+        if (oldBlobAddress != NULL_ADDRESS) {
+            deferredBlocks.add(oldBlobAddress, oldSize);
+        }
+        MEM.putLong(recordAddress + VALUE_ADDRESS_OFFSET, value == null ? NULL_ADDRESS : allocateBlob(value));
+        MEM.putInt(recordAddress + VALUE_SIZE_OFFSET, newSize);
+    }
+
+    /**
+     * Releases the record block together with its key and value blobs.
+     *
+     * @param deferred {@code true} to release the memory only on the next
+     *                 call to {@link #disposeDeferredBlocks()}
+     */
+    void freeRecord(long recordAddress, boolean deferred) {
+        long keyAddress = MEM.getLong(recordAddress + KEY_ADDRESS_OFFSET);
+        int keySize = MEM.getInt(recordAddress + KEY_SIZE_OFFSET);
+        long valueAddress = MEM.getLong(recordAddress + VALUE_ADDRESS_OFFSET);
+        int valueSize = MEM.getInt(recordAddress + VALUE_SIZE_OFFSET);
+
+        if (deferred) {
+            if (keyAddress != NULL_ADDRESS) {
+                deferredBlocks.add(keyAddress, keySize);
+            }
+            if (valueAddress != NULL_ADDRESS) {
+                deferredBlocks.add(valueAddress, valueSize);
+            }
+            deferredBlocks.add(recordAddress, SIZE);
+        } else {
+            if (keyAddress != NULL_ADDRESS) {
+                malloc.free(keyAddress, keySize);
+            }
+            if (valueAddress != NULL_ADDRESS) {
+                malloc.free(valueAddress, valueSize);
+            }
+            malloc.free(recordAddress, SIZE);
+        }
+    }
+
+    MemoryAllocator malloc() {
+        return malloc;
+    }
+
+    /**
+     * Frees the blocks queued during the last operation(s) and the
+     * records which were created but never linked into the storage.
+     */
+    public void disposeDeferredBlocks() {
+        // pending records must be inspected before any deferred block is freed,
+        // since a pending record may have been linked and later removed
+        for (int i = 0; i < pendingRecords.size(); i++) {
+            long recordAddress = pendingRecords.address(i);
+            if (MEM.getLong(recordAddress + KEY_ADDRESS_OFFSET) == NULL_ADDRESS) {
+                freeRecord(recordAddress, false);
+            }
+        }
+        pendingRecords.clear();
+
+        for (int i = 0; i < deferredBlocks.size(); i++) {
+            malloc.free(deferredBlocks.address(i), deferredBlocks.blockSize(i));
+        }
+        deferredBlocks.clear();
+    }
+
+    /**
+     * @return the number of native memory bytes currently in use,
+     * including blocks waiting for deferred disposal
+     */
+    public long getUsedMemory() {
+        return memoryManager.getUsedMemory();
+    }
+
+    public void dispose() {
+        disposeDeferredBlocks();
+        memoryManager.dispose();
+    }
+
+    /**
+     * Growable list of (address, size) pairs of native memory blocks.
+     */
+    private static final class BlockList {
+
+        private static final int INITIAL_CAPACITY = 32;
+
+        private long[] blocks = new long[INITIAL_CAPACITY];
+        private int size;
+
+        void add(long address, long blockSize) {
+            int index = size << 1;
+            if (index == blocks.length) {
+                blocks = Arrays.copyOf(blocks, blocks.length << 1);
+            }
+            blocks[index] = address;
+            blocks[index + 1] = blockSize;
+            size++;
+        }
+
+        long address(int i) {
+            return blocks[i << 1];
+        }
+
+        long blockSize(int i) {
+            return blocks[(i << 1) + 1];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            if (blocks.length > INITIAL_CAPACITY << 1) {
+                blocks = new long[INITIAL_CAPACITY];
+            }
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,510 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore.offheap;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.LazyEvictableEntryView;
+import com.hazelcast.map.impl.recordstore.Storage;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.HeapMemoryAccessor.ARRAY_BYTE_BASE_OFFSET;
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.KEY_ADDRESS_OFFSET;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.KEY_HASH_OFFSET;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.KEY_SIZE_OFFSET;
+import static com.hazelcast.map.impl.recordstore.offheap.OffHeapRecord.NEXT_OFFSET;
+
+/**
+ * {@link Storage} which keeps keys, values and record metadata of an
+ * {@link com.hazelcast.map.IMap} partition in native memory, so that the
+ * entries do not add to the Java heap and the GC work.
+ * <p>
+ * Records are {@link OffHeapRecord} blocks allocated by an {@link
+ * OffHeapRecordFactory} and linked into a chained hash table whose bucket
+ * array is also allocated in native memory. The bucket of a key is derived
+ * from {@link Data#hash64()}, which is stored in the record to avoid
+ * rehashing the key blob on table growth. The table only grows, by doubling
+ * its capacity, which lets the iteration contracts of {@link Storage} be
+ * implemented the same way as in {@link
+ * com.hazelcast.internal.util.SampleableConcurrentHashMap}.
+ * <p>
+ * Keys and values returned by this storage are on-heap copies, records are
+ * flyweight handles which stay valid until the end of the current operation,
+ * see {@link OffHeapRecordFactory#disposeDeferredBlocks()}.
+ * <p>
+ * Not thread-safe apart from {@link #size()} and the memory cost getters,
+ * it is accessed only by the partition thread owning the record store.
+ */
+@SuppressWarnings({"checkstyle:methodcount", "rawtypes"})
+public class OffHeapStorage implements Storage<Data, Record> {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final OffHeapRecordFactory recordFactory;
+    private final MemoryAllocator malloc;
+    private final ExpirySystem expirySystem;
+    private final SerializationService serializationService;
+
+    private long table;
+    private int capacity;
+    private int threshold;
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "Storage is mutated only by its own partition thread.")
+    private volatile int size;
+
+    // not final for testing purposes.
+    private EntryCostEstimator<Data, Record> entryCostEstimator = new NativeMemoryCostEstimator();
+
+    public OffHeapStorage(OffHeapRecordFactory recordFactory, ExpirySystem expirySystem,
+                          SerializationService serializationService) {
+        this.recordFactory = recordFactory;
+        this.malloc = recordFactory.malloc();
+        this.expirySystem = expirySystem;
+        this.serializationService = serializationService;
+        allocateTable(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public void put(Data key, Record record) {
+        long recordAddress = ((OffHeapRecord) record).address();
+        long hash = key.hash64();
+        int bucket = bucketOf(hash, capacity);
+
+        long prev = NULL_ADDRESS;
+        long current = MEM.getLong(bucketAddress(bucket));
+        while (current != NULL_ADDRESS) {
+            if (current != recordAddress && keyEquals(current, hash, key)) {
+                // replace the existing record in place of the chain
+                long next = MEM.getLong(current + NEXT_OFFSET);
+                linkKeyIfAbsent(recordAddress, hash, key);
+                MEM.putLong(recordAddress + NEXT_OFFSET, next);
+                setNext(prev, bucket, recordAddress);
+                recordFactory.freeRecord(current, true);
+                return;
+            }
+            if (current == recordAddress) {
+                return;
+            }
+            prev = current;
+            current = MEM.getLong(current + NEXT_OFFSET);
+        }
+
+        linkKeyIfAbsent(recordAddress, hash, key);
+        MEM.putLong(recordAddress + NEXT_OFFSET, MEM.getLong(bucketAddress(bucket)));
+        MEM.putLong(bucketAddress(bucket), recordAddress);
+        size++;
+        if (size > threshold) {
+            resize(capacity << 1);
+        }
+    }
+
+    @Override
+    public Record updateRecordValue(Data key, Record record, Object value) {
+        record.setValue(serializationService.toData(value));
+        return record;
+    }
+
+    @Override
+    public Record get(Data key) {
+        long recordAddress = find(key);
+        return recordAddress == NULL_ADDRESS ? null : recordFactory.wrap(recordAddress);
+    }
+
+    @Override
+    public Record getIfSameKey(Data key) {
+        throw new UnsupportedOperationException("OffHeapStorage#getIfSameKey");
+    }
+
+    @Override
+    public void removeRecord(Data dataKey, @Nonnull Record record) {
+        long hash = dataKey.hash64();
+        int bucket = bucketOf(hash, capacity);
+
+        long prev = NULL_ADDRESS;
+        long current = MEM.getLong(bucketAddress(bucket));
+        while (current != NULL_ADDRESS) {
+            long next = MEM.getLong(current + NEXT_OFFSET);
+            if (keyEquals(current, hash, dataKey)) {
+                setNext(prev, bucket, next);
+                recordFactory.freeRecord(current, true);
+                size--;
+                return;
+            }
+            prev = current;
+            current = next;
+        }
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return find(key) != NULL_ADDRESS;
+    }
+
+    /**
+     * Returns a weakly consistent iterator. Buckets are visited in
+     * ascending order and the table only ever doubles, so entries which
+     * are present during the whole iteration are never skipped, though
+     * they may be returned twice when the table grows meanwhile.
+     */
+    @Override
+    public Iterator<Map.Entry<Data, Record>> mutationTolerantIterator() {
+        return new EntryIterator();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Unlinks all records. Their memory is released together with the
+     * other deferred blocks, after the current operation.
+     */
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        for (int bucket = 0; bucket < capacity; bucket++) {
+            long current = MEM.getLong(bucketAddress(bucket));
+            while (current != NULL_ADDRESS) {
+                long next = MEM.getLong(current + NEXT_OFFSET);
+                recordFactory.freeRecord(current, true);
+                current = next;
+            }
+        }
+        malloc.free(table, (long) capacity * LONG_SIZE_IN_BYTES);
+        allocateTable(INITIAL_CAPACITY);
+        size = 0;
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        clear(isDuringShutdown);
+        malloc.free(table, (long) capacity * LONG_SIZE_IN_BYTES);
+        table = NULL_ADDRESS;
+        capacity = 0;
+        recordFactory.dispose();
+    }
+
+    @Override
+    public EntryCostEstimator getEntryCostEstimator() {
+        return entryCostEstimator;
+    }
+
+    @Override
+    public void setEntryCostEstimator(EntryCostEstimator entryCostEstimator) {
+        this.entryCostEstimator = entryCostEstimator;
+    }
+
+    @Override
+    public void disposeDeferredBlocks() {
+        recordFactory.disposeDeferredBlocks();
+    }
+
+    @Override
+    public long getNativeMemoryCost() {
+        return recordFactory.getUsedMemory();
+    }
+
+    @Override
+    public Iterable<EntryView> getRandomSamples(int sampleCount) {
+        List<EntryView> samples = new ArrayList<>(sampleCount);
+        if (size == 0) {
+            return samples;
+        }
+        int start = ThreadLocalRandom.current().nextInt(capacity);
+        for (int i = 0; i < capacity && samples.size() < sampleCount; i++) {
+            long current = MEM.getLong(bucketAddress((start + i) & (capacity - 1)));
+            while (current != NULL_ADDRESS && samples.size() < sampleCount) {
+                Data key = readKey(current);
+                samples.add(new LazyEvictableEntryView<>(key, recordFactory.wrap(current),
+                        expirySystem.getExpiryMetadata(key), serializationService));
+                current = MEM.getLong(current + NEXT_OFFSET);
+            }
+        }
+        return samples;
+    }
+
+    @Override
+    public MapKeysWithCursor fetchKeys(IterationPointer[] pointers, int size) {
+        List<Data> keys = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, (key, record) -> keys.add(key));
+        return new MapKeysWithCursor(keys, newPointers);
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(IterationPointer[] pointers, int size) {
+        List<Map.Entry<Data, Data>> entries = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size,
+                (key, record) -> entries.add(new AbstractMap.SimpleEntry<>(key, record.getValue())));
+        return new MapEntriesWithCursor(entries, newPointers);
+    }
+
+    @Override
+    public Data extractDataKeyFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getDataKey();
+    }
+
+    @Override
+    public Data toBackingDataKeyFormat(Data key) {
+        return key;
+    }
+
+    /**
+     * Walks the buckets in descending order starting at the last pointer,
+     * see {@code SampleableConcurrentHashMap#fetchNext} for the handling of
+     * table growth between two calls.
+     */
+    private IterationPointer[] fetchNext(IterationPointer[] pointers, int size,
+                                         BiConsumer<Data, OffHeapRecord> consumer) {
+        pointers = checkPointers(pointers, capacity);
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+
+        int nextBucket = lastPointer.getIndex() >= 0 && lastPointer.getIndex() < capacity
+                ? lastPointer.getIndex() : capacity - 1;
+        int counter = 0;
+        while (nextBucket >= 0 && counter < size) {
+            long current = MEM.getLong(bucketAddress(nextBucket--));
+            while (current != NULL_ADDRESS) {
+                if (hasNotBeenObserved(MEM.getLong(current + KEY_HASH_OFFSET), pointers)) {
+                    consumer.accept(readKey(current), recordFactory.wrap(current));
+                    counter++;
+                }
+                current = MEM.getLong(current + NEXT_OFFSET);
+            }
+        }
+        lastPointer.setIndex(nextBucket);
+        return pointers;
+    }
+
+    private static IterationPointer[] checkPointers(IterationPointer[] pointers, int currentCapacity) {
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+        boolean iterationStarted = lastPointer.getSize() == -1;
+        boolean tableResized = lastPointer.getSize() != currentCapacity;
+        int newLength = !iterationStarted && tableResized ? pointers.length + 1 : pointers.length;
+
+        IterationPointer[] updatedPointers = new IterationPointer[newLength];
+        for (int i = 0; i < pointers.length; i++) {
+            updatedPointers[i] = new IterationPointer(pointers[i]);
+        }
+        if (iterationStarted || tableResized) {
+            updatedPointers[updatedPointers.length - 1] = new IterationPointer(Integer.MAX_VALUE, currentCapacity);
+        }
+        return updatedPointers;
+    }
+
+    private static boolean hasNotBeenObserved(long hash, IterationPointer[] pointers) {
+        for (int i = 0; i < pointers.length - 1; i++) {
+            IterationPointer pointer = pointers[i];
+            if (bucketOf(hash, pointer.getSize()) > pointer.getIndex()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long find(Data key) {
+        long hash = key.hash64();
+        long current = MEM.getLong(bucketAddress(bucketOf(hash, capacity)));
+        while (current != NULL_ADDRESS) {
+            if (keyEquals(current, hash, key)) {
+                return current;
+            }
+            current = MEM.getLong(current + NEXT_OFFSET);
+        }
+        return NULL_ADDRESS;
+    }
+
+    private static boolean keyEquals(long recordAddress, long hash, Data key) {
+        if (MEM.getLong(recordAddress + KEY_HASH_OFFSET) != hash) {
+            return false;
+        }
+        int keySize = key.totalSize();
+        if (MEM.getInt(recordAddress + KEY_SIZE_OFFSET) != keySize) {
+            return false;
+        }
+        long keyAddress = MEM.getLong(recordAddress + KEY_ADDRESS_OFFSET);
+        byte[] keyBytes = key.toByteArray();
+        int i = 0;
+        for (; i + LONG_SIZE_IN_BYTES <= keySize; i += LONG_SIZE_IN_BYTES) {
+            if (MEM.getLong(keyAddress + i) != MEM.getLong(keyBytes, ARRAY_BYTE_BASE_OFFSET + i)) {
+                return false;
+            }
+        }
+        for (; i < keySize; i++) {
+            if (MEM.getByte(keyAddress + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void linkKeyIfAbsent(long recordAddress, long hash, Data key) {
+        if (MEM.getLong(recordAddress + KEY_ADDRESS_OFFSET) != NULL_ADDRESS) {
+            return;
+        }
+        MEM.putLong(recordAddress + KEY_ADDRESS_OFFSET, recordFactory.allocateBlob(key));
+        MEM.putInt(recordAddress + KEY_SIZE_OFFSET, key.totalSize());
+        MEM.putLong(recordAddress + KEY_HASH_OFFSET, hash);
+    }
+
+    private Data readKey(long recordAddress) {
+        return recordFactory.readBlob(MEM.getLong(recordAddress + KEY_ADDRESS_OFFSET),
+                MEM.getInt(recordAddress + KEY_SIZE_OFFSET));
+    }
+
+    private void setNext(long prev, int bucket, long next) {
+        if (prev == NULL_ADDRESS) {
+            MEM.putLong(bucketAddress(bucket), next);
+        } else {
+            MEM.putLong(prev + NEXT_OFFSET, next);
+        }
+    }
+
+    private void resize(int newCapacity) {
+        long oldTable = table;
+        int oldCapacity = capacity;
+        allocateTable(newCapacity);
+        for (int bucket = 0; bucket < oldCapacity; bucket++) {
+            long current = MEM.getLong(oldTable + (long) bucket * LONG_SIZE_IN_BYTES);
+            while (current != NULL_ADDRESS) {
+                long next = MEM.getLong(current + NEXT_OFFSET);
+                int newBucket = bucketOf(MEM.getLong(current + KEY_HASH_OFFSET), newCapacity);
+                MEM.putLong(current + NEXT_OFFSET, MEM.getLong(bucketAddress(newBucket)));
+                MEM.putLong(bucketAddress(newBucket), current);
+                current = next;
+            }
+        }
+        malloc.free(oldTable, (long) oldCapacity * LONG_SIZE_IN_BYTES);
+    }
+
+    private void allocateTable(int newCapacity) {
+        table = malloc.allocate((long) newCapacity * LONG_SIZE_IN_BYTES);
+        capacity = newCapacity;
+        threshold = (int) (newCapacity * LOAD_FACTOR);
+    }
+
+    private long bucketAddress(int bucket) {
+        return table + (long) bucket * LONG_SIZE_IN_BYTES;
+    }
+
+    private static int bucketOf(long hash, int tableCapacity) {
+        return (int) (hash ^ (hash >>> Integer.SIZE)) & (tableCapacity - 1);
+    }
+
+    /**
+     * Iterates the buckets in ascending order. The chain of the current
+     * bucket is captured when the iterator enters the bucket, so removing
+     * the returned entries while iterating is safe.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<Data, Record>> {
+
+        private static final int INITIAL_CHAIN_CAPACITY = 8;
+
+        private long[] chain = new long[INITIAL_CHAIN_CAPACITY];
+        private int chainLength;
+        private int chainIndex;
+        private int nextBucket;
+
+        @Override
+        public boolean hasNext() {
+            while (chainIndex == chainLength) {
+                if (nextBucket >= capacity) {
+                    return false;
+                }
+                chainLength = 0;
+                chainIndex = 0;
+                long current = MEM.getLong(bucketAddress(nextBucket++));
+                while (current != NULL_ADDRESS) {
+                    if (chainLength == chain.length) {
+                        chain = Arrays.copyOf(chain, chainLength << 1);
+                    }
+                    chain[chainLength++] = current;
+                    current = MEM.getLong(current + NEXT_OFFSET);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Map.Entry<Data, Record> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long recordAddress = chain[chainIndex++];
+            return new AbstractMap.SimpleImmutableEntry<>(readKey(recordAddress), recordFactory.wrap(recordAddress));
+        }
+    }
+
+    /**
+     * Reports the native memory held by this storage as the owned entry
+     * cost, so there is nothing to adjust on individual mutations.
+     */
+    private final class NativeMemoryCostEstimator implements EntryCostEstimator<Data, Record> {
+
+        @Override
+        public long getEstimate() {
+            return recordFactory.getUsedMemory();
+        }
+
+        @Override
+        public void adjustEstimateBy(long adjustment) {
+            // NOP intentionally.
+        }
+
+        @Override
+        public long calculateValueCost(Record record) {
+            return record.getCost();
+        }
+
+        @Override
+        public long calculateEntryCost(Data key, Record record) {
+            return record.getCost();
+        }
+
+        @Override
+        public void reset() {
+            // NOP intentionally.
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.multimap.impl;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import static com.hazelcast.internal.util.HashUtil.fastIntMix;
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * List of the records of a single key of a multimap with
+ * {@link com.hazelcast.config.MultiMapConfig.ValueCollectionType#LIST} value collection type.
+ * <p>
+ * The records are kept in a single array in insertion order. Additionally,
+ * every distinct value is counted in an open addressing hash table, so
+ * {@link #contains(Object)} and a {@link #remove(Object)} of an absent value
+ * take constant time instead of a scan of all the values of the key. The
+ * array and the table need less memory than the nodes of a {@link java.util.LinkedList}.
+ */
+@NotThreadSafe
+public final class MultiMapRecordList extends AbstractList<MultiMapRecord> implements RandomAccess {
+
+    private static final int MIN_CAPACITY = 4;
+    private static final int MIN_TABLE_CAPACITY = 8;
+
+    private MultiMapRecord[] records;
+    private int size;
+
+    // open addressing table of distinct values and the number of their occurrences
+    private MultiMapRecord[] distinctValues;
+    private int[] valueCounts;
+    private int distinctCount;
+
+    public MultiMapRecordList() {
+        this(MIN_CAPACITY);
+    }
+
+    public MultiMapRecordList(int initialCapacity) {
+        this.records = new MultiMapRecord[Math.max(MIN_CAPACITY, initialCapacity)];
+    }
+
+    @Override
+    public MultiMapRecord get(int index) {
+        checkIndex(index, size);
+        return records[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(MultiMapRecord record) {
+        add(size, record);
+        return true;
+    }
+
+    @Override
+    public void add(int index, MultiMapRecord record) {
+        checkIndex(index, size + 1);
+        checkNotNull(record, "record can't be null");
+        if (size == records.length) {
+            records = Arrays.copyOf(records, size + (size >> 1));
+        }
+        System.arraycopy(records, index, records, index + 1, size - index);
+        records[index] = record;
+        size++;
+        modCount++;
+        incrementCount(record);
+    }
+
+    @Override
+    public MultiMapRecord set(int index, MultiMapRecord record) {
+        checkIndex(index, size);
+        checkNotNull(record, "record can't be null");
+        MultiMapRecord old = records[index];
+        records[index] = record;
+        decrementCount(old);
+        incrementCount(record);
+        return old;
+    }
+
+    @Override
+    public MultiMapRecord remove(int index) {
+        checkIndex(index, size);
+        MultiMapRecord record = records[index];
+        System.arraycopy(records, index + 1, records, index, size - index - 1);
+        records[--size] = null;
+        modCount++;
+        decrementCount(record);
+        return record;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!contains(o)) {
+            return false;
+        }
+        remove(indexOf(o));
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof MultiMapRecord record && findSlot(record) >= 0;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        for (int i = 0; i < size; i++) {
+            if (records[i].equals(o)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void clear() {
+        records = new MultiMapRecord[MIN_CAPACITY];
+        size = 0;
+        modCount++;
+        releaseTable();
+    }
+
+    private void incrementCount(MultiMapRecord record) {
+        if (distinctValues == null || (distinctCount + 1) << 1 > distinctValues.length) {
+            resizeTable(Math.max(MIN_TABLE_CAPACITY, nextPowerOfTwo((distinctCount + 1) << 1)));
+        }
+        int mask = distinctValues.length - 1;
+        int slot = slotOf(record, mask);
+        for (MultiMapRecord value; (value = distinctValues[slot]) != null; slot = (slot + 1) & mask) {
+            if (value.equals(record)) {
+                valueCounts[slot]++;
+                return;
+            }
+        }
+        distinctValues[slot] = record;
+        valueCounts[slot] = 1;
+        distinctCount++;
+    }
+
+    private void decrementCount(MultiMapRecord record) {
+        int slot = findSlot(record);
+        assert slot >= 0 : "Unknown record " + record;
+        if (--valueCounts[slot] > 0) {
+            return;
+        }
+        distinctCount--;
+        if (distinctCount == 0) {
+            releaseTable();
+            return;
+        }
+        // backward shift deletion keeps the probe sequences intact without tombstones
+        int mask = distinctValues.length - 1;
+        int gap = slot;
+        for (int next = (gap + 1) & mask; distinctValues[next] != null; next = (next + 1) & mask) {
+            int home = slotOf(distinctValues[next], mask);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                distinctValues[gap] = distinctValues[next];
+                valueCounts[gap] = valueCounts[next];
+                gap = next;
+            }
+        }
+        distinctValues[gap] = null;
+        valueCounts[gap] = 0;
+    }
+
+    private int findSlot(MultiMapRecord record) {
+        if (distinctValues == null) {
+            return -1;
+        }
+        int mask = distinctValues.length - 1;
+        for (int slot = slotOf(record, mask); distinctValues[slot] != null; slot = (slot + 1) & mask) {
+            if (distinctValues[slot].equals(record)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void resizeTable(int capacity) {
+        MultiMapRecord[] oldValues = distinctValues;
+        int[] oldCounts = valueCounts;
+        distinctValues = new MultiMapRecord[capacity];
+        valueCounts = new int[capacity];
+        if (oldValues == null) {
+            return;
+        }
+        int mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null) {
+                continue;
+            }
+            int slot = slotOf(oldValues[i], mask);
+            while (distinctValues[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            distinctValues[slot] = oldValues[i];
+            valueCounts[slot] = oldCounts[i];
+        }
+    }
+
+    private void releaseTable() {
+        distinctValues = null;
+        valueCounts = null;
+        distinctCount = 0;
+    }
+
+    private static int slotOf(MultiMapRecord record, int mask) {
+        return fastIntMix(record.hashCode()) & mask;
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + bound);
+        }
+    }
+}
@@ -16,9 +16,9 @@
 
 package com.hazelcast.multimap.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 
@@ -46,7 +46,7 @@ public class MultiMapValue {
         if (collection instanceof Set) {
             return new HashSet<>(collection);
         } else if (collection instanceof List) {
-            return new LinkedList<>(collection);
+            return new ArrayList<>(collection);
         }
         throw new IllegalArgumentException("No Matching CollectionProxyType!");
     }
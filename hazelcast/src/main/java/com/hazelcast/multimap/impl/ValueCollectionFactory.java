@@ -85,6 +85,26 @@ public final class ValueCollectionFactory {
         }
     }
 
+    /**
+     * Creates the collection which stores the records of a single key of a multimap.
+     * Unlike {@link #createCollection(MultiMapConfig.ValueCollectionType, int)}, it creates
+     * a {@link MultiMapRecordList} for {@link MultiMapConfig.ValueCollectionType#LIST},
+     * which answers {@code contains} without scanning the records.
+     *
+     * @param collectionType  one of {@link MultiMapConfig.ValueCollectionType#SET}
+     *                        or {@link MultiMapConfig.ValueCollectionType#LIST}
+     * @param initialCapacity if smaller than or equals to 0 falls back to default initial capacity of corresponding collection.
+     * @return {@link java.util.Set} or {@link java.util.List} depending on the collectionType argument
+     * @throws java.lang.IllegalArgumentException if collectionType is unknown
+     */
+    public static Collection<MultiMapRecord> createRecordCollection(MultiMapConfig.ValueCollectionType collectionType,
+                                                                   int initialCapacity) {
+        if (collectionType == MultiMapConfig.ValueCollectionType.LIST) {
+            return initialCapacity <= 0 ? new MultiMapRecordList() : new MultiMapRecordList(initialCapacity);
+        }
+        return createCollection(collectionType, initialCapacity);
+    }
+
     /**
      * Picks right empty collection type, like {@link java.util.Collections#emptySet()}
      * or {@link java.util.Collections#emptyList()} )} depending on the
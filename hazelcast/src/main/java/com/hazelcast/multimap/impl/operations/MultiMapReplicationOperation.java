@@ -30,12 +30,11 @@ import com.hazelcast.spi.impl.operationservice.Operation;
 
 import java.io.IOException;
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
 import static com.hazelcast.internal.util.MapUtil.createHashMap;
-import static com.hazelcast.internal.util.SetUtil.createHashSet;
+import static com.hazelcast.multimap.impl.ValueCollectionFactory.createRecordCollection;
 
 public class MultiMapReplicationOperation extends Operation implements IdentifiedDataSerializable {
 
@@ -93,12 +92,8 @@ public class MultiMapReplicationOperation extends Operation implements Identifie
                 Data key = IOUtil.readData(in);
                 int collSize = in.readInt();
                 String collectionType = in.readString();
-                Collection<MultiMapRecord> coll;
-                if (collectionType.equals(MultiMapConfig.ValueCollectionType.SET.name())) {
-                    coll = createHashSet(collSize);
-                } else {
-                    coll = new LinkedList<>();
-                }
+                Collection<MultiMapRecord> coll
+                        = createRecordCollection(MultiMapConfig.ValueCollectionType.valueOf(collectionType), collSize);
                 for (int k = 0; k < collSize; k++) {
                     MultiMapRecord record = new MultiMapRecord();
                     record.readData(in);
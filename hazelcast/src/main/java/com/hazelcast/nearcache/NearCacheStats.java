@@ -40,6 +40,19 @@ public interface NearCacheStats extends LocalInstanceStats {
      */
     long getOwnedEntryMemoryCost();
 
+    /**
+     * Returns the native memory taken by the values of Near Cache entries
+     * when the off-heap Near Cache storage is enabled, see
+     * {@link com.hazelcast.client.properties.ClientProperty#NEAR_CACHE_OFF_HEAP_BUDGET_BYTES}.
+     * This memory is not included in the {@link #getOwnedEntryMemoryCost() memory cost}.
+     *
+     * @return native memory cost (number of bytes) of Near Cache entries owned by this member
+     * @since 5.7
+     */
+    default long getOwnedEntryNativeMemoryCost() {
+        return 0;
+    }
+
     /**
      * @return number of hits (reads) of Near Cache entries owned by this member
      */
@@ -107,4 +120,41 @@ public interface NearCacheStats extends LocalInstanceStats {
      * @return the failure reason of the last Near Cache persistence (when the pre-load feature is enabled)
      */
     String getLastPersistenceFailure();
+
+    /**
+     * @return the timestamp of the last Near Cache pre-load (when the pre-load feature is enabled)
+     * @since 5.7
+     */
+    default long getLastPreloadTime() {
+        return 0;
+    }
+
+    /**
+     * @return the duration in milliseconds of the last Near Cache pre-load (when the pre-load feature is enabled)
+     * @since 5.7
+     */
+    default long getLastPreloadDuration() {
+        return 0;
+    }
+
+    /**
+     * @return the number of pre-loaded keys of the last Near Cache pre-load (when the pre-load feature is enabled)
+     * @since 5.7
+     */
+    default long getLastPreloadKeyCount() {
+        return 0;
+    }
+
+    /**
+     * Returns the hit/miss ratio of Near Cache entries owned by this member, counting only the
+     * hits and misses since the last pre-load. It shows how well the pre-loaded keys match the
+     * keys which are read after a restart.
+     *
+     * @return hit/miss ratio since the last Near Cache pre-load, or {@link Double#NaN} if there
+     * was no pre-load or no read since then
+     * @since 5.7
+     */
+    default double getRatioSincePreload() {
+        return Double.NaN;
+    }
 }
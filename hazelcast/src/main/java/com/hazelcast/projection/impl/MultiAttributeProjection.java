@@ -54,6 +54,10 @@ public final class MultiAttributeProjection<I> implements Projection<I, Object[]
         this.attributePaths = attributePath;
     }
 
+    public String[] getAttributePaths() {
+        return attributePaths.clone();
+    }
+
     @Override
     public Object[] transform(I input) {
         if (input instanceof Extractable extractable) {
@@ -115,6 +115,11 @@ public abstract class AbstractIndex implements InternalIndex {
         return converter;
     }
 
+    @Override
+    public IndexStatistics getStatistics() {
+        return indexStore.getStatistics();
+    }
+
     @Override
     public void putEntry(CachedQueryEntry newEntry, CachedQueryEntry oldEntry, QueryableEntry entryToStore,
                          OperationSource operationSource) {
@@ -213,6 +213,12 @@ public class AttributeIndexRegistry {
             return converter == null ? null : converter.getComponentConverter(0);
         }
 
+        @Override
+        public IndexStatistics getStatistics() {
+            // the statistics of the delegate describe the composite values
+            return null;
+        }
+
         @Override
         public void putEntry(CachedQueryEntry newEntry, CachedQueryEntry oldEntry, QueryableEntry entryToStore,
                              OperationSource operationSource) {
@@ -241,12 +247,14 @@ public class AttributeIndexRegistry {
 
         @Override
         public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(Comparable value, boolean descending) {
-            throw new UnsupportedOperationException("Should not be called");
+            Comparable from = new CompositeValue(width, value, NEGATIVE_INFINITY);
+            Comparable to = new CompositeValue(width, value, POSITIVE_INFINITY);
+            return delegate.getSqlRecordIteratorBatch(from, false, to, false, descending);
         }
 
         @Override
         public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(boolean descending) {
-            throw new UnsupportedOperationException("Should not be called");
+            return delegate.getSqlRecordIteratorBatch(descending);
         }
 
         @Override
@@ -255,7 +263,24 @@ public class AttributeIndexRegistry {
                 Comparable value,
                 boolean descending
         ) {
-            throw new UnsupportedOperationException("Should not be called");
+            switch (comparison) {
+                case LESS:
+                    CompositeValue lessFrom = new CompositeValue(width, NULL, POSITIVE_INFINITY);
+                    CompositeValue lessTo = new CompositeValue(width, value, NEGATIVE_INFINITY);
+                    return delegate.getSqlRecordIteratorBatch(lessFrom, false, lessTo, false, descending);
+                case GREATER:
+                    return delegate.getSqlRecordIteratorBatch(GREATER, new CompositeValue(width, value, POSITIVE_INFINITY),
+                            descending);
+                case LESS_OR_EQUAL:
+                    CompositeValue lessOrEqualFrom = new CompositeValue(width, NULL, POSITIVE_INFINITY);
+                    CompositeValue lessOrEqualTo = new CompositeValue(width, value, POSITIVE_INFINITY);
+                    return delegate.getSqlRecordIteratorBatch(lessOrEqualFrom, false, lessOrEqualTo, false, descending);
+                case GREATER_OR_EQUAL:
+                    return delegate.getSqlRecordIteratorBatch(GREATER_OR_EQUAL,
+                            new CompositeValue(width, value, NEGATIVE_INFINITY), descending);
+                default:
+                    throw new IllegalStateException("unexpected comparison: " + comparison);
+            }
         }
 
         @Override
@@ -266,7 +291,9 @@ public class AttributeIndexRegistry {
                 boolean toInclusive,
                 boolean descending
         ) {
-            throw new UnsupportedOperationException("Should not be called");
+            Comparable compositeFrom = new CompositeValue(width, from, fromInclusive ? NEGATIVE_INFINITY : POSITIVE_INFINITY);
+            Comparable compositeTo = new CompositeValue(width, to, toInclusive ? POSITIVE_INFINITY : NEGATIVE_INFINITY);
+            return delegate.getSqlRecordIteratorBatch(compositeFrom, false, compositeTo, false, descending);
         }
 
         @Override
@@ -43,8 +43,11 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
      */
     private volatile boolean multiResultHasToDetectDuplicates;
 
-    BaseSingleValueIndexStore(IndexCopyBehavior copyOn, boolean enableGlobalLock) {
+    private final IndexStatistics statistics;
+
+    BaseSingleValueIndexStore(IndexCopyBehavior copyOn, boolean enableGlobalLock, boolean ordered) {
         super(copyOn, enableGlobalLock);
+        this.statistics = new IndexStatistics(ordered);
     }
 
     /**
@@ -74,6 +77,11 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
      */
     abstract Object removeInternal(Comparable value, Data recordKey);
 
+    @Override
+    public final IndexStatistics getStatistics() {
+        return statistics;
+    }
+
     final MultiResultSet createMultiResultSet() {
         return multiResultHasToDetectDuplicates ? new DuplicateDetectingMultiResult() : new FastMultiResultSet();
     }
@@ -124,6 +132,7 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
                 Comparable<?> sanitizedValue = sanitizeValue(o);
                 Object oldValue = insertInternal(sanitizedValue, queryableEntry);
                 if (oldValue == null) {
+                    statistics.onInsert(sanitizedValue);
                     operationStats.onEntryAdded(newValue);
                 }
             }
@@ -131,6 +140,7 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
             Comparable<?> sanitizedValue = sanitizeValue(newValue);
             Object oldValue = insertInternal(sanitizedValue, queryableEntry);
             if (oldValue == null) {
+                statistics.onInsert(sanitizedValue);
                 operationStats.onEntryAdded(newValue);
             }
         }
@@ -146,6 +156,7 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
                 Comparable<?> sanitizedValue = sanitizeValue(o);
                 Object removedValue = removeInternal(sanitizedValue, recordKey);
                 if (removedValue != null) {
+                    statistics.onRemove(sanitizedValue);
                     operationStats.onEntryRemoved(oldValue);
                 }
             }
@@ -153,6 +164,7 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
             Comparable<?> sanitizedValue = sanitizeValue(oldValue);
             Object removedValue = removeInternal(sanitizedValue, recordKey);
             if (removedValue != null) {
+                statistics.onRemove(sanitizedValue);
                 operationStats.onEntryRemoved(oldValue);
             }
         }
@@ -291,6 +291,11 @@ public final class BitmapIndexStore extends BaseIndexStore {
         }
     }
 
+    @Override
+    public IndexStatistics getStatistics() {
+        return null;
+    }
+
     @Override
     public boolean isEvaluateOnly() {
         return true;
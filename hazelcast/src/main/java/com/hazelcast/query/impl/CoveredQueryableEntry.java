@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.query.QueryException;
+
+/**
+ * Queryable entry returned by a covering index query: the values of the
+ * attributes covered by the index are taken from the index instead of
+ * being extracted from the entry, all the rest is delegated to the indexed
+ * entry.
+ *
+ * @param <K> key
+ * @param <V> value
+ * @see CoveringIndexQuery
+ */
+final class CoveredQueryableEntry<K, V> extends QueryableEntry<K, V> {
+
+    private final QueryableEntry<K, V> entry;
+    private final String[] attributes;
+    private final Object[] values;
+
+    CoveredQueryableEntry(QueryableEntry<K, V> entry, String[] attributes, Object[] values) {
+        this.entry = entry;
+        this.attributes = attributes;
+        this.values = values;
+        this.serializationService = entry.serializationService;
+        this.extractors = entry.extractors;
+        this.record = entry.getRecord();
+        setMetadata(entry.getMetadata());
+    }
+
+    @Override
+    public Object getAttributeValue(String attributeName) throws QueryException {
+        for (int i = 0; i < attributes.length; i++) {
+            if (attributes[i].equals(attributeName)) {
+                return values[i];
+            }
+        }
+        return entry.getAttributeValue(attributeName);
+    }
+
+    @Override
+    public K getKey() {
+        return entry.getKey();
+    }
+
+    @Override
+    public V getValue() {
+        return entry.getValue();
+    }
+
+    @Override
+    public V setValue(V value) {
+        return entry.setValue(value);
+    }
+
+    @Override
+    public Data getKeyData() {
+        return entry.getKeyData();
+    }
+
+    @Override
+    public Data getValueData() {
+        return entry.getValueData();
+    }
+
+    @Override
+    public K getKeyIfPresent() {
+        return entry.getKeyIfPresent();
+    }
+
+    @Override
+    public Data getKeyDataIfPresent() {
+        return entry.getKeyDataIfPresent();
+    }
+
+    @Override
+    public V getValueIfPresent() {
+        return entry.getValueIfPresent();
+    }
+
+    @Override
+    public Data getValueDataIfPresent() {
+        return entry.getValueDataIfPresent();
+    }
+
+    @Override
+    protected Object getTargetObject(boolean key) {
+        return entry.getTargetObject(key);
+    }
+}
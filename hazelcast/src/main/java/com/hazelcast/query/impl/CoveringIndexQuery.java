@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.AttributeIndexRegistry.FirstComponentDecorator;
+import com.hazelcast.query.impl.predicates.CompositeEqualPredicate;
+import com.hazelcast.query.impl.predicates.CompositeRangePredicate;
+import com.hazelcast.query.impl.predicates.IndexAwarePredicate;
+import com.hazelcast.query.impl.predicates.RangePredicate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static com.hazelcast.query.impl.Comparison.GREATER;
+import static com.hazelcast.query.impl.Comparison.GREATER_OR_EQUAL;
+import static com.hazelcast.query.impl.Comparison.LESS;
+import static com.hazelcast.query.impl.Comparison.LESS_OR_EQUAL;
+import static com.hazelcast.query.impl.IndexUtils.canonicalizeAttribute;
+import static com.hazelcast.query.impl.TypeConverters.ENUM_CONVERTER;
+
+/**
+ * Answers a predicate using an ordered index that also stores all the
+ * attributes a query reads, so the query doesn't have to extract them from
+ * the entries.
+ * <p>
+ * An ordered index stores the attribute values as they were extracted, so
+ * the values of its components are the values an extraction would return.
+ * The exception are enums, which are stored by name, so attributes of enum
+ * type are never covered. Apart from the composite predicates generated for
+ * a composite index, only single attribute range and equality predicates
+ * are supported, answered by an index on the attribute or by a composite
+ * index starting with the attribute.
+ */
+final class CoveringIndexQuery {
+
+    private static final String ANY = "[any]";
+
+    private CoveringIndexQuery() {
+    }
+
+    /**
+     * @param indexRegistry       the indexes to query.
+     * @param predicate           the predicate to answer.
+     * @param attributes          the attributes read by the query.
+     * @param ownedPartitionCount a count of owned partitions the query runs on.
+     * @param filter              the filter of the entries or {@code null}.
+     * @return the entries matching the predicate with the given attributes
+     * taken from the index or {@code null} if there is no covering index that
+     * can answer the predicate.
+     */
+    @SuppressWarnings("rawtypes")
+    static List<QueryableEntry> query(IndexRegistry indexRegistry, Predicate predicate, String[] attributes,
+                                      int ownedPartitionCount, java.util.function.Predicate<QueryableEntry> filter) {
+        String[] canonicalAttributes = new String[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            canonicalAttributes[i] = canonicalizeAttribute(attributes[i]);
+            if (canonicalAttributes[i].contains(ANY)) {
+                return null;
+            }
+        }
+
+        InternalIndex index;
+        Iterator<IndexKeyEntries> batches;
+        if (predicate instanceof CompositeEqualPredicate equalPredicate) {
+            index = indexRegistry.getIndex(equalPredicate.getIndexName());
+            if (!covers(index, canonicalAttributes, ownedPartitionCount)) {
+                return null;
+            }
+            batches = index.getSqlRecordIteratorBatch(equalPredicate.getValue(), false);
+        } else if (predicate instanceof CompositeRangePredicate rangePredicate) {
+            index = indexRegistry.getIndex(rangePredicate.getIndexName());
+            if (!covers(index, canonicalAttributes, ownedPartitionCount)) {
+                return null;
+            }
+            batches = index.getSqlRecordIteratorBatch(rangePredicate.getFrom(), rangePredicate.isFromInclusive(),
+                    rangePredicate.getTo(), rangePredicate.isToInclusive(), false);
+        } else if (predicate instanceof RangePredicate rangePredicate && predicate instanceof IndexAwarePredicate) {
+            if (rangePredicate.getFrom() == null && rangePredicate.getTo() == null) {
+                return null;
+            }
+            index = matchIndex(indexRegistry, canonicalizeAttribute(rangePredicate.getAttribute()), canonicalAttributes,
+                    ownedPartitionCount);
+            if (index == null) {
+                return null;
+            }
+            batches = rangeBatches(index.getComponents().length == 1 ? index : new FirstComponentDecorator(index),
+                    rangePredicate);
+        } else {
+            return null;
+        }
+
+        index.getPerIndexStats().incrementQueryCount();
+        int[] positions = positions(index.getComponents(), canonicalAttributes);
+        List<QueryableEntry> result = new ArrayList<>();
+        while (batches.hasNext()) {
+            IndexKeyEntries batch = batches.next();
+            Iterator<QueryableEntry> entries = batch.getEntries();
+            // the entries of a batch share the index value
+            Object[] values = null;
+            while (entries.hasNext()) {
+                QueryableEntry entry = entries.next();
+                if (filter != null && !filter.test(entry)) {
+                    continue;
+                }
+                if (values == null) {
+                    values = values(batch.getIndexKey(), positions);
+                }
+                result.add(new CoveredQueryableEntry<>(entry, attributes, values));
+            }
+        }
+        return result;
+    }
+
+    // the narrowest ordered index starting with the given attribute that covers the attributes
+    private static InternalIndex matchIndex(IndexRegistry indexRegistry, String attribute, String[] attributes,
+                                            int ownedPartitionCount) {
+        InternalIndex match = null;
+        for (InternalIndex index : indexRegistry.getIndexes()) {
+            String[] components = index.getComponents();
+            if (components[0].equals(attribute)
+                    && (match == null || components.length < match.getComponents().length)
+                    && covers(index, attributes, ownedPartitionCount)) {
+                match = index;
+            }
+        }
+        return match;
+    }
+
+    private static boolean covers(InternalIndex index, String[] attributes, int ownedPartitionCount) {
+        if (index == null || !index.isOrdered() || !index.allPartitionsIndexed(ownedPartitionCount)) {
+            return false;
+        }
+
+        String[] components = index.getComponents();
+        TypeConverter converter = index.getConverter();
+        for (String attribute : attributes) {
+            int position = position(components, attribute);
+            if (position < 0) {
+                return false;
+            }
+            TypeConverter componentConverter = converter instanceof CompositeConverter compositeConverter
+                    ? compositeConverter.getComponentConverter(position)
+                    : converter;
+            if (componentConverter == ENUM_CONVERTER) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Iterator<IndexKeyEntries> rangeBatches(InternalIndex index, RangePredicate predicate) {
+        Comparable from = predicate.getFrom();
+        Comparable to = predicate.getTo();
+        if (from == null) {
+            return index.getSqlRecordIteratorBatch(predicate.isToInclusive() ? LESS_OR_EQUAL : LESS, to, false);
+        } else if (to == null) {
+            return index.getSqlRecordIteratorBatch(predicate.isFromInclusive() ? GREATER_OR_EQUAL : GREATER, from, false);
+        }
+        return index.getSqlRecordIteratorBatch(from, predicate.isFromInclusive(), to, predicate.isToInclusive(), false);
+    }
+
+    private static int[] positions(String[] components, String[] attributes) {
+        int[] positions = new int[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            positions[i] = position(components, attributes[i]);
+        }
+        return positions;
+    }
+
+    private static int position(String[] components, String attribute) {
+        for (int i = 0; i < components.length; i++) {
+            if (components[i].equals(attribute)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Object[] values(Comparable indexKey, int[] positions) {
+        Object[] values = new Object[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            Comparable value = indexKey instanceof CompositeValue compositeValue
+                    ? compositeValue.getComponents()[positions[i]]
+                    : indexKey;
+            values[i] = value == NULL ? null : value;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.json.NonTerminalJsonValue;
+import com.hazelcast.internal.monitor.impl.IndexOperationStats;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.collection.Object2LongHashMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.bitmap.TrigramIndex;
+import com.hazelcast.query.impl.getters.MultiResult;
+import com.hazelcast.query.impl.predicates.AndPredicate;
+import com.hazelcast.query.impl.predicates.ILikePredicate;
+import com.hazelcast.query.impl.predicates.LikePredicate;
+import com.hazelcast.query.impl.predicates.OrPredicate;
+import com.hazelcast.query.impl.predicates.RegexPredicate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The store of full-text indexes.
+ * <p>
+ * Internally, manages a {@link TrigramIndex} instance along with a key
+ * remapping structure used to establish the correspondence between long
+ * trigram index keys and the keys of the indexed entries.
+ * <p>
+ * The trigram index produces candidate entries only, the candidates are
+ * verified by applying the evaluated predicate to them outside of the lock.
+ */
+@SuppressWarnings({"rawtypes", "checkstyle:MethodCount"})
+public final class FullTextIndexStore extends BaseIndexStore {
+
+    private static final long NO_KEY = -1;
+    private static final int INITIAL_CAPACITY = 8;
+    private static final float LOAD_FACTOR = 0.75F;
+
+    private static final Set<Class<? extends Predicate>> EVALUABLE_PREDICATES = new HashSet<>();
+
+    static {
+        EVALUABLE_PREDICATES.add(AndPredicate.class);
+        EVALUABLE_PREDICATES.add(OrPredicate.class);
+
+        EVALUABLE_PREDICATES.add(LikePredicate.class);
+        EVALUABLE_PREDICATES.add(ILikePredicate.class);
+        EVALUABLE_PREDICATES.add(RegexPredicate.class);
+    }
+
+    private final TrigramIndex<QueryableEntry> trigramIndex = new TrigramIndex<>();
+    // maps entry keys to long trigram index keys
+    private final Object2LongHashMap<Data> internalKeys = new Object2LongHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, NO_KEY);
+    private long internalKeyCounter;
+
+    public FullTextIndexStore() {
+        super(IndexCopyBehavior.NEVER, true);
+    }
+
+    @Override
+    public Comparable canonicalizeQueryArgumentScalar(Comparable value) {
+        return value;
+    }
+
+    @Override
+    public void insert(Object value, CachedQueryEntry entry, QueryableEntry entryToStore, IndexOperationStats operationStats) {
+        if (value == NonTerminalJsonValue.INSTANCE) {
+            return;
+        }
+
+        Data key = entry.getKeyData();
+        Iterator values = makeIterator(value);
+
+        takeWriteLock();
+        try {
+            long internalKey = internalKeyCounter++;
+            long replaced = internalKeys.put(key, internalKey);
+            assert replaced == NO_KEY;
+            trigramIndex.insert(values, internalKey, entryToStore, operationStats);
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public void update(Object oldValue, Object newValue, CachedQueryEntry entry, QueryableEntry entryToStore,
+                       IndexOperationStats operationStats) {
+        if (oldValue == NonTerminalJsonValue.INSTANCE) {
+            insert(newValue, entry, entryToStore, operationStats);
+            return;
+        }
+
+        Data key = entry.getKeyData();
+        Iterator oldValues = makeIterator(oldValue);
+        Iterator newValues = makeIterator(newValue);
+
+        takeWriteLock();
+        try {
+            long internalKey = internalKeys.getValue(key);
+            if (internalKey == NO_KEY) {
+                internalKey = internalKeyCounter++;
+                internalKeys.put(key, internalKey);
+                trigramIndex.insert(newValues, internalKey, entryToStore, operationStats);
+            } else {
+                trigramIndex.update(oldValues, newValues, internalKey, entryToStore, operationStats);
+            }
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public void remove(Object value, CachedQueryEntry entry, IndexOperationStats operationStats) {
+        if (value == NonTerminalJsonValue.INSTANCE) {
+            return;
+        }
+
+        Data key = entry.getKeyData();
+        Iterator values = makeIterator(value);
+
+        takeWriteLock();
+        try {
+            long internalKey = internalKeys.removeKey(key);
+            if (internalKey != NO_KEY) {
+                trigramIndex.remove(values, internalKey, operationStats);
+            }
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            trigramIndex.clear();
+            internalKeys.clear();
+            internalKeyCounter = 0;
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public IndexStatistics getStatistics() {
+        return null;
+    }
+
+    @Override
+    public boolean isEvaluateOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
+        return EVALUABLE_PREDICATES.contains(predicateClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Set<QueryableEntry> evaluate(Predicate predicate, TypeConverter converter) {
+        List<QueryableEntry> candidates = new ArrayList<>();
+        takeReadLock();
+        try {
+            Iterator<QueryableEntry> iterator = trigramIndex.evaluate(predicate);
+            while (iterator.hasNext()) {
+                candidates.add(iterator.next());
+            }
+        } finally {
+            releaseReadLock();
+        }
+
+        Map<Data, QueryableEntry> result = new HashMap<>();
+        for (QueryableEntry candidate : candidates) {
+            if (predicate.apply(candidate)) {
+                result.put(candidate.getKeyData(), candidate);
+            }
+        }
+        return toSingleResultSet(result);
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(boolean descending) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(Comparison comparison, Comparable value, boolean descending) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(
+            Comparable from,
+            boolean fromInclusive,
+            Comparable to,
+            boolean toInclusive,
+            boolean descending
+    ) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(Comparable value, boolean descending) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(boolean descending) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(Comparison comparison, Comparable value, boolean descending) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            Comparable from,
+            boolean fromInclusive,
+            Comparable to,
+            boolean toInclusive,
+            boolean descending
+    ) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparison comparison, Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    Comparable canonicalizeScalarForStorage(Comparable value) {
+        return value;
+    }
+
+    private static Iterator makeIterator(Object value) {
+        return value instanceof MultiResult multiResult
+                ? multiResult.getResults().iterator()
+                : Collections.singletonList(value).iterator();
+    }
+
+    private static UnsupportedOperationException makeUnsupportedOperationException() {
+        return new UnsupportedOperationException("full-text indexes support only direct predicate evaluation");
+    }
+
+}
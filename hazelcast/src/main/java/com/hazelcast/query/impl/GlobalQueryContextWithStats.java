@@ -114,6 +114,11 @@ public class GlobalQueryContextWithStats extends QueryContext {
             return delegate.getConverter();
         }
 
+        @Override
+        public IndexStatistics getStatistics() {
+            return delegate.getStatistics();
+        }
+
         @Override
         public void putEntry(CachedQueryEntry newEntry, CachedQueryEntry oldEntry, QueryableEntry entryToStore,
                              OperationSource operationSource) {
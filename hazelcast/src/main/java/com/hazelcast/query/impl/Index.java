@@ -77,6 +77,13 @@ public interface Index {
      */
     TypeConverter getConverter();
 
+    /**
+     * @return the statistics of the values stored in this index used to
+     * estimate the cardinality of queries; or {@code null} if this index
+     * doesn't maintain them.
+     */
+    IndexStatistics getStatistics();
+
     /**
      * Saves an entry into this index.
      *
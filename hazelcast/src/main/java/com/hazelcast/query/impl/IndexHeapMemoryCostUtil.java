@@ -39,12 +39,10 @@ public final class IndexHeapMemoryCostUtil {
     private static final int BASE_BIG_INTEGER_COST = 40 + BASE_ARRAY_COST;
     private static final int BASE_BIG_DECIMAL_COST = 40;
     private static final int BASE_CONCURRENT_HASH_MAP_COST = 64 + BASE_ARRAY_COST;
-    private static final int BASE_CONCURRENT_SKIP_LIST_MAP_COST = 48;
 
     private static final int DATE_COST = 24;
     private static final int SQL_TIMESTAMP_COST = 32;
     private static final int CONCURRENT_HASH_MAP_ENTRY_COST = 32;
-    private static final int CONCURRENT_SKIP_LIST_MAP_ENTRY_COST = 24;
     private static final int QUERY_ENTRY_COST = 32;
     private static final int CACHED_QUERYABLE_ENTRY_COST = 40;
 
@@ -66,6 +64,12 @@ public final class IndexHeapMemoryCostUtil {
     // The costs below are very rough estimates, more precise answers require
     // expensive computations which we can't afford here.
 
+    // an OrderedIndexTree with a single empty leaf: the leaf arrays dominate
+    private static final int BASE_ORDERED_INDEX_TREE_COST = 1280;
+    // the value, key and entry slots of leaves filled to 70% on average,
+    // plus the share of the leaf headers and the inner nodes
+    private static final int ORDERED_INDEX_TREE_ENTRY_COST = 24;
+
     private static final int ROUGH_BIG_INTEGER_COST = BASE_BIG_INTEGER_COST + 16;
     private static final int ROUGH_BIG_DECIMAL_COST = BASE_BIG_DECIMAL_COST + ROUGH_BIG_INTEGER_COST;
     private static final int ROUGH_UNKNOWN_CLASS_COST = 24;
@@ -135,7 +139,7 @@ public final class IndexHeapMemoryCostUtil {
     public static long estimateMapCost(long size, boolean ordered, boolean usesCachedQueryableEntries) {
         long mapCost;
         if (ordered) {
-            mapCost = BASE_CONCURRENT_SKIP_LIST_MAP_COST + size * CONCURRENT_SKIP_LIST_MAP_ENTRY_COST;
+            mapCost = BASE_ORDERED_INDEX_TREE_COST + size * ORDERED_INDEX_TREE_ENTRY_COST;
         } else {
             mapCost = BASE_CONCURRENT_HASH_MAP_COST + size * CONCURRENT_HASH_MAP_ENTRY_COST;
         }
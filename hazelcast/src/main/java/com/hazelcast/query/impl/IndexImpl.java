@@ -55,6 +55,8 @@ public class IndexImpl extends AbstractIndex {
                 return new UnorderedIndexStore(copyBehavior);
             case BITMAP:
                 return new BitmapIndexStore(config);
+            case FULL_TEXT:
+                return new FullTextIndexStore();
             default:
                 throw new IllegalArgumentException("unexpected index type: " + config.getType());
         }
@@ -79,6 +79,9 @@ public class IndexRegistry {
     private final Map<String, InternalIndex> indexesByName = new ConcurrentHashMap<>(3);
     private final AttributeIndexRegistry attributeIndexRegistry = new AttributeIndexRegistry();
     private final AttributeIndexRegistry evaluateOnlyAttributeIndexRegistry = new AttributeIndexRegistry();
+    // full-text indexes are evaluate-only too, but they are kept apart to not
+    // shadow bitmap indexes on the same attributes
+    private final AttributeIndexRegistry fullTextAttributeIndexRegistry = new AttributeIndexRegistry();
     private final ConverterCache converterCache = new ConverterCache(this);
     private final Map<String, IndexConfig> definitions = new ConcurrentHashMap<>();
 
@@ -182,7 +185,9 @@ public class IndexRegistry {
                 mapName);
 
         indexesByName.put(name, index);
-        if (index.isEvaluateOnly()) {
+        if (indexConfig.getType() == IndexType.FULL_TEXT) {
+            fullTextAttributeIndexRegistry.register(index);
+        } else if (index.isEvaluateOnly()) {
             evaluateOnlyAttributeIndexRegistry.register(index);
         } else {
             attributeIndexRegistry.register(index);
@@ -274,6 +279,7 @@ public class IndexRegistry {
         indexesByName.clear();
         attributeIndexRegistry.clear();
         evaluateOnlyAttributeIndexRegistry.clear();
+        fullTextAttributeIndexRegistry.clear();
         converterCache.clear();
 
         for (InternalIndex index : indexesCopy) {
@@ -487,6 +493,33 @@ public class IndexRegistry {
         }
     }
 
+    /**
+     * Performs a query on this indexes instance using the given predicate and
+     * an ordered index which stores all the given attributes, so the returned
+     * entries provide the values of these attributes without extracting them.
+     *
+     * @param predicate           the predicate to evaluate.
+     * @param attributes          the attributes read from the result entries.
+     * @param ownedPartitionCount a count of owned partitions a query runs on.
+     *                            Negative value indicates that the value is not defined.
+     * @return the produced iterable result object or {@code null} if there is no
+     * index covering the attributes which can evaluate the predicate.
+     * @see CoveringIndexQuery
+     */
+    public Iterable<QueryableEntry> queryCovering(Predicate predicate, String[] attributes, int ownedPartitionCount) {
+        if (!haveAtLeastOneIndex()) {
+            return null;
+        }
+
+        Iterable<QueryableEntry> result = CoveringIndexQuery.query(this, predicate, attributes, ownedPartitionCount,
+                resultFilterFactory == null ? null : resultFilterFactory.get());
+        if (result != null) {
+            stats.incrementQueryCount();
+            stats.incrementIndexedQueryCount();
+        }
+        return result;
+    }
+
     /**
      * Matches an index for the given pattern and match hint.
      *
@@ -542,6 +575,12 @@ public class IndexRegistry {
             index = indexesByName.get(pattern);
         } else {
             index = evaluateOnlyAttributeIndexRegistry.match(pattern, matchHint);
+            if (index == null || !index.canEvaluate(predicateClass)) {
+                InternalIndex fullTextIndex = fullTextAttributeIndexRegistry.match(pattern, matchHint);
+                if (fullTextIndex != null && fullTextIndex.canEvaluate(predicateClass)) {
+                    index = fullTextIndex;
+                }
+            }
             if (index == null) {
                 index = attributeIndexRegistry.match(pattern, matchHint);
             }
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.util.HashUtil.MurmurHash3_fmix;
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+
+/**
+ * Statistics of the values stored in an index store used to estimate the
+ * cardinality of index lookups.
+ * <p>
+ * The statistics are maintained incrementally by the index store while it
+ * holds its write lock, so there is a single writer at a time. Readers don't
+ * lock, they may observe the statistics in the middle of an update which is
+ * fine for estimates.
+ * <p>
+ * The count of distinct values is estimated using a HyperLogLog sketch.
+ * Removed values can't be subtracted from the sketch, so the distinct count
+ * is overestimated after removals until the store is emptied. For ordered
+ * stores, the numeric values are also counted by an equi-width histogram
+ * which doubles the width of its buckets to cover new values.
+ */
+@SuppressWarnings("rawtypes")
+public final class IndexStatistics {
+
+    /**
+     * The precision of the sketch, the sketch has 2^precision registers. The
+     * standard error of the estimate is about 1.04 / sqrt(2^precision).
+     */
+    private static final int PRECISION = 10;
+    private static final int REGISTER_COUNT = 1 << PRECISION;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+    private static final double LINEAR_COUNTING_THRESHOLD = 2.5 * REGISTER_COUNT;
+
+    private static final int BUCKET_COUNT = 64;
+
+    private final byte[] registers = new byte[REGISTER_COUNT];
+    private final boolean ordered;
+
+    private volatile long entryCount;
+    private double inverseRegisterSum = REGISTER_COUNT;
+    private int zeroRegisterCount = REGISTER_COUNT;
+
+    private long[] buckets;
+    private double lowerBound;
+    private double bucketWidth;
+    private long otherValueCount;
+
+    /**
+     * @param ordered {@code true} if the statistics are maintained for an
+     *                ordered index store and should estimate the cardinality
+     *                of ranges.
+     */
+    public IndexStatistics(boolean ordered) {
+        this.ordered = ordered;
+    }
+
+    /**
+     * @return the number of entries in the index store, an entry is counted
+     * once for each of its values if the indexed attribute is multi-value.
+     */
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * @return the estimated number of distinct values in the index store.
+     */
+    public long getDistinctCount() {
+        long entryCount = this.entryCount;
+        if (entryCount == 0) {
+            return 0;
+        }
+
+        double estimate = ALPHA * REGISTER_COUNT * REGISTER_COUNT / inverseRegisterSum;
+        int zeroRegisterCount = this.zeroRegisterCount;
+        if (estimate <= LINEAR_COUNTING_THRESHOLD && zeroRegisterCount > 0) {
+            estimate = REGISTER_COUNT * Math.log((double) REGISTER_COUNT / zeroRegisterCount);
+        }
+        return Math.max(1, Math.min(entryCount, Math.round(estimate)));
+    }
+
+    /**
+     * @return the estimated number of entries having the same value.
+     */
+    public long estimateEqual() {
+        long distinctCount = getDistinctCount();
+        return distinctCount == 0 ? 0 : (entryCount + distinctCount - 1) / distinctCount;
+    }
+
+    /**
+     * Estimates the number of entries with values in the given range.
+     *
+     * @param from the lower bound of the range or {@code null} if the range
+     *             is left-unbounded.
+     * @param to   the upper bound of the range or {@code null} if the range
+     *             is right-unbounded.
+     * @return the estimated number of entries or {@code -1} if the range
+     * can't be estimated because the index store isn't ordered, not all of
+     * its values are numeric or the bounds are not numeric.
+     */
+    public long estimateRange(Comparable from, Comparable to) {
+        // read the volatile count first to observe the latest update
+        if (entryCount == 0) {
+            return 0;
+        }
+        if (!ordered || otherValueCount > 0) {
+            return -1;
+        }
+        if (from != null && !(from instanceof Number) || to != null && !(to instanceof Number)) {
+            return -1;
+        }
+
+        long[] buckets = this.buckets;
+        if (buckets == null) {
+            return 0;
+        }
+
+        double lowerBound = this.lowerBound;
+        double bucketWidth = this.bucketWidth;
+        double low = from == null ? Double.NEGATIVE_INFINITY : ((Number) from).doubleValue();
+        double high = to == null ? Double.POSITIVE_INFINITY : ((Number) to).doubleValue();
+        double estimate = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            double bucketLow = lowerBound + i * bucketWidth;
+            double bucketHigh = bucketLow + bucketWidth;
+            double overlap = Math.min(high, bucketHigh) - Math.max(low, bucketLow);
+            if (overlap > 0) {
+                // assuming the values are distributed uniformly within a bucket
+                estimate += buckets[i] * Math.min(1.0, overlap / bucketWidth);
+            }
+        }
+        return (long) Math.ceil(estimate);
+    }
+
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "The statistics are updated under the write lock of the index store")
+    void onInsert(Comparable value) {
+        long mixedHash = MurmurHash3_fmix((long) value.hashCode());
+        int register = (int) (mixedHash >>> (Long.SIZE - PRECISION));
+        int rank = Long.numberOfLeadingZeros((mixedHash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        int currentRank = registers[register];
+        if (rank > currentRank) {
+            registers[register] = (byte) rank;
+            inverseRegisterSum += Math.scalb(1.0, -rank) - Math.scalb(1.0, -currentRank);
+            if (currentRank == 0) {
+                --zeroRegisterCount;
+            }
+        }
+
+        if (ordered && value != NULL) {
+            double number = numberOf(value);
+            if (Double.isNaN(number)) {
+                ++otherValueCount;
+            } else {
+                int bucket = bucketOf(number);
+                ++buckets[bucket];
+            }
+        }
+
+        ++entryCount;
+    }
+
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "The statistics are updated under the write lock of the index store")
+    void onRemove(Comparable value) {
+        if (ordered && value != NULL) {
+            double number = numberOf(value);
+            if (Double.isNaN(number)) {
+                otherValueCount = Math.max(0, otherValueCount - 1);
+            } else if (buckets != null && number >= lowerBound && number < lowerBound + bucketWidth * BUCKET_COUNT) {
+                int bucket = Math.min((int) ((number - lowerBound) / bucketWidth), BUCKET_COUNT - 1);
+                buckets[bucket] = Math.max(0, buckets[bucket] - 1);
+            }
+        }
+
+        if (entryCount <= 1) {
+            clear();
+        } else {
+            --entryCount;
+        }
+    }
+
+    void clear() {
+        Arrays.fill(registers, (byte) 0);
+        inverseRegisterSum = REGISTER_COUNT;
+        zeroRegisterCount = REGISTER_COUNT;
+        buckets = null;
+        otherValueCount = 0;
+        entryCount = 0;
+    }
+
+    private int bucketOf(double number) {
+        if (buckets == null) {
+            buckets = new long[BUCKET_COUNT];
+            lowerBound = Math.floor(number);
+            bucketWidth = 1;
+        }
+
+        while (number < lowerBound) {
+            // double the range to the left, the current buckets are merged
+            // into the upper half
+            long[] merged = new long[BUCKET_COUNT];
+            for (int i = 0; i < BUCKET_COUNT; ++i) {
+                merged[BUCKET_COUNT / 2 + i / 2] += buckets[i];
+            }
+            lowerBound -= bucketWidth * BUCKET_COUNT;
+            bucketWidth *= 2;
+            buckets = merged;
+        }
+        while (number >= lowerBound + bucketWidth * BUCKET_COUNT) {
+            // double the range to the right, the current buckets are merged
+            // into the lower half
+            long[] merged = new long[BUCKET_COUNT];
+            for (int i = 0; i < BUCKET_COUNT; ++i) {
+                merged[i / 2] += buckets[i];
+            }
+            bucketWidth *= 2;
+            buckets = merged;
+        }
+
+        return Math.min((int) ((number - lowerBound) / bucketWidth), BUCKET_COUNT - 1);
+    }
+
+    /**
+     * @return the value as a double or {@code NaN} if the value is not a
+     * number or its magnitude is too large for the histogram.
+     */
+    private static double numberOf(Comparable value) {
+        if (!(value instanceof Number number)) {
+            return Double.NaN;
+        }
+        double result = number.doubleValue();
+        // keep the histogram range finite
+        return Math.abs(result) < Double.MAX_VALUE / 4 ? result : Double.NaN;
+    }
+
+}
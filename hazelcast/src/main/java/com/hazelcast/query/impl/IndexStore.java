@@ -110,6 +110,12 @@ public interface IndexStore {
      */
     void clear();
 
+    /**
+     * @return the statistics of the values stored in this index store or
+     * {@code null} if this index store doesn't maintain them.
+     */
+    IndexStatistics getStatistics();
+
     /**
      * Destroys this index by releasing all its resources.
      */
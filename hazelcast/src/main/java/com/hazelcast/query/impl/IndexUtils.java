@@ -22,10 +22,12 @@ import com.hazelcast.config.BitmapIndexOptions.UniqueKeyTransformation;
 import com.hazelcast.config.ConfigXmlGenerator.XmlGenerator;
 import com.hazelcast.config.IndexConfig;
 import com.hazelcast.config.IndexType;
+import com.hazelcast.internal.cluster.Versions;
 import com.hazelcast.internal.util.StringUtil;
 import com.hazelcast.internal.util.UuidUtil;
 import com.hazelcast.memory.Capacity;
 import com.hazelcast.memory.MemoryUnit;
+import com.hazelcast.version.Version;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 
@@ -84,6 +86,10 @@ public final class IndexUtils {
             throw new IllegalArgumentException("Composite bitmap indexes are not supported: " + config);
         }
 
+        if (config.getType() == IndexType.FULL_TEXT && originalAttributeNames.size() > 1) {
+            throw new IllegalArgumentException("Composite full-text indexes are not supported: " + config);
+        }
+
         List<String> normalizedAttributeNames = new ArrayList<>(originalAttributeNames.size());
 
         for (String originalAttributeName : originalAttributeNames) {
@@ -136,6 +142,23 @@ public final class IndexUtils {
         return normalizedConfig;
     }
 
+    /**
+     * Checks that all the members of a cluster running at the given cluster
+     * version support the given index type.
+     *
+     * @param type           the index type to check.
+     * @param clusterVersion the current cluster version.
+     * @throws UnsupportedOperationException if some members of the cluster
+     *                                       might not support the index type.
+     */
+    public static void checkIndexTypeSupported(IndexType type, Version clusterVersion) {
+        // RU_COMPAT 5.6
+        if (type == IndexType.FULL_TEXT && clusterVersion.isUnknownOrLessThan(Versions.V5_7)) {
+            throw new UnsupportedOperationException("FULL_TEXT indexes are available since version '" + Versions.V5_7
+                    + "'. Current cluster version '" + clusterVersion + "' does not allow adding them.");
+        }
+    }
+
     private static IndexConfig buildNormalizedConfig(String mapName, IndexType indexType, String indexName,
                                                      List<String> normalizedAttributeNames,
                                                      BTreeIndexConfig btreeIndexConfig) {
@@ -392,6 +415,8 @@ public final class IndexUtils {
             return IndexType.HASH;
         } else if (equalsIgnoreCase(typeStr, IndexType.BITMAP.name())) {
             return IndexType.BITMAP;
+        } else if (equalsIgnoreCase(typeStr, IndexType.FULL_TEXT.name())) {
+            return IndexType.FULL_TEXT;
         } else {
             throw new IllegalArgumentException("Unsupported index type: " + typeStr);
         }
@@ -464,6 +489,9 @@ public final class IndexUtils {
             case BITMAP:
                 return "bitmap";
 
+            case FULL_TEXT:
+                return "full_text";
+
             default:
                 throw new IllegalArgumentException("Unsupported index type: " + type);
         }
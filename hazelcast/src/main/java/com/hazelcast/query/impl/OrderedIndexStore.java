@@ -23,16 +23,11 @@ import com.hazelcast.query.Predicate;
 import javax.annotation.Nonnull;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.NavigableMap;
 import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
-import java.util.concurrent.ConcurrentSkipListMap;
-import java.util.stream.Stream;
 
 import static com.hazelcast.query.impl.AbstractIndex.NULL;
 import static com.hazelcast.query.impl.CompositeValue.POSITIVE_INFINITY;
@@ -41,6 +36,12 @@ import static java.util.Collections.emptySet;
 
 /**
  * Store indexes rankly.
+ * <p>
+ * The entries are kept in an {@link OrderedIndexTree} ordered by the index
+ * value and the entry key. Updates are serialized by the global lock, the
+ * record iterators don't lock and are weakly consistent. Results are always
+ * copied out of the tree, so both {@link IndexCopyBehavior}s provide
+ * readers with records that aren't modified by concurrent updates.
  */
 @SuppressWarnings("rawtypes")
 public class OrderedIndexStore extends BaseSingleValueIndexStore {
@@ -65,32 +66,22 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
         }
     };
 
-    private final ConcurrentSkipListMap<Comparable, NavigableMap<Data, QueryableEntry>> recordMap =
-            new ConcurrentSkipListMap<>(SPECIAL_AWARE_COMPARATOR);
-
-    private final IndexFunctor<Comparable, QueryableEntry> addFunctor;
-    private final IndexFunctor<Comparable, Data> removeFunctor;
+    private final OrderedIndexTree<Data, QueryableEntry> records =
+            new OrderedIndexTree<>(SPECIAL_AWARE_COMPARATOR, DATA_COMPARATOR);
 
     public OrderedIndexStore(IndexCopyBehavior copyOn) {
-        super(copyOn, true);
+        super(copyOn, true, true);
         assert copyOn != null;
-        if (copyOn == IndexCopyBehavior.COPY_ON_WRITE) {
-            addFunctor = new CopyOnWriteAddFunctor();
-            removeFunctor = new CopyOnWriteRemoveFunctor();
-        } else {
-            addFunctor = new AddFunctor();
-            removeFunctor = new RemoveFunctor();
-        }
     }
 
     @Override
     Object insertInternal(Comparable value, QueryableEntry record) {
-        return addFunctor.invoke(value, record);
+        return records.put(value, record.getKeyData(), record);
     }
 
     @Override
     Object removeInternal(Comparable value, Data recordKey) {
-        return removeFunctor.invoke(value, recordKey);
+        return records.remove(value, recordKey);
     }
 
     @Override
@@ -112,7 +103,8 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
     public void clear() {
         takeWriteLock();
         try {
-            recordMap.clear();
+            records.clear();
+            getStatistics().clear();
         } finally {
             releaseWriteLock();
         }
@@ -170,41 +162,12 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
             boolean descending,
             Data lastEntryKeyData
     ) {
-        var entries = recordMap.get(value);
-
-        if (entries == null) {
-            return emptyIterator();
-        }
-        entries = descending ? entries.descendingMap() : entries;
-
-        if (lastEntryKeyData != null) {
-            entries = entries.tailMap(lastEntryKeyData, false);
-        }
-
-        return Stream.of(
-                new IndexKeyEntries(
-                        value,
-                        entries.values().iterator()
-                )
-        ).iterator();
-
+        return new IndexKeyEntriesIterator(records.cursor(value, true, value, true, lastEntryKeyData, descending));
     }
 
     @Override
     public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(boolean descending) {
-        if (descending) {
-            return recordMap.descendingMap().entrySet()
-                    .stream()
-                    .map((Entry<Comparable, NavigableMap<Data, QueryableEntry>> es) ->
-                            new IndexKeyEntries(es.getKey(), es.getValue().descendingMap().values().iterator()))
-                    .iterator();
-        } else {
-            return recordMap.entrySet()
-                    .stream()
-                    .map((Entry<Comparable, NavigableMap<Data, QueryableEntry>> es) ->
-                            new IndexKeyEntries(es.getKey(), es.getValue().values().iterator()))
-                    .iterator();
-        }
+        return new IndexKeyEntriesIterator(records.cursor(null, false, null, false, null, descending));
     }
 
     @Override
@@ -277,32 +240,15 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
             return emptyIterator();
         }
 
-        var subMap = descending
-                ? recordMap.subMap(from, fromInclusive, to, toInclusive).descendingMap()
-                : recordMap.subMap(from, fromInclusive, to, toInclusive);
-
-
-        var indexKeyForLastEntryKeyData = descending ? to : from;
-        return subMap.entrySet()
-                .stream()
-                .map(
-                        (Entry<Comparable, NavigableMap<Data, QueryableEntry>> es) -> {
-                            var map = descending ? es.getValue().descendingMap() : es.getValue();
-                            if (useCursor && SPECIAL_AWARE_COMPARATOR.compare(indexKeyForLastEntryKeyData, es.getKey()) == 0) {
-                                map = map.tailMap(lastEntryKeyData, false);
-                            }
-                            return new IndexKeyEntries(es.getKey(), map.values().iterator());
-                        }
-                )
-                .iterator();
+        return new IndexKeyEntriesIterator(
+                records.cursor(from, fromInclusive, to, toInclusive, lastEntryKeyData, descending));
     }
 
-
     @Override
     public Set<QueryableEntry> getRecords(Comparable value) {
         takeReadLock();
         try {
-            return toSingleResultSet(recordMap.get(value));
+            return new SingleResultSet(collect(value, true, value, true));
         } finally {
             releaseReadLock();
         }
@@ -314,10 +260,9 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
         try {
             MultiResultSet results = createMultiResultSet();
             for (Comparable value : values) {
-                Map<Data, QueryableEntry> records;
-                records = recordMap.get(value);
-                if (records != null) {
-                    copyToMultiResultSet(results, records);
+                Map<Data, QueryableEntry> records = collect(value, true, value, true);
+                if (!records.isEmpty()) {
+                    results.addResultSet(records);
                 }
             }
             return results;
@@ -351,116 +296,91 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
                 if (!fromInclusive || !toInclusive) {
                     return emptySet();
                 }
-                return toSingleResultSet(recordMap.get(from));
+                return new SingleResultSet(collect(from, true, from, true));
             } else if (order > 0) {
                 return emptySet();
             }
             MultiResultSet results = createMultiResultSet();
-            SortedMap<Comparable, NavigableMap<Data, QueryableEntry>> subMap =
-                    recordMap.subMap(from, fromInclusive, to, toInclusive);
-            for (Map<Data, QueryableEntry> value : subMap.values()) {
-                copyToMultiResultSet(results, value);
-            }
+            results.addResultSet(collect(from, fromInclusive, to, toInclusive));
             return results;
         } finally {
             releaseReadLock();
         }
     }
 
-    /**
-     * Adds entry to the given index map without copying it.
-     * Needs to be invoked in a thread-safe way.
-     *
-     * @see IndexCopyBehavior
-     */
-    private class AddFunctor implements IndexFunctor<Comparable, QueryableEntry> {
-
-        @Override
-        public Object invoke(Comparable value, QueryableEntry entry) {
-            return recordMap.computeIfAbsent(value, x -> new ConcurrentSkipListMap<>(DATA_COMPARATOR)).put(entry.getKeyData(),
-                    entry);
+    private Map<Data, QueryableEntry> collect(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        OrderedIndexTree<Data, QueryableEntry>.Cursor cursor = records.cursor(from, fromInclusive, to, toInclusive, null, false);
+        Map<Data, QueryableEntry> result = new HashMap<>();
+        while (cursor.hasNext()) {
+            result.put(cursor.key(), cursor.entry());
+            cursor.advance();
         }
-
+        return result;
     }
 
     /**
-     * Adds entry to the given index map copying it to secure exclusive access.
-     * Needs to be invoked in a thread-safe way.
-     *
-     * @see IndexCopyBehavior
+     * Groups the entries of a cursor by their index value. Advancing to the
+     * next group skips the entries of the current group not iterated yet.
      */
-    private class CopyOnWriteAddFunctor implements IndexFunctor<Comparable, QueryableEntry> {
+    private static final class IndexKeyEntriesIterator implements Iterator<IndexKeyEntries> {
+        private final OrderedIndexTree<Data, QueryableEntry>.Cursor cursor;
+        private GroupIterator group;
+
+        private IndexKeyEntriesIterator(OrderedIndexTree<Data, QueryableEntry>.Cursor cursor) {
+            this.cursor = cursor;
+        }
 
         @Override
-        public Object invoke(Comparable value, QueryableEntry entry) {
-            Object oldValue;
-            NavigableMap<Data, QueryableEntry> records = recordMap.get(value);
-            if (records == null) {
-                records = new TreeMap<>(DATA_COMPARATOR);
+        public boolean hasNext() {
+            if (group != null) {
+                group.close();
+                group = null;
             }
-
-            records = new TreeMap<>(records);
-            oldValue = records.put(entry.getKeyData(), entry);
-
-            recordMap.put(value, records);
-            return oldValue;
+            return cursor.hasNext();
         }
-    }
-
-    /**
-     * Removes entry from the given index map without copying it.
-     * Needs to be invoked in a thread-safe way.
-     *
-     * @see IndexCopyBehavior
-     */
-    private class RemoveFunctor implements IndexFunctor<Comparable, Data> {
 
         @Override
-        public Object invoke(Comparable value, Data indexKey) {
-            Object oldValue;
-            Map<Data, QueryableEntry> records = recordMap.get(value);
-            if (records != null) {
-                oldValue = records.remove(indexKey);
-                if (records.isEmpty()) {
-                    recordMap.remove(value);
-                }
-            } else {
-                oldValue = null;
+        public IndexKeyEntries next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             }
-
-            return oldValue;
+            Comparable value = cursor.value();
+            group = new GroupIterator(cursor, value);
+            return new IndexKeyEntries(value, group);
         }
-
     }
 
-    /**
-     * Removes entry from the given index map copying it to secure exclusive access.
-     * Needs to be invoked in a thread-safe way.
-     *
-     * @see IndexCopyBehavior
-     */
-    private class CopyOnWriteRemoveFunctor implements IndexFunctor<Comparable, Data> {
+    private static final class GroupIterator implements Iterator<QueryableEntry> {
+        private final OrderedIndexTree<Data, QueryableEntry>.Cursor cursor;
+        private final OrderedIndexTree.Probe value;
+        private boolean closed;
+
+        private GroupIterator(OrderedIndexTree<Data, QueryableEntry>.Cursor cursor, Comparable value) {
+            this.cursor = cursor;
+            this.value = new OrderedIndexTree.Probe().set(value, null, 0, true);
+        }
 
         @Override
-        public Object invoke(Comparable value, Data indexKey) {
-            Object oldValue;
-            NavigableMap<Data, QueryableEntry> records = recordMap.get(value);
-            if (records != null) {
-                records = new TreeMap<>(records);
-                oldValue = records.remove(indexKey);
-
-                if (records.isEmpty()) {
-                    recordMap.remove(value);
-                } else {
-                    recordMap.put(value, records);
-                }
-            } else {
-                oldValue = null;
-            }
+        public boolean hasNext() {
+            return !closed && cursor.hasNext() && cursor.valueEquals(value);
+        }
 
-            return oldValue;
+        @Override
+        public QueryableEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            QueryableEntry entry = cursor.entry();
+            cursor.advance();
+            return entry;
         }
 
+        private void close() {
+            while (hasNext()) {
+                cursor.advance();
+            }
+            closed = true;
+        }
     }
 
     private static final class IteratorFromBatch implements Iterator<QueryableEntry> {
@@ -0,0 +1,903 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * B+tree storing the entries of an ordered index.
+ * <p>
+ * The tree is ordered by the index value and then by the entry key, so
+ * every entry takes a slot of its own in a leaf instead of a nested map
+ * per distinct index value. A leaf keeps its values, keys and entries in
+ * parallel arrays. When all the values of a leaf are {@link Long}s,
+ * {@link Integer}s, {@link Double}s or {@link LocalDateTime}s, the values
+ * are stored unboxed in a {@code long[]} encoded to preserve their order.
+ * <p>
+ * Updates must be serialized by the caller, the {@link OrderedIndexStore}
+ * does it with its global write lock. Readers don't take any lock: every
+ * node has a {@link StampedLock}, the writer write-locks the nodes it
+ * modifies, and readers descend the tree with optimistic reads, validating
+ * every node they read and restarting when a node changed under them. A
+ * {@link Cursor} copies the entries of a leaf at a time and re-descends
+ * from the root for the next leaf, so it's weakly consistent and never
+ * blocks the writer for longer than copying a single leaf.
+ * <p>
+ * Empty leaves are removed and sparse leaves are merged with a sibling,
+ * inner nodes are removed only when they become empty.
+ *
+ * @param <K> the type of the entry keys
+ * @param <V> the type of the entries
+ */
+@SuppressWarnings({"rawtypes", "unchecked", "checkstyle:MethodCount"})
+final class OrderedIndexTree<K, V> {
+
+    static final int LEAF_CAPACITY = 64;
+    static final int INNER_CAPACITY = 64;
+
+    static final byte GENERIC = 0;
+    static final byte LONG = 1;
+    static final byte INT = 2;
+    static final byte DOUBLE = 3;
+    static final byte TIMESTAMP = 4;
+
+    private static final int MERGE_THRESHOLD = LEAF_CAPACITY / 4;
+    private static final int MERGED_LEAF_MAX_SIZE = LEAF_CAPACITY * 3 / 4;
+    private static final int MAX_DEPTH = 32;
+    private static final int MAX_OPTIMISTIC_ATTEMPTS = 8;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long MAX_TIMESTAMP_SECONDS = Long.MAX_VALUE / NANOS_PER_SECOND - 1;
+
+    private final Comparator<Comparable> valueComparator;
+    private final Comparator<K> keyComparator;
+
+    private volatile Node root = new Leaf(GENERIC);
+
+    // the state of the single writer: the inner nodes on the path to the
+    // last leaf it descended to, and the index of the child taken in each
+    private final Inner[] path = new Inner[MAX_DEPTH];
+    private final int[] pathIndex = new int[MAX_DEPTH];
+    private int depth;
+    private final Probe writeProbe = new Probe();
+
+    OrderedIndexTree(Comparator<Comparable> valueComparator, Comparator<K> keyComparator) {
+        this.valueComparator = valueComparator;
+        this.keyComparator = keyComparator;
+    }
+
+    /**
+     * Puts the entry with the given value and key, replacing the entry with
+     * the same value and key, if any.
+     *
+     * @return the replaced entry or {@code null} if there was none.
+     */
+    V put(Comparable value, K key, V entry) {
+        Probe probe = writeProbe.set(value, key, 0, true);
+        Leaf leaf = descendForWrite(probe);
+        int size = leaf.size;
+        int pos = ceiling(leaf.kind, leaf.values, leaf.longValues, leaf.keys, size, probe);
+
+        if (pos < size && compareEntry(leaf.kind, leaf.values, leaf.longValues, leaf.keys, pos, probe) == 0) {
+            long stamp = leaf.lock.writeLock();
+            V old = (V) leaf.entries[pos];
+            leaf.entries[pos] = entry;
+            leaf.lock.unlockWrite(stamp);
+            return old;
+        }
+
+        long stamp = leaf.lock.writeLock();
+        try {
+            leaf.prepareFor(probe.kind);
+            if (size < LEAF_CAPACITY) {
+                leaf.insert(pos, probe, entry);
+            } else {
+                splitLeaf(leaf, pos, probe, entry);
+            }
+        } finally {
+            leaf.lock.unlockWrite(stamp);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the entry with the given value and key.
+     *
+     * @return the removed entry or {@code null} if there was none.
+     */
+    V remove(Comparable value, K key) {
+        Probe probe = writeProbe.set(value, key, 0, true);
+        Leaf leaf = descendForWrite(probe);
+        int size = leaf.size;
+        int pos = ceiling(leaf.kind, leaf.values, leaf.longValues, leaf.keys, size, probe);
+        if (pos == size || compareEntry(leaf.kind, leaf.values, leaf.longValues, leaf.keys, pos, probe) != 0) {
+            return null;
+        }
+
+        long stamp = leaf.lock.writeLock();
+        try {
+            V old = (V) leaf.entries[pos];
+            leaf.remove(pos);
+            if (depth > 0) {
+                if (leaf.size == 0) {
+                    removeChild(depth - 1);
+                } else if (leaf.size < MERGE_THRESHOLD) {
+                    mergeWithSibling(leaf);
+                }
+            }
+            return old;
+        } finally {
+            leaf.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes all the entries. Readers already iterating keep seeing the
+     * entries from before the call.
+     */
+    void clear() {
+        root = new Leaf(GENERIC);
+    }
+
+    /**
+     * Returns a cursor over the entries between the given bounds.
+     * <p>
+     * A {@code null} bound value means the tree is not bounded on that side.
+     * If the start key is not {@code null}, the cursor starts right after
+     * the entry with the start value and start key, the start inclusiveness
+     * is ignored in that case.
+     */
+    Cursor cursor(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive,
+                  K startKey, boolean descending) {
+        return new Cursor(from, fromInclusive, to, toInclusive, startKey, descending);
+    }
+
+    private Leaf descendForWrite(Probe probe) {
+        Node node = root;
+        int level = 0;
+        while (node instanceof Inner inner) {
+            int index = childIndex(inner, inner.size, probe, true);
+            path[level] = inner;
+            pathIndex[level] = index;
+            level++;
+            node = inner.children[index];
+        }
+        depth = level;
+        return (Leaf) node;
+    }
+
+    private void splitLeaf(Leaf leaf, int pos, Probe probe, V entry) {
+        int mid = (LEAF_CAPACITY + 1) / 2;
+        Leaf right = new Leaf(leaf.kind);
+        if (pos < mid) {
+            leaf.moveTo(right, mid - 1);
+            leaf.insert(pos, probe, entry);
+        } else {
+            leaf.moveTo(right, mid);
+            right.insert(pos - mid, probe, entry);
+        }
+        leaf.specialize();
+        right.specialize();
+
+        Comparable separator = right.value(0);
+        Object separatorKey = right.keys[0];
+        if (depth == 0) {
+            newRoot(leaf, separator, separatorKey, right);
+        } else {
+            insertChild(depth - 1, separator, separatorKey, right);
+        }
+    }
+
+    // inserts the child right after the child taken on the path at the given level
+    private void insertChild(int level, Comparable separator, Object separatorKey, Node child) {
+        Inner inner = path[level];
+        int index = pathIndex[level] + 1;
+        long stamp = inner.lock.writeLock();
+        try {
+            if (inner.size < INNER_CAPACITY) {
+                inner.insert(index, separator, separatorKey, child);
+                return;
+            }
+
+            int size = INNER_CAPACITY + 1;
+            Comparable[] separators = new Comparable[size];
+            Object[] separatorKeys = new Object[size];
+            Node[] children = new Node[size];
+            System.arraycopy(inner.separators, 0, separators, 0, index);
+            System.arraycopy(inner.separatorKeys, 0, separatorKeys, 0, index);
+            System.arraycopy(inner.children, 0, children, 0, index);
+            separators[index] = separator;
+            separatorKeys[index] = separatorKey;
+            children[index] = child;
+            System.arraycopy(inner.separators, index, separators, index + 1, INNER_CAPACITY - index);
+            System.arraycopy(inner.separatorKeys, index, separatorKeys, index + 1, INNER_CAPACITY - index);
+            System.arraycopy(inner.children, index, children, index + 1, INNER_CAPACITY - index);
+
+            int mid = size / 2;
+            Inner right = new Inner();
+            inner.fill(separators, separatorKeys, children, 0, mid);
+            right.fill(separators, separatorKeys, children, mid, size);
+
+            if (level == 0) {
+                newRoot(inner, separators[mid], separatorKeys[mid], right);
+            } else {
+                insertChild(level - 1, separators[mid], separatorKeys[mid], right);
+            }
+        } finally {
+            inner.lock.unlockWrite(stamp);
+        }
+    }
+
+    private void newRoot(Node left, Comparable separator, Object separatorKey, Node right) {
+        Inner newRoot = new Inner();
+        newRoot.children[0] = left;
+        newRoot.insert(1, separator, separatorKey, right);
+        root = newRoot;
+    }
+
+    // removes the child taken on the path at the given level
+    private void removeChild(int level) {
+        Inner inner = path[level];
+        long stamp = inner.lock.writeLock();
+        try {
+            inner.remove(pathIndex[level]);
+            if (level > 0) {
+                if (inner.size == 0) {
+                    removeChild(level - 1);
+                }
+            } else {
+                collapseRoot(inner);
+            }
+        } finally {
+            inner.lock.unlockWrite(stamp);
+        }
+    }
+
+    // the caller holds the write lock of the root
+    private void collapseRoot(Inner inner) {
+        if (inner.size == 0) {
+            root = new Leaf(GENERIC);
+        } else if (inner.size == 1) {
+            root = inner.children[0];
+        }
+    }
+
+    // the caller holds the write lock of the leaf
+    private void mergeWithSibling(Leaf leaf) {
+        Inner parent = path[depth - 1];
+        int index = pathIndex[depth - 1];
+        int leftIndex;
+        if (index + 1 < parent.size) {
+            leftIndex = index;
+        } else if (index > 0) {
+            leftIndex = index - 1;
+        } else {
+            return;
+        }
+
+        Leaf left = (Leaf) parent.children[leftIndex];
+        Leaf right = (Leaf) parent.children[leftIndex + 1];
+        if (left.size + right.size > MERGED_LEAF_MAX_SIZE) {
+            return;
+        }
+
+        Leaf sibling = left == leaf ? right : left;
+        long siblingStamp = sibling.lock.writeLock();
+        long parentStamp = parent.lock.writeLock();
+        try {
+            left.append(right);
+            parent.remove(leftIndex + 1);
+            if (depth == 1) {
+                collapseRoot(parent);
+            }
+        } finally {
+            parent.lock.unlockWrite(parentStamp);
+            sibling.lock.unlockWrite(siblingStamp);
+        }
+    }
+
+    // the index of the last child whose separator is less than the probe, or
+    // equal to it if allowed; the probe can be found only in that child
+    private int childIndex(Inner inner, int size, Probe probe, boolean allowEqual) {
+        int low = 1;
+        int high = Math.min(size, INNER_CAPACITY);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int c = compareSeparator(inner, mid, probe);
+            if (c < 0 || (c == 0 && allowEqual)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - 1;
+    }
+
+    private int compareSeparator(Inner inner, int index, Probe probe) {
+        if (probe.value == null) {
+            return -probe.keySide;
+        }
+        int c = valueComparator.compare(inner.separators[index], probe.value);
+        if (c != 0) {
+            return c;
+        } else if (probe.keySide != 0) {
+            return -probe.keySide;
+        }
+        return keyComparator.compare((K) inner.separatorKeys[index], (K) probe.key);
+    }
+
+    // the index of the first entry greater than the probe, or equal to it if the probe is inclusive
+    private int ceiling(byte kind, Comparable[] values, long[] longValues, Object[] keys, int size, Probe probe) {
+        int low = 0;
+        int high = Math.min(size, LEAF_CAPACITY);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int c = compareEntry(kind, values, longValues, keys, mid, probe);
+            if (c > 0 || (c == 0 && probe.inclusive)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    // the index of the last entry less than the probe, or equal to it if the probe is inclusive
+    private int floor(byte kind, Comparable[] values, long[] longValues, Object[] keys, int size, Probe probe) {
+        int low = 0;
+        int high = Math.min(size, LEAF_CAPACITY);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int c = compareEntry(kind, values, longValues, keys, mid, probe);
+            if (c < 0 || (c == 0 && probe.inclusive)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - 1;
+    }
+
+    private int compareEntry(byte kind, Comparable[] values, long[] longValues, Object[] keys, int index, Probe probe) {
+        int c = compareValue(kind, values, longValues, index, probe);
+        if (c != 0 || probe.value == null) {
+            return c;
+        } else if (probe.keySide != 0) {
+            return -probe.keySide;
+        }
+        return keyComparator.compare((K) keys[index], (K) probe.key);
+    }
+
+    private int compareValue(byte kind, Comparable[] values, long[] longValues, int index, Probe probe) {
+        if (probe.value == null) {
+            return -probe.keySide;
+        } else if (kind == GENERIC) {
+            return valueComparator.compare(values[index], probe.value);
+        } else if (kind == probe.kind) {
+            return Long.compare(longValues[index], probe.bits);
+        }
+        return valueComparator.compare(decode(kind, longValues[index]), probe.value);
+    }
+
+    static byte kindOf(Comparable value) {
+        Class<?> clazz = value == null ? null : value.getClass();
+        if (clazz == Long.class) {
+            return LONG;
+        } else if (clazz == Integer.class) {
+            return INT;
+        } else if (clazz == Double.class) {
+            return DOUBLE;
+        } else if (clazz == LocalDateTime.class) {
+            long seconds = ((LocalDateTime) value).toEpochSecond(ZoneOffset.UTC);
+            return Math.abs(seconds) <= MAX_TIMESTAMP_SECONDS ? TIMESTAMP : GENERIC;
+        }
+        return GENERIC;
+    }
+
+    // the encoding preserves the order of the values of a kind
+    static long encode(byte kind, Comparable value) {
+        switch (kind) {
+            case LONG:
+                return (Long) value;
+            case INT:
+                return (Integer) value;
+            case DOUBLE:
+                long bits = Double.doubleToLongBits((Double) value);
+                return bits ^ ((bits >> (Long.SIZE - 1)) & Long.MAX_VALUE);
+            case TIMESTAMP:
+                LocalDateTime timestamp = (LocalDateTime) value;
+                return timestamp.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + timestamp.getNano();
+            default:
+                throw new IllegalArgumentException("Unknown kind: " + kind);
+        }
+    }
+
+    static Comparable decode(byte kind, long bits) {
+        switch (kind) {
+            case LONG:
+                return bits;
+            case INT:
+                return (int) bits;
+            case DOUBLE:
+                return Double.longBitsToDouble(bits ^ ((bits >> (Long.SIZE - 1)) & Long.MAX_VALUE));
+            case TIMESTAMP:
+                return LocalDateTime.ofEpochSecond(Math.floorDiv(bits, NANOS_PER_SECOND),
+                        (int) Math.floorMod(bits, NANOS_PER_SECOND), ZoneOffset.UTC);
+            default:
+                throw new IllegalArgumentException("Unknown kind: " + kind);
+        }
+    }
+
+    /**
+     * A position in the tree: an index value, optionally refined by an entry
+     * key, or by the key side: -1 is before and +1 is after all the entries
+     * with the value. A {@code null} value with the key side -1 or +1 is
+     * before or after all the entries of the tree.
+     */
+    static final class Probe {
+        Comparable value;
+        Object key;
+        int keySide;
+        // whether an entry equal to the probe is included in a search
+        boolean inclusive;
+        byte kind;
+        long bits;
+
+        Probe set(Comparable value, Object key, int keySide, boolean inclusive) {
+            this.value = value;
+            this.key = key;
+            this.keySide = keySide;
+            this.inclusive = inclusive;
+            this.kind = kindOf(value);
+            this.bits = kind == GENERIC ? 0 : encode(kind, value);
+            return this;
+        }
+    }
+
+    abstract static class Node {
+        final StampedLock lock = new StampedLock();
+        int size;
+    }
+
+    static final class Inner extends Node {
+        // the lowest possible entry of a child, unused for the first child
+        final Comparable[] separators = new Comparable[INNER_CAPACITY];
+        final Object[] separatorKeys = new Object[INNER_CAPACITY];
+        final Node[] children = new Node[INNER_CAPACITY];
+
+        Inner() {
+            size = 1;
+        }
+
+        void insert(int index, Comparable separator, Object separatorKey, Node child) {
+            int moved = size - index;
+            System.arraycopy(separators, index, separators, index + 1, moved);
+            System.arraycopy(separatorKeys, index, separatorKeys, index + 1, moved);
+            System.arraycopy(children, index, children, index + 1, moved);
+            separators[index] = separator;
+            separatorKeys[index] = separatorKey;
+            children[index] = child;
+            size++;
+        }
+
+        void remove(int index) {
+            int moved = size - index - 1;
+            System.arraycopy(separators, index + 1, separators, index, moved);
+            System.arraycopy(separatorKeys, index + 1, separatorKeys, index, moved);
+            System.arraycopy(children, index + 1, children, index, moved);
+            size--;
+            separators[size] = null;
+            separatorKeys[size] = null;
+            children[size] = null;
+        }
+
+        void fill(Comparable[] separators, Object[] separatorKeys, Node[] children, int from, int to) {
+            int count = to - from;
+            System.arraycopy(separators, from, this.separators, 0, count);
+            System.arraycopy(separatorKeys, from, this.separatorKeys, 0, count);
+            System.arraycopy(children, from, this.children, 0, count);
+            for (int i = count; i < INNER_CAPACITY; i++) {
+                this.separators[i] = null;
+                this.separatorKeys[i] = null;
+                this.children[i] = null;
+            }
+            size = count;
+        }
+    }
+
+    static final class Leaf extends Node {
+        byte kind;
+        // the values when the kind is GENERIC, otherwise null
+        Comparable[] values;
+        // the encoded values when the kind is not GENERIC, otherwise null
+        long[] longValues;
+        final Object[] keys = new Object[LEAF_CAPACITY];
+        final Object[] entries = new Object[LEAF_CAPACITY];
+
+        Leaf(byte kind) {
+            setKind(kind);
+        }
+
+        Comparable value(int index) {
+            return kind == GENERIC ? values[index] : decode(kind, longValues[index]);
+        }
+
+        // makes the leaf able to store a value of the given kind
+        void prepareFor(byte valueKind) {
+            if (kind == valueKind || (kind == GENERIC && size > 0)) {
+                return;
+            }
+            if (size == 0) {
+                setKind(valueKind);
+            } else {
+                toGeneric();
+            }
+        }
+
+        // stores the values unboxed if all of them are of the same kind
+        void specialize() {
+            if (kind != GENERIC || size == 0) {
+                return;
+            }
+            byte valueKind = kindOf(values[0]);
+            if (valueKind == GENERIC) {
+                return;
+            }
+            for (int i = 1; i < size; i++) {
+                if (kindOf(values[i]) != valueKind) {
+                    return;
+                }
+            }
+            long[] encoded = new long[LEAF_CAPACITY];
+            for (int i = 0; i < size; i++) {
+                encoded[i] = encode(valueKind, values[i]);
+            }
+            longValues = encoded;
+            kind = valueKind;
+            values = null;
+        }
+
+        private void setKind(byte valueKind) {
+            if (valueKind == GENERIC) {
+                values = new Comparable[LEAF_CAPACITY];
+                kind = GENERIC;
+                longValues = null;
+            } else {
+                longValues = new long[LEAF_CAPACITY];
+                kind = valueKind;
+                values = null;
+            }
+        }
+
+        private void toGeneric() {
+            Comparable[] decoded = new Comparable[LEAF_CAPACITY];
+            for (int i = 0; i < size; i++) {
+                decoded[i] = decode(kind, longValues[i]);
+            }
+            values = decoded;
+            kind = GENERIC;
+            longValues = null;
+        }
+
+        // the caller has prepared the leaf for the kind of the probe
+        void insert(int index, Probe probe, Object entry) {
+            int moved = size - index;
+            if (kind == GENERIC) {
+                System.arraycopy(values, index, values, index + 1, moved);
+                values[index] = probe.value;
+            } else {
+                System.arraycopy(longValues, index, longValues, index + 1, moved);
+                longValues[index] = probe.bits;
+            }
+            System.arraycopy(keys, index, keys, index + 1, moved);
+            System.arraycopy(entries, index, entries, index + 1, moved);
+            keys[index] = probe.key;
+            entries[index] = entry;
+            size++;
+        }
+
+        void remove(int index) {
+            int moved = size - index - 1;
+            if (kind == GENERIC) {
+                System.arraycopy(values, index + 1, values, index, moved);
+            } else {
+                System.arraycopy(longValues, index + 1, longValues, index, moved);
+            }
+            System.arraycopy(keys, index + 1, keys, index, moved);
+            System.arraycopy(entries, index + 1, entries, index, moved);
+            size--;
+            if (kind == GENERIC) {
+                values[size] = null;
+            }
+            keys[size] = null;
+            entries[size] = null;
+        }
+
+        // moves the entries from the given index on to the empty leaf of the same kind
+        void moveTo(Leaf target, int from) {
+            int count = size - from;
+            if (kind == GENERIC) {
+                System.arraycopy(values, from, target.values, 0, count);
+            } else {
+                System.arraycopy(longValues, from, target.longValues, 0, count);
+            }
+            System.arraycopy(keys, from, target.keys, 0, count);
+            System.arraycopy(entries, from, target.entries, 0, count);
+            target.size = count;
+            for (int i = from; i < size; i++) {
+                if (kind == GENERIC) {
+                    values[i] = null;
+                }
+                keys[i] = null;
+                entries[i] = null;
+            }
+            size = from;
+        }
+
+        // appends all the entries of the given leaf, which are greater than the entries of this leaf
+        void append(Leaf other) {
+            if (other.size == 0) {
+                return;
+            }
+            if (size == 0) {
+                setKind(other.kind);
+            } else if (kind != other.kind) {
+                if (kind != GENERIC) {
+                    toGeneric();
+                }
+            }
+            for (int i = 0; i < other.size; i++) {
+                if (kind == GENERIC) {
+                    values[size + i] = other.value(i);
+                } else {
+                    longValues[size + i] = other.longValues[i];
+                }
+            }
+            System.arraycopy(other.keys, 0, keys, size, other.size);
+            System.arraycopy(other.entries, 0, entries, size, other.size);
+            size += other.size;
+        }
+    }
+
+    /**
+     * Iterates over the entries of a range of the tree, see {@link #cursor}.
+     * <p>
+     * The cursor copies the remaining entries of a leaf at a time, and looks
+     * up the next leaf by the last copied entry. Not thread-safe.
+     */
+    final class Cursor {
+        private final boolean descending;
+        // the position to continue from
+        private final Probe next = new Probe();
+        private final Probe end;
+        private boolean exhausted;
+
+        private byte kind;
+        private final Comparable[] values = new Comparable[LEAF_CAPACITY];
+        private final long[] longValues = new long[LEAF_CAPACITY];
+        private final Object[] keys = new Object[LEAF_CAPACITY];
+        private final Object[] entries = new Object[LEAF_CAPACITY];
+        private int count;
+        private int index;
+
+        // the state of the last descent
+        private long stamp;
+        private boolean hasBound;
+        private Comparable boundValue;
+        private Object boundKey;
+
+        Cursor(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive,
+               K startKey, boolean descending) {
+            this.descending = descending;
+            Comparable start = descending ? to : from;
+            Comparable stop = descending ? from : to;
+            boolean startInclusive = descending ? toInclusive : fromInclusive;
+            boolean stopInclusive = descending ? fromInclusive : toInclusive;
+            // the side of a bound towards the end of the iteration
+            int forward = descending ? -1 : 1;
+
+            if (start == null) {
+                next.set(null, null, -forward, false);
+            } else if (startKey != null) {
+                next.set(start, startKey, 0, false);
+            } else {
+                next.set(start, null, startInclusive ? -forward : forward, false);
+            }
+            end = stop == null ? null : new Probe().set(stop, null, stopInclusive ? forward : -forward, false);
+        }
+
+        boolean hasNext() {
+            if (index == count) {
+                if (exhausted || !fetch()) {
+                    exhausted = true;
+                    return false;
+                }
+            }
+            if (end != null) {
+                int c = compareEntry(kind, values, longValues, keys, index, end);
+                if (descending ? c < 0 : c > 0) {
+                    exhausted = true;
+                    count = 0;
+                    index = 0;
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Moves to the next entry, must be called after {@link #hasNext()}
+         * returned {@code true}.
+         */
+        void advance() {
+            if (index == count) {
+                throw new NoSuchElementException();
+            }
+            index++;
+        }
+
+        Comparable value() {
+            return kind == GENERIC ? values[index] : decode(kind, longValues[index]);
+        }
+
+        K key() {
+            return (K) keys[index];
+        }
+
+        V entry() {
+            return (V) entries[index];
+        }
+
+        /**
+         * Checks if the value of the current entry is equal to the value of
+         * the given probe.
+         */
+        boolean valueEquals(Probe probe) {
+            return compareValue(kind, values, longValues, index, probe) == 0;
+        }
+
+        private boolean fetch() {
+            int attempts = 0;
+            for (; ; ) {
+                Leaf leaf = descend();
+                if (leaf == null) {
+                    attempts++;
+                    Thread.onSpinWait();
+                    continue;
+                }
+
+                int copied = -1;
+                try {
+                    copied = copy(leaf);
+                } catch (RuntimeException e) {
+                    if (leaf.lock.validate(stamp)) {
+                        throw e;
+                    }
+                }
+
+                boolean valid = copied >= 0 && leaf.lock.validate(stamp);
+                if (!valid && ++attempts >= MAX_OPTIMISTIC_ATTEMPTS) {
+                    // don't let a busy writer starve the reader: copy the leaf under the read lock
+                    long readStamp = leaf.lock.tryConvertToReadLock(stamp);
+                    if (readStamp != 0) {
+                        try {
+                            copied = copy(leaf);
+                            valid = true;
+                        } finally {
+                            leaf.lock.unlockRead(readStamp);
+                        }
+                    }
+                }
+                if (!valid) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                attempts = 0;
+
+                if (copied > 0) {
+                    int last = copied - 1;
+                    next.set(kind == GENERIC ? values[last] : decode(kind, longValues[last]), keys[last], 0, false);
+                    count = copied;
+                    index = 0;
+                    return true;
+                } else if (!hasBound) {
+                    return false;
+                }
+                // the leaf has no entries left in the range, continue with the next leaf
+                next.set(boundValue, boundKey, 0, !descending);
+            }
+        }
+
+        // copies the entries of the leaf following the next probe, in the iteration order
+        private int copy(Leaf leaf) {
+            byte leafKind = leaf.kind;
+            Comparable[] leafValues = leaf.values;
+            long[] leafLongValues = leaf.longValues;
+            Object[] leafKeys = leaf.keys;
+            Object[] leafEntries = leaf.entries;
+            int size = Math.min(leaf.size, LEAF_CAPACITY);
+            kind = leafKind;
+            int copied;
+            if (descending) {
+                int last = floor(leafKind, leafValues, leafLongValues, leafKeys, size, next);
+                copied = last + 1;
+                for (int i = 0; i < copied; i++) {
+                    int from = last - i;
+                    if (leafKind == GENERIC) {
+                        values[i] = leafValues[from];
+                    } else {
+                        longValues[i] = leafLongValues[from];
+                    }
+                    keys[i] = leafKeys[from];
+                    entries[i] = leafEntries[from];
+                }
+            } else {
+                int first = ceiling(leafKind, leafValues, leafLongValues, leafKeys, size, next);
+                copied = size - first;
+                if (leafKind == GENERIC) {
+                    System.arraycopy(leafValues, first, values, 0, copied);
+                } else {
+                    System.arraycopy(leafLongValues, first, longValues, 0, copied);
+                }
+                System.arraycopy(leafKeys, first, keys, 0, copied);
+                System.arraycopy(leafEntries, first, entries, 0, copied);
+            }
+            return copied;
+        }
+
+        // descends to the leaf the next probe falls into, returns null if a node changed meanwhile
+        private Leaf descend() {
+            Node node = root;
+            long nodeStamp = node.lock.tryOptimisticRead();
+            if (nodeStamp == 0) {
+                return null;
+            }
+            hasBound = false;
+            boundValue = null;
+            boundKey = null;
+            try {
+                while (node instanceof Inner inner) {
+                    int size = Math.min(inner.size, INNER_CAPACITY);
+                    int index = childIndex(inner, size, next, !descending || next.inclusive);
+                    int boundIndex = descending ? index : index + 1;
+                    if (boundIndex > 0 && boundIndex < size) {
+                        hasBound = true;
+                        boundValue = inner.separators[boundIndex];
+                        boundKey = inner.separatorKeys[boundIndex];
+                    }
+                    Node child = inner.children[index];
+                    long childStamp = child.lock.tryOptimisticRead();
+                    if (childStamp == 0 || !inner.lock.validate(nodeStamp)) {
+                        return null;
+                    }
+                    node = child;
+                    nodeStamp = childStamp;
+                }
+            } catch (RuntimeException e) {
+                if (node.lock.validate(nodeStamp)) {
+                    throw e;
+                }
+                return null;
+            }
+            stamp = nodeStamp;
+            return (Leaf) node;
+        }
+    }
+}
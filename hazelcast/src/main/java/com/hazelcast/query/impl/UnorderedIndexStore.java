@@ -45,7 +45,7 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
     private volatile Map<Data, QueryableEntry> recordsWithNullValue;
 
     public UnorderedIndexStore(IndexCopyBehavior copyOn) {
-        super(copyOn, true);
+        super(copyOn, true, false);
         if (copyOn == IndexCopyBehavior.COPY_ON_WRITE) {
             addFunctor = new CopyOnWriteAddFunctor();
             removeFunctor = new CopyOnWriteRemoveFunctor();
@@ -119,6 +119,7 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
         try {
             recordsWithNullValue.clear();
             recordMap.clear();
+            getStatistics().clear();
         } finally {
             releaseWriteLock();
         }
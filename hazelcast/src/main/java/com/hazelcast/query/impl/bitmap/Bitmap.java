@@ -37,7 +37,9 @@ import java.util.Map;
  * <p>
  * Internally, each bitmap manages a set of sparse bit sets, one for each
  * possible attribute value, and a sparse array to map from unique {@code long}
- * entry keys back to entries.
+ * entry keys back to entries. Predicates are evaluated by combining the bit
+ * sets using {@link BitmapAlgorithms}, the resulting bit set is mapped back
+ * to entries.
  *
  * @param <E> the type of entries being indexed.
  */
@@ -47,6 +49,8 @@ public final class Bitmap<E> {
     private final Map<Object, SparseBitSet> bitSets = new HashMap<>();
 
     private final SparseArray<E> entries = new SparseArray<>();
+    // the keys of all the entries, the universe for negations
+    private final SparseBitSet keys = new SparseBitSet();
 
     // Note! At the moment bitmap index doesn't support memory statistics,
     // because we cannot produce precise memory estimate.
@@ -72,6 +76,7 @@ public final class Bitmap<E> {
         }
 
         entries.set(key, entry);
+        keys.add(key);
     }
 
     /**
@@ -105,6 +110,7 @@ public final class Bitmap<E> {
         }
 
         entries.set(key, entry);
+        keys.add(key);
     }
 
     /**
@@ -129,6 +135,7 @@ public final class Bitmap<E> {
         }
 
         entries.clear(key);
+        keys.remove(key);
     }
 
     /**
@@ -137,6 +144,7 @@ public final class Bitmap<E> {
     public void clear() {
         bitSets.clear();
         entries.clear();
+        keys.clear();
     }
 
     /**
@@ -153,18 +161,20 @@ public final class Bitmap<E> {
      * @return an iterator containing entries matching the given predicate.
      */
     public Iterator<E> evaluate(Predicate predicate, TypeConverter converter) {
-        return new EntryIterator<>(predicateIterator(predicate, converter), entries.iterator());
+        return new EntryIterator<>(predicateBitSet(predicate, converter).iterator(), entries.iterator());
     }
 
+    // The returned bit sets may be the bit sets stored in this bitmap, they
+    // must not be modified.
     @SuppressWarnings("checkstyle:npathcomplexity")
-    private AscendingLongIterator predicateIterator(Predicate predicate, TypeConverter converter) {
+    private SparseBitSet predicateBitSet(Predicate predicate, TypeConverter converter) {
         if (predicate instanceof AndPredicate andPredicate) {
             Predicate[] predicates = andPredicate.getPredicates();
             assert predicates.length > 0;
             if (predicates.length == 1) {
-                return predicateIterator(predicates[0], converter);
+                return predicateBitSet(predicates[0], converter);
             } else {
-                return BitmapAlgorithms.and(predicateIterators(predicates, converter));
+                return BitmapAlgorithms.and(predicateBitSets(predicates, converter));
             }
         }
 
@@ -172,60 +182,60 @@ public final class Bitmap<E> {
             Predicate[] predicates = orPredicate.getPredicates();
             assert predicates.length > 0;
             if (predicates.length == 1) {
-                return predicateIterator(predicates[0], converter);
+                return predicateBitSet(predicates[0], converter);
             } else {
-                return BitmapAlgorithms.or(predicateIterators(predicates, converter));
+                return BitmapAlgorithms.or(predicateBitSets(predicates, converter));
             }
         }
 
         if (predicate instanceof NotPredicate notPredicate) {
             Predicate subPredicate = notPredicate.getPredicate();
-            return BitmapAlgorithms.not(predicateIterator(subPredicate, converter), entries);
+            return BitmapAlgorithms.andNot(keys, predicateBitSet(subPredicate, converter));
         }
 
         if (predicate instanceof NotEqualPredicate notEqualPredicate) {
             Comparable value = notEqualPredicate.getValue();
-            return BitmapAlgorithms.not(valueIterator(value, converter), entries);
+            return BitmapAlgorithms.andNot(keys, valueBitSet(value, converter));
         }
 
         if (predicate instanceof EqualPredicate equalPredicate) {
             Comparable value = equalPredicate.getFrom();
-            return valueIterator(value, converter);
+            return valueBitSet(value, converter);
         }
 
         if (predicate instanceof InPredicate inPredicate) {
             Comparable[] values = inPredicate.getValues();
-            return BitmapAlgorithms.or(valueIterators(values, converter));
+            return BitmapAlgorithms.or(valueBitSets(values, converter));
         }
 
         throw new IllegalArgumentException("unexpected predicate: " + predicate);
     }
 
-    private AscendingLongIterator[] predicateIterators(Predicate[] predicates, TypeConverter converter) {
-        AscendingLongIterator[] iterators = new AscendingLongIterator[predicates.length];
+    private SparseBitSet[] predicateBitSets(Predicate[] predicates, TypeConverter converter) {
+        SparseBitSet[] bitSets = new SparseBitSet[predicates.length];
         for (int i = 0; i < predicates.length; ++i) {
-            iterators[i] = predicateIterator(predicates[i], converter);
+            bitSets[i] = predicateBitSet(predicates[i], converter);
         }
-        return iterators;
+        return bitSets;
     }
 
-    private AscendingLongIterator valueIterator(Comparable value, TypeConverter converter) {
+    private SparseBitSet valueBitSet(Comparable value, TypeConverter converter) {
         SparseBitSet bitSet = bitSets.get(converter.convert(value));
-        return bitSet == null ? AscendingLongIterator.EMPTY : bitSet.iterator();
+        return bitSet == null ? new SparseBitSet() : bitSet;
     }
 
-    private AscendingLongIterator[] valueIterators(Comparable[] values, TypeConverter converter) {
-        AscendingLongIterator[] iterators = new AscendingLongIterator[values.length];
+    private SparseBitSet[] valueBitSets(Comparable[] values, TypeConverter converter) {
+        SparseBitSet[] bitSets = new SparseBitSet[values.length];
         for (int i = 0; i < values.length; ++i) {
-            iterators[i] = valueIterator(values[i], converter);
+            bitSets[i] = valueBitSet(values[i], converter);
         }
-        return iterators;
+        return bitSets;
     }
 
     /**
      * Maps unique entry keys back to entries.
      */
-    private static final class EntryIterator<E> implements Iterator<E> {
+    static final class EntryIterator<E> implements Iterator<E> {
 
         private final AscendingLongIterator iterator;
         private final SparseArray.Iterator<E> universe;
@@ -16,13 +16,16 @@
 
 package com.hazelcast.query.impl.bitmap;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import com.hazelcast.query.impl.bitmap.SparseBitSet.Container;
 
 import java.util.Arrays;
+import java.util.Comparator;
 
 /**
- * Provides algorithms crucial for set operations on ordered iterators provided
- * by sparse bit sets.
+ * Provides algorithms crucial for set operations on sparse bit sets.
+ * <p>
+ * The algorithms produce new bit sets, they align the containers of the bit
+ * sets by their keys and combine the containers word by word.
  */
 final class BitmapAlgorithms {
 
@@ -30,352 +33,110 @@ final class BitmapAlgorithms {
     }
 
     /**
-     * @return an iterator that represents a result of intersection of the given
-     * iterators.
+     * @return a bit set that represents a result of intersection of the given
+     * bit sets.
      */
-    public static AscendingLongIterator and(AscendingLongIterator[] iterators) {
-        return new AndIterator(iterators);
-    }
-
-    /**
-     * @return an iterator that represents a result of union over the given
-     * iterators.
-     */
-    public static AscendingLongIterator or(AscendingLongIterator[] iterators) {
-        return new OrIterator(iterators);
-    }
-
-    /**
-     * @return an iterator that represents a result of negation of the given
-     * iterator over the given universe (a set of known elements).
-     */
-    public static AscendingLongIterator not(AscendingLongIterator iterator, SparseArray<?> universe) {
-        return new NotIterator(iterator, universe);
-    }
-
-    private static final class AndIterator implements AscendingLongIterator {
-
-        // The idea: order iterators by their current index; if the index of the
-        // first iterator (minimum) equal to the last one (maximum), we have a
-        // match; otherwise advance the first iterator at least to the last
-        // iterator index (maximum) and make it the new maximum, make the
-        // iterator previously ordered second to be the new minimum, repeat
-        // checking for a match.
-
-        private final Node[] nodes;
-        private Node first;
-        private Node last;
-
-        private long index;
-
-        AndIterator(AscendingLongIterator[] iterators) {
-            Node[] nodes = new Node[iterators.length];
-            for (int i = 0; i < nodes.length; ++i) {
-                nodes[i] = new Node(iterators[i]);
-            }
-            this.nodes = nodes;
-
-            orderAndLink();
-            advance();
-        }
-
-        @Override
-        public long getIndex() {
-            return index;
-        }
-
-        @Override
-        public long advance() {
-            long current = index;
-
-            long min = first.iterator.getIndex();
-            long max = last.iterator.getIndex();
-
-            while (min != max && min != AscendingLongIterator.END && max != AscendingLongIterator.END) {
-                max = first.iterator.advanceAtLeastTo(max);
-
-                // The first iterator is now guaranteed to be at the maximum or
-                // beyond it, make it last and repeat.
-
-                Node second = first.next;
-                first.next = null;
-                last.next = first;
-                last = first;
-                first = second;
-
-                // The new first iterator is now our minimum.
-                min = first.iterator.getIndex();
-            }
-
-            if (max == AscendingLongIterator.END) {
-                index = AscendingLongIterator.END;
-                return current;
-            }
-
-            if (min != AscendingLongIterator.END) {
-                last.iterator.advance();
-            }
-            index = min;
-            return current;
-        }
-
-        @Override
-        public long advanceAtLeastTo(long member) {
-            if (index >= member) {
-                return index;
-            }
-
-            last.iterator.advanceAtLeastTo(member);
-            advance();
-
-            return index;
-        }
-
-        private void orderAndLink() {
-            Arrays.sort(nodes);
-
-            first = nodes[0];
-            last = nodes[nodes.length - 1];
-
-            for (int i = 0; i < nodes.length - 1; ++i) {
-                nodes[i].next = nodes[i + 1];
-            }
-            last.next = null;
-        }
-
-        @SuppressFBWarnings("EQ_COMPARETO_USE_OBJECT_EQUALS")
-        private static final class Node implements Comparable<Node> {
-
-            final AscendingLongIterator iterator;
-
-            Node next;
-
-            Node(AscendingLongIterator iterator) {
-                this.iterator = iterator;
-            }
-
-            @Override
-            public int compareTo(Node that) {
-                return Long.compare(this.iterator.getIndex(), that.iterator.getIndex());
-            }
-
-            @Override
-            public String toString() {
-                return Long.toString(iterator.getIndex());
-            }
-
-        }
-
-    }
-
-    private static final class OrIterator implements AscendingLongIterator {
-
-        // The idea: build a min-heap that will order the iterators according
-        // to their current indexes. Luckily enough, we need only sift-down
-        // operation to accomplish that since heap creation and heap element
-        // removal/update can be expressed solely with sift-downs.
-
-        private final AscendingLongIterator[] iterators;
-
-        private int size;
-
-        OrIterator(AscendingLongIterator[] iterators) {
-            this.iterators = iterators;
-            this.size = iterators.length;
-
-            heapify();
-            removeEmptyIterators();
-        }
-
-        @Override
-        public long getIndex() {
-            return size == 0 ? AscendingLongIterator.END : iterators[0].getIndex();
-        }
-
-        @Override
-        public long advance() {
-            if (size == 0) {
-                return AscendingLongIterator.END;
-            }
-
-            long current = iterators[0].getIndex();
-            update();
-
-            // skip duplicates if any
-            while (size > 0 && iterators[0].getIndex() == current) {
-                update();
-            }
-
-            return current;
-        }
-
-        @Override
-        public long advanceAtLeastTo(long member) {
-            if (size == 0) {
-                return AscendingLongIterator.END;
-            }
-
-            long index;
-            while ((index = iterators[0].getIndex()) < member) {
-                update();
-                if (size == 0) {
-                    return AscendingLongIterator.END;
-                }
-            }
-            return index;
-        }
-
-        private void removeEmptyIterators() {
-            while (size > 0 && iterators[0].getIndex() == AscendingLongIterator.END) {
-                --size;
-                if (size != 0) {
-                    siftDown(0, iterators[size]);
+    public static SparseBitSet and(SparseBitSet[] bitSets) {
+        // The idea: drive the intersection by the bit set having the least
+        // containers, advance the other bit sets to the keys of its containers
+        // and intersect the containers present in all the bit sets. If some
+        // bit set doesn't have the key, advance the driving bit set to the key
+        // that bit set was advanced to.
+        SparseBitSet[] ordered = bitSets.clone();
+        Arrays.sort(ordered, Comparator.comparingInt(SparseBitSet::containerCount));
+        SparseArray.Iterator<Container>[] iterators = containerIterators(ordered);
+        Container[] containers = new Container[ordered.length];
+
+        SparseBitSet result = new SparseBitSet();
+        SparseArray.Iterator<Container> driver = iterators[0];
+        long key = driver.getIndex();
+        while (key != AscendingLongIterator.END) {
+            containers[0] = driver.getValue();
+            long mismatch = key;
+            for (int i = 1; i < iterators.length && mismatch == key; ++i) {
+                mismatch = iterators[i].advanceAtLeastTo(key);
+                containers[i] = iterators[i].getValue();
+            }
+
+            if (mismatch == key) {
+                Container container = Container.and(containers, containers.length);
+                if (container != null) {
+                    result.append(key, container);
                 }
+                driver.advance();
+                key = driver.getIndex();
+            } else if (mismatch == AscendingLongIterator.END) {
+                break;
+            } else {
+                key = driver.advanceAtLeastTo(mismatch);
             }
         }
+        return result;
+    }
 
-        private void update() {
-            assert size > 0;
-            AscendingLongIterator iterator = iterators[0];
-            long index = iterator.advance();
-            long newIndex = iterator.getIndex();
-
-            if (newIndex == AscendingLongIterator.END) {
-                --size;
-                if (size != 0) {
-                    siftDown(0, iterators[size]);
+    /**
+     * @return a bit set that represents a result of union over the given bit
+     * sets.
+     */
+    public static SparseBitSet or(SparseBitSet[] bitSets) {
+        SparseArray.Iterator<Container>[] iterators = containerIterators(bitSets);
+        Container[] containers = new Container[bitSets.length];
+
+        SparseBitSet result = new SparseBitSet();
+        while (true) {
+            // find the least key not consumed yet
+            long key = AscendingLongIterator.END;
+            for (SparseArray.Iterator<Container> iterator : iterators) {
+                long candidate = iterator.getIndex();
+                if (candidate != AscendingLongIterator.END && (key == AscendingLongIterator.END || candidate < key)) {
+                    key = candidate;
                 }
-            } else {
-                // Indexes are always increasing in each individual iterator,
-                // so we may just sift-down according to the index.
-
-                assert newIndex > index;
-                siftDown(0, iterator);
             }
-        }
-
-        private void heapify() {
-            // A textbook implementation of heapify described in Wikipedia,
-            // java.util.PriorityQueue uses the same.
-
-            for (int i = (size >>> 1) - 1; i >= 0; i--) {
-                siftDown(i, iterators[i]);
+            if (key == AscendingLongIterator.END) {
+                return result;
             }
-        }
-
-        private void siftDown(int index, AscendingLongIterator iterator) {
-            // A tail-call-eliminated implementation of sift-down described in
-            // Wikipedia, similar to the one used by java.util.PriorityQueue.
 
-            int firstLeafIndex = size >>> 1;
-            while (index < firstLeafIndex) {
-                int childIndex = (index << 1) + 1;
-                AscendingLongIterator child = iterators[childIndex];
-                int rightChildIndex = childIndex + 1;
-                if (rightChildIndex < size && child.getIndex() > iterators[rightChildIndex].getIndex()) {
-                    childIndex = rightChildIndex;
-                    child = iterators[childIndex];
+            int count = 0;
+            for (SparseArray.Iterator<Container> iterator : iterators) {
+                if (iterator.getIndex() == key) {
+                    containers[count++] = iterator.getValue();
+                    iterator.advance();
                 }
-                if (iterator.getIndex() <= child.getIndex()) {
-                    break;
-                }
-                iterators[index] = child;
-                index = childIndex;
             }
-            iterators[index] = iterator;
+            result.append(key, Container.or(containers, count));
         }
-
     }
 
-    private static final class NotIterator implements AscendingLongIterator {
-
-        // The idea: find gaps in the base iterator and iterate indexes/members
-        // inside them using the universe iterator which contains all the known
-        // indexes.
-
-        private final AscendingLongIterator iterator;
-        private final AscendingLongIterator universe;
-
-        private long index;
-        private long gapEnd;
-
-        NotIterator(AscendingLongIterator iterator, SparseArray<?> universe) {
-            this.iterator = iterator;
-            this.universe = universe.iterator();
-            gapEnd = iterator.advance();
-            advance();
-        }
-
-        @Override
-        public long getIndex() {
-            return index;
-        }
-
-        @Override
-        public long advance() {
-            long current = index;
-
-            long newIndex = universe.advance();
-            if (newIndex != gapEnd) {
-                // We still not reached the gap end, fast exit.
-
-                index = newIndex;
-                return current;
-            }
-
-            // Try to find a new gap.
-
-            long newGapEnd = gapEnd;
-            while (newIndex == newGapEnd && newIndex != AscendingLongIterator.END) {
-                long newGapStart;
-                do {
-                    // We may overflow here to Long.MIN_VALUE, but we will exit
-                    // the loop anyway. In this case, after exiting the loop,
-                    // newGapEnd will be equal to AscendingLongIterator.END.
-                    newGapStart = newGapEnd + 1;
-                    newGapEnd = iterator.advance();
-                } while (newGapEnd == newGapStart);
-
-                if (newGapStart == Long.MIN_VALUE) {
-                    // If the overflow happened, nothing left for sure.
-                    assert newGapEnd == AscendingLongIterator.END;
-
-                    // Position the universe to Long.MAX_VALUE and consume it.
-                    universe.advanceAtLeastTo(Long.MAX_VALUE);
-                    universe.advance();
-                    break;
-                } else {
-                    newIndex = universe.advanceAtLeastTo(newGapStart);
+    /**
+     * @return a bit set that represents a result of subtraction of the given
+     * subtrahend bit set from the given bit set.
+     */
+    public static SparseBitSet andNot(SparseBitSet bitSet, SparseBitSet subtrahend) {
+        SparseArray.Iterator<Container> iterator = bitSet.containerIterator();
+        SparseArray.Iterator<Container> subtrahendIterator = subtrahend.containerIterator();
+
+        SparseBitSet result = new SparseBitSet();
+        for (long key = iterator.getIndex(); key != AscendingLongIterator.END; key = iterator.getIndex()) {
+            if (subtrahendIterator.advanceAtLeastTo(key) == key) {
+                Container container = Container.andNot(iterator.getValue(), subtrahendIterator.getValue());
+                if (container != null) {
+                    result.append(key, container);
                 }
+            } else {
+                result.append(key, iterator.getValue().copy());
             }
-
-            index = universe.advance();
-            gapEnd = newGapEnd;
-            return current;
+            iterator.advance();
         }
+        return result;
+    }
 
-        @Override
-        public long advanceAtLeastTo(long member) {
-            if (index >= member) {
-                // We are already at/beyond the member.
-                return index;
-            }
-
-            if (member > gapEnd) {
-                // Find out the new gap end and consume it.
-                gapEnd = iterator.advanceAtLeastTo(member);
-                iterator.advance();
-            }
-            // If existing/updated gap end is equal to the member, advance()
-            // will handle that. Gap end is either equal to the member or
-            // greater than it, since the gap end is part of the universe for
-            // sure.
-
-            universe.advanceAtLeastTo(member);
-            advance();
-            return index;
+    @SuppressWarnings("unchecked")
+    private static SparseArray.Iterator<Container>[] containerIterators(SparseBitSet[] bitSets) {
+        SparseArray.Iterator<Container>[] iterators = new SparseArray.Iterator[bitSets.length];
+        for (int i = 0; i < bitSets.length; ++i) {
+            iterators[i] = bitSets[i].containerIterator();
         }
-
+        return iterators;
     }
 
 }
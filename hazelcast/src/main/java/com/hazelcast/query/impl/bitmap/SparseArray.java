@@ -51,6 +51,21 @@ final class SparseArray<E> {
     private int lastPrefix = -1;
     private SparseIntArray<E> lastStorage;
 
+    /**
+     * Returns a value at the given index in this sparse array.
+     *
+     * @param index the index to get value at.
+     * @return the value at the given index or {@code null} if there is no
+     * value at the given index.
+     */
+    public E get(long index) {
+        assert index >= 0;
+        int prefix = (int) (index >>> Integer.SIZE);
+
+        SparseIntArray<E> storage = prefix == lastPrefix ? lastStorage : storages.get(prefix);
+        return storage == null ? null : storage.get((int) index);
+    }
+
     /**
      * Sets or replaces a value at the given index in this sparse array to the
      * new given value.
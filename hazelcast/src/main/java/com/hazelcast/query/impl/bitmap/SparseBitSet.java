@@ -16,11 +16,15 @@
 
 package com.hazelcast.query.impl.bitmap;
 
-import static com.hazelcast.query.impl.bitmap.BitmapUtils.capacityDeltaInt;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
 import static com.hazelcast.query.impl.bitmap.BitmapUtils.capacityDeltaShort;
 import static com.hazelcast.query.impl.bitmap.BitmapUtils.toUnsignedInt;
-import static com.hazelcast.query.impl.bitmap.BitmapUtils.toUnsignedLong;
 import static com.hazelcast.query.impl.bitmap.BitmapUtils.unsignedBinarySearch;
+import static java.lang.Long.bitCount;
 import static java.lang.Long.numberOfTrailingZeros;
 import static java.lang.System.arraycopy;
 import static java.util.Arrays.copyOf;
@@ -28,61 +32,64 @@ import static java.util.Arrays.copyOf;
 /**
  * Stores a set of bits indexable by non-negative {@code long} indexes.
  * <p>
- * Internally, uses a {@link SparseIntArray} indexed by the high 32 bits (32-bit
- * prefix) to resolve a storage ({@link Storage32 Storage32}) for the low 32
- * bits (32-bit postfix).
- * <p>
- * {@link Storage32 Storage32} goes in two flavors:
+ * The implementation follows the Roaring Bitmap container model: a {@link
+ * SparseArray} indexed by the high 48 bits of the indexes (the key) is used
+ * to resolve a {@link Container} storing the low 16 bits. Containers go in three
+ * flavors:
  * <ul>
- * <li>{@link ArrayStorage32 ArrayStorage32} which manages sorted int array of
- * 32-bit postfixes.
- * <li>{@link PrefixStorage32 PrefixStorage32} which splits 32-bit postfixes
- * into 16-bit prefixes and 16-bit postfixes. The high 16 bits are stored in
- * sorted array and used to lookup a storage ({@link Storage16 Storage16}) for
- * the low 16 bits.
+ * <li>{@link ArrayContainer} which manages a sorted short array of members,
+ * used for sparse containers.
+ * <li>{@link BitmapContainer} which manages a directly indexable long array
+ * of bits, used for dense containers.
+ * <li>{@link RunContainer} which manages a sorted array of runs of
+ * consecutive members, used for containers having long runs, for instance
+ * a container storing all the entries inserted in a row.
  * </ul>
  * <p>
- * {@link Storage16 Storage16} also goes in two flavors:
- * <ul>
- * <li>{@link ArrayStorage16 ArrayStorage16} which manages sorted short array of
- * 16-bit postfixes.
- * <li>{@link BitSetStorage16 BitSetStorage16} which manages directly indexable
- * long array of bits.
- * </ul>
+ * The array and bitmap containers are switched between once certain
+ * thresholds on the container cardinality are reached. The run containers
+ * are produced while optimizing the containers which are unlikely to be
+ * updated any time soon: since the indexes are usually allocated
+ * sequentially, that's the case for a container once a container for a
+ * greater key is created. The results of the set operations provided by
+ * {@link BitmapAlgorithms} are always optimized.
  * <p>
- * The implementation (which was inspired by Roaring Bitmap) switches between
- * various storage flavors once certain thresholds on storage size are reached.
- * <p>
- * Empty storages are never stored by the implementation.
+ * Empty containers are never stored by the implementation.
  */
 final class SparseBitSet {
 
     /**
-     * The size at which ArrayStorage32 is converted to PrefixStorage32.
-     * Inferred empirically: at this size we are not penalized too much for
-     * doing binary searches.
+     * The maximum cardinality of the array containers. At this size the
+     * memory cost of having sorted short array is equal to the cost of having
+     * directly indexable long array of bits.
      */
-    public static final int ARRAY_STORAGE_32_MAX_SIZE = 513;
+    public static final int ARRAY_CONTAINER_MAX_SIZE = 4096;
 
-    /**
-     * The size at which ArrayStorage16 is converted to BitSetStorage16. At
-     * this size the memory cost of having sorted short array is equal to the
-     * cost of having directly indexable long array of bits.
-     */
-    public static final int ARRAY_STORAGE_16_MAX_SIZE = 4096;
+    private static final int KEY_SHIFT = 16;
+    private static final int MEMBER_MASK = 0xFFFF;
+    private static final int MAX_MEMBER = MEMBER_MASK;
 
-    private static final long INT_PREFIX_MASK = 0xFFFFFFFF00000000L;
-    private static final long INT_POSTFIX_MASK = 0x00000000FFFFFFFFL;
-    private static final long SHORT_PREFIX_MASK = 0x00000000FFFF0000L;
-    private static final long INT_PREFIX_SHORT_POSTFIX_MASK = 0xFFFFFFFF0000FFFFL;
-    private static final long INT_PREFIX_SHORT_PREFIX_MASK = 0xFFFFFFFFFFFF0000L;
-    private static final long SHORT_POSTFIX_MASK = 0x000000000000FFFFL;
+    // 2^6 = 64 = number of bits a long can store
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_COUNT = 1 << KEY_SHIFT - WORD_SHIFT;
 
-    private final SparseIntArray<Storage32> storages = new SparseIntArray<>();
+    private static final int BITMAP_CONTAINER_BYTES = WORD_COUNT * Long.BYTES;
+    private static final int RUN_BYTES = 2 * Short.BYTES;
 
-    // used for caching of the last resolved 32-bit storage
-    private int lastPrefix = -1;
-    private Storage32 lastStorage;
+    private static final byte ARRAY_CONTAINER = 0;
+    private static final byte BITMAP_CONTAINER = 1;
+    private static final byte RUN_CONTAINER = 2;
+
+    // maps the keys to the containers
+    private final SparseArray<Container> containers = new SparseArray<>();
+    private int size;
+
+    // used for caching of the last resolved container
+    private long lastKey = -1;
+    private Container lastContainer;
+
+    // the greatest key ever added, its container may be already removed
+    private long maxKey = -1;
 
     /**
      * Adds the given member to this bit set.
@@ -91,69 +98,93 @@ final class SparseBitSet {
      */
     public void add(long member) {
         assert member >= 0;
-        int prefix = (int) (member >>> Integer.SIZE);
-
-        if (prefix == lastPrefix) {
-            Storage32 newStorage = lastStorage.add((int) member);
-            if (newStorage != lastStorage) {
-                // storage was upgraded
-                lastStorage = newStorage;
-                storages.set(prefix, newStorage);
+        long key = member >>> KEY_SHIFT;
+        int postfix = (int) member & MEMBER_MASK;
+
+        Container container = key == lastKey ? lastContainer : containers.get(key);
+        if (container == null) {
+            if (key > maxKey) {
+                optimizeLastContainer();
+                maxKey = key;
             }
+            container = new ArrayContainer(postfix);
+            containers.set(key, container);
+            ++size;
         } else {
-            lastPrefix = prefix;
-            Storage32 storage = storages.get(prefix);
-            if (storage == null) {
-                Storage32 createdStorage = new ArrayStorage32((int) member);
-                lastStorage = createdStorage;
-                storages.set(prefix, createdStorage);
-            } else {
-                Storage32 newStorage = storage.add((int) member);
-                if (newStorage == storage) {
-                    lastStorage = storage;
-                } else {
-                    // storage was upgraded
-                    lastStorage = newStorage;
-                    storages.set(prefix, newStorage);
-                }
+            Container newContainer = container.add(postfix);
+            if (newContainer != container) {
+                // container was converted
+                container = newContainer;
+                containers.set(key, newContainer);
             }
         }
+        lastKey = key;
+        lastContainer = container;
     }
 
     /**
      * Removes the given member from this bit set.
      *
      * @param member the member to remove.
-     * @return {@code true} if this storage became empty as a result of the
+     * @return {@code true} if this bit set became empty as a result of the
      * member removal, {@code false} otherwise.
      */
     public boolean remove(long member) {
         assert member >= 0;
-        int prefix = (int) (member >>> Integer.SIZE);
+        long key = member >>> KEY_SHIFT;
 
-        if (prefix == lastPrefix) {
-            if (lastStorage.remove((int) member)) {
-                lastPrefix = -1;
-                lastStorage = null;
-                return storages.clear(prefix);
-            } else {
-                return false;
-            }
-        } else {
-            Storage32 storage = storages.get(prefix);
-            if (storage == null) {
-                return false;
-            }
-            if (storage.remove((int) member)) {
-                lastPrefix = -1;
-                lastStorage = null;
-                return storages.clear(prefix);
-            } else {
-                lastPrefix = prefix;
-                lastStorage = storage;
-                return false;
-            }
+        Container container = key == lastKey ? lastContainer : containers.get(key);
+        if (container == null) {
+            return false;
         }
+
+        Container newContainer = container.remove((int) member & MEMBER_MASK);
+        if (newContainer == null) {
+            lastKey = -1;
+            lastContainer = null;
+            containers.clear(key);
+            --size;
+            return size == 0;
+        }
+        if (newContainer != container) {
+            // container was converted
+            containers.set(key, newContainer);
+        }
+        lastKey = key;
+        lastContainer = newContainer;
+        return false;
+    }
+
+    /**
+     * Removes all the members from this bit set.
+     */
+    public void clear() {
+        containers.clear();
+        size = 0;
+        lastKey = -1;
+        lastContainer = null;
+        maxKey = -1;
+    }
+
+    /**
+     * @return {@code true} if this bit set has no members, {@code false}
+     * otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the number of members in this bit set.
+     */
+    public long cardinality() {
+        long cardinality = 0;
+        SparseArray.Iterator<Container> iterator = containers.iterator();
+        while (iterator.getIndex() != AscendingLongIterator.END) {
+            cardinality += iterator.getValue().cardinality();
+            iterator.advance();
+        }
+        return cardinality;
     }
 
     /**
@@ -161,943 +192,918 @@ final class SparseBitSet {
      * this sparse bit set.
      */
     public AscendingLongIterator iterator() {
-        return new IteratorImpl(storages);
+        return new IteratorImpl(containers.iterator());
+    }
+
+    /**
+     * Writes a snapshot of this bit set to the given output.
+     * <p>
+     * The containers are written as they are stored, so reading the snapshot
+     * back doesn't require any conversions.
+     *
+     * @param out the output to write to.
+     * @throws IOException if writing fails.
+     * @see #readFrom
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(size);
+        SparseArray.Iterator<Container> iterator = containers.iterator();
+        while (iterator.getIndex() != AscendingLongIterator.END) {
+            out.writeLong(iterator.getIndex());
+            iterator.getValue().writeTo(out);
+            iterator.advance();
+        }
+    }
+
+    /**
+     * Reads a snapshot of a bit set written by {@link #writeTo}.
+     *
+     * @param in the input to read from.
+     * @return the bit set read.
+     * @throws IOException if reading fails.
+     */
+    public static SparseBitSet readFrom(DataInput in) throws IOException {
+        SparseBitSet bitSet = new SparseBitSet();
+        int size = in.readInt();
+        for (int i = 0; i < size; ++i) {
+            long key = in.readLong();
+            if (key <= bitSet.maxKey || key > Long.MAX_VALUE >>> KEY_SHIFT) {
+                throw new IOException("unexpected container key: " + key);
+            }
+            bitSet.append(key, Container.readFrom(in));
+        }
+        return bitSet;
+    }
+
+    /**
+     * @return the number of containers in this bit set.
+     */
+    int containerCount() {
+        return size;
     }
 
     /**
-     * Defines internal contract of storages responsible for storing of 32-bit
-     * postfixes.
+     * @return an iterator over the containers of this bit set, the indexes
+     * of the iterator are the keys of the containers.
      */
-    private interface Storage32 {
+    SparseArray.Iterator<Container> containerIterator() {
+        return containers.iterator();
+    }
+
+    /**
+     * Appends the given non-empty container having the given key which must
+     * be greater than the keys of all the existing containers.
+     */
+    void append(long key, Container container) {
+        assert container != null && container.cardinality() > 0;
+        assert key > maxKey;
+        containers.set(key, container);
+        ++size;
+        maxKey = key;
+    }
+
+    private void optimizeLastContainer() {
+        // The members are usually added in ascending order, so the container
+        // having the greatest key is unlikely to be updated anymore once a
+        // container for a greater key is created.
+        if (maxKey == -1) {
+            return;
+        }
+        Container container = containers.get(maxKey);
+        if (container != null) {
+            Container optimized = container.optimize();
+            if (optimized != container) {
+                containers.set(maxKey, optimized);
+            }
+        }
+    }
+
+    private static int arrayBytes(int cardinality) {
+        return cardinality <= ARRAY_CONTAINER_MAX_SIZE ? cardinality * Short.BYTES : Integer.MAX_VALUE;
+    }
+
+    private static int runCount(long[] words) {
+        // a run starts at every set bit preceded by a clear bit
+        int runCount = 0;
+        long carry = 0;
+        for (long word : words) {
+            runCount += bitCount(word & ~(word << 1 | carry));
+            carry = word >>> Long.SIZE - 1;
+        }
+        return runCount;
+    }
+
+    private static int nextSetBit(long[] words, int from) {
+        if (from > MAX_MEMBER) {
+            return -1;
+        }
+        int index = from >>> WORD_SHIFT;
+        long word = words[index] & -1L << from;
+        while (word == 0) {
+            if (++index == WORD_COUNT) {
+                return -1;
+            }
+            word = words[index];
+        }
+        return index << WORD_SHIFT | numberOfTrailingZeros(word);
+    }
+
+    private static int nextClearBit(long[] words, int from) {
+        if (from > MAX_MEMBER) {
+            return MAX_MEMBER + 1;
+        }
+        int index = from >>> WORD_SHIFT;
+        long word = ~words[index] & -1L << from;
+        while (word == 0) {
+            if (++index == WORD_COUNT) {
+                return MAX_MEMBER + 1;
+            }
+            word = ~words[index];
+        }
+        return index << WORD_SHIFT | numberOfTrailingZeros(word);
+    }
+
+    private static void setRange(long[] words, int from, int to) {
+        int fromIndex = from >>> WORD_SHIFT;
+        int toIndex = to >>> WORD_SHIFT;
+        long fromMask = -1L << from;
+        long toMask = -1L >>> Long.SIZE - 1 - (to & Long.SIZE - 1);
+        if (fromIndex == toIndex) {
+            words[fromIndex] |= fromMask & toMask;
+        } else {
+            words[fromIndex] |= fromMask;
+            Arrays.fill(words, fromIndex + 1, toIndex, -1L);
+            words[toIndex] |= toMask;
+        }
+    }
+
+    private static void clearRange(long[] words, int from, int to) {
+        int fromIndex = from >>> WORD_SHIFT;
+        int toIndex = to >>> WORD_SHIFT;
+        long fromMask = -1L << from;
+        long toMask = -1L >>> Long.SIZE - 1 - (to & Long.SIZE - 1);
+        if (fromIndex == toIndex) {
+            words[fromIndex] &= ~(fromMask & toMask);
+        } else {
+            words[fromIndex] &= ~fromMask;
+            Arrays.fill(words, fromIndex + 1, toIndex, 0L);
+            words[toIndex] &= ~toMask;
+        }
+    }
+
+    /**
+     * Stores the low 16 bits of the members sharing the same key.
+     * <p>
+     * Containers are never empty. The positions used to iterate the members
+     * are opaque non-negative integers specific to each container flavor.
+     */
+    abstract static class Container {
 
         /**
-         * Adds the given member to this storage.
-         *
-         * @param member the member to add.
-         * @return a new storage instance if this storage was converted to
-         * another storage flavor; this storage otherwise.
+         * @return the number of members in this container.
          */
-        Storage32 add(int member);
+        abstract int cardinality();
 
         /**
-         * Removes the given member from this storage.
-         *
-         * @param member the member to remove.
-         * @return {@code true} if this storage became empty as a result of the
-         * member removal, {@code false} otherwise.
+         * @return {@code true} if this container contains the given member,
+         * {@code false} otherwise.
          */
-        boolean remove(int member);
+        abstract boolean contains(int member);
 
         /**
-         * Starts iteration on this storage using the given iterator.
-         * <p>
-         * Always succeeds since we never keep empty storages.
+         * Adds the given member to this container.
          *
-         * @param iterator the iterator to iterate with.
+         * @return a new container if this container was converted to another
+         * container flavor; this container otherwise.
          */
-        void iterate(IteratorImpl iterator);
+        abstract Container add(int member);
 
         /**
-         * Advances the given iterator on this storage.
+         * Removes the given member from this container.
          *
-         * @param iterator the iterator to advance.
-         * @return {@code true} if the iterator is advanced to the next member,
-         * {@code false} if no members to iterate are left in this storage.
+         * @return a new container if this container was converted to another
+         * container flavor; {@code null} if this container became empty; this
+         * container otherwise.
          */
-        boolean advance(IteratorImpl iterator);
+        abstract Container remove(int member);
 
         /**
-         * Starts iteration on this storage starting from the given member using
-         * the given iterator.
-         *
-         * @param member   the member to start the iteration from.
-         * @param iterator the iterator to iterate with.
-         * @return {@code true} if the iterator is positioned to the given
-         * member; or, if the member is not present in this storage, to a member
-         * immediately following it and present in this storage or {@code false}
-         * if no such member exists in this storage.
+         * @return the position of the least member greater than or equal to
+         * the given member or {@code -1} if there is no such member.
          */
-        boolean iterateAtLeastFrom(int member, IteratorImpl iterator);
+        abstract int ceilingPosition(int member);
 
         /**
-         * Advances the given iterator to the given member; or, if the member is
-         * not present in this storage, to a member immediately following it
-         * and present in this storage.
-         *
-         * @param member   the member to advance at least to. The member must be
-         *                 greater than the member this iterator is currently at.
-         * @param iterator the iterator to advance.
-         * @return {@code true} if the iterator is advanced to the given
-         * member; or, if the member is not present in this storage, to a member
-         * immediately following it and present in this storage or {@code false}
-         * if no such member exists in this storage.
+         * @return the position following the given position or {@code -1} if
+         * the given position is the last one.
          */
-        boolean advanceAtLeastTo(int member, IteratorImpl iterator);
-
-    }
+        abstract int nextPosition(int position);
 
-    /**
-     * Manages sorted int array of indexes of set bits.
-     */
-    private static final class ArrayStorage32 implements Storage32 {
+        /**
+         * @return the member at the given position.
+         */
+        abstract int memberAt(int position);
 
-        private static final int MIN_CAPACITY = 1;
+        /**
+         * Sets the bits of the members of this container in the given words.
+         */
+        abstract void orInto(long[] words);
 
-        private int size;
-        private int[] members;
+        /**
+         * Clears the bits of the members not in this container in the given
+         * words.
+         */
+        abstract void andInto(long[] words);
 
-        ArrayStorage32(int member) {
-            this.size = 1;
-            this.members = new int[MIN_CAPACITY];
-            members[0] = member;
-        }
+        /**
+         * Clears the bits of the members of this container in the given words.
+         */
+        abstract void andNotInto(long[] words);
 
-        @Override
-        public Storage32 add(int member) {
-            int index = unsignedBinarySearch(members, size, toUnsignedLong(member));
-            if (index >= 0) {
-                // already in the array
-                return this;
-            }
-            index = -(index + 1);
+        /**
+         * @return a copy of this container.
+         */
+        abstract Container copy();
 
-            if (size == members.length) {
-                // No space left: try to grow members array.
+        /**
+         * @return a container taking less memory than this container and
+         * having the same members or this container if there is no such
+         * container.
+         */
+        abstract Container optimize();
 
-                if (size == ARRAY_STORAGE_32_MAX_SIZE) {
-                    return new PrefixStorage32(members, member, index);
-                }
+        abstract void writeTo(DataOutput out) throws IOException;
 
-                int newCapacity = Math.min(ARRAY_STORAGE_32_MAX_SIZE, size + capacityDeltaInt(members.length));
-                int[] newMembers = new int[newCapacity];
-                arraycopy(members, 0, newMembers, 0, index);
-                arraycopy(members, index, newMembers, index + 1, size - index);
-                members = newMembers;
-            } else {
-                // shift members right to free a slot for the new member
-                arraycopy(members, index, members, index + 1, size - index);
-            }
-            members[index] = member;
-            ++size;
-            return this;
+        long[] toWords() {
+            long[] words = new long[WORD_COUNT];
+            orInto(words);
+            return words;
         }
 
-        @Override
-        public boolean remove(int member) {
-            int index = unsignedBinarySearch(members, size, toUnsignedLong(member));
-            if (index < 0) {
-                // not a member
-                return false;
+        /**
+         * @return the intersection of the given containers.
+         */
+        static Container and(Container[] containers, int count) {
+            Container smallest = containers[0];
+            for (int i = 1; i < count; ++i) {
+                if (containers[i].cardinality() < smallest.cardinality()) {
+                    smallest = containers[i];
+                }
             }
 
-            --size;
-            if (size == 0) {
-                // emptied
-                return true;
+            if (smallest instanceof ArrayContainer array) {
+                // the result is a subset of the array, probe the others
+                short[] members = new short[array.size];
+                int size = 0;
+                for (int i = 0; i < array.size; ++i) {
+                    int member = toUnsignedInt(array.members[i]);
+                    if (containsAll(containers, count, member)) {
+                        members[size++] = (short) member;
+                    }
+                }
+                return size == 0 ? null : new ArrayContainer(members, size).optimize();
             }
 
-            int delta = capacityDeltaInt(members.length);
-            int wasted = members.length - size;
-            int newCapacity = members.length - delta;
-            if (wasted >= delta && newCapacity >= MIN_CAPACITY) {
-                // We are wasting too much: shrink the array.
-
-                int[] newMembers = new int[newCapacity];
-                arraycopy(members, 0, newMembers, 0, index);
-                arraycopy(members, index + 1, newMembers, index, size - index);
-                members = newMembers;
-            } else {
-                // shift members left to fill the gap
-                arraycopy(members, index + 1, members, index, size - index);
+            long[] words = smallest.toWords();
+            for (int i = 0; i < count; ++i) {
+                if (containers[i] != smallest) {
+                    containers[i].andInto(words);
+                }
             }
-            return false;
+            return fromWords(words);
         }
 
-        @Override
-        public void iterate(IteratorImpl iterator) {
-            assert size > 0;
-            iterator.position32 = 1;
-            iterator.index = iterator.index & INT_PREFIX_MASK | toUnsignedLong(members[0]);
-        }
+        /**
+         * @return the union of the given containers.
+         */
+        static Container or(Container[] containers, int count) {
+            if (count == 1) {
+                return containers[0].copy();
+            }
 
-        @Override
-        public boolean advance(IteratorImpl iterator) {
-            int position = iterator.position32;
-            if (position < size) {
-                iterator.index = iterator.index & INT_PREFIX_MASK | toUnsignedLong(members[position]);
-                iterator.position32 = position + 1;
-                return true;
-            } else {
-                return false;
+            long[] words = new long[WORD_COUNT];
+            for (int i = 0; i < count; ++i) {
+                containers[i].orInto(words);
             }
+            return fromWords(words);
         }
 
-        @Override
-        public boolean iterateAtLeastFrom(int member, IteratorImpl iterator) {
-            long unsignedMember = toUnsignedLong(member);
-            int position = unsignedBinarySearch(members, size, unsignedMember);
-
-            if (position < 0) {
-                position = -(position + 1);
-                if (position == size) {
-                    return false;
+        /**
+         * @return the difference of the given containers.
+         */
+        static Container andNot(Container container, Container subtrahend) {
+            if (container instanceof ArrayContainer array) {
+                short[] members = new short[array.size];
+                int size = 0;
+                for (int i = 0; i < array.size; ++i) {
+                    int member = toUnsignedInt(array.members[i]);
+                    if (!subtrahend.contains(member)) {
+                        members[size++] = (short) member;
+                    }
                 }
-                unsignedMember = toUnsignedLong(members[position]);
+                return size == 0 ? null : new ArrayContainer(members, size).optimize();
             }
 
-            iterator.index = iterator.index & INT_PREFIX_MASK | unsignedMember;
-            iterator.position32 = position + 1;
-            return true;
+            long[] words = container.toWords();
+            subtrahend.andNotInto(words);
+            return fromWords(words);
         }
 
-        @Override
-        public boolean advanceAtLeastTo(int member, IteratorImpl iterator) {
-            long unsignedMember = toUnsignedLong(member);
-            long current = iterator.index;
-            assert (current & INT_POSTFIX_MASK) < unsignedMember;
+        /**
+         * @return the container taking the least memory for the members set
+         * in the given words or {@code null} if no members are set.
+         */
+        static Container fromWords(long[] words) {
+            int cardinality = 0;
+            for (long word : words) {
+                cardinality += bitCount(word);
+            }
+            if (cardinality == 0) {
+                return null;
+            }
 
-            int position = iterator.position32;
-            if (position == size) {
-                return false;
+            int runCount = runCount(words);
+            if (runCount * RUN_BYTES < Math.min(arrayBytes(cardinality), BITMAP_CONTAINER_BYTES)) {
+                return new RunContainer(words, runCount, cardinality);
             }
+            if (cardinality <= ARRAY_CONTAINER_MAX_SIZE) {
+                return new ArrayContainer(words, cardinality);
+            }
+            return new BitmapContainer(words, cardinality);
+        }
 
-            position = unsignedBinarySearch(members, position, size, unsignedMember);
+        static Container readFrom(DataInput in) throws IOException {
+            byte type = in.readByte();
+            switch (type) {
+                case ARRAY_CONTAINER:
+                    return ArrayContainer.readFrom(in);
+                case BITMAP_CONTAINER:
+                    return BitmapContainer.readFrom(in);
+                case RUN_CONTAINER:
+                    return RunContainer.readFrom(in);
+                default:
+                    throw new IOException("unexpected container type: " + type);
+            }
+        }
 
-            if (position < 0) {
-                position = -(position + 1);
-                if (position == size) {
+        private static boolean containsAll(Container[] containers, int count, int member) {
+            for (int i = 0; i < count; ++i) {
+                if (!containers[i].contains(member)) {
                     return false;
                 }
-                unsignedMember = toUnsignedLong(members[position]);
             }
-
-            iterator.index = current & INT_PREFIX_MASK | unsignedMember;
-            iterator.position32 = position + 1;
             return true;
         }
 
     }
 
     /**
-     * Manages sorted array of 16-bit prefixes to lookup storages for 16-bit
-     * postfixes.
+     * Manages sorted short array of members.
      */
-    private static final class PrefixStorage32 implements Storage32 {
+    private static final class ArrayContainer extends Container {
 
-        private static final int MIN_CAPACITY = 2;
-        private static final int MAX_CAPACITY = 64 * 1024;
+        private static final int MIN_CAPACITY = 4;
 
+        private short[] members;
         private int size;
-        private short[] prefixes;
-        private Storage16[] storages;
 
-        // used for caching of the last resolved 16-bit storage
-        private int lastPrefix = -1;
-        private Storage16 lastStorage;
+        ArrayContainer(int member) {
+            this.members = new short[MIN_CAPACITY];
+            this.members[0] = (short) member;
+            this.size = 1;
+        }
 
-        /**
-         * Constructs a new prefix storage for the given sorted members array
-         * and the given member to insert at the given index.
-         */
-        PrefixStorage32(int[] members, int member, int index) {
-            this.prefixes = new short[MIN_CAPACITY];
-            this.storages = new Storage16[MIN_CAPACITY];
+        ArrayContainer(short[] members, int size) {
+            assert size > 0;
+            this.members = members;
+            this.size = size;
+        }
 
-            for (int i = 0; i < index; ++i) {
-                append(members[i]);
-            }
-            append(member);
-            for (int i = index; i < members.length; ++i) {
-                append(members[i]);
+        ArrayContainer(long[] words, int cardinality) {
+            assert cardinality > 0 && cardinality <= ARRAY_CONTAINER_MAX_SIZE;
+            short[] members = new short[cardinality];
+            int size = 0;
+            for (int i = 0; i < WORD_COUNT; ++i) {
+                long word = words[i];
+                while (word != 0) {
+                    members[size++] = (short) (i << WORD_SHIFT | numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
             }
+            this.members = members;
+            this.size = size;
         }
 
         @Override
-        public Storage32 add(int member) {
-            short prefix = (short) (member >>> Short.SIZE);
-            int unsignedPrefix = toUnsignedInt(prefix);
-
-            // Try to resolve the corresponding 16-bit postfix storage by its
-            // 16-bit prefix.
-
-            if (unsignedPrefix == lastPrefix) {
-                // We are lucky: just add the member to the cached storage.
-
-                Storage16 newStorage = lastStorage.add((short) member);
-                // handle potential storage upgrade
-                if (newStorage != lastStorage) {
-                    int index = unsignedBinarySearch(prefixes, size, unsignedPrefix);
-                    assert index >= 0;
-                    storages[index] = newStorage;
-                    lastStorage = newStorage;
-                }
-                return this;
-            }
+        int cardinality() {
+            return size;
+        }
 
-            int index = unsignedBinarySearch(prefixes, size, unsignedPrefix);
-            if (index >= 0) {
-                // The storage already exists: just add the member to it.
+        @Override
+        boolean contains(int member) {
+            return unsignedBinarySearch(members, size, member) >= 0;
+        }
 
-                Storage16 storage = storages[index];
-                Storage16 newStorage = storage.add((short) member);
-                // handle potential storage upgrade
-                if (newStorage != storage) {
-                    storages[index] = newStorage;
+        @Override
+        Container add(int member) {
+            int index;
+            if (member > toUnsignedInt(members[size - 1])) {
+                // fast path for the members added in ascending order
+                index = size;
+            } else {
+                index = unsignedBinarySearch(members, size, member);
+                if (index >= 0) {
+                    return this;
                 }
-                lastPrefix = unsignedPrefix;
-                lastStorage = newStorage;
-                return this;
+                index = -(index + 1);
             }
-            index = -(index + 1);
 
-            // No storage exists yet: we need to allocate a new postfix storage
-            // and insert it into this prefix storage.
-
-            if (size == prefixes.length) {
-                // Grow the arrays.
-
-                int newCapacity = Math.min(MAX_CAPACITY, size + capacityDeltaShort(prefixes.length));
-
-                short[] newPrefixes = new short[newCapacity];
-                arraycopy(prefixes, 0, newPrefixes, 0, index);
-                arraycopy(prefixes, index, newPrefixes, index + 1, size - index);
-                prefixes = newPrefixes;
-
-                Storage16[] newStorages = new Storage16[newCapacity];
-                arraycopy(storages, 0, newStorages, 0, index);
-                arraycopy(storages, index, newStorages, index + 1, size - index);
-                storages = newStorages;
-            } else {
-                // Shift the arrays right to free a slot.
-
-                arraycopy(prefixes, index, prefixes, index + 1, size - index);
-                arraycopy(storages, index, storages, index + 1, size - index);
+            if (size == ARRAY_CONTAINER_MAX_SIZE) {
+                long[] words = toWords();
+                words[member >>> WORD_SHIFT] |= 1L << member;
+                return new BitmapContainer(words, size + 1);
             }
 
-            ArrayStorage16 createdStorage = new ArrayStorage16((short) member);
-            prefixes[index] = prefix;
-            storages[index] = createdStorage;
-            lastPrefix = unsignedPrefix;
-            lastStorage = createdStorage;
+            if (size == members.length) {
+                int newCapacity = Math.min(members.length + capacityDeltaShort(members.length), ARRAY_CONTAINER_MAX_SIZE);
+                members = copyOf(members, newCapacity);
+            }
+            arraycopy(members, index, members, index + 1, size - index);
+            members[index] = (short) member;
             ++size;
             return this;
         }
 
         @Override
-        public boolean remove(int member) {
-            short prefix = (short) (member >>> Short.SIZE);
-            int unsignedPrefix = toUnsignedInt(prefix);
-
-            // Try to resolve the corresponding 16-bit postfix storage by its
-            // 16-bit prefix.
-
-            Storage16 newStorage;
-            int index;
-
-            if (unsignedPrefix == lastPrefix) {
-                // We are lucky: just remove the member from the cached storage.
-
-                Storage16 storage = lastStorage;
-                newStorage = storage.remove((short) member);
-                if (newStorage == storage) {
-                    return false;
-                }
-                // To handle the storage downgrade or removal we need to know
-                // its prefix index.
-                index = unsignedBinarySearch(prefixes, size, unsignedPrefix);
-                assert index >= 0;
-            } else {
-                index = unsignedBinarySearch(prefixes, size, unsignedPrefix);
-                if (index < 0) {
-                    // no storage, no problems
-                    return false;
-                }
-
-                Storage16 storage = storages[index];
-                newStorage = storage.remove((short) member);
-                if (newStorage == storage) {
-                    lastStorage = storage;
-                    lastPrefix = unsignedPrefix;
-                    return false;
-                }
+        Container remove(int member) {
+            int index = unsignedBinarySearch(members, size, member);
+            if (index < 0) {
+                return this;
             }
+            if (size == 1) {
+                return null;
+            }
+            arraycopy(members, index + 1, members, index, size - index - 1);
+            --size;
+            return this;
+        }
 
-            // The 16-bit postfix storage is either emptied or downgraded at
-            // this point.
+        @Override
+        int ceilingPosition(int member) {
+            int index = unsignedBinarySearch(members, size, member);
+            if (index < 0) {
+                index = -(index + 1);
+            }
+            return index < size ? index : -1;
+        }
 
-            if (newStorage == null) {
-                // The postfix storage is emptied: remove it from this prefix
-                // storage.
+        @Override
+        int nextPosition(int position) {
+            return position + 1 < size ? position + 1 : -1;
+        }
 
-                --size;
-                lastStorage = null;
-                lastPrefix = -1;
-                if (size == 0) {
-                    // this prefix storage is also emptied
-                    return true;
-                }
+        @Override
+        int memberAt(int position) {
+            return toUnsignedInt(members[position]);
+        }
 
-                int delta = capacityDeltaShort(prefixes.length);
-                int wasted = prefixes.length - size;
-                int newCapacity = prefixes.length - delta;
-                if (wasted >= delta && newCapacity >= MIN_CAPACITY) {
-                    // Wasting too much: shrink the arrays.
-
-                    short[] newPrefixes = new short[newCapacity];
-                    arraycopy(prefixes, 0, newPrefixes, 0, index);
-                    arraycopy(prefixes, index + 1, newPrefixes, index, size - index);
-                    prefixes = newPrefixes;
-
-                    Storage16[] newStorages = new Storage16[newCapacity];
-                    arraycopy(storages, 0, newStorages, 0, index);
-                    arraycopy(storages, index + 1, newStorages, index, size - index);
-                    storages = newStorages;
-                } else {
-                    // Shift the arrays left to fill the gap.
+        @Override
+        void orInto(long[] words) {
+            for (int i = 0; i < size; ++i) {
+                int member = toUnsignedInt(members[i]);
+                words[member >>> WORD_SHIFT] |= 1L << member;
+            }
+        }
 
-                    arraycopy(prefixes, index + 1, prefixes, index, size - index);
-                    arraycopy(storages, index + 1, storages, index, size - index);
+        @Override
+        void andInto(long[] words) {
+            int i = 0;
+            for (int index = 0; index < WORD_COUNT; ++index) {
+                long mask = 0;
+                int member;
+                while (i < size && (member = toUnsignedInt(members[i])) >>> WORD_SHIFT == index) {
+                    mask |= 1L << member;
+                    ++i;
                 }
-            } else {
-                // The postfix storage is downgraded: update the records.
-
-                lastStorage = newStorage;
-                lastPrefix = unsignedPrefix;
-                storages[index] = newStorage;
+                words[index] &= mask;
             }
-            return false;
         }
 
         @Override
-        public void iterate(IteratorImpl iterator) {
-            assert size > 0;
-            iterator.position32 = 1;
-            Storage16 storage = storages[0];
-            iterator.storage16 = storage;
-            iterator.index = iterator.index & INT_PREFIX_MASK | toUnsignedLong(prefixes[0]) << Short.SIZE;
-            storage.iterate(iterator);
+        void andNotInto(long[] words) {
+            for (int i = 0; i < size; ++i) {
+                int member = toUnsignedInt(members[i]);
+                words[member >>> WORD_SHIFT] &= ~(1L << member);
+            }
         }
 
         @Override
-        public boolean advance(IteratorImpl iterator) {
-            // Try advance the current postfix storage.
+        Container copy() {
+            return new ArrayContainer(copyOf(members, size), size);
+        }
 
-            if (iterator.storage16.advance(iterator)) {
-                return true;
+        @Override
+        Container optimize() {
+            int runCount = 1;
+            for (int i = 1; i < size; ++i) {
+                if (toUnsignedInt(members[i]) != toUnsignedInt(members[i - 1]) + 1) {
+                    ++runCount;
+                }
             }
-
-            // Try to advance to the next postfix storage and iterate it.
-
-            int position = iterator.position32;
-            if (position < size) {
-                Storage16 storage = storages[position];
-                iterator.storage16 = storage;
-                iterator.index = iterator.index & INT_PREFIX_MASK | toUnsignedLong(prefixes[position]) << Short.SIZE;
-                iterator.position32 = position + 1;
-                storage.iterate(iterator);
-                return true;
-            } else {
-                return false;
+            if (runCount * RUN_BYTES < size * Short.BYTES) {
+                return new RunContainer(toWords(), runCount, size);
             }
+            if (members.length != size) {
+                members = copyOf(members, size);
+            }
+            return this;
         }
 
         @Override
-        public boolean iterateAtLeastFrom(int member, IteratorImpl iterator) {
-            return iterateAtLeastFrom(member, 0, iterator);
+        void writeTo(DataOutput out) throws IOException {
+            out.writeByte(ARRAY_CONTAINER);
+            out.writeInt(size);
+            for (int i = 0; i < size; ++i) {
+                out.writeShort(members[i]);
+            }
         }
 
-        @Override
-        public boolean advanceAtLeastTo(int member, IteratorImpl iterator) {
-            short prefix = (short) (member >>> Short.SIZE);
-            int unsignedPrefix = toUnsignedInt(prefix);
-            long current = iterator.index;
-            int currentUnsignedPrefix = (int) (current & SHORT_PREFIX_MASK) >>> Short.SIZE;
-            assert currentUnsignedPrefix <= unsignedPrefix;
-
-            if (unsignedPrefix == currentUnsignedPrefix) {
-                // The requested member is within the current 16-bit postfix
-                // storage.
-
-                if (iterator.storage16.advanceAtLeastTo((short) member, iterator)) {
-                    // found in the current postfix storage
-                    return true;
-                }
+        static ArrayContainer readFrom(DataInput in) throws IOException {
+            int size = in.readInt();
+            if (size <= 0 || size > ARRAY_CONTAINER_MAX_SIZE) {
+                throw new IOException("unexpected array container size: " + size);
+            }
+            short[] members = new short[size];
+            for (int i = 0; i < size; ++i) {
+                members[i] = in.readShort();
+            }
+            return new ArrayContainer(members, size);
+        }
 
-                int position = iterator.position32;
-                if (position == size) {
-                    // the end
-                    return false;
-                }
+    }
 
-                // Iterate the next prefix.
+    /**
+     * Manages directly indexable long array of bits.
+     */
+    private static final class BitmapContainer extends Container {
 
-                Storage16 storage = storages[position];
-                iterator.storage16 = storage;
-                iterator.index = current & INT_PREFIX_MASK | toUnsignedLong(prefixes[position]) << Short.SIZE;
-                iterator.position32 = position + 1;
-                storage.iterate(iterator);
-                return true;
-            }
+        private static final int MIN_SIZE = ARRAY_CONTAINER_MAX_SIZE - 1;
 
-            // Resolve and iterate the requested prefix.
+        private final long[] words;
+        private int cardinality;
 
-            int position = iterator.position32;
-            if (position == size) {
-                return false;
-            }
-            return iterateAtLeastFrom(member, position, iterator);
+        BitmapContainer(long[] words, int cardinality) {
+            assert words.length == WORD_COUNT;
+            this.words = words;
+            this.cardinality = cardinality;
         }
 
-        private void append(int member) {
-            short prefix = (short) (member >>> Short.SIZE);
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
 
-            if (size != 0 && prefix == prefixes[size - 1]) {
-                ((ArrayStorage16) storages[size - 1]).append((short) member);
-                return;
-            }
+        @Override
+        boolean contains(int member) {
+            return (words[member >>> WORD_SHIFT] & 1L << member) != 0;
+        }
 
-            if (size == prefixes.length) {
-                int newCapacity = Math.min(MAX_CAPACITY, size + capacityDeltaShort(prefixes.length));
-                prefixes = copyOf(prefixes, newCapacity);
-                storages = copyOf(storages, newCapacity);
+        @Override
+        Container add(int member) {
+            int index = member >>> WORD_SHIFT;
+            long word = words[index];
+            long newWord = word | 1L << member;
+            if (newWord != word) {
+                words[index] = newWord;
+                ++cardinality;
             }
-
-            prefixes[size] = prefix;
-            storages[size] = new ArrayStorage16((short) member);
-            ++size;
+            return this;
         }
 
-        private boolean iterateAtLeastFrom(int member, int fromPosition, IteratorImpl iterator) {
-            short prefix = (short) (member >>> Short.SIZE);
-            int position = unsignedBinarySearch(prefixes, fromPosition, size, toUnsignedInt(prefix));
-
-            if (position < 0) {
-                position = -(position + 1);
-                if (position == size) {
-                    // no such member
-                    return false;
+        @Override
+        Container remove(int member) {
+            int index = member >>> WORD_SHIFT;
+            long word = words[index];
+            long newWord = word & ~(1L << member);
+            if (newWord != word) {
+                words[index] = newWord;
+                --cardinality;
+                if (cardinality <= MIN_SIZE) {
+                    return cardinality == 0 ? null : new ArrayContainer(words, cardinality);
                 }
             }
+            return this;
+        }
 
-            Storage16 storage = storages[position];
-            if (storage.iterateAtLeastFrom((short) member, iterator)) {
-                // The postfix storage corresponding to the requested member is
-                // successfully advanced at least to the requested member.
+        @Override
+        int ceilingPosition(int member) {
+            return nextSetBit(words, member);
+        }
 
-                iterator.storage16 = storage;
-                iterator.index =
-                        iterator.index & INT_PREFIX_SHORT_POSTFIX_MASK | toUnsignedLong(prefixes[position]) << Short.SIZE;
-                iterator.position32 = position + 1;
-            } else {
-                // The postfix storage corresponding to the requested member
-                // doesn't contain the requested member or any members greater
-                // than it: try to iterate from the next prefix storage.
+        @Override
+        int nextPosition(int position) {
+            return nextSetBit(words, position + 1);
+        }
 
-                ++position;
-                if (position == size) {
-                    return false;
-                }
+        @Override
+        int memberAt(int position) {
+            return position;
+        }
 
-                storage = storages[position];
-                iterator.storage16 = storage;
-                iterator.index = iterator.index & INT_PREFIX_MASK | toUnsignedLong(prefixes[position]) << Short.SIZE;
-                iterator.position32 = position + 1;
-                storage.iterate(iterator);
+        @Override
+        void orInto(long[] words) {
+            for (int i = 0; i < WORD_COUNT; ++i) {
+                words[i] |= this.words[i];
             }
-            return true;
         }
 
-    }
-
-    /**
-     * Defines internal contract of storages responsible for storing of 16-bit
-     * postfixes.
-     */
-    private interface Storage16 {
+        @Override
+        void andInto(long[] words) {
+            for (int i = 0; i < WORD_COUNT; ++i) {
+                words[i] &= this.words[i];
+            }
+        }
 
-        /**
-         * Adds the given member to this storage.
-         *
-         * @param member the member to add.
-         * @return a new storage instance if this storage was converted to
-         * another storage flavor; this storage otherwise.
-         */
-        Storage16 add(short member);
+        @Override
+        void andNotInto(long[] words) {
+            for (int i = 0; i < WORD_COUNT; ++i) {
+                words[i] &= ~this.words[i];
+            }
+        }
 
-        /**
-         * Removes the given member from this storage.
-         *
-         * @param member the member to remove.
-         * @return {@code null} if this storage became empty as a result of the
-         * member removal; a new storage instance if this storage was converted
-         * to another storage flavor; this storage otherwise.
-         */
-        Storage16 remove(short member);
+        @Override
+        long[] toWords() {
+            return words.clone();
+        }
 
-        /**
-         * Starts iteration on this storage using the given iterator.
-         * <p>
-         * Always succeeds since we never keep empty storages.
-         *
-         * @param iterator the iterator to iterate with.
-         */
-        void iterate(IteratorImpl iterator);
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
 
-        /**
-         * Advances the given iterator on this storage.
-         *
-         * @param iterator the iterator to advance.
-         * @return {@code true} if the iterator is advanced to the next member,
-         * {@code false} if no members to iterate are left in this storage.
-         */
-        boolean advance(IteratorImpl iterator);
+        @Override
+        Container optimize() {
+            int runCount = runCount(words);
+            if (runCount * RUN_BYTES < BITMAP_CONTAINER_BYTES) {
+                return new RunContainer(words, runCount, cardinality);
+            }
+            return this;
+        }
 
-        /**
-         * Starts iteration on this storage starting at least from the given
-         * member using the given iterator.
-         *
-         * @param member   the member to start the iteration from.
-         * @param iterator the iterator to iterate with.
-         * @return {@code true} if the iterator is positioned to the given
-         * member; or, if the member is not present in this storage, to a member
-         * immediately following it and present in this storage or {@code false}
-         * if no such member exists in this storage.
-         */
-        boolean iterateAtLeastFrom(short member, IteratorImpl iterator);
+        @Override
+        void writeTo(DataOutput out) throws IOException {
+            out.writeByte(BITMAP_CONTAINER);
+            for (long word : words) {
+                out.writeLong(word);
+            }
+        }
 
-        /**
-         * Advances the given iterator to the given member; or, if the member is
-         * not present in this storage, to a member immediately following it and
-         * present in this storage.
-         *
-         * @param member   the member to advance at least to. The member must be
-         *                 greater than the member this iterator is currently at.
-         * @param iterator the iterator to advance.
-         * @return {@code true} if the iterator is advanced to the given
-         * member; or, if the member is not present in this storage, to a member
-         * immediately following it and present in this storage or {@code false}
-         * if no such member exists in this storage.
-         */
-        boolean advanceAtLeastTo(short member, IteratorImpl iterator);
+        static BitmapContainer readFrom(DataInput in) throws IOException {
+            long[] words = new long[WORD_COUNT];
+            int cardinality = 0;
+            for (int i = 0; i < WORD_COUNT; ++i) {
+                words[i] = in.readLong();
+                cardinality += bitCount(words[i]);
+            }
+            return new BitmapContainer(words, cardinality);
+        }
 
     }
 
     /**
-     * Manages sorted short array of indexes of set bits.
+     * Manages sorted short array of runs, each run is stored as a pair of its
+     * first and last members.
      */
-    private static final class ArrayStorage16 implements Storage16 {
+    private static final class RunContainer extends Container {
 
-        private static final int MIN_CAPACITY = 2;
+        private short[] runs;
+        private int runCount;
+        private int cardinality;
 
-        private int size;
-        private short[] members;
-
-        ArrayStorage16(short member) {
-            this.size = 1;
-            this.members = new short[MIN_CAPACITY];
-            members[0] = member;
+        RunContainer(short[] runs, int runCount, int cardinality) {
+            assert runCount > 0;
+            this.runs = runs;
+            this.runCount = runCount;
+            this.cardinality = cardinality;
         }
 
-        /**
-         * Constructs a new storage by downgrading from the given {@link
-         * BitSetStorage16} data.
-         */
-        ArrayStorage16(long[] bits, int size) {
-            assert size == BitSetStorage16.MIN_SIZE;
-            this.size = size;
-
-            short[] members = new short[ARRAY_STORAGE_16_MAX_SIZE];
-            int index = 0;
-            for (int i = 0; i < bits.length; ++i) {
-                long value = bits[i];
-                int base = i << BitSetStorage16.BIT_SET_LONG_SHIFT;
-                while (value != 0) {
-                    int offset = numberOfTrailingZeros(value);
-                    members[index++] = (short) (base + offset);
-                    // zero out the consumed bit
-                    value &= value - 1;
-                }
+        RunContainer(long[] words, int runCount, int cardinality) {
+            short[] runs = new short[runCount * 2];
+            int i = 0;
+            int start = nextSetBit(words, 0);
+            while (start != -1) {
+                int end = nextClearBit(words, start) - 1;
+                runs[i++] = (short) start;
+                runs[i++] = (short) end;
+                start = nextSetBit(words, end + 1);
             }
-            assert index == size;
+            assert i == runs.length;
+            this.runs = runs;
+            this.runCount = runCount;
+            this.cardinality = cardinality;
+        }
 
-            this.members = members;
+        @Override
+        int cardinality() {
+            return cardinality;
         }
 
         @Override
-        public Storage16 add(short member) {
-            int index = unsignedBinarySearch(members, size, toUnsignedInt(member));
-            if (index >= 0) {
-                // already in the array
+        boolean contains(int member) {
+            int run = runOf(member);
+            return run >= 0 && member <= end(run);
+        }
+
+        @Override
+        Container add(int member) {
+            int run = runOf(member);
+            if (run >= 0 && member <= end(run)) {
                 return this;
             }
-            index = -(index + 1);
-
-            if (size == members.length) {
-                // No space left: try to grow members array.
-
-                if (size == ARRAY_STORAGE_16_MAX_SIZE) {
-                    return new BitSetStorage16(members, member, index);
-                }
 
-                int newCapacity = Math.min(ARRAY_STORAGE_16_MAX_SIZE, size + capacityDeltaShort(members.length));
-                short[] newMembers = new short[newCapacity];
-                arraycopy(members, 0, newMembers, 0, index);
-                arraycopy(members, index, newMembers, index + 1, size - index);
-                members = newMembers;
+            ++cardinality;
+            boolean extendsPrevious = run >= 0 && end(run) + 1 == member;
+            boolean extendsNext = run + 1 < runCount && start(run + 1) == member + 1;
+            if (extendsPrevious && extendsNext) {
+                // the member fills the gap between the runs, merge them
+                runs[run * 2 + 1] = runs[run * 2 + 3];
+                deleteRun(run + 1);
+            } else if (extendsPrevious) {
+                runs[run * 2 + 1] = (short) member;
+            } else if (extendsNext) {
+                runs[run * 2 + 2] = (short) member;
             } else {
-                // shift members right to free a slot for the new member
-                arraycopy(members, index, members, index + 1, size - index);
+                insertRun(run + 1, member, member);
+                return convertIfLarger();
             }
-            members[index] = member;
-            ++size;
             return this;
         }
 
         @Override
-        public Storage16 remove(short member) {
-            int index = unsignedBinarySearch(members, size, toUnsignedInt(member));
-            if (index < 0) {
-                // not a member
+        Container remove(int member) {
+            int run = runOf(member);
+            if (run < 0 || member > end(run)) {
                 return this;
             }
-
-            --size;
-            if (size == 0) {
-                // emptied
+            if (cardinality == 1) {
                 return null;
             }
 
-            int delta = capacityDeltaShort(members.length);
-            int wasted = members.length - size;
-            int newCapacity = members.length - delta;
-            if (wasted >= delta && newCapacity >= MIN_CAPACITY) {
-                // We are wasting too much: shrink the array.
-
-                short[] newMembers = new short[newCapacity];
-                arraycopy(members, 0, newMembers, 0, index);
-                arraycopy(members, index + 1, newMembers, index, size - index);
-                members = newMembers;
+            --cardinality;
+            int start = start(run);
+            int end = end(run);
+            if (start == end) {
+                deleteRun(run);
+            } else if (member == start) {
+                runs[run * 2] = (short) (member + 1);
+            } else if (member == end) {
+                runs[run * 2 + 1] = (short) (member - 1);
             } else {
-                // shift members left to fill the gap
-                arraycopy(members, index + 1, members, index, size - index);
+                // split the run
+                runs[run * 2 + 1] = (short) (member - 1);
+                insertRun(run + 1, member + 1, end);
             }
-            return this;
+            return convertIfLarger();
         }
 
         @Override
-        public void iterate(IteratorImpl iterator) {
-            assert size > 0;
-            iterator.position16 = 1;
-            iterator.index = iterator.index & INT_PREFIX_SHORT_PREFIX_MASK | toUnsignedInt(members[0]);
+        int ceilingPosition(int member) {
+            int run = runOf(member);
+            if (run >= 0 && member <= end(run)) {
+                return run << KEY_SHIFT | member - start(run);
+            }
+            return run + 1 < runCount ? run + 1 << KEY_SHIFT : -1;
         }
 
         @Override
-        public boolean advance(IteratorImpl iterator) {
-            int index = iterator.position16;
-            if (index < size) {
-                iterator.index = iterator.index & INT_PREFIX_SHORT_PREFIX_MASK | toUnsignedInt(members[index]);
-                iterator.position16 = index + 1;
-                return true;
-            } else {
-                return false;
+        int nextPosition(int position) {
+            int run = position >>> KEY_SHIFT;
+            if (start(run) + (position & MEMBER_MASK) < end(run)) {
+                return position + 1;
             }
+            return run + 1 < runCount ? run + 1 << KEY_SHIFT : -1;
         }
 
         @Override
-        public boolean iterateAtLeastFrom(short member, IteratorImpl iterator) {
-            int unsignedMember = toUnsignedInt(member);
-            int index = unsignedBinarySearch(members, size, unsignedMember);
-
-            if (index < 0) {
-                index = -(index + 1);
-                if (index == size) {
-                    return false;
-                }
-                unsignedMember = toUnsignedInt(members[index]);
-            }
-
-            iterator.index = iterator.index & INT_PREFIX_SHORT_PREFIX_MASK | unsignedMember;
-            iterator.position16 = index + 1;
-            return true;
+        int memberAt(int position) {
+            return start(position >>> KEY_SHIFT) + (position & MEMBER_MASK);
         }
 
         @Override
-        public boolean advanceAtLeastTo(short member, IteratorImpl iterator) {
-            int unsignedMember = toUnsignedInt(member);
-            long current = iterator.index;
-            assert (current & SHORT_POSTFIX_MASK) < unsignedMember;
-
-            int position = iterator.position16;
-            if (position == size) {
-                return false;
+        void orInto(long[] words) {
+            for (int run = 0; run < runCount; ++run) {
+                setRange(words, start(run), end(run));
             }
-            position = unsignedBinarySearch(members, position, size, unsignedMember);
+        }
 
-            if (position < 0) {
-                position = -(position + 1);
-                if (position == size) {
-                    return false;
+        @Override
+        void andInto(long[] words) {
+            int gapStart = 0;
+            for (int run = 0; run < runCount; ++run) {
+                int start = start(run);
+                if (start > gapStart) {
+                    clearRange(words, gapStart, start - 1);
                 }
-                unsignedMember = toUnsignedInt(members[position]);
+                gapStart = end(run) + 1;
             }
-
-            iterator.index = current & INT_PREFIX_SHORT_PREFIX_MASK | unsignedMember;
-            iterator.position16 = position + 1;
-            return true;
-        }
-
-        /**
-         * Appends the given member to this storage. The given member must be
-         * greater than any member already known by this storage.
-         */
-        public void append(short member) {
-            if (size == members.length) {
-                int newCapacity = size + capacityDeltaShort(members.length);
-                assert newCapacity <= ARRAY_STORAGE_16_MAX_SIZE;
-                members = copyOf(members, newCapacity);
+            if (gapStart <= MAX_MEMBER) {
+                clearRange(words, gapStart, MAX_MEMBER);
             }
-            members[size] = member;
-            ++size;
         }
 
-    }
-
-    /**
-     * Manages directly indexable long array of bits.
-     */
-    private static final class BitSetStorage16 implements Storage16 {
-
-        // 2^6 = 64 = number of bits a long can store
-        public static final int BIT_SET_LONG_SHIFT = 6;
-
-        private static final int MIN_SIZE = ARRAY_STORAGE_16_MAX_SIZE - 1;
-        private static final int SIZE = 1024;
-
-        // masks lower 6 bits
-        private static final long POSTFIX_MASK = 0xFFFFFFFFFFFFFFC0L;
-
-        private final long[] members = new long[SIZE];
-        private int size;
-
-        /**
-         * Constructs a new bit set storage for the given sorted members array
-         * and the given member to insert at the given index.
-         */
-        BitSetStorage16(short[] members, short member, int index) {
-            for (int i = 0; i < index; ++i) {
-                append(members[i]);
-            }
-            append(member);
-            for (int i = index; i < members.length; ++i) {
-                append(members[i]);
+        @Override
+        void andNotInto(long[] words) {
+            for (int run = 0; run < runCount; ++run) {
+                clearRange(words, start(run), end(run));
             }
-            this.size = members.length + 1;
         }
 
         @Override
-        public Storage16 add(short member) {
-            int bitIndex = toUnsignedInt(member);
-            int longIndex = bitIndex >>> BIT_SET_LONG_SHIFT;
-
-            long bitSet = members[longIndex];
-            long newBitSet = bitSet | 1L << bitIndex;
-            members[longIndex] = newBitSet;
-
-            if (newBitSet != bitSet) {
-                ++size;
-            }
-            return this;
+        Container copy() {
+            return new RunContainer(copyOf(runs, runCount * 2), runCount, cardinality);
         }
 
         @Override
-        public Storage16 remove(short member) {
-            int bitIndex = toUnsignedInt(member);
-            int longIndex = bitIndex >>> BIT_SET_LONG_SHIFT;
-
-            long bitSet = members[longIndex];
-            long newBitSet = bitSet & ~(1L << bitIndex);
-            members[longIndex] = newBitSet;
-
-            if (newBitSet != bitSet) {
-                --size;
-                if (size == MIN_SIZE) {
-                    return new ArrayStorage16(members, size);
-                }
+        Container optimize() {
+            if (runs.length != runCount * 2) {
+                runs = copyOf(runs, runCount * 2);
             }
             return this;
         }
 
         @Override
-        public void iterate(IteratorImpl iterator) {
-            assert size > 0;
-            iterator.position16 = 0;
-            iterator.bitSet16 = members[0];
-            iterator.index = iterator.index & INT_PREFIX_SHORT_PREFIX_MASK;
-            boolean advanced = advance(iterator);
-            assert advanced;
+        void writeTo(DataOutput out) throws IOException {
+            out.writeByte(RUN_CONTAINER);
+            out.writeInt(runCount);
+            for (int i = 0; i < runCount * 2; ++i) {
+                out.writeShort(runs[i]);
+            }
         }
 
-        @Override
-        public boolean advance(IteratorImpl iterator) {
-            // Consume bits from the current long until it's empty.
-
-            long bitSet = iterator.bitSet16;
-            if (bitSet != 0) {
-                iterator.index = iterator.index & POSTFIX_MASK | numberOfTrailingZeros(bitSet);
-                // zero out the consumed bit
-                iterator.bitSet16 = bitSet & bitSet - 1;
-                return true;
+        static RunContainer readFrom(DataInput in) throws IOException {
+            int runCount = in.readInt();
+            if (runCount <= 0 || runCount > (MAX_MEMBER + 2) / 2) {
+                throw new IOException("unexpected run container size: " + runCount);
             }
-
-            // Try to find the next non-zero long.
-
-            int index = iterator.position16;
-            do {
-                ++index;
-                if (index == members.length) {
-                    // nothing left
-                    return false;
-                }
-                bitSet = members[index];
-            } while (bitSet == 0);
-
-            iterator.index =
-                    iterator.index & INT_PREFIX_SHORT_PREFIX_MASK | index << BIT_SET_LONG_SHIFT | numberOfTrailingZeros(bitSet);
-            iterator.bitSet16 = bitSet & bitSet - 1;
-            iterator.position16 = index;
-            return true;
+            short[] runs = new short[runCount * 2];
+            int cardinality = 0;
+            for (int i = 0; i < runCount * 2; i += 2) {
+                runs[i] = in.readShort();
+                runs[i + 1] = in.readShort();
+                cardinality += toUnsignedInt(runs[i + 1]) - toUnsignedInt(runs[i]) + 1;
+            }
+            return new RunContainer(runs, runCount, cardinality);
         }
 
-        @Override
-        public boolean iterateAtLeastFrom(short member, IteratorImpl iterator) {
-            int bitIndex = toUnsignedInt(member);
-            int longIndex = bitIndex >>> BIT_SET_LONG_SHIFT;
+        private int start(int run) {
+            return toUnsignedInt(runs[run * 2]);
+        }
 
-            iterator.position16 = longIndex;
-            // consume all preceding bits by zeroing them out
-            iterator.bitSet16 = members[longIndex] & -(1L << bitIndex);
-            iterator.index = iterator.index & INT_PREFIX_SHORT_PREFIX_MASK | longIndex << BIT_SET_LONG_SHIFT;
-            return advance(iterator);
+        private int end(int run) {
+            return toUnsignedInt(runs[run * 2 + 1]);
         }
 
-        @Override
-        public boolean advanceAtLeastTo(short member, IteratorImpl iterator) {
-            long current = iterator.index;
-            int bitIndex = toUnsignedInt(member);
-            assert (current & SHORT_POSTFIX_MASK) < bitIndex;
+        /**
+         * @return the last run starting at or before the given member or
+         * {@code -1} if there is no such run.
+         */
+        private int runOf(int member) {
+            int left = 0;
+            int right = runCount - 1;
+            while (left <= right) {
+                int middle = (left + right) >>> 1;
+                if (start(middle) <= member) {
+                    left = middle + 1;
+                } else {
+                    right = middle - 1;
+                }
+            }
+            return right;
+        }
 
-            int longIndex = bitIndex >>> BIT_SET_LONG_SHIFT;
+        private void insertRun(int run, int start, int end) {
+            if (runCount * 2 == runs.length) {
+                runs = copyOf(runs, (runCount + capacityDeltaShort(runCount)) * 2);
+            }
+            arraycopy(runs, run * 2, runs, run * 2 + 2, (runCount - run) * 2);
+            runs[run * 2] = (short) start;
+            runs[run * 2 + 1] = (short) end;
+            ++runCount;
+        }
 
-            iterator.position16 = longIndex;
-            // consume all preceding bits by zeroing them out
-            iterator.bitSet16 = members[longIndex] & -(1L << bitIndex);
-            iterator.index = current & INT_PREFIX_SHORT_PREFIX_MASK | longIndex << BIT_SET_LONG_SHIFT;
-            return advance(iterator);
+        private void deleteRun(int run) {
+            arraycopy(runs, run * 2 + 2, runs, run * 2, (runCount - run - 1) * 2);
+            --runCount;
         }
 
-        private void append(short member) {
-            int bitIndex = toUnsignedInt(member);
-            members[bitIndex >>> BIT_SET_LONG_SHIFT] |= 1L << bitIndex;
+        private Container convertIfLarger() {
+            if (runCount * RUN_BYTES < Math.min(arrayBytes(cardinality), BITMAP_CONTAINER_BYTES)) {
+                return this;
+            }
+            long[] words = toWords();
+            return cardinality <= ARRAY_CONTAINER_MAX_SIZE
+                    ? new ArrayContainer(words, cardinality)
+                    : new BitmapContainer(words, cardinality);
         }
 
     }
@@ -1105,38 +1111,27 @@ final class SparseBitSet {
     /**
      * Iterates over sparse bit sets.
      */
-    private static final class IteratorImpl extends SparseIntArray.Iterator<Storage32> implements AscendingLongIterator {
-
-        // The idea: use a single iterator instance to iterate over the entire
-        // bit set including all its internal storages. This way we are avoiding
-        // frequent sub iterators allocation, producing no heap litter and
-        // keeping the iteration state just in a few cache lines.
+    private static final class IteratorImpl implements AscendingLongIterator {
 
-        // the root storage mapping 32-bit prefixes to 32-bit postfix storages
-        private final SparseIntArray<Storage32> storage64;
+        // The idea: use a single iterator instance to iterate over all the
+        // containers of the bit set. The containers expose opaque positions,
+        // so the iteration doesn't allocate and doesn't have to search for the
+        // current member on every advancement.
 
-        // the current position of the current Storage32
-        private int position32;
+        // iterates the containers, its index is the key of the current container
+        private final SparseArray.Iterator<Container> containers;
 
-        // the current Storage16
-        private Storage16 storage16;
-        // its position
-        private int position16;
-        // the current bit set of BitSetStorage16
-        private long bitSet16;
+        private Container container;
+        private long prefix;
+        // the position of the current member in the current container
+        private int position;
 
-        // the current index (member), constructed cooperatively by all storages
+        // the current index (member)
         private long index;
 
-        IteratorImpl(SparseIntArray<Storage32> storage64) {
-            this.storage64 = storage64;
-            long prefix = storage64.iterate(this);
-            if (prefix != SparseIntArray.Iterator.END) {
-                index = prefix << Integer.SIZE;
-                getStorage32().iterate(this);
-            } else {
-                index = AscendingLongIterator.END;
-            }
+        IteratorImpl(SparseArray.Iterator<Container> containers) {
+            this.containers = containers;
+            iterate();
         }
 
         @Override
@@ -1151,22 +1146,17 @@ final class SparseBitSet {
                 return AscendingLongIterator.END;
             }
 
-            if (getStorage32().advance(this)) {
-                return current;
-            }
-
-            long prefix = storage64.advance((int) (current >>> Integer.SIZE), this);
-            if (prefix != SparseIntArray.Iterator.END) {
-                index = prefix << Integer.SIZE;
-                getStorage32().iterate(this);
-                return current;
+            int nextPosition = container.nextPosition(position);
+            if (nextPosition != -1) {
+                position = nextPosition;
+                index = prefix | container.memberAt(nextPosition);
+            } else {
+                containers.advance();
+                iterate();
             }
-
-            index = AscendingLongIterator.END;
             return current;
         }
 
-        @SuppressWarnings("checkstyle:nestedifdepth")
         @Override
         public long advanceAtLeastTo(long member) {
             assert member >= 0;
@@ -1181,69 +1171,48 @@ final class SparseBitSet {
                 return current;
             }
 
-            int memberPrefix = (int) (member >>> Integer.SIZE);
-            int currentPrefix = (int) (current >>> Integer.SIZE);
+            long key = member >>> KEY_SHIFT;
+            if (containers.getIndex() != key) {
+                // Try to advance to the requested container.
 
-            if (memberPrefix == currentPrefix) {
-                // Try to advance the current storage.
+                if (containers.advanceAtLeastTo(key) != key) {
+                    // We got a container corresponding to some other key
+                    // beyond the requested one or nothing at all.
 
-                if (getStorage32().advanceAtLeastTo((int) member, this)) {
+                    iterate();
                     return index;
-                } else {
-                    // Try to advance to the next storage.
-
-                    long prefix = storage64.advance(currentPrefix, this);
-                    if (prefix != SparseIntArray.Iterator.END) {
-                        index = prefix << Integer.SIZE;
-                        getStorage32().iterate(this);
-                        return index;
-                    }
-                }
-            } else {
-                // Try to advance to the requested storage.
-
-                long prefix = storage64.advanceAtLeastTo(memberPrefix, currentPrefix, this);
-                if (prefix != SparseIntArray.Iterator.END) {
-                    if (prefix == memberPrefix) {
-                        // We got the storage we have requested.
-
-                        index = prefix << Integer.SIZE;
-                        if (getStorage32().iterateAtLeastFrom((int) member, this)) {
-                            return index;
-                        } else {
-                            // The storage we got doesn't contain the requested
-                            // postfix or any postfix beyond it: try to advance
-                            // to the next storage (storages are guaranteed to
-                            // be non-empty).
-
-                            prefix = storage64.advance((int) prefix, this);
-                            if (prefix != SparseIntArray.Iterator.END) {
-                                index = prefix << Integer.SIZE;
-                                getStorage32().iterate(this);
-                                return index;
-                            }
-                        }
-                    } else {
-                        // We got a storage corresponding to some other prefix
-                        // beyond the requested one: just iterate the storage
-                        // (storages are guaranteed to be non-empty).
-
-                        index = prefix << Integer.SIZE;
-                        getStorage32().iterate(this);
-                        return index;
-                    }
                 }
+                container = containers.getValue();
+                prefix = key << KEY_SHIFT;
             }
 
-            // The end.
+            int ceilingPosition = container.ceilingPosition((int) member & MEMBER_MASK);
+            if (ceilingPosition != -1) {
+                position = ceilingPosition;
+                index = prefix | container.memberAt(ceilingPosition);
+            } else {
+                // The container doesn't contain the requested member or any
+                // member beyond it: advance to the next container (containers
+                // are guaranteed to be non-empty).
 
-            index = AscendingLongIterator.END;
-            return AscendingLongIterator.END;
+                containers.advance();
+                iterate();
+            }
+            return index;
         }
 
-        // just an alias for getValue
-        private Storage32 getStorage32() {
-            return getValue();
+        // starts iterating the current container of the container iterator
+        private void iterate() {
+            long key = containers.getIndex();
+            if (key == AscendingLongIterator.END) {
+                container = null;
+                index = AscendingLongIterator.END;
+                return;
+            }
+            container = containers.getValue();
+            prefix = key << KEY_SHIFT;
+            position = container.ceilingPosition(0);
+            index = prefix | container.memberAt(position);
         }
 
     }
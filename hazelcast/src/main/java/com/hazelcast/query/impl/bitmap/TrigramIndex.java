@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.bitmap;
+
+import com.hazelcast.internal.monitor.impl.IndexOperationStats;
+import com.hazelcast.internal.util.collection.Long2ObjectHashMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.predicates.AndPredicate;
+import com.hazelcast.query.impl.predicates.LikePredicate;
+import com.hazelcast.query.impl.predicates.OrPredicate;
+import com.hazelcast.query.impl.predicates.RegexPredicate;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Provides full-text indexing of a single string attribute of entries of type
+ * {@code E}. Each indexed entry is uniquely identified by its unique {@code
+ * long} key provided externally.
+ * <p>
+ * Internally, the index is an inverted index: it manages a posting list for
+ * each trigram of the indexed values, the posting lists are sparse bit sets
+ * of the keys of the entries having the trigram. A pattern is evaluated by
+ * intersecting the posting lists of the trigrams extracted from the pattern
+ * by {@link Trigrams}.
+ * <p>
+ * The evaluation produces candidates: every entry matching a pattern is
+ * produced, but not every produced entry matches it. The candidates must be
+ * verified by applying the pattern to them.
+ *
+ * @param <E> the type of entries being indexed.
+ */
+@SuppressWarnings("rawtypes")
+public final class TrigramIndex<E> {
+
+    private final Long2ObjectHashMap<SparseBitSet> postings = new Long2ObjectHashMap<>();
+
+    private final SparseArray<E> entries = new SparseArray<>();
+    // the keys of all the entries, the candidates for unrestricted patterns
+    private final SparseBitSet keys = new SparseBitSet();
+
+    // Note! Full-text indexes don't support memory statistics, see Bitmap.
+    private enum ZeroCost { ZERO_COST }
+
+    /**
+     * Inserts the given values associated with the given entry having the given
+     * unique key. The values which are not strings are not indexed.
+     *
+     * @param values the values to insert.
+     * @param key    the unique key of the entry being inserted.
+     * @param entry  the entry to insert.
+     */
+    public void insert(Iterator values, long key, E entry, IndexOperationStats operationStats) {
+        addPostings(values, key, operationStats);
+        entries.set(key, entry);
+        keys.add(key);
+    }
+
+    /**
+     * Updates the given old values to the given new values associated with the
+     * given entry having the given unique key.
+     *
+     * @param oldValues the old values to replace.
+     * @param newValues the new values to replace with.
+     * @param key       the unique key of the entry being updated.
+     * @param entry     the entry to update.
+     */
+    public void update(Iterator oldValues, Iterator newValues, long key, E entry, IndexOperationStats operationStats) {
+        removePostings(oldValues, key, operationStats);
+        addPostings(newValues, key, operationStats);
+        entries.set(key, entry);
+        keys.add(key);
+    }
+
+    /**
+     * Removes the given values associated with an entry identified by the given
+     * unique key.
+     *
+     * @param values the values to remove.
+     * @param key    the unique key of an entry being removed.
+     */
+    public void remove(Iterator values, long key, IndexOperationStats operationStats) {
+        removePostings(values, key, operationStats);
+        entries.clear(key);
+        keys.remove(key);
+    }
+
+    /**
+     * Clears this index.
+     */
+    public void clear() {
+        postings.clear();
+        entries.clear();
+        keys.clear();
+    }
+
+    /**
+     * Produces the candidate entries for the given predicate.
+     * <p>
+     * The following predicates (and combinations of them) are supported:
+     * {@link AndPredicate}, {@link OrPredicate}, {@link LikePredicate} and its
+     * subclasses, {@link RegexPredicate}.
+     *
+     * @param predicate the predicate to produce the candidates for.
+     * @return an iterator containing a superset of the entries matching the
+     * given predicate.
+     */
+    public Iterator<E> evaluate(Predicate predicate) {
+        SparseBitSet candidates = predicateBitSet(predicate);
+        if (candidates == null) {
+            candidates = keys;
+        }
+        return new Bitmap.EntryIterator<>(candidates.iterator(), entries.iterator());
+    }
+
+    private void addPostings(Iterator values, long key, IndexOperationStats operationStats) {
+        while (values.hasNext()) {
+            Object value = values.next();
+            if (value instanceof String string) {
+                for (long trigram : Trigrams.ofValue(string)) {
+                    postings.computeIfAbsent(trigram, x -> new SparseBitSet()).add(key);
+                }
+                operationStats.onEntryAdded(ZeroCost.ZERO_COST);
+            }
+        }
+    }
+
+    private void removePostings(Iterator values, long key, IndexOperationStats operationStats) {
+        while (values.hasNext()) {
+            Object value = values.next();
+            if (value instanceof String string) {
+                for (long trigram : Trigrams.ofValue(string)) {
+                    SparseBitSet posting = postings.get(trigram);
+                    if (posting != null && posting.remove(key)) {
+                        postings.remove(trigram);
+                    }
+                }
+                operationStats.onEntryRemoved(ZeroCost.ZERO_COST);
+            }
+        }
+    }
+
+    // Returns null if the predicate doesn't restrict the candidates. The
+    // returned bit sets may be the bit sets stored in this index, they must
+    // not be modified.
+    @SuppressWarnings("checkstyle:npathcomplexity")
+    private SparseBitSet predicateBitSet(Predicate predicate) {
+        if (predicate instanceof AndPredicate andPredicate) {
+            Predicate[] predicates = andPredicate.getPredicates();
+            SparseBitSet[] bitSets = new SparseBitSet[predicates.length];
+            int count = 0;
+            for (Predicate subPredicate : predicates) {
+                SparseBitSet bitSet = predicateBitSet(subPredicate);
+                if (bitSet != null) {
+                    bitSets[count++] = bitSet;
+                }
+            }
+            return and(bitSets, count);
+        }
+
+        if (predicate instanceof OrPredicate orPredicate) {
+            Predicate[] predicates = orPredicate.getPredicates();
+            SparseBitSet[] bitSets = new SparseBitSet[predicates.length];
+            for (int i = 0; i < predicates.length; ++i) {
+                SparseBitSet bitSet = predicateBitSet(predicates[i]);
+                if (bitSet == null) {
+                    return null;
+                }
+                bitSets[i] = bitSet;
+            }
+            return bitSets.length == 1 ? bitSets[0] : BitmapAlgorithms.or(bitSets);
+        }
+
+        if (predicate instanceof LikePredicate likePredicate) {
+            return trigramsBitSet(Trigrams.ofLikePattern(likePredicate.getExpression()));
+        }
+
+        if (predicate instanceof RegexPredicate regexPredicate) {
+            return trigramsBitSet(Trigrams.ofRegex(regexPredicate.getRegex()));
+        }
+
+        throw new IllegalArgumentException("unexpected predicate: " + predicate);
+    }
+
+    private SparseBitSet trigramsBitSet(long[] trigrams) {
+        SparseBitSet[] bitSets = new SparseBitSet[trigrams.length];
+        for (int i = 0; i < trigrams.length; ++i) {
+            SparseBitSet bitSet = postings.get(trigrams[i]);
+            if (bitSet == null) {
+                // no entry has the trigram
+                return new SparseBitSet();
+            }
+            bitSets[i] = bitSet;
+        }
+        return and(bitSets, trigrams.length);
+    }
+
+    private static SparseBitSet and(SparseBitSet[] bitSets, int count) {
+        switch (count) {
+            case 0:
+                return null;
+            case 1:
+                return bitSets[0];
+            default:
+                return BitmapAlgorithms.and(count == bitSets.length ? bitSets : Arrays.copyOf(bitSets, count));
+        }
+    }
+
+}
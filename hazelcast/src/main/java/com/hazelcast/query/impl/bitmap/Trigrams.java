@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.bitmap;
+
+import java.util.Arrays;
+
+/**
+ * Extracts trigrams from string values and from {@code LIKE} and regular
+ * expression patterns.
+ * <p>
+ * A trigram is a sequence of three consecutive code points packed into a
+ * {@code long}, 21 bits per code point. The code points are case-folded the
+ * same way case-insensitive regular expressions fold them, so the trigrams of
+ * a value can serve both case-sensitive and case-insensitive patterns. The
+ * values are wrapped into start and end markers, so the trigrams of anchored
+ * pattern segments restrict the positions of the segments; for instance,
+ * {@code 'ab%'} produces the single trigram of the start marker followed by
+ * {@code ab}.
+ * <p>
+ * The trigrams of a pattern are the trigrams every matching value must have,
+ * they are extracted from the literal segments of the pattern. The extraction
+ * is conservative: anything it doesn't understand just splits the segments,
+ * so a value having all the trigrams of a pattern might still not match it,
+ * but a value missing some of them never does.
+ */
+final class Trigrams {
+
+    static final long[] EMPTY = new long[0];
+
+    private static final int START = 0x02;
+    private static final int END = 0x03;
+
+    private static final int CODE_POINT_BITS = 21;
+    private static final int LENGTH = 3;
+
+    private Trigrams() {
+    }
+
+    /**
+     * @return the distinct trigrams of the given value ordered ascending.
+     */
+    static long[] ofValue(String value) {
+        Extractor extractor = new Extractor(value.length() + 2);
+        extractor.startSegment(true);
+        for (int i = 0; i < value.length(); ) {
+            int codePoint = value.codePointAt(i);
+            extractor.append(codePoint);
+            i += Character.charCount(codePoint);
+        }
+        extractor.endSegment(true);
+        return extractor.result();
+    }
+
+    /**
+     * Extracts the trigrams required by the given {@code LIKE} pattern. The
+     * {@code %} and {@code _} wildcards may be escaped with a backslash.
+     *
+     * @return the distinct trigrams ordered ascending, an empty array if the
+     * pattern doesn't restrict the trigrams of matching values.
+     */
+    static long[] ofLikePattern(String pattern) {
+        if (pattern == null) {
+            return EMPTY;
+        }
+
+        Extractor extractor = new Extractor(16);
+        extractor.startSegment(true);
+        for (int i = 0; i < pattern.length(); ) {
+            int codePoint = pattern.codePointAt(i);
+            i += Character.charCount(codePoint);
+            switch (codePoint) {
+                case '%':
+                case '_':
+                    extractor.endSegment(false);
+                    extractor.startSegment(false);
+                    break;
+                case '\\':
+                    // an escape might change the meaning of the next
+                    // character, skip both
+                    extractor.endSegment(false);
+                    extractor.startSegment(false);
+                    if (i < pattern.length()) {
+                        i += Character.charCount(pattern.codePointAt(i));
+                    }
+                    break;
+                default:
+                    extractor.append(codePoint);
+                    break;
+            }
+        }
+        extractor.endSegment(true);
+        return extractor.result();
+    }
+
+    /**
+     * Extracts the trigrams required by the given regular expression which is
+     * expected to match entire values. Only the literal runs of simple
+     * expressions are considered: expressions having groups, alternations or
+     * character classes don't restrict the trigrams.
+     *
+     * @return the distinct trigrams ordered ascending, an empty array if the
+     * expression doesn't restrict the trigrams of matching values.
+     */
+    @SuppressWarnings({"checkstyle:CyclomaticComplexity", "checkstyle:NPathComplexity"})
+    static long[] ofRegex(String regex) {
+        if (regex == null) {
+            return EMPTY;
+        }
+
+        Extractor extractor = new Extractor(16);
+        int i = 0;
+        if (regex.startsWith("^")) {
+            ++i;
+        }
+        extractor.startSegment(true);
+        while (i < regex.length()) {
+            int codePoint = regex.codePointAt(i);
+            int next = i + Character.charCount(codePoint);
+            switch (codePoint) {
+                case '(':
+                case ')':
+                case '[':
+                case ']':
+                case '{':
+                case '}':
+                case '|':
+                case '^':
+                case '*':
+                case '+':
+                case '?':
+                    return EMPTY;
+                case '$':
+                    if (next != regex.length()) {
+                        return EMPTY;
+                    }
+                    i = next;
+                    continue;
+                case '\\':
+                    // an escaped character or a predefined class, treated as
+                    // an arbitrary character
+                    if (next < regex.length()) {
+                        next += Character.charCount(regex.codePointAt(next));
+                    }
+                    extractor.endSegment(false);
+                    extractor.startSegment(false);
+                    i = skipQuantifier(regex, next);
+                    if (i < 0) {
+                        return EMPTY;
+                    }
+                    continue;
+                case '.':
+                    extractor.endSegment(false);
+                    extractor.startSegment(false);
+                    i = skipQuantifier(regex, next);
+                    if (i < 0) {
+                        return EMPTY;
+                    }
+                    continue;
+                default:
+                    i = skipQuantifier(regex, next);
+                    if (i < 0) {
+                        return EMPTY;
+                    }
+                    if (i == next) {
+                        extractor.append(codePoint);
+                    } else {
+                        // the character is repeated, it's known to be
+                        // present only if it's required at least once
+                        if (regex.charAt(next) == '+') {
+                            extractor.append(codePoint);
+                        }
+                        extractor.endSegment(false);
+                        extractor.startSegment(false);
+                    }
+                    break;
+            }
+        }
+        extractor.endSegment(true);
+        return extractor.result();
+    }
+
+    /**
+     * @return the index following the quantifier at the given index, the
+     * given index itself if there is no quantifier or {@code -1} if the
+     * quantifier is malformed.
+     */
+    private static int skipQuantifier(String regex, int index) {
+        if (index >= regex.length()) {
+            return index;
+        }
+
+        char c = regex.charAt(index);
+        int next;
+        if (c == '*' || c == '+' || c == '?') {
+            next = index + 1;
+        } else if (c == '{') {
+            int close = regex.indexOf('}', index);
+            if (close < 0) {
+                return -1;
+            }
+            next = close + 1;
+        } else {
+            return index;
+        }
+
+        // reluctant and possessive quantifiers
+        if (next < regex.length() && (regex.charAt(next) == '?' || regex.charAt(next) == '+')) {
+            ++next;
+        }
+        return next;
+    }
+
+    private static int fold(int codePoint) {
+        return Character.toLowerCase(Character.toUpperCase(codePoint));
+    }
+
+    private static long pack(int first, int second, int third) {
+        return ((long) first << (2 * CODE_POINT_BITS)) | ((long) second << CODE_POINT_BITS) | third;
+    }
+
+    /**
+     * Accumulates the trigrams of the segments it's fed with.
+     */
+    private static final class Extractor {
+
+        private long[] trigrams;
+        private int count;
+
+        // the last two code points of the current segment
+        private int first;
+        private int second;
+        private int length;
+
+        Extractor(int capacity) {
+            this.trigrams = new long[Math.max(capacity, 1)];
+        }
+
+        void startSegment(boolean anchored) {
+            length = 0;
+            if (anchored) {
+                append0(START);
+            }
+        }
+
+        void append(int codePoint) {
+            append0(fold(codePoint));
+        }
+
+        void endSegment(boolean anchored) {
+            if (anchored) {
+                append0(END);
+            }
+        }
+
+        long[] result() {
+            long[] result = Arrays.copyOf(trigrams, count);
+            Arrays.sort(result);
+            int distinct = 0;
+            for (int i = 0; i < result.length; ++i) {
+                if (i == 0 || result[i] != result[i - 1]) {
+                    result[distinct++] = result[i];
+                }
+            }
+            return distinct == result.length ? result : Arrays.copyOf(result, distinct);
+        }
+
+        private void append0(int codePoint) {
+            if (length >= LENGTH - 1) {
+                if (count == trigrams.length) {
+                    trigrams = Arrays.copyOf(trigrams, count * 2);
+                }
+                trigrams[count++] = pack(first, second, codePoint);
+            }
+            first = second;
+            second = codePoint;
+            ++length;
+        }
+
+    }
+
+}
@@ -37,6 +37,9 @@ import java.util.Set;
 
 import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.PREDICATE_DS_FACTORY_ID;
 import static com.hazelcast.query.impl.IndexRegistry.SKIP_PARTITIONS_COUNT_CHECK;
+import static com.hazelcast.query.impl.predicates.IndexCostEstimator.PREDICATE_EVALUATION_COST;
+import static com.hazelcast.query.impl.predicates.IndexCostEstimator.UNKNOWN;
+import static com.hazelcast.query.impl.predicates.IndexCostEstimator.estimateCardinality;
 import static com.hazelcast.query.impl.predicates.PredicateUtils.estimatedSizeOf;
 
 /**
@@ -71,42 +74,103 @@ public final class AndPredicate
 
     @Override
     public Set<QueryableEntry> filter(QueryContext queryContext) {
-        Set<QueryableEntry> smallestResultSet = null;
-        List<Set<QueryableEntry>> otherResultSets = null;
+        List<Predicate> indexedPredicates = null;
         List<Predicate> unindexedPredicates = null;
-
         for (Predicate predicate : predicates) {
             if (isIndexedPredicate(predicate, queryContext)) {
-                // Avoid checking indexed partitions count twice to avoid
-                // scenario when the owner partitions count changes concurrently and null
-                // value from the filter method may indicate that the index is under
-                // construction.
-                int ownedPartitionsCount = queryContext.getOwnedPartitionCount();
-                queryContext.setOwnedPartitionCount(SKIP_PARTITIONS_COUNT_CHECK);
-                Set<QueryableEntry> currentResultSet = ((IndexAwarePredicate) predicate).filter(queryContext);
-                queryContext.setOwnedPartitionCount(ownedPartitionsCount);
-                if (smallestResultSet == null) {
-                    smallestResultSet = currentResultSet;
-                } else if (estimatedSizeOf(currentResultSet) < estimatedSizeOf(smallestResultSet)) {
-                    otherResultSets = initOrGetListOf(otherResultSets);
-                    otherResultSets.add(smallestResultSet);
-                    smallestResultSet = currentResultSet;
-                } else {
-                    otherResultSets = initOrGetListOf(otherResultSets);
-                    otherResultSets.add(currentResultSet);
-                }
+                indexedPredicates = initOrGetListOf(indexedPredicates);
+                indexedPredicates.add(predicate);
             } else {
                 unindexedPredicates = initOrGetListOf(unindexedPredicates);
                 unindexedPredicates.add(predicate);
             }
         }
 
+        if (indexedPredicates == null) {
+            return null;
+        }
+
+        // Query the indexes starting with the most selective predicate, the
+        // predicates which can't be estimated go last.
+        Predicate[] orderedPredicates = indexedPredicates.toArray(new Predicate[0]);
+        long[] cardinalities = new long[orderedPredicates.length];
+        for (int i = 0; i < orderedPredicates.length; ++i) {
+            cardinalities[i] = estimateCardinality(orderedPredicates[i], queryContext);
+        }
+        sortByCardinality(orderedPredicates, cardinalities);
+
+        Set<QueryableEntry> smallestResultSet = null;
+        int smallestResultSetSize = 0;
+        List<Set<QueryableEntry>> otherResultSets = null;
+        for (int i = 0; i < orderedPredicates.length; ++i) {
+            Predicate predicate = orderedPredicates[i];
+            if (smallestResultSet != null && cardinalities[i] != UNKNOWN
+                    && cardinalities[i] > PREDICATE_EVALUATION_COST * smallestResultSetSize) {
+                // It's cheaper to evaluate the predicate on the entries of
+                // the smallest result set than to query the index for it.
+                unindexedPredicates = initOrGetListOf(unindexedPredicates);
+                unindexedPredicates.add(predicate);
+                continue;
+            }
+
+            // Avoid checking indexed partitions count twice to avoid
+            // scenario when the owner partitions count changes concurrently and null
+            // value from the filter method may indicate that the index is under
+            // construction.
+            int ownedPartitionsCount = queryContext.getOwnedPartitionCount();
+            queryContext.setOwnedPartitionCount(SKIP_PARTITIONS_COUNT_CHECK);
+            Set<QueryableEntry> currentResultSet = ((IndexAwarePredicate) predicate).filter(queryContext);
+            queryContext.setOwnedPartitionCount(ownedPartitionsCount);
+            if (currentResultSet == null) {
+                unindexedPredicates = initOrGetListOf(unindexedPredicates);
+                unindexedPredicates.add(predicate);
+                continue;
+            }
+            int currentResultSetSize = estimatedSizeOf(currentResultSet);
+            if (smallestResultSet == null) {
+                smallestResultSet = currentResultSet;
+                smallestResultSetSize = currentResultSetSize;
+            } else if (currentResultSetSize < smallestResultSetSize) {
+                // keep the other result sets ordered from the smallest one
+                otherResultSets = initOrGetListOf(otherResultSets);
+                otherResultSets.add(0, smallestResultSet);
+                smallestResultSet = currentResultSet;
+                smallestResultSetSize = currentResultSetSize;
+            } else {
+                otherResultSets = initOrGetListOf(otherResultSets);
+                otherResultSets.add(currentResultSet);
+            }
+        }
+
         if (smallestResultSet == null) {
             return null;
         }
         return new AndResultSet(smallestResultSet, otherResultSets, unindexedPredicates);
     }
 
+    private static void sortByCardinality(Predicate[] predicates, long[] cardinalities) {
+        // insertion sort, there are just a few predicates
+        for (int i = 1; i < predicates.length; ++i) {
+            Predicate predicate = predicates[i];
+            long cardinality = cardinalities[i];
+            int j = i - 1;
+            while (j >= 0 && isLessSelective(cardinalities[j], cardinality)) {
+                predicates[j + 1] = predicates[j];
+                cardinalities[j + 1] = cardinalities[j];
+                --j;
+            }
+            predicates[j + 1] = predicate;
+            cardinalities[j + 1] = cardinality;
+        }
+    }
+
+    private static boolean isLessSelective(long cardinality, long otherCardinality) {
+        if (otherCardinality == UNKNOWN) {
+            return false;
+        }
+        return cardinality == UNKNOWN || cardinality > otherCardinality;
+    }
+
     private static boolean isIndexedPredicate(Predicate predicate, QueryContext queryContext) {
         return predicate instanceof IndexAwarePredicate awarePredicate
                 && awarePredicate.isIndexed(queryContext);
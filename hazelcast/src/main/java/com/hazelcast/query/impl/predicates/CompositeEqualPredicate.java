@@ -94,6 +94,14 @@ public class CompositeEqualPredicate implements IndexAwarePredicate {
         return Arrays.toString(components) + " = " + value;
     }
 
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public CompositeValue getValue() {
+        return value;
+    }
+
     @Override
     public boolean isIndexed(QueryContext queryContext) {
         return true;
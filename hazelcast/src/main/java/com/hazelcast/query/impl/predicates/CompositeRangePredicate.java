@@ -124,6 +124,26 @@ public class CompositeRangePredicate implements IndexAwarePredicate {
         return index.getRecords(from, fromInclusive, to, toInclusive);
     }
 
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public CompositeValue getFrom() {
+        return from;
+    }
+
+    public boolean isFromInclusive() {
+        return fromInclusive;
+    }
+
+    public CompositeValue getTo() {
+        return to;
+    }
+
+    public boolean isToInclusive() {
+        return toInclusive;
+    }
+
     @Override
     public boolean isIndexed(QueryContext queryContext) {
         return true;
@@ -259,4 +259,40 @@ public class EvaluateVisitor extends AbstractVisitor {
         return new EvaluatePredicate(predicate, index.getName());
     }
 
+    @Override
+    public Predicate visit(LikePredicate predicate, IndexRegistry indexes) {
+        Index index = indexes.matchIndex(predicate.attributeName, predicate.getClass(), IndexMatchHint.PREFER_UNORDERED,
+                SKIP_PARTITIONS_COUNT_CHECK);
+        if (index == null || index.getConverter() == null) {
+            return predicate;
+        }
+
+        // prefer a precise prefix range query on an ordered index
+        if (predicate.expressionCanBeUsedAsIndexPrefix() && hasOrderedIndex(predicate.attributeName, indexes)) {
+            return predicate;
+        }
+
+        return new EvaluatePredicate(predicate, index.getName());
+    }
+
+    @Override
+    public Predicate visit(RegexPredicate predicate, IndexRegistry indexes) {
+        Index index = indexes.matchIndex(predicate.attributeName, predicate.getClass(), IndexMatchHint.PREFER_UNORDERED,
+                SKIP_PARTITIONS_COUNT_CHECK);
+        if (index == null || index.getConverter() == null) {
+            return predicate;
+        }
+
+        return new EvaluatePredicate(predicate, index.getName());
+    }
+
+    private static boolean hasOrderedIndex(String attribute, IndexRegistry indexes) {
+        for (Index index : indexes.getIndexes()) {
+            if (index.isOrdered() && index.getComponents()[0].equals(attribute)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
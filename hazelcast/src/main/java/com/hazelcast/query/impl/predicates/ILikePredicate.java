@@ -46,6 +46,11 @@ public class ILikePredicate extends LikePredicate {
         return false;
     }
 
+    @Override
+    boolean expressionCanBeUsedAsIndexPrefix() {
+        return false;
+    }
+
     @Override
     public String toString() {
         return attributeName + " ILIKE '" + expression + "'";
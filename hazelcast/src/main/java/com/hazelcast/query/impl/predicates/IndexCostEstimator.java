@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexStatistics;
+import com.hazelcast.query.impl.QueryContext;
+
+import static com.hazelcast.query.impl.QueryContext.IndexMatchHint.EXACT_NAME;
+import static com.hazelcast.query.impl.QueryContext.IndexMatchHint.PREFER_ORDERED;
+import static com.hazelcast.query.impl.QueryContext.IndexMatchHint.PREFER_UNORDERED;
+
+/**
+ * Estimates the number of entries index-aware predicates match using the
+ * {@link IndexStatistics} of the indexes the predicates are evaluated on.
+ * <p>
+ * The estimates let {@link AndPredicate} and {@link OrPredicate} decide which
+ * indexes to query and in what order. A predicate which can't be estimated,
+ * for instance because its index doesn't maintain statistics, is treated as
+ * before: it's always evaluated using its index. Compound predicates are
+ * not estimated.
+ */
+@SuppressWarnings("rawtypes")
+final class IndexCostEstimator {
+
+    /**
+     * Denotes a predicate whose cardinality can't be estimated.
+     */
+    static final long UNKNOWN = -1;
+
+    /**
+     * The cost of evaluating a predicate on an entry relative to the cost of
+     * collecting an entry from an index. It's used to decide whether to
+     * intersect the candidate entries with the result of an index query or
+     * to evaluate the predicate on the candidate entries directly.
+     */
+    static final long PREDICATE_EVALUATION_COST = 8;
+
+    private IndexCostEstimator() {
+    }
+
+    /**
+     * Estimates the number of entries matched by the given predicate.
+     *
+     * @param predicate    the predicate to estimate.
+     * @param queryContext the query context to match the indexes in.
+     * @return the estimated number of matching entries or {@link #UNKNOWN}.
+     */
+    static long estimateCardinality(Predicate predicate, QueryContext queryContext) {
+        if (predicate instanceof EqualPredicate equalPredicate) {
+            IndexStatistics statistics = statisticsOf(equalPredicate.matchIndex(queryContext, PREFER_UNORDERED));
+            return statistics == null ? UNKNOWN : statistics.estimateEqual();
+        } else if (predicate instanceof InPredicate inPredicate) {
+            IndexStatistics statistics = statisticsOf(inPredicate.matchIndex(queryContext, PREFER_UNORDERED));
+            return statistics == null
+                    ? UNKNOWN
+                    : Math.min(statistics.getEntryCount(), statistics.estimateEqual() * inPredicate.values.length);
+        } else if (predicate instanceof RangePredicate rangePredicate
+                && predicate instanceof AbstractIndexAwarePredicate awarePredicate) {
+            Index index = awarePredicate.matchIndex(queryContext, PREFER_ORDERED);
+            IndexStatistics statistics = statisticsOf(index);
+            if (statistics == null) {
+                return UNKNOWN;
+            }
+            TypeConverter converter = index.getConverter();
+            return statistics.estimateRange(convert(converter, rangePredicate.getFrom()),
+                    convert(converter, rangePredicate.getTo()));
+        } else if (predicate instanceof CompositeEqualPredicate compositePredicate) {
+            IndexStatistics statistics = statisticsOf(queryContext.matchIndex(compositePredicate.getIndexName(), EXACT_NAME));
+            return statistics == null ? UNKNOWN : statistics.estimateEqual();
+        }
+        return UNKNOWN;
+    }
+
+    private static IndexStatistics statisticsOf(Index index) {
+        return index == null ? null : index.getStatistics();
+    }
+
+    private static Comparable convert(TypeConverter converter, Comparable value) {
+        return value == null || converter == null ? value : converter.convert(value);
+    }
+
+}
@@ -37,6 +37,8 @@ import java.util.Set;
 
 import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.PREDICATE_DS_FACTORY_ID;
 import static com.hazelcast.query.impl.IndexRegistry.SKIP_PARTITIONS_COUNT_CHECK;
+import static com.hazelcast.query.impl.predicates.IndexCostEstimator.UNKNOWN;
+import static com.hazelcast.query.impl.predicates.IndexCostEstimator.estimateCardinality;
 
 /**
  * Or Predicate
@@ -60,7 +62,7 @@ public final class OrPredicate
     @Override
     public Set<QueryableEntry> filter(QueryContext queryContext) {
         List<Set<QueryableEntry>> indexedResults = new LinkedList<>();
-        for (Predicate predicate : predicates) {
+        for (Predicate predicate : orderByCardinality(predicates, queryContext)) {
             if (predicate instanceof IndexAwarePredicate iap) {
                 if (iap.isIndexed(queryContext)) {
                     // Avoid checking indexed partitions count twice to prevent
@@ -82,6 +84,42 @@ public final class OrPredicate
         return indexedResults.isEmpty() ? null : new OrResultSet(indexedResults);
     }
 
+    /**
+     * Orders the predicates from the one matching the most entries, so the
+     * membership checks of the result set succeed as early as possible and
+     * its estimated size is the size of the largest result.
+     */
+    private static Predicate[] orderByCardinality(Predicate[] predicates, QueryContext queryContext) {
+        long[] cardinalities = new long[predicates.length];
+        boolean estimated = false;
+        for (int i = 0; i < predicates.length; ++i) {
+            Predicate predicate = predicates[i];
+            cardinalities[i] = predicate instanceof IndexAwarePredicate iap && iap.isIndexed(queryContext)
+                    ? estimateCardinality(predicate, queryContext)
+                    : UNKNOWN;
+            estimated |= cardinalities[i] != UNKNOWN;
+        }
+        if (!estimated) {
+            return predicates;
+        }
+
+        Predicate[] ordered = predicates.clone();
+        // insertion sort, there are just a few predicates
+        for (int i = 1; i < ordered.length; ++i) {
+            Predicate predicate = ordered[i];
+            long cardinality = cardinalities[i];
+            int j = i - 1;
+            while (j >= 0 && cardinalities[j] < cardinality) {
+                ordered[j + 1] = ordered[j];
+                cardinalities[j + 1] = cardinalities[j];
+                --j;
+            }
+            ordered[j + 1] = predicate;
+            cardinalities[j + 1] = cardinality;
+        }
+        return ordered;
+    }
+
     @Override
     public boolean isIndexed(QueryContext queryContext) {
         for (Predicate predicate : predicates) {
@@ -19,6 +19,8 @@ package com.hazelcast.query.impl.predicates;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.internal.serialization.BinaryInterface;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.IndexRegistry;
 
 import java.io.IOException;
 import java.io.Serial;
@@ -29,7 +31,7 @@ import java.util.regex.Pattern;
  * Regex Predicate
  */
 @BinaryInterface
-public class RegexPredicate extends AbstractPredicate {
+public class RegexPredicate extends AbstractPredicate implements VisitablePredicate {
 
     @Serial
     private static final long serialVersionUID = 1L;
@@ -45,6 +47,18 @@ public class RegexPredicate extends AbstractPredicate {
         this.regex = regex;
     }
 
+    /**
+     * @return the regular expression of this predicate.
+     */
+    public String getRegex() {
+        return regex;
+    }
+
+    @Override
+    public Predicate accept(Visitor visitor, IndexRegistry indexes) {
+        return visitor.visit(this, indexes);
+    }
+
     @Override
     protected boolean applyForSingleAttributeValue(Comparable attributeValue) {
         String stringAttributeValue = (String) attributeValue;
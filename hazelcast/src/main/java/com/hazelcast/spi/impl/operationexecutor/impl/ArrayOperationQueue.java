@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.internal.metrics.ExcludedMetricTargets;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.concurrent.IdleStrategy;
+import com.hazelcast.internal.util.concurrent.ManyToOneConcurrentArrayQueue;
+import com.hazelcast.internal.util.counters.Counter;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_PARTITION_OPERATION_THREAD_IDLE_TIME;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_PARTITION_OPERATION_THREAD_OVERFLOW_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_PARTITION_OPERATION_THREAD_PARK_COUNT;
+import static com.hazelcast.internal.metrics.MetricTarget.MANAGEMENT_CENTER;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+import static java.util.concurrent.locks.LockSupport.park;
+import static java.util.concurrent.locks.LockSupport.unpark;
+
+/**
+ * An {@link OperationQueue} with a single consumer, backed by a bounded
+ * {@link ManyToOneConcurrentArrayQueue}, so adding a normal task doesn't
+ * allocate and doesn't take a lock.
+ * <p>
+ * When there's nothing to take, the consumer idles using the {@link
+ * IdleStrategy}. Once the strategy reaches its longest pause, the consumer
+ * parks until a producer unparks it.
+ * <p>
+ * The tasks which don't fit into the array are added to an unbounded
+ * overflow queue; the operations can't be rejected, since there's no back
+ * pressure between the members, and blocking the producer could deadlock
+ * partition threads offering to each other. Once a task overflowed, all
+ * the tasks go to the overflow queue until it's drained, which keeps the
+ * tasks of every producer in FIFO order.
+ * <p>
+ * Priority tasks are kept in a separate unbounded queue and are taken
+ * before the normal tasks.
+ */
+@ExcludedMetricTargets(MANAGEMENT_CENTER)
+public final class ArrayOperationQueue implements OperationQueue {
+
+    private final ManyToOneConcurrentArrayQueue<Object> normalQueue;
+    private final Queue<Object> overflowQueue = new ConcurrentLinkedQueue<>();
+    private final Queue<Object> priorityQueue = new ConcurrentLinkedQueue<>();
+    private final IdleStrategy idleStrategy;
+
+    @Probe(name = OPERATION_METRIC_PARTITION_OPERATION_THREAD_OVERFLOW_COUNT)
+    private final Counter overflowCount = newMwCounter();
+    @Probe(name = OPERATION_METRIC_PARTITION_OPERATION_THREAD_PARK_COUNT)
+    private final Counter parkCount = newSwCounter();
+    @Probe(name = OPERATION_METRIC_PARTITION_OPERATION_THREAD_IDLE_TIME, unit = NS)
+    private final Counter idleTimeNanos = newSwCounter();
+
+    private volatile Thread consumerThread;
+    private volatile boolean parked;
+
+    public ArrayOperationQueue(int capacity, IdleStrategy idleStrategy) {
+        this.normalQueue = new ManyToOneConcurrentArrayQueue<>(capacity);
+        this.idleStrategy = checkNotNull(idleStrategy, "idleStrategy");
+    }
+
+    /**
+     * Sets the consumer thread, it must be set before the queue is used.
+     */
+    public void setConsumerThread(Thread consumerThread) {
+        this.consumerThread = checkNotNull(consumerThread, "consumerThread");
+    }
+
+    @Override
+    public void add(Object task, boolean priority) {
+        checkNotNull(task, "task can't be null");
+
+        if (priority) {
+            priorityQueue.add(task);
+        } else if (!overflowQueue.isEmpty() || !normalQueue.offer(task)) {
+            overflowQueue.add(task);
+            overflowCount.inc();
+        }
+
+        // adding a task ends with a CAS, so it's ordered before the read of the flag;
+        // the consumer sets the flag before it checks the queues for the last time
+        if (parked) {
+            unpark(consumerThread);
+        }
+    }
+
+    @Override
+    public Object take(boolean priorityOnly) throws InterruptedException {
+        Object task = poll(priorityOnly);
+        if (task != null) {
+            return task;
+        }
+
+        long idleStart = System.nanoTime();
+        try {
+            for (long iteration = 0; ; iteration++) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+
+                task = poll(priorityOnly);
+                if (task != null) {
+                    return task;
+                }
+
+                if (idleStrategy.idle(iteration)) {
+                    parkUntilAdded(priorityOnly);
+                }
+            }
+        } finally {
+            idleTimeNanos.inc(System.nanoTime() - idleStart);
+        }
+    }
+
+    private void parkUntilAdded(boolean priorityOnly) {
+        parked = true;
+        try {
+            // checks the claimed slots of the array, not the published tasks:
+            // a task can be published after the producer read the flag
+            if (priorityQueue.isEmpty() && (priorityOnly || normalQueue.size() == 0 && overflowQueue.isEmpty())) {
+                parkCount.inc();
+                park(this);
+            }
+        } finally {
+            parked = false;
+        }
+    }
+
+    @Override
+    public Object poll() {
+        return poll(false);
+    }
+
+    private Object poll(boolean priorityOnly) {
+        Object task = priorityQueue.poll();
+        if (task != null || priorityOnly) {
+            return task;
+        }
+
+        task = normalQueue.poll();
+        if (task != null) {
+            return task;
+        }
+
+        // an overflowed task was added after the tasks of the same producer in
+        // the array, including the ones which claimed a slot, but weren't
+        // published yet. The overflow queue must be read before the array.
+        if (overflowQueue.peek() == null || normalQueue.size() != 0) {
+            return null;
+        }
+        return overflowQueue.poll();
+    }
+
+    @Override
+    public int normalSize() {
+        return normalQueue.size() + overflowQueue.size();
+    }
+
+    @Override
+    public int prioritySize() {
+        return priorityQueue.size();
+    }
+
+    @Override
+    public int size() {
+        return normalSize() + prioritySize();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return normalQueue.isEmpty() && overflowQueue.isEmpty() && priorityQueue.isEmpty();
+    }
+}
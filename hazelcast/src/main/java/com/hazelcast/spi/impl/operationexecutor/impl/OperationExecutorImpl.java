@@ -25,6 +25,7 @@ import com.hazelcast.internal.namespace.impl.NodeEngineThreadLocalContext;
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.tpc.TpcServerBootstrap;
 import com.hazelcast.internal.util.ThreadAffinity;
+import com.hazelcast.internal.util.concurrent.BackoffIdleStrategy;
 import com.hazelcast.internal.util.concurrent.IdleStrategy;
 import com.hazelcast.internal.util.concurrent.MPSCQueue;
 import com.hazelcast.logging.ILogger;
@@ -68,6 +69,7 @@ import static com.hazelcast.spi.properties.ClusterProperty.GENERIC_OPERATION_THR
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_OPERATION_THREAD_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.PRIORITY_GENERIC_OPERATION_THREAD_COUNT;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
@@ -95,6 +97,19 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 public final class OperationExecutorImpl implements OperationExecutor, StaticMetricsProvider {
     private static final HazelcastProperty IDLE_STRATEGY
             = new HazelcastProperty("hazelcast.operation.partitionthread.idlestrategy", "block");
+    // "linked" for the unbounded MPSCQueue, "array" for the bounded ArrayOperationQueue
+    private static final HazelcastProperty QUEUE_TYPE
+            = new HazelcastProperty("hazelcast.operation.partitionthread.queue", "linked");
+    private static final int DEFAULT_ARRAY_QUEUE_CAPACITY = 65536;
+    private static final HazelcastProperty ARRAY_QUEUE_CAPACITY
+            = new HazelcastProperty("hazelcast.operation.partitionthread.queue.capacity", DEFAULT_ARRAY_QUEUE_CAPACITY);
+    private static final long ARRAY_QUEUE_IDLE_MAX_SPINS = 20;
+    private static final long ARRAY_QUEUE_IDLE_MAX_YIELDS = 50;
+    private static final long ARRAY_QUEUE_IDLE_MIN_PARK_NS = MICROSECONDS.toNanos(1);
+    private static final long ARRAY_QUEUE_IDLE_MAX_PARK_NS = MICROSECONDS.toNanos(100);
+    // the ArrayOperationQueue always idles before it blocks, even if the idle strategy is "block"
+    private static final IdleStrategy ARRAY_QUEUE_IDLE_STRATEGY = new BackoffIdleStrategy(ARRAY_QUEUE_IDLE_MAX_SPINS,
+            ARRAY_QUEUE_IDLE_MAX_YIELDS, ARRAY_QUEUE_IDLE_MIN_PARK_NS, ARRAY_QUEUE_IDLE_MAX_PARK_NS);
     private static final int TERMINATION_TIMEOUT_SECONDS = 3;
     private final ThreadAffinity threadAffinity = newSystemThreadAffinity("hazelcast.operation.thread.affinity");
     private final ILogger logger;
@@ -176,19 +191,27 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         }
 
         IdleStrategy idleStrategy = getIdleStrategy(properties, IDLE_STRATEGY);
+        boolean arrayQueue = isArrayQueue(properties);
         PartitionOperationThread[] threads = new PartitionOperationThread[threadCount];
         for (int threadId = 0; threadId < threads.length; threadId++) {
             String threadName = createThreadPoolName(hzName, "partition-operation") + threadId;
-            // the normalQueue will be a blocking queue. We don't want to idle, because there are many operation threads.
-            MPSCQueue<Object> normalQueue = new MPSCQueue<>(idleStrategy);
-
-            OperationQueue operationQueue = new OperationQueueImpl(normalQueue, new ConcurrentLinkedQueue<>());
-
-            PartitionOperationThread partitionThread = new PartitionOperationThread(threadName, threadId,
-                    operationQueue, logger, nodeExtension, partitionOperationRunners, configClassLoader);
+            PartitionOperationThread partitionThread;
+            if (arrayQueue) {
+                ArrayOperationQueue operationQueue = new ArrayOperationQueue(properties.getInteger(ARRAY_QUEUE_CAPACITY),
+                        idleStrategy != null ? idleStrategy : ARRAY_QUEUE_IDLE_STRATEGY);
+                partitionThread = new PartitionOperationThread(threadName, threadId,
+                        operationQueue, logger, nodeExtension, partitionOperationRunners, configClassLoader);
+                operationQueue.setConsumerThread(partitionThread);
+            } else {
+                // the normalQueue will be a blocking queue. We don't want to idle, because there are many operation threads.
+                MPSCQueue<Object> normalQueue = new MPSCQueue<>(idleStrategy);
+                OperationQueue operationQueue = new OperationQueueImpl(normalQueue, new ConcurrentLinkedQueue<>());
+                partitionThread = new PartitionOperationThread(threadName, threadId,
+                        operationQueue, logger, nodeExtension, partitionOperationRunners, configClassLoader);
+                normalQueue.setConsumerThread(partitionThread);
+            }
             partitionThread.setThreadAffinity(threadAffinity);
             threads[threadId] = partitionThread;
-            normalQueue.setConsumerThread(partitionThread);
         }
 
         // we need to assign the PartitionOperationThreads to all OperationRunners they own
@@ -202,6 +225,17 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         return threads;
     }
 
+    private static boolean isArrayQueue(HazelcastProperties properties) {
+        String queueType = properties.getString(QUEUE_TYPE);
+        if ("array".equals(queueType)) {
+            return true;
+        } else if ("linked".equals(queueType)) {
+            return false;
+        } else {
+            throw new IllegalStateException("Unrecognized " + QUEUE_TYPE.getName() + " value=" + queueType);
+        }
+    }
+
     private PartitionOperationThread[] initTpcPartitionThreads(TpcServerBootstrap tpcServerBootstrap,
                                                                String hzName,
                                                                NodeExtension nodeExtension,
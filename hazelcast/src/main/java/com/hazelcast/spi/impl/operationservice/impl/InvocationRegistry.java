@@ -25,7 +25,7 @@ import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.metrics.StaticMetricsProvider;
 import com.hazelcast.internal.util.LatencyDistribution;
-import com.hazelcast.internal.util.RuntimeAvailableProcessors;
+import com.hazelcast.internal.util.concurrent.CallIdTable;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionIteratingOperation;
@@ -33,8 +33,6 @@ import com.hazelcast.spi.impl.sequence.CallIdSequence;
 import com.hazelcast.spi.properties.HazelcastProperties;
 
 import java.util.Iterator;
-import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -56,27 +54,20 @@ import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setCallI
  * {@link com.hazelcast.spi.impl.operationservice.impl.responses.Response} comes in, the
  * appropriate invocation can be looked up.
  * <p>
+ * The invocations are stored in a {@link CallIdTable} sized by the backpressure limit of the
+ * {@link CallIdSequence}, so registering an invocation doesn't allocate.
+ * <p>
  * Some ideas:
  * <ul>
- * <li>Use a ringbuffer to store all invocations instead of a CHM. The call ID can be used as sequence ID for this
- * ringbuffer. It can be that you run in slots that have not been released; if that happens, just keep increasing
- * the sequence (although you now get sequence-gaps).</li>
- * <li>Pre-allocate all invocations. Because the ringbuffer has a fixed capacity, pre-allocation should be easy. Also
+ * <li>Pre-allocate all invocations. Because the table has a fixed capacity, pre-allocation should be easy. Also
  * the PartitionInvocation and TargetInvocation can be folded into Invocation.</li>
  * </ul>
  */
 public class InvocationRegistry implements Iterable<Invocation>, StaticMetricsProvider {
 
-    private static final int CORE_SIZE_CHECK = 8;
-    private static final int CORE_SIZE_FACTOR = 4;
-    private static final int CONCURRENCY_LEVEL = 16;
-
-    private static final int INITIAL_CAPACITY = 1000;
-    private static final float LOAD_FACTOR = 0.75f;
     private static final double HUNDRED_PERCENT = 100d;
 
-    @Probe(name = OPERATION_METRIC_INVOCATION_REGISTRY_INVOCATIONS_PENDING, level = MANDATORY)
-    private final ConcurrentMap<Long, Invocation> invocations;
+    private final CallIdTable<Invocation> invocations;
     private final ILogger logger;
     private final CallIdSequence callIdSequence;
     private final boolean profilerEnabled;
@@ -86,12 +77,7 @@ public class InvocationRegistry implements Iterable<Invocation>, StaticMetricsPr
     public InvocationRegistry(ILogger logger, CallIdSequence callIdSequence, HazelcastProperties properties) {
         this.logger = logger;
         this.callIdSequence = callIdSequence;
-
-        int coreSize = RuntimeAvailableProcessors.get();
-        boolean reallyMultiCore = coreSize >= CORE_SIZE_CHECK;
-        int concurrencyLevel = reallyMultiCore ? coreSize * CORE_SIZE_FACTOR : CONCURRENCY_LEVEL;
-
-        this.invocations = new ConcurrentHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, concurrencyLevel);
+        this.invocations = new CallIdTable<>(callIdSequence.getMaxConcurrentInvocations());
         this.profilerEnabled = properties.getInteger(InvocationProfilerPlugin.PERIOD_SECONDS) > 0;
     }
 
@@ -100,6 +86,11 @@ public class InvocationRegistry implements Iterable<Invocation>, StaticMetricsPr
         registry.registerStaticMetrics(this, OPERATION_PREFIX_INVOCATIONS);
     }
 
+    @Probe(name = OPERATION_METRIC_INVOCATION_REGISTRY_INVOCATIONS_PENDING, level = MANDATORY)
+    private int pendingInvocations() {
+        return invocations.size();
+    }
+
     @Probe(name = OPERATION_METRIC_INVOCATION_REGISTRY_INVOCATIONS_USED_PERCENTAGE, unit = PERCENT)
     private double invocationsUsedPercentage() {
         int maxConcurrentInvocations = callIdSequence.getMaxConcurrentInvocations();
@@ -191,18 +182,12 @@ public class InvocationRegistry implements Iterable<Invocation>, StaticMetricsPr
         return invocations.size();
     }
 
-    @Override
-    public Iterator<Invocation> iterator() {
-        return invocations.values().iterator();
-    }
-
     /**
-     * Intention to expose the entry set is to mutate it.
-     *
-     * @return set of invocations in this registry
+     * Returns a weakly consistent iterator over the pending invocations.
      */
-    public Set<Map.Entry<Long, Invocation>> entrySet() {
-        return invocations.entrySet();
+    @Override
+    public Iterator<Invocation> iterator() {
+        return invocations.iterator();
     }
 
     /**
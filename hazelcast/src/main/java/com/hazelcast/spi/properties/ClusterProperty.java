@@ -1316,6 +1316,26 @@ public final class ClusterProperty {
     public static final HazelcastProperty MAP_WRITE_BEHIND_QUEUE_CAPACITY
             = new HazelcastProperty("hazelcast.map.write.behind.queue.capacity", 50000);
 
+    /**
+     * Enables the off-heap record storage for {@link com.hazelcast.config.InMemoryFormat#BINARY}
+     * maps. When enabled, keys, values and record metadata of map entries are kept in native
+     * memory allocated outside the Java heap instead of on-heap objects, which reduces heap usage
+     * and GC pauses of members holding a large number of entries. The native memory used by a map
+     * is reported as its owned/backup entry memory cost and as
+     * {@link com.hazelcast.map.LocalMapStats#getNativeMemoryCost()}, and it is not included in the
+     * heap cost.
+     * <p>
+     * Maps with {@link com.hazelcast.config.MapConfig#isReadBackupData() read-backup-data} enabled
+     * keep using the on-heap storage, since backup reads are served outside the partition threads.
+     * Queries which can't be answered by an index scan such maps on the partition threads, like
+     * {@link com.hazelcast.config.InMemoryFormat#NATIVE} maps.
+     * The property has no effect when {@code sun.misc.Unsafe} is not available.
+     * <p>
+     * Default: false
+     */
+    public static final HazelcastProperty MAP_OFF_HEAP_STORAGE_ENABLED
+            = new HazelcastProperty("hazelcast.map.off.heap.storage.enabled", false);
+
     /*
      * INVOCATION / OPERATION SYSTEM PROPERTIES
      */
@@ -1873,6 +1893,34 @@ public final class ClusterProperty {
     public static final HazelcastProperty PROCESSOR_CUSTOM_LIB_DIR
             = new HazelcastProperty("hazelcast.jet.custom.lib.dir", "custom-lib");
 
+    /**
+     * The directory to which the Jet processors that support it, such as the
+     * sort of a batch pipeline and of an SQL {@code ORDER BY}, spill their
+     * records once they hold more than {@link #JET_SPILL_THRESHOLD_RECORDS}
+     * of them. The files are deleted when the processor completes.
+     * <p>
+     * While spilling is enabled, the spilling processors run on
+     * non-cooperative threads and {@code maxProcessorAccumulatedRecords}
+     * limits only the records they keep in memory, not their total count.
+     * <p>
+     * By default, the property is not set and spilling is disabled.
+     *
+     * @since 5.7
+     */
+    public static final HazelcastProperty JET_SPILL_DIRECTORY
+            = new HazelcastProperty("hazelcast.jet.spill.directory");
+
+    /**
+     * The number of records a spilling Jet processor keeps in memory before
+     * it writes them to the {@link #JET_SPILL_DIRECTORY}.
+     * <p>
+     * The default value is {@code 1000000}.
+     *
+     * @since 5.7
+     */
+    public static final HazelcastProperty JET_SPILL_THRESHOLD_RECORDS
+            = new HazelcastProperty("hazelcast.jet.spill.threshold.records", 1_000_000);
+
     /**
      * Controls whether cluster emojis can be used in log messages. This is just a hint for components calling the logging.
      *
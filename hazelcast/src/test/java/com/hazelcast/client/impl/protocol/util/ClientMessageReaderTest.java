@@ -30,7 +30,10 @@ import java.nio.ByteBuffer;
 import java.util.Random;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -197,6 +200,78 @@ public class ClientMessageReaderTest {
         assertFalse(iterator.hasNext());
     }
 
+    @Test
+    public void testReadLargeFrameThroughFrameBuffer() {
+        ClientMessage.Frame frame1 = createFrameWithRandomBytes(10_000);
+        ClientMessage.Frame frame2 = createFrameWithRandomBytes(20);
+
+        ClientMessage message = ClientMessage.createForEncode();
+        message.add(frame1);
+        message.add(frame2);
+
+        ByteBuffer buffer = writeToBuffer(message);
+        ClientMessageReader reader = new ClientMessageReader(-1);
+
+        // the header and the first bytes of the first frame arrive in the src buffer
+        ByteBuffer src = ByteBuffer.allocate(1000);
+        putFromBuffer(buffer, src, 1000);
+        src.flip();
+        assertFalse(reader.readFrom(src, true));
+        assertFalse(src.hasRemaining());
+
+        // the next bytes of the frame are put directly into the frame,
+        // at most as many at a time as fit in the src buffer
+        ByteBuffer frameBuffer;
+        int directReads = 0;
+        while ((frameBuffer = reader.frameBuffer(src.capacity())) != null) {
+            assertEquals(src.capacity(), frameBuffer.remaining());
+            putFromBuffer(buffer, frameBuffer, 600);
+            assertTrue(reader.hasFrameBufferBytes());
+            assertFalse(reader.readFrom(src, true));
+            assertFalse(reader.hasFrameBufferBytes());
+            directReads++;
+        }
+        assertTrue(directReads > 1);
+
+        // the rest goes through the src buffer again
+        src.clear();
+        src.put(buffer);
+        src.flip();
+        assertTrue(reader.readFrom(src, true));
+
+        ClientMessage.ForwardFrameIterator iterator = reader.getClientMessage().frameIterator();
+        assertArrayEquals(frame1.content, iterator.next().content);
+        assertArrayEquals(frame2.content, iterator.next().content);
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testFrameBuffer_whenFewerBytesMissingThanMinLength() {
+        ClientMessage.Frame frame = createFrameWithRandomBytes(1000);
+
+        ClientMessage message = ClientMessage.createForEncode();
+        message.add(frame);
+
+        ByteBuffer buffer = writeToBuffer(message);
+        ClientMessageReader reader = new ClientMessageReader(-1);
+        ByteBuffer src = ByteBuffer.allocate(500);
+        putFromBuffer(buffer, src, 500);
+        src.flip();
+        assertFalse(reader.readFrom(src, true));
+
+        assertNull(reader.frameBuffer(1000));
+        ByteBuffer frameBuffer = reader.frameBuffer(100);
+        assertNotNull(frameBuffer);
+        assertEquals(100, frameBuffer.remaining());
+    }
+
+    private static void putFromBuffer(ByteBuffer from, ByteBuffer to, int count) {
+        ByteBuffer slice = from.duplicate();
+        slice.limit(slice.position() + count);
+        to.put(slice);
+        from.position(from.position() + count);
+    }
+
     private ClientMessage.Frame createFrameWithRandomBytes(int contentLength) {
         byte[] content = new byte[contentLength];
         random.nextBytes(content);
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.impl.proxy.ClientMapGetCoalescer;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+
+import static com.hazelcast.client.impl.clientside.ClientTestUtil.getHazelcastClientInstanceImpl;
+import static com.hazelcast.client.properties.ClientProperty.MAP_GET_COALESCING_MAX_BATCH_SIZE;
+import static com.hazelcast.client.properties.ClientProperty.MAP_GET_COALESCING_WINDOW_MICROS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientMapGetCoalescingTest extends HazelcastTestSupport {
+
+    private final TestHazelcastFactory factory = new TestHazelcastFactory();
+
+    @Before
+    public void setup() {
+        factory.newHazelcastInstance(smallInstanceConfig());
+    }
+
+    @After
+    public void tearDown() {
+        factory.terminateAll();
+    }
+
+    @Test
+    public void testCoalescingDisabledByDefault() {
+        HazelcastInstance client = factory.newHazelcastClient();
+
+        assertFalse(getHazelcastClientInstanceImpl(client).getMapGetCoalescer().isEnabled());
+    }
+
+    @Test
+    public void testGet() {
+        HazelcastInstance client = newClient(100, 64);
+        IMap<Integer, String> map = client.getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "value-" + i);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals("value-" + i, map.get(i));
+        }
+        assertNull(map.get(100));
+    }
+
+    @Test
+    public void testConcurrentGets() throws Exception {
+        HazelcastInstance client = newClient(100, 64);
+        IMap<Integer, String> map = client.getMap(randomMapName());
+        int keyCount = 1000;
+        for (int i = 0; i < keyCount; i += 2) {
+            map.put(i, "value-" + i);
+        }
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(spawn(() -> {
+                for (int i = 0; i < keyCount; i++) {
+                    assertEquals(i % 2 == 0 ? "value-" + i : null, map.get(i));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    @Test
+    public void testGetsOfSameKeyAreCoalesced() throws Exception {
+        HazelcastInstance client = newClient(SECONDS.toMicros(1), 64);
+        IMap<String, String> map = client.getMap(randomMapName());
+        map.put("key", "value");
+
+        int threadCount = 8;
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            futures.add(spawn(() -> {
+                startLatch.await();
+                return map.get("key");
+            }));
+        }
+        startLatch.countDown();
+        for (Future<String> future : futures) {
+            assertEquals("value", future.get());
+        }
+
+        ClientMapGetCoalescer coalescer = getHazelcastClientInstanceImpl(client).getMapGetCoalescer();
+        assertTrue(coalescer.averageBatchSize() > 1);
+    }
+
+    @Test
+    public void testFullBatchIsSentBeforeTheEndOfTheWindow() throws Exception {
+        HazelcastInstance client = newClient(SECONDS.toMicros(60), 2);
+        IMap<String, String> map = client.getMap(randomMapName());
+        map.put("key1", "value1");
+        String key2 = generateKeyForPartition(client, getPartitionId(client, "key1"));
+
+        Future<String> future1 = spawn(() -> map.get("key1"));
+        Future<String> future2 = spawn(() -> map.get(key2));
+
+        assertEquals("value1", future1.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, SECONDS));
+        assertNull(future2.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, SECONDS));
+    }
+
+    private HazelcastInstance newClient(long windowMicros, int maxBatchSize) {
+        ClientConfig config = new ClientConfig();
+        config.setProperty(MAP_GET_COALESCING_WINDOW_MICROS.getName(), String.valueOf(windowMicros));
+        config.setProperty(MAP_GET_COALESCING_MAX_BATCH_SIZE.getName(), String.valueOf(maxBatchSize));
+        return factory.newHazelcastClient(config);
+    }
+}
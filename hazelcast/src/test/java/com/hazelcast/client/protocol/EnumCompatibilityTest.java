@@ -95,6 +95,7 @@ public class EnumCompatibilityTest {
         mappings.put(IndexType.SORTED, 0);
         mappings.put(IndexType.HASH, 1);
         mappings.put(IndexType.BITMAP, 2);
+        mappings.put(IndexType.FULL_TEXT, 3);
         verifyCompatibility(IndexType.values(), IndexType::getId, mappings);
     }
 
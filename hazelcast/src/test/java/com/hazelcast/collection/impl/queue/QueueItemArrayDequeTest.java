@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.collection.impl.queue;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class QueueItemArrayDequeTest {
+
+    private final QueueItemArrayDeque deque = new QueueItemArrayDeque();
+
+    @Test
+    public void test_offerAndPoll_inFifoOrder_acrossWrapAround() {
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 10; i++) {
+                deque.offer(item(round * 10 + i));
+            }
+            for (int i = 0; i < 10; i++) {
+                assertEquals(round * 10 + i, deque.poll().getItemId());
+            }
+        }
+        assertNull(deque.poll());
+        assertNull(deque.peek());
+        assertEquals(QueueItemArrayDeque.MIN_CAPACITY, deque.capacity());
+    }
+
+    @Test
+    public void test_grow_keepsOrder() {
+        // make the ring wrap before growing
+        for (int i = 0; i < 10; i++) {
+            deque.offer(item(-1));
+            deque.poll();
+        }
+        for (int i = 0; i < 100; i++) {
+            deque.offer(item(i));
+        }
+
+        assertEquals(100, deque.size());
+        assertEquals(99, deque.peekLast().getItemId());
+        assertItemIds(range(0, 100));
+    }
+
+    @Test
+    public void test_offerFirst() {
+        deque.offer(item(2));
+        deque.offerFirst(item(1));
+        deque.offerFirst(item(0));
+
+        assertItemIds(range(0, 3));
+    }
+
+    @Test
+    public void test_addAtIndex() {
+        List<Long> expected = new LinkedList<>();
+        for (int i = 0; i < 40; i += 2) {
+            deque.offer(item(i));
+            expected.add((long) i);
+        }
+
+        // inserts into both halves of the ring
+        for (int i = 1; i < 40; i += 8) {
+            int index = expected.indexOf((long) i - 1) + 1;
+            deque.add(index, item(i));
+            expected.add(index, (long) i);
+        }
+        deque.add(0, item(-1));
+        expected.add(0, -1L);
+        deque.add(deque.size(), item(100));
+        expected.add(100L);
+
+        assertItemIds(expected);
+    }
+
+    @Test
+    public void test_iteratorRemove() {
+        deque.offerFirst(item(-1));
+        for (int i = 0; i < 50; i++) {
+            deque.offer(item(i));
+        }
+
+        Iterator<QueueItem> iterator = deque.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getItemId() % 3 != 0) {
+                iterator.remove();
+            }
+        }
+
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i += 3) {
+            expected.add((long) i);
+        }
+        assertItemIds(expected);
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void test_iterator_failsOnConcurrentModification() {
+        deque.offer(item(0));
+        deque.offer(item(1));
+
+        Iterator<QueueItem> iterator = deque.iterator();
+        iterator.next();
+        deque.poll();
+        iterator.next();
+    }
+
+    @Test
+    public void test_addAll_wrapsAround() {
+        for (int i = 0; i < 12; i++) {
+            deque.offer(item(-1));
+        }
+        for (int i = 0; i < 12; i++) {
+            deque.poll();
+        }
+        deque.offer(item(0));
+
+        List<QueueItem> batch = new ArrayList<>();
+        for (int i = 1; i < 10; i++) {
+            batch.add(item(i));
+        }
+        assertTrue(deque.addAll(batch));
+
+        assertEquals(QueueItemArrayDeque.MIN_CAPACITY, deque.capacity());
+        assertItemIds(range(0, 10));
+    }
+
+    @Test
+    public void test_drainTo() {
+        for (int i = 0; i < 14; i++) {
+            deque.offer(item(-1));
+            deque.poll();
+        }
+        for (int i = 0; i < 10; i++) {
+            deque.offer(item(i));
+        }
+
+        List<Long> drained = new ArrayList<>();
+        int count = deque.drainTo(item -> drained.add(item.getItemId()), 6);
+
+        assertEquals(6, count);
+        assertEquals(range(0, 6), drained);
+        assertItemIds(range(6, 10));
+        assertEquals(4, deque.drainTo(item -> { }, 100));
+        assertTrue(deque.isEmpty());
+    }
+
+    @Test
+    public void test_clear() {
+        for (int i = 0; i < 100; i++) {
+            deque.offer(item(i));
+        }
+
+        deque.clear();
+
+        assertTrue(deque.isEmpty());
+        assertEquals(QueueItemArrayDeque.MIN_CAPACITY, deque.capacity());
+        deque.offer(item(1));
+        assertEquals(1, deque.peek().getItemId());
+    }
+
+    private void assertItemIds(List<Long> expected) {
+        List<Long> actual = new ArrayList<>();
+        for (QueueItem item : deque) {
+            actual.add(item.getItemId());
+        }
+        assertEquals(expected, actual);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals((long) expected.get(i), deque.get(i).getItemId());
+        }
+    }
+
+    private static List<Long> range(int from, int to) {
+        List<Long> list = new ArrayList<>();
+        for (long i = from; i < to; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    private static QueueItem item(long itemId) {
+        return new QueueItem(null, itemId, null);
+    }
+}
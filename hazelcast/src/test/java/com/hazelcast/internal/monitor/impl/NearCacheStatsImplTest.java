@@ -109,6 +109,30 @@ public class NearCacheStatsImplTest extends HazelcastTestSupport {
         assertEquals(100d, nearCacheStats.getRatio(), 0.0001);
     }
 
+    @Test
+    public void testGetRatioSincePreload() {
+        NearCacheStatsImpl nearCacheStats = new NearCacheStatsImpl();
+        nearCacheStats.setHits(10);
+        nearCacheStats.setMisses(30);
+        assertEquals(Double.NaN, nearCacheStats.getRatioSincePreload(), 0.0001);
+
+        nearCacheStats.addPreload(50, 1000);
+        assertEquals(Double.NaN, nearCacheStats.getRatioSincePreload(), 0.0001);
+
+        nearCacheStats.incrementHits();
+        nearCacheStats.incrementHits();
+        nearCacheStats.incrementHits();
+        nearCacheStats.incrementMisses();
+        assertEquals(300d, nearCacheStats.getRatioSincePreload(), 0.0001);
+        assertEquals(50, nearCacheStats.getLastPreloadDuration());
+        assertEquals(1000, nearCacheStats.getLastPreloadKeyCount());
+        assertTrue(nearCacheStats.getLastPreloadTime() > 0);
+
+        NearCacheStatsImpl copy = new NearCacheStatsImpl(nearCacheStats);
+        assertEquals(300d, copy.getRatioSincePreload(), 0.0001);
+        assertEquals(1000, copy.getLastPreloadKeyCount());
+    }
+
     @Test
     public void testConcurrentModification() {
         int incThreads = 40;
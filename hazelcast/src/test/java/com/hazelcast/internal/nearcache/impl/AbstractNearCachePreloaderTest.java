@@ -194,6 +194,42 @@ public abstract class AbstractNearCachePreloaderTest<NK, NV> extends HazelcastTe
         assertNearCachePreloadDoneEventually(clientContext);
         assertNearCacheSizeEventually(clientContext, keyCount);
         assertNearCacheContent(clientContext, keyCount, keyType);
+        assertEqualsFormat("Expected %d Near Cache keys to be pre-loaded, but was %d (%s)",
+                keyCount, clientContext.stats.getLastPreloadKeyCount(), clientContext.stats);
+    }
+
+    @Test(timeout = 10 * MINUTE)
+    @Category(SlowTest.class)
+    public void testStoreAndLoad_whenKeysUpdatedInBetween_thenUpdatedValuesLoaded() {
+        int keyCount = 1000;
+        nearCacheConfig.getPreloaderConfig()
+                .setStoreInitialDelaySeconds(3)
+                .setStoreIntervalSeconds(1);
+
+        NearCacheTestContext<Object, String, NK, NV> context = createContext(true);
+
+        populateDataAdapter(context, keyCount, INTEGER);
+        populateNearCache(context, keyCount, INTEGER);
+        waitForNearCachePersistence(context, 1);
+        assertLastNearCachePersistence(context, getStoreFile(), keyCount);
+
+        // shutdown the first client and update some keys, their stored values are stale now
+        context.nearCacheInstance.shutdown();
+        for (int i = 0; i < keyCount; i += 10) {
+            context.dataAdapter.put(createKey(INTEGER, i), "updated-" + i);
+        }
+
+        // start a new client which will kick off the Near Cache pre-loader
+        NearCacheTestContext<Object, String, NK, NV> clientContext = createNearCacheContext();
+
+        assertNearCachePreloadDoneEventually(clientContext);
+        assertNearCacheSizeEventually(clientContext, keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            Object nearCacheKey = getNearCacheKey(clientContext, createKey(INTEGER, i));
+            String value = clientContext.serializationService.toObject(getValueFromNearCache(clientContext, nearCacheKey));
+            assertEqualsFormat("Expected value %s in Near Cache, but found %s (%s)",
+                    (i % 10 == 0 ? "updated-" : "value-") + i, value, clientContext.stats);
+        }
     }
 
     @Test(timeout = 10 * MINUTE)
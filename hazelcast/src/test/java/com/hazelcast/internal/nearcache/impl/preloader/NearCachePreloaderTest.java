@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.nearcache.impl.preloader;
+
+import com.hazelcast.config.NearCachePreloaderConfig;
+import com.hazelcast.internal.adapter.DataStructureAdapter;
+import com.hazelcast.internal.monitor.impl.NearCacheStatsImpl;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.util.UuidUtil;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NearCachePreloaderTest extends HazelcastTestSupport {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final NearCacheStatsImpl nearCacheStats = new NearCacheStatsImpl();
+    private final UUID partitionUuid = UuidUtil.newUnsecureUUID();
+
+    @SuppressWarnings("unchecked")
+    private final DataStructureAdapter<Object, ?> adapter = mock(DataStructureAdapter.class);
+
+    private NearCachePreloader<Object> preloader;
+
+    @Before
+    public void setUp() throws Exception {
+        NearCachePreloaderConfig preloaderConfig = new NearCachePreloaderConfig()
+                .setEnabled(true)
+                .setDirectory(temporaryFolder.newFolder().getAbsolutePath());
+        preloader = new NearCachePreloader<>(randomName(), preloaderConfig, nearCacheStats, serializationService);
+    }
+
+    @After
+    public void tearDown() {
+        preloader.destroy();
+    }
+
+    @Test
+    public void testLoadKeys_restoresValidValues_andFetchesStaleKeysByPartition() {
+        preloader.storeKeys(asList(
+                new NearCachePreloaderEntry<Object>(1, "value-1", 3, partitionUuid, 10),
+                new NearCachePreloaderEntry<Object>(2, "value-2", 1, partitionUuid, 10),
+                new NearCachePreloaderEntry<Object>(3, "value-3", 3, partitionUuid, 5),
+                new NearCachePreloaderEntry<Object>(4, "value-4", 1, partitionUuid, 5),
+                NearCachePreloaderEntry.<Object>keyOnly(5)).iterator());
+
+        List<NearCachePreloaderEntry<Data>> restoreAttempts = new ArrayList<>();
+        preloader.loadKeys(adapter, entry -> {
+            restoreAttempts.add(entry);
+            return entry.sequence() == 10;
+        });
+
+        assertEquals(4, restoreAttempts.size());
+        NearCachePreloaderEntry<Data> restored = restoreAttempts.get(0);
+        assertEquals(1, (int) serializationService.toObject(restored.key()));
+        assertEquals("value-1", serializationService.toObject(restored.value()));
+        assertEquals(3, restored.partitionId());
+        assertEquals(partitionUuid, restored.partitionUuid());
+        assertEquals(10, restored.sequence());
+
+        // the key without a value first, then the stale keys in the order of their partitions
+        assertEquals(asList(5, 4, 3), new ArrayList<>(fetchedKeys()));
+        assertEquals(5, nearCacheStats.getLastPreloadKeyCount());
+    }
+
+    @Test
+    public void testLoadKeys_whenAllValuesRestored_thenNothingFetched() {
+        preloader.storeKeys(asList(
+                new NearCachePreloaderEntry<Object>("key-1", "value-1", 7, partitionUuid, 1),
+                new NearCachePreloaderEntry<Object>("key-2", "value-2", 8, partitionUuid, 1)).iterator());
+
+        preloader.loadKeys(adapter, entry -> true);
+
+        verify(adapter, never()).getAll(any());
+        assertEquals(2, nearCacheStats.getLastPreloadKeyCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Object> fetchedKeys() {
+        ArgumentCaptor<Set<Object>> captor = ArgumentCaptor.forClass(Set.class);
+        verify(adapter).getAll(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.nearcache.impl.record.NearCacheOffHeapRecord;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nearcache.NearCacheStats;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.UUID;
+
+import static com.hazelcast.internal.nearcache.NearCache.UpdateSemantic.WRITE_UPDATE;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.NOT_RESERVED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NearCacheOffHeapRecordStoreTest {
+
+    private static final int VALUE_SIZE = 1000;
+    private static final long BUDGET = 100 * VALUE_SIZE;
+
+    private SerializationService serializationService;
+    private NearCacheOffHeapRecordStore<Data, String> store;
+
+    @Before
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        store = newStore(EvictionPolicy.LRU);
+    }
+
+    @After
+    public void tearDown() {
+        store.destroy();
+    }
+
+    @Test
+    public void testPutAndGet() {
+        for (int i = 0; i < 50; i++) {
+            put(i, "value-" + i);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals("value-" + i, store.get(key(i)));
+        }
+        assertNull(store.get(key(50)));
+
+        NearCacheStats stats = store.getNearCacheStats();
+        assertEquals(50, stats.getOwnedEntryCount());
+        assertEquals(50, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertTrue(stats.getOwnedEntryNativeMemoryCost() > 0);
+        assertTrue(stats.getOwnedEntryMemoryCost() > 0);
+    }
+
+    @Test
+    public void testInvalidate_freesNativeMemory() {
+        put(1, "value");
+        assertTrue(store.getNearCacheStats().getOwnedEntryNativeMemoryCost() > 0);
+
+        store.invalidate(key(1));
+
+        assertNull(store.get(key(1)));
+        NearCacheStats stats = store.getNearCacheStats();
+        assertEquals(0, stats.getOwnedEntryCount());
+        assertEquals(0, stats.getOwnedEntryMemoryCost());
+        assertEquals(0, stats.getOwnedEntryNativeMemoryCost());
+    }
+
+    @Test
+    public void testWriteUpdate_replacesRecord() {
+        put(1, "value1");
+        long nativeMemoryCost = store.getNearCacheStats().getOwnedEntryNativeMemoryCost();
+
+        long reservationId = store.tryReserveForUpdate(key(1), key(1), WRITE_UPDATE);
+        assertNotEquals(NOT_RESERVED, reservationId);
+        assertEquals("value2", store.tryPublishReserved(key(1), "value2", reservationId, true));
+
+        assertEquals("value2", store.get(key(1)));
+        NearCacheStats stats = store.getNearCacheStats();
+        assertEquals(1, stats.getOwnedEntryCount());
+        assertEquals(nativeMemoryCost, stats.getOwnedEntryNativeMemoryCost());
+    }
+
+    @Test
+    public void testEviction_keepsNativeMemoryWithinBudget() {
+        String value = new String(new char[VALUE_SIZE]);
+        for (int i = 0; i < 1000; i++) {
+            put(i, value);
+            store.doEviction(false);
+        }
+
+        NearCacheStats stats = store.getNearCacheStats();
+        assertTrue(stats.getEvictions() > 0);
+        assertTrue("native memory cost: " + stats.getOwnedEntryNativeMemoryCost(),
+                stats.getOwnedEntryNativeMemoryCost() < BUDGET + 2 * VALUE_SIZE);
+    }
+
+    @Test
+    public void testNoEvictionPolicy_stopsCachingAtBudget() {
+        store.destroy();
+        store = newStore(EvictionPolicy.NONE);
+
+        String value = new String(new char[VALUE_SIZE]);
+        for (int i = 0; i < 1000; i++) {
+            put(i, value);
+        }
+
+        NearCacheStats stats = store.getNearCacheStats();
+        assertTrue(stats.getOwnedEntryCount() < 1000);
+        assertTrue(stats.getOwnedEntryNativeMemoryCost() < BUDGET + 2 * VALUE_SIZE);
+    }
+
+    @Test
+    public void testClear_freesNativeMemory() {
+        for (int i = 0; i < 50; i++) {
+            put(i, "value-" + i);
+        }
+
+        store.clear();
+
+        assertEquals(0, store.size());
+        assertEquals(0, store.getNearCacheStats().getOwnedEntryNativeMemoryCost());
+    }
+
+    @Test
+    public void testDestroy_freesNativeMemory() {
+        for (int i = 0; i < 50; i++) {
+            put(i, "value-" + i);
+        }
+
+        store.destroy();
+
+        assertEquals(0, store.getNearCacheStats().getOwnedEntryNativeMemoryCost());
+    }
+
+    @Test
+    public void testRecord_uuid() {
+        UUID uuid = UUID.randomUUID();
+        NearCacheOffHeapRecord record = store.getRecord(put(1, "value"));
+
+        assertFalse(record.hasSameUuid(uuid));
+        record.setUuid(uuid);
+        assertTrue(record.hasSameUuid(new UUID(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits())));
+        assertEquals(uuid, record.getUuid());
+        assertFalse(record.hasSameUuid(UUID.randomUUID()));
+        assertFalse(record.hasSameUuid(null));
+
+        record.setUuid(null);
+        assertNull(record.getUuid());
+        assertFalse(record.hasSameUuid(uuid));
+    }
+
+    @Test
+    public void testRecord_disposedRecordHasNoValue() {
+        NearCacheOffHeapRecord record = store.getRecord(put(1, "value"));
+
+        store.invalidate(key(1));
+
+        assertNull(record.getValue());
+    }
+
+    private NearCacheOffHeapRecordStore<Data, String> newStore(EvictionPolicy evictionPolicy) {
+        NearCacheConfig config = new NearCacheConfig()
+                .setInMemoryFormat(InMemoryFormat.BINARY)
+                .setEvictionConfig(new EvictionConfig()
+                        .setEvictionPolicy(evictionPolicy)
+                        .setSize(Integer.MAX_VALUE));
+        NearCacheOffHeapRecordStore<Data, String> store = new NearCacheOffHeapRecordStore<>("name", config,
+                serializationService, getClass().getClassLoader(), BUDGET);
+        store.initialize();
+        return store;
+    }
+
+    private Data put(int key, String value) {
+        Data keyData = key(key);
+        store.put(keyData, keyData, value, serializationService.toData(value));
+        return keyData;
+    }
+
+    private Data key(int key) {
+        return serializationService.toData(key);
+    }
+}
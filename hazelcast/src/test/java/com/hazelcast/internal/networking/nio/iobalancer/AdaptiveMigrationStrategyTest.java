@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio.iobalancer;
+
+import com.hazelcast.internal.networking.nio.MigratablePipeline;
+import com.hazelcast.internal.networking.nio.NioThread;
+import com.hazelcast.internal.util.ItemCounter;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Collections.emptySet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AdaptiveMigrationStrategyTest extends HazelcastTestSupport {
+
+    private Map<NioThread, Set<MigratablePipeline>> ownerToPipelines;
+    private ItemCounter<MigratablePipeline> loadCounter;
+    private LoadImbalance imbalance;
+    private NioThread srcOwner;
+    private NioThread dstOwner;
+
+    private AdaptiveMigrationStrategy strategy;
+
+    @Before
+    public void setUp() {
+        ownerToPipelines = new HashMap<>();
+        loadCounter = new ItemCounter<>();
+        imbalance = new LoadImbalance(ownerToPipelines, loadCounter);
+        srcOwner = mock(NioThread.class);
+        dstOwner = mock(NioThread.class);
+        imbalance.srcOwner = srcOwner;
+        imbalance.dstOwner = dstOwner;
+        ownerToPipelines.put(dstOwner, emptySet());
+        strategy = new AdaptiveMigrationStrategy();
+    }
+
+    @Test
+    public void testImbalanceDetected_whenBalanced() {
+        imbalance.maximumLoad = 1000;
+        imbalance.minimumLoad = 800;
+
+        for (int round = 0; round < 5; round++) {
+            assertFalse(strategy.imbalanceDetected(imbalance));
+        }
+    }
+
+    @Test
+    public void testImbalanceDetected_onlyWhenImbalancePersists() {
+        imbalance.maximumLoad = 1000;
+        imbalance.minimumLoad = 0;
+
+        assertFalse(strategy.imbalanceDetected(imbalance));
+        assertTrue(strategy.imbalanceDetected(imbalance));
+    }
+
+    @Test
+    public void testImbalanceDetected_whenNoSourceThread() {
+        imbalance.srcOwner = null;
+        imbalance.maximumLoad = Long.MIN_VALUE;
+        imbalance.minimumLoad = 0;
+
+        for (int round = 0; round < 5; round++) {
+            assertFalse(strategy.imbalanceDetected(imbalance));
+        }
+    }
+
+    @Test
+    public void testFindPipelineToMigrate_balancesTheThreads() {
+        MigratablePipeline pipeline1 = pipeline(400);
+        MigratablePipeline pipeline2 = pipeline(350);
+        MigratablePipeline pipeline3 = pipeline(250);
+        ownerToPipelines.put(srcOwner, Set.of(pipeline1, pipeline2, pipeline3));
+        imbalance.maximumLoad = 1000;
+        imbalance.minimumLoad = 0;
+
+        // 400 and 600 is the best split of the load between the threads
+        assertEquals(pipeline1, detectAndFind());
+    }
+
+    @Test
+    public void testFindPipelineToMigrate_keepsHotPipeline() {
+        MigratablePipeline hotPipeline = pipeline(700);
+        MigratablePipeline pipeline1 = pipeline(200);
+        MigratablePipeline pipeline2 = pipeline(100);
+        ownerToPipelines.put(srcOwner, Set.of(hotPipeline, pipeline1, pipeline2));
+        imbalance.maximumLoad = 1000;
+        imbalance.minimumLoad = 0;
+
+        assertEquals(pipeline1, detectAndFind());
+    }
+
+    @Test
+    public void testFindPipelineToMigrate_whenOnlyHotPipelines() {
+        MigratablePipeline hotPipeline = pipeline(1000);
+        MigratablePipeline idlePipeline = pipeline(0);
+        ownerToPipelines.put(srcOwner, Set.of(hotPipeline, idlePipeline));
+        imbalance.maximumLoad = 1000;
+        imbalance.minimumLoad = 0;
+
+        assertNull(detectAndFind());
+    }
+
+    @Test
+    public void testFindPipelineToMigrate_doesNotMoveMigratedPipelineAgain() {
+        MigratablePipeline pipeline1 = pipeline(500);
+        MigratablePipeline pipeline2 = pipeline(500);
+        ownerToPipelines.put(srcOwner, Set.of(pipeline1, pipeline2));
+        imbalance.maximumLoad = 1000;
+        imbalance.minimumLoad = 0;
+
+        MigratablePipeline migrated = detectAndFind();
+        // the pipeline migrated back, e.g. the load changed
+        ownerToPipelines.put(srcOwner, Set.of(migrated));
+        loadCounter.set(migrated, 300L);
+        imbalance.maximumLoad = 1000;
+
+        assertNull(detectAndFind());
+    }
+
+    private MigratablePipeline detectAndFind() {
+        for (int round = 0; round < AdaptiveMigrationStrategy.IMBALANCE_PERSISTENCE_ROUNDS - 1; round++) {
+            assertFalse(strategy.imbalanceDetected(imbalance));
+        }
+        assertTrue(strategy.imbalanceDetected(imbalance));
+        return strategy.findPipelineToMigrate(imbalance);
+    }
+
+    private MigratablePipeline pipeline(long load) {
+        MigratablePipeline pipeline = mock(MigratablePipeline.class);
+        loadCounter.set(pipeline, load);
+        return pipeline;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nio;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class LZ4BlockCodecTest {
+
+    private final LZ4BlockCodec codec = new LZ4BlockCodec();
+
+    @Test
+    public void testEmpty() {
+        assertRoundTrip(new byte[0]);
+    }
+
+    @Test
+    public void testShorterThanMinimumMatchInput() {
+        assertRoundTrip("hazelcast".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testZeros() {
+        byte[] compressed = assertRoundTrip(new byte[100_000]);
+        assertTrue(compressed.length < 1_000);
+    }
+
+    @Test
+    public void testRepeatedText() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 2_000; i++) {
+            sb.append("key-").append(i % 97).append("=value-").append(i % 13).append(';');
+        }
+        byte[] compressed = assertRoundTrip(sb.toString().getBytes(StandardCharsets.UTF_8));
+        assertTrue(compressed.length < sb.length() / 4);
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(42);
+        for (int length : new int[]{1, 12, 13, 100, 65_535, 65_536, 300_000}) {
+            byte[] bytes = new byte[length];
+            random.nextBytes(bytes);
+            assertRoundTrip(bytes);
+        }
+    }
+
+    @Test
+    public void testMixed() {
+        Random random = new Random(7);
+        byte[] bytes = new byte[200_000];
+        for (int i = 0; i < bytes.length; i++) {
+            // long runs and short overlapping matches mixed with noise
+            bytes[i] = (byte) (i % 1000 < 500 ? i % 3 : random.nextInt(4));
+        }
+        assertRoundTrip(bytes);
+    }
+
+    @Test
+    public void testTruncatedInput() {
+        byte[] bytes = new byte[1_000];
+        Arrays.fill(bytes, (byte) 'a');
+        byte[] compressed = compress(bytes);
+
+        assertThrows(IllegalArgumentException.class, () -> LZ4BlockCodec.decompress(compressed, 0,
+                compressed.length - 1, new byte[bytes.length], 0, bytes.length));
+    }
+
+    @Test
+    public void testWrongLength() {
+        byte[] bytes = new byte[1_000];
+        byte[] compressed = compress(bytes);
+
+        assertThrows(IllegalArgumentException.class, () -> LZ4BlockCodec.decompress(compressed, 0,
+                compressed.length, new byte[bytes.length + 1], 0, bytes.length + 1));
+        assertThrows(IllegalArgumentException.class, () -> LZ4BlockCodec.decompress(compressed, 0,
+                compressed.length, new byte[bytes.length - 1], 0, bytes.length - 1));
+    }
+
+    @Test
+    public void testInvalidOffset() {
+        // a single literal followed by a match that points before the start of the output
+        byte[] malformed = {0x10, 'a', 0x05, 0x00, 0x00};
+
+        assertThrows(IllegalArgumentException.class,
+                () -> LZ4BlockCodec.decompress(malformed, 0, malformed.length, new byte[100], 0, 100));
+    }
+
+    private byte[] assertRoundTrip(byte[] bytes) {
+        byte[] compressed = compress(bytes);
+        byte[] decompressed = new byte[bytes.length];
+        LZ4BlockCodec.decompress(compressed, 0, compressed.length, decompressed, 0, bytes.length);
+        assertArrayEquals(bytes, decompressed);
+        return compressed;
+    }
+
+    private byte[] compress(byte[] bytes) {
+        byte[] compressed = new byte[LZ4BlockCodec.maxCompressedLength(bytes.length)];
+        int length = codec.compress(bytes, 0, bytes.length, compressed, 0);
+        return Arrays.copyOf(compressed, length);
+    }
+}
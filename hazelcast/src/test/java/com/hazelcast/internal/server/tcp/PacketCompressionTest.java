@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.server.tcp;
+
+import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.server.tcp.PacketEncoderTest.PacketSupplier;
+import com.hazelcast.internal.util.counters.SwCounter;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
+import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PacketCompressionTest extends HazelcastTestSupport {
+
+    private InternalSerializationService serializationService;
+    private PacketCompression compression;
+    private TcpServerConnection connection;
+    private PacketSupplier src;
+    private PacketEncoder encoder;
+    private List<Packet> received;
+    private PacketDecoder decoder;
+
+    @Before
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        Properties properties = new Properties();
+        properties.setProperty(PacketCompression.ENABLED.getName(), "true");
+        compression = new PacketCompression(new HazelcastProperties(properties));
+
+        connection = mock(TcpServerConnection.class);
+        src = new PacketSupplier();
+        encoder = new PacketEncoder(connection, compression);
+        encoder.src(src);
+
+        received = new ArrayList<>();
+        decoder = new PacketDecoder(connection, received::add, compression);
+        decoder.setNormalPacketsRead(SwCounter.newSwCounter());
+        decoder.setPriorityPacketsRead(SwCounter.newSwCounter());
+    }
+
+    @Test
+    public void whenNotNegotiated_thenPacketsNotCompressed() throws Exception {
+        Packet packet = new Packet(serializationService.toBytes(new byte[10_000]));
+        src.queue.add(packet);
+
+        List<Packet> result = transfer(100_000);
+
+        assertEquals(List.of(packet), result);
+        assertEquals(0, compression.bytesSaved());
+    }
+
+    @Test
+    public void whenLargePacket_thenCompressed() throws Exception {
+        when(connection.isCompressionNegotiated()).thenReturn(true);
+        Packet packet = new Packet(serializationService.toBytes(new byte[200_000]), 5)
+                .setPacketType(Packet.Type.OPERATION);
+        src.queue.add(packet);
+
+        List<Packet> result = transfer(100);
+
+        assertEquals(List.of(packet), result);
+        assertTrue(compression.bytesSaved() > 150_000);
+    }
+
+    @Test
+    public void whenSmallPackets_thenBatchedAndCompressed() throws Exception {
+        when(connection.isCompressionNegotiated()).thenReturn(true);
+        List<Packet> packets = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Packet packet = new Packet(serializationService.toBytes("value-" + (i % 10)), i % 271);
+            if (i % 7 == 0) {
+                packet.raiseFlags(Packet.FLAG_URGENT);
+            }
+            packets.add(packet);
+            src.queue.add(packet);
+        }
+
+        List<Packet> result = transfer(1000);
+
+        assertEquals(packets, result);
+        assertTrue(compression.bytesSaved() > 0);
+    }
+
+    @Test
+    public void whenSinglePacketBelowThreshold_thenNotCompressed() throws Exception {
+        when(connection.isCompressionNegotiated()).thenReturn(true);
+        Packet packet = new Packet(serializationService.toBytes("foobar"));
+        src.queue.add(packet);
+
+        List<Packet> result = transfer(1000);
+
+        assertEquals(List.of(packet), result);
+        assertEquals(0, compression.bytesSaved());
+    }
+
+    @Test
+    public void whenIncompressible_thenWrittenAsIs() throws Exception {
+        when(connection.isCompressionNegotiated()).thenReturn(true);
+        byte[] bytes = new byte[10_000];
+        new Random(1).nextBytes(bytes);
+        Packet packet = new Packet(serializationService.toBytes(bytes));
+        src.queue.add(packet);
+
+        List<Packet> result = transfer(100_000);
+
+        assertEquals(List.of(packet), result);
+        assertEquals(0, compression.bytesSaved());
+    }
+
+    // moves the encoded bytes to the decoder through a channel buffer of the given size
+    private List<Packet> transfer(int bufferSize) throws Exception {
+        ByteBuffer dst = ByteBuffer.allocate(bufferSize);
+        dst.flip();
+        encoder.dst(dst);
+        ByteBuffer in = ByteBuffer.allocate(bufferSize);
+        decoder.src(in);
+
+        HandlerStatus status;
+        do {
+            status = encoder.onWrite();
+            while (dst.hasRemaining()) {
+                int count = Math.min(dst.remaining(), in.remaining());
+                in.put(dst.array(), dst.position(), count);
+                dst.position(dst.position() + count);
+                decoder.onRead();
+            }
+        } while (status == DIRTY);
+
+        assertEquals(CLEAN, status);
+        assertFalse(dst.hasRemaining());
+        return received;
+    }
+}
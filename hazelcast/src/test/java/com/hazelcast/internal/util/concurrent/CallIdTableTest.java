@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.concurrent;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CallIdTableTest {
+
+    private CallIdTable<String> table;
+
+    @Before
+    public void setUp() {
+        table = new CallIdTable<>(100);
+    }
+
+    @Test
+    public void testSlotCount() {
+        assertEquals(128, table.slotCount());
+        assertEquals(CallIdTable.MIN_SLOT_COUNT, new CallIdTable<>(1).slotCount());
+        assertEquals(CallIdTable.MAX_SLOT_COUNT, new CallIdTable<>(1 << 20).slotCount());
+        assertEquals(CallIdTable.DEFAULT_SLOT_COUNT, new CallIdTable<>(Integer.MAX_VALUE).slotCount());
+    }
+
+    @Test
+    public void testSlot_consecutiveCallIdsUseAllSlots() {
+        int slotCount = table.slotCount();
+        BitSet slots = new BitSet();
+        for (long callId = 1; callId <= slotCount; callId++) {
+            slots.set(table.slot(callId));
+        }
+
+        assertEquals(slotCount, slots.cardinality());
+        assertEquals(16, Math.abs(table.slot(2) - table.slot(1)));
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        table.put(1, "a");
+        table.put(2, "b");
+
+        assertEquals("a", table.get(1));
+        assertEquals("b", table.get(2));
+        assertNull(table.get(3));
+        assertEquals(2, table.size());
+
+        assertTrue(table.remove(1));
+        assertFalse(table.remove(1));
+        assertNull(table.get(1));
+        assertEquals("b", table.get(2));
+        assertEquals(1, table.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPut_whenZeroCallId() {
+        table.put(0, "a");
+    }
+
+    @Test
+    public void testPut_whenSlotTaken() {
+        long callId = 5;
+        long collidingCallId = callId + table.slotCount();
+        table.put(callId, "old");
+        table.put(collidingCallId, "new");
+
+        assertEquals("old", table.get(callId));
+        assertEquals("new", table.get(collidingCallId));
+        assertEquals(2, table.size());
+
+        assertTrue(table.remove(callId));
+        assertNull(table.get(callId));
+        assertEquals("new", table.get(collidingCallId));
+
+        assertTrue(table.remove(collidingCallId));
+        assertNull(table.get(collidingCallId));
+        assertTrue(table.isEmpty());
+    }
+
+    @Test
+    public void testIterator() {
+        Set<String> expected = new HashSet<>();
+        for (int i = 1; i <= 10; i++) {
+            table.put(i, "value" + i);
+            expected.add("value" + i);
+        }
+        table.put(1 + table.slotCount(), "overflow");
+        expected.add("overflow");
+
+        Set<String> actual = new HashSet<>();
+        for (String value : table) {
+            actual.add(value);
+        }
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testConcurrentPutAndRemove() throws Exception {
+        AtomicLong callIdSequence = new AtomicLong();
+        int threadCount = 4;
+        int callsPerThread = 100_000;
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < callsPerThread; i++) {
+                        long callId = callIdSequence.incrementAndGet();
+                        String value = Long.toString(callId);
+                        table.put(callId, value);
+                        assertEquals(value, table.get(callId));
+                        assertTrue(table.remove(callId));
+                        assertNull(table.get(callId));
+                    }
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(List.of(), failures);
+        assertTrue(table.isEmpty());
+        assertFalse(table.iterator().hasNext());
+    }
+}
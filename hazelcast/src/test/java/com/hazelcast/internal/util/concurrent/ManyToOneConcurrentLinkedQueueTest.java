@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.concurrent;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ManyToOneConcurrentLinkedQueueTest {
+
+    private ManyToOneConcurrentLinkedQueue<Integer> queue;
+
+    @Before
+    public void setUp() {
+        queue = new ManyToOneConcurrentLinkedQueue<>();
+    }
+
+    @Test
+    public void testOfferAndPoll() {
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(queue.offer(i));
+        }
+
+        assertFalse(queue.isEmpty());
+        assertEquals(10, queue.size());
+        assertEquals(0, (int) queue.peek());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, (int) queue.poll());
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testOffer_whenNull() {
+        queue.offer(null);
+    }
+
+    @Test
+    public void testIterator() {
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i);
+        }
+        queue.poll();
+
+        List<Integer> items = new ArrayList<>(queue);
+
+        assertEquals(9, items.size());
+        for (int i = 0; i < 9; i++) {
+            assertEquals(i + 1, (int) items.get(i));
+        }
+    }
+
+    @Test
+    public void testClear() {
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i);
+        }
+
+        queue.clear();
+
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        queue.offer(10);
+        assertEquals(10, (int) queue.poll());
+    }
+
+    @Test
+    public void testConcurrentProducers() throws Exception {
+        int producerCount = 4;
+        int itemsPerProducer = 100_000;
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < producerCount; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < itemsPerProducer; i++) {
+                    queue.offer(producer * itemsPerProducer + i);
+                }
+            });
+            producers.add(thread);
+            thread.start();
+        }
+
+        int[] lastSeen = new int[producerCount];
+        Arrays.fill(lastSeen, -1);
+        int consumed = 0;
+        while (consumed < producerCount * itemsPerProducer) {
+            Integer item = queue.poll();
+            if (item == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int producer = item / itemsPerProducer;
+            int sequence = item % itemsPerProducer;
+            // the items of a producer are consumed in the order it offered them
+            assertEquals(lastSeen[producer] + 1, sequence);
+            lastSeen[producer] = sequence;
+            consumed++;
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.function.FunctionEx;
+import com.hazelcast.jet.SimpleTestInClusterSupport;
+import com.hazelcast.jet.Util;
+import com.hazelcast.jet.core.test.TestSupport;
+import com.hazelcast.jet.datamodel.Tuple2;
+import com.hazelcast.jet.impl.util.AccumulationLimitWrappedP;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.Sinks;
+import com.hazelcast.jet.pipeline.test.TestSources;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.hazelcast.jet.aggregate.AggregateOperations.aggregateOperation2;
+import static com.hazelcast.jet.aggregate.AggregateOperations.counting;
+import static com.hazelcast.jet.datamodel.Tuple2.tuple2;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class GroupPTest extends SimpleTestInClusterSupport {
+
+    private static final int SPILL_THRESHOLD = 10;
+    private static final int KEY_COUNT = 100;
+
+    @ClassRule
+    public static TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static File spillDirectory;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        spillDirectory = temporaryFolder.newFolder();
+        Config config = smallInstanceConfig();
+        config.setProperty(ClusterProperty.JET_SPILL_DIRECTORY.getName(), spillDirectory.getAbsolutePath());
+        config.setProperty(ClusterProperty.JET_SPILL_THRESHOLD_RECORDS.getName(), String.valueOf(SPILL_THRESHOLD));
+        initialize(1, config);
+    }
+
+    @Test
+    public void test_spill() throws IOException {
+        File directory = temporaryFolder.newFolder();
+        SpillSettings spillSettings = new SpillSettings(directory.getAbsolutePath(), SPILL_THRESHOLD);
+        FunctionEx<Integer, Integer> keyFn = i -> i % KEY_COUNT;
+        TestSupport
+                .verifyProcessor(() -> new GroupP<>(singletonList(keyFn), counting(), Util::entry, spillSettings))
+                .hazelcastInstance(instance())
+                .disableSnapshots()
+                .outputChecker(TestSupport.SAME_ITEMS_ANY_ORDER)
+                .input(ints(10 * KEY_COUNT))
+                .expectOutput(IntStream.range(0, KEY_COUNT)
+                        .mapToObj(i -> Util.entry(i, 10L))
+                        .collect(Collectors.toList()));
+
+        assertArrayEquals(new String[0], directory.list());
+    }
+
+    @Test
+    public void test_spill_twoInputs() {
+        FunctionEx<Integer, Integer> keyFn = i -> i % KEY_COUNT;
+        List<FunctionEx<?, ? extends Integer>> keyFns = asList(keyFn, keyFn);
+        TestSupport
+                .verifyProcessor(() -> new GroupP<>(keyFns, aggregateOperation2(counting(), counting()),
+                        (Integer key, Tuple2<Long, Long> counts) -> Util.entry(key, counts), spillSettings()))
+                .hazelcastInstance(instance())
+                .disableSnapshots()
+                .outputChecker(TestSupport.SAME_ITEMS_ANY_ORDER)
+                .inputs(asList(ints(2 * KEY_COUNT), ints(3 * KEY_COUNT)))
+                .expectOutput(IntStream.range(0, KEY_COUNT)
+                        .mapToObj(i -> Util.entry(i, tuple2(2L, 3L)))
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void test_spill_oversizedPartitionsRepartitioned() throws IOException {
+        File directory = temporaryFolder.newFolder();
+        SpillSettings spillSettings = new SpillSettings(directory.getAbsolutePath(), SPILL_THRESHOLD);
+        // about 60 keys fall to each spilled partition, more than can be accumulated
+        int keyCount = 2000;
+        FunctionEx<Integer, Integer> keyFn = i -> i % keyCount;
+        TestSupport
+                .verifyProcessor(() -> new AccumulationLimitWrappedP(
+                        new GroupP<>(singletonList(keyFn), counting(), Util::entry, spillSettings), 5 * SPILL_THRESHOLD))
+                .hazelcastInstance(instance())
+                .disableSnapshots()
+                .outputChecker(TestSupport.SAME_ITEMS_ANY_ORDER)
+                .input(ints(2 * keyCount))
+                .expectOutput(IntStream.range(0, keyCount)
+                        .mapToObj(i -> Util.entry(i, 2L))
+                        .collect(Collectors.toList()));
+
+        assertArrayEquals(new String[0], directory.list());
+    }
+
+    @Test
+    public void test_spill_collidingKeys_notRepartitionedOverMaxLevel() {
+        // the keys can't be split, the partition of the last level is aggregated in memory
+        int keyCount = (SpillPartitions.MAX_LEVEL + 5) * SPILL_THRESHOLD;
+        FunctionEx<Integer, CollidingKey> keyFn = i -> new CollidingKey(i % keyCount);
+        TestSupport
+                .verifyProcessor(() -> new GroupP<>(singletonList(keyFn), counting(), Util::entry, spillSettings()))
+                .hazelcastInstance(instance())
+                .disableSnapshots()
+                .outputChecker(TestSupport.SAME_ITEMS_ANY_ORDER)
+                .input(ints(2 * keyCount))
+                .expectOutput(IntStream.range(0, keyCount)
+                        .mapToObj(i -> Util.entry(new CollidingKey(i), 2L))
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void test_belowThreshold_noSpill() {
+        TestSupport
+                .verifyProcessor(() -> new GroupP<>((Integer i) -> i % 5, counting(), Util::entry))
+                .disableSnapshots()
+                .outputChecker(TestSupport.SAME_ITEMS_ANY_ORDER)
+                .input(ints(50))
+                .expectOutput(IntStream.range(0, 5)
+                        .mapToObj(i -> Util.entry(i, 10L))
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void test_pipelineGroupAndAggregate_spills() {
+        String mapName = randomName();
+        Pipeline p = Pipeline.create();
+        p.readFrom(TestSources.items(ints(10 * KEY_COUNT)))
+         .groupingKey(i -> i % KEY_COUNT)
+         .aggregate(counting())
+         .writeTo(Sinks.map(mapName));
+
+        instance().getJet().newJob(p).join();
+
+        Map<Integer, Long> result = instance().getMap(mapName);
+        assertEquals(KEY_COUNT, result.size());
+        for (Entry<Integer, Long> entry : result.entrySet()) {
+            assertEquals(Long.valueOf(10), entry.getValue());
+        }
+        assertArrayEquals(new String[0], spillDirectory.list());
+    }
+
+    private static SpillSettings spillSettings() {
+        return new SpillSettings(spillDirectory.getAbsolutePath(), SPILL_THRESHOLD);
+    }
+
+    private static List<Integer> ints(int count) {
+        return IntStream.range(0, count).boxed().collect(Collectors.toList());
+    }
+
+    record CollidingKey(int value) implements Serializable {
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+}
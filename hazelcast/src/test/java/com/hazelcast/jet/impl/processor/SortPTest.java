@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.jet.Job;
+import com.hazelcast.jet.SimpleTestInClusterSupport;
+import com.hazelcast.jet.config.JobConfig;
+import com.hazelcast.jet.core.metrics.JobMetrics;
+import com.hazelcast.jet.core.metrics.Measurement;
+import com.hazelcast.jet.core.test.TestSupport;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.Sinks;
+import com.hazelcast.jet.pipeline.test.TestSources;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Collections.shuffle;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SortPTest extends SimpleTestInClusterSupport {
+
+    private static final int SPILL_THRESHOLD = 10;
+
+    @ClassRule
+    public static TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static File spillDirectory;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        spillDirectory = temporaryFolder.newFolder();
+        Config config = smallInstanceConfig();
+        config.setProperty(ClusterProperty.JET_SPILL_DIRECTORY.getName(), spillDirectory.getAbsolutePath());
+        config.setProperty(ClusterProperty.JET_SPILL_THRESHOLD_RECORDS.getName(), String.valueOf(SPILL_THRESHOLD));
+        initialize(1, config);
+    }
+
+    @Test
+    public void test_topN() {
+        TestSupport
+                .verifyProcessor(() -> new SortP<Integer>(null, 3, SpillSettings.DISABLED))
+                .disableSnapshots()
+                .input(shuffledInts(100))
+                .expectOutput(List.of(0, 1, 2));
+    }
+
+    @Test
+    public void test_topN_reversed() {
+        TestSupport
+                .verifyProcessor(() -> new SortP<>(Comparator.<Integer>reverseOrder(), 3, SpillSettings.DISABLED))
+                .disableSnapshots()
+                .input(shuffledInts(100))
+                .expectOutput(List.of(99, 98, 97));
+    }
+
+    @Test
+    public void test_topN_zeroLimit() {
+        TestSupport
+                .verifyProcessor(() -> new SortP<Integer>(null, 0, SpillSettings.DISABLED))
+                .disableSnapshots()
+                .input(shuffledInts(10))
+                .expectOutput(List.of());
+    }
+
+    @Test
+    public void test_spill() throws IOException {
+        File directory = temporaryFolder.newFolder();
+        SpillSettings spillSettings = new SpillSettings(directory.getAbsolutePath(), SPILL_THRESHOLD);
+        TestSupport
+                .verifyProcessor(() -> new SortP<Integer>(null, Long.MAX_VALUE, spillSettings))
+                .hazelcastInstance(instance())
+                .disableSnapshots()
+                .input(shuffledInts(1000))
+                .expectOutput(ints(1000));
+
+        assertArrayEquals(new String[0], directory.list());
+    }
+
+    @Test
+    public void test_spill_withLimit() {
+        // the limit is over the threshold, so the items are spilled and merged
+        TestSupport
+                .verifyProcessor(() -> new SortP<Integer>(null, 50, spillSettings()))
+                .hazelcastInstance(instance())
+                .disableSnapshots()
+                .input(shuffledInts(1000))
+                .expectOutput(ints(50));
+    }
+
+    @Test
+    public void test_spill_multiPassMerge() throws IOException {
+        File directory = temporaryFolder.newFolder();
+        SpillSettings spillSettings = new SpillSettings(directory.getAbsolutePath(), SPILL_THRESHOLD);
+        // 100 runs, merged 3 at a time
+        TestSupport
+                .verifyProcessor(() -> new SortP<Integer>(null, Long.MAX_VALUE, spillSettings, 3))
+                .hazelcastInstance(instance())
+                .disableSnapshots()
+                .input(shuffledInts(1000))
+                .expectOutput(ints(1000));
+
+        assertArrayEquals(new String[0], directory.list());
+    }
+
+    @Test
+    public void test_spill_multiPassMerge_withLimit() {
+        TestSupport
+                .verifyProcessor(() -> new SortP<Integer>(null, 50, spillSettings(), 2))
+                .hazelcastInstance(instance())
+                .disableSnapshots()
+                .input(shuffledInts(1000))
+                .expectOutput(ints(50));
+    }
+
+    @Test
+    public void test_spill_duplicates() {
+        List<Integer> input = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            input.add(random.nextInt(20));
+        }
+        List<Integer> expected = new ArrayList<>(input);
+        Collections.sort(expected);
+
+        TestSupport
+                .verifyProcessor(() -> new SortP<Integer>(null, Long.MAX_VALUE, spillSettings()))
+                .hazelcastInstance(instance())
+                .disableSnapshots()
+                .input(input)
+                .expectOutput(expected);
+    }
+
+    @Test
+    public void test_pipelineSort_spills() {
+        String listName = randomName();
+        Pipeline p = Pipeline.create();
+        p.readFrom(TestSources.items(shuffledInts(1000)))
+         .sort()
+         .writeTo(Sinks.list(listName));
+
+        Job job = instance().getJet().newJob(p, new JobConfig().setStoreMetricsAfterJobCompletion(true));
+        job.join();
+
+        assertEquals(ints(1000), new ArrayList<>(instance().getList(listName)));
+        // the items didn't fit into memory, so they must have been spilled
+        assertTrue(sumOf(job.getMetrics(), "spilledRuns") > 0);
+        assertTrue(sumOf(job.getMetrics(), "spilledBytes") > 0);
+        assertArrayEquals(new String[0], spillDirectory.list());
+    }
+
+    private static long sumOf(JobMetrics metrics, String metricName) {
+        return metrics.get(metricName).stream().mapToLong(Measurement::value).sum();
+    }
+
+    private static SpillSettings spillSettings() {
+        return new SpillSettings(spillDirectory.getAbsolutePath(), SPILL_THRESHOLD);
+    }
+
+    private static List<Integer> ints(int count) {
+        return IntStream.range(0, count).boxed().collect(Collectors.toList());
+    }
+
+    private static List<Integer> shuffledInts(int count) {
+        List<Integer> items = ints(count);
+        shuffle(items, new Random(42));
+        return items;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.impl.util;
+
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.test.TestProcessorContext;
+import com.hazelcast.jet.core.test.TestSupport;
+import com.hazelcast.jet.impl.processor.ProcessorWrapper;
+
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+
+/**
+ * A wrapper processor to limit the number of records the processor can
+ * accumulate, see {@link Processor.Context#maxProcessorAccumulatedRecords()}.
+ * To be used with {@link TestSupport}, which runs the processors with a
+ * {@link TestProcessorContext}.
+ */
+public final class AccumulationLimitWrappedP extends ProcessorWrapper {
+
+    private final long maxAccumulatedRecords;
+
+    public AccumulationLimitWrappedP(Processor wrappedProcessor, long maxAccumulatedRecords) {
+        super(wrappedProcessor);
+        checkNotNull(wrappedProcessor, "wrappedProcessor");
+        checkPositive("maxAccumulatedRecords", maxAccumulatedRecords);
+
+        this.maxAccumulatedRecords = maxAccumulatedRecords;
+    }
+
+    @Override
+    protected Context initContext(Context context) {
+        ((TestProcessorContext) context).setMaxProcessorAccumulatedRecords(maxAccumulatedRecords);
+        return super.initContext(context);
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.projection.Projections;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.IndexUtils;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.HazelcastParametrizedRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+@RunWith(HazelcastParametrizedRunner.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CoveringIndexQueriesTest extends HazelcastTestSupport {
+
+    // owners of the values whose attributes must not be extracted
+    private static final Set<String> UNREADABLE_OWNERS = ConcurrentHashMap.newKeySet();
+
+    private final String owner = randomString();
+
+    private IMap<Integer, Person> indexed;
+    private IMap<Integer, Person> unindexed;
+
+    @Parameterized.Parameters(name = "format:{0}")
+    public static Collection<Object[]> parameters() {
+        return asList(new Object[][]{{InMemoryFormat.OBJECT}, {InMemoryFormat.BINARY}});
+    }
+
+    @Parameterized.Parameter
+    public InMemoryFormat inMemoryFormat;
+
+    @Before
+    public void before() {
+        Config config = getConfig();
+        config.getMapConfig("indexed").setInMemoryFormat(inMemoryFormat);
+        config.getMapConfig("unindexed").setInMemoryFormat(inMemoryFormat);
+        config.setProperty(QueryEngineImpl.DISABLE_MIGRATION_FALLBACK.getName(), "true");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        indexed = instance.getMap("indexed");
+        unindexed = instance.getMap("unindexed");
+
+        indexed.addIndex(IndexUtils.createTestIndexConfig(IndexType.SORTED, "age"));
+        indexed.addIndex(IndexUtils.createTestIndexConfig(IndexType.SORTED, "height", "age"));
+        indexed.addIndex(IndexUtils.createTestIndexConfig(IndexType.SORTED, "status"));
+
+        for (int i = 0; i < 200; ++i) {
+            Long age = i % 17 == 0 ? null : (long) i;
+            indexed.put(i, new Person(age, i % 10, owner));
+            unindexed.put(i, new Person(age, i % 10, null));
+        }
+    }
+
+    @Test
+    public void testAggregations() {
+        checkCoveredAggregation(Predicates.greaterThan("age", 50), Aggregators.longSum("age"));
+        checkCoveredAggregation(Predicates.lessEqual("age", 50), Aggregators.longMax("age"));
+        checkCoveredAggregation(Predicates.between("age", 10, 150), Aggregators.count("age"));
+        checkCoveredAggregation(Predicates.between("age", 10, 150), Aggregators.count());
+        checkCoveredAggregation(Predicates.equal("age", 42), Aggregators.longSum("age"));
+        checkCoveredAggregation(Predicates.equal("height", 3), Aggregators.longSum("age"));
+        checkCoveredAggregation(Predicates.sql("height = 3 and age > 100"), Aggregators.longSum("age"));
+        checkCoveredAggregation(Predicates.sql("height = 3 and age = 103"), Aggregators.count());
+
+        // not covered: a range on the second component, enums and attributes missing from the index
+        checkAggregation(Predicates.sql("height > 3 and age > 100"), Aggregators.distinct("height"));
+        checkAggregation(Predicates.equal("status", Status.ODD), Aggregators.distinct("status"));
+        checkAggregation(Predicates.greaterEqual("age", 100), Aggregators.distinct("status"));
+    }
+
+    @Test
+    public void testProjections() {
+        checkCoveredProjection(Predicates.greaterThan("age", 50), Projections.singleAttribute("age"));
+        checkCoveredProjection(Predicates.lessThan("height", 5), Projections.multiAttribute("height", "age"));
+        checkCoveredProjection(Predicates.sql("height = 3 and age < 100"), Projections.multiAttribute("age", "height"));
+
+        // not covered: the key isn't stored by the index, enums are stored by name
+        checkProjection(Predicates.greaterThan("age", 150), Projections.multiAttribute("age", "__key"));
+        checkProjection(Predicates.equal("status", Status.EVEN), Projections.singleAttribute("status"));
+    }
+
+    private <R> void checkAggregation(Predicate<Integer, Person> predicate,
+                                      Aggregator<Map.Entry<Integer, Person>, R> aggregator) {
+        assertEquals(unindexed.aggregate(aggregator, predicate), indexed.aggregate(aggregator, predicate));
+    }
+
+    private <R> void checkProjection(Predicate<Integer, Person> predicate,
+                                     Projection<Map.Entry<Integer, Person>, R> projection) {
+        assertEquals(sorted(unindexed.project(projection, predicate)), sorted(indexed.project(projection, predicate)));
+    }
+
+    private <R> void checkCoveredAggregation(Predicate<Integer, Person> predicate,
+                                             Aggregator<Map.Entry<Integer, Person>, R> aggregator) {
+        R expected = unindexed.aggregate(aggregator, predicate);
+        assertEquals(expected, withUnreadableValues(() -> indexed.aggregate(aggregator, predicate)));
+    }
+
+    private <R> void checkCoveredProjection(Predicate<Integer, Person> predicate,
+                                            Projection<Map.Entry<Integer, Person>, R> projection) {
+        List<String> expected = sorted(unindexed.project(projection, predicate));
+        assertEquals(expected, sorted(withUnreadableValues(() -> indexed.project(projection, predicate))));
+    }
+
+    /**
+     * Runs the given query on the indexed map failing it if any attribute is
+     * extracted from the values, so it succeeds only if the query is answered
+     * from a covering index.
+     */
+    private <R> R withUnreadableValues(Supplier<R> query) {
+        UNREADABLE_OWNERS.add(owner);
+        try {
+            return query.get();
+        } finally {
+            UNREADABLE_OWNERS.remove(owner);
+        }
+    }
+
+    private static List<String> sorted(Collection<?> results) {
+        List<String> sorted = new ArrayList<>();
+        for (Object result : results) {
+            sorted.add(result instanceof Object[] array ? Arrays.toString(array) : String.valueOf(result));
+        }
+        sorted.sort(null);
+        return sorted;
+    }
+
+    public enum Status {
+        EVEN, ODD
+    }
+
+    public static class Person implements Serializable {
+
+        private final Long age;
+        private final Integer height;
+        private final Status status;
+        private final String owner;
+
+        public Person(Long age, int height, String owner) {
+            this.age = age;
+            this.height = height;
+            this.status = height % 2 == 0 ? Status.EVEN : Status.ODD;
+            this.owner = owner;
+        }
+
+        public Long getAge() {
+            checkReadable();
+            return age;
+        }
+
+        public Integer getHeight() {
+            checkReadable();
+            return height;
+        }
+
+        public Status getStatus() {
+            checkReadable();
+            return status;
+        }
+
+        private void checkReadable() {
+            if (owner != null && UNREADABLE_OWNERS.contains(owner)) {
+                throw new IllegalStateException("attribute extracted from a value of a covered query");
+            }
+        }
+
+    }
+
+}
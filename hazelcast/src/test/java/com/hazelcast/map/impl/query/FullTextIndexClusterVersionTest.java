@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.impl.IndexUtils;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.version.MemberVersion;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.test.TestClusterUpgradeUtils.newHazelcastInstance;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class FullTextIndexClusterVersionTest extends HazelcastTestSupport {
+
+    private static final MemberVersion VERSION_5_6 = MemberVersion.of(5, 6, 0);
+
+    private final TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(1);
+
+    @Test
+    public void testAddIndex_rejectedBeforeVersion57() {
+        HazelcastInstance instance = newHazelcastInstance(factory, VERSION_5_6, smallInstanceConfig());
+        IMap<Integer, String> map = instance.getMap(randomMapName());
+
+        assertThatThrownBy(() -> map.addIndex(IndexUtils.createTestIndexConfig(IndexType.FULL_TEXT, "this")))
+                .isInstanceOf(UnsupportedOperationException.class)
+                .hasMessageContaining("FULL_TEXT");
+        assertEquals(0, map.getLocalMapStats().getIndexStats().size());
+    }
+
+    @Test
+    public void testAddDynamicMapConfig_rejectedBeforeVersion57() {
+        HazelcastInstance instance = newHazelcastInstance(factory, VERSION_5_6, smallInstanceConfig());
+        MapConfig mapConfig = new MapConfig(randomMapName())
+                .addIndexConfig(IndexUtils.createTestIndexConfig(IndexType.FULL_TEXT, "this"));
+
+        assertThatThrownBy(() -> instance.getConfig().addMapConfig(mapConfig))
+                .isInstanceOf(UnsupportedOperationException.class)
+                .hasMessageContaining("FULL_TEXT");
+    }
+
+    @Test
+    public void testAddIndex_acceptedAtVersion57() {
+        HazelcastInstance instance = factory.newHazelcastInstance(smallInstanceConfig());
+        IMap<Integer, String> map = instance.getMap(randomMapName());
+
+        map.addIndex(IndexUtils.createTestIndexConfig(IndexType.FULL_TEXT, "this"));
+        map.put(1, "full-text");
+        assertEquals(1, map.getLocalMapStats().getIndexStats().size());
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.IndexUtils;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.HazelcastParametrizedRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+@RunWith(HazelcastParametrizedRunner.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class FullTextIndexQueriesTest extends HazelcastTestSupport {
+
+    private static final String[] WORDS = {"alpha", "Beta", "gamma", "DELTA", "epsilon", "zeta", "Eta", "theta"};
+
+    private IMap<Integer, Document> indexed;
+    private IMap<Integer, Document> unindexed;
+
+    @Parameterized.Parameters(name = "format:{0}")
+    public static Collection<Object[]> parameters() {
+        return asList(new Object[][]{{InMemoryFormat.OBJECT}, {InMemoryFormat.BINARY}});
+    }
+
+    @Parameterized.Parameter
+    public InMemoryFormat inMemoryFormat;
+
+    @Before
+    public void before() {
+        Config config = getConfig();
+        config.getMapConfig("indexed").setInMemoryFormat(inMemoryFormat);
+        config.getMapConfig("unindexed").setInMemoryFormat(inMemoryFormat);
+        config.setProperty(QueryEngineImpl.DISABLE_MIGRATION_FALLBACK.getName(), "true");
+        // disable periodic metrics collection (may interfere with the test)
+        config.getMetricsConfig().setEnabled(false);
+        HazelcastInstance instance = createHazelcastInstance(config);
+        indexed = instance.getMap("indexed");
+        unindexed = instance.getMap("unindexed");
+
+        indexed.addIndex(IndexUtils.createTestIndexConfig(IndexType.FULL_TEXT, "text"));
+    }
+
+    @Test
+    public void testQueries() {
+        Random random = new Random(42);
+        for (int i = 0; i < 300; ++i) {
+            put(i, randomText(random));
+        }
+        verifyQueries();
+
+        for (int i = 0; i < 300; i += 3) {
+            put(i, randomText(random));
+        }
+        for (int i = 1; i < 300; i += 3) {
+            indexed.remove(i);
+            unindexed.remove(i);
+        }
+        put(2, null);
+        verifyQueries();
+
+        indexed.clear();
+        unindexed.clear();
+        put(0, "alpha beta");
+        verifyQueries();
+    }
+
+    private void verifyQueries() {
+        checkQuery(Predicates.like("text", "alpha%"));
+        checkQuery(Predicates.like("text", "%gamma%"));
+        checkQuery(Predicates.like("text", "%Beta _eta%"));
+        checkQuery(Predicates.like("text", "%ta"));
+        checkQuery(Predicates.like("text", "%a%"));
+        checkQuery(Predicates.ilike("text", "%beta%"));
+        checkQuery(Predicates.ilike("text", "%DELTA EPSILON%"));
+        checkQuery(Predicates.regex("text", ".*theta.*"));
+        checkQuery(Predicates.regex("text", "^zeta.*eta$"));
+        checkQuery(Predicates.regex("text", ".*(alpha|gamma).*"));
+        checkQuery(Predicates.and(Predicates.like("text", "%alpha%"), Predicates.ilike("text", "%DELTA%")));
+        checkQuery(Predicates.or(Predicates.like("text", "%theta%"), Predicates.regex("text", ".*zeta.*")));
+        checkQuery(Predicates.sql("text like '%epsilon%' and text ilike '%ETA%'"));
+        checkQuery(Predicates.sql("text regex '.*gamma gamma.*'"));
+    }
+
+    private void checkQuery(Predicate<Integer, Document> predicate) {
+        long before = queryCount();
+        Collection<Integer> actual = new TreeSet<>(indexed.keySet(predicate));
+        assertTrue(predicate.toString(), queryCount() > before);
+        assertEquals(predicate.toString(), new TreeSet<>(unindexed.keySet(predicate)), actual);
+    }
+
+    private long queryCount() {
+        return indexed.getLocalMapStats().getIndexStats().values().iterator().next().getQueryCount();
+    }
+
+    private void put(int key, String text) {
+        Document document = new Document(text);
+        indexed.put(key, document);
+        unindexed.put(key, document);
+    }
+
+    private static String randomText(Random random) {
+        int count = 1 + random.nextInt(4);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; ++i) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+
+    public static class Document implements Serializable {
+
+        public final String text;
+
+        public Document(String text) {
+            this.text = text;
+        }
+
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.IndexUtils;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.HazelcastParametrizedRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.TreeSet;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+/**
+ * Checks that ordering and skipping the index lookups of AND and OR
+ * predicates by their estimated cardinality doesn't change query results.
+ */
+@RunWith(HazelcastParametrizedRunner.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class IndexCostBasedQueriesTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 2000;
+
+    private IMap<Integer, Record> indexed;
+    private IMap<Integer, Record> unindexed;
+
+    @Parameterized.Parameters(name = "format:{0}")
+    public static Collection<Object[]> parameters() {
+        return asList(new Object[][]{{InMemoryFormat.OBJECT}, {InMemoryFormat.BINARY}});
+    }
+
+    @Parameterized.Parameter
+    public InMemoryFormat inMemoryFormat;
+
+    @Before
+    public void before() {
+        Config config = getConfig();
+        config.getMapConfig("indexed").setInMemoryFormat(inMemoryFormat);
+        config.getMapConfig("unindexed").setInMemoryFormat(inMemoryFormat);
+        config.setProperty(QueryEngineImpl.DISABLE_MIGRATION_FALLBACK.getName(), "true");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        indexed = instance.getMap("indexed");
+        unindexed = instance.getMap("unindexed");
+
+        indexed.addIndex(IndexUtils.createTestIndexConfig(IndexType.HASH, "flag"));
+        indexed.addIndex(IndexUtils.createTestIndexConfig(IndexType.SORTED, "id"));
+        indexed.addIndex(IndexUtils.createTestIndexConfig(IndexType.SORTED, "bucket"));
+        indexed.addIndex(IndexUtils.createTestIndexConfig(IndexType.HASH, "name"));
+    }
+
+    @Test
+    public void testQueries() {
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            put(i);
+        }
+        verifyQueries();
+
+        for (int i = 0; i < ENTRY_COUNT; i += 3) {
+            indexed.remove(i);
+            unindexed.remove(i);
+        }
+        verifyQueries();
+    }
+
+    private void verifyQueries() {
+        // the skewed flag is far less selective than the other attributes,
+        // so its index lookup is skipped in favour of evaluating it
+        checkQuery(Predicates.and(Predicates.equal("flag", true), Predicates.equal("id", 42)));
+        checkQuery(Predicates.and(Predicates.equal("flag", false), Predicates.equal("id", 43)));
+        checkQuery(Predicates.and(Predicates.equal("id", 44), Predicates.equal("flag", true)));
+        checkQuery(Predicates.and(Predicates.equal("flag", true), Predicates.between("id", 100, 120)));
+        checkQuery(Predicates.and(Predicates.equal("flag", true), Predicates.in("name", "name-7", "name-8")));
+        checkQuery(Predicates.and(Predicates.equal("bucket", 3), Predicates.greaterThan("id", 1500),
+                Predicates.equal("flag", true)));
+        checkQuery(Predicates.and(Predicates.equal("flag", true), Predicates.equal("bucket", 5),
+                Predicates.equal("name", "name-5")));
+        checkQuery(Predicates.and(Predicates.equal("flag", true), Predicates.equal("unindexed", 3)));
+        checkQuery(Predicates.and(Predicates.equal("flag", true), Predicates.notEqual("id", 7)));
+        checkQuery(Predicates.or(Predicates.equal("id", 1), Predicates.equal("flag", false),
+                Predicates.equal("bucket", 4)));
+        checkQuery(Predicates.or(Predicates.between("id", 10, 20), Predicates.equal("name", "name-9")));
+        checkQuery(Predicates.or(Predicates.and(Predicates.equal("flag", true), Predicates.equal("id", 5)),
+                Predicates.and(Predicates.equal("bucket", 6), Predicates.lessThan("id", 300))));
+        checkQuery(Predicates.sql("flag = true and id = 1000"));
+        checkQuery(Predicates.sql("flag = true and bucket = 2 or id between 1990 and 1995"));
+    }
+
+    private void checkQuery(Predicate<Integer, Record> predicate) {
+        Collection<Integer> expected = new TreeSet<>(unindexed.keySet(predicate));
+        assertEquals(predicate.toString(), expected, new TreeSet<>(indexed.keySet(predicate)));
+    }
+
+    private void put(int key) {
+        Record record = new Record(key);
+        indexed.put(key, record);
+        unindexed.put(key, record);
+    }
+
+    public static class Record implements Serializable {
+
+        public final int id;
+        public final boolean flag;
+        public final int bucket;
+        public final String name;
+        public final int unindexed;
+
+        public Record(int id) {
+            this.id = id;
+            this.flag = id % 50 != 0;
+            this.bucket = id % 10;
+            this.name = "name-" + id % 20;
+            this.unindexed = id % 7;
+        }
+
+    }
+
+}
@@ -167,6 +167,9 @@ public class IndexCreateTest extends HazelcastTestSupport {
         if (type == IndexType.BITMAP) {
             thrown.expect(IllegalArgumentException.class);
             thrown.expectMessage(startsWith("Composite bitmap indexes are not supported:"));
+        } else if (type == IndexType.FULL_TEXT) {
+            thrown.expect(IllegalArgumentException.class);
+            thrown.expectMessage(startsWith("Composite full-text indexes are not supported:"));
         }
         checkIndex(createConfig("col1", "this.col2"));
     }
@@ -176,6 +179,9 @@ public class IndexCreateTest extends HazelcastTestSupport {
         if (type == IndexType.BITMAP) {
             thrown.expect(IllegalArgumentException.class);
             thrown.expectMessage(startsWith("Composite bitmap indexes are not supported:"));
+        } else if (type == IndexType.FULL_TEXT) {
+            thrown.expect(IllegalArgumentException.class);
+            thrown.expectMessage(startsWith("Composite full-text indexes are not supported:"));
         }
         checkIndex(createNamedConfig("index", "col1", "this.col2"));
     }
@@ -252,6 +258,8 @@ public class IndexCreateTest extends HazelcastTestSupport {
             res.append("hash");
         } else if (config.getType() == IndexType.BITMAP) {
             res.append("bitmap");
+        } else if (config.getType() == IndexType.FULL_TEXT) {
+            res.append("full_text");
         } else {
             throw new IllegalArgumentException("unexpected index type: " + config.getType());
         }
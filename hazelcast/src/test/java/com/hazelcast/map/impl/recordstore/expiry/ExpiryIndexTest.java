@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.recordstore.expiry;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hazelcast.map.impl.recordstore.expiry.ExpiryIndex.NOT_FOUND;
+import static com.hazelcast.map.impl.recordstore.expiry.ExpiryIndex.NO_SLOT;
+import static com.hazelcast.map.impl.recordstore.expiry.ExpiryIndex.expirationTimeOf;
+import static com.hazelcast.map.impl.recordstore.expiry.ExpiryIndex.expiresByMaxIdle;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ExpiryIndexTest {
+
+    private static final int START_TICK = 280_000_000;
+
+    private final ExpiryIndex index = new ExpiryIndex(START_TICK);
+
+    @Test
+    public void test_add() {
+        Data key = key(1);
+
+        int slot = index.add(key, 10, 20, START_TICK + 10, START_TICK - 5);
+
+        assertEquals(1, index.size());
+        assertEquals(slot, index.slotOf(key));
+        assertSame(key, index.keyAt(slot));
+        ExpiryMetadata expiryMetadata = index.get(key);
+        assertEquals(10, expiryMetadata.getRawTtl());
+        assertEquals(20, expiryMetadata.getRawMaxIdle());
+        assertEquals(START_TICK + 10, expiryMetadata.getRawExpirationTime());
+        assertEquals(START_TICK - 5, expiryMetadata.getRawLastUpdateTime());
+        long expiration = index.getExpiration(key);
+        assertEquals(START_TICK + 10, expirationTimeOf(expiration));
+        assertFalse(expiresByMaxIdle(expiration));
+        assertTrue(index.isScheduled(slot));
+    }
+
+    @Test
+    public void test_missingKey() {
+        index.add(key(1), 10, 20, START_TICK + 10, START_TICK);
+
+        assertEquals(NO_SLOT, index.slotOf(key(2)));
+        assertSame(ExpiryMetadata.NULL, index.get(key(2)));
+        assertEquals(NOT_FOUND, index.getExpiration(key(2)));
+        assertFalse(index.remove(key(2)));
+    }
+
+    @Test
+    public void test_getExpiration_whenExpiresByMaxIdle() {
+        Data key = key(1);
+        index.add(key, 20, 10, START_TICK + 10, START_TICK);
+
+        assertTrue(expiresByMaxIdle(index.getExpiration(key)));
+    }
+
+    @Test
+    public void test_update_reschedulesSlot() {
+        Data key = key(1);
+        int slot = index.add(key, 10, 20, START_TICK + 10, START_TICK);
+
+        index.update(slot, 30, 40, START_TICK + 30, START_TICK + 1);
+
+        assertEquals(START_TICK + 30, index.get(key).getRawExpirationTime());
+        assertEquals(NO_SLOT, index.poll(START_TICK + 29));
+        assertEquals(slot, index.poll(START_TICK + 30));
+    }
+
+    @Test
+    public void test_setExpirationTime_doesNotRescheduleSlot() {
+        Data key = key(1);
+        int slot = index.add(key, 10, 20, START_TICK + 10, START_TICK);
+
+        index.setExpirationTime(slot, START_TICK + 30);
+
+        assertEquals(START_TICK + 30, index.expirationTimeAt(slot));
+        assertEquals(slot, index.poll(START_TICK + 10));
+    }
+
+    @Test
+    public void test_remove_movesLastSlot() {
+        Data first = key(1);
+        Data last = key(2);
+        int firstSlot = index.add(first, 10, 20, START_TICK + 10, START_TICK);
+        index.add(last, 30, 40, START_TICK + 30, START_TICK + 1);
+
+        assertTrue(index.remove(first));
+
+        assertEquals(1, index.size());
+        assertEquals(NO_SLOT, index.slotOf(first));
+        assertEquals(firstSlot, index.slotOf(last));
+        assertEquals(30, index.ttlAt(firstSlot));
+        assertEquals(40, index.maxIdleAt(firstSlot));
+        assertEquals(START_TICK + 30, index.expirationTimeAt(firstSlot));
+        assertEquals(START_TICK + 1, index.lastUpdateTimeAt(firstSlot));
+        assertEquals(NO_SLOT, index.poll(START_TICK + 10));
+        assertEquals(firstSlot, index.poll(START_TICK + 30));
+    }
+
+    @Test
+    public void test_collidingKeys() {
+        List<Data> keys = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Data key = collidingKey(i);
+            keys.add(key);
+            index.add(key, i, i, START_TICK + i, START_TICK);
+        }
+        Collections.shuffle(keys, new Random(42));
+        List<Data> removed = keys.subList(0, 500);
+        for (Data key : removed) {
+            assertTrue(index.remove(key));
+        }
+
+        assertEquals(500, index.size());
+        for (Data key : removed) {
+            assertEquals(NO_SLOT, index.slotOf(key));
+        }
+        for (Data key : keys.subList(500, 1000)) {
+            int slot = index.slotOf(key);
+            assertNotEquals(NO_SLOT, slot);
+            assertEquals(key, index.keyAt(slot));
+            assertEquals(START_TICK + index.ttlAt(slot), index.expirationTimeAt(slot));
+        }
+    }
+
+    @Test
+    public void test_poll_returnsAllDueSlots() {
+        for (int i = 0; i < 1000; i++) {
+            index.add(key(i), 1, 1, START_TICK + i, START_TICK);
+        }
+
+        int polled = 0;
+        int slot;
+        while ((slot = index.poll(START_TICK + 499)) != NO_SLOT) {
+            assertTrue(index.expirationTimeAt(slot) <= START_TICK + 499);
+            polled++;
+        }
+        assertEquals(500, polled);
+    }
+
+    @Test
+    public void test_growsAndShrinks() {
+        long emptyCost = index.getHeapCost();
+        for (int i = 0; i < 10_000; i++) {
+            index.add(key(i), 1, 1, START_TICK + 1_000_000, START_TICK);
+        }
+        long fullCost = index.getHeapCost();
+        assertTrue(fullCost > emptyCost);
+
+        for (int i = 0; i < 10_000; i++) {
+            index.remove(key(i));
+        }
+
+        assertTrue(index.isEmpty());
+        assertTrue(index.getHeapCost() < fullCost);
+        assertEquals(emptyCost, index.getHeapCost());
+    }
+
+    @Test
+    public void test_concurrentReads_whileModified() throws Exception {
+        int keyCount = 10_000;
+        // even keys stay in the index, odd keys are added and removed
+        for (int i = 0; i < keyCount; i += 2) {
+            index.add(key(i), 1, 2, START_TICK + i, START_TICK);
+        }
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 2; t++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    while (!stop.get()) {
+                        int i = ThreadLocalRandom.current().nextInt(keyCount / 2) * 2;
+                        assertEquals(START_TICK + i, expirationTimeOf(index.getExpiration(key(i))));
+                        assertEquals(START_TICK + i, index.get(key(i)).getRawExpirationTime());
+                    }
+                } catch (Throwable t1) {
+                    failure.set(t1);
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        Random random = new Random(42);
+        for (int n = 0; n < 200_000; n++) {
+            Data key = key(random.nextInt(keyCount / 2) * 2 + 1);
+            if (!index.remove(key)) {
+                index.add(key, 1, 2, START_TICK, START_TICK);
+            }
+        }
+        stop.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(failure.get());
+    }
+
+    private static Data key(int id) {
+        byte[] bytes = new byte[12];
+        bytes[8] = (byte) (id >>> 24);
+        bytes[9] = (byte) (id >>> 16);
+        bytes[10] = (byte) (id >>> 8);
+        bytes[11] = (byte) id;
+        return new HeapData(bytes);
+    }
+
+    private static Data collidingKey(int id) {
+        return new HeapData(key(id).toByteArray()) {
+            @Override
+            public int hashCode() {
+                return id % 3;
+            }
+        };
+    }
+}
@@ -39,10 +39,20 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.AdditionalAnswers.delegatesTo;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -181,8 +191,93 @@ public class ExpirySystemTest {
         verify(expirationManager, never()).scheduleExpirationTask();
     }
 
+    @Test
+    public void testEvictExpiredEntries_evictsOnlyDueKeys() {
+        Data expiredKey = setupKeyAndMockStorage(1);
+        Data liveKey = setupKeyAndMockStorage(2);
+        long now = System.currentTimeMillis();
+
+        expirySystem.add(expiredKey, 1000, Long.MAX_VALUE, now - 5000, now - 6000, now);
+        expirySystem.add(liveKey, 60_000, Long.MAX_VALUE, now + 60_000, now, now);
+        assertTrue(expirySystem.getHeapCost() > 0);
+
+        expirySystem.evictExpiredEntries(100, now, false);
+
+        verify(recordStore).evictExpiredEntryAndPublishExpiryEvent(expiredKey, ExpiryReason.TTL, false);
+        verify(recordStore, never()).evictExpiredEntryAndPublishExpiryEvent(eq(liveKey), any(), anyBoolean());
+        assertEquals(ExpiryMetadata.NULL, expirySystem.getExpiryMetadata(expiredKey));
+        assertNotEquals(ExpiryMetadata.NULL, expirySystem.getExpiryMetadata(liveKey));
+    }
+
+    @Test
+    public void testEvictExpiredEntries_keepsKeyWithExtendedMaxIdle() {
+        Data key = setupKeyAndMockStorage(1);
+        long now = System.currentTimeMillis();
+
+        expirySystem.add(key, Long.MAX_VALUE, 10_000, now + 10_000, now, now);
+        expirySystem.extendExpiryTime(key, now + 8_000);
+
+        expirySystem.evictExpiredEntries(100, now + 12_000, false);
+        verify(recordStore, never()).evictExpiredEntryAndPublishExpiryEvent(any(), any(), anyBoolean());
+
+        expirySystem.evictExpiredEntries(100, now + 20_000, false);
+        verify(recordStore).evictExpiredEntryAndPublishExpiryEvent(key, ExpiryReason.MAX_IDLE_SECONDS, false);
+    }
+
+    @Test
+    public void testEvictExpiredEntries_scansKeysWithSubclassHooks() {
+        AtomicInteger initializedIterators = new AtomicInteger();
+        expirySystem = new ExpirySystemImpl(recordStore, mapContainer, mapServiceContext) {
+            @Override
+            protected ExpiryMetadata createExpiryMetadata(long ttlMillis, long maxIdleMillis,
+                                                          long expirationTime, long lastUpdateTime) {
+                return mock(ExpiryMetadata.class, delegatesTo(
+                        new ExpiryMetadataImpl(ttlMillis, maxIdleMillis, expirationTime, lastUpdateTime)));
+            }
+
+            @Override
+            protected Iterator<Map.Entry<Data, ExpiryMetadata>> initIteratorOf(
+                    Map<Data, ExpiryMetadata> expireTimeByKey) {
+                initializedIterators.incrementAndGet();
+                return super.initIteratorOf(expireTimeByKey);
+            }
+        };
+        Data expiredKey = setupKeyAndMockStorage(1);
+        Data liveKey = setupKeyAndMockStorage(2);
+        long now = System.currentTimeMillis();
+
+        expirySystem.add(expiredKey, 1000, Long.MAX_VALUE, now - 5000, now - 6000, now);
+        expirySystem.add(liveKey, 60_000, Long.MAX_VALUE, now + 60_000, now, now);
+
+        expirySystem.evictExpiredEntries(100, now, false);
+
+        assertTrue(initializedIterators.get() > 0);
+        verify(recordStore).evictExpiredEntryAndPublishExpiryEvent(expiredKey, ExpiryReason.TTL, false);
+        verify(recordStore, never()).evictExpiredEntryAndPublishExpiryEvent(eq(liveKey), any(), anyBoolean());
+        assertEquals(ExpiryMetadata.NULL, expirySystem.getExpiryMetadata(expiredKey));
+        assertNotEquals(ExpiryMetadata.NULL, expirySystem.getExpiryMetadata(liveKey));
+    }
+
+    @Test
+    public void testClear_releasesHeapCost() {
+        Data key = setupKeyAndMockStorage(1);
+        long now = System.currentTimeMillis();
+        expirySystem.add(key, 60_000, Long.MAX_VALUE, now + 60_000, now, now);
+
+        expirySystem.clear();
+
+        assertTrue(expirySystem.isEmpty());
+        assertEquals(0, expirySystem.getHeapCost());
+    }
+
     private Data setupKeyAndMockStorage() {
-        Data key = new HeapData(new byte[10]);
+        return setupKeyAndMockStorage(0);
+    }
+
+    private Data setupKeyAndMockStorage(int id) {
+        byte[] bytes = new byte[10];
+        bytes[9] = (byte) id;
+        Data key = new HeapData(bytes);
         lenient().when(storage.toBackingDataKeyFormat(key)).thenReturn(key);
         return key;
     }
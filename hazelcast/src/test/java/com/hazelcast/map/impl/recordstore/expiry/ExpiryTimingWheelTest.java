@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore.expiry;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.hazelcast.map.impl.recordstore.expiry.ExpiryTimingWheel.NONE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ExpiryTimingWheelTest {
+
+    private static final int START_TICK = 280_000_000;
+    private static final int CAPACITY = 10_000;
+
+    private final ExpiryTimingWheel wheel = new ExpiryTimingWheel(START_TICK, CAPACITY);
+
+    @Test
+    public void test_poll_returnsSlotAtItsDeadline() {
+        wheel.schedule(7, START_TICK + 5);
+
+        assertEquals(NONE, wheel.poll(START_TICK + 4));
+        assertEquals(7, wheel.poll(START_TICK + 5));
+        assertEquals(NONE, wheel.poll(START_TICK + 5));
+        assertEquals(0, wheel.size());
+        assertFalse(wheel.isScheduled(7));
+    }
+
+    @Test
+    public void test_pastDeadline_isDueImmediately() {
+        wheel.schedule(0, START_TICK - 100);
+
+        assertEquals(0, wheel.poll(START_TICK));
+    }
+
+    @Test
+    public void test_randomDeadlines_arePolledInTime() {
+        Random random = new Random(42);
+        for (int slot = 0; slot < CAPACITY; slot++) {
+            // deadlines spread from seconds to months to cover all levels
+            int delta = random.nextInt(1 << (1 + random.nextInt(24)));
+            wheel.schedule(slot, START_TICK + delta);
+        }
+
+        int polled = 0;
+        int now = START_TICK;
+        while (wheel.size() > 0) {
+            now += 1 + random.nextInt(10_000);
+            int slot;
+            while ((slot = wheel.poll(now)) != NONE) {
+                assertTrue(wheel.deadline(slot) <= now);
+                polled++;
+            }
+            for (int scheduled = 0; scheduled < CAPACITY; scheduled++) {
+                if (wheel.isScheduled(scheduled)) {
+                    assertTrue(wheel.deadline(scheduled) > now);
+                }
+            }
+        }
+        assertEquals(CAPACITY, polled);
+    }
+
+    @Test
+    public void test_schedule_reschedulesSlot() {
+        wheel.schedule(3, START_TICK + 1000);
+        wheel.schedule(3, START_TICK + 10);
+
+        assertEquals(1, wheel.size());
+        assertEquals(3, wheel.poll(START_TICK + 10));
+        assertEquals(NONE, wheel.poll(START_TICK + 2000));
+    }
+
+    @Test
+    public void test_unschedule() {
+        wheel.schedule(1, START_TICK + 3);
+        wheel.schedule(2, START_TICK + 3);
+        wheel.schedule(3, START_TICK + 3);
+
+        wheel.unschedule(2);
+        wheel.unschedule(2);
+
+        assertEquals(2, wheel.size());
+        List<Integer> polled = new ArrayList<>();
+        polled.add(wheel.poll(START_TICK + 3));
+        polled.add(wheel.poll(START_TICK + 3));
+        assertEquals(NONE, wheel.poll(START_TICK + 3));
+        assertTrue(polled.contains(1));
+        assertTrue(polled.contains(3));
+    }
+
+    @Test
+    public void test_move() {
+        wheel.schedule(1, START_TICK + 3);
+        wheel.schedule(2, START_TICK + 3);
+        wheel.schedule(3, START_TICK + 100_000);
+
+        wheel.move(2, 5);
+        wheel.move(3, 6);
+
+        assertFalse(wheel.isScheduled(2));
+        assertFalse(wheel.isScheduled(3));
+        assertEquals(START_TICK + 100_000, wheel.deadline(6));
+        List<Integer> polled = new ArrayList<>();
+        polled.add(wheel.poll(START_TICK + 3));
+        polled.add(wheel.poll(START_TICK + 3));
+        assertTrue(polled.contains(1));
+        assertTrue(polled.contains(5));
+        assertEquals(6, wheel.poll(START_TICK + 100_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void test_resize() {
+        ExpiryTimingWheel wheel = new ExpiryTimingWheel(START_TICK, 4);
+        wheel.schedule(3, START_TICK + 1);
+
+        wheel.resize(8);
+        wheel.schedule(7, START_TICK + 2);
+
+        assertFalse(wheel.isScheduled(6));
+        assertEquals(3, wheel.poll(START_TICK + 1));
+        assertEquals(7, wheel.poll(START_TICK + 2));
+
+        wheel.resize(4);
+        assertFalse(wheel.isScheduled(3));
+    }
+
+    @Test
+    public void test_bucketHeadsReleased_whenEmpty() {
+        long emptyCost = wheel.getHeapCost();
+        wheel.schedule(0, START_TICK + 100_000);
+        assertTrue(wheel.getHeapCost() > emptyCost);
+
+        wheel.unschedule(0);
+
+        assertEquals(emptyCost, wheel.getHeapCost());
+    }
+
+    @Test
+    public void test_emptyWheel_followsTime() {
+        assertEquals(NONE, wheel.poll(START_TICK + 1_000_000));
+        assertEquals(START_TICK + 1_000_000, wheel.currentTick());
+    }
+}
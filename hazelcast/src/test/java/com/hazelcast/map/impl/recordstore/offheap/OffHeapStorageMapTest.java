@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore.offheap;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.LocalMapStats;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static com.hazelcast.test.Accessors.getPartitionService;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OffHeapStorageMapTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private HazelcastInstance instance1;
+    private HazelcastInstance instance2;
+
+    @Before
+    public void setUp() {
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.MAP_OFF_HEAP_STORAGE_ENABLED.getName(), "true");
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        instance1 = factory.newHazelcastInstance(config);
+        instance2 = factory.newHazelcastInstance(config);
+    }
+
+    @Test
+    public void test_recordStoreUsesOffHeapStorage() {
+        IMap<Integer, String> map = instance1.getMap(randomMapName());
+        map.put(1, "a");
+
+        MapServiceContext mapServiceContext = getNodeEngineImpl(instance1)
+                .<MapService>getService(MapService.SERVICE_NAME).getMapServiceContext();
+        int partitionId = getPartitionService(instance1).getPartitionId(1);
+        RecordStore recordStore = mapServiceContext.getExistingRecordStore(partitionId, map.getName());
+        if (recordStore == null) {
+            recordStore = getNodeEngineImpl(instance2).<MapService>getService(MapService.SERVICE_NAME)
+                    .getMapServiceContext().getExistingRecordStore(partitionId, map.getName());
+        }
+        assertInstanceOf(OffHeapStorage.class, recordStore.getStorage());
+    }
+
+    @Test
+    public void test_basicOperations() {
+        IMap<Integer, String> map = instance1.getMap(randomMapName());
+        Map<Integer, String> batch = new HashMap<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            batch.put(i, "value-" + i);
+        }
+        map.putAll(batch);
+        map.set(-1, "single");
+        map.put(0, "replaced");
+        map.remove(1);
+
+        assertEquals(ENTRY_COUNT, map.size());
+        assertEquals("replaced", map.get(0));
+        assertNull(map.get(1));
+        assertEquals("single", map.get(-1));
+        assertEquals("value-2", map.get(2));
+        assertEquals(ENTRY_COUNT, map.keySet().size());
+        assertEquals(ENTRY_COUNT, map.entrySet().size());
+
+        map.clear();
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void test_query_withIndex() {
+        IMap<Integer, Integer> map = instance1.getMap(randomMapName());
+        map.addIndex(IndexType.SORTED, "this");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        assertEquals(10, map.values(Predicates.lessThan("this", 10)).size());
+    }
+
+    @Test
+    public void test_query_duringConcurrentPutsRemovesAndResizes() throws Exception {
+        IMap<Integer, Integer> map = instance1.getMap(randomMapName());
+        Future<?> mutator = spawn(() -> {
+            Map<Integer, Integer> batch = new HashMap<>();
+            for (int round = 0; round < 3; round++) {
+                // grows the tables of all partitions a few times
+                for (int i = 0; i < 10 * ENTRY_COUNT; i++) {
+                    batch.put(i, i);
+                    if (batch.size() == ENTRY_COUNT) {
+                        map.putAll(batch);
+                        batch.clear();
+                    }
+                }
+                for (int i = 0; i < 10 * ENTRY_COUNT; i += 4) {
+                    map.delete(i);
+                }
+                // the tables start over from their initial capacity
+                map.clear();
+            }
+        });
+
+        // the scans run on the partition threads, so they never
+        // observe records or tables freed by concurrent mutations
+        int queryCount = 0;
+        while (!mutator.isDone() || queryCount == 0) {
+            for (Map.Entry<Integer, Integer> entry : map.entrySet(Predicates.greaterEqual("this", 0))) {
+                assertEquals(entry.getKey(), entry.getValue());
+            }
+            queryCount++;
+        }
+        mutator.get();
+    }
+
+    @Test
+    public void test_expiry() {
+        IMap<Integer, String> map = instance1.getMap(randomMapName());
+        map.put(1, "a", 1, TimeUnit.SECONDS);
+        map.put(2, "b");
+
+        assertTrueEventually(() -> assertNull(map.get(1)));
+        assertEquals("b", map.get(2));
+    }
+
+    @Test
+    public void test_backupsSurviveMemberShutdown() {
+        IMap<Integer, String> map = instance1.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+
+        instance1.shutdown();
+
+        IMap<Integer, String> survivor = instance2.getMap(map.getName());
+        assertEquals(ENTRY_COUNT, survivor.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("value-" + i, survivor.get(i));
+        }
+    }
+
+    @Test
+    public void test_localMapStats_reportNativeMemoryCost() {
+        IMap<Integer, String> map = instance1.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+
+        LocalMapStats stats = map.getLocalMapStats();
+        assertTrue(stats.getNativeMemoryCost() > 0);
+        assertEquals(stats.getOwnedEntryMemoryCost() + stats.getBackupEntryMemoryCost(),
+                stats.getNativeMemoryCost());
+        assertEquals(0, stats.getHeapCost());
+    }
+}
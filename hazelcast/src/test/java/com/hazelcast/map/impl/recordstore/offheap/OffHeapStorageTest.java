@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore.offheap;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OffHeapStorageTest {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private SerializationService ss;
+    private OffHeapRecordFactory recordFactory;
+    private OffHeapStorage storage;
+
+    @Before
+    public void setUp() {
+        ss = new DefaultSerializationServiceBuilder().build();
+        recordFactory = new OffHeapRecordFactory(ss);
+        storage = new OffHeapStorage(recordFactory, mock(ExpirySystem.class), ss);
+    }
+
+    @After
+    public void tearDown() {
+        storage.destroy(false);
+    }
+
+    @Test
+    public void test_putAndGet() {
+        putEntries(ENTRY_COUNT);
+
+        assertEquals(ENTRY_COUNT, storage.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            Record record = storage.get(ss.toData(i));
+            assertEquals("value-" + i, ss.toObject(record.getValue()));
+        }
+        assertNull(storage.get(ss.toData(ENTRY_COUNT)));
+    }
+
+    @Test
+    public void test_put_replacesExistingRecord() {
+        Data key = ss.toData(1);
+        storage.put(key, recordFactory.newRecord(key, "old"));
+        storage.put(key, recordFactory.newRecord(key, "new"));
+
+        assertEquals(1, storage.size());
+        assertEquals("new", ss.toObject(storage.get(key).getValue()));
+    }
+
+    @Test
+    public void test_updateRecordValue() {
+        Data key = ss.toData(1);
+        storage.put(key, recordFactory.newRecord(key, "a"));
+
+        storage.updateRecordValue(key, storage.get(key), "b");
+        assertEquals("b", ss.toObject(storage.get(key).getValue()));
+
+        storage.updateRecordValue(key, storage.get(key), "longer value");
+        assertEquals("longer value", ss.toObject(storage.get(key).getValue()));
+    }
+
+    @Test
+    public void test_recordMetadata_isKeptInNativeMemory() {
+        Data key = ss.toData(1);
+        long now = System.currentTimeMillis();
+        Record record = recordFactory.newRecord(key, "value");
+        storage.put(key, record);
+        record.setCreationTime(now);
+        record.setVersion(3);
+        record.onAccess(now);
+
+        Record loaded = storage.get(key);
+        assertEquals(3, loaded.getVersion());
+        assertEquals(1, loaded.getHits());
+        assertEquals(now, loaded.getCreationTime(), 1000);
+        assertEquals(now, loaded.getLastAccessTime(), 1000);
+        assertEquals(0, loaded.getLastStoredTime());
+    }
+
+    @Test
+    public void test_removeRecord() {
+        putEntries(ENTRY_COUNT);
+
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            Data key = ss.toData(i);
+            storage.removeRecord(key, storage.get(key));
+        }
+        storage.disposeDeferredBlocks();
+
+        assertEquals(ENTRY_COUNT / 2, storage.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i % 2 != 0, storage.containsKey(ss.toData(i)));
+        }
+    }
+
+    @Test
+    public void test_mutationTolerantIterator_removingWhileIterating() {
+        putEntries(ENTRY_COUNT);
+
+        Set<Object> seen = new HashSet<>();
+        Iterator<Map.Entry<Data, Record>> iterator = storage.mutationTolerantIterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Data, Record> entry = iterator.next();
+            seen.add(ss.toObject(entry.getKey()));
+            storage.removeRecord(entry.getKey(), entry.getValue());
+        }
+        storage.disposeDeferredBlocks();
+
+        assertEquals(ENTRY_COUNT, seen.size());
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    public void test_fetchKeys_returnsAllKeys() {
+        putEntries(ENTRY_COUNT);
+
+        Set<Object> keys = new HashSet<>();
+        IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+        do {
+            MapKeysWithCursor cursor = storage.fetchKeys(pointers, 100);
+            for (Data key : cursor.getBatch()) {
+                assertTrue(keys.add(ss.toObject(key)));
+            }
+            pointers = cursor.getIterationPointers();
+        } while (pointers[pointers.length - 1].getIndex() >= 0);
+
+        assertEquals(ENTRY_COUNT, keys.size());
+    }
+
+    @Test
+    public void test_getRandomSamples() {
+        putEntries(ENTRY_COUNT);
+
+        int count = 0;
+        for (EntryView ignored : storage.getRandomSamples(15)) {
+            count++;
+        }
+        assertEquals(15, count);
+    }
+
+    @Test
+    public void test_nativeMemoryCost_releasedAfterRemovalAndDisposal() {
+        long emptyCost = storage.getNativeMemoryCost();
+        putEntries(ENTRY_COUNT);
+        assertTrue(storage.getNativeMemoryCost() > emptyCost);
+        assertEquals(storage.getNativeMemoryCost(), storage.getEntryCostEstimator().getEstimate());
+
+        storage.clear(false);
+        storage.disposeDeferredBlocks();
+
+        assertTrue(storage.isEmpty());
+        assertEquals(emptyCost, storage.getNativeMemoryCost());
+    }
+
+    @Test
+    public void test_unlinkedRecord_releasedOnDisposal() {
+        long emptyCost = storage.getNativeMemoryCost();
+        recordFactory.newRecord(ss.toData(1), "orphan");
+        assertTrue(storage.getNativeMemoryCost() > emptyCost);
+
+        storage.disposeDeferredBlocks();
+
+        assertEquals(emptyCost, storage.getNativeMemoryCost());
+    }
+
+    @Test
+    public void test_nullValue() {
+        Data key = ss.toData(1);
+        storage.put(key, recordFactory.newRecord(key, null));
+
+        assertTrue(storage.containsKey(key));
+        assertNull(storage.get(key).getValue());
+        assertFalse(storage.isEmpty());
+    }
+
+    private void putEntries(int count) {
+        for (int i = 0; i < count; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, "value-" + i));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.multimap.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MultiMapRecordListTest {
+
+    private final MultiMapRecordList list = new MultiMapRecordList();
+
+    @Test
+    public void test_keepsInsertionOrderAndDuplicates() {
+        list.add(record(1));
+        list.add(record(2));
+        list.add(record(1));
+        list.add(1, record(3));
+
+        assertEquals(List.of(1, 3, 2, 1), values());
+        assertTrue(list.contains(record(1)));
+        assertTrue(list.contains(record(3)));
+        assertFalse(list.contains(record(4)));
+    }
+
+    @Test
+    public void test_removeValue_removesFirstOccurrence() {
+        list.add(record(1));
+        list.add(record(2));
+        list.add(record(1));
+
+        assertTrue(list.remove(record(1)));
+        assertEquals(List.of(2, 1), values());
+        assertTrue(list.contains(record(1)));
+
+        assertTrue(list.remove(record(1)));
+        assertFalse(list.contains(record(1)));
+        assertFalse(list.remove(record(1)));
+        assertEquals(List.of(2), values());
+    }
+
+    @Test
+    public void test_iteratorRemoveAndSet_updateIndex() {
+        for (int i = 0; i < 20; i++) {
+            list.add(record(i));
+        }
+
+        Iterator<MultiMapRecord> iterator = list.iterator();
+        while (iterator.hasNext()) {
+            if ((Integer) iterator.next().getObject() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        list.set(0, record(100));
+
+        assertFalse(list.contains(record(0)));
+        assertFalse(list.contains(record(1)));
+        assertTrue(list.contains(record(100)));
+        assertTrue(list.contains(record(19)));
+        assertEquals(10, list.size());
+    }
+
+    @Test
+    public void test_containsMatchesScan_underRandomChanges() {
+        Random random = new Random(42);
+        List<MultiMapRecord> expected = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            MultiMapRecord record = record(random.nextInt(500));
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(record), list.remove(record));
+            } else {
+                expected.add(record);
+                list.add(record);
+            }
+        }
+
+        assertEquals(expected, list);
+        for (int i = 0; i < 500; i++) {
+            assertEquals(expected.contains(record(i)), list.contains(record(i)));
+        }
+    }
+
+    @Test
+    public void test_clear() {
+        for (int i = 0; i < 100; i++) {
+            list.add(record(i));
+        }
+
+        list.clear();
+
+        assertTrue(list.isEmpty());
+        assertFalse(list.contains(record(1)));
+        list.add(record(1));
+        assertTrue(list.contains(record(1)));
+    }
+
+    private List<Integer> values() {
+        List<Integer> values = new ArrayList<>();
+        for (MultiMapRecord record : list) {
+            values.add((Integer) record.getObject());
+        }
+        return values;
+    }
+
+    private static MultiMapRecord record(int value) {
+        return new MultiMapRecord(value);
+    }
+}
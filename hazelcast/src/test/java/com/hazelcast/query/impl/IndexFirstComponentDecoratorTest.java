@@ -30,6 +30,10 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -153,6 +157,43 @@ public class IndexFirstComponentDecoratorTest {
         assertEquals(expected.getRecords(-100, true, 200, true), actual.getRecords(-100, true, 200, true));
     }
 
+    @Test
+    public void testBatchQuerying() {
+        for (boolean descending : new boolean[]{false, true}) {
+            assertEquals(records(expected.getSqlRecordIteratorBatch(descending)),
+                    records(actual.getSqlRecordIteratorBatch(descending)));
+
+            for (int value : new int[]{-1, 0, 50, 99, 100}) {
+                assertEquals(records(expected.getSqlRecordIteratorBatch(value, descending)),
+                        records(actual.getSqlRecordIteratorBatch(value, descending)));
+
+                for (Comparison comparison : Comparison.values()) {
+                    assertEquals(records(expected.getSqlRecordIteratorBatch(comparison, value, descending)),
+                            records(actual.getSqlRecordIteratorBatch(comparison, value, descending)));
+                }
+            }
+
+            for (int[] range : new int[][]{{0, 99}, {-10, 99}, {10, 50}, {90, 150}, {-100, -10}, {-100, 200}}) {
+                for (int inclusive = 0; inclusive < 4; ++inclusive) {
+                    boolean fromInclusive = (inclusive & 1) != 0;
+                    boolean toInclusive = (inclusive & 2) != 0;
+                    assertEquals(records(expected.getSqlRecordIteratorBatch(range[0], fromInclusive, range[1], toInclusive,
+                                    descending)),
+                            records(actual.getSqlRecordIteratorBatch(range[0], fromInclusive, range[1], toInclusive,
+                                    descending)));
+                }
+            }
+        }
+    }
+
+    private static List<QueryableEntry> records(Iterator<IndexKeyEntries> batches) {
+        List<QueryableEntry> records = new ArrayList<>();
+        while (batches.hasNext()) {
+            batches.next().getEntries().forEachRemaining(records::add);
+        }
+        return records;
+    }
+
     private CachedQueryEntry<?, ?> entry(Object key, Object value) {
         return new CachedQueryEntry<>(serializationService, serializationService.toData(key), value, extractors);
     }
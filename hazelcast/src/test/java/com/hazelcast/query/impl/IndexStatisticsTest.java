@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class IndexStatisticsTest {
+
+    @Test
+    public void testEmpty() {
+        IndexStatistics statistics = new IndexStatistics(true);
+        assertEquals(0, statistics.getEntryCount());
+        assertEquals(0, statistics.getDistinctCount());
+        assertEquals(0, statistics.estimateEqual());
+        assertEquals(0, statistics.estimateRange(0, 100));
+    }
+
+    @Test
+    public void testDistinctCount() {
+        IndexStatistics statistics = new IndexStatistics(false);
+        for (int i = 0; i < 100_000; ++i) {
+            statistics.onInsert(i % 10_000);
+        }
+        assertEquals(100_000, statistics.getEntryCount());
+        assertWithin(10_000, statistics.getDistinctCount(), 0.1);
+        assertWithin(10, statistics.estimateEqual(), 0.1);
+    }
+
+    @Test
+    public void testDistinctCount_small() {
+        IndexStatistics statistics = new IndexStatistics(false);
+        for (int i = 0; i < 1000; ++i) {
+            statistics.onInsert("value-" + i % 3);
+        }
+        assertEquals(3, statistics.getDistinctCount());
+        assertEquals(334, statistics.estimateEqual());
+    }
+
+    @Test
+    public void testRange_uniform() {
+        IndexStatistics statistics = new IndexStatistics(true);
+        // starts in the middle to grow the histogram in both directions
+        for (int i = 5000; i < 10_000; ++i) {
+            statistics.onInsert(i);
+        }
+        for (int i = 4999; i >= 0; --i) {
+            statistics.onInsert(i);
+        }
+
+        assertWithin(1000, statistics.estimateRange(1000, 2000), 0.1);
+        assertWithin(5000, statistics.estimateRange(null, 5000), 0.1);
+        assertWithin(2000, statistics.estimateRange(8000, null), 0.1);
+        assertEquals(10_000, statistics.estimateRange(null, null));
+        assertEquals(0, statistics.estimateRange(20_000, null));
+        assertWithin(500, statistics.estimateRange(2000.0, 2500L), 0.1);
+    }
+
+    @Test
+    public void testRange_unordered() {
+        IndexStatistics statistics = new IndexStatistics(false);
+        for (int i = 0; i < 100; ++i) {
+            statistics.onInsert(i);
+        }
+        assertEquals(-1, statistics.estimateRange(10, 20));
+    }
+
+    @Test
+    public void testRange_nonNumeric() {
+        IndexStatistics statistics = new IndexStatistics(true);
+        for (int i = 0; i < 100; ++i) {
+            statistics.onInsert(i);
+        }
+        assertEquals(-1, statistics.estimateRange("a", "b"));
+
+        statistics.onInsert("a");
+        assertEquals(-1, statistics.estimateRange(10, 20));
+
+        statistics.onRemove("a");
+        assertWithin(10, statistics.estimateRange(10, 20), 0.2);
+    }
+
+    @Test
+    public void testRange_nullsNotCounted() {
+        IndexStatistics statistics = new IndexStatistics(true);
+        for (int i = 0; i < 100; ++i) {
+            statistics.onInsert(AbstractIndex.NULL);
+            statistics.onInsert(i);
+        }
+        assertEquals(200, statistics.getEntryCount());
+        assertEquals(100, statistics.estimateRange(null, null));
+    }
+
+    @Test
+    public void testRemove() {
+        IndexStatistics statistics = new IndexStatistics(true);
+        for (int i = 0; i < 1000; ++i) {
+            statistics.onInsert(i);
+        }
+        for (int i = 0; i < 500; ++i) {
+            statistics.onRemove(i);
+        }
+        assertEquals(500, statistics.getEntryCount());
+        assertWithin(500, statistics.estimateRange(null, null), 0.1);
+        // the removed values aren't subtracted from the distinct count
+        assertTrue(statistics.getDistinctCount() <= 500);
+
+        for (int i = 500; i < 1000; ++i) {
+            statistics.onRemove(i);
+        }
+        assertEquals(0, statistics.getEntryCount());
+        assertEquals(0, statistics.getDistinctCount());
+
+        statistics.onInsert(42);
+        assertEquals(1, statistics.getDistinctCount());
+        assertEquals(1, statistics.estimateRange(40, 50));
+    }
+
+    @Test
+    public void testClear() {
+        IndexStatistics statistics = new IndexStatistics(true);
+        for (int i = 0; i < 1000; ++i) {
+            statistics.onInsert(i);
+        }
+        statistics.clear();
+        assertEquals(0, statistics.getEntryCount());
+        assertEquals(0, statistics.getDistinctCount());
+        assertEquals(0, statistics.estimateRange(null, null));
+    }
+
+    private static void assertWithin(long expected, long actual, double relativeError) {
+        assertTrue("expected " + expected + " but was " + actual,
+                Math.abs(actual - expected) <= expected * relativeError);
+    }
+
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hazelcast.query.impl.OrderedIndexStore.SPECIAL_AWARE_COMPARATOR;
+import static com.hazelcast.query.impl.OrderedIndexTree.DOUBLE;
+import static com.hazelcast.query.impl.OrderedIndexTree.GENERIC;
+import static com.hazelcast.query.impl.OrderedIndexTree.INT;
+import static com.hazelcast.query.impl.OrderedIndexTree.LONG;
+import static com.hazelcast.query.impl.OrderedIndexTree.TIMESTAMP;
+import static com.hazelcast.query.impl.OrderedIndexTree.decode;
+import static com.hazelcast.query.impl.OrderedIndexTree.encode;
+import static com.hazelcast.query.impl.OrderedIndexTree.kindOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OrderedIndexTreeTest {
+    OrderedIndexTree<Integer, String> tree = new OrderedIndexTree<>(SPECIAL_AWARE_COMPARATOR, Integer::compare);
+    // the entries of the tree, keyed by "value/key" in the tree order
+    TreeMap<Long, String> expected = new TreeMap<>();
+
+    @Test
+    public void encodingPreservesOrder() {
+        double[] doubles = {Double.NEGATIVE_INFINITY, -1e300, -1.5, -0.0, 0.0, Double.MIN_VALUE, 2.5, Double.MAX_VALUE,
+                Double.POSITIVE_INFINITY, Double.NaN};
+        for (int i = 1; i < doubles.length; i++) {
+            assertTrue(encode(DOUBLE, doubles[i - 1]) < encode(DOUBLE, doubles[i]));
+            assertEquals(doubles[i], decode(DOUBLE, encode(DOUBLE, doubles[i])));
+        }
+
+        LocalDateTime earlier = LocalDateTime.of(1960, 1, 1, 0, 0, 0, 999_999_999);
+        LocalDateTime later = LocalDateTime.of(1960, 1, 1, 0, 0, 1);
+        assertTrue(encode(TIMESTAMP, earlier) < encode(TIMESTAMP, later));
+        assertEquals(earlier, decode(TIMESTAMP, encode(TIMESTAMP, earlier)));
+
+        assertEquals(Integer.MIN_VALUE, decode(INT, encode(INT, Integer.MIN_VALUE)));
+        assertEquals(Long.MAX_VALUE, decode(LONG, encode(LONG, Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void kindOfValues() {
+        assertEquals(LONG, kindOf(1L));
+        assertEquals(INT, kindOf(1));
+        assertEquals(DOUBLE, kindOf(1.0));
+        assertEquals(TIMESTAMP, kindOf(LocalDateTime.of(2025, 1, 1, 0, 0)));
+        assertEquals(GENERIC, kindOf(LocalDateTime.MAX));
+        assertEquals(GENERIC, kindOf("a"));
+        assertEquals(GENERIC, kindOf(AbstractIndex.NULL));
+    }
+
+    @Test
+    public void putReplacesEntryWithSameValueAndKey() {
+        assertNull(tree.put(1L, 1, "a"));
+        assertEquals("a", tree.put(1L, 1, "b"));
+        assertNull(tree.put(1L, 2, "c"));
+
+        assertEquals(List.of("b", "c"), scan(tree.cursor(null, false, null, false, null, false)));
+        assertEquals("b", tree.remove(1L, 1));
+        assertNull(tree.remove(1L, 1));
+        assertNull(tree.remove(2L, 2));
+    }
+
+    @Test
+    public void rangesOverManyLeaves() {
+        for (int i = 0; i < 10_000; i++) {
+            put(i % 1000, i);
+        }
+
+        assertRange(100, true, 200, false);
+        assertRange(100, false, 200, true);
+        assertRange(-5, true, 5, true);
+        assertRange(990, true, 2000, true);
+        assertEquals(new ArrayList<>(expected.values()), scan(tree.cursor(null, false, null, false, null, false)));
+    }
+
+    @Test
+    public void cursorContinuesAfterStartKey() {
+        for (int i = 0; i < 1000; i++) {
+            put(i % 10, i);
+        }
+
+        List<String> ascending = scan(tree.cursor(5L, true, 6L, true, 505, false));
+        assertEquals(expected.subMap(key(5, 505), false, key(6, 1000), true).values().stream().toList(), ascending);
+
+        List<String> descending = scan(tree.cursor(4L, true, 5L, true, 505, true));
+        assertEquals(expected.subMap(key(4, 0), true, key(5, 505), false).descendingMap().values().stream().toList(),
+                descending);
+    }
+
+    @Test
+    public void removeAllEntries() {
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            put(random.nextInt(100), i);
+        }
+        List<Long> keys = new ArrayList<>(expected.keySet());
+        Collections.shuffle(keys, random);
+
+        for (int i = 0; i < keys.size(); i++) {
+            long key = keys.get(i);
+            assertEquals(expected.remove(key), tree.remove(key / 10_000, (int) (key % 10_000)));
+            if (i % 500 == 0) {
+                assertEquals(new ArrayList<>(expected.values()), scan(tree.cursor(null, false, null, false, null, false)));
+            }
+        }
+        assertFalse(tree.cursor(null, false, null, false, null, false).hasNext());
+    }
+
+    @Test
+    public void mixedValueKinds() {
+        tree.put(2L, 0, "long");
+        tree.put(1, 0, "int");
+        tree.put(1.5, 0, "double");
+        tree.put(AbstractIndex.NULL, 0, "null");
+        for (int i = 0; i < 200; i++) {
+            tree.put((long) (i + 10), i, "x");
+        }
+
+        List<String> entries = scan(tree.cursor(AbstractIndex.NULL, true, 3L, false, null, false));
+        assertEquals(List.of("null", "int", "double", "long"), entries);
+        assertEquals("double", tree.remove(1.5, 0));
+        assertEquals(List.of("int", "long"), scan(tree.cursor(AbstractIndex.NULL, false, 3L, false, null, false)));
+    }
+
+    @Test
+    public void readersSeeAllStableEntriesDuringUpdates() throws Exception {
+        int stableCount = 10_000;
+        for (int i = 0; i < stableCount; i++) {
+            tree.put((long) i * 2, 0, "stable");
+        }
+
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            boolean descending = i == 1;
+            Thread reader = new Thread(() -> {
+                try {
+                    while (!stop.get()) {
+                        OrderedIndexTree<Integer, String>.Cursor cursor = tree.cursor(null, false, null, false, null, descending);
+                        int stable = 0;
+                        while (cursor.hasNext()) {
+                            if ("stable".equals(cursor.entry())) {
+                                stable++;
+                            }
+                            cursor.advance();
+                        }
+                        assertEquals(stableCount, stable);
+                    }
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000 && failure.get() == null; i++) {
+            long value = random.nextInt(stableCount) * 2L + 1;
+            if (random.nextBoolean()) {
+                tree.put(value, random.nextInt(20), "churn");
+            } else {
+                tree.remove(value, random.nextInt(20));
+            }
+        }
+        stop.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get());
+    }
+
+    private void put(long value, int key) {
+        tree.put(value, key, value + "/" + key);
+        expected.put(key(value, key), value + "/" + key);
+    }
+
+    private void assertRange(long from, boolean fromInclusive, long to, boolean toInclusive) {
+        Map<Long, String> range = expected.subMap(key(from, fromInclusive ? 0 : 9_999), fromInclusive,
+                key(to, toInclusive ? 9_999 : 0), toInclusive);
+        List<String> ascending = new ArrayList<>(range.values());
+        assertEquals(ascending, scan(tree.cursor(from, fromInclusive, to, toInclusive, null, false)));
+
+        Collections.reverse(ascending);
+        assertEquals(ascending, scan(tree.cursor(from, fromInclusive, to, toInclusive, null, true)));
+    }
+
+    private static long key(long value, int key) {
+        return value * 10_000 + key;
+    }
+
+    private static List<String> scan(OrderedIndexTree<Integer, String>.Cursor cursor) {
+        List<String> entries = new ArrayList<>();
+        while (cursor.hasNext()) {
+            entries.add(cursor.entry());
+            cursor.advance();
+        }
+        return entries;
+    }
+}
@@ -39,7 +39,7 @@ public class BitmapAlgorithmsTest {
     private final List<SparseBitSet> actual = new ArrayList<>();
     private final List<TreeSet<Long>> expected = new ArrayList<>();
 
-    private final SparseArray<Long> actualUniverse = new SparseArray<>();
+    private final SparseBitSet actualUniverseBitSet = new SparseBitSet();
     private final TreeSet<Long> expectedUniverse = new TreeSet<>();
 
     @Test
@@ -140,52 +140,52 @@ public class BitmapAlgorithmsTest {
     }
 
     @Test
-    public void testNot() {
+    public void testAndNot() {
         long seed = System.nanoTime();
-        System.out.println(getClass().getSimpleName() + ".testNot seed: " + seed);
+        System.out.println(getClass().getSimpleName() + ".testAndNot seed: " + seed);
 
         actual.add(new SparseBitSet());
         expected.add(new TreeSet<>());
-        verifyNotAndThenClear();
+        verifyAndNotAndThenClear();
 
         generateUniverse(0, 75000, 1);
         actual.add(new SparseBitSet());
         expected.add(new TreeSet<>());
-        verifyNotAndThenClear();
+        verifyAndNotAndThenClear();
 
         generateUniverse(0, 70000, 1);
         generate(0, 70000, 1);
-        verifyNotAndThenClear();
+        verifyAndNotAndThenClear();
 
         generateUniverse(0, 70000, 2);
         generate(0, 70000, 1);
-        verifyNotAndThenClear();
+        verifyAndNotAndThenClear();
 
         generateUniverse(100, 75000, 1);
         generateRandom(seed, 50000, 100000);
-        verifyNotAndThenClear();
+        verifyAndNotAndThenClear();
 
         generateUniverse(100, 75000, 2);
         generateRandom(seed, 50000, 100000);
-        verifyNotAndThenClear();
+        verifyAndNotAndThenClear();
 
         generateRandomUniverse(seed, 60000, 100000);
         generateRandom(seed, 60000, 100000);
-        verifyNotAndThenClear();
+        verifyAndNotAndThenClear();
 
         generateRandomUniverse(seed, 40000, 100000);
         generateRandom(seed, 40000, -1);
-        verifyNotAndThenClear();
+        verifyAndNotAndThenClear();
 
         generateRandomUniverse(seed, 75000, -1);
         generateRandom(seed, 75000, -1);
-        verifyNotAndThenClear();
+        verifyAndNotAndThenClear();
 
         generateRandomUniverse(seed, 1000, -1);
         generateRandom(seed, 1000, -1);
         actual.get(0).add(Long.MAX_VALUE);
         expected.get(0).add(Long.MAX_VALUE);
-        verifyNotAndThenClear();
+        verifyAndNotAndThenClear();
 
         generateRandomUniverse(seed, 2000, -1);
         generateRandom(seed, 2000, -1);
@@ -193,7 +193,7 @@ public class BitmapAlgorithmsTest {
         actual.get(0).add(Long.MAX_VALUE);
         expected.get(0).add(Long.MAX_VALUE - 1);
         expected.get(0).add(Long.MAX_VALUE);
-        verifyNotAndThenClear();
+        verifyAndNotAndThenClear();
 
         generateRandomUniverse(seed, 500000, -1);
         generateRandom(seed, 500000, -1);
@@ -203,7 +203,7 @@ public class BitmapAlgorithmsTest {
         expected.get(0).add(Long.MAX_VALUE - 2);
         expected.get(0).add(Long.MAX_VALUE - 1);
         expected.get(0).add(Long.MAX_VALUE);
-        verifyNotAndThenClear();
+        verifyAndNotAndThenClear();
     }
 
     private void verifyAnd() {
@@ -219,14 +219,16 @@ public class BitmapAlgorithmsTest {
             }
         }
 
-        verify(BitmapAlgorithms.and(actualIterators()), expectedResult);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, 1);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, 2);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, 5);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, Short.MAX_VALUE);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, Integer.MAX_VALUE);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, Long.MAX_VALUE / 2);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, Long.MAX_VALUE);
+        SparseBitSet actualResult = BitmapAlgorithms.and(actualBitSets());
+        verify(actualResult.iterator(), expectedResult);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, 1);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, 2);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, 5);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, Short.MAX_VALUE);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, Integer.MAX_VALUE);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, Long.MAX_VALUE / 2);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, Long.MAX_VALUE);
+        assertEquals(expectedResult.size(), actualResult.cardinality());
     }
 
     private void verifyOr() {
@@ -242,17 +244,19 @@ public class BitmapAlgorithmsTest {
             }
         }
 
-        verify(BitmapAlgorithms.or(actualIterators()), expectedResult);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, 1);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, 2);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, 5);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, Short.MAX_VALUE);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, Integer.MAX_VALUE);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, Long.MAX_VALUE / 2);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, Long.MAX_VALUE);
+        SparseBitSet actualResult = BitmapAlgorithms.or(actualBitSets());
+        verify(actualResult.iterator(), expectedResult);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, 1);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, 2);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, 5);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, Short.MAX_VALUE);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, Integer.MAX_VALUE);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, Long.MAX_VALUE / 2);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, Long.MAX_VALUE);
+        assertEquals(expectedResult.size(), actualResult.cardinality());
     }
 
-    private void verifyNotAndThenClear() {
+    private void verifyAndNotAndThenClear() {
         assert actual.size() == 1;
         assert expected.size() == 1;
 
@@ -261,34 +265,32 @@ public class BitmapAlgorithmsTest {
 
         AscendingLongIterator actualIterator = actual.iterator();
         for (long i = actualIterator.advance(); i != AscendingLongIterator.END; i = actualIterator.advance()) {
-            actualUniverse.set(i, i);
+            actualUniverseBitSet.add(i);
         }
         expectedUniverse.addAll(expected);
 
         TreeSet<Long> expectedResult = new TreeSet<>(expectedUniverse);
         expectedResult.removeAll(expected);
 
-        verify(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult, 1);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult, 2);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult, 5);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult, Short.MAX_VALUE);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult, Integer.MAX_VALUE);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult, Long.MAX_VALUE / 2);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult, Long.MAX_VALUE);
+        SparseBitSet actualResult = BitmapAlgorithms.andNot(actualUniverseBitSet, actual);
+        verify(actualResult.iterator(), expectedResult);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, 1);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, 2);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, 5);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, Short.MAX_VALUE);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, Integer.MAX_VALUE);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, Long.MAX_VALUE / 2);
+        verifyAdvanceAtLeastTo(actualResult.iterator(), expectedResult, Long.MAX_VALUE);
+        assertEquals(expectedResult.size(), actualResult.cardinality());
 
         this.actual.clear();
         this.expected.clear();
-        actualUniverse.clear();
+        actualUniverseBitSet.clear();
         expectedUniverse.clear();
     }
 
-    private AscendingLongIterator[] actualIterators() {
-        AscendingLongIterator[] actualIterators = new AscendingLongIterator[actual.size()];
-        for (int i = 0; i < actual.size(); ++i) {
-            actualIterators[i] = actual.get(i).iterator();
-        }
-        return actualIterators;
+    private SparseBitSet[] actualBitSets() {
+        return actual.toArray(new SparseBitSet[0]);
     }
 
     private void generate(long offset, long count, long step) {
@@ -345,18 +347,18 @@ public class BitmapAlgorithmsTest {
     private void generateUniverse(long offset, long count, long step) {
         for (long i = 0; i < count; ++i) {
             long index = offset + i * step;
-            actualUniverse.set(index, index);
+            actualUniverseBitSet.add(index);
             expectedUniverse.add(index);
         }
 
-        verify(actualUniverse.iterator(), expectedUniverse);
-        verifyAdvanceAtLeastTo(actualUniverse.iterator(), expectedUniverse, 1);
-        verifyAdvanceAtLeastTo(actualUniverse.iterator(), expectedUniverse, 2);
-        verifyAdvanceAtLeastTo(actualUniverse.iterator(), expectedUniverse, 5);
-        verifyAdvanceAtLeastTo(actualUniverse.iterator(), expectedUniverse, Short.MAX_VALUE);
-        verifyAdvanceAtLeastTo(actualUniverse.iterator(), expectedUniverse, Integer.MAX_VALUE);
-        verifyAdvanceAtLeastTo(actualUniverse.iterator(), expectedUniverse, Long.MAX_VALUE / 2);
-        verifyAdvanceAtLeastTo(actualUniverse.iterator(), expectedUniverse, Long.MAX_VALUE);
+        verify(actualUniverseBitSet.iterator(), expectedUniverse);
+        verifyAdvanceAtLeastTo(actualUniverseBitSet.iterator(), expectedUniverse, 1);
+        verifyAdvanceAtLeastTo(actualUniverseBitSet.iterator(), expectedUniverse, 2);
+        verifyAdvanceAtLeastTo(actualUniverseBitSet.iterator(), expectedUniverse, 5);
+        verifyAdvanceAtLeastTo(actualUniverseBitSet.iterator(), expectedUniverse, Short.MAX_VALUE);
+        verifyAdvanceAtLeastTo(actualUniverseBitSet.iterator(), expectedUniverse, Integer.MAX_VALUE);
+        verifyAdvanceAtLeastTo(actualUniverseBitSet.iterator(), expectedUniverse, Long.MAX_VALUE / 2);
+        verifyAdvanceAtLeastTo(actualUniverseBitSet.iterator(), expectedUniverse, Long.MAX_VALUE);
     }
 
     private void generateRandomUniverse(long seed, int count, long range) {
@@ -368,19 +370,19 @@ public class BitmapAlgorithmsTest {
         if (range != 0) {
             for (int i = 0; i < count; ++i) {
                 long member = (random.nextLong() & Long.MAX_VALUE) % range;
-                actualUniverse.set(member, member);
+                actualUniverseBitSet.add(member);
                 expectedUniverse.add(member);
             }
         }
 
-        verify(actualUniverse.iterator(), expectedUniverse);
-        verifyAdvanceAtLeastTo(actualUniverse.iterator(), expectedUniverse, 1);
-        verifyAdvanceAtLeastTo(actualUniverse.iterator(), expectedUniverse, 2);
-        verifyAdvanceAtLeastTo(actualUniverse.iterator(), expectedUniverse, 5);
-        verifyAdvanceAtLeastTo(actualUniverse.iterator(), expectedUniverse, Short.MAX_VALUE);
-        verifyAdvanceAtLeastTo(actualUniverse.iterator(), expectedUniverse, Integer.MAX_VALUE);
-        verifyAdvanceAtLeastTo(actualUniverse.iterator(), expectedUniverse, Long.MAX_VALUE / 2);
-        verifyAdvanceAtLeastTo(actualUniverse.iterator(), expectedUniverse, Long.MAX_VALUE);
+        verify(actualUniverseBitSet.iterator(), expectedUniverse);
+        verifyAdvanceAtLeastTo(actualUniverseBitSet.iterator(), expectedUniverse, 1);
+        verifyAdvanceAtLeastTo(actualUniverseBitSet.iterator(), expectedUniverse, 2);
+        verifyAdvanceAtLeastTo(actualUniverseBitSet.iterator(), expectedUniverse, 5);
+        verifyAdvanceAtLeastTo(actualUniverseBitSet.iterator(), expectedUniverse, Short.MAX_VALUE);
+        verifyAdvanceAtLeastTo(actualUniverseBitSet.iterator(), expectedUniverse, Integer.MAX_VALUE);
+        verifyAdvanceAtLeastTo(actualUniverseBitSet.iterator(), expectedUniverse, Long.MAX_VALUE / 2);
+        verifyAdvanceAtLeastTo(actualUniverseBitSet.iterator(), expectedUniverse, Long.MAX_VALUE);
     }
 
     private void verify(AscendingLongIterator actual, SortedSet<Long> expected) {
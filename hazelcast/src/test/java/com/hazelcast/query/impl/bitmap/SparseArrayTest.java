@@ -295,6 +295,10 @@ public class SparseArrayTest {
     private void verify() {
         SparseArray.Iterator<Long> iterator = actual.iterator();
         verify(iterator, expected);
+
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), actual.get(entry.getKey()));
+        }
     }
 
     private void verify(SparseArray.Iterator<Long> actual, SortedMap<Long, Long> expected) {
@@ -372,6 +376,7 @@ public class SparseArrayTest {
     private void clear(long index) {
         expected.remove(index);
         actual.clear(index);
+        assertNull(actual.get(index));
     }
 
 }
@@ -23,19 +23,26 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.NavigableSet;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
-import static com.hazelcast.query.impl.bitmap.SparseBitSet.ARRAY_STORAGE_16_MAX_SIZE;
-import static com.hazelcast.query.impl.bitmap.SparseBitSet.ARRAY_STORAGE_32_MAX_SIZE;
+import static com.hazelcast.query.impl.bitmap.SparseBitSet.ARRAY_CONTAINER_MAX_SIZE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
 public class SparseBitSetTest {
 
+    private static final int SMALL_SIZE = 513;
+
     private final NavigableSet<Long> expected = new TreeSet<>();
     private final SparseBitSet actual = new SparseBitSet();
 
@@ -45,7 +52,7 @@ public class SparseBitSetTest {
         verify();
 
         // at the beginning
-        for (long i = 0; i < ARRAY_STORAGE_32_MAX_SIZE / 2; ++i) {
+        for (long i = 0; i < SMALL_SIZE / 2; ++i) {
             set(i);
             verify();
             set(i);
@@ -53,7 +60,7 @@ public class SparseBitSetTest {
         }
 
         // offset
-        for (long i = 1000000; i < 1000000 + ARRAY_STORAGE_32_MAX_SIZE; ++i) {
+        for (long i = 1000000; i < 1000000 + SMALL_SIZE; ++i) {
             set(i);
             verify();
             set(i);
@@ -61,11 +68,11 @@ public class SparseBitSetTest {
         }
 
         // clear everything we have added
-        for (long i = 0; i < ARRAY_STORAGE_32_MAX_SIZE / 2; ++i) {
+        for (long i = 0; i < SMALL_SIZE / 2; ++i) {
             clear(i);
             verify();
         }
-        for (long i = 1000000; i < 1000000 + ARRAY_STORAGE_32_MAX_SIZE; ++i) {
+        for (long i = 1000000; i < 1000000 + SMALL_SIZE; ++i) {
             clear(i);
             verify();
         }
@@ -110,7 +117,7 @@ public class SparseBitSetTest {
 
     @Test
     public void testAddWithGapAndStorage32Upgrade() {
-        for (long i = 555; i < 555 + ARRAY_STORAGE_32_MAX_SIZE + 1; ++i) {
+        for (long i = 555; i < 555 + SMALL_SIZE + 1; ++i) {
             if (i != 560) {
                 set(i);
             }
@@ -124,7 +131,7 @@ public class SparseBitSetTest {
     public void testAddWithStorage32Switching() {
         long prefix = ((long) Integer.MAX_VALUE * 2 + 1);
 
-        for (long i = 100; i < 100 + ARRAY_STORAGE_32_MAX_SIZE + 10; ++i) {
+        for (long i = 100; i < 100 + SMALL_SIZE + 10; ++i) {
             set(prefix + i);
             verify();
             set(prefix * 2 + i);
@@ -134,7 +141,7 @@ public class SparseBitSetTest {
 
     @Test
     public void testAddWithStorage16Upgrade() {
-        for (long i = 555; i < 555 + ARRAY_STORAGE_16_MAX_SIZE + 10; ++i) {
+        for (long i = 555; i < 555 + ARRAY_CONTAINER_MAX_SIZE + 10; ++i) {
             set(i);
             verify();
         }
@@ -144,7 +151,7 @@ public class SparseBitSetTest {
     public void testAddWithStorage16UpgradeAndSwitching() {
         long prefix = ((long) Short.MAX_VALUE * 2 + 1);
 
-        for (long i = 0; i < ARRAY_STORAGE_16_MAX_SIZE + 10; ++i) {
+        for (long i = 0; i < ARRAY_CONTAINER_MAX_SIZE + 10; ++i) {
             set(i);
             verify();
             set(prefix + i);
@@ -155,16 +162,16 @@ public class SparseBitSetTest {
     @Test
     public void testRemove() {
         // try to clear empty set
-        for (long i = 0; i < ARRAY_STORAGE_32_MAX_SIZE / 2; ++i) {
+        for (long i = 0; i < SMALL_SIZE / 2; ++i) {
             clear(i);
             verify();
         }
 
         // at the beginning
-        for (long i = 0; i < ARRAY_STORAGE_32_MAX_SIZE / 2; ++i) {
+        for (long i = 0; i < SMALL_SIZE / 2; ++i) {
             set(i);
         }
-        for (long i = 0; i < ARRAY_STORAGE_32_MAX_SIZE / 2 + 100; ++i) {
+        for (long i = 0; i < SMALL_SIZE / 2 + 100; ++i) {
             clear(i);
             verify();
             // try nonexistent
@@ -173,10 +180,10 @@ public class SparseBitSetTest {
         }
 
         // offset
-        for (long i = 1000000; i < 1000000 + ARRAY_STORAGE_32_MAX_SIZE; ++i) {
+        for (long i = 1000000; i < 1000000 + SMALL_SIZE; ++i) {
             set(i);
         }
-        for (long i = 1000000 + ARRAY_STORAGE_32_MAX_SIZE + 100; i >= 1000000; --i) {
+        for (long i = 1000000 + SMALL_SIZE + 100; i >= 1000000; --i) {
             clear(i);
             verify();
             // try nonexistent
@@ -255,10 +262,10 @@ public class SparseBitSetTest {
 
     @Test
     public void testRemoveWithStorage16Downgrade() {
-        for (long i = 555; i < 555 + ARRAY_STORAGE_16_MAX_SIZE + 10; ++i) {
+        for (long i = 555; i < 555 + ARRAY_CONTAINER_MAX_SIZE + 10; ++i) {
             set(i);
         }
-        for (long i = 555; i < 555 + ARRAY_STORAGE_16_MAX_SIZE + 10; ++i) {
+        for (long i = 555; i < 555 + ARRAY_CONTAINER_MAX_SIZE + 10; ++i) {
             clear(i);
             verify();
         }
@@ -270,7 +277,7 @@ public class SparseBitSetTest {
         verifyAdvanceAtLeastTo();
 
         // at the beginning
-        for (long i = 0; i < ARRAY_STORAGE_32_MAX_SIZE / 2; ++i) {
+        for (long i = 0; i < SMALL_SIZE / 2; ++i) {
             set(i);
             verifyAdvanceAtLeastTo();
             set(i);
@@ -278,7 +285,7 @@ public class SparseBitSetTest {
         }
 
         // offset
-        for (long i = 1000000; i < 1000000 + ARRAY_STORAGE_32_MAX_SIZE; ++i) {
+        for (long i = 1000000; i < 1000000 + SMALL_SIZE; ++i) {
             set(i);
             verifyAdvanceAtLeastTo();
             set(i);
@@ -286,11 +293,11 @@ public class SparseBitSetTest {
         }
 
         // clear everything we have added
-        for (long i = 0; i < ARRAY_STORAGE_32_MAX_SIZE / 2; ++i) {
+        for (long i = 0; i < SMALL_SIZE / 2; ++i) {
             clear(i);
             verifyAdvanceAtLeastTo();
         }
-        for (long i = 1000000; i < 1000000 + ARRAY_STORAGE_32_MAX_SIZE; ++i) {
+        for (long i = 1000000; i < 1000000 + SMALL_SIZE; ++i) {
             clear(i);
             verifyAdvanceAtLeastTo();
         }
@@ -360,7 +367,7 @@ public class SparseBitSetTest {
         long prefix16 = ((long) Short.MAX_VALUE * 2 + 1);
 
         // create a few top-level 32-bit prefix storages
-        for (int i = 0; i < ARRAY_STORAGE_32_MAX_SIZE + 10; ++i) {
+        for (int i = 0; i < SMALL_SIZE + 10; ++i) {
             set(i);
             verifyAdvanceAtLeastTo();
             set(prefix32 + i);
@@ -374,7 +381,7 @@ public class SparseBitSetTest {
         }
 
         // force creation of 16-bit array storages on lower level
-        for (int i = 0; i < ARRAY_STORAGE_32_MAX_SIZE + 10; ++i) {
+        for (int i = 0; i < SMALL_SIZE + 10; ++i) {
             set(i + prefix16);
             verifyAdvanceAtLeastTo();
             set(prefix32 + prefix16 + i);
@@ -388,13 +395,113 @@ public class SparseBitSetTest {
         }
 
         // force upgrade of 16-bit array storage to 16-bit bit storage
-        for (int i = 0; i < ARRAY_STORAGE_16_MAX_SIZE + 10; ++i) {
+        for (int i = 0; i < ARRAY_CONTAINER_MAX_SIZE + 10; ++i) {
             set(2 * prefix32 + prefix16 + i);
             verifyAdvanceAtLeastTo();
             verify();
         }
     }
 
+    @Test
+    public void testRuns() {
+        // sequential members are stored in run containers once the containers
+        // are completed
+        for (long i = 0; i < 200000; ++i) {
+            set(i);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        // split the runs
+        for (long i = 1000; i < 150000; i += 1000) {
+            clear(i);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        // merge them back
+        for (long i = 1000; i < 150000; i += 2000) {
+            set(i);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        // shrink the runs from both ends
+        for (long i = 0; i < 100; ++i) {
+            clear(i);
+            clear(65535 - i);
+            clear(65536 + i);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+        assertEquals(expected.size(), actual.cardinality());
+    }
+
+    @Test
+    public void testRunsConversion() {
+        for (long i = 0; i < 70000; ++i) {
+            set(i);
+        }
+
+        // fragment the first run container until it's converted to a bitmap
+        // container and then to an array container
+        for (long i = 0; i < 65536; i += 2) {
+            clear(i);
+            if (i % 1024 == 0) {
+                verify();
+            }
+        }
+        for (long i = 1; i < 65536; i += 4) {
+            clear(i);
+            if (i % 1024 == 1) {
+                verify();
+            }
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        // and back to a run container
+        for (long i = 0; i < 65536; ++i) {
+            set(i);
+        }
+        set(2 * 65536);
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        for (long i = 0; i < 70000; ++i) {
+            clear(i);
+        }
+        clear(2 * 65536);
+        verify();
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    public void testSnapshot() throws IOException {
+        verifySnapshot();
+
+        // array, bitmap and run containers
+        for (long i = 0; i < 1000; ++i) {
+            set(i * i);
+        }
+        for (long i = 1000000; i < 1000000 + 3 * ARRAY_CONTAINER_MAX_SIZE; ++i) {
+            set(i * 3);
+        }
+        for (long i = 10000000; i < 10200000; ++i) {
+            set(i);
+        }
+        set(Long.MAX_VALUE);
+        verifySnapshot();
+    }
+
+    private void verifySnapshot() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        actual.writeTo(new DataOutputStream(bytes));
+        SparseBitSet restored = SparseBitSet.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        verify(restored.iterator(), expected);
+        assertEquals(expected.size(), restored.cardinality());
+    }
+
     private void verify() {
         AscendingLongIterator iterator = actual.iterator();
         verify(iterator, expected);
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.bitmap;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.predicates.ILikePredicate;
+import com.hazelcast.query.impl.predicates.LikePredicate;
+import com.hazelcast.query.impl.predicates.RegexPredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static com.hazelcast.query.impl.predicates.PredicateTestUtils.entry;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class TrigramsTest {
+
+    private static final String LETTERS = "abAB";
+    private static final String SPECIALS = "%_.\\";
+
+    @Test
+    public void testValue() {
+        // the start marker, 'a', 'b', 'c', the end marker
+        assertEquals(3, Trigrams.ofValue("abc").length);
+        // a single trigram of the markers and 'a'
+        assertEquals(1, Trigrams.ofValue("a").length);
+        assertEquals(0, Trigrams.ofValue("").length);
+        // repeated trigrams are reported once
+        assertEquals(Trigrams.ofValue("aaa").length, Trigrams.ofValue("aaaaaa").length);
+        // case-folded
+        assertArrayEquals(Trigrams.ofValue("abc"), Trigrams.ofValue("ABC"));
+        assertArrayEquals(Trigrams.ofValue("хазелкаст"), Trigrams.ofValue("ХАЗЕЛКАСТ"));
+    }
+
+    @Test
+    public void testLikePattern() {
+        assertArrayEquals(Trigrams.ofValue("abc"), Trigrams.ofLikePattern("abc"));
+        assertEquals(2, Trigrams.ofLikePattern("abc%").length);
+        assertEquals(1, Trigrams.ofLikePattern("%abc%").length);
+        assertEquals(2, Trigrams.ofLikePattern("%abc%def%").length);
+        assertEquals(1, Trigrams.ofLikePattern("ab%").length);
+
+        assertEquals(0, Trigrams.ofLikePattern("%ab%").length);
+        assertEquals(0, Trigrams.ofLikePattern("a_c").length);
+        assertEquals(0, Trigrams.ofLikePattern("%").length);
+        assertEquals(0, Trigrams.ofLikePattern("").length);
+        assertEquals(0, Trigrams.ofLikePattern(null).length);
+
+        // escapes split the segments
+        assertEquals(0, Trigrams.ofLikePattern("%ab\\%cd%").length);
+        assertEquals(1, Trigrams.ofLikePattern("%ab\\%cde%").length);
+    }
+
+    @Test
+    public void testRegex() {
+        assertArrayEquals(Trigrams.ofValue("abc"), Trigrams.ofRegex("abc"));
+        assertArrayEquals(Trigrams.ofValue("abc"), Trigrams.ofRegex("^abc$"));
+        assertEquals(2, Trigrams.ofRegex("abc.*").length);
+        assertEquals(1, Trigrams.ofRegex(".*abc.*").length);
+        assertEquals(2, Trigrams.ofRegex(".*abc+def.*").length);
+        assertEquals(1, Trigrams.ofRegex(".*abcd?ef.*").length);
+        assertEquals(1, Trigrams.ofRegex(".*abc\\d.*").length);
+        assertEquals(1, Trigrams.ofRegex(".*abcd{2,}?.*").length);
+
+        assertEquals(0, Trigrams.ofRegex(".*(abc).*").length);
+        assertEquals(0, Trigrams.ofRegex("abc|def").length);
+        assertEquals(0, Trigrams.ofRegex("[abc]def").length);
+        assertEquals(0, Trigrams.ofRegex("ab{2").length);
+        assertEquals(0, Trigrams.ofRegex(null).length);
+    }
+
+    @Test
+    public void testMatchingValuesHaveAllTrigrams() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200; ++i) {
+            String value = randomString(random, 8);
+            Map.Entry entry = entry(value);
+            long[] valueTrigrams = Trigrams.ofValue(value);
+
+            for (int j = 0; j < 200; ++j) {
+                String pattern = randomString(random, 6);
+                long[] likeTrigrams = Trigrams.ofLikePattern(pattern);
+                checkTrigrams(new LikePredicate("this", pattern), likeTrigrams, entry, valueTrigrams);
+                checkTrigrams(new ILikePredicate("this", pattern), likeTrigrams, entry, valueTrigrams);
+
+                String regex = pattern.replace("%", ".*").replace('_', '?');
+                try {
+                    Pattern.compile(regex);
+                } catch (PatternSyntaxException e) {
+                    continue;
+                }
+                checkTrigrams(new RegexPredicate("this", regex), Trigrams.ofRegex(regex), entry, valueTrigrams);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void checkTrigrams(Predicate predicate, long[] patternTrigrams, Map.Entry entry, long[] valueTrigrams) {
+        if (!predicate.apply(entry)) {
+            return;
+        }
+        for (long trigram : patternTrigrams) {
+            assertTrue(predicate + " matches '" + entry.getValue() + "' lacking some of its trigrams",
+                    Arrays.binarySearch(valueTrigrams, trigram) >= 0);
+        }
+    }
+
+    private static String randomString(Random random, int maxLength) {
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; ++i) {
+            // mostly letters, so the patterns match the values often enough
+            String alphabet = random.nextInt(4) == 0 ? SPECIALS : LETTERS;
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+
+}
@@ -17,21 +17,36 @@
 package com.hazelcast.query.impl.predicates;
 
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.AndResultSet;
+import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.IndexRegistry;
+import com.hazelcast.query.impl.QueryContext;
+import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+
+import java.util.Set;
 
 import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.impl.predicates.IndexCostEstimator.PREDICATE_EVALUATION_COST;
+import static com.hazelcast.query.impl.predicates.IndexCostEstimator.UNKNOWN;
 import static com.hazelcast.query.impl.predicates.PredicateTestUtils.createDelegatingVisitor;
+import static com.hazelcast.query.impl.predicates.PredicateTestUtils.createMockIndex;
 import static com.hazelcast.query.impl.predicates.PredicateTestUtils.createMockNegatablePredicate;
 import static com.hazelcast.query.impl.predicates.PredicateTestUtils.createMockVisitablePredicate;
 import static com.hazelcast.query.impl.predicates.PredicateTestUtils.createPassthroughVisitor;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 
 @SuppressWarnings("rawtypes")
@@ -116,4 +131,68 @@ public class AndPredicateTest {
 
         assertThat(result).isSameAs(delegate);
     }
+
+    @Test
+    public void filter_whenCardinalitiesEstimated_thenQueryIndexesFromMostSelective() {
+        QueryContext queryContext = mock(QueryContext.class);
+        Index indexA = createMockIndex(queryContext, "a", 30, 30);
+        Index indexB = createMockIndex(queryContext, "b", 5, 5);
+        Index indexC = createMockIndex(queryContext, "c", 20, 20);
+
+        AndPredicate and = (AndPredicate) and(equal("a", 1), equal("b", 1), equal("c", 1));
+        Set<QueryableEntry> result = and.filter(queryContext);
+
+        InOrder inOrder = inOrder(indexA, indexB, indexC);
+        inOrder.verify(indexB).getRecords(any(Comparable.class));
+        inOrder.verify(indexC).getRecords(any(Comparable.class));
+        inOrder.verify(indexA).getRecords(any(Comparable.class));
+        assertThat(((AndResultSet) result).estimatedSize()).isEqualTo(5);
+    }
+
+    @Test
+    public void filter_whenEvaluationIsCheaperThanIndexQuery_thenSkipIndex() {
+        QueryContext queryContext = mock(QueryContext.class);
+        Index indexA = createMockIndex(queryContext, "a", PREDICATE_EVALUATION_COST * 5 + 1, 1000);
+        Index indexB = createMockIndex(queryContext, "b", 5, 5);
+        Index indexC = createMockIndex(queryContext, "c", PREDICATE_EVALUATION_COST * 5, 40);
+
+        AndPredicate and = (AndPredicate) and(equal("a", 1), equal("b", 1), equal("c", 1));
+        Set<QueryableEntry> result = and.filter(queryContext);
+
+        verify(indexB).getRecords(any(Comparable.class));
+        verify(indexC).getRecords(any(Comparable.class));
+        verify(indexA, never()).getRecords(any(Comparable.class));
+        assertThat(((AndResultSet) result).estimatedSize()).isEqualTo(5);
+    }
+
+    @Test
+    public void filter_whenCardinalityUnknown_thenQueryIndexLast() {
+        QueryContext queryContext = mock(QueryContext.class);
+        Index indexA = createMockIndex(queryContext, "a", UNKNOWN, 1000);
+        Index indexB = createMockIndex(queryContext, "b", 5, 5);
+
+        AndPredicate and = (AndPredicate) and(equal("a", 1), equal("b", 1));
+        Set<QueryableEntry> result = and.filter(queryContext);
+
+        // a predicate which can't be estimated is never skipped
+        InOrder inOrder = inOrder(indexA, indexB);
+        inOrder.verify(indexB).getRecords(any(Comparable.class));
+        inOrder.verify(indexA).getRecords(any(Comparable.class));
+        assertThat(((AndResultSet) result).estimatedSize()).isEqualTo(5);
+    }
+
+    @Test
+    public void filter_whenNoStatistics_thenQueryAllIndexes() {
+        QueryContext queryContext = mock(QueryContext.class);
+        Index indexA = createMockIndex(queryContext, "a", UNKNOWN, 1000);
+        Index indexB = createMockIndex(queryContext, "b", UNKNOWN, 5);
+
+        AndPredicate and = (AndPredicate) and(equal("a", 1), equal("b", 1));
+        Set<QueryableEntry> result = and.filter(queryContext);
+
+        InOrder inOrder = inOrder(indexA, indexB);
+        inOrder.verify(indexA).getRecords(any(Comparable.class));
+        inOrder.verify(indexB).getRecords(any(Comparable.class));
+        assertThat(((AndResultSet) result).estimatedSize()).isEqualTo(5);
+    }
 }
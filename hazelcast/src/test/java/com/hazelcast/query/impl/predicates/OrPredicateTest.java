@@ -17,6 +17,10 @@
 package com.hazelcast.query.impl.predicates;
 
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.OrResultSet;
+import com.hazelcast.query.impl.QueryContext;
+import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -25,10 +29,18 @@ import nl.jqno.equalsverifier.Warning;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 
+import java.util.Set;
+
+import static com.hazelcast.query.Predicates.equal;
 import static com.hazelcast.query.Predicates.or;
+import static com.hazelcast.query.impl.predicates.IndexCostEstimator.UNKNOWN;
+import static com.hazelcast.query.impl.predicates.PredicateTestUtils.createMockIndex;
 import static com.hazelcast.query.impl.predicates.PredicateTestUtils.createMockNegatablePredicate;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -68,6 +80,38 @@ public class OrPredicateTest {
         assertThat(nonNegatable).isSameAs(notPredicate.predicate);
     }
 
+    @Test
+    public void filter_whenCardinalitiesEstimated_thenQueryIndexesFromLeastSelective() {
+        QueryContext queryContext = mock(QueryContext.class);
+        Index indexA = createMockIndex(queryContext, "a", 5, 5);
+        Index indexB = createMockIndex(queryContext, "b", 100, 100);
+        Index indexC = createMockIndex(queryContext, "c", 20, 20);
+
+        OrPredicate or = (OrPredicate) or(equal("a", 1), equal("b", 1), equal("c", 1));
+        Set<QueryableEntry> result = or.filter(queryContext);
+
+        InOrder inOrder = inOrder(indexA, indexB, indexC);
+        inOrder.verify(indexB).getRecords(any(Comparable.class));
+        inOrder.verify(indexC).getRecords(any(Comparable.class));
+        inOrder.verify(indexA).getRecords(any(Comparable.class));
+        assertThat(((OrResultSet) result).estimatedSize()).isEqualTo(100);
+    }
+
+    @Test
+    public void filter_whenNoStatistics_thenQueryIndexesInDeclarationOrder() {
+        QueryContext queryContext = mock(QueryContext.class);
+        Index indexA = createMockIndex(queryContext, "a", UNKNOWN, 5);
+        Index indexB = createMockIndex(queryContext, "b", UNKNOWN, 100);
+
+        OrPredicate or = (OrPredicate) or(equal("a", 1), equal("b", 1));
+        Set<QueryableEntry> result = or.filter(queryContext);
+
+        InOrder inOrder = inOrder(indexA, indexB);
+        inOrder.verify(indexA).getRecords(any(Comparable.class));
+        inOrder.verify(indexB).getRecords(any(Comparable.class));
+        assertThat(((OrResultSet) result).estimatedSize()).isEqualTo(5);
+    }
+
     @Test
     public void testEqualsAndHashCode() {
         EqualsVerifier.forClass(OrPredicate.class)
@@ -20,15 +20,22 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.internal.util.UuidUtil;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexStatistics;
+import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryEntry;
+import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.query.impl.getters.Extractors;
 import org.mockito.internal.stubbing.answers.ReturnsArgumentAt;
 
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import static com.hazelcast.instance.impl.TestUtil.toData;
 import static com.hazelcast.internal.util.Preconditions.checkInstanceOf;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
@@ -84,6 +91,34 @@ public final class PredicateTestUtils {
         return visitor;
     }
 
+    /**
+     * Create a mock index of the given attribute and register it in the given
+     * mock query context. The index returns the given number of records for
+     * any value.
+     *
+     * @param queryContext   mock query context to register the index in
+     * @param attributeName  name of the indexed attribute
+     * @param estimatedEqual estimated number of entries having the same value
+     *                       or {@code -1} if the index has no statistics
+     * @param recordCount    number of records returned by the index
+     * @return mock index.
+     */
+    static Index createMockIndex(QueryContext queryContext, String attributeName, long estimatedEqual, int recordCount) {
+        Index index = mock(Index.class);
+        if (estimatedEqual >= 0) {
+            IndexStatistics statistics = mock(IndexStatistics.class);
+            when(statistics.estimateEqual()).thenReturn(estimatedEqual);
+            when(index.getStatistics()).thenReturn(statistics);
+        }
+        Set<QueryableEntry> records = new HashSet<>();
+        for (int i = 0; i < recordCount; ++i) {
+            records.add(mock(QueryableEntry.class));
+        }
+        when(index.getRecords(any(Comparable.class))).thenReturn(records);
+        when(queryContext.matchIndex(eq(attributeName), any())).thenReturn(index);
+        return index;
+    }
+
     public static String getAttributeName(Predicate predicate) {
         checkInstanceOf(AbstractPredicate.class, predicate);
         return ((AbstractPredicate) predicate).attributeName;
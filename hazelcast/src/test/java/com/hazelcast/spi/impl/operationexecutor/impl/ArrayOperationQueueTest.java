@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2008-2025, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.internal.util.concurrent.BackoffIdleStrategy;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ArrayOperationQueueTest extends HazelcastTestSupport {
+
+    private final ArrayOperationQueue queue = new ArrayOperationQueue(4, new BackoffIdleStrategy(1, 1, 1000, 1000));
+
+    @Test(expected = NullPointerException.class)
+    public void add_whenNull() {
+        queue.add(null, false);
+    }
+
+    @Test
+    public void add_whenPriority() {
+        queue.add(new Object(), true);
+
+        assertEquals(1, queue.prioritySize());
+        assertEquals(0, queue.normalSize());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void add_whenFull_thenOverflowInOrder() {
+        for (int i = 0; i < 10; i++) {
+            queue.add(i, false);
+        }
+        assertEquals(10, queue.normalSize());
+
+        for (int i = 0; i < 10; i++) {
+            if (i == 6) {
+                // space in the array, but the overflowed tasks must be taken first
+                queue.add(10, false);
+            }
+            assertEquals(i, queue.poll());
+        }
+        assertEquals(10, queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void take_priorityIsRetrievedFirst() throws InterruptedException {
+        queue.add("normal", false);
+        queue.add("priority", true);
+
+        assertEquals("priority", queue.take(false));
+        assertEquals("normal", queue.take(false));
+    }
+
+    @Test
+    public void take_whenNoItemAvailable_thenParkTillItemAvailable() throws Exception {
+        CompletableFuture<Thread> consumerThread = new CompletableFuture<>();
+        Future<Object> taken = spawn(() -> {
+            queue.setConsumerThread(Thread.currentThread());
+            consumerThread.complete(Thread.currentThread());
+            return queue.take(false);
+        });
+
+        Thread consumer = consumerThread.get();
+        assertTrueEventually(() -> assertEquals(Thread.State.WAITING, consumer.getState()));
+
+        Object task = new Object();
+        queue.add(task, false);
+        assertSame(task, taken.get());
+    }
+
+    @Test
+    public void take_whenManyProducers_thenFifoPerProducer() throws Exception {
+        int producerCount = 4;
+        int itemCount = 100_000;
+        Future<Object> consumer = spawn(() -> {
+            queue.setConsumerThread(Thread.currentThread());
+            int[] next = new int[producerCount];
+            for (int i = 0; i < producerCount * itemCount; i++) {
+                int[] item = (int[]) queue.take(false);
+                assertEquals(next[item[0]]++, item[1]);
+            }
+            return null;
+        });
+        // wait for the consumer thread to be set
+        sleepMillis(100);
+
+        List<Future<Object>> producers = new ArrayList<>();
+        for (int producer = 0; producer < producerCount; producer++) {
+            int producerId = producer;
+            producers.add(spawn(() -> {
+                for (int i = 0; i < itemCount; i++) {
+                    queue.add(new int[]{producerId, i}, false);
+                }
+                return null;
+            }));
+        }
+        for (Future<Object> producer : producers) {
+            producer.get();
+        }
+        consumer.get();
+        assertTrue(queue.isEmpty());
+    }
+}